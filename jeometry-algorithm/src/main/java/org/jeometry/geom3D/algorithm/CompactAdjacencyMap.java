@@ -0,0 +1,177 @@
+package org.jeometry.geom3D.algorithm;
+
+import java.util.AbstractList;
+import java.util.List;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.mesh.indexed.IndexedFace;
+import org.jeometry.geom3D.neighbor.AdjacencyMap;
+import org.jeometry.geom3D.point.Point3D;
+
+/**
+ * An {@link AdjacencyMap adjacency map} that is backed by the compressed sparse row arrays of an {@link IndexedNeighborhood indexed neighborhood}.<br><br>
+ * The adjacencies are stored as face indices (an offsets <code>int[F+1]</code> array and an adjacent faces <code>int[]</code> array), that costs 4 bytes per adjacency
+ * instead of a map entry and a list for each face. The index based methods ({@link #getAdjacentCount(int)}, {@link #getAdjacent(int, int)}) do not allocate memory.
+ * The face based methods of the {@link AdjacencyMap} interface return read only views and resolve the index of a face by scanning the faces that are incident
+ * to its first vertex, the faces being compared with {@link Object#equals(Object)} so that the flyweight face views of array backed meshes are resolved.
+ * This map cannot be modified.
+ * @param <T> The type of underlying 3D points
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class CompactAdjacencyMap<T extends Point3D> implements AdjacencyMap<T> {
+
+  /**
+   * The indexed neighborhood.
+   */
+  private IndexedNeighborhood neighborhood = null;
+
+  /**
+   * The mesh faces, the index of a face within this list is its index within the neighborhood.
+   */
+  private List<? extends IndexedFace<T>> faces = null;
+
+  /**
+   * Create a new adjacency map backed by the given neighborhood.
+   * @param neighborhood the indexed neighborhood.
+   * @param faces the mesh faces, the index of a face within this list has to be its index within the neighborhood.
+   * @throws IllegalArgumentException if the neighborhood or the faces are <code>null</code> or if their sizes differ.
+   */
+  public CompactAdjacencyMap(IndexedNeighborhood neighborhood, List<? extends IndexedFace<T>> faces) {
+
+    if ((neighborhood == null) || (faces == null)) {
+      throw new IllegalArgumentException("Neighborhood and faces cannot be null.");
+    }
+
+    if (neighborhood.getFaceCount() != faces.size()) {
+      throw new IllegalArgumentException("Neighborhood faces count "+neighborhood.getFaceCount()+" differs from faces count "+faces.size()+".");
+    }
+
+    this.neighborhood = neighborhood;
+    this.faces        = faces;
+  }
+
+  /**
+   * Get the indexed neighborhood that backs this map.
+   * @return the indexed neighborhood.
+   */
+  public IndexedNeighborhood getNeighborhood() {
+    return this.neighborhood;
+  }
+
+  /**
+   * Get the number of faces that are adjacent to the given face.
+   * @param face the face index.
+   * @return the number of faces that are adjacent to the given face.
+   */
+  public int getAdjacentCount(int face) {
+    return this.neighborhood.getAdjacentCount(face);
+  }
+
+  /**
+   * Get the <code>i</code>-th face that is adjacent to the given face.
+   * @param face the face index.
+   * @param i the adjacent rank.
+   * @return the index of the adjacent face.
+   */
+  public int getAdjacent(int face, int i) {
+    return this.neighborhood.getAdjacent(face, i);
+  }
+
+  /**
+   * Get the faces that are adjacent to the face with the given index.
+   * @param face the face index.
+   * @return a read only view on the adjacent faces.
+   */
+  public List<IndexedFace<T>> getAdjacencies(int face) {
+
+    final int from = this.neighborhood.getAdjacencyOffsets()[face];
+    final int to   = this.neighborhood.getAdjacencyOffsets()[face+1];
+    final int[] adjacencies = this.neighborhood.getAdjacencies();
+
+    return new AbstractList<IndexedFace<T>>() {
+
+      @Override
+      public IndexedFace<T> get(int index) {
+        if ((index < 0) || (index >= to - from)) {
+          throw new IndexOutOfBoundsException("Index "+index+" out of bounds [0, "+(to - from)+"[");
+        }
+        return CompactAdjacencyMap.this.faces.get(adjacencies[from + index]);
+      }
+
+      @Override
+      public int size() {
+        return to - from;
+      }
+    };
+  }
+
+  /**
+   * Get the index of the given face within the neighborhood.
+   * @param face the face.
+   * @return the index of the face or <code>-1</code> if the face is not part of the neighborhood.
+   */
+  public int getFaceIndex(IndexedFace<?> face) {
+
+    if ((face == null) || (face.getVerticesIndexes() == null) || (face.getVerticesIndexes().length < 1)) {
+      return -1;
+    }
+
+    int vertex = face.getVerticesIndexes()[0];
+    if ((vertex < 0) || (vertex >= this.neighborhood.getVertexCount())) {
+      return -1;
+    }
+
+    for(int i = 0; i < this.neighborhood.getIncidentCount(vertex); i++) {
+      int candidate = this.neighborhood.getIncident(vertex, i);
+      IndexedFace<T> view = this.faces.get(candidate);
+      if ((view == face) || view.equals((Object) face)) {
+        return candidate;
+      }
+    }
+
+    return -1;
+  }
+
+  @Override
+  public List<IndexedFace<T>> getAdjacencies(IndexedFace<T> face) {
+    int index = getFaceIndex(face);
+    return (index < 0) ? null : getAdjacencies(index);
+  }
+
+  /**
+   * This map cannot be modified.
+   * @param face the face for which adjacency has to be set.
+   * @param adjacencies the list of all the faces that are adjacent.
+   * @throws UnsupportedOperationException as the map cannot be modified.
+   */
+  @Override
+  public void setAdjacencies(IndexedFace<T> face, List<IndexedFace<T>> adjacencies) {
+    throw new UnsupportedOperationException("A compact adjacency map cannot be modified.");
+  }
+
+  /**
+   * This map cannot be modified.
+   * @param face the face that is updated.
+   * @param adjacent the new adjacent to add.
+   * @return nothing.
+   * @throws UnsupportedOperationException as the map cannot be modified.
+   */
+  @Override
+  public boolean addAdjacent(IndexedFace<T> face, IndexedFace<T> adjacent) {
+    throw new UnsupportedOperationException("A compact adjacency map cannot be modified.");
+  }
+
+  /**
+   * This map cannot be modified.
+   * @param face face the face that is updated.
+   * @param adjacent the adjacent to remove.
+   * @return nothing.
+   * @throws UnsupportedOperationException as the map cannot be modified.
+   */
+  @Override
+  public boolean removeAdjacent(IndexedFace<T> face, IndexedFace<T> adjacent) {
+    throw new UnsupportedOperationException("A compact adjacency map cannot be modified.");
+  }
+}
@@ -0,0 +1,196 @@
+package org.jeometry.geom3D.algorithm;
+
+import java.util.AbstractList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.mesh.indexed.IndexedFace;
+import org.jeometry.geom3D.neighbor.IncidenceMap;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+
+/**
+ * An {@link IncidenceMap incidence map} that is backed by the compressed sparse row arrays of an {@link IndexedNeighborhood indexed neighborhood}.<br><br>
+ * The incidences are stored as face indices keyed by vertex index (an offsets <code>int[V+1]</code> array and an incident faces <code>int[]</code> array).
+ * The index based methods ({@link #getIncidentCount(int)}, {@link #getIncident(int, int)}) do not allocate memory. The vertex based method of the
+ * {@link IncidenceMap} interface returns a read only view and resolves the index of a vertex using an identity map from the vertices to their indices,
+ * that is built from the vertices source at the first vertex based query. This map cannot be modified.
+ * @param <T> The type of underlying 3D points
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class CompactIncidenceMap<T extends Point3D> implements IncidenceMap<T> {
+
+  /**
+   * The indexed neighborhood.
+   */
+  private IndexedNeighborhood neighborhood = null;
+
+  /**
+   * The mesh faces, the index of a face within this list is its index within the neighborhood.
+   */
+  private List<? extends IndexedFace<T>> faces = null;
+
+  /**
+   * The mesh vertices source.
+   */
+  private Point3DContainer<T> vertices = null;
+
+  /**
+   * The index of each vertex of the vertices source, built at the first vertex based query.
+   */
+  private Map<Point3D, Integer> vertexIndices = null;
+
+  /**
+   * Create a new incidence map backed by the given neighborhood.
+   * @param neighborhood the indexed neighborhood.
+   * @param faces the mesh faces, the index of a face within this list has to be its index within the neighborhood.
+   * @param vertices the mesh vertices source, used to resolve the index of a vertex (can be <code>null</code>).
+   * @throws IllegalArgumentException if the neighborhood or the faces are <code>null</code> or if their sizes differ.
+   */
+  public CompactIncidenceMap(IndexedNeighborhood neighborhood, List<? extends IndexedFace<T>> faces, Point3DContainer<T> vertices) {
+
+    if ((neighborhood == null) || (faces == null)) {
+      throw new IllegalArgumentException("Neighborhood and faces cannot be null.");
+    }
+
+    if (neighborhood.getFaceCount() != faces.size()) {
+      throw new IllegalArgumentException("Neighborhood faces count "+neighborhood.getFaceCount()+" differs from faces count "+faces.size()+".");
+    }
+
+    this.neighborhood = neighborhood;
+    this.faces        = faces;
+    this.vertices     = vertices;
+  }
+
+  /**
+   * Get the indexed neighborhood that backs this map.
+   * @return the indexed neighborhood.
+   */
+  public IndexedNeighborhood getNeighborhood() {
+    return this.neighborhood;
+  }
+
+  /**
+   * Get the number of faces that are incident to the given vertex.
+   * @param vertex the vertex index.
+   * @return the number of faces that are incident to the given vertex.
+   */
+  public int getIncidentCount(int vertex) {
+    return this.neighborhood.getIncidentCount(vertex);
+  }
+
+  /**
+   * Get the <code>i</code>-th face that is incident to the given vertex.
+   * @param vertex the vertex index.
+   * @param i the incident rank.
+   * @return the index of the incident face.
+   */
+  public int getIncident(int vertex, int i) {
+    return this.neighborhood.getIncident(vertex, i);
+  }
+
+  /**
+   * Get the faces that are incident to the vertex with the given index.
+   * @param vertex the vertex index.
+   * @return a read only view on the incident faces.
+   */
+  public List<IndexedFace<T>> getIncidences(int vertex) {
+
+    final int from = this.neighborhood.getIncidenceOffsets()[vertex];
+    final int to   = this.neighborhood.getIncidenceOffsets()[vertex+1];
+    final int[] incidences = this.neighborhood.getIncidences();
+
+    return new AbstractList<IndexedFace<T>>() {
+
+      @Override
+      public IndexedFace<T> get(int index) {
+        if ((index < 0) || (index >= to - from)) {
+          throw new IndexOutOfBoundsException("Index "+index+" out of bounds [0, "+(to - from)+"[");
+        }
+        return CompactIncidenceMap.this.faces.get(incidences[from + index]);
+      }
+
+      @Override
+      public int size() {
+        return to - from;
+      }
+    };
+  }
+
+  /**
+   * Get the index of the given vertex within the vertices source. The vertices are compared by reference, as for the {@link Point3DContainer#indexOf(Point3D) point containers}.
+   * @param vertex the vertex.
+   * @return the index of the vertex or <code>-1</code> if the vertex is not part of the vertices source.
+   */
+  public int getVertexIndex(Point3D vertex) {
+
+    if ((vertex == null) || (this.vertices == null)) {
+      return -1;
+    }
+
+    Map<Point3D, Integer> indices = this.vertexIndices;
+
+    if (indices == null) {
+      indices = new IdentityHashMap<Point3D, Integer>(this.vertices.size());
+      for(int i = 0; i < this.vertices.size(); i++) {
+        indices.putIfAbsent(this.vertices.get(i), i);
+      }
+      this.vertexIndices = indices;
+    }
+
+    Integer index = indices.get(vertex);
+
+    return (index != null) ? index : -1;
+  }
+
+  @Override
+  public List<IndexedFace<T>> getIncidences(Point3D vertex) {
+
+    if ((vertex == null) || (this.vertices == null)) {
+      return null;
+    }
+
+    int index = getVertexIndex(vertex);
+
+    return ((index < 0) || (index >= this.neighborhood.getVertexCount())) ? null : getIncidences(index);
+  }
+
+  /**
+   * This map cannot be modified.
+   * @param vertex the vertex to set.
+   * @param incidences the faces that are incident to the given vertex.
+   * @throws UnsupportedOperationException as the map cannot be modified.
+   */
+  @Override
+  public void setIncidences(T vertex, List<IndexedFace<T>> incidences) {
+    throw new UnsupportedOperationException("A compact incidence map cannot be modified.");
+  }
+
+  /**
+   * This map cannot be modified.
+   * @param vertex the vertex to update.
+   * @param incident the face to add to incidences.
+   * @return nothing.
+   * @throws UnsupportedOperationException as the map cannot be modified.
+   */
+  @Override
+  public boolean addIncident(T vertex, IndexedFace<T> incident) {
+    throw new UnsupportedOperationException("A compact incidence map cannot be modified.");
+  }
+
+  /**
+   * This map cannot be modified.
+   * @param vertex the vertex to update.
+   * @param incident the face to remove from incidences.
+   * @return nothing.
+   * @throws UnsupportedOperationException as the map cannot be modified.
+   */
+  @Override
+  public boolean removeIncident(T vertex, IndexedFace<T> incident) {
+    throw new UnsupportedOperationException("A compact incidence map cannot be modified.");
+  }
+}
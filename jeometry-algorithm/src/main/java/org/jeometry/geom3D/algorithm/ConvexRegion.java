@@ -0,0 +1,208 @@
+package org.jeometry.geom3D.algorithm;
+
+import java.util.BitSet;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.Geom3D;
+import org.jeometry.geom3D.mesh.Mesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+
+/**
+ * A convex region of the space that is the intersection of half-spaces, compiled from a convex polyhedron for fast point classification.<br><br>
+ * The region stores the planes of the polyhedron faces within a single packed <code>double[4*F]</code> array, as computed by {@link Geom3D#computeFacePlanes(Mesh)}.
+ * A point <code>(x, y, z)</code> is inside the region if <code>a*x + b*y + c*z + d &le; 0</code> for all the planes <code>{a, b, c, d}</code>,
+ * which is the same rule as {@link Geom3D#contains(Mesh, Point3D)} without recomputing the face normals and barycenters at each query.<br><br>
+ * The batch classification processes the points by blocks of 64 that correspond to a word of the result bitset. For each plane,
+ * the inner loop evaluates the plane equation for all the points of the block and accumulates the outside points within a mask,
+ * so that the loop has no branch and works on primitive arrays only. A block is left as soon as all its points are outside.
+ * The blocks are distributed over parallel chunks when the points are numerous enough, each chunk writing its own bitset words.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class ConvexRegion {
+
+  /**
+   * The number of points within a classification block (the size of a bitset word).
+   */
+  private static final int BLOCK_SIZE = 64;
+
+  /**
+   * The minimal number of points that a parallel task has to process.
+   */
+  static final int MINIMAL_CHUNK_SIZE = 1 << 16;
+
+  /**
+   * The planes of the region, the plane <code>p</code> being stored from offset <code>4*p</code> as <code>{a, b, c, d}</code>.
+   */
+  private double[] planes    = null;
+
+  /**
+   * The number of planes.
+   */
+  private int planeCount     = 0;
+
+  /**
+   * Create a new convex region from the given planes. The array is not copied.
+   * @param planes the planes of the region, the plane <code>p</code> being stored from offset <code>4*p</code> as <code>{a, b, c, d}</code>.
+   * @param planeCount the number of planes.
+   * @throws IllegalArgumentException if the planes array is <code>null</code> or too small.
+   */
+  public ConvexRegion(double[] planes, int planeCount) {
+
+    if ((planes == null) || (planeCount < 0) || (planes.length < 4*planeCount)) {
+      throw new IllegalArgumentException("Planes array cannot store "+planeCount+" planes.");
+    }
+
+    this.planes     = planes;
+    this.planeCount = planeCount;
+  }
+
+  /**
+   * Compile the given convex polyhedron into a convex region.
+   * @param polyhedron the mesh that represents a convex polyhedron, with faces oriented outward.
+   * @return the convex region delimited by the polyhedron faces.
+   * @throws IllegalArgumentException if the polyhedron is <code>null</code> or has no face.
+   */
+  public static ConvexRegion compile(Mesh<?> polyhedron) {
+
+    double[] planes = Geom3D.computeFacePlanes(polyhedron);
+
+    if ((planes == null) || (planes.length == 0)) {
+      throw new IllegalArgumentException("Cannot compile a convex region from a null or empty polyhedron.");
+    }
+
+    return new ConvexRegion(planes, planes.length / 4);
+  }
+
+  /**
+   * Get the number of planes that delimit the region.
+   * @return the number of planes that delimit the region.
+   */
+  public int getPlaneCount() {
+    return this.planeCount;
+  }
+
+  /**
+   * Get the planes of the region. The returned array is the internal one and should not be modified.
+   * @return the planes of the region, the plane <code>p</code> being stored from offset <code>4*p</code> as <code>{a, b, c, d}</code>.
+   */
+  public double[] getPlanes() {
+    return this.planes;
+  }
+
+  /**
+   * Check if the given location is inside the region.
+   * @param x the location x coordinate.
+   * @param y the location y coordinate.
+   * @param z the location z coordinate.
+   * @return <code>true</code> if the location is inside the region (or on its boundary) and <code>false</code> otherwise.
+   */
+  public boolean contains(double x, double y, double z) {
+    for(int p = 0; p < 4*this.planeCount; p += 4) {
+      if (this.planes[p]*x + this.planes[p+1]*y + this.planes[p+2]*z + this.planes[p+3] > 0.0d) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Check if the given point is inside the region.
+   * @param point the point to check.
+   * @return <code>true</code> if the point is inside the region (or on its boundary) and <code>false</code> otherwise or if the point is <code>null</code>.
+   */
+  public boolean contains(Point3D point) {
+    return (point != null) && contains(point.getX(), point.getY(), point.getZ());
+  }
+
+  /**
+   * Classify the given points using all the available processors.
+   * @param points the points to classify.
+   * @return a bitset whose bit <code>i</code> is set if the point <code>i</code> is inside the region.
+   * @see #classify(double[], int, int)
+   */
+  public BitSet classify(Point3DContainer<? extends Point3D> points) {
+    return classify(Geom3D.toCoordinates(points), points.size(), Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Classify the given points.
+   * @param coordinates the points coordinates, the coordinates of the point <code>i</code> being stored from offset <code>3*i</code>.
+   * @param count the number of points.
+   * @param parallelism the maximal number of threads to use.
+   * @return a bitset whose bit <code>i</code> is set if the point <code>i</code> is inside the region.
+   * @throws IllegalArgumentException if the coordinates array is too small or if the parallelism is lesser than 1.
+   */
+  public BitSet classify(double[] coordinates, int count, int parallelism) {
+
+    if ((coordinates == null) || (count < 0) || (coordinates.length < 3*count)) {
+      throw new IllegalArgumentException("Coordinates array cannot store "+count+" points.");
+    }
+
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+    }
+
+    int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+    long[] words = new long[blocks];
+
+    // The chunks are made of whole blocks, so that each chunk writes its own bitset words
+    ParallelRange.forEach(blocks, ParallelRange.chunks(count, MINIMAL_CHUNK_SIZE, parallelism), (from, to) -> classify(coordinates, count, from, to, words));
+
+    return BitSet.valueOf(words);
+  }
+
+  /**
+   * Check if all the given points are inside the region.
+   * @param coordinates the points coordinates, the coordinates of the point <code>i</code> being stored from offset <code>3*i</code>.
+   * @param count the number of points.
+   * @return <code>true</code> if all the points are inside the region and <code>false</code> otherwise.
+   */
+  public boolean containsAll(double[] coordinates, int count) {
+    for(int i = 0; i < count; i++) {
+      if (!contains(coordinates[3*i], coordinates[3*i+1], coordinates[3*i+2])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Classify the points of the given blocks.
+   * @param coordinates the points coordinates.
+   * @param count the number of points.
+   * @param from the first block (included).
+   * @param to the last block (excluded).
+   * @param words the bitset words, the word <code>b</code> holding the classification of the block <code>b</code>.
+   */
+  private void classify(double[] coordinates, int count, int from, int to, long[] words) {
+
+    for(int block = from; block < to; block++) {
+
+      int start = block * BLOCK_SIZE;
+      int size  = Math.min(BLOCK_SIZE, count - start);
+
+      long all     = (size == BLOCK_SIZE) ? -1L : (1L << size) - 1L;
+      long outside = 0L;
+
+      for(int p = 0; (p < 4*this.planeCount) && (outside != all); p += 4) {
+
+        double a = this.planes[p];
+        double b = this.planes[p+1];
+        double c = this.planes[p+2];
+        double d = this.planes[p+3];
+
+        int offset = 3*start;
+        for(int k = 0; k < size; k++, offset += 3) {
+          double value = a*coordinates[offset] + b*coordinates[offset+1] + c*coordinates[offset+2] + d;
+          outside |= ((value > 0.0d) ? 1L : 0L) << k;
+        }
+      }
+
+      words[block] = all & ~outside;
+    }
+  }
+}
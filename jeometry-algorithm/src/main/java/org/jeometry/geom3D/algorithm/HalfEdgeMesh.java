@@ -0,0 +1,1128 @@
+package org.jeometry.geom3D.algorithm;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.Geom3D;
+import org.jeometry.geom3D.SpatialLocalization3D;
+import org.jeometry.geom3D.mesh.Edge;
+import org.jeometry.geom3D.mesh.Face;
+import org.jeometry.geom3D.mesh.indexed.IndexedEdge;
+import org.jeometry.geom3D.mesh.indexed.IndexedFace;
+import org.jeometry.geom3D.mesh.indexed.IndexedMesh;
+import org.jeometry.geom3D.mesh.indexed.IndexedTriangleMesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.jeometry.geom3D.primitive.Triangle;
+import org.jeometry.geom3D.primitive.indexed.IndexedTriangle;
+
+/**
+ * An {@link IndexedTriangleMesh indexed triangle mesh} that relies on a <a href="https://en.wikipedia.org/wiki/Doubly_connected_edge_list">half-edge</a> structure stored within primitive arrays.<br><br>
+ * The triangles are stored within an <code>int[3*F]</code> array where the triangle <code>f</code> is made of the vertices stored from offset <code>3*f</code>.
+ * The half-edge <code>h = 3*f+k</code> goes from the vertex at offset <code>h</code> to the next vertex of the triangle. As the half-edges of a triangle are
+ * contiguous, their <code>next</code>, <code>previous</code> and <code>face</code> relations are obtained by arithmetic and only the <code>twin</code> relation
+ * and an outgoing half-edge for each vertex are stored. The topology is built in linear time from the triangles (two counting sorts of the undirected edges)
+ * and is rebuilt when the triangles are modified. Once built, the adjacency queries (twin, one-ring, edge faces, boundaries) run in constant time per
+ * element and do not allocate memory.<br><br>
+ * An edge that is shared by more than two triangles (non-manifold) or by two triangles with inconsistent orientations is considered as a boundary by the half-edge relations.
+ * Such edges are counted by {@link #getNonManifoldEdgeCount()} and {@link #getInconsistentEdgeCount()}.
+ * The {@link IndexedTriangle triangles} returned by {@link #getFacesIndexes()} are {@link HalfEdgeTriangle lightweight views} that read and write their indices
+ * within the triangles array, modifying them invalidates the topology. The {@link IndexedEdge edges} objects that are required by the {@link IndexedTriangleMesh}
+ * interface are created on demand and obtain their vertices from this mesh.
+ * @param <T> The type of underlying 3D points
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class HalfEdgeMesh<T extends Point3D> implements IndexedTriangleMesh<T> {
+
+  /**
+   * The serial version UID.
+   */
+  private static final long serialVersionUID = Jeometry.BUILD;
+
+  /**
+   * The value that denotes a missing half-edge, face or vertex.
+   */
+  public static final int NONE = -1;
+
+  /**
+   * The vertices source.
+   */
+  private Point3DContainer<T> verticesSource = null;
+
+  /**
+   * The triangles vertex indices, the triangle <code>f</code> being stored from offset <code>3*f</code>.
+   */
+  private int[] triangles         = null;
+
+  /**
+   * The number of triangles.
+   */
+  private int faceCount           = 0;
+
+  /**
+   * The number of vertices covered by the topology.
+   */
+  private int vertexCount         = 0;
+
+  /**
+   * The twin of each half-edge or {@link #NONE} if the half-edge is on a boundary.
+   */
+  private int[] twins             = null;
+
+  /**
+   * An outgoing half-edge for each vertex or {@link #NONE} for an isolated vertex. The outgoing half-edge of a boundary vertex is a boundary half-edge.
+   */
+  private int[] vertexHalfEdges   = null;
+
+  /**
+   * The number of edges.
+   */
+  private int edgeCount           = 0;
+
+  /**
+   * The number of boundary half-edges.
+   */
+  private int boundaryCount       = 0;
+
+  /**
+   * The number of non-manifold edges.
+   */
+  private int nonManifoldCount    = 0;
+
+  /**
+   * The number of edges shared by two triangles with inconsistent orientations.
+   */
+  private int inconsistentCount   = 0;
+
+  /**
+   * Is the topology up to date with the triangles.
+   */
+  private boolean topologyValid   = false;
+
+  /**
+   * Is the indices have been validated.
+   */
+  private boolean validatedIndexes = false;
+
+  /**
+   * The triangles views list, created on demand.
+   */
+  private transient List<IndexedTriangle<T>> faceViews = null;
+
+  /**
+   * The edges views, created on demand.
+   */
+  private transient List<IndexedEdge<T>> edgeViews     = null;
+
+  /**
+   * The x coordinate of the mesh.
+   */
+  private double x    = Double.NaN;
+
+  /**
+   * The y coordinate of the mesh.
+   */
+  private double y    = Double.NaN;
+
+  /**
+   * The z coordinate of the mesh.
+   */
+  private double z    = Double.NaN;
+
+  /**
+   * The x min coordinate of the mesh.
+   */
+  private double xmin = Double.NaN;
+
+  /**
+   * The y min coordinate of the mesh.
+   */
+  private double ymin = Double.NaN;
+
+  /**
+   * The z min coordinate of the mesh.
+   */
+  private double zmin = Double.NaN;
+
+  /**
+   * The x max coordinate of the mesh.
+   */
+  private double xmax = Double.NaN;
+
+  /**
+   * The y max coordinate of the mesh.
+   */
+  private double ymax = Double.NaN;
+
+  /**
+   * The z max coordinate of the mesh.
+   */
+  private double zmax = Double.NaN;
+
+  /**
+   * Create a new empty half-edge mesh that relies on the given vertices source.
+   * @param source the vertices source.
+   */
+  public HalfEdgeMesh(Point3DContainer<T> source) {
+    this.verticesSource = source;
+    this.triangles      = new int[3*16];
+    this.faceCount      = 0;
+  }
+
+  /**
+   * Create a new half-edge mesh from the given triangles.
+   * @param triangles the triangles vertex indices, the triangle <code>f</code> being stored from offset <code>3*f</code>. The array is copied.
+   * @param faceCount the number of triangles.
+   * @param source the vertices source.
+   * @throws IllegalArgumentException if the triangles are <code>null</code>, too small or if an index is negative.
+   */
+  public HalfEdgeMesh(int[] triangles, int faceCount, Point3DContainer<T> source) {
+
+    if ((triangles == null) || (faceCount < 0) || (triangles.length < 3*faceCount)) {
+      throw new IllegalArgumentException("Invalid triangles for "+faceCount+" faces.");
+    }
+
+    for(int i = 0; i < 3*faceCount; i++) {
+      if (triangles[i] < 0) {
+        throw new IllegalArgumentException("Invalid vertex index "+triangles[i]+" at offset "+i+".");
+      }
+    }
+
+    this.verticesSource = source;
+    this.triangles      = Arrays.copyOf(triangles, Math.max(3, 3*faceCount));
+    this.faceCount      = faceCount;
+  }
+
+  /**
+   * Create a new half-edge mesh from the given indexed mesh. The faces that have more than 3 vertices are triangulated as fans from their first vertex.
+   * @param mesh the indexed mesh.
+   * @throws IllegalArgumentException if the mesh is <code>null</code>.
+   */
+  public HalfEdgeMesh(IndexedMesh<T> mesh) {
+
+    if (mesh == null) {
+      throw new IllegalArgumentException("Mesh cannot be null.");
+    }
+
+    this.verticesSource = mesh.getVerticesSource();
+
+    List<? extends IndexedFace<T>> faces = mesh.getFacesIndexes();
+
+    int count = 0;
+    if (faces != null) {
+      for(IndexedFace<T> face : faces) {
+        if ((face.getVerticesIndexes() != null) && (face.getVerticesIndexes().length > 2)) {
+          count += face.getVerticesIndexes().length - 2;
+        }
+      }
+    }
+
+    this.triangles = new int[Math.max(3, 3*count)];
+
+    if (faces != null) {
+      for(IndexedFace<T> face : faces) {
+        int[] indices = face.getVerticesIndexes();
+        if ((indices != null) && (indices.length > 2)) {
+          for(int i = 1; i < indices.length - 1; i++) {
+            appendTriangle(indices[0], indices[i], indices[i+1]);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the number of triangles.
+   * @return the number of triangles.
+   */
+  public int getFaceCount() {
+    return this.faceCount;
+  }
+
+  /**
+   * Get the number of half-edges, that is <code>3*{@link #getFaceCount()}</code>.
+   * @return the number of half-edges.
+   */
+  public int getHalfEdgeCount() {
+    return 3*this.faceCount;
+  }
+
+  /**
+   * Get the number of vertices covered by the topology, that is the greatest of the vertices source size and the greatest referenced index plus one.
+   * @return the number of vertices covered by the topology.
+   */
+  public int getVertexCount() {
+    ensureTopology();
+    return this.vertexCount;
+  }
+
+  /**
+   * Get the number of (undirected) edges.
+   * @return the number of edges.
+   */
+  public int getEdgeCount() {
+    ensureTopology();
+    return this.edgeCount;
+  }
+
+  /**
+   * Get the number of boundary half-edges, that are the half-edges with no twin.
+   * @return the number of boundary half-edges.
+   */
+  public int getBoundaryHalfEdgeCount() {
+    ensureTopology();
+    return this.boundaryCount;
+  }
+
+  /**
+   * Get the number of edges that are shared by more than two triangles.
+   * @return the number of non-manifold edges.
+   */
+  public int getNonManifoldEdgeCount() {
+    ensureTopology();
+    return this.nonManifoldCount;
+  }
+
+  /**
+   * Get the number of edges that are shared by two triangles with inconsistent orientations.
+   * @return the number of inconsistently oriented edges.
+   */
+  public int getInconsistentEdgeCount() {
+    ensureTopology();
+    return this.inconsistentCount;
+  }
+
+  /**
+   * Check if the mesh is closed, that is if each half-edge has a twin.
+   * @return <code>true</code> if the mesh is closed and <code>false</code> otherwise.
+   */
+  public boolean isClosed() {
+    ensureTopology();
+    return (this.faceCount > 0) && (this.boundaryCount == 0);
+  }
+
+  /**
+   * Get the triangles vertex indices. The returned array is the internal one and should not be modified, its first <code>3*{@link #getFaceCount()}</code> values are significant.
+   * @return the triangles vertex indices.
+   */
+  public int[] getTriangles() {
+    return this.triangles;
+  }
+
+  /**
+   * Get the half-edges twins. The returned array is the internal one and should not be modified.
+   * @return the twin of each half-edge or {@link #NONE} for a boundary half-edge.
+   */
+  public int[] getTwins() {
+    ensureTopology();
+    return this.twins;
+  }
+
+  /**
+   * Get the vertex that is the origin of the given half-edge.
+   * @param halfEdge the half-edge.
+   * @return the origin vertex of the half-edge.
+   */
+  public int getOrigin(int halfEdge) {
+    return this.triangles[halfEdge];
+  }
+
+  /**
+   * Get the vertex that is the target of the given half-edge.
+   * @param halfEdge the half-edge.
+   * @return the target vertex of the half-edge.
+   */
+  public int getTarget(int halfEdge) {
+    return this.triangles[getNext(halfEdge)];
+  }
+
+  /**
+   * Get the twin of the given half-edge, that is the half-edge of the adjacent triangle with opposite direction.
+   * @param halfEdge the half-edge.
+   * @return the twin of the half-edge or {@link #NONE} if the half-edge is on a boundary.
+   */
+  public int getTwin(int halfEdge) {
+    ensureTopology();
+    return this.twins[halfEdge];
+  }
+
+  /**
+   * Get the half-edge that follows the given one within its triangle.
+   * @param halfEdge the half-edge.
+   * @return the next half-edge.
+   */
+  public int getNext(int halfEdge) {
+    return (halfEdge % 3 == 2) ? halfEdge - 2 : halfEdge + 1;
+  }
+
+  /**
+   * Get the half-edge that precedes the given one within its triangle.
+   * @param halfEdge the half-edge.
+   * @return the previous half-edge.
+   */
+  public int getPrevious(int halfEdge) {
+    return (halfEdge % 3 == 0) ? halfEdge + 2 : halfEdge - 1;
+  }
+
+  /**
+   * Get the triangle that holds the given half-edge.
+   * @param halfEdge the half-edge.
+   * @return the triangle that holds the half-edge.
+   */
+  public int getFace(int halfEdge) {
+    return halfEdge / 3;
+  }
+
+  /**
+   * Get the triangle that is adjacent to the given triangle across its <code>k</code>-th edge (from the vertex <code>k</code> to the vertex <code>k+1</code>).
+   * @param face the triangle.
+   * @param k the edge within the triangle (0, 1 or 2).
+   * @return the adjacent triangle or {@link #NONE} if the edge is on a boundary.
+   */
+  public int getAdjacentFace(int face, int k) {
+    ensureTopology();
+    int twin = this.twins[3*face+k];
+    return (twin == NONE) ? NONE : twin / 3;
+  }
+
+  /**
+   * Get an outgoing half-edge of the given vertex. If the vertex is on a boundary, the returned half-edge is a boundary half-edge and
+   * iterating with {@link #getNextOutgoing(int)} from it enumerates all the triangles of the vertex fan.
+   * @param vertex the vertex.
+   * @return an outgoing half-edge of the vertex or {@link #NONE} if the vertex is isolated.
+   */
+  public int getOutgoing(int vertex) {
+    ensureTopology();
+    return (vertex < this.vertexCount) ? this.vertexHalfEdges[vertex] : NONE;
+  }
+
+  /**
+   * Get the next outgoing half-edge around the origin of the given half-edge, turning in the triangles orientation direction.
+   * @param halfEdge an outgoing half-edge.
+   * @return the next outgoing half-edge around the origin or {@link #NONE} if a boundary is reached.
+   */
+  public int getNextOutgoing(int halfEdge) {
+    ensureTopology();
+    return this.twins[getPrevious(halfEdge)];
+  }
+
+  /**
+   * Check if the given half-edge is on a boundary.
+   * @param halfEdge the half-edge.
+   * @return <code>true</code> if the half-edge has no twin and <code>false</code> otherwise.
+   */
+  public boolean isBoundaryHalfEdge(int halfEdge) {
+    ensureTopology();
+    return this.twins[halfEdge] == NONE;
+  }
+
+  /**
+   * Check if the given vertex is on a boundary.
+   * @param vertex the vertex.
+   * @return <code>true</code> if the vertex has a boundary outgoing half-edge and <code>false</code> otherwise (including for an isolated vertex).
+   */
+  public boolean isBoundaryVertex(int vertex) {
+    int halfEdge = getOutgoing(vertex);
+    return (halfEdge != NONE) && (this.twins[halfEdge] == NONE);
+  }
+
+  /**
+   * Check if the given triangle has at least one boundary edge.
+   * @param face the triangle.
+   * @return <code>true</code> if the triangle has a boundary edge and <code>false</code> otherwise.
+   */
+  public boolean isBoundaryFace(int face) {
+    ensureTopology();
+    return (this.twins[3*face] == NONE) || (this.twins[3*face+1] == NONE) || (this.twins[3*face+2] == NONE);
+  }
+
+  /**
+   * Get the number of vertices that are adjacent to the given vertex.
+   * @param vertex the vertex.
+   * @return the number of vertices that are adjacent to the given vertex.
+   */
+  public int getValence(int vertex) {
+
+    int start = getOutgoing(vertex);
+    if (start == NONE) {
+      return 0;
+    }
+
+    int valence  = 0;
+    int halfEdge = start;
+    do {
+      valence++;
+      halfEdge = this.twins[getPrevious(halfEdge)];
+      if (halfEdge == NONE) {
+        return valence + 1;
+      }
+    } while (halfEdge != start);
+
+    return valence;
+  }
+
+  /**
+   * Get the vertices that are adjacent to the given vertex (its one-ring), ordered in the triangles orientation direction.
+   * @param vertex the vertex.
+   * @param neighbors the array that will contain the adjacent vertices (at least <code>int[{@link #getValence(int) valence}]</code>).
+   * @return the number of adjacent vertices.
+   */
+  public int getOneRing(int vertex, int[] neighbors) {
+
+    int start = getOutgoing(vertex);
+    if (start == NONE) {
+      return 0;
+    }
+
+    int count    = 0;
+    int halfEdge = start;
+    do {
+      neighbors[count++] = getTarget(halfEdge);
+
+      int previous = getPrevious(halfEdge);
+      halfEdge = this.twins[previous];
+
+      // Boundary reached, the origin of the previous half-edge closes the fan
+      if (halfEdge == NONE) {
+        neighbors[count++] = this.triangles[previous];
+        return count;
+      }
+    } while (halfEdge != start);
+
+    return count;
+  }
+
+  /**
+   * Get the triangles that are incident to the given vertex, ordered in the triangles orientation direction.
+   * @param vertex the vertex.
+   * @param faces the array that will contain the incident triangles.
+   * @return the number of incident triangles.
+   */
+  public int getIncidentFaces(int vertex, int[] faces) {
+
+    int start = getOutgoing(vertex);
+    if (start == NONE) {
+      return 0;
+    }
+
+    int count    = 0;
+    int halfEdge = start;
+    do {
+      faces[count++] = halfEdge / 3;
+      halfEdge = this.twins[getPrevious(halfEdge)];
+    } while ((halfEdge != NONE) && (halfEdge != start));
+
+    return count;
+  }
+
+  /**
+   * Get the triangles that share the edge of the given half-edge.
+   * @param halfEdge the half-edge.
+   * @param faces the array that will contain the triangles (at least <code>int[2]</code>). The second triangle is {@link #NONE} for a boundary edge.
+   * @return the given array.
+   */
+  public int[] getEdgeFaces(int halfEdge, int[] faces) {
+    ensureTopology();
+    faces[0] = halfEdge / 3;
+    faces[1] = (this.twins[halfEdge] == NONE) ? NONE : this.twins[halfEdge] / 3;
+    return faces;
+  }
+
+  /**
+   * Search the half-edge that goes from the vertex <code>from</code> to the vertex <code>to</code> by turning around <code>from</code>.
+   * @param from the origin vertex.
+   * @param to the target vertex.
+   * @return the half-edge or {@link #NONE} if no such half-edge exists.
+   */
+  public int findHalfEdge(int from, int to) {
+
+    int start = getOutgoing(from);
+    if (start == NONE) {
+      return NONE;
+    }
+
+    int halfEdge = start;
+    do {
+      if (getTarget(halfEdge) == to) {
+        return halfEdge;
+      }
+      halfEdge = this.twins[getPrevious(halfEdge)];
+    } while ((halfEdge != NONE) && (halfEdge != start));
+
+    return NONE;
+  }
+
+  /**
+   * Build the topology if the triangles have been modified since the last build.
+   */
+  private void ensureTopology() {
+    if (!this.topologyValid) {
+      buildTopology();
+    }
+  }
+
+  /**
+   * Build the half-edge topology from the triangles. The undirected edges are sorted by their greatest then by their lowest vertex using two
+   * counting sorts, so that the half-edges that share the same edge are contiguous and can be paired in linear time.
+   */
+  private void buildTopology() {
+
+    int halfEdges = 3*this.faceCount;
+
+    int vertices = (this.verticesSource != null) ? this.verticesSource.size() : 0;
+    for(int h = 0; h < halfEdges; h++) {
+      vertices = Math.max(vertices, this.triangles[h] + 1);
+    }
+
+    this.vertexCount      = vertices;
+    this.twins            = new int[halfEdges];
+    this.vertexHalfEdges  = new int[vertices];
+    this.edgeCount        = 0;
+    this.boundaryCount    = 0;
+    this.nonManifoldCount = 0;
+    this.inconsistentCount = 0;
+
+    Arrays.fill(this.twins, NONE);
+    Arrays.fill(this.vertexHalfEdges, NONE);
+
+    int[] offsets = new int[vertices + 1];
+    int[] byHigh  = new int[halfEdges];
+    int[] sorted  = new int[halfEdges];
+
+    // Counting sort on the greatest vertex of each edge
+    for(int h = 0; h < halfEdges; h++) {
+      offsets[Math.max(this.triangles[h], getTarget(h)) + 1]++;
+    }
+    for(int v = 0; v < vertices; v++) {
+      offsets[v+1] += offsets[v];
+    }
+    for(int h = 0; h < halfEdges; h++) {
+      byHigh[offsets[Math.max(this.triangles[h], getTarget(h))]++] = h;
+    }
+
+    // Stable counting sort on the lowest vertex of each edge
+    Arrays.fill(offsets, 0);
+    for(int h = 0; h < halfEdges; h++) {
+      offsets[Math.min(this.triangles[h], getTarget(h)) + 1]++;
+    }
+    for(int v = 0; v < vertices; v++) {
+      offsets[v+1] += offsets[v];
+    }
+    for(int i = 0; i < halfEdges; i++) {
+      int h = byHigh[i];
+      sorted[offsets[Math.min(this.triangles[h], getTarget(h))]++] = h;
+    }
+
+    // Pair the half-edges that share the same edge
+    int start = 0;
+    while (start < halfEdges) {
+
+      int first = sorted[start];
+      int low   = Math.min(this.triangles[first], getTarget(first));
+      int high  = Math.max(this.triangles[first], getTarget(first));
+
+      int end = start + 1;
+      while ((end < halfEdges) && (Math.min(this.triangles[sorted[end]], getTarget(sorted[end])) == low) && (Math.max(this.triangles[sorted[end]], getTarget(sorted[end])) == high)) {
+        end++;
+      }
+
+      this.edgeCount++;
+
+      if ((end - start == 2) && (low != high)) {
+        int second = sorted[start+1];
+        if (this.triangles[first] != this.triangles[second]) {
+          this.twins[first]  = second;
+          this.twins[second] = first;
+        } else {
+          this.inconsistentCount++;
+        }
+      } else if (end - start > 2) {
+        this.nonManifoldCount++;
+      }
+
+      start = end;
+    }
+
+    // Outgoing half-edges, a boundary one is preferred so that the vertex fan can be traversed from it
+    for(int h = 0; h < halfEdges; h++) {
+      int vertex = this.triangles[h];
+
+      if (this.twins[h] == NONE) {
+        this.boundaryCount++;
+        this.vertexHalfEdges[vertex] = h;
+      } else if (this.vertexHalfEdges[vertex] == NONE) {
+        this.vertexHalfEdges[vertex] = h;
+      }
+    }
+
+    this.topologyValid = true;
+  }
+
+  /**
+   * Append a triangle to the triangles array and invalidate the topology.
+   * @param vertex1 the first vertex index.
+   * @param vertex2 the second vertex index.
+   * @param vertex3 the third vertex index.
+   */
+  private void appendTriangle(int vertex1, int vertex2, int vertex3) {
+
+    if ((vertex1 < 0) || (vertex2 < 0) || (vertex3 < 0)) {
+      throw new IllegalArgumentException("Invalid triangle vertex indices ["+vertex1+", "+vertex2+", "+vertex3+"].");
+    }
+
+    if (3*this.faceCount + 3 > this.triangles.length) {
+      this.triangles = Arrays.copyOf(this.triangles, Math.max(3*this.faceCount + 3, 2*this.triangles.length));
+    }
+
+    this.triangles[3*this.faceCount]   = vertex1;
+    this.triangles[3*this.faceCount+1] = vertex2;
+    this.triangles[3*this.faceCount+2] = vertex3;
+    this.faceCount++;
+
+    invalidate();
+  }
+
+  /**
+   * Invalidate the topology and the edges views after a modification of the triangles. The triangles views read the triangles array and remain valid.
+   */
+  private void invalidate() {
+    this.topologyValid    = false;
+    this.validatedIndexes = false;
+    this.edgeViews        = null;
+  }
+
+  /**
+   * Get the index of a vertex of the given triangle.
+   * @param face the triangle index.
+   * @param position the position of the vertex within the triangle (0, 1 or 2).
+   * @return the index of the vertex within the vertices source.
+   * @throws IndexOutOfBoundsException if the triangle does not exist.
+   */
+  public int getVertexIndex(int face, int position) {
+    if ((face < 0) || (face >= this.faceCount)) {
+      throw new IndexOutOfBoundsException("Invalid face "+face+" for a mesh of "+this.faceCount+" faces.");
+    }
+    return this.triangles[3*face + position];
+  }
+
+  /**
+   * Set the vertices of the given triangle. The topology is rebuilt when it is queried again.
+   * @param face the triangle index.
+   * @param vertex1 the index of the first vertex.
+   * @param vertex2 the index of the second vertex.
+   * @param vertex3 the index of the third vertex.
+   * @throws IndexOutOfBoundsException if the triangle does not exist.
+   * @throws IllegalArgumentException if a vertex index is negative.
+   */
+  public void setTriangle(int face, int vertex1, int vertex2, int vertex3) {
+
+    if ((face < 0) || (face >= this.faceCount)) {
+      throw new IndexOutOfBoundsException("Invalid face "+face+" for a mesh of "+this.faceCount+" faces.");
+    }
+
+    if ((vertex1 < 0) || (vertex2 < 0) || (vertex3 < 0)) {
+      throw new IllegalArgumentException("Invalid triangle vertex indices ["+vertex1+", "+vertex2+", "+vertex3+"].");
+    }
+
+    this.triangles[3*face]   = vertex1;
+    this.triangles[3*face+1] = vertex2;
+    this.triangles[3*face+2] = vertex3;
+
+    invalidate();
+  }
+
+  /**
+   * Remove the given triangle, the following triangles being shifted.
+   * @param face the triangle index.
+   * @throws IndexOutOfBoundsException if the triangle does not exist.
+   */
+  public void removeTriangle(int face) {
+
+    if ((face < 0) || (face >= this.faceCount)) {
+      throw new IndexOutOfBoundsException("Invalid face "+face+" for a mesh of "+this.faceCount+" faces.");
+    }
+
+    System.arraycopy(this.triangles, 3*face + 3, this.triangles, 3*face, 3*(this.faceCount - face - 1));
+    this.faceCount--;
+
+    invalidate();
+  }
+
+  /**
+   * Get the triangles of the mesh. The returned list is a live view of the triangles array: its size follows the mesh faces count and its
+   * {@link HalfEdgeTriangle triangles} read and write their indices within the mesh, so that modifying them (for example by
+   * {@link IndexedTriangle#setVerticesIndexes(int[])}) modifies the mesh and invalidates its topology.
+   * @return the triangles of the mesh.
+   */
+  @Override
+  public List<? extends IndexedTriangle<T>> getFacesIndexes() {
+
+    if (this.faceViews == null) {
+      this.faceViews = new TriangleViews();
+    }
+
+    return this.faceViews;
+  }
+
+  @Override
+  public List<? extends IndexedEdge<T>> getEdgesIndexes() {
+
+    if (this.edgeViews == null) {
+      ensureTopology();
+
+      List<IndexedEdge<T>> views = new ArrayList<IndexedEdge<T>>(this.edgeCount);
+      for(int h = 0; h < 3*this.faceCount; h++) {
+        if ((this.twins[h] == NONE) || (h < this.twins[h])) {
+          views.add(JeometryFactory.createIndexedMeshEdge(this.triangles[h], getTarget(h), this));
+        }
+      }
+      this.edgeViews = views;
+    }
+
+    return this.edgeViews;
+  }
+
+  @Override
+  public List<? extends Face<T>> getFaces() {
+    return getFacesIndexes();
+  }
+
+  @Override
+  public List<? extends Edge<T>> getEdges() {
+    return getEdgesIndexes();
+  }
+
+  @Override
+  public Point3DContainer<T> getVertices() {
+
+    if (this.verticesSource == null) {
+      return null;
+    }
+
+    List<Integer> indices = getVerticesIndexes();
+
+    Point3DContainer<T> vertices = JeometryFactory.createPoint3DContainer(indices.size());
+    for(Integer index : indices) {
+      vertices.add(this.verticesSource.get(index));
+    }
+
+    return vertices;
+  }
+
+  @Override
+  public List<Integer> getVerticesIndexes() {
+
+    ensureTopology();
+
+    List<Integer> indices = new ArrayList<Integer>();
+    for(int v = 0; v < this.vertexCount; v++) {
+      if (this.vertexHalfEdges[v] != NONE) {
+        indices.add(v);
+      }
+    }
+
+    return indices;
+  }
+
+  @Override
+  public Point3DContainer<T> getVerticesSource() {
+    return this.verticesSource;
+  }
+
+  @Override
+  public void setVerticesSource(Point3DContainer<T> verticesSource) {
+    this.verticesSource = verticesSource;
+    invalidate();
+  }
+
+  /**
+   * Add a face made of the given <code>indices</code> to the mesh. The given face has to be a triangle (with exactly 3 vertices).
+   * @param indices the indices composing the face.
+   * @return <code>true</code> if the face is successfully added to the mesh.
+   * @throws IllegalArgumentException if the given face is not a triangle.
+   */
+  @Override
+  public boolean addFace(List<Integer> indices) {
+
+    if ((indices == null) || (indices.size() != 3)) {
+      throw new IllegalArgumentException("Only triangle faces are permitted.");
+    }
+
+    appendTriangle(indices.get(0), indices.get(1), indices.get(2));
+
+    return true;
+  }
+
+  /**
+   * Add a face made of the given <code>indices</code> to the mesh. The given face has to be a triangle (with exactly 3 vertices).
+   * @param indices the indices composing the face.
+   * @return <code>true</code> if the face is successfully added to the mesh.
+   * @throws IllegalArgumentException if the given face is not a triangle.
+   */
+  @Override
+  public boolean addFace(int[] indices) {
+
+    if ((indices == null) || (indices.length != 3)) {
+      throw new IllegalArgumentException("Only triangle faces are permitted.");
+    }
+
+    appendTriangle(indices[0], indices[1], indices[2]);
+
+    return true;
+  }
+
+  @Override
+  public boolean addTriangle(List<Integer> indices) {
+    return addFace(indices);
+  }
+
+  @Override
+  public boolean addTriangle(int[] indices) {
+    return addFace(indices);
+  }
+
+  /**
+   * Add the given face to the mesh. An {@link IndexedFace indexed face} has to be a triangle, a {@link Triangle triangle} is indexed
+   * by searching its vertices within the vertices source.
+   * @param face the face to add.
+   * @return <code>true</code> if the face is successfully added to the mesh and <code>false</code> otherwise.
+   * @throws IllegalArgumentException if the face cannot be converted to an indexed triangle.
+   */
+  @Override
+  public boolean addFace(Face<T> face) {
+
+    if (face == null) {
+      return false;
+    }
+
+    if (face instanceof IndexedFace) {
+      return addFace(((IndexedFace<T>) face).getVerticesIndexes());
+    }
+
+    if ((face instanceof Triangle) && (this.verticesSource != null)) {
+      Triangle<T> triangle = (Triangle<T>) face;
+
+      int vertex1 = this.verticesSource.indexOf(triangle.getVertex1());
+      int vertex2 = this.verticesSource.indexOf(triangle.getVertex2());
+      int vertex3 = this.verticesSource.indexOf(triangle.getVertex3());
+
+      if ((vertex1 < 0) || (vertex2 < 0) || (vertex3 < 0)) {
+        return false;
+      }
+
+      appendTriangle(vertex1, vertex2, vertex3);
+
+      return true;
+    }
+
+    throw new IllegalArgumentException("Cannot create indexed triangle from given face.");
+  }
+
+  @Override
+  public boolean removeFace(Face<?> face) {
+
+    if (!(face instanceof IndexedFace)) {
+      return false;
+    }
+
+    int[] indices = ((IndexedFace<?>) face).getVerticesIndexes();
+    if ((indices == null) || (indices.length != 3)) {
+      return false;
+    }
+
+    for(int f = 0; f < this.faceCount; f++) {
+      if ((this.triangles[3*f] == indices[0]) && (this.triangles[3*f+1] == indices[1]) && (this.triangles[3*f+2] == indices[2])) {
+        removeTriangle(f);
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  @Override
+  public boolean isValidatedIndexes() {
+    return this.validatedIndexes;
+  }
+
+  @Override
+  public boolean validateIndexes() {
+
+    this.validatedIndexes = false;
+
+    if (this.verticesSource != null) {
+      int size = this.verticesSource.size();
+
+      this.validatedIndexes = true;
+      for(int i = 0; (i < 3*this.faceCount) && this.validatedIndexes; i++) {
+        this.validatedIndexes = this.triangles[i] < size;
+      }
+    }
+
+    return this.validatedIndexes;
+  }
+
+  @Override
+  public double getX() {
+    return this.x;
+  }
+
+  @Override
+  public double getY() {
+    return this.y;
+  }
+
+  @Override
+  public double getZ() {
+    return this.z;
+  }
+
+  @Override
+  public double getXMin() {
+    return this.xmin;
+  }
+
+  @Override
+  public double getYMin() {
+    return this.ymin;
+  }
+
+  @Override
+  public double getZMin() {
+    return this.zmin;
+  }
+
+  @Override
+  public double getXMax() {
+    return this.xmax;
+  }
+
+  @Override
+  public double getYMax() {
+    return this.ymax;
+  }
+
+  @Override
+  public double getZMax() {
+    return this.zmax;
+  }
+
+  @Override
+  public double distance(SpatialLocalization3D spatial) {
+    if (spatial != null) {
+      return Geom3D.computeDistance(getX(), getY(), getZ(), spatial.getX(), spatial.getY(), spatial.getZ());
+    }
+    return Double.NaN;
+  }
+
+  /**
+   * Update the localization of the mesh from the vertices that are referenced by its triangles.
+   * The localization is set to {@link Double#NaN} if the mesh has no vertex source or no triangle.
+   */
+  @Override
+  public void updateLocalization() {
+
+    this.x    = Double.NaN;
+    this.y    = Double.NaN;
+    this.z    = Double.NaN;
+    this.xmin = Double.NaN;
+    this.ymin = Double.NaN;
+    this.zmin = Double.NaN;
+    this.xmax = Double.NaN;
+    this.ymax = Double.NaN;
+    this.zmax = Double.NaN;
+
+    if ((this.verticesSource == null) || (this.faceCount == 0)) {
+      return;
+    }
+
+    ensureTopology();
+
+    double sx = 0.0d;
+    double sy = 0.0d;
+    double sz = 0.0d;
+
+    double minx = Double.POSITIVE_INFINITY;
+    double miny = Double.POSITIVE_INFINITY;
+    double minz = Double.POSITIVE_INFINITY;
+    double maxx = Double.NEGATIVE_INFINITY;
+    double maxy = Double.NEGATIVE_INFINITY;
+    double maxz = Double.NEGATIVE_INFINITY;
+
+    int count = 0;
+    for(int v = 0; v < this.vertexCount; v++) {
+      if (this.vertexHalfEdges[v] != NONE) {
+        Point3D vertex = this.verticesSource.get(v);
+
+        sx += vertex.getX();
+        sy += vertex.getY();
+        sz += vertex.getZ();
+
+        minx = Math.min(minx, vertex.getX());
+        miny = Math.min(miny, vertex.getY());
+        minz = Math.min(minz, vertex.getZ());
+        maxx = Math.max(maxx, vertex.getX());
+        maxy = Math.max(maxy, vertex.getY());
+        maxz = Math.max(maxz, vertex.getZ());
+
+        count++;
+      }
+    }
+
+    this.x    = sx / count;
+    this.y    = sy / count;
+    this.z    = sz / count;
+    this.xmin = minx;
+    this.ymin = miny;
+    this.zmin = minz;
+    this.xmax = maxx;
+    this.ymax = maxy;
+    this.zmax = maxz;
+  }
+
+  @Override
+  public String toString() {
+    return "HalfEdgeMesh[faces="+this.faceCount+", edges="+getEdgeCount()+", vertices="+getVertexCount()+", boundary half-edges="+this.boundaryCount
+           +", non-manifold edges="+this.nonManifoldCount+", inconsistent edges="+this.inconsistentCount+"]";
+  }
+
+  /**
+   * A list of the mesh triangles as {@link HalfEdgeTriangle views} that are created on demand.
+   * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+   * @version {@value Jeometry#version}
+   * @since 2.0.1
+   */
+  private class TriangleViews extends AbstractList<IndexedTriangle<T>> {
+
+    @Override
+    public IndexedTriangle<T> get(int index) {
+      if ((index < 0) || (index >= HalfEdgeMesh.this.faceCount)) {
+        throw new IndexOutOfBoundsException("Invalid face "+index+" for a mesh of "+HalfEdgeMesh.this.faceCount+" faces.");
+      }
+      return new HalfEdgeTriangle<T>(HalfEdgeMesh.this, index);
+    }
+
+    @Override
+    public int size() {
+      return HalfEdgeMesh.this.faceCount;
+    }
+
+    @Override
+    public boolean add(IndexedTriangle<T> triangle) {
+      return addFace(triangle);
+    }
+
+    @Override
+    public IndexedTriangle<T> remove(int index) {
+      IndexedTriangle<T> removed = JeometryFactory.createIndexedTriangle(getVertexIndex(index, 0), getVertexIndex(index, 1), getVertexIndex(index, 2), null);
+      removeTriangle(index);
+      return removed;
+    }
+  }
+}
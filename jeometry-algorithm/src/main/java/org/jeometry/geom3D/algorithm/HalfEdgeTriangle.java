@@ -0,0 +1,272 @@
+package org.jeometry.geom3D.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.mesh.Edge;
+import org.jeometry.geom3D.mesh.Mesh;
+import org.jeometry.geom3D.mesh.indexed.IndexedEdge;
+import org.jeometry.geom3D.mesh.indexed.IndexedMesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.jeometry.geom3D.primitive.LineSet3D;
+import org.jeometry.geom3D.primitive.indexed.IndexedPolygon3D;
+import org.jeometry.geom3D.primitive.indexed.IndexedTriangle;
+
+/**
+ * A lightweight {@link IndexedTriangle indexed triangle} that is a view over a face of a {@link HalfEdgeMesh half-edge mesh}.
+ * The view only stores its mesh and its face index, the vertex indices are read from and written to the mesh triangles array and
+ * writing them invalidates the mesh topology. As the faces of a mesh are shifted when a face is removed, a view designates a face position
+ * within the mesh and not a given triangle.
+ * @param <T> The type of underlying 3D points
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class HalfEdgeTriangle<T extends Point3D> implements IndexedTriangle<T> {
+
+  /**
+   * The serial version UID.
+   */
+  private static final long serialVersionUID = Jeometry.BUILD;
+
+  /**
+   * The mesh that stores the triangle.
+   */
+  private HalfEdgeMesh<T> mesh = null;
+
+  /**
+   * The index of the triangle within the mesh.
+   */
+  private int face = -1;
+
+  /**
+   * Create a new view over the given face of the given mesh.
+   * @param mesh the mesh that stores the triangle.
+   * @param face the index of the triangle within the mesh.
+   * @throws IllegalArgumentException if the mesh is <code>null</code>.
+   */
+  public HalfEdgeTriangle(HalfEdgeMesh<T> mesh, int face) {
+    if (mesh != null) {
+      this.mesh = mesh;
+      this.face = face;
+    } else {
+      throw new IllegalArgumentException("Cannot create a triangle view over a null mesh.");
+    }
+  }
+
+  /**
+   * Get the index of the triangle within its mesh.
+   * @return the index of the triangle within its mesh.
+   */
+  public int getFaceIndex() {
+    return this.face;
+  }
+
+  @Override
+  public T getVertex1() {
+    if (getVerticesSource() != null) {
+      return getVerticesSource().get(getVertex1Index());
+    }
+
+    return null;
+  }
+
+  @Override
+  public T getVertex2() {
+    if (getVerticesSource() != null) {
+      return getVerticesSource().get(getVertex2Index());
+    }
+
+    return null;
+  }
+
+  @Override
+  public T getVertex3() {
+    if (getVerticesSource() != null) {
+      return getVerticesSource().get(getVertex3Index());
+    }
+
+    return null;
+  }
+
+  @Override
+  public int getVertex1Index() {
+    return this.mesh.getVertexIndex(this.face, 0);
+  }
+
+  @Override
+  public int getVertex2Index() {
+    return this.mesh.getVertexIndex(this.face, 1);
+  }
+
+  @Override
+  public int getVertex3Index() {
+    return this.mesh.getVertexIndex(this.face, 2);
+  }
+
+  @Override
+  public void setMesh(Mesh<T> mesh) {
+    if (mesh != this.mesh) {
+      throw new IllegalArgumentException("Cannot move a half-edge triangle view to another mesh.");
+    }
+  }
+
+  @Override
+  public void setMesh(IndexedMesh<T> mesh) {
+    if (mesh != this.mesh) {
+      throw new IllegalArgumentException("Cannot move a half-edge triangle view to another mesh.");
+    }
+  }
+
+  @Override
+  public IndexedMesh<T> getMesh() {
+    return this.mesh;
+  }
+
+  @Override
+  public Point3DContainer<T> getVertices() {
+
+    if (getVerticesSource() != null) {
+      Point3DContainer<T> vertices = JeometryFactory.createPoint3DContainer(3);
+      vertices.add(getVertex1());
+      vertices.add(getVertex2());
+      vertices.add(getVertex3());
+
+      return vertices;
+    }
+
+    return null;
+  }
+
+  @Override
+  public void setVertices(Point3DContainer<T> vertices) {
+    if (vertices != null) {
+      if (getVerticesSource() != null) {
+
+        if (vertices.size() == 3) {
+          int[] indices = new int[3];
+
+          indices[0] = getVerticesSource().indexOf(vertices.get(0));
+          indices[1] = getVerticesSource().indexOf(vertices.get(1));
+          indices[2] = getVerticesSource().indexOf(vertices.get(2));
+
+          if ((indices[0] != -1) && (indices[1] != -1) && (indices[2] != -1)) {
+            setVerticesIndexes(indices);
+          }
+
+        } else {
+          throw new IllegalArgumentException("Triangular face only accept 3 vertices ("+vertices.size()+" proposed).");
+        }
+
+      } else {
+        throw new IllegalStateException("Cannot set vertices to an indexed geometry with no vertex source attached.");
+      }
+    }
+  }
+
+  /**
+   * Get the segments of the triangle. As this view does not own any geometry, the segments are the ones of a
+   * {@link JeometryFactory#createIndexedTriangle(int[], IndexedMesh) factory triangle} made of the same vertices.
+   * @return the segments of the triangle or <code>null</code> if the mesh has no vertices source.
+   */
+  @Override
+  public LineSet3D<T> getSegments() {
+    if (getVerticesSource() != null){
+      return JeometryFactory.createIndexedTriangle(getVerticesIndexes(), this.mesh).getSegments();
+    }
+    return null;
+  }
+
+  @Override
+  public void inverseVerticesOrder() {
+    this.mesh.setTriangle(this.face, getVertex3Index(), getVertex2Index(), getVertex1Index());
+  }
+
+  @Override
+  public List<? extends Edge<T>> getEdges() {
+    return getEdgesIndexed();
+  }
+
+  /**
+   * Get the indices of the triangle vertices. The returned array is a copy, modifying it does not modify the triangle.
+   * @return the indices of the triangle vertices.
+   */
+  @Override
+  public int[] getVerticesIndexes() {
+    return new int[] {getVertex1Index(), getVertex2Index(), getVertex3Index()};
+  }
+
+  @Override
+  public void setVerticesIndexes(int[] indices) {
+    if (indices != null) {
+      if (indices.length == 3) {
+        this.mesh.setTriangle(this.face, indices[0], indices[1], indices[2]);
+      } else {
+        throw new IllegalArgumentException("Triangular face only accept 3 vertex ("+indices.length+") proposed.");
+      }
+    }
+  }
+
+  @Override
+  public List<IndexedEdge<T>> getEdgesIndexed() {
+    List<IndexedEdge<T>> edges = new ArrayList<IndexedEdge<T>>(3);
+    edges.add(JeometryFactory.createIndexedMeshEdge(getVertex1Index(), getVertex2Index(), this.mesh));
+    edges.add(JeometryFactory.createIndexedMeshEdge(getVertex2Index(), getVertex3Index(), this.mesh));
+    edges.add(JeometryFactory.createIndexedMeshEdge(getVertex3Index(), getVertex1Index(), this.mesh));
+    return edges;
+  }
+
+  @Override
+  public boolean equals(IndexedPolygon3D<?> polygon) {
+    return equals((Object) polygon);
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (object instanceof HalfEdgeTriangle) {
+      return (((HalfEdgeTriangle<?>) object).mesh == this.mesh) && (((HalfEdgeTriangle<?>) object).face == this.face);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * System.identityHashCode(this.mesh) + this.face;
+  }
+
+  @Override
+  public Point3DContainer<T> getVerticesSource() {
+    return this.mesh.getVerticesSource();
+  }
+
+  @Override
+  public void setVerticesSource(Point3DContainer<T> verticesSource) {
+    throw new IllegalArgumentException("Cannot change indexed triangle vertice source, prefer changing the underlying mesh.");
+  }
+
+  /**
+   * Check if the triangle indices are valid. As the triangle is a view, its validation state is the one of its mesh.
+   * @return <code>true</code> if the mesh indices are validated and <code>false</code> otherwise.
+   */
+  @Override
+  public boolean isValidatedIndexes() {
+    return this.mesh.isValidatedIndexes();
+  }
+
+  @Override
+  public boolean validateIndexes() {
+    Point3DContainer<T> source = getVerticesSource();
+    return (source != null)
+        && (getVertex1Index() >= 0) && (getVertex1Index() < source.size())
+        && (getVertex2Index() >= 0) && (getVertex2Index() < source.size())
+        && (getVertex3Index() >= 0) && (getVertex3Index() < source.size());
+  }
+
+  @Override
+  public String toString() {
+    return "["+getVertex1Index()+", "+getVertex2Index()+", "+getVertex3Index()+"]";
+  }
+}
@@ -0,0 +1,144 @@
+package org.jeometry.geom3D.algorithm;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.mesh.indexed.IndexedMesh;
+
+/**
+ * The neighborhood of an {@link IndexedMesh indexed mesh} stored within <a href="https://en.wikipedia.org/wiki/Sparse_matrix#Compressed_sparse_row_(CSR,_CRS_or_Yale_format)">compressed sparse row</a> arrays.<br><br>
+ * The faces are identified by their index within the mesh faces list and the vertices by their index within the mesh vertices source.
+ * The faces that are adjacent to the face <code>f</code> are stored within the adjacencies array from offset <code>adjacencyOffsets[f]</code> (included)
+ * to offset <code>adjacencyOffsets[f+1]</code> (excluded), sorted by increasing index. In the same way, the faces that are incident to the vertex <code>v</code>
+ * are stored within the incidences array from offset <code>incidenceOffsets[v]</code> to offset <code>incidenceOffsets[v+1]</code>.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ * @see MeshNeighborhoodComputation#computeIndexedNeighborhood(IndexedMesh, int)
+ */
+public class IndexedNeighborhood {
+
+  /**
+   * The offsets of the adjacent faces of each face (<code>int[F+1]</code>).
+   */
+  private int[] adjacencyOffsets = null;
+
+  /**
+   * The adjacent faces.
+   */
+  private int[] adjacencies      = null;
+
+  /**
+   * The offsets of the incident faces of each vertex (<code>int[V+1]</code>).
+   */
+  private int[] incidenceOffsets = null;
+
+  /**
+   * The incident faces.
+   */
+  private int[] incidences       = null;
+
+  /**
+   * Create a new indexed neighborhood from the given arrays. The arrays are not copied.
+   * @param adjacencyOffsets the offsets of the adjacent faces of each face (<code>int[F+1]</code>).
+   * @param adjacencies the adjacent faces.
+   * @param incidenceOffsets the offsets of the incident faces of each vertex (<code>int[V+1]</code>).
+   * @param incidences the incident faces.
+   * @throws IllegalArgumentException if an array is <code>null</code>.
+   */
+  public IndexedNeighborhood(int[] adjacencyOffsets, int[] adjacencies, int[] incidenceOffsets, int[] incidences) {
+
+    if ((adjacencyOffsets == null) || (adjacencies == null) || (incidenceOffsets == null) || (incidences == null)) {
+      throw new IllegalArgumentException("Neighborhood arrays cannot be null.");
+    }
+
+    this.adjacencyOffsets = adjacencyOffsets;
+    this.adjacencies      = adjacencies;
+    this.incidenceOffsets = incidenceOffsets;
+    this.incidences       = incidences;
+  }
+
+  /**
+   * Get the number of faces.
+   * @return the number of faces.
+   */
+  public int getFaceCount() {
+    return this.adjacencyOffsets.length - 1;
+  }
+
+  /**
+   * Get the number of vertices.
+   * @return the number of vertices.
+   */
+  public int getVertexCount() {
+    return this.incidenceOffsets.length - 1;
+  }
+
+  /**
+   * Get the number of faces that are adjacent to the given face.
+   * @param face the face index.
+   * @return the number of faces that are adjacent to the given face.
+   */
+  public int getAdjacentCount(int face) {
+    return this.adjacencyOffsets[face+1] - this.adjacencyOffsets[face];
+  }
+
+  /**
+   * Get the <code>i</code>-th face that is adjacent to the given face.
+   * @param face the face index.
+   * @param i the adjacent rank, within <code>[0, {@link #getAdjacentCount(int) getAdjacentCount(face)}[</code>.
+   * @return the index of the adjacent face.
+   */
+  public int getAdjacent(int face, int i) {
+    return this.adjacencies[this.adjacencyOffsets[face] + i];
+  }
+
+  /**
+   * Get the number of faces that are incident to the given vertex.
+   * @param vertex the vertex index.
+   * @return the number of faces that are incident to the given vertex.
+   */
+  public int getIncidentCount(int vertex) {
+    return this.incidenceOffsets[vertex+1] - this.incidenceOffsets[vertex];
+  }
+
+  /**
+   * Get the <code>i</code>-th face that is incident to the given vertex.
+   * @param vertex the vertex index.
+   * @param i the incident rank, within <code>[0, {@link #getIncidentCount(int) getIncidentCount(vertex)}[</code>.
+   * @return the index of the incident face.
+   */
+  public int getIncident(int vertex, int i) {
+    return this.incidences[this.incidenceOffsets[vertex] + i];
+  }
+
+  /**
+   * Get the offsets of the adjacent faces of each face. The returned array is the internal one and should not be modified.
+   * @return the offsets of the adjacent faces of each face.
+   */
+  public int[] getAdjacencyOffsets() {
+    return this.adjacencyOffsets;
+  }
+
+  /**
+   * Get the adjacent faces. The returned array is the internal one and should not be modified.
+   * @return the adjacent faces.
+   */
+  public int[] getAdjacencies() {
+    return this.adjacencies;
+  }
+
+  /**
+   * Get the offsets of the incident faces of each vertex. The returned array is the internal one and should not be modified.
+   * @return the offsets of the incident faces of each vertex.
+   */
+  public int[] getIncidenceOffsets() {
+    return this.incidenceOffsets;
+  }
+
+  /**
+   * Get the incident faces. The returned array is the internal one and should not be modified.
+   * @return the incident faces.
+   */
+  public int[] getIncidences() {
+    return this.incidences;
+  }
+}
@@ -0,0 +1,228 @@
+package org.jeometry.geom3D.algorithm;
+
+import java.util.Arrays;
+
+import org.jeometry.Jeometry;
+
+/**
+ * A hash map from <code>long</code> keys to <code>int</code> values that relies on primitive arrays (open addressing with linear probing).<br><br>
+ * Unlike a <code>HashMap&lt;Long, Integer&gt;</code>, this map does not box its keys and values and does not allocate memory when a mapping is added
+ * (except when the map grows). It is intended for algorithms that index objects by packed integer keys, for example an edge made of two vertex indices
+ * (see {@link #pack(int, int)}) or a cell of a spatial grid. The mappings cannot be removed individually. This map is not thread safe.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class LongIntHashMap {
+
+  /**
+   * The maximal load factor of the map before growing.
+   */
+  private static final double LOAD_FACTOR = 0.5d;
+
+  /**
+   * The keys of the slots.
+   */
+  private long[] keys     = null;
+
+  /**
+   * The values of the slots.
+   */
+  private int[] values    = null;
+
+  /**
+   * The occupation of the slots.
+   */
+  private boolean[] used  = null;
+
+  /**
+   * The number of mappings.
+   */
+  private int size        = 0;
+
+  /**
+   * The value that is returned when a key is not mapped.
+   */
+  private int missing     = -1;
+
+  /**
+   * Create a new map that can hold the given number of mappings without growing.
+   * @param expected the expected number of mappings.
+   * @param missing the value that is returned when a key is not mapped.
+   */
+  public LongIntHashMap(int expected, int missing) {
+
+    int capacity = 16;
+    while (capacity * LOAD_FACTOR < expected) {
+      capacity <<= 1;
+    }
+
+    this.keys    = new long[capacity];
+    this.values  = new int[capacity];
+    this.used    = new boolean[capacity];
+    this.missing = missing;
+  }
+
+  /**
+   * Pack the two given non negative integers within a <code>long</code> that does not depend on their order.
+   * This enables to use an undirected edge made of two vertex indices as a key.
+   * @param i the first integer.
+   * @param j the second integer.
+   * @return the lowest integer within the high 32 bits and the greatest within the low 32 bits.
+   */
+  public static long pack(int i, int j) {
+    return (i < j) ? (((long) i) << 32) | (j & 0xFFFFFFFFL) : (((long) j) << 32) | (i & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Compute the hash of the given key (finalizer of the MurmurHash3 algorithm).
+   * @param key the key.
+   * @return the hash of the key.
+   */
+  public static long hash(long key) {
+    long h = key;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /**
+   * Get the value that is mapped to the given key.
+   * @param key the key.
+   * @return the value that is mapped to the key or the missing value if the key is not mapped.
+   */
+  public int get(long key) {
+    int mask = this.keys.length - 1;
+    int slot = (int) hash(key) & mask;
+    while (this.used[slot]) {
+      if (this.keys[slot] == key) {
+        return this.values[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return this.missing;
+  }
+
+  /**
+   * Check if the given key is mapped.
+   * @param key the key.
+   * @return <code>true</code> if the key is mapped and <code>false</code> otherwise.
+   */
+  public boolean containsKey(long key) {
+    int mask = this.keys.length - 1;
+    int slot = (int) hash(key) & mask;
+    while (this.used[slot]) {
+      if (this.keys[slot] == key) {
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  /**
+   * Map the given value to the given key.
+   * @param key the key.
+   * @param value the value.
+   * @return the value that was previously mapped to the key or the missing value if the key was not mapped.
+   */
+  public int put(long key, int value) {
+
+    int mask = this.keys.length - 1;
+    int slot = (int) hash(key) & mask;
+    while (this.used[slot]) {
+      if (this.keys[slot] == key) {
+        int previous = this.values[slot];
+        this.values[slot] = value;
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    this.used[slot]   = true;
+    this.keys[slot]   = key;
+    this.values[slot] = value;
+    this.size++;
+
+    if (this.size > this.keys.length * LOAD_FACTOR) {
+      grow();
+    }
+
+    return this.missing;
+  }
+
+  /**
+   * Map the given value to the given key if the key is not already mapped.
+   * @param key the key.
+   * @param value the value.
+   * @return the value that is mapped to the key if the key was already mapped or the missing value if the given value has been mapped.
+   */
+  public int putIfAbsent(long key, int value) {
+
+    int mask = this.keys.length - 1;
+    int slot = (int) hash(key) & mask;
+    while (this.used[slot]) {
+      if (this.keys[slot] == key) {
+        return this.values[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    this.used[slot]   = true;
+    this.keys[slot]   = key;
+    this.values[slot] = value;
+    this.size++;
+
+    if (this.size > this.keys.length * LOAD_FACTOR) {
+      grow();
+    }
+
+    return this.missing;
+  }
+
+  /**
+   * Get the number of mappings.
+   * @return the number of mappings.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Remove all the mappings. The capacity of the map is kept.
+   */
+  public void clear() {
+    Arrays.fill(this.used, false);
+    this.size = 0;
+  }
+
+  /**
+   * Double the capacity of the map and rehash its mappings.
+   */
+  private void grow() {
+
+    long[] oldKeys      = this.keys;
+    int[] oldValues     = this.values;
+    boolean[] oldUsed   = this.used;
+
+    this.keys   = new long[2*oldKeys.length];
+    this.values = new int[2*oldKeys.length];
+    this.used   = new boolean[2*oldKeys.length];
+
+    int mask = this.keys.length - 1;
+    for(int i = 0; i < oldKeys.length; i++) {
+      if (oldUsed[i]) {
+        int slot = (int) hash(oldKeys[i]) & mask;
+        while (this.used[slot]) {
+          slot = (slot + 1) & mask;
+        }
+        this.used[slot]   = true;
+        this.keys[slot]   = oldKeys[i];
+        this.values[slot] = oldValues[i];
+      }
+    }
+  }
+}
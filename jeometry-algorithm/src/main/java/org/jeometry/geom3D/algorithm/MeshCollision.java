@@ -0,0 +1,404 @@
+package org.jeometry.geom3D.algorithm;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.Geom3D;
+import org.jeometry.geom3D.mesh.indexed.IndexedTriangleMesh;
+import org.jeometry.geom3D.primitive.Box;
+import org.jeometry.geom3D.primitive.Triangle;
+
+/**
+ * A collision engine that computes the intersecting faces of two triangle meshes and the intersecting faces and boxes of a mesh and a set of boxes.<br><br>
+ * The engine works in two phases. The <i>broad phase</i> culls the pairs that cannot intersect using {@link TriangleBVH bounding volume hierarchies}:
+ * two hierarchies are traversed simultaneously (dual traversal) and only the pairs of leaves whose bounds overlap are kept, the larger node of a pair being
+ * split first. The <i>narrow phase</i> tests the triangles of the kept pairs of leaves using the exact triangle - triangle test of
+ * {@link Geom3D#isIntersectTriangles(double[], int, double[], int)} or the triangle - box test of {@link Geom3D#isIntersectBoxTriangle(double[], int, double[], int)}.
+ * The narrow phase is distributed over parallel chunks when there are enough pairs to test.<br><br>
+ * The results are returned as packed arrays of index pairs, sorted by first index and then by second index.
+ * Touching faces and boxes are reported as intersecting.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ * @see TriangleBVH
+ */
+public class MeshCollision {
+
+  /**
+   * The minimal number of pairs of leaves (or of boxes) that a parallel task has to process.
+   */
+  static final int MINIMAL_CHUNK_SIZE = 1 << 10;
+
+  /**
+   * Compute the intersecting faces of the two given triangle meshes using all the available processors.
+   * @param mesh1 the first mesh.
+   * @param mesh2 the second mesh.
+   * @return the intersecting faces, the pair <code>p</code> being stored from offset <code>2*p</code> as <code>{face1, face2}</code>
+   * where <code>face1</code> is a face index of the first mesh and <code>face2</code> a face index of the second mesh.
+   * @throws IllegalArgumentException if a mesh is <code>null</code> or has no vertices source.
+   * @see #computeIntersectingFaces(TriangleBVH, TriangleBVH, int)
+   */
+  public static int[] computeIntersectingFaces(IndexedTriangleMesh<?> mesh1, IndexedTriangleMesh<?> mesh2) {
+    return computeIntersectingFaces(TriangleBVH.build(mesh1), TriangleBVH.build(mesh2), Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Compute the intersecting triangles of the two given hierarchies.
+   * @param hierarchy1 the first triangles hierarchy.
+   * @param hierarchy2 the second triangles hierarchy.
+   * @param parallelism the maximal number of threads to use.
+   * @return the intersecting triangles, the pair <code>p</code> being stored from offset <code>2*p</code> as <code>{face1, face2}</code>
+   * where <code>face1</code> is a face index of the first hierarchy and <code>face2</code> a face index of the second hierarchy.
+   * @throws IllegalArgumentException if a hierarchy is <code>null</code> or if the parallelism is lesser than 1.
+   */
+  public static int[] computeIntersectingFaces(TriangleBVH hierarchy1, TriangleBVH hierarchy2, int parallelism) {
+
+    if ((hierarchy1 == null) || (hierarchy2 == null)) {
+      throw new IllegalArgumentException("Triangles hierarchies cannot be null.");
+    }
+
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+    }
+
+    if ((hierarchy1.getFaceCount() == 0) || (hierarchy2.getFaceCount() == 0)) {
+      return new int[0];
+    }
+
+    // Broad phase
+    PairList leaves = computeOverlappingLeaves(hierarchy1, hierarchy2);
+
+    // Narrow phase
+    int count  = leaves.size;
+    int chunks = ParallelRange.chunks(count, MINIMAL_CHUNK_SIZE, parallelism);
+
+    List<PairList> results = ParallelRange.map(count, chunks, (from, to) -> intersectLeaves(hierarchy1, hierarchy2, leaves, from, to));
+
+    return sort(merge(results));
+  }
+
+  /**
+   * Compute the intersecting faces and boxes of the given triangle mesh and of the given boxes using all the available processors.
+   * @param mesh the mesh.
+   * @param boxes the boxes bounds, the bounds of the box <code>b</code> being stored from offset <code>6*b</code> as <code>{xmin, ymin, zmin, xmax, ymax, zmax}</code>.
+   * @param boxCount the number of boxes.
+   * @return the intersecting faces and boxes, the pair <code>p</code> being stored from offset <code>2*p</code> as <code>{face, box}</code>.
+   * @throws IllegalArgumentException if the mesh is <code>null</code> or has no vertices source or if the boxes array is too small.
+   * @see #computeIntersectingBoxes(TriangleBVH, double[], int, int)
+   */
+  public static int[] computeIntersectingBoxes(IndexedTriangleMesh<?> mesh, double[] boxes, int boxCount) {
+    return computeIntersectingBoxes(TriangleBVH.build(mesh), boxes, boxCount, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Compute the intersecting triangles and boxes of the given hierarchy and of the given boxes. Each box traverses the hierarchy and its candidate triangles
+   * are tested using the separating axis theorem (see {@link Geom3D#isIntersect(Box, Triangle)}). The boxes are distributed over parallel chunks.
+   * @param hierarchy the triangles hierarchy.
+   * @param boxes the boxes bounds, the bounds of the box <code>b</code> being stored from offset <code>6*b</code> as <code>{xmin, ymin, zmin, xmax, ymax, zmax}</code>.
+   * @param boxCount the number of boxes.
+   * @param parallelism the maximal number of threads to use.
+   * @return the intersecting triangles and boxes, the pair <code>p</code> being stored from offset <code>2*p</code> as <code>{face, box}</code>.
+   * @throws IllegalArgumentException if the hierarchy is <code>null</code>, if the boxes array is too small or if the parallelism is lesser than 1.
+   */
+  public static int[] computeIntersectingBoxes(TriangleBVH hierarchy, double[] boxes, int boxCount, int parallelism) {
+
+    if (hierarchy == null) {
+      throw new IllegalArgumentException("Triangles hierarchy cannot be null.");
+    }
+
+    if ((boxes == null) || (boxCount < 0) || (boxes.length < 6*boxCount)) {
+      throw new IllegalArgumentException("Boxes array cannot store "+boxCount+" boxes.");
+    }
+
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+    }
+
+    if (hierarchy.getFaceCount() == 0) {
+      return new int[0];
+    }
+
+    int chunks = ParallelRange.chunks(boxCount, MINIMAL_CHUNK_SIZE, parallelism);
+
+    List<PairList> results = ParallelRange.map(boxCount, chunks, (from, to) -> intersectBoxes(hierarchy, boxes, from, to));
+
+    return sort(merge(results));
+  }
+
+  /**
+   * Compute the pairs of leaves of the two given hierarchies whose bounds overlap (broad phase).
+   * @param hierarchy1 the first hierarchy.
+   * @param hierarchy2 the second hierarchy.
+   * @return the pairs of leaves, as <code>{leaf1, leaf2}</code>.
+   */
+  private static PairList computeOverlappingLeaves(TriangleBVH hierarchy1, TriangleBVH hierarchy2) {
+
+    double[] bounds1 = hierarchy1.getNodeBounds();
+    double[] bounds2 = hierarchy2.getNodeBounds();
+    int[] offsets1   = hierarchy1.getNodeOffsets();
+    int[] offsets2   = hierarchy2.getNodeOffsets();
+    int[] counts1    = hierarchy1.getNodeCounts();
+    int[] counts2    = hierarchy2.getNodeCounts();
+
+    PairList leaves = new PairList();
+    PairList stack  = new PairList();
+
+    stack.add(0, 0);
+
+    while (stack.size > 0) {
+
+      stack.size--;
+      int node1 = stack.values[2*stack.size];
+      int node2 = stack.values[2*stack.size+1];
+
+      if (!overlap(bounds1, 6*node1, bounds2, 6*node2)) {
+        continue;
+      }
+
+      boolean leaf1 = counts1[node1] > 0;
+      boolean leaf2 = counts2[node2] > 0;
+
+      if (leaf1 && leaf2) {
+        leaves.add(node1, node2);
+      } else if (leaf2 || (!leaf1 && (extent(bounds1, 6*node1) >= extent(bounds2, 6*node2)))) {
+        stack.add(offsets1[node1], node2);
+        stack.add(node1 + 1, node2);
+      } else {
+        stack.add(node1, offsets2[node2]);
+        stack.add(node1, node2 + 1);
+      }
+    }
+
+    return leaves;
+  }
+
+  /**
+   * Test the triangles of the given pairs of leaves (narrow phase).
+   * @param hierarchy1 the first hierarchy.
+   * @param hierarchy2 the second hierarchy.
+   * @param leaves the pairs of leaves.
+   * @param from the first pair of leaves (included).
+   * @param to the last pair of leaves (excluded).
+   * @return the pairs of intersecting faces, as <code>{face1, face2}</code>.
+   */
+  private static PairList intersectLeaves(TriangleBVH hierarchy1, TriangleBVH hierarchy2, PairList leaves, int from, int to) {
+
+    double[] coordinates1 = hierarchy1.getCoordinates();
+    double[] coordinates2 = hierarchy2.getCoordinates();
+    int[] faces1          = hierarchy1.getFaces();
+    int[] faces2          = hierarchy2.getFaces();
+    int[] offsets1        = hierarchy1.getNodeOffsets();
+    int[] offsets2        = hierarchy2.getNodeOffsets();
+    int[] counts1         = hierarchy1.getNodeCounts();
+    int[] counts2         = hierarchy2.getNodeCounts();
+
+    double[] bounds = new double[12];
+
+    PairList result = new PairList();
+
+    for(int p = from; p < to; p++) {
+
+      int leaf1 = leaves.values[2*p];
+      int leaf2 = leaves.values[2*p+1];
+
+      int end1 = offsets1[leaf1] + counts1[leaf1];
+      int end2 = offsets2[leaf2] + counts2[leaf2];
+
+      for(int r1 = offsets1[leaf1]; r1 < end1; r1++) {
+
+        bounds(coordinates1, 9*r1, bounds, 0);
+
+        for(int r2 = offsets2[leaf2]; r2 < end2; r2++) {
+
+          bounds(coordinates2, 9*r2, bounds, 6);
+
+          if (overlap(bounds, 0, bounds, 6) && Geom3D.isIntersectTriangles(coordinates1, 9*r1, coordinates2, 9*r2)) {
+            result.add(faces1[r1], faces2[r2]);
+          }
+        }
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Test the given boxes against the triangles of the given hierarchy.
+   * @param hierarchy the hierarchy.
+   * @param boxes the boxes bounds.
+   * @param from the first box (included).
+   * @param to the last box (excluded).
+   * @return the pairs of intersecting faces and boxes, as <code>{face, box}</code>.
+   */
+  private static PairList intersectBoxes(TriangleBVH hierarchy, double[] boxes, int from, int to) {
+
+    double[] nodeBounds  = hierarchy.getNodeBounds();
+    double[] coordinates = hierarchy.getCoordinates();
+    int[] faces          = hierarchy.getFaces();
+    int[] offsets        = hierarchy.getNodeOffsets();
+    int[] counts         = hierarchy.getNodeCounts();
+
+    int[] stack = hierarchy.createStack();
+
+    PairList result = new PairList();
+
+    for(int box = from; box < to; box++) {
+
+      int top = 0;
+      stack[top++] = 0;
+
+      while (top > 0) {
+
+        int node = stack[--top];
+
+        if (!overlap(nodeBounds, 6*node, boxes, 6*box)) {
+          continue;
+        }
+
+        if (counts[node] > 0) {
+          int end = offsets[node] + counts[node];
+          for(int r = offsets[node]; r < end; r++) {
+            if (Geom3D.isIntersectBoxTriangle(boxes, 6*box, coordinates, 9*r)) {
+              result.add(faces[r], box);
+            }
+          }
+        } else {
+          stack[top++] = offsets[node];
+          stack[top++] = node + 1;
+        }
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Check if the two given bounds overlap (touching bounds overlap).
+   * @param bounds1 the first bounds array.
+   * @param offset1 the offset of the first bounds.
+   * @param bounds2 the second bounds array.
+   * @param offset2 the offset of the second bounds.
+   * @return <code>true</code> if the bounds overlap and <code>false</code> otherwise.
+   */
+  private static boolean overlap(double[] bounds1, int offset1, double[] bounds2, int offset2) {
+    return (bounds1[offset1]   <= bounds2[offset2+3]) && (bounds2[offset2]   <= bounds1[offset1+3])
+        && (bounds1[offset1+1] <= bounds2[offset2+4]) && (bounds2[offset2+1] <= bounds1[offset1+4])
+        && (bounds1[offset1+2] <= bounds2[offset2+5]) && (bounds2[offset2+2] <= bounds1[offset1+5]);
+  }
+
+  /**
+   * Compute the sum of the extents of the given bounds, used to select the node to split during the dual traversal.
+   * @param bounds the bounds array.
+   * @param offset the offset of the bounds.
+   * @return the sum of the extents of the bounds.
+   */
+  private static double extent(double[] bounds, int offset) {
+    return (bounds[offset+3] - bounds[offset]) + (bounds[offset+4] - bounds[offset+1]) + (bounds[offset+5] - bounds[offset+2]);
+  }
+
+  /**
+   * Compute the bounds of the given triangle.
+   * @param coordinates the triangles coordinates.
+   * @param offset the offset of the triangle.
+   * @param bounds the array that will contain the bounds.
+   * @param boundsOffset the offset of the bounds.
+   */
+  private static void bounds(double[] coordinates, int offset, double[] bounds, int boundsOffset) {
+    for(int dimension = 0; dimension < 3; dimension++) {
+      double a = coordinates[offset+dimension];
+      double b = coordinates[offset+3+dimension];
+      double c = coordinates[offset+6+dimension];
+      bounds[boundsOffset+dimension]   = Math.min(a, Math.min(b, c));
+      bounds[boundsOffset+3+dimension] = Math.max(a, Math.max(b, c));
+    }
+  }
+
+  /**
+   * Merge the given pairs lists.
+   * @param lists the pairs lists.
+   * @return the merged pairs list.
+   */
+  private static PairList merge(List<PairList> lists) {
+
+    PairList result = new PairList();
+
+    for(PairList list : lists) {
+      result.addAll(list);
+    }
+
+    return result;
+  }
+
+  /**
+   * Sort the given pairs by first index and then by second index.
+   * @param pairs the pairs.
+   * @return the sorted pairs, packed within an array.
+   */
+  private static int[] sort(PairList pairs) {
+
+    long[] keys = new long[pairs.size];
+    for(int p = 0; p < pairs.size; p++) {
+      keys[p] = ((long) pairs.values[2*p] << 32) | (pairs.values[2*p+1] & 0xFFFFFFFFL);
+    }
+
+    Arrays.sort(keys);
+
+    int[] result = new int[2*pairs.size];
+    for(int p = 0; p < pairs.size; p++) {
+      result[2*p]   = (int) (keys[p] >>> 32);
+      result[2*p+1] = (int) keys[p];
+    }
+
+    return result;
+  }
+
+  /**
+   * A growable list of integer pairs.
+   * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+   * @version {@value Jeometry#version}
+   * @since 2.0.1
+   */
+  private static class PairList {
+
+    /**
+     * The pairs values, the pair <code>p</code> being stored from offset <code>2*p</code>.
+     */
+    private int[] values = new int[64];
+
+    /**
+     * The number of pairs.
+     */
+    private int size     = 0;
+
+    /**
+     * Add a pair to the list.
+     * @param first the first value of the pair.
+     * @param second the second value of the pair.
+     */
+    private void add(int first, int second) {
+
+      if (2*this.size + 1 >= this.values.length) {
+        this.values = Arrays.copyOf(this.values, 2*this.values.length);
+      }
+
+      this.values[2*this.size]   = first;
+      this.values[2*this.size+1] = second;
+      this.size++;
+    }
+
+    /**
+     * Add all the pairs of the given list to this list.
+     * @param list the list to add.
+     */
+    private void addAll(PairList list) {
+
+      if (2*(this.size + list.size) > this.values.length) {
+        this.values = Arrays.copyOf(this.values, Math.max(2*this.values.length, 2*(this.size + list.size)));
+      }
+
+      System.arraycopy(list.values, 0, this.values, 2*this.size, 2*list.size);
+      this.size += list.size;
+    }
+  }
+}
@@ -0,0 +1,1518 @@
+package org.jeometry.geom3D.algorithm;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.mesh.indexed.IndexedMesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+
+/**
+ * A triangle mesh simplification that relies on quadric error metrics edge collapses (Garland &amp; Heckbert).<br><br>
+ * Each vertex carries the quadric of the planes of its incident triangles, that measures the sum of the squared distances of a point to these planes.
+ * Collapsing an edge merges its two vertices into a single vertex placed at the position that minimizes the sum of their quadrics, the error of the collapse
+ * being the value of this sum at the new position. The vertices are ordered within an indexed heap by the error of their cheapest collapse, and the cheapest
+ * collapse is applied until the target face count is reached or until the cheapest error exceeds the {@link #getMaximalError() maximal error}. A collapse
+ * is rejected if it would make the mesh non-manifold (link condition), join two boundaries or flip a triangle. The mesh is stored within primitive arrays:
+ * the triangles within an <code>int[3*F]</code> array that is updated in place and, for each vertex, a linked list of its incident triangles that are merged in constant time
+ * when a vertex is collapsed.<br><br>
+ * The open boundaries are kept in place by constraint planes that are orthogonal to the boundary triangles, or are locked if {@link #isPreserveBoundaries() required}.
+ * As the texture coordinates are given per vertex, a texture seam is made of distinct vertices that share the same position. The vertices of the seams are locked if
+ * {@link #isPreserveSeams() required}, so that the texture mapping is not distorted along the seams.<br><br>
+ * The meshes that have more than {@link #getClusteredFaceCount()} faces are simplified by clusters: the triangles are sorted along a Morton curve and split into
+ * clusters of contiguous triangles that are simplified in parallel, the vertices shared by several clusters being locked. The result is then simplified
+ * as a whole until the target face count is reached, which removes the triangles that have been retained along the cluster borders.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class MeshDecimator {
+
+  /**
+   * The default number of faces above which a mesh is simplified by clusters.
+   */
+  public static final int CLUSTERED_FACE_COUNT = 1 << 23;
+
+  /**
+   * The number of clusters processed by each thread, used to balance the work between the threads.
+   */
+  private static final int CLUSTERS_PER_THREAD = 4;
+
+  /**
+   * The number of bits per axis of the Morton codes used to sort the triangles.
+   */
+  private static final int MORTON_BITS = 10;
+
+  /**
+   * The weight of the constraint planes of the boundaries, relative to the planes of the triangles.
+   */
+  private static final double BOUNDARY_WEIGHT = 10.0d;
+
+  /**
+   * The minimal cosine between the normals of a triangle before and after a collapse.
+   */
+  private static final double MINIMAL_NORMAL_COSINE = 0.2d;
+
+  /**
+   * The flag of a vertex that cannot be moved or removed.
+   */
+  private static final byte LOCKED = 1;
+
+  /**
+   * The flag of a vertex that lies on a boundary.
+   */
+  private static final byte BOUNDARY = 2;
+
+  /**
+   * The flag of a vertex that has been removed.
+   */
+  private static final byte REMOVED = 4;
+
+  /**
+   * Is the boundary vertices are locked.
+   */
+  private boolean preserveBoundaries = false;
+
+  /**
+   * Is the texture seams vertices are locked.
+   */
+  private boolean preserveSeams      = false;
+
+  /**
+   * The maximal error of a collapse.
+   */
+  private double maximalError        = Double.POSITIVE_INFINITY;
+
+  /**
+   * The maximal number of threads to use.
+   */
+  private int parallelism            = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * The number of faces above which a mesh is simplified by clusters.
+   */
+  private int clusteredFaceCount     = CLUSTERED_FACE_COUNT;
+
+  /**
+   * Create a new mesh decimator with default parameters.
+   */
+  public MeshDecimator() {
+  }
+
+  /**
+   * Get if the boundary vertices are locked.
+   * @return <code>true</code> if the boundary vertices are locked and <code>false</code> otherwise.
+   */
+  public boolean isPreserveBoundaries() {
+    return this.preserveBoundaries;
+  }
+
+  /**
+   * Set if the boundary vertices are locked. When the boundaries are not locked, their vertices can be collapsed along the boundaries.
+   * @param preserveBoundaries <code>true</code> if the boundary vertices have to be locked and <code>false</code> otherwise.
+   */
+  public void setPreserveBoundaries(boolean preserveBoundaries) {
+    this.preserveBoundaries = preserveBoundaries;
+  }
+
+  /**
+   * Get if the texture seams vertices are locked.
+   * @return <code>true</code> if the texture seams vertices are locked and <code>false</code> otherwise.
+   */
+  public boolean isPreserveSeams() {
+    return this.preserveSeams;
+  }
+
+  /**
+   * Set if the texture seams vertices are locked. A seam vertex is a vertex that shares exactly its position with another vertex. The seam vertices are
+   * found by hashing the vertices coordinates (see {@link MeshWelding#computeWeldMap(double[], int, double, int[], int[])} with a <code>0</code> tolerance),
+   * in linear time whatever the scale of the mesh.
+   * @param preserveSeams <code>true</code> if the texture seams vertices have to be locked and <code>false</code> otherwise.
+   */
+  public void setPreserveSeams(boolean preserveSeams) {
+    this.preserveSeams = preserveSeams;
+  }
+
+  /**
+   * Get the maximal error of a collapse.
+   * @return the maximal error of a collapse.
+   */
+  public double getMaximalError() {
+    return this.maximalError;
+  }
+
+  /**
+   * Set the maximal error of a collapse. The error of a collapse is the square root of the quadric error of the new vertex, that is an upper bound of its
+   * distance to the planes of the original triangles it replaces. The simplification stops before the target face count if the next collapse exceeds this error.
+   * @param maximalError the maximal error of a collapse (<code>+&infin;</code> to only rely on the target face count).
+   * @throws IllegalArgumentException if the error is negative or <code>NaN</code>.
+   */
+  public void setMaximalError(double maximalError) {
+
+    if (!(maximalError >= 0.0d)) {
+      throw new IllegalArgumentException("Invalid maximal error "+maximalError+".");
+    }
+
+    this.maximalError = maximalError;
+  }
+
+  /**
+   * Get the maximal number of threads to use.
+   * @return the maximal number of threads to use.
+   */
+  public int getParallelism() {
+    return this.parallelism;
+  }
+
+  /**
+   * Set the maximal number of threads to use.
+   * @param parallelism the maximal number of threads to use.
+   * @throws IllegalArgumentException if the parallelism is lesser than 1.
+   */
+  public void setParallelism(int parallelism) {
+
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+    }
+
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Get the number of faces above which a mesh is simplified by clusters.
+   * @return the number of faces above which a mesh is simplified by clusters.
+   */
+  public int getClusteredFaceCount() {
+    return this.clusteredFaceCount;
+  }
+
+  /**
+   * Set the number of faces above which a mesh is simplified by clusters. The clustered simplification is only used if the parallelism is greater than 1.
+   * @param clusteredFaceCount the number of faces above which a mesh is simplified by clusters.
+   * @throws IllegalArgumentException if the count is not positive.
+   */
+  public void setClusteredFaceCount(int clusteredFaceCount) {
+
+    if (clusteredFaceCount < 1) {
+      throw new IllegalArgumentException("Invalid clustered face count "+clusteredFaceCount+".");
+    }
+
+    this.clusteredFaceCount = clusteredFaceCount;
+  }
+
+  /**
+   * Simplify the given mesh. The faces that have more than 3 vertices are triangulated as fans from their first vertex. The given mesh is not modified.
+   * @param mesh the mesh to simplify.
+   * @param targetFaceCount the number of faces to reach.
+   * @return the simplified mesh, that relies on new vertices and only contains the vertices that are referenced by its faces.
+   * @throws IllegalArgumentException if the mesh or its vertices source is <code>null</code>, if a face refers to a missing vertex or if the target face count is negative.
+   */
+  public HalfEdgeMesh<Point3D> decimate(IndexedMesh<?> mesh, int targetFaceCount) {
+
+    if ((mesh == null) || (mesh.getVerticesSource() == null)) {
+      throw new IllegalArgumentException("Mesh and its vertices source cannot be null.");
+    }
+
+    Point3DContainer<?> source = mesh.getVerticesSource();
+
+    int vertexCount = source.size();
+
+    double[] vertices = new double[3*vertexCount];
+    for(int i = 0; i < vertexCount; i++) {
+      Point3D point = source.get(i);
+      vertices[3*i]   = point.getX();
+      vertices[3*i+1] = point.getY();
+      vertices[3*i+2] = point.getZ();
+    }
+
+    // The triangles of a half-edge mesh are its internal array
+    int[] triangles = TriangleBVH.triangulate(mesh);
+    if (mesh instanceof HalfEdgeMesh) {
+      triangles = triangles.clone();
+    }
+
+    int faceCount = decimate(vertices, vertexCount, triangles, triangles.length / 3, targetFaceCount);
+
+    int[] referenced = new int[vertexCount];
+    int compacted    = MeshWelding.compactVertices(triangles, 3*faceCount, vertexCount, referenced);
+
+    Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(compacted);
+    for(int i = 0; i < compacted; i++) {
+      int vertex = referenced[i];
+      points.add(JeometryFactory.createPoint3D(vertices[3*vertex], vertices[3*vertex+1], vertices[3*vertex+2]));
+    }
+
+    return new HalfEdgeMesh<Point3D>(triangles, faceCount, points);
+  }
+
+  /**
+   * Simplify the given triangles in place. The coordinates of the retained vertices are updated and the retained triangles are compacted at the beginning of the
+   * triangles array, in their original order (or grouped by clusters for the clustered simplification). The removed vertices are no more referenced by the triangles but are left within the vertices array
+   * (see {@link MeshWelding#compactVertices(int[], int, int, int[])} to drop them).
+   * @param vertices the vertices coordinates, the coordinates of the vertex <code>i</code> being stored from offset <code>3*i</code>.
+   * @param vertexCount the number of vertices.
+   * @param triangles the triangles vertex indices, the triangle <code>f</code> being stored from offset <code>3*f</code>.
+   * @param faceCount the number of triangles.
+   * @param targetFaceCount the number of triangles to reach.
+   * @return the number of remaining triangles, stored within the first <code>3*count</code> values of the triangles array.
+   * @throws IllegalArgumentException if an array is too small, if a triangle refers to a missing vertex or if the target face count is negative.
+   */
+  public int decimate(double[] vertices, int vertexCount, int[] triangles, int faceCount, int targetFaceCount) {
+
+    if ((vertices == null) || (vertexCount < 0) || (vertices.length < 3*vertexCount)) {
+      throw new IllegalArgumentException("Vertices array cannot store "+vertexCount+" vertices.");
+    }
+
+    if ((triangles == null) || (faceCount < 0) || (triangles.length < 3*faceCount)) {
+      throw new IllegalArgumentException("Triangles array cannot store "+faceCount+" triangles.");
+    }
+
+    if (targetFaceCount < 0) {
+      throw new IllegalArgumentException("Invalid target face count "+targetFaceCount+".");
+    }
+
+    for(int i = 0; i < 3*faceCount; i++) {
+      if ((triangles[i] < 0) || (triangles[i] >= vertexCount)) {
+        throw new IllegalArgumentException("Invalid vertex index "+triangles[i]+" at offset "+i+".");
+      }
+    }
+
+    if (faceCount <= targetFaceCount) {
+      return faceCount;
+    }
+
+    byte[] flags = new byte[vertexCount];
+
+    if (this.preserveSeams) {
+      int[] remap = new int[vertexCount];
+      int unique  = MeshWelding.computeWeldMap(vertices, vertexCount, 0.0d, remap, null);
+
+      int[] shared = new int[unique];
+      for(int i = 0; i < vertexCount; i++) {
+        shared[remap[i]]++;
+      }
+
+      for(int i = 0; i < vertexCount; i++) {
+        if (shared[remap[i]] > 1) {
+          flags[i] = LOCKED;
+        }
+      }
+    }
+
+    double maximalError2 = this.maximalError * this.maximalError;
+
+    int count = faceCount;
+
+    if ((this.parallelism > 1) && (faceCount >= this.clusteredFaceCount)) {
+      count = decimateClusters(vertices, vertexCount, triangles, faceCount, targetFaceCount, flags, maximalError2);
+    }
+
+    return new Decimation(vertices, vertexCount, triangles, count, flags, this.preserveBoundaries).run(targetFaceCount, maximalError2);
+  }
+
+  /**
+   * Simplify the given triangles by clusters of contiguous triangles along a Morton curve, the vertices shared by several clusters being locked.
+   * @param vertices the vertices coordinates.
+   * @param vertexCount the number of vertices.
+   * @param triangles the triangles vertex indices, that are replaced by the triangles of the simplified clusters.
+   * @param faceCount the number of triangles.
+   * @param targetFaceCount the number of triangles to reach.
+   * @param flags the vertices flags.
+   * @param maximalError2 the maximal squared error of a collapse.
+   * @return the number of remaining triangles.
+   */
+  private int decimateClusters(double[] vertices, int vertexCount, int[] triangles, int faceCount, int targetFaceCount, byte[] flags, double maximalError2) {
+
+    double minX = Double.POSITIVE_INFINITY;
+    double minY = Double.POSITIVE_INFINITY;
+    double minZ = Double.POSITIVE_INFINITY;
+    double maxX = Double.NEGATIVE_INFINITY;
+    double maxY = Double.NEGATIVE_INFINITY;
+    double maxZ = Double.NEGATIVE_INFINITY;
+    for(int i = 0; i < vertexCount; i++) {
+      minX = Math.min(minX, vertices[3*i]);
+      minY = Math.min(minY, vertices[3*i+1]);
+      minZ = Math.min(minZ, vertices[3*i+2]);
+      maxX = Math.max(maxX, vertices[3*i]);
+      maxY = Math.max(maxY, vertices[3*i+1]);
+      maxZ = Math.max(maxZ, vertices[3*i+2]);
+    }
+
+    double scale = ((1 << MORTON_BITS) - 1) / Math.max(Double.MIN_NORMAL, Math.max(maxX - minX, Math.max(maxY - minY, maxZ - minZ)));
+
+    // The Morton code of the triangle centroid within the high bits and the triangle within the low bits
+    long[] keys = new long[faceCount];
+    for(int f = 0; f < faceCount; f++) {
+      int a = 3*triangles[3*f];
+      int b = 3*triangles[3*f+1];
+      int c = 3*triangles[3*f+2];
+
+      long x = (long)(((vertices[a]   + vertices[b]   + vertices[c])   / 3.0d - minX) * scale);
+      long y = (long)(((vertices[a+1] + vertices[b+1] + vertices[c+1]) / 3.0d - minY) * scale);
+      long z = (long)(((vertices[a+2] + vertices[b+2] + vertices[c+2]) / 3.0d - minZ) * scale);
+
+      keys[f] = (((spread(x) << 2) | (spread(y) << 1) | spread(z)) << 32) | f;
+    }
+
+    Arrays.parallelSort(keys);
+
+    int clusters = Math.min(this.parallelism * CLUSTERS_PER_THREAD, faceCount);
+
+    // The cluster that owns each vertex, -2 for the vertices shared by several clusters
+    int[] owners = new int[vertexCount];
+    Arrays.fill(owners, -1);
+    for(int c = 0; c < clusters; c++) {
+      int from = ParallelRange.start(faceCount, clusters, c);
+      int to   = ParallelRange.start(faceCount, clusters, c+1);
+      for(int i = from; i < to; i++) {
+        int f = (int) keys[i];
+        for(int k = 0; k < 3; k++) {
+          int vertex = triangles[3*f+k];
+          if (owners[vertex] == -1) {
+            owners[vertex] = c;
+          } else if (owners[vertex] != c) {
+            owners[vertex] = -2;
+          }
+        }
+      }
+    }
+
+    // A chunk per cluster
+    List<int[]> results = ParallelRange.map(clusters, clusters, this.parallelism, (cluster, next) -> {
+      int from   = ParallelRange.start(faceCount, clusters, cluster);
+      int to     = ParallelRange.start(faceCount, clusters, next);
+      int target = (int)((long)targetFaceCount * (to - from) / faceCount);
+      return decimateCluster(vertices, triangles, keys, from, to, owners, cluster, flags, target, maximalError2);
+    });
+
+    int offset = 0;
+    for(int[] result : results) {
+      System.arraycopy(result, 0, triangles, offset, result.length);
+      offset += result.length;
+    }
+
+    return offset / 3;
+  }
+
+  /**
+   * Simplify a cluster of triangles. The cluster is extracted with local vertex indices and the vertices it does not own are locked.
+   * The coordinates of the vertices owned by the cluster are updated within the global vertices array.
+   * @param vertices the vertices coordinates.
+   * @param triangles the triangles vertex indices.
+   * @param keys the sorted triangles keys, the triangle being stored within the 32 low bits.
+   * @param from the first key of the cluster (included).
+   * @param to the last key of the cluster (excluded).
+   * @param owners the cluster that owns each vertex.
+   * @param cluster the cluster.
+   * @param flags the vertices flags.
+   * @param targetFaceCount the number of triangles to reach within the cluster.
+   * @param maximalError2 the maximal squared error of a collapse.
+   * @return the remaining triangles of the cluster, with global vertex indices.
+   */
+  private int[] decimateCluster(double[] vertices, int[] triangles, long[] keys, int from, int to, int[] owners, int cluster, byte[] flags, int targetFaceCount, double maximalError2) {
+
+    int faceCount = to - from;
+
+    int[] local = new int[3*faceCount];
+    for(int i = 0; i < faceCount; i++) {
+      System.arraycopy(triangles, 3*(int)keys[from+i], local, 3*i, 3);
+    }
+
+    // Global indices of the cluster vertices
+    int[] globals = local.clone();
+    Arrays.sort(globals);
+    int vertexCount = 0;
+    for(int i = 0; i < globals.length; i++) {
+      if ((i == 0) || (globals[i] != globals[i-1])) {
+        globals[vertexCount++] = globals[i];
+      }
+    }
+
+    for(int i = 0; i < local.length; i++) {
+      local[i] = Arrays.binarySearch(globals, 0, vertexCount, local[i]);
+    }
+
+    double[] coordinates = new double[3*vertexCount];
+    byte[] localFlags    = new byte[vertexCount];
+    for(int i = 0; i < vertexCount; i++) {
+      System.arraycopy(vertices, 3*globals[i], coordinates, 3*i, 3);
+      localFlags[i] = (owners[globals[i]] == cluster) ? flags[globals[i]] : LOCKED;
+    }
+
+    int remaining = new Decimation(coordinates, vertexCount, local, faceCount, localFlags, this.preserveBoundaries).run(targetFaceCount, maximalError2);
+
+    // The owned vertices are only written by this cluster
+    for(int i = 0; i < vertexCount; i++) {
+      if (owners[globals[i]] == cluster) {
+        System.arraycopy(coordinates, 3*i, vertices, 3*globals[i], 3);
+      }
+    }
+
+    int[] result = new int[3*remaining];
+    for(int i = 0; i < result.length; i++) {
+      result[i] = globals[local[i]];
+    }
+
+    return result;
+  }
+
+  /**
+   * Spread the {@link #MORTON_BITS} low bits of the given value so that two consecutive bits are separated by two zero bits.
+   * @param value the value to spread.
+   * @return the spread value.
+   */
+  private static long spread(long value) {
+    long x = Math.max(0L, Math.min((1L << MORTON_BITS) - 1, value));
+    x = (x | (x << 16)) & 0x030000FFL;
+    x = (x | (x <<  8)) & 0x0300F00FL;
+    x = (x | (x <<  4)) & 0x030C30C3L;
+    x = (x | (x <<  2)) & 0x09249249L;
+    return x;
+  }
+
+  /**
+   * The state of the simplification of a set of triangles.
+   */
+  private static class Decimation {
+
+    /**
+     * The vertices coordinates.
+     */
+    private final double[] vertices;
+
+    /**
+     * The triangles vertex indices, a removed triangle starting with <code>-1</code>.
+     */
+    private final int[] triangles;
+
+    /**
+     * The number of triangles.
+     */
+    private final int faceCount;
+
+    /**
+     * The number of remaining triangles.
+     */
+    private int liveCount;
+
+    /**
+     * The vertices flags.
+     */
+    private final byte[] flags;
+
+    /**
+     * The reference point x coordinate, the quadrics being expressed relatively to the reference point.
+     */
+    private final double referenceX;
+
+    /**
+     * The reference point y coordinate.
+     */
+    private final double referenceY;
+
+    /**
+     * The reference point z coordinate.
+     */
+    private final double referenceZ;
+
+    /**
+     * The vertices quadrics, the quadric of the vertex <code>i</code> being stored from offset <code>10*i</code>.
+     */
+    private final double[] quadrics;
+
+    /**
+     * The first incidence entry of each vertex.
+     */
+    private final int[] heads;
+
+    /**
+     * The last incidence entry of each vertex.
+     */
+    private final int[] tails;
+
+    /**
+     * The triangle of each incidence entry.
+     */
+    private final int[] entryFaces;
+
+    /**
+     * The next incidence entry of each incidence entry.
+     */
+    private final int[] entryNexts;
+
+    /**
+     * The target vertex of the cheapest collapse of each vertex.
+     */
+    private final int[] targets;
+
+    /**
+     * The position (relative to the reference point) of the cheapest collapse of each vertex.
+     */
+    private final double[] positions;
+
+    /**
+     * The vertices ordered by the error of their cheapest collapse.
+     */
+    private final IndexedHeap heap;
+
+    /**
+     * The vertices marks of the current neighbor gathering.
+     */
+    private final int[] marks;
+
+    /**
+     * The vertices marks of the current link condition check.
+     */
+    private final int[] links;
+
+    /**
+     * The current neighbors marking generation.
+     */
+    private int generation = 0;
+
+    /**
+     * The current link condition marking generation.
+     */
+    private int linkGeneration = 0;
+
+    /**
+     * The triangles gathering buffers.
+     */
+    private int[][] faceBuffers = new int[3][16];
+
+    /**
+     * The neighbors gathering buffers.
+     */
+    private int[][] ringBuffers = new int[2][16];
+
+    /**
+     * The candidates errors buffer.
+     */
+    private double[] candidateErrors = new double[16];
+
+    /**
+     * The candidates positions buffer.
+     */
+    private double[] candidatePositions = new double[48];
+
+    /**
+     * The quadric of the current collapse.
+     */
+    private final double[] quadric = new double[10];
+
+    /**
+     * Create a new simplification state.
+     * @param vertices the vertices coordinates.
+     * @param vertexCount the number of vertices.
+     * @param triangles the triangles vertex indices.
+     * @param faceCount the number of triangles.
+     * @param flags the vertices flags.
+     * @param preserveBoundaries <code>true</code> if the boundary vertices have to be locked.
+     */
+    Decimation(double[] vertices, int vertexCount, int[] triangles, int faceCount, byte[] flags, boolean preserveBoundaries) {
+
+      this.vertices   = vertices;
+      this.triangles  = triangles;
+      this.faceCount  = faceCount;
+      this.liveCount  = faceCount;
+      this.flags      = flags;
+
+      int first = (faceCount > 0) ? triangles[0] : 0;
+      this.referenceX = (vertexCount > 0) ? vertices[3*first]   : 0.0d;
+      this.referenceY = (vertexCount > 0) ? vertices[3*first+1] : 0.0d;
+      this.referenceZ = (vertexCount > 0) ? vertices[3*first+2] : 0.0d;
+
+      this.quadrics   = new double[10*vertexCount];
+      this.heads      = new int[vertexCount];
+      this.tails      = new int[vertexCount];
+      this.entryFaces = new int[3*faceCount];
+      this.entryNexts = new int[3*faceCount];
+      this.targets    = new int[vertexCount];
+      this.positions  = new double[3*vertexCount];
+      this.heap       = new IndexedHeap(vertexCount);
+      this.marks      = new int[vertexCount];
+      this.links      = new int[vertexCount];
+
+      Arrays.fill(this.heads, -1);
+      Arrays.fill(this.tails, -1);
+
+      // Incidence lists and triangles planes
+      for(int f = 0; f < faceCount; f++) {
+        for(int k = 0; k < 3; k++) {
+          int entry  = 3*f+k;
+          int vertex = triangles[entry];
+
+          this.entryFaces[entry] = f;
+          this.entryNexts[entry] = -1;
+
+          if (this.heads[vertex] < 0) {
+            this.heads[vertex] = entry;
+          } else {
+            this.entryNexts[this.tails[vertex]] = entry;
+          }
+          this.tails[vertex] = entry;
+        }
+
+        int a = triangles[3*f];
+        int b = triangles[3*f+1];
+        int c = triangles[3*f+2];
+
+        if ((a == b) || (b == c) || (c == a)) {
+          continue;
+        }
+
+        double ax = x(a);
+        double ay = y(a);
+        double az = z(a);
+
+        double ux = x(b) - ax;
+        double uy = y(b) - ay;
+        double uz = z(b) - az;
+        double vx = x(c) - ax;
+        double vy = y(c) - ay;
+        double vz = z(c) - az;
+
+        double nx = uy * vz - uz * vy;
+        double ny = uz * vx - ux * vz;
+        double nz = ux * vy - uy * vx;
+
+        double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        if (length > 0.0d) {
+          nx /= length;
+          ny /= length;
+          nz /= length;
+
+          double d = -(nx * ax + ny * ay + nz * az);
+
+          addPlane(a, nx, ny, nz, d, 1.0d);
+          addPlane(b, nx, ny, nz, d, 1.0d);
+          addPlane(c, nx, ny, nz, d, 1.0d);
+        }
+      }
+
+      // Boundaries, an edge being on a boundary if it is shared by a single triangle and non-manifold if it is shared by more than two triangles
+      int[] counts = new int[vertexCount];
+      int[] edgeFaces = new int[vertexCount];
+      for(int v = 0; v < vertexCount; v++) {
+
+        int faces = gatherFaces(v, 0);
+        if (faces == 0) {
+          continue;
+        }
+
+        int[] buffer = this.faceBuffers[0];
+
+        int mark = nextGeneration();
+        for(int i = 0; i < faces; i++) {
+          int f = buffer[i];
+          for(int k = 0; k < 3; k++) {
+            int other = triangles[3*f+k];
+            if (other != v) {
+              if (this.marks[other] != mark) {
+                this.marks[other] = mark;
+                counts[other]     = 0;
+              }
+              counts[other]++;
+              edgeFaces[other] = f;
+            }
+          }
+        }
+
+        for(int i = 0; i < faces; i++) {
+          int f = buffer[i];
+          for(int k = 0; k < 3; k++) {
+            int other = triangles[3*f+k];
+            if ((other != v) && (counts[other] > 0)) {
+              if (counts[other] == 1) {
+                this.flags[v] |= BOUNDARY;
+                addBoundaryPlane(v, other, edgeFaces[other]);
+              } else if (counts[other] > 2) {
+                this.flags[v] |= LOCKED;
+              }
+              counts[other] = 0;
+            }
+          }
+        }
+
+        if (preserveBoundaries && ((this.flags[v] & BOUNDARY) != 0)) {
+          this.flags[v] |= LOCKED;
+        }
+      }
+
+      for(int v = 0; v < vertexCount; v++) {
+        evaluate(v);
+      }
+    }
+
+    /**
+     * Apply the cheapest collapses until the target face count is reached or until the cheapest error exceeds the given error. The remaining triangles are then compacted.
+     * @param targetFaceCount the number of triangles to reach.
+     * @param maximalError2 the maximal squared error of a collapse.
+     * @return the number of remaining triangles.
+     */
+    int run(int targetFaceCount, double maximalError2) {
+
+      while ((this.liveCount > targetFaceCount) && !this.heap.isEmpty()) {
+
+        int vertex = this.heap.peek();
+        if (this.heap.getKey(vertex) > maximalError2) {
+          break;
+        }
+
+        this.heap.remove(vertex);
+
+        // The neighborhood may have changed since the collapse has been evaluated
+        int target = this.targets[vertex];
+        int faces  = gatherFaces(vertex, 0);
+
+        if (isValid(vertex, target, faces, gatherRing(vertex, 0, faces, 0), this.positions[3*vertex], this.positions[3*vertex+1], this.positions[3*vertex+2])) {
+          collapse(vertex, target);
+        } else {
+          evaluate(vertex);
+        }
+      }
+
+      int remaining = 0;
+      for(int f = 0; f < this.faceCount; f++) {
+        if (this.triangles[3*f] >= 0) {
+          if (remaining != f) {
+            System.arraycopy(this.triangles, 3*f, this.triangles, 3*remaining, 3);
+          }
+          remaining++;
+        }
+      }
+
+      return remaining;
+    }
+
+    /**
+     * Evaluate the cheapest valid collapse of the given vertex and update its position within the heap.
+     * @param vertex the vertex.
+     */
+    private void evaluate(int vertex) {
+
+      if ((this.flags[vertex] & (LOCKED | REMOVED)) != 0) {
+        this.heap.remove(vertex);
+        return;
+      }
+
+      int faces      = gatherFaces(vertex, 0);
+      int candidates = gatherRing(vertex, 0, faces, 0);
+
+      if (candidates > this.candidateErrors.length) {
+        this.candidateErrors    = new double[2*candidates];
+        this.candidatePositions = new double[6*candidates];
+      }
+
+      int[] ring = this.ringBuffers[0];
+      for(int i = 0; i < candidates; i++) {
+        this.candidateErrors[i] = computeCollapse(vertex, ring[i], this.candidatePositions, 3*i);
+      }
+
+      // Candidates are checked by increasing errors until a valid one is found
+      for(int checked = 0; checked < candidates; checked++) {
+
+        int best = -1;
+        for(int i = 0; i < candidates; i++) {
+          if ((this.candidateErrors[i] >= 0.0d) && ((best < 0) || (this.candidateErrors[i] < this.candidateErrors[best]))) {
+            best = i;
+          }
+        }
+
+        if (best < 0) {
+          break;
+        }
+
+        double x = this.candidatePositions[3*best];
+        double y = this.candidatePositions[3*best+1];
+        double z = this.candidatePositions[3*best+2];
+
+        if (isValid(vertex, ring[best], faces, candidates, x, y, z)) {
+          this.targets[vertex]       = ring[best];
+          this.positions[3*vertex]   = x;
+          this.positions[3*vertex+1] = y;
+          this.positions[3*vertex+2] = z;
+          this.heap.update(vertex, this.candidateErrors[best]);
+          return;
+        }
+
+        this.candidateErrors[best] = -1.0d;
+      }
+
+      this.heap.remove(vertex);
+    }
+
+    /**
+     * Compute the position and the error of the collapse of the given vertex into the given target.
+     * @param vertex the collapsed vertex.
+     * @param target the target vertex.
+     * @param position the array that will contain the position, relative to the reference point.
+     * @param offset the offset of the position within the array.
+     * @return the quadric error of the collapse.
+     */
+    private double computeCollapse(int vertex, int target, double[] position, int offset) {
+
+      double[] q = this.quadric;
+      for(int i = 0; i < 10; i++) {
+        q[i] = this.quadrics[10*vertex+i] + this.quadrics[10*target+i];
+      }
+
+      double x0 = x(vertex);
+      double y0 = y(vertex);
+      double z0 = z(vertex);
+      double x1 = x(target);
+      double y1 = y(target);
+      double z1 = z(target);
+
+      if ((this.flags[target] & LOCKED) == 0) {
+
+        // Minimize the quadric by solving A.p = -b (Cramer's rule)
+        double c00 = q[4] * q[7] - q[5] * q[5];
+        double c01 = q[2] * q[5] - q[1] * q[7];
+        double c02 = q[1] * q[5] - q[2] * q[4];
+        double det = q[0] * c00 + q[1] * c01 + q[2] * c02;
+        double trace = q[0] + q[4] + q[7];
+
+        if (Math.abs(det) > 1.0e-6d * trace * trace * trace) {
+          double c11 = q[0] * q[7] - q[2] * q[2];
+          double c12 = q[1] * q[2] - q[0] * q[5];
+          double c22 = q[0] * q[4] - q[1] * q[1];
+
+          double x = -(c00 * q[3] + c01 * q[6] + c02 * q[8]) / det;
+          double y = -(c01 * q[3] + c11 * q[6] + c12 * q[8]) / det;
+          double z = -(c02 * q[3] + c12 * q[6] + c22 * q[8]) / det;
+
+          // The optimum of an ill-conditioned quadric can be far from the edge
+          double dx = x - 0.5d * (x0 + x1);
+          double dy = y - 0.5d * (y0 + y1);
+          double dz = z - 0.5d * (z0 + z1);
+          double ex = x1 - x0;
+          double ey = y1 - y0;
+          double ez = z1 - z0;
+
+          if (dx * dx + dy * dy + dz * dz <= ex * ex + ey * ey + ez * ez) {
+            position[offset]   = x;
+            position[offset+1] = y;
+            position[offset+2] = z;
+            return error(q, x, y, z);
+          }
+        }
+
+        // Best of the edge end points and middle
+        double error = error(q, x1, y1, z1);
+        position[offset]   = x1;
+        position[offset+1] = y1;
+        position[offset+2] = z1;
+
+        double candidate = error(q, x0, y0, z0);
+        if (candidate < error) {
+          error = candidate;
+          position[offset]   = x0;
+          position[offset+1] = y0;
+          position[offset+2] = z0;
+        }
+
+        candidate = error(q, 0.5d * (x0 + x1), 0.5d * (y0 + y1), 0.5d * (z0 + z1));
+        if (candidate < error) {
+          error = candidate;
+          position[offset]   = 0.5d * (x0 + x1);
+          position[offset+1] = 0.5d * (y0 + y1);
+          position[offset+2] = 0.5d * (z0 + z1);
+        }
+
+        return error;
+      }
+
+      position[offset]   = x1;
+      position[offset+1] = y1;
+      position[offset+2] = z1;
+
+      return error(q, x1, y1, z1);
+    }
+
+    /**
+     * Check if the collapse of the given vertex into the given target at the given position keeps the mesh manifold and does not flip a triangle.
+     * The neighbors of the vertex have to be marked by the current generation.
+     * @param vertex the collapsed vertex.
+     * @param target the target vertex.
+     * @param faces the number of triangles of the vertex, stored within the first triangles buffer.
+     * @param neighbors the number of neighbors of the vertex.
+     * @param x the new position x coordinate, relative to the reference point.
+     * @param y the new position y coordinate, relative to the reference point.
+     * @param z the new position z coordinate, relative to the reference point.
+     * @return <code>true</code> if the collapse is valid and <code>false</code> otherwise.
+     */
+    private boolean isValid(int vertex, int target, int faces, int neighbors, double x, double y, double z) {
+
+      if ((target < 0) || ((this.flags[target] & REMOVED) != 0)) {
+        return false;
+      }
+
+      int[] vertexFaces = this.faceBuffers[0];
+
+      int shared = 0;
+      for(int i = 0; i < faces; i++) {
+        int f = vertexFaces[i];
+        if ((this.triangles[3*f] == target) || (this.triangles[3*f+1] == target) || (this.triangles[3*f+2] == target)) {
+          shared++;
+        }
+      }
+
+      if ((shared == 0) || (shared > 2)) {
+        return false;
+      }
+
+      // Two boundaries cannot be joined by an interior edge
+      if ((shared == 2) && ((this.flags[vertex] & BOUNDARY) != 0) && ((this.flags[target] & BOUNDARY) != 0)) {
+        return false;
+      }
+
+      int mark = this.generation;
+
+      int targetFaces = gatherFaces(target, 1);
+      int[] buffer    = this.faceBuffers[1];
+
+      // Link condition: the common neighbors are the opposite vertices of the shared triangles
+      if (this.linkGeneration == Integer.MAX_VALUE) {
+        Arrays.fill(this.links, 0);
+        this.linkGeneration = 0;
+      }
+
+      int link    = ++this.linkGeneration;
+      int common  = 0;
+      int others  = 0;
+      for(int i = 0; i < targetFaces; i++) {
+        int f = buffer[i];
+        for(int k = 0; k < 3; k++) {
+          int other = this.triangles[3*f+k];
+          if ((other != target) && (other != vertex) && (this.links[other] != link)) {
+            this.links[other] = link;
+            others++;
+            if (this.marks[other] == mark) {
+              common++;
+            }
+          }
+        }
+      }
+
+      if (common != shared) {
+        return false;
+      }
+
+      // The merged vertex has to keep enough neighbors, which prevents a small closed component (tetrahedron) to collapse into a flat one
+      if ((neighbors - 1) + others - common < shared + 1) {
+        return false;
+      }
+
+      return !isFlipping(vertexFaces, faces, vertex, target, x, y, z) && !isFlipping(buffer, targetFaces, target, vertex, x, y, z);
+    }
+
+    /**
+     * Check if moving the given vertex to the given position flips one of its triangles that does not contain the other vertex.
+     * @param faces the triangles of the vertex.
+     * @param count the number of triangles.
+     * @param vertex the moved vertex.
+     * @param other the other vertex of the collapsed edge.
+     * @param x the new position x coordinate, relative to the reference point.
+     * @param y the new position y coordinate, relative to the reference point.
+     * @param z the new position z coordinate, relative to the reference point.
+     * @return <code>true</code> if a triangle is flipped and <code>false</code> otherwise.
+     */
+    private boolean isFlipping(int[] faces, int count, int vertex, int other, double x, double y, double z) {
+
+      for(int i = 0; i < count; i++) {
+        int f = faces[i];
+
+        int a = this.triangles[3*f];
+        int b = this.triangles[3*f+1];
+        int c = this.triangles[3*f+2];
+
+        if ((a == other) || (b == other) || (c == other)) {
+          continue;
+        }
+
+        // Rotate the triangle so that the moved vertex is the first one
+        if (b == vertex) {
+          b = c;
+          c = a;
+        } else if (c == vertex) {
+          c = b;
+          b = a;
+        }
+
+        double ux = x(b) - x(vertex);
+        double uy = y(b) - y(vertex);
+        double uz = z(b) - z(vertex);
+        double vx = x(c) - x(vertex);
+        double vy = y(c) - y(vertex);
+        double vz = z(c) - z(vertex);
+
+        double nx = uy * vz - uz * vy;
+        double ny = uz * vx - ux * vz;
+        double nz = ux * vy - uy * vx;
+
+        ux = x(b) - x;
+        uy = y(b) - y;
+        uz = z(b) - z;
+        vx = x(c) - x;
+        vy = y(c) - y;
+        vz = z(c) - z;
+
+        double mx = uy * vz - uz * vy;
+        double my = uz * vx - ux * vz;
+        double mz = ux * vy - uy * vx;
+
+        double before = nx * nx + ny * ny + nz * nz;
+        double after  = mx * mx + my * my + mz * mz;
+
+        if (before > 0.0d) {
+          if ((after <= 0.0d) || (nx * mx + ny * my + nz * mz < MINIMAL_NORMAL_COSINE * Math.sqrt(before * after))) {
+            return true;
+          }
+        }
+      }
+
+      return false;
+    }
+
+    /**
+     * Collapse the given vertex into the given target, that is moved to the position of the collapse.
+     * @param vertex the collapsed vertex.
+     * @param target the target vertex.
+     */
+    private void collapse(int vertex, int target) {
+
+      int faces    = gatherFaces(vertex, 0);
+      int[] buffer = this.faceBuffers[0];
+
+      for(int i = 0; i < faces; i++) {
+        int f = buffer[i];
+        if ((this.triangles[3*f] == target) || (this.triangles[3*f+1] == target) || (this.triangles[3*f+2] == target)) {
+          this.triangles[3*f] = -1;
+          this.liveCount--;
+        } else {
+          for(int k = 0; k < 3; k++) {
+            if (this.triangles[3*f+k] == vertex) {
+              this.triangles[3*f+k] = target;
+            }
+          }
+        }
+      }
+
+      // The removed triangles are dropped lazily from the target list
+      if (this.heads[vertex] >= 0) {
+        if (this.heads[target] < 0) {
+          this.heads[target] = this.heads[vertex];
+        } else {
+          this.entryNexts[this.tails[target]] = this.heads[vertex];
+        }
+        this.tails[target] = this.tails[vertex];
+        this.heads[vertex] = -1;
+        this.tails[vertex] = -1;
+      }
+
+      for(int i = 0; i < 10; i++) {
+        this.quadrics[10*target+i] += this.quadrics[10*vertex+i];
+      }
+
+      if ((this.flags[target] & LOCKED) == 0) {
+        this.vertices[3*target]   = this.referenceX + this.positions[3*vertex];
+        this.vertices[3*target+1] = this.referenceY + this.positions[3*vertex+1];
+        this.vertices[3*target+2] = this.referenceZ + this.positions[3*vertex+2];
+      }
+
+      this.flags[target] |= this.flags[vertex] & BOUNDARY;
+      this.flags[vertex] |= REMOVED;
+
+      // Update the collapses around the moved vertex. Only the edge toward the moved vertex has changed for a neighbor whose cheapest
+      // collapse is still available, its validity being checked when it is applied
+      int targetFaces = gatherFaces(target, 2);
+      int neighbors   = gatherRing(target, 2, targetFaces, 1);
+
+      evaluate(target);
+
+      int[] ring = this.ringBuffers[1];
+      for(int i = 0; i < neighbors; i++) {
+        int neighbor = ring[i];
+        if ((this.flags[neighbor] & (LOCKED | REMOVED)) != 0) {
+          continue;
+        }
+
+        if (this.heap.contains(neighbor) && (this.targets[neighbor] != vertex) && (this.targets[neighbor] != target)) {
+          double error = computeCollapse(neighbor, target, this.candidatePositions, 0);
+          if (error < this.heap.getKey(neighbor)) {
+            this.targets[neighbor] = target;
+            System.arraycopy(this.candidatePositions, 0, this.positions, 3*neighbor, 3);
+            this.heap.update(neighbor, error);
+          }
+        } else {
+          evaluate(neighbor);
+        }
+      }
+    }
+
+    /**
+     * Gather the remaining triangles of the given vertex within a triangles buffer, the removed triangles being unlinked from the vertex list.
+     * @param vertex the vertex.
+     * @param slot the triangles buffer to fill.
+     * @return the number of gathered triangles.
+     */
+    private int gatherFaces(int vertex, int slot) {
+
+      int count    = 0;
+      int previous = -1;
+      int entry    = this.heads[vertex];
+
+      while (entry >= 0) {
+        int next = this.entryNexts[entry];
+        int face = this.entryFaces[entry];
+
+        if (this.triangles[3*face] < 0) {
+          if (previous < 0) {
+            this.heads[vertex] = next;
+          } else {
+            this.entryNexts[previous] = next;
+          }
+
+          if (next < 0) {
+            this.tails[vertex] = previous;
+          }
+        } else {
+          if (count == this.faceBuffers[slot].length) {
+            this.faceBuffers[slot] = Arrays.copyOf(this.faceBuffers[slot], 2*count);
+          }
+          this.faceBuffers[slot][count++] = face;
+          previous = entry;
+        }
+
+        entry = next;
+      }
+
+      return count;
+    }
+
+    /**
+     * Gather the distinct neighbors of the given vertex within a neighbors buffer. The neighbors are marked by a new generation.
+     * @param vertex the vertex.
+     * @param faceSlot the triangles buffer that contains the triangles of the vertex.
+     * @param faces the number of triangles of the vertex.
+     * @param slot the neighbors buffer to fill.
+     * @return the number of gathered neighbors.
+     */
+    private int gatherRing(int vertex, int faceSlot, int faces, int slot) {
+
+      int[] buffer = this.faceBuffers[faceSlot];
+
+      int mark  = nextGeneration();
+      int count = 0;
+      for(int i = 0; i < faces; i++) {
+        int f = buffer[i];
+        for(int k = 0; k < 3; k++) {
+          int other = this.triangles[3*f+k];
+          if ((other != vertex) && (this.marks[other] != mark)) {
+            this.marks[other] = mark;
+            if (count == this.ringBuffers[slot].length) {
+              this.ringBuffers[slot] = Arrays.copyOf(this.ringBuffers[slot], 2*count);
+            }
+            this.ringBuffers[slot][count++] = other;
+          }
+        }
+      }
+
+      return count;
+    }
+
+    /**
+     * Get a new neighbors marking generation.
+     * @return the new neighbors marking generation.
+     */
+    private int nextGeneration() {
+
+      if (this.generation == Integer.MAX_VALUE) {
+        Arrays.fill(this.marks, 0);
+        this.generation = 0;
+      }
+
+      return ++this.generation;
+    }
+
+    /**
+     * Add the constraint plane of the given boundary edge to the quadric of the given vertex. The plane contains the edge and is orthogonal to its triangle.
+     * @param vertex the vertex.
+     * @param other the other vertex of the edge.
+     * @param face the triangle of the edge.
+     */
+    private void addBoundaryPlane(int vertex, int other, int face) {
+
+      int a = this.triangles[3*face];
+      int b = this.triangles[3*face+1];
+      int c = this.triangles[3*face+2];
+
+      double ux = x(b) - x(a);
+      double uy = y(b) - y(a);
+      double uz = z(b) - z(a);
+      double vx = x(c) - x(a);
+      double vy = y(c) - y(a);
+      double vz = z(c) - z(a);
+
+      double nx = uy * vz - uz * vy;
+      double ny = uz * vx - ux * vz;
+      double nz = ux * vy - uy * vx;
+
+      double ex = x(other) - x(vertex);
+      double ey = y(other) - y(vertex);
+      double ez = z(other) - z(vertex);
+
+      double px = ey * nz - ez * ny;
+      double py = ez * nx - ex * nz;
+      double pz = ex * ny - ey * nx;
+
+      double length = Math.sqrt(px * px + py * py + pz * pz);
+      if (length > 0.0d) {
+        px /= length;
+        py /= length;
+        pz /= length;
+        addPlane(vertex, px, py, pz, -(px * x(vertex) + py * y(vertex) + pz * z(vertex)), BOUNDARY_WEIGHT);
+      }
+    }
+
+    /**
+     * Add the given weighted plane <code>ax + by + cz + d = 0</code> to the quadric of the given vertex.
+     * @param vertex the vertex.
+     * @param a the plane normal x coordinate.
+     * @param b the plane normal y coordinate.
+     * @param c the plane normal z coordinate.
+     * @param d the plane offset.
+     * @param weight the plane weight.
+     */
+    private void addPlane(int vertex, double a, double b, double c, double d, double weight) {
+      int offset = 10*vertex;
+      this.quadrics[offset]   += weight * a * a;
+      this.quadrics[offset+1] += weight * a * b;
+      this.quadrics[offset+2] += weight * a * c;
+      this.quadrics[offset+3] += weight * a * d;
+      this.quadrics[offset+4] += weight * b * b;
+      this.quadrics[offset+5] += weight * b * c;
+      this.quadrics[offset+6] += weight * b * d;
+      this.quadrics[offset+7] += weight * c * c;
+      this.quadrics[offset+8] += weight * c * d;
+      this.quadrics[offset+9] += weight * d * d;
+    }
+
+    /**
+     * Evaluate the given quadric at the given position.
+     * @param q the quadric.
+     * @param x the position x coordinate.
+     * @param y the position y coordinate.
+     * @param z the position z coordinate.
+     * @return the quadric error, that is clamped to 0.
+     */
+    private static double error(double[] q, double x, double y, double z) {
+      double error = q[0] * x * x + 2.0d * q[1] * x * y + 2.0d * q[2] * x * z + 2.0d * q[3] * x
+                   + q[4] * y * y + 2.0d * q[5] * y * z + 2.0d * q[6] * y
+                   + q[7] * z * z + 2.0d * q[8] * z
+                   + q[9];
+      return Math.max(0.0d, error);
+    }
+
+    /**
+     * Get the x coordinate of the given vertex relative to the reference point.
+     * @param vertex the vertex.
+     * @return the relative x coordinate.
+     */
+    private double x(int vertex) {
+      return this.vertices[3*vertex] - this.referenceX;
+    }
+
+    /**
+     * Get the y coordinate of the given vertex relative to the reference point.
+     * @param vertex the vertex.
+     * @return the relative y coordinate.
+     */
+    private double y(int vertex) {
+      return this.vertices[3*vertex+1] - this.referenceY;
+    }
+
+    /**
+     * Get the z coordinate of the given vertex relative to the reference point.
+     * @param vertex the vertex.
+     * @return the relative z coordinate.
+     */
+    private double z(int vertex) {
+      return this.vertices[3*vertex+2] - this.referenceZ;
+    }
+  }
+
+  /**
+   * A binary min heap of vertices that are ordered by a key and whose key can be updated.
+   */
+  private static class IndexedHeap {
+
+    /**
+     * The vertices ordered as a binary heap.
+     */
+    private final int[] heap;
+
+    /**
+     * The position of each vertex within the heap, <code>-1</code> if the vertex is not within the heap.
+     */
+    private final int[] positions;
+
+    /**
+     * The key of each vertex.
+     */
+    private final double[] keys;
+
+    /**
+     * The number of vertices within the heap.
+     */
+    private int size = 0;
+
+    /**
+     * Create a new empty heap.
+     * @param capacity the number of vertices.
+     */
+    IndexedHeap(int capacity) {
+      this.heap      = new int[capacity];
+      this.positions = new int[capacity];
+      this.keys      = new double[capacity];
+      Arrays.fill(this.positions, -1);
+    }
+
+    /**
+     * Check if the heap is empty.
+     * @return <code>true</code> if the heap is empty and <code>false</code> otherwise.
+     */
+    boolean isEmpty() {
+      return this.size == 0;
+    }
+
+    /**
+     * Check if the given vertex is within the heap.
+     * @param vertex the vertex.
+     * @return <code>true</code> if the vertex is within the heap and <code>false</code> otherwise.
+     */
+    boolean contains(int vertex) {
+      return this.positions[vertex] >= 0;
+    }
+
+    /**
+     * Get the vertex that has the lowest key.
+     * @return the vertex that has the lowest key.
+     */
+    int peek() {
+      return this.heap[0];
+    }
+
+    /**
+     * Get the key of the given vertex.
+     * @param vertex the vertex.
+     * @return the key of the vertex.
+     */
+    double getKey(int vertex) {
+      return this.keys[vertex];
+    }
+
+    /**
+     * Insert the given vertex or update its key.
+     * @param vertex the vertex.
+     * @param key the key of the vertex.
+     */
+    void update(int vertex, double key) {
+
+      int position = this.positions[vertex];
+
+      this.keys[vertex] = key;
+
+      if (position < 0) {
+        position = this.size++;
+        this.heap[position]    = vertex;
+        this.positions[vertex] = position;
+      }
+
+      siftDown(siftUp(position));
+    }
+
+    /**
+     * Remove the given vertex from the heap if it is within the heap.
+     * @param vertex the vertex.
+     */
+    void remove(int vertex) {
+
+      int position = this.positions[vertex];
+      if (position < 0) {
+        return;
+      }
+
+      this.positions[vertex] = -1;
+      this.size--;
+
+      if (position < this.size) {
+        int last = this.heap[this.size];
+        this.heap[position]  = last;
+        this.positions[last] = position;
+        siftDown(siftUp(position));
+      }
+    }
+
+    /**
+     * Move the vertex at the given position toward the root while its key is lower than its parent one.
+     * @param position the position of the vertex.
+     * @return the new position of the vertex.
+     */
+    private int siftUp(int position) {
+
+      int vertex = this.heap[position];
+      double key = this.keys[vertex];
+
+      while (position > 0) {
+        int parent = (position - 1) >>> 1;
+        if (this.keys[this.heap[parent]] <= key) {
+          break;
+        }
+        this.heap[position] = this.heap[parent];
+        this.positions[this.heap[position]] = position;
+        position = parent;
+      }
+
+      this.heap[position]    = vertex;
+      this.positions[vertex] = position;
+
+      return position;
+    }
+
+    /**
+     * Move the vertex at the given position toward the leaves while its key is greater than one of its children.
+     * @param position the position of the vertex.
+     */
+    private void siftDown(int position) {
+
+      int vertex = this.heap[position];
+      double key = this.keys[vertex];
+
+      while (true) {
+        int child = 2 * position + 1;
+        if (child >= this.size) {
+          break;
+        }
+
+        if ((child + 1 < this.size) && (this.keys[this.heap[child+1]] < this.keys[this.heap[child]])) {
+          child++;
+        }
+
+        if (this.keys[this.heap[child]] >= key) {
+          break;
+        }
+
+        this.heap[position] = this.heap[child];
+        this.positions[this.heap[position]] = position;
+        position = child;
+      }
+
+      this.heap[position]    = vertex;
+      this.positions[vertex] = position;
+    }
+  }
+}
@@ -0,0 +1,345 @@
+package org.jeometry.geom3D.algorithm;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.Geom3D;
+import org.jeometry.geom3D.mesh.indexed.IndexedMesh;
+
+/**
+ * The mass properties of a closed triangle mesh: its volume, its surface area, its centroid and its inertia tensor, computed within a single pass over the triangles.<br><br>
+ * Each triangle <code>(a, b, c)</code> forms with a reference point <code>r</code> a signed tetrahedron whose volume, first and second moments are integrated
+ * in closed form (divergence theorem). The reference point is the first vertex of the first triangle, so that the integrated coordinates are relative to the mesh
+ * and do not lose precision when the mesh is far from the origin (as for georeferenced meshes). The eleven sums (volume, area, three first moments and
+ * six second moments) are accumulated with a compensated (Kahan - Neumaier) summation. For large meshes, the triangles are
+ * recursively split into fork / join tasks whose partial sums are combined pairwise (see {@link ParallelRange#reduce ParallelRange.reduce}).<br><br>
+ * The mesh has to be closed and its faces consistently oriented for the volume, the centroid and the inertia tensor to be meaningful, the area being valid for any mesh.
+ * If the faces are oriented inward, the volume is negative while the centroid and the inertia tensor are unchanged.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class MeshMeasures {
+
+  /**
+   * The minimal number of triangles that a fork / join task has to process.
+   */
+  static final int MINIMAL_CHUNK_SIZE = 1 << 14;
+
+  /**
+   * The number of accumulated sums.
+   */
+  private static final int SUMS = 11;
+
+  /**
+   * The index of the volume sum (six times the volume).
+   */
+  private static final int VOLUME = 0;
+
+  /**
+   * The index of the area sum (twice the area).
+   */
+  private static final int AREA = 1;
+
+  /**
+   * The index of the first moment sums (24 times the first moments).
+   */
+  private static final int MOMENT = 2;
+
+  /**
+   * The index of the squared second moment sums <code>xx, yy, zz</code> (60 times the second moments).
+   */
+  private static final int SQUARED = 5;
+
+  /**
+   * The index of the product second moment sums <code>xy, yz, zx</code> (120 times the second moments).
+   */
+  private static final int PRODUCT = 8;
+
+  /**
+   * The number of triangles.
+   */
+  private int faceCount;
+
+  /**
+   * The signed volume.
+   */
+  private double volume;
+
+  /**
+   * The surface area.
+   */
+  private double area;
+
+  /**
+   * The centroid x coordinate.
+   */
+  private double centroidX;
+
+  /**
+   * The centroid y coordinate.
+   */
+  private double centroidY;
+
+  /**
+   * The centroid z coordinate.
+   */
+  private double centroidZ;
+
+  /**
+   * The inertia tensor relative to the centroid, as a row major 3x3 matrix.
+   */
+  private double[] inertia;
+
+  /**
+   * Compute the measures of the given mesh using all the available processors. The faces that have more than 3 vertices are triangulated as fans from their first vertex.
+   * @param mesh the mesh.
+   * @return the measures of the mesh.
+   * @throws IllegalArgumentException if the mesh or its vertices source is <code>null</code>.
+   */
+  public static MeshMeasures compute(IndexedMesh<?> mesh) {
+
+    if ((mesh == null) || (mesh.getVerticesSource() == null)) {
+      throw new IllegalArgumentException("Mesh and its vertices source cannot be null.");
+    }
+
+    int[] triangles = TriangleBVH.triangulate(mesh);
+
+    return compute(Geom3D.toCoordinates(mesh.getVerticesSource()), triangles, triangles.length / 3, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Compute the measures of the given triangles.
+   * @param vertices the vertices coordinates, the coordinates of the vertex <code>i</code> being stored from offset <code>3*i</code>.
+   * @param triangles the triangles vertex indices, the triangle <code>f</code> being stored from offset <code>3*f</code>.
+   * @param faceCount the number of triangles.
+   * @param parallelism the maximal number of threads to use.
+   * @return the measures of the triangles. If there is no triangle, all the measures are 0 and the centroid is undefined (<code>NaN</code>).
+   * @throws IllegalArgumentException if an array is too small or if the parallelism is lesser than 1.
+   */
+  public static MeshMeasures compute(double[] vertices, int[] triangles, int faceCount, int parallelism) {
+
+    if ((vertices == null) || (triangles == null) || (faceCount < 0) || (triangles.length < 3*faceCount)) {
+      throw new IllegalArgumentException("Triangles array cannot store "+faceCount+" triangles.");
+    }
+
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+    }
+
+    double[] reference = new double[3];
+    if (faceCount > 0) {
+      System.arraycopy(vertices, 3*triangles[0], reference, 0, 3);
+    }
+
+    double[] sums = ParallelRange.reduce(faceCount, MINIMAL_CHUNK_SIZE, parallelism, (from, to) -> {
+      double[] partial = new double[2*SUMS];
+      accumulate(vertices, triangles, reference, from, to, partial);
+      return partial;
+    }, (lower, upper) -> {
+      combine(lower, upper);
+      return lower;
+    });
+
+    return new MeshMeasures(faceCount, reference, sums);
+  }
+
+  /**
+   * Create new measures from the given compensated sums.
+   * @param faceCount the number of triangles.
+   * @param reference the reference point of the sums.
+   * @param sums the compensated sums.
+   */
+  private MeshMeasures(int faceCount, double[] reference, double[] sums) {
+
+    double[] value = new double[SUMS];
+    for(int i = 0; i < SUMS; i++) {
+      value[i] = sums[2*i] + sums[2*i+1];
+    }
+
+    this.faceCount = faceCount;
+    this.volume    = value[VOLUME] / 6.0d;
+    this.area      = value[AREA] / 2.0d;
+
+    // Centroid relative to the reference point
+    double cx = value[MOMENT]   / (4.0d * value[VOLUME]);
+    double cy = value[MOMENT+1] / (4.0d * value[VOLUME]);
+    double cz = value[MOMENT+2] / (4.0d * value[VOLUME]);
+
+    this.centroidX = reference[0] + cx;
+    this.centroidY = reference[1] + cy;
+    this.centroidZ = reference[2] + cz;
+
+    // Second moments relative to the centroid (parallel axis theorem), oriented as a positive volume
+    double sign = (this.volume < 0.0d) ? -1.0d : 1.0d;
+    double mass = Math.abs(this.volume);
+
+    double xx = sign * value[SQUARED]   / 60.0d - mass * cx * cx;
+    double yy = sign * value[SQUARED+1] / 60.0d - mass * cy * cy;
+    double zz = sign * value[SQUARED+2] / 60.0d - mass * cz * cz;
+    double xy = sign * value[PRODUCT]   / 120.0d - mass * cx * cy;
+    double yz = sign * value[PRODUCT+1] / 120.0d - mass * cy * cz;
+    double zx = sign * value[PRODUCT+2] / 120.0d - mass * cz * cx;
+
+    this.inertia = new double[] {yy + zz,     -xy,     -zx,
+                                     -xy, xx + zz,     -yz,
+                                     -zx,     -yz, xx + yy};
+  }
+
+  /**
+   * Get the number of triangles that have been measured.
+   * @return the number of triangles.
+   */
+  public int getFaceCount() {
+    return this.faceCount;
+  }
+
+  /**
+   * Get the signed volume enclosed by the triangles. The volume is positive if the faces are oriented outward and negative otherwise.
+   * @return the signed volume.
+   */
+  public double getVolume() {
+    return this.volume;
+  }
+
+  /**
+   * Get the surface area of the triangles.
+   * @return the surface area.
+   */
+  public double getArea() {
+    return this.area;
+  }
+
+  /**
+   * Get the x coordinate of the centroid of the enclosed volume.
+   * @return the x coordinate of the centroid.
+   */
+  public double getCentroidX() {
+    return this.centroidX;
+  }
+
+  /**
+   * Get the y coordinate of the centroid of the enclosed volume.
+   * @return the y coordinate of the centroid.
+   */
+  public double getCentroidY() {
+    return this.centroidY;
+  }
+
+  /**
+   * Get the z coordinate of the centroid of the enclosed volume.
+   * @return the z coordinate of the centroid.
+   */
+  public double getCentroidZ() {
+    return this.centroidZ;
+  }
+
+  /**
+   * Get the inertia tensor of the enclosed volume relative to its centroid, for a unit density. The tensor is returned as a row major 3x3 matrix:
+   * <code>{I<sub>xx</sub>, I<sub>xy</sub>, I<sub>xz</sub>, I<sub>yx</sub>, I<sub>yy</sub>, I<sub>yz</sub>, I<sub>zx</sub>, I<sub>zy</sub>, I<sub>zz</sub>}</code>
+   * where <code>I<sub>xx</sub> = &int;(y<sup>2</sup> + z<sup>2</sup>)dV</code> and <code>I<sub>xy</sub> = -&int;xy dV</code>.
+   * @param tensor the array that will contain the tensor (at least <code>double[9]</code>), can be <code>null</code>.
+   * @return the inertia tensor.
+   */
+  public double[] getInertiaTensor(double[] tensor) {
+
+    double[] result = (tensor != null) ? tensor : new double[9];
+
+    System.arraycopy(this.inertia, 0, result, 0, 9);
+
+    return result;
+  }
+
+  /**
+   * Accumulate the integrals of the triangles within the given range.
+   * @param vertices the vertices coordinates.
+   * @param triangles the triangles vertex indices.
+   * @param reference the reference point.
+   * @param from the first triangle (included).
+   * @param to the last triangle (excluded).
+   * @param sums the compensated sums to update, the sum <code>i</code> being stored at <code>2*i</code> and its compensation at <code>2*i+1</code>.
+   */
+  private static void accumulate(double[] vertices, int[] triangles, double[] reference, int from, int to, double[] sums) {
+
+    double rx = reference[0];
+    double ry = reference[1];
+    double rz = reference[2];
+
+    for(int f = from; f < to; f++) {
+      int a = 3*triangles[3*f];
+      int b = 3*triangles[3*f+1];
+      int c = 3*triangles[3*f+2];
+
+      double ax = vertices[a]   - rx;
+      double ay = vertices[a+1] - ry;
+      double az = vertices[a+2] - rz;
+      double bx = vertices[b]   - rx;
+      double by = vertices[b+1] - ry;
+      double bz = vertices[b+2] - rz;
+      double cx = vertices[c]   - rx;
+      double cy = vertices[c+1] - ry;
+      double cz = vertices[c+2] - rz;
+
+      // Area from the edges cross product
+      double ux = bx - ax;
+      double uy = by - ay;
+      double uz = bz - az;
+      double vx = cx - ax;
+      double vy = cy - ay;
+      double vz = cz - az;
+
+      double nx = uy * vz - uz * vy;
+      double ny = uz * vx - ux * vz;
+      double nz = ux * vy - uy * vx;
+
+      add(sums, AREA, Math.sqrt(nx * nx + ny * ny + nz * nz));
+
+      // Six times the signed volume of the tetrahedron (r, a, b, c)
+      double det = ax * (by * cz - bz * cy) + ay * (bz * cx - bx * cz) + az * (bx * cy - by * cx);
+
+      add(sums, VOLUME, det);
+
+      add(sums, MOMENT,   det * (ax + bx + cx));
+      add(sums, MOMENT+1, det * (ay + by + cy));
+      add(sums, MOMENT+2, det * (az + bz + cz));
+
+      add(sums, SQUARED,   det * (ax * ax + bx * bx + cx * cx + ax * bx + bx * cx + cx * ax));
+      add(sums, SQUARED+1, det * (ay * ay + by * by + cy * cy + ay * by + by * cy + cy * ay));
+      add(sums, SQUARED+2, det * (az * az + bz * bz + cz * cz + az * bz + bz * cz + cz * az));
+
+      add(sums, PRODUCT,   det * (2.0d * (ax * ay + bx * by + cx * cy) + ax * by + ay * bx + ax * cy + ay * cx + bx * cy + by * cx));
+      add(sums, PRODUCT+1, det * (2.0d * (ay * az + by * bz + cy * cz) + ay * bz + az * by + ay * cz + az * cy + by * cz + bz * cy));
+      add(sums, PRODUCT+2, det * (2.0d * (az * ax + bz * bx + cz * cx) + az * bx + ax * bz + az * cx + ax * cz + bz * cx + bx * cz));
+    }
+  }
+
+  /**
+   * Add a value to a compensated sum using the Neumaier variant of the Kahan summation, that remains exact when the added value is larger than the sum.
+   * @param sums the compensated sums.
+   * @param index the index of the sum.
+   * @param value the value to add.
+   */
+  private static void add(double[] sums, int index, double value) {
+
+    double sum = sums[2*index];
+    double total = sum + value;
+
+    if (Math.abs(sum) >= Math.abs(value)) {
+      sums[2*index+1] += (sum - total) + value;
+    } else {
+      sums[2*index+1] += (value - total) + sum;
+    }
+
+    sums[2*index] = total;
+  }
+
+  /**
+   * Combine the partial sums <code>other</code> within <code>sums</code>.
+   * @param sums the sums to update.
+   * @param other the sums to combine.
+   */
+  private static void combine(double[] sums, double[] other) {
+    for(int i = 0; i < SUMS; i++) {
+      add(sums, i, other[2*i]);
+      sums[2*i+1] += other[2*i+1];
+    }
+  }
+}
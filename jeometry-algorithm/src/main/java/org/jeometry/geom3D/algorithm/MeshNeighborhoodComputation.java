@@ -1,11 +1,11 @@
 package org.jeometry.geom3D.algorithm;
 
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.jeometry.Jeometry;
 import org.jeometry.factory.JeometryFactory;
-import org.jeometry.geom3D.mesh.indexed.IndexedEdge;
 import org.jeometry.geom3D.mesh.indexed.IndexedFace;
 import org.jeometry.geom3D.mesh.indexed.IndexedMesh;
 import org.jeometry.geom3D.neighbor.MeshNeighborhood;
@@ -13,109 +13,79 @@ import org.jeometry.geom3D.point.Point3D;
 import org.jeometry.geom3D.point.Point3DContainer;
 
 /**
- * Computation of the neighborhood of a mesh. The neighborhood is made of an adjacency map and an incidence map. 
+ * Computation of the neighborhood of a mesh. The neighborhood is made of an adjacency map and an incidence map.<br><br>
+ * Two faces are adjacent if they share an edge. The edges of the faces are identified by their two vertex indices {@link LongIntHashMap#pack(int, int) packed}
+ * within a <code>long</code> and indexed within a {@link LongIntHashMap primitive hash map}, so that the adjacencies are obtained within a single sweep over the
+ * face edges. The edges are partitioned by hash and the partitions are processed concurrently. The result is stored within
+ * {@link IndexedNeighborhood compressed sparse row arrays} that can be converted to a {@link MeshNeighborhood mesh neighborhood}.
  * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
  * @version {@value Jeometry#version}
  * @since 1.0.0
  */
 public class MeshNeighborhoodComputation {
-  
+
+  /**
+   * The minimal number of face edges that a parallel task has to process.
+   */
+  static final int MINIMAL_CHUNK_SIZE = 65536;
+
   /**
    * Compute the neighborhood for the given {@link IndexedMesh indexed mesh}.
    * The neighborhood of a mesh is the set of all adjacency and all incidences available for a mesh.
+   * The computation uses as many threads as available processors.
    * @param <T> the type of underlying points
    * @param mesh the {@link IndexedMesh mesh} to process.
    * @return the mesh neighborhood.
+   * @see #computeIndexedNeighborhood(IndexedMesh, int)
    */
   public static <T extends Point3D> MeshNeighborhood<T> computeNeighborhood(IndexedMesh<T> mesh){
+    return computeNeighborhood(mesh, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Compute the neighborhood for the given {@link IndexedMesh indexed mesh}.
+   * The neighborhood of a mesh is the set of all adjacency and all incidences available for a mesh.
+   * A face is incident to a vertex if this vertex compose the face and a face is adjacent to another one if they share an edge.
+   * The returned neighborhood can be modified, a lighter read only neighborhood can be obtained using {@link #computeCompactNeighborhood(IndexedMesh, int)}.
+   * @param <T> the type of underlying points
+   * @param mesh the {@link IndexedMesh mesh} to process.
+   * @param parallelism the maximal number of threads to use.
+   * @return the mesh neighborhood or <code>null</code> if the mesh has less than 2 faces or no vertices source.
+   * @throws IllegalArgumentException if the parallelism is lesser than 1.
+   * @since 2.0.1
+   */
+  public static <T extends Point3D> MeshNeighborhood<T> computeNeighborhood(IndexedMesh<T> mesh, int parallelism){
 
     MeshNeighborhood<T> neighborhood = null;
     
     List<? extends IndexedFace<T>> faces = mesh.getFacesIndexes();
 
-    if ((faces != null)&&(mesh.getFacesIndexes().size() > 1)){
+    if ((faces != null)&&(faces.size() > 1)){
       
-      Point3DContainer<?>  pm = mesh.getVerticesSource();
+      Point3DContainer<T> pm = mesh.getVerticesSource();
       
       if (pm != null){
-        
-        // 1. Create a mesh neighbothood
+
+        IndexedNeighborhood indexed = computeIndexedNeighborhood(mesh, parallelism);
+
         neighborhood = JeometryFactory.createMeshNeighborhood();
-        
-
-        // 2. Populate incidences
-        //    A face is incident to a vertex if this vertex compose a face.
-        Iterator<? extends IndexedFace<T>> faceIter = faces.iterator();
-        IndexedFace<T> face = null;
-        while(faceIter.hasNext()){
-          
-          face = faceIter.next();
-          
-          for(int i = 0; i < face.getVerticesIndexes().length; i++){
-            neighborhood.getIncidences().addIncident(face.getVerticesSource().get(face.getVerticesIndexes()[i]), face);
+
+        // Incidences, only the vertices that are within the source are available
+        int vertices = Math.min(pm.size(), indexed.getVertexCount());
+        for(int v = 0; v < vertices; v++){
+          int count = indexed.getIncidentCount(v);
+          if (count > 0) {
+            T vertex = pm.get(v);
+            for(int i = 0; i < count; i++){
+              neighborhood.getIncidences().addIncident(vertex, faces.get(indexed.getIncident(v, i)));
+            }
           }
         }
-        
-        // 3. Populate adjacences
-        //    A face fa is adjacent to a face fb if fa is incident to the two extremity of a edge of fb. 
-        faceIter = faces.iterator();
-        face = null;
-        while(faceIter.hasNext()){
-          face = faceIter.next();
-          
-          // Parse the edges of the face
-          Iterator<IndexedEdge<T>> edgeIter = face.getEdgesIndexed().iterator();
-          IndexedEdge<T> edge = null;
-          
-          List<IndexedFace<T>> incidencesEnd1 = null;
-          List<IndexedFace<T>> incidencesEnd2 = null;
-          
-          int incidencesEnd1Count = 0;
-          int incidencesEnd2Count = 0;
-          
-          while(edgeIter.hasNext()){
-            edge = edgeIter.next();
-            
-            // Looking for a face that is incident with both edge extremities.
-            incidencesEnd1 = neighborhood.getIncidences().getIncidences(edge.getEnd1());
-            incidencesEnd2 = neighborhood.getIncidences().getIncidences(edge.getEnd2());
-            
-            if ((incidencesEnd1 != null) && (incidencesEnd2 != null)){
-              
-              incidencesEnd1Count = incidencesEnd1.size();
-              incidencesEnd2Count = incidencesEnd2.size();
-              
-              if ((incidencesEnd1Count > 0)&&(incidencesEnd2Count > 0)){
-                
-                List<IndexedFace<T>> reference = null;
-                List<IndexedFace<T>> target    = null;
-                
-                // We parse the minimal incidence set in order to optimize computation time
-                if (incidencesEnd1Count < incidencesEnd2Count){
-                  reference = incidencesEnd1;
-                  target    = incidencesEnd2;
-                } else {
-                  reference = incidencesEnd2;
-                  target    = incidencesEnd1;
-                }
-                
-                // Parsing the reference incidences and searching correspondence within the target.
-                Iterator<IndexedFace<T>> referenceIter = reference.iterator();
-                IndexedFace<T> referenceFace = null;
-                while(referenceIter.hasNext()){
-                  referenceFace = referenceIter.next();
-                  
-                  // A face does not adjacent to itself
-                  if (referenceFace != face){
-                    if (target.contains(referenceFace)){
-                      neighborhood.getAdjacencies().addAdjacent(face, referenceFace);
-                    }
-                  }
-                }
-              }
-              
-            }
-            
+
+        // Adjacencies
+        for(int f = 0; f < faces.size(); f++){
+          for(int i = 0; i < indexed.getAdjacentCount(f); i++){
+            neighborhood.getAdjacencies().addAdjacent(faces.get(f), faces.get(indexed.getAdjacent(f, i)));
           }
         }
       }
@@ -124,4 +94,231 @@ public class MeshNeighborhoodComputation {
     return neighborhood;
   }
 
+  /**
+   * Compute a compact neighborhood for the given {@link IndexedMesh indexed mesh}. The returned neighborhood relies on a {@link CompactAdjacencyMap} and
+   * a {@link CompactIncidenceMap} that are backed by {@link IndexedNeighborhood compressed sparse row arrays} and cannot be modified.
+   * Such a neighborhood requires a few integers for each face instead of a map entry and a list.
+   * @param <T> the type of underlying points
+   * @param mesh the {@link IndexedMesh mesh} to process.
+   * @param parallelism the maximal number of threads to use.
+   * @return the compact mesh neighborhood.
+   * @throws IllegalArgumentException if the mesh is <code>null</code> or if the parallelism is lesser than 1.
+   * @since 2.0.1
+   */
+  public static <T extends Point3D> MeshNeighborhood<T> computeCompactNeighborhood(IndexedMesh<T> mesh, int parallelism){
+
+    IndexedNeighborhood indexed = computeIndexedNeighborhood(mesh, parallelism);
+
+    List<? extends IndexedFace<T>> faces = mesh.getFacesIndexes();
+    if (faces == null) {
+      faces = new ArrayList<IndexedFace<T>>(0);
+    }
+
+    MeshNeighborhood<T> neighborhood = JeometryFactory.createMeshNeighborhood();
+    neighborhood.setAdjacencies(new CompactAdjacencyMap<T>(indexed, faces));
+    neighborhood.setIncidences(new CompactIncidenceMap<T>(indexed, faces, mesh.getVerticesSource()));
+
+    return neighborhood;
+  }
+
+  /**
+   * Compute the neighborhood of the given {@link IndexedMesh indexed mesh} within compressed sparse row arrays.
+   * The faces are identified by their index within {@link IndexedMesh#getFacesIndexes()} and the vertices by their index within the vertices source.
+   * Two faces are adjacent if they share an edge, whatever the orientations of the faces. This computation is linear in the number of face edges.
+   * @param mesh the {@link IndexedMesh mesh} to process.
+   * @param parallelism the maximal number of threads to use.
+   * @return the mesh indexed neighborhood.
+   * @throws IllegalArgumentException if the mesh is <code>null</code> or if the parallelism is lesser than 1.
+   * @since 2.0.1
+   */
+  public static IndexedNeighborhood computeIndexedNeighborhood(IndexedMesh<?> mesh, int parallelism){
+
+    if (mesh == null) {
+      throw new IllegalArgumentException("Mesh cannot be null.");
+    }
+
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+    }
+
+    List<? extends IndexedFace<?>> faces = mesh.getFacesIndexes();
+    int faceCount = (faces != null) ? faces.size() : 0;
+
+    // 1. Flatten the faces vertices (corners)
+    int[] faceOffsets = new int[faceCount + 1];
+    for(int f = 0; f < faceCount; f++){
+      int[] indices = faces.get(f).getVerticesIndexes();
+      faceOffsets[f+1] = faceOffsets[f] + ((indices != null) ? indices.length : 0);
+    }
+
+    int cornerCount = faceOffsets[faceCount];
+    int[] corners     = new int[cornerCount];
+    int[] cornerFaces = new int[cornerCount];
+    int vertexCount = (mesh.getVerticesSource() != null) ? mesh.getVerticesSource().size() : 0;
+    for(int f = 0; f < faceCount; f++){
+      int[] indices = faces.get(f).getVerticesIndexes();
+      for(int c = faceOffsets[f]; c < faceOffsets[f+1]; c++){
+        corners[c]     = indices[c - faceOffsets[f]];
+        cornerFaces[c] = f;
+        if (corners[c] < 0) {
+          throw new IllegalArgumentException("Face "+f+" has an invalid vertex index "+corners[c]+".");
+        }
+        vertexCount = Math.max(vertexCount, corners[c] + 1);
+      }
+    }
+
+    // 2. Incidences, the faces are added by increasing index
+    int[] incidenceOffsets = new int[vertexCount + 1];
+    for(int c = 0; c < cornerCount; c++){
+      incidenceOffsets[corners[c] + 1]++;
+    }
+    for(int v = 0; v < vertexCount; v++){
+      incidenceOffsets[v+1] += incidenceOffsets[v];
+    }
+    int[] incidences = new int[cornerCount];
+    int[] cursors = Arrays.copyOf(incidenceOffsets, vertexCount);
+    for(int c = 0; c < cornerCount; c++){
+      incidences[cursors[corners[c]]++] = cornerFaces[c];
+    }
+
+    // 3. Adjacencies from the shared edges
+    int[][] pairs = computeAdjacentPairs(corners, cornerFaces, faceOffsets, parallelism);
+
+    int[] adjacencyOffsets = new int[faceCount + 1];
+    for(int[] partition : pairs){
+      for(int p = 0; p < partition.length; p += 2){
+        adjacencyOffsets[partition[p] + 1]++;
+        adjacencyOffsets[partition[p+1] + 1]++;
+      }
+    }
+    for(int f = 0; f < faceCount; f++){
+      adjacencyOffsets[f+1] += adjacencyOffsets[f];
+    }
+
+    int[] adjacencies = new int[adjacencyOffsets[faceCount]];
+    cursors = Arrays.copyOf(adjacencyOffsets, faceCount);
+    for(int[] partition : pairs){
+      for(int p = 0; p < partition.length; p += 2){
+        adjacencies[cursors[partition[p]]++]   = partition[p+1];
+        adjacencies[cursors[partition[p+1]]++] = partition[p];
+      }
+    }
+
+    // 4. Sort the adjacent faces and remove duplicates (faces that share more than one edge)
+    int size = 0;
+    int start = 0;
+    for(int f = 0; f < faceCount; f++){
+      int end = adjacencyOffsets[f+1];
+      Arrays.sort(adjacencies, start, end);
+      adjacencyOffsets[f] = size;
+      for(int i = start; i < end; i++){
+        if ((i == start) || (adjacencies[i] != adjacencies[i-1])){
+          adjacencies[size++] = adjacencies[i];
+        }
+      }
+      start = end;
+    }
+    adjacencyOffsets[faceCount] = size;
+
+    return new IndexedNeighborhood(adjacencyOffsets, (size < adjacencies.length) ? Arrays.copyOf(adjacencies, size) : adjacencies, incidenceOffsets, incidences);
+  }
+
+  /**
+   * Compute the pairs of faces that share an edge. The face edges are partitioned according to the hash of their key and each partition is processed
+   * by a dedicated task that indexes its edges within a {@link LongIntHashMap}. The face edges that share the same key are chained.
+   * @param corners the vertices of the faces corners.
+   * @param cornerFaces the face of each corner.
+   * @param faceOffsets the offset of the first corner of each face.
+   * @param parallelism the maximal number of threads to use.
+   * @return the pairs of adjacent faces of each partition, as <code>(f<sub>a</sub>, f<sub>b</sub>)</code> flattened arrays.
+   */
+  private static int[][] computeAdjacentPairs(int[] corners, int[] cornerFaces, int[] faceOffsets, int parallelism){
+
+    int cornerCount = corners.length;
+
+    // The edge of the corner c goes from its vertex to the vertex of the next corner within the same face
+    long[] keys = new long[cornerCount];
+    for(int c = 0; c < cornerCount; c++){
+      int f    = cornerFaces[c];
+      int next = (c + 1 < faceOffsets[f+1]) ? c + 1 : faceOffsets[f];
+      keys[c]  = (corners[c] != corners[next]) ? LongIntHashMap.pack(corners[c], corners[next]) : -1L;
+    }
+
+    int partitions = ParallelRange.chunks(cornerCount, MINIMAL_CHUNK_SIZE, parallelism);
+
+    // Counting sort of the corners by partition
+    int[] partitionOffsets = new int[partitions + 1];
+    int[] ordered = new int[cornerCount];
+    for(int c = 0; c < cornerCount; c++){
+      if (keys[c] != -1L){
+        partitionOffsets[partition(keys[c], partitions) + 1]++;
+      }
+    }
+    for(int p = 0; p < partitions; p++){
+      partitionOffsets[p+1] += partitionOffsets[p];
+    }
+    int[] cursors = Arrays.copyOf(partitionOffsets, partitions);
+    for(int c = 0; c < cornerCount; c++){
+      if (keys[c] != -1L){
+        ordered[cursors[partition(keys[c], partitions)]++] = c;
+      }
+    }
+
+    // Chain of the corners that share the same edge
+    int[] chains = new int[cornerCount];
+
+    // A chunk per partition, the partitions being contiguous within the ordered corners
+    List<int[]> pairs = ParallelRange.map(partitions, partitions, (from, to) -> pairPartition(keys, cornerFaces, ordered, partitionOffsets[from], partitionOffsets[to], chains));
+
+    return pairs.toArray(new int[partitions][]);
+  }
+
+  /**
+   * Compute the pairs of faces that share an edge within a partition of the face edges.
+   * @param keys the edge key of each corner.
+   * @param cornerFaces the face of each corner.
+   * @param ordered the corners ordered by partition.
+   * @param from the first corner of the partition within <code>ordered</code> (included).
+   * @param to the last corner of the partition within <code>ordered</code> (excluded).
+   * @param chains the chains of the corners that share the same edge. Only the entries of the partition corners are modified.
+   * @return the pairs of adjacent faces, as a <code>(f<sub>a</sub>, f<sub>b</sub>)</code> flattened array.
+   */
+  private static int[] pairPartition(long[] keys, int[] cornerFaces, int[] ordered, int from, int to, int[] chains){
+
+    LongIntHashMap heads = new LongIntHashMap(to - from, -1);
+
+    int[] pairs = new int[to - from];
+    int size = 0;
+
+    for(int i = from; i < to; i++){
+      int corner = ordered[i];
+      int face   = cornerFaces[corner];
+
+      int head = heads.put(keys[corner], corner);
+      chains[corner] = head;
+
+      // Pair the face with the faces that already hold the edge (generally only one)
+      for(int other = head; other != -1; other = chains[other]){
+        if (cornerFaces[other] != face){
+          if (size + 2 > pairs.length){
+            pairs = Arrays.copyOf(pairs, Math.max(16, 2*pairs.length));
+          }
+          pairs[size++] = cornerFaces[other];
+          pairs[size++] = face;
+        }
+      }
+    }
+
+    return Arrays.copyOf(pairs, size);
+  }
+
+  /**
+   * Get the partition of the given edge key.
+   * @param key the edge key.
+   * @param partitions the number of partitions.
+   * @return the partition of the edge key.
+   */
+  private static int partition(long key, int partitions){
+    return (int) ((LongIntHashMap.hash(key) >>> 1) % partitions);
+  }
 }
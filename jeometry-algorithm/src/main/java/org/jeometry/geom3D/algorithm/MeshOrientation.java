@@ -0,0 +1,491 @@
+package org.jeometry.geom3D.algorithm;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.mesh.indexed.IndexedFace;
+import org.jeometry.geom3D.mesh.indexed.IndexedMesh;
+
+/**
+ * The consistent orientation of the faces of an indexed mesh.<br><br>
+ * Two faces that share an edge are consistently oriented if they traverse this edge in opposite directions. The orientation is propagated by a breadth first
+ * traversal of the faces over their shared edges: the first face of each connected component keeps its orientation and each reached face is flipped if it
+ * is not consistent with the face it has been reached from. The faces are stored within primitive arrays, the face <code>f</code> being made of the corners
+ * from <code>offsets[f]</code> (included) to <code>offsets[f+1]</code> (excluded), or of the corners from <code>3*f</code> to <code>3*f+3</code> for triangles.
+ * The corners that share an edge are paired using two counting sorts of the undirected edges (as for {@link HalfEdgeMesh}), the visited and flipped faces are
+ * stored within bitsets and the traversal queue is an <code>int[F]</code> array, so that the computation is linear and does not allocate memory per face.<br><br>
+ * An edge that is shared by more than two faces (non-manifold) is not traversed. Within a non-orientable component (such as a M&ouml;bius strip), the traversal
+ * reaches faces that cannot be consistent with all their neighbors: the edges where the propagation conflicts are counted and the component is reported
+ * as {@link #isOrientable(int) non-orientable}, its faces orientation being only consistent along the traversal tree.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class MeshOrientation {
+
+  /**
+   * The number of faces.
+   */
+  private int faceCount;
+
+  /**
+   * The number of connected components.
+   */
+  private int componentCount;
+
+  /**
+   * The connected component of each face.
+   */
+  private int[] components;
+
+  /**
+   * The faces that have to be flipped, as a bitset.
+   */
+  private long[] flipped;
+
+  /**
+   * The number of faces that have to be flipped.
+   */
+  private int flippedCount;
+
+  /**
+   * The non-orientable components.
+   */
+  private BitSet nonOrientable;
+
+  /**
+   * The number of edges where the orientation propagation conflicts.
+   */
+  private int conflictCount;
+
+  /**
+   * The number of boundary edges.
+   */
+  private int boundaryEdgeCount;
+
+  /**
+   * The number of non-manifold edges.
+   */
+  private int nonManifoldEdgeCount;
+
+  /**
+   * Create a new empty orientation.
+   */
+  private MeshOrientation() {
+  }
+
+  /**
+   * Orient the faces of the given mesh consistently. The faces that have to be flipped are reversed (their first vertex is kept and the order of
+   * the other ones is reversed) using {@link IndexedFace#setVerticesIndexes(int[])}.
+   * @param mesh the mesh to orient.
+   * @param start the index of the face whose orientation is kept within its component, or <code>-1</code> to keep the first face of each component.
+   * @return the orientation of the mesh faces, before they have been flipped.
+   * @throws IllegalArgumentException if the mesh is <code>null</code>, if a face has an invalid vertex index or if the start face is invalid.
+   */
+  public static MeshOrientation orient(IndexedMesh<?> mesh, int start) {
+
+    if (mesh == null) {
+      throw new IllegalArgumentException("Mesh cannot be null.");
+    }
+
+    List<? extends IndexedFace<?>> faces = mesh.getFacesIndexes();
+    int faceCount = (faces != null) ? faces.size() : 0;
+
+    // Flatten the faces vertices
+    int[] offsets = new int[faceCount + 1];
+    for(int f = 0; f < faceCount; f++) {
+      int[] indices = faces.get(f).getVerticesIndexes();
+      offsets[f+1] = offsets[f] + ((indices != null) ? indices.length : 0);
+    }
+
+    int[] corners = new int[offsets[faceCount]];
+    for(int f = 0; f < faceCount; f++) {
+      int[] indices = faces.get(f).getVerticesIndexes();
+      if (indices != null) {
+        System.arraycopy(indices, 0, corners, offsets[f], indices.length);
+      }
+    }
+
+    MeshOrientation orientation = compute(corners, offsets, faceCount, start);
+
+    for(int f = 0; f < faceCount; f++) {
+      if (orientation.isFlipped(f)) {
+        int[] indices = Arrays.copyOfRange(corners, offsets[f], offsets[f+1]);
+        reverse(indices, 0, indices.length);
+        faces.get(f).setVerticesIndexes(indices);
+      }
+    }
+
+    return orientation;
+  }
+
+  /**
+   * Compute the consistent orientation of the given triangles.
+   * @param triangles the triangles vertex indices, the triangle <code>f</code> being stored from offset <code>3*f</code>.
+   * @param faceCount the number of triangles.
+   * @return the orientation of the triangles.
+   * @throws IllegalArgumentException if the triangles array is too small or contains a negative index.
+   */
+  public static MeshOrientation compute(int[] triangles, int faceCount) {
+    return compute(triangles, null, faceCount, -1);
+  }
+
+  /**
+   * Compute the consistent orientation of the given faces. The faces are not modified (see {@link #apply(int[], int[])}).
+   * @param indices the faces vertex indices.
+   * @param offsets the offset of the first vertex of each face (<code>int[F+1]</code>, starting with <code>0</code>), or <code>null</code> if the faces are triangles stored from offset <code>3*f</code>.
+   * @param faceCount the number of faces.
+   * @param start the index of the face whose orientation is kept within its component, or <code>-1</code> to keep the first face of each component.
+   * @return the orientation of the faces.
+   * @throws IllegalArgumentException if an array is too small or invalid, if an index is negative or if the start face is invalid.
+   */
+  public static MeshOrientation compute(int[] indices, int[] offsets, int faceCount, int start) {
+
+    if ((indices == null) || (faceCount < 0)) {
+      throw new IllegalArgumentException("Invalid faces for "+faceCount+" faces.");
+    }
+
+    if ((start < -1) || (start >= faceCount)) {
+      throw new IllegalArgumentException("Invalid start face "+start+".");
+    }
+
+    int cornerCount;
+    int[] cornerFaces = null;
+
+    if (offsets == null) {
+      if (indices.length < 3*faceCount) {
+        throw new IllegalArgumentException("Triangles array cannot store "+faceCount+" triangles.");
+      }
+      cornerCount = 3*faceCount;
+    } else {
+      if ((offsets.length < faceCount + 1) || (offsets[0] != 0) || (offsets[faceCount] > indices.length)) {
+        throw new IllegalArgumentException("Invalid offsets for "+faceCount+" faces.");
+      }
+
+      cornerCount = offsets[faceCount];
+      cornerFaces = new int[cornerCount];
+      for(int f = 0; f < faceCount; f++) {
+        if (offsets[f+1] < offsets[f]) {
+          throw new IllegalArgumentException("Invalid offsets for face "+f+".");
+        }
+        Arrays.fill(cornerFaces, offsets[f], offsets[f+1], f);
+      }
+    }
+
+    int vertexCount = 0;
+    for(int c = 0; c < cornerCount; c++) {
+      if (indices[c] < 0) {
+        throw new IllegalArgumentException("Invalid vertex index "+indices[c]+" at offset "+c+".");
+      }
+      vertexCount = Math.max(vertexCount, indices[c] + 1);
+    }
+
+    MeshOrientation orientation = new MeshOrientation();
+    orientation.faceCount     = faceCount;
+    orientation.components    = new int[faceCount];
+    orientation.flipped       = new long[(faceCount + 63) >>> 6];
+    orientation.nonOrientable = new BitSet();
+
+    int[] mates = pair(indices, offsets, cornerFaces, cornerCount, vertexCount, orientation);
+
+    // Breadth first propagation of the orientation, the first face of each component being the start face or the first unvisited face
+    long[] visited = new long[(faceCount + 63) >>> 6];
+    int[] queue    = new int[faceCount];
+
+    int seed = (start >= 0) ? start : 0;
+    for(int s = 0; s <= faceCount; s++) {
+
+      if ((seed >= faceCount) || ((visited[seed >>> 6] & (1L << seed)) != 0L)) {
+        seed = s;
+        continue;
+      }
+
+      int component = orientation.componentCount++;
+
+      visited[seed >>> 6] |= 1L << seed;
+      orientation.components[seed] = component;
+
+      int head = 0;
+      int tail = 0;
+      queue[tail++] = seed;
+
+      while (head < tail) {
+
+        int face = queue[head++];
+
+        boolean faceFlipped = (orientation.flipped[face >>> 6] & (1L << face)) != 0L;
+
+        int first = (offsets != null) ? offsets[face]   : 3*face;
+        int end   = (offsets != null) ? offsets[face+1] : 3*face+3;
+
+        for(int corner = first; corner < end; corner++) {
+
+          int mate = mates[corner];
+          if (mate < 0) {
+            continue;
+          }
+
+          int neighbor = (cornerFaces != null) ? cornerFaces[mate] : mate / 3;
+
+          // Two corners that start from the same vertex traverse their edge in the same direction
+          boolean required = faceFlipped ^ (indices[corner] == indices[mate]);
+
+          if ((visited[neighbor >>> 6] & (1L << neighbor)) == 0L) {
+            visited[neighbor >>> 6] |= 1L << neighbor;
+            orientation.components[neighbor] = component;
+            if (required) {
+              orientation.flipped[neighbor >>> 6] |= 1L << neighbor;
+              orientation.flippedCount++;
+            }
+            queue[tail++] = neighbor;
+          } else if (((orientation.flipped[neighbor >>> 6] & (1L << neighbor)) != 0L) != required) {
+
+            // A conflicting edge is seen from its two faces
+            if (corner < mate) {
+              orientation.conflictCount++;
+            }
+            orientation.nonOrientable.set(component);
+          }
+        }
+      }
+
+      seed = s;
+    }
+
+    return orientation;
+  }
+
+  /**
+   * Pair the corners whose edges are shared by exactly two faces. The undirected edges are sorted by their greatest then by their lowest vertex
+   * using two counting sorts, so that the corners that share the same edge are contiguous.
+   * @param indices the faces vertex indices.
+   * @param offsets the offset of the first vertex of each face, or <code>null</code> for triangles.
+   * @param cornerFaces the face of each corner, or <code>null</code> for triangles.
+   * @param cornerCount the number of corners.
+   * @param vertexCount the number of vertices.
+   * @param orientation the orientation whose edges counts are updated.
+   * @return the corner that shares the edge of each corner, or <code>-1</code> for a boundary, degenerated or non-manifold edge.
+   */
+  private static int[] pair(int[] indices, int[] offsets, int[] cornerFaces, int cornerCount, int vertexCount, MeshOrientation orientation) {
+
+    int[] targets = new int[cornerCount];
+    for(int c = 0; c < cornerCount; c++) {
+      targets[c] = indices[next(c, offsets, cornerFaces)];
+    }
+
+    int[] counts = new int[vertexCount + 1];
+    int[] byHigh = new int[cornerCount];
+    int[] sorted = new int[cornerCount];
+
+    // Counting sort on the greatest vertex of each edge
+    for(int c = 0; c < cornerCount; c++) {
+      counts[Math.max(indices[c], targets[c]) + 1]++;
+    }
+    for(int v = 0; v < vertexCount; v++) {
+      counts[v+1] += counts[v];
+    }
+    for(int c = 0; c < cornerCount; c++) {
+      byHigh[counts[Math.max(indices[c], targets[c])]++] = c;
+    }
+
+    // Stable counting sort on the lowest vertex of each edge
+    Arrays.fill(counts, 0);
+    for(int c = 0; c < cornerCount; c++) {
+      counts[Math.min(indices[c], targets[c]) + 1]++;
+    }
+    for(int v = 0; v < vertexCount; v++) {
+      counts[v+1] += counts[v];
+    }
+    for(int i = 0; i < cornerCount; i++) {
+      int c = byHigh[i];
+      sorted[counts[Math.min(indices[c], targets[c])]++] = c;
+    }
+
+    int[] mates = byHigh;
+    Arrays.fill(mates, -1);
+
+    int start = 0;
+    while (start < cornerCount) {
+
+      int first = sorted[start];
+      int low   = Math.min(indices[first], targets[first]);
+      int high  = Math.max(indices[first], targets[first]);
+
+      int end = start + 1;
+      while ((end < cornerCount) && (Math.min(indices[sorted[end]], targets[sorted[end]]) == low) && (Math.max(indices[sorted[end]], targets[sorted[end]]) == high)) {
+        end++;
+      }
+
+      if (low != high) {
+        if (end - start == 1) {
+          orientation.boundaryEdgeCount++;
+        } else if (end - start == 2) {
+          int second = sorted[start+1];
+          mates[first]  = second;
+          mates[second] = first;
+        } else {
+          orientation.nonManifoldEdgeCount++;
+        }
+      }
+
+      start = end;
+    }
+
+    return mates;
+  }
+
+  /**
+   * Get the corner that follows the given one within its face.
+   * @param corner the corner.
+   * @param offsets the offset of the first vertex of each face, or <code>null</code> for triangles.
+   * @param cornerFaces the face of each corner, or <code>null</code> for triangles.
+   * @return the next corner.
+   */
+  private static int next(int corner, int[] offsets, int[] cornerFaces) {
+
+    if (offsets == null) {
+      return (corner % 3 == 2) ? corner - 2 : corner + 1;
+    }
+
+    int face = cornerFaces[corner];
+
+    return (corner + 1 < offsets[face+1]) ? corner + 1 : offsets[face];
+  }
+
+  /**
+   * Reverse the given face by keeping its first vertex and reversing the order of the other ones.
+   * @param indices the faces vertex indices.
+   * @param from the first vertex of the face (included).
+   * @param to the last vertex of the face (excluded).
+   */
+  private static void reverse(int[] indices, int from, int to) {
+    for(int i = from + 1, j = to - 1; i < j; i++, j--) {
+      int tmp = indices[i];
+      indices[i] = indices[j];
+      indices[j] = tmp;
+    }
+  }
+
+  /**
+   * Flip the faces that have to be flipped within the given faces arrays, that have to be the ones this orientation has been computed from.
+   * A face is flipped by keeping its first vertex and reversing the order of the other ones.
+   * @param indices the faces vertex indices.
+   * @param offsets the offset of the first vertex of each face, or <code>null</code> if the faces are triangles stored from offset <code>3*f</code>.
+   * @return the number of flipped faces.
+   */
+  public int apply(int[] indices, int[] offsets) {
+
+    for(int f = 0; f < this.faceCount; f++) {
+      if (isFlipped(f)) {
+        if (offsets != null) {
+          reverse(indices, offsets[f], offsets[f+1]);
+        } else {
+          reverse(indices, 3*f, 3*f+3);
+        }
+      }
+    }
+
+    return this.flippedCount;
+  }
+
+  /**
+   * Get the number of faces.
+   * @return the number of faces.
+   */
+  public int getFaceCount() {
+    return this.faceCount;
+  }
+
+  /**
+   * Get the number of connected components, two faces being connected if they share a manifold edge.
+   * @return the number of connected components.
+   */
+  public int getComponentCount() {
+    return this.componentCount;
+  }
+
+  /**
+   * Get the connected component of the given face. The components are numbered by order of discovery.
+   * @param face the face.
+   * @return the connected component of the face.
+   */
+  public int getComponent(int face) {
+    return this.components[face];
+  }
+
+  /**
+   * Get the connected component of each face. The returned array is the internal one and should not be modified.
+   * @return the connected component of each face.
+   */
+  public int[] getComponents() {
+    return this.components;
+  }
+
+  /**
+   * Check if the given face has to be flipped to be consistent with its component.
+   * @param face the face.
+   * @return <code>true</code> if the face has to be flipped and <code>false</code> otherwise.
+   */
+  public boolean isFlipped(int face) {
+    return (this.flipped[face >>> 6] & (1L << face)) != 0L;
+  }
+
+  /**
+   * Get the number of faces that have to be flipped.
+   * @return the number of faces that have to be flipped.
+   */
+  public int getFlippedCount() {
+    return this.flippedCount;
+  }
+
+  /**
+   * Check if all the components are orientable.
+   * @return <code>true</code> if all the components are orientable and <code>false</code> otherwise.
+   */
+  public boolean isOrientable() {
+    return this.nonOrientable.isEmpty();
+  }
+
+  /**
+   * Check if the given component is orientable.
+   * @param component the component.
+   * @return <code>true</code> if the component is orientable and <code>false</code> otherwise.
+   */
+  public boolean isOrientable(int component) {
+    return !this.nonOrientable.get(component);
+  }
+
+  /**
+   * Get the number of non-orientable components.
+   * @return the number of non-orientable components.
+   */
+  public int getNonOrientableComponentCount() {
+    return this.nonOrientable.cardinality();
+  }
+
+  /**
+   * Get the number of edges where the orientation propagation conflicts, that is the edges whose two faces remain inconsistent once oriented.
+   * @return the number of conflicting edges.
+   */
+  public int getConflictingEdgeCount() {
+    return this.conflictCount;
+  }
+
+  /**
+   * Get the number of boundary edges, that are shared by a single face.
+   * @return the number of boundary edges.
+   */
+  public int getBoundaryEdgeCount() {
+    return this.boundaryEdgeCount;
+  }
+
+  /**
+   * Get the number of non-manifold edges, that are shared by more than two faces and that are not traversed by the propagation.
+   * @return the number of non-manifold edges.
+   */
+  public int getNonManifoldEdgeCount() {
+    return this.nonManifoldEdgeCount;
+  }
+}
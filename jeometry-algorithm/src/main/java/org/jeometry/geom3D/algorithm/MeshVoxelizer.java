@@ -0,0 +1,437 @@
+package org.jeometry.geom3D.algorithm;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.Geom3D;
+import org.jeometry.geom3D.mesh.indexed.IndexedMesh;
+import org.jeometry.geom3D.primitive.Box;
+import org.jeometry.geom3D.primitive.Triangle;
+
+/**
+ * A mesh voxelizer that computes the cells of a {@link VoxelGrid voxel grid} that are occupied by the surface or by the solid of a mesh.<br><br>
+ * The <i>surface voxelization</i> marks the cells that intersect a triangle of the mesh, a cell that touches a triangle being considered as intersecting it
+ * (see {@link Geom3D#isIntersect(Box, Triangle)}), the cells being slightly inflated so that a face that lies on a cell boundary marks the cells on both of its sides. A triangle is only tested against the cells its bounds overlap: for each row of cells along the x axis,
+ * the triangle is clipped by the row and only the cells that overlap the x extent of the clipped polygon are tested, so that a large triangle does
+ * not test all the cells of its bounding box. The grid layers are distributed over parallel slabs, each slab processing the triangles that overlap it
+ * and writing its own rows, so that no synchronization is needed.<br><br>
+ * The <i>solid voxelization</i> then fills the interior of the surface. The exterior is flood filled from the grid boundary through the empty cells, rows by rows:
+ * the empty runs of a row that are reached by a seed are filled with word level bit operations (carry propagation), and the rows whose exterior grows propagate
+ * it to their four neighbor rows. All the cells that are not reached are then marked as occupied. The flood fill needs a second grid, that is 256 MB
+ * for a 1024<sup>3</sup> grid. The surface has to be closed at the grid resolution (no hole larger than a cell) for the interior to be filled.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ * @see VoxelGrid
+ */
+public class MeshVoxelizer {
+
+  /**
+   * The number of slabs processed by each thread, used to balance the work when the triangles are not evenly distributed along the z axis.
+   */
+  private static final int SLABS_PER_THREAD = 4;
+
+  /**
+   * The tolerance, relative to the cell size, by which the cells are inflated when they are tested against the triangles.
+   */
+  private static final double CELL_TOLERANCE = 1.0e-9d;
+
+  /**
+   * Create an empty grid that covers the given bounds. The cells are cubes whose size is the largest extent of the bounds divided by the resolution.
+   * The bounds lie at the middle of the cells, so that the faces that lie on the bounds do not touch the cells boundaries, and a margin of one empty cell
+   * is added around them so that the exterior of a solid is connected.
+   * @param bounds the bounds to cover, as <code>{xmin, ymin, zmin, xmax, ymax, zmax}</code>.
+   * @param resolution the number of cells along the largest extent of the bounds.
+   * @return an empty grid that covers the bounds.
+   * @throws IllegalArgumentException if the bounds are invalid or if the resolution is not positive.
+   */
+  public static VoxelGrid createGrid(double[] bounds, int resolution) {
+
+    if ((bounds == null) || (bounds.length < 6) || !(bounds[3] >= bounds[0]) || !(bounds[4] >= bounds[1]) || !(bounds[5] >= bounds[2])) {
+      throw new IllegalArgumentException("Invalid grid bounds.");
+    }
+
+    if (resolution < 1) {
+      throw new IllegalArgumentException("Invalid resolution "+resolution+".");
+    }
+
+    double extent = Math.max(bounds[3] - bounds[0], Math.max(bounds[4] - bounds[1], bounds[5] - bounds[2]));
+
+    double cellSize = (extent > 0.0d) ? extent / resolution : 1.0d;
+
+    int sizeX = Math.max(1, (int) Math.ceil((bounds[3] - bounds[0]) / cellSize)) + 3;
+    int sizeY = Math.max(1, (int) Math.ceil((bounds[4] - bounds[1]) / cellSize)) + 3;
+    int sizeZ = Math.max(1, (int) Math.ceil((bounds[5] - bounds[2]) / cellSize)) + 3;
+
+    return new VoxelGrid(sizeX, sizeY, sizeZ, bounds[0] - 1.5d * cellSize, bounds[1] - 1.5d * cellSize, bounds[2] - 1.5d * cellSize, cellSize);
+  }
+
+  /**
+   * Voxelize the given mesh using all the available processors. The faces that have more than 3 vertices are triangulated as fans from their first vertex.
+   * @param mesh the mesh to voxelize.
+   * @param resolution the number of cells along the largest extent of the mesh.
+   * @param solid <code>true</code> if the interior of the mesh has to be filled and <code>false</code> if only its surface is voxelized.
+   * @return the grid that contains the voxelized mesh, with a margin of one empty cell around the mesh.
+   * @throws IllegalArgumentException if the mesh is <code>null</code>, has no vertices source or no face or if the resolution is not positive.
+   */
+  public static VoxelGrid voxelize(IndexedMesh<?> mesh, int resolution, boolean solid) {
+
+    if ((mesh == null) || (mesh.getVerticesSource() == null)) {
+      throw new IllegalArgumentException("Mesh and its vertices source cannot be null.");
+    }
+
+    double[] vertices = Geom3D.toCoordinates(mesh.getVerticesSource());
+    int[] triangles   = TriangleBVH.triangulate(mesh);
+    int faceCount     = triangles.length / 3;
+
+    if (faceCount == 0) {
+      throw new IllegalArgumentException("Cannot voxelize a mesh without face.");
+    }
+
+    double[] bounds = new double[] {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                                    Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+    for(int i = 0; i < triangles.length; i++) {
+      for(int dimension = 0; dimension < 3; dimension++) {
+        bounds[dimension]   = Math.min(bounds[dimension],   vertices[3*triangles[i]+dimension]);
+        bounds[dimension+3] = Math.max(bounds[dimension+3], vertices[3*triangles[i]+dimension]);
+      }
+    }
+
+    VoxelGrid grid = createGrid(bounds, resolution);
+
+    voxelizeSurface(vertices, triangles, faceCount, grid, Runtime.getRuntime().availableProcessors());
+
+    if (solid) {
+      fillInterior(grid);
+    }
+
+    return grid;
+  }
+
+  /**
+   * Mark the cells of the given grid that intersect the given triangles. The cells that are already occupied are left unchanged.
+   * @param vertices the vertices coordinates, the coordinates of the vertex <code>i</code> being stored from offset <code>3*i</code>.
+   * @param triangles the triangles vertex indices, the triangle <code>f</code> being stored from offset <code>3*f</code>.
+   * @param faceCount the number of triangles.
+   * @param grid the grid to fill.
+   * @param parallelism the maximal number of threads to use.
+   * @throws IllegalArgumentException if an array is too small, if the grid is <code>null</code> or if the parallelism is lesser than 1.
+   */
+  public static void voxelizeSurface(double[] vertices, int[] triangles, int faceCount, VoxelGrid grid, int parallelism) {
+
+    if ((vertices == null) || (triangles == null) || (faceCount < 0) || (triangles.length < 3*faceCount)) {
+      throw new IllegalArgumentException("Triangles array cannot store "+faceCount+" triangles.");
+    }
+
+    if (grid == null) {
+      throw new IllegalArgumentException("Voxel grid cannot be null.");
+    }
+
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+    }
+
+    // Layers covered by each triangle
+    int[] layers = new int[2*faceCount];
+    for(int f = 0; f < faceCount; f++) {
+      double min = Double.POSITIVE_INFINITY;
+      double max = Double.NEGATIVE_INFINITY;
+      for(int k = 0; k < 3; k++) {
+        int vertex = triangles[3*f+k];
+        if ((vertex < 0) || (3*vertex+2 >= vertices.length)) {
+          throw new IllegalArgumentException("Triangle "+f+" references the invalid vertex "+vertex+".");
+        }
+        min = Math.min(min, vertices[3*vertex+2]);
+        max = Math.max(max, vertices[3*vertex+2]);
+      }
+      layers[2*f]   = Math.max(0, grid.getCellZ(min) - 1);
+      layers[2*f+1] = Math.min(grid.getSizeZ() - 1, grid.getCellZ(max) + 1);
+    }
+
+    int slabs = (parallelism < 2) ? 1 : Math.min(grid.getSizeZ(), parallelism * SLABS_PER_THREAD);
+
+    ParallelRange.forEach(grid.getSizeZ(), slabs, parallelism, (from, to) -> voxelizeSlab(vertices, triangles, faceCount, layers, grid, from, to));
+  }
+
+  /**
+   * Mark as occupied the empty cells of the given grid that are not connected to the grid boundary through empty cells (6-connectivity),
+   * that is the interior of the closed surfaces that are voxelized within the grid.
+   * @param grid the grid to fill.
+   * @throws IllegalArgumentException if the grid is <code>null</code>.
+   */
+  public static void fillInterior(VoxelGrid grid) {
+
+    if (grid == null) {
+      throw new IllegalArgumentException("Voxel grid cannot be null.");
+    }
+
+    int sizeY      = grid.getSizeY();
+    int sizeZ      = grid.getSizeZ();
+    int rowWords   = grid.getRowWordCount();
+    long[] words   = grid.getWords();
+    long lastMask  = ((grid.getSizeX() & 63) == 0) ? -1L : (1L << (grid.getSizeX() & 63)) - 1L;
+    int lastBit    = (grid.getSizeX() - 1) & 63;
+
+    long[] exterior = new long[words.length];
+    long[] seeds    = new long[rowWords];
+
+    int rows = sizeY * sizeZ;
+
+    // Rows waiting for a propagation to their neighbors
+    int[] queue       = new int[rows];
+    boolean[] queued  = new boolean[rows];
+    int head          = 0;
+    int count         = 0;
+
+    // Seeds from the grid boundary
+    for(int row = 0; row < rows; row++) {
+
+      int y = row % sizeY;
+      int z = row / sizeY;
+
+      boolean boundary = (y == 0) || (y == sizeY - 1) || (z == 0) || (z == sizeZ - 1);
+
+      for(int w = 0; w < rowWords; w++) {
+        seeds[w] = boundary ? -1L : 0L;
+      }
+      seeds[0]            |= 1L;
+      seeds[rowWords - 1] |= 1L << lastBit;
+
+      if (fillRow(words, exterior, row * rowWords, rowWords, lastMask, seeds)) {
+        queue[(head + count++) % rows] = row;
+        queued[row] = true;
+      }
+    }
+
+    // Propagation to the neighbor rows
+    while (count > 0) {
+
+      int row = queue[head];
+      head    = (head + 1) % rows;
+      count--;
+      queued[row] = false;
+
+      int y = row % sizeY;
+      int z = row / sizeY;
+
+      for(int n = 0; n < 4; n++) {
+
+        int neighbor;
+        if (n == 0) {
+          neighbor = (y > 0) ? row - 1 : -1;
+        } else if (n == 1) {
+          neighbor = (y < sizeY - 1) ? row + 1 : -1;
+        } else if (n == 2) {
+          neighbor = (z > 0) ? row - sizeY : -1;
+        } else {
+          neighbor = (z < sizeZ - 1) ? row + sizeY : -1;
+        }
+
+        if (neighbor < 0) {
+          continue;
+        }
+
+        for(int w = 0; w < rowWords; w++) {
+          seeds[w] = exterior[row * rowWords + w];
+        }
+
+        if (fillRow(words, exterior, neighbor * rowWords, rowWords, lastMask, seeds) && !queued[neighbor]) {
+          queue[(head + count++) % rows] = neighbor;
+          queued[neighbor] = true;
+        }
+      }
+    }
+
+    // The cells that are not exterior are occupied
+    for(int row = 0; row < rows; row++) {
+      int offset = row * rowWords;
+      for(int w = 0; w < rowWords; w++) {
+        long mask = (w == rowWords - 1) ? lastMask : -1L;
+        words[offset+w] |= ~exterior[offset+w] & mask;
+      }
+    }
+  }
+
+  /**
+   * Extend the exterior of a row with the empty runs that contain a seed. A run is filled from its seeds towards the increasing cells using the carry
+   * propagation of an addition and towards the decreasing cells using the same addition on the reversed words.
+   * @param words the occupancy words.
+   * @param exterior the exterior words.
+   * @param offset the offset of the row.
+   * @param rowWords the number of words of a row.
+   * @param lastMask the mask of the valid bits of the last word of a row.
+   * @param seeds the seeds of the row, which are modified by this method.
+   * @return <code>true</code> if the exterior of the row has grown and <code>false</code> otherwise.
+   */
+  private static boolean fillRow(long[] words, long[] exterior, int offset, int rowWords, long lastMask, long[] seeds) {
+
+    // Keep the seeds that are empty and not already exterior
+    boolean any = false;
+    for(int w = 0; w < rowWords; w++) {
+      long empty = ~words[offset+w] & ((w == rowWords - 1) ? lastMask : -1L);
+      seeds[w] &= empty & ~exterior[offset+w];
+      any |= seeds[w] != 0L;
+    }
+
+    if (!any) {
+      return false;
+    }
+
+    // Towards the increasing cells
+    long carry = 0L;
+    for(int w = 0; w < rowWords; w++) {
+      long empty = ~words[offset+w] & ((w == rowWords - 1) ? lastMask : -1L);
+      long seed  = (seeds[w] | carry) & empty;
+      long fill  = (((empty + seed) ^ empty) & empty) | seed;
+      carry = (fill >>> 63) & 1L;
+      exterior[offset+w] |= fill;
+    }
+
+    // Towards the decreasing cells
+    carry = 0L;
+    for(int w = rowWords - 1; w >= 0; w--) {
+      long empty = Long.reverse(~words[offset+w] & ((w == rowWords - 1) ? lastMask : -1L));
+      long seed  = (Long.reverse(seeds[w]) | carry) & empty;
+      long fill  = (((empty + seed) ^ empty) & empty) | seed;
+      carry = (fill >>> 63) & 1L;
+      exterior[offset+w] |= Long.reverse(fill);
+    }
+
+    return true;
+  }
+
+  /**
+   * Mark the cells of the given layers that intersect the triangles.
+   * @param vertices the vertices coordinates.
+   * @param triangles the triangles vertex indices.
+   * @param faceCount the number of triangles.
+   * @param layers the first and the last layer covered by each triangle.
+   * @param grid the grid to fill.
+   * @param from the first layer (included).
+   * @param to the last layer (excluded).
+   */
+  private static void voxelizeSlab(double[] vertices, int[] triangles, int faceCount, int[] layers, VoxelGrid grid, int from, int to) {
+
+    long[] words = grid.getWords();
+
+    double[] triangle = new double[9];
+    double[] cell     = new double[6];
+    double[] polygon  = new double[3*8];
+    double[] buffer   = new double[3*8];
+
+    double size = grid.getCellSize();
+
+    // The cells bounds are recomputed from the grid origin, so that a face that lies on a cell boundary (such as the mesh bounds) may miss
+    // the cells on both of its sides by rounding. The cells are inflated by a tolerance relative to the cell size and to the coordinates magnitude.
+    double magnitude = Math.max(Math.max(Math.abs(grid.getOriginX()), Math.abs(grid.getOriginX() + grid.getSizeX() * size)),
+                                Math.max(Math.max(Math.abs(grid.getOriginY()), Math.abs(grid.getOriginY() + grid.getSizeY() * size)),
+                                         Math.max(Math.abs(grid.getOriginZ()), Math.abs(grid.getOriginZ() + grid.getSizeZ() * size))));
+    double epsilon = Math.max(size * CELL_TOLERANCE, 16.0d * Math.ulp(magnitude));
+
+    for(int f = 0; f < faceCount; f++) {
+
+      int kmin = Math.max(from, layers[2*f]);
+      int kmax = Math.min(to - 1, layers[2*f+1]);
+
+      if (kmin > kmax) {
+        continue;
+      }
+
+      double ymin = Double.POSITIVE_INFINITY;
+      double ymax = Double.NEGATIVE_INFINITY;
+      for(int k = 0; k < 3; k++) {
+        System.arraycopy(vertices, 3*triangles[3*f+k], triangle, 3*k, 3);
+        ymin = Math.min(ymin, triangle[3*k+1]);
+        ymax = Math.max(ymax, triangle[3*k+1]);
+      }
+
+      int jmin = Math.max(0, grid.getCellY(ymin) - 1);
+      int jmax = Math.min(grid.getSizeY() - 1, grid.getCellY(ymax) + 1);
+
+      for(int z = kmin; z <= kmax; z++) {
+
+        double z0 = grid.getOriginZ() + z * size - epsilon;
+        double z1 = grid.getOriginZ() + (z + 1) * size + epsilon;
+
+        for(int y = jmin; y <= jmax; y++) {
+
+          double y0 = grid.getOriginY() + y * size - epsilon;
+          double y1 = grid.getOriginY() + (y + 1) * size + epsilon;
+
+          // Clip the triangle by the row
+          System.arraycopy(triangle, 0, polygon, 0, 9);
+          int count = 3;
+          count = clip(polygon, count, 1, y0, true,  buffer);
+          count = clip(buffer,  count, 1, y1, false, polygon);
+          count = clip(polygon, count, 2, z0, true,  buffer);
+          count = clip(buffer,  count, 2, z1, false, polygon);
+
+          if (count == 0) {
+            continue;
+          }
+
+          double xmin = Double.POSITIVE_INFINITY;
+          double xmax = Double.NEGATIVE_INFINITY;
+          for(int v = 0; v < count; v++) {
+            xmin = Math.min(xmin, polygon[3*v]);
+            xmax = Math.max(xmax, polygon[3*v]);
+          }
+
+          int imin = Math.max(0, grid.getCellX(xmin) - 1);
+          int imax = Math.min(grid.getSizeX() - 1, grid.getCellX(xmax) + 1);
+
+          int offset = grid.getRowOffset(y, z);
+
+          for(int x = imin; x <= imax; x++) {
+            if ((words[offset + (x >>> 6)] & (1L << x)) == 0L) {
+              grid.getCellBounds(x, y, z, cell);
+              for(int dimension = 0; dimension < 3; dimension++) {
+                cell[dimension]   -= epsilon;
+                cell[dimension+3] += epsilon;
+              }
+              if (Geom3D.isIntersectBoxTriangle(cell, 0, triangle, 0)) {
+                words[offset + (x >>> 6)] |= 1L << x;
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Clip the given convex polygon by the given axis aligned plane (Sutherland - Hodgman). The points that lie on the plane are kept.
+   * @param input the polygon vertices, the vertex <code>v</code> being stored from offset <code>3*v</code>.
+   * @param count the number of vertices of the polygon.
+   * @param axis the axis of the plane normal.
+   * @param value the coordinate of the plane along the axis.
+   * @param greater <code>true</code> if the part whose coordinates are greater than the value is kept and <code>false</code> if the lesser part is kept.
+   * @param output the array that will contain the vertices of the clipped polygon.
+   * @return the number of vertices of the clipped polygon.
+   */
+  private static int clip(double[] input, int count, int axis, double value, boolean greater, double[] output) {
+
+    int result = 0;
+
+    for(int v = 0; v < count; v++) {
+
+      int next = (v + 1 == count) ? 0 : v + 1;
+
+      double d1 = greater ? input[3*v+axis] - value    : value - input[3*v+axis];
+      double d2 = greater ? input[3*next+axis] - value : value - input[3*next+axis];
+
+      if (d1 >= 0.0d) {
+        System.arraycopy(input, 3*v, output, 3*result, 3);
+        result++;
+      }
+
+      if ((d1 >= 0.0d) != (d2 >= 0.0d)) {
+        double t = d1 / (d1 - d2);
+        for(int dimension = 0; dimension < 3; dimension++) {
+          output[3*result+dimension] = input[3*v+dimension] + t * (input[3*next+dimension] - input[3*v+dimension]);
+        }
+        result++;
+      }
+    }
+
+    return result;
+  }
+}
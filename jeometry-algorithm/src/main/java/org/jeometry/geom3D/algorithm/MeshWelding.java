@@ -0,0 +1,292 @@
+package org.jeometry.geom3D.algorithm;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.Geom3D;
+import org.jeometry.geom3D.mesh.indexed.IndexedFace;
+import org.jeometry.geom3D.mesh.indexed.IndexedMesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+
+/**
+ * An algorithm that welds the coincident vertices of a mesh and compacts its vertices.<br><br>
+ * The vertices are processed in their order within the source. A vertex that lies within the tolerance of an already retained vertex (the representative)
+ * is merged with it, otherwise it becomes a new representative. The representatives are stored within a hashed grid whose cells have the size of the tolerance,
+ * so that a vertex is only compared with the representatives of the 27 cells that surround it. With a <code>0</code> tolerance, the representatives are
+ * hashed by the bit patterns of their coordinates instead, so that the welding does not depend on the scale of the mesh. The weld map is therefore computed
+ * in linear expected time instead of the quadratic time of a pairwise comparison. As the representatives are retained by order of appearance, the result of the welding depends
+ * on the vertices order when clusters of vertices are wider than the tolerance.<br><br>
+ * Once the weld map is computed, the faces indices are remapped, the faces that become degenerated are removed and the vertices that are not referenced
+ * are dropped, leading to compact vertex indices.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class MeshWelding {
+
+  /**
+   * Compute the weld map of the given vertices. For each vertex <code>i</code>, <code>remap[i]</code> is set to the index of its representative
+   * within the unique vertices, the unique vertices being numbered by order of first appearance.
+   * @param coordinates the vertices coordinates, the coordinates of the vertex <code>i</code> being stored from offset <code>3*i</code>.
+   * @param count the number of vertices.
+   * @param tolerance the maximal distance between two vertices that are welded. A <code>0</code> tolerance only welds the vertices that have exactly the same coordinates.
+   * @param remap the array that is filled with the unique vertex index of each vertex (<code>int[count]</code>).
+   * @param representatives the array that is filled with the index of the vertex that represents each unique vertex (at least <code>int[count]</code>), can be <code>null</code>.
+   * @return the number of unique vertices.
+   * @throws IllegalArgumentException if the tolerance is negative or not finite or if an array is too small.
+   */
+  public static int computeWeldMap(double[] coordinates, int count, double tolerance, int[] remap, int[] representatives) {
+
+    if ((tolerance < 0.0d) || Double.isNaN(tolerance) || Double.isInfinite(tolerance)) {
+      throw new IllegalArgumentException("Invalid tolerance "+tolerance+".");
+    }
+
+    if ((coordinates == null) || (coordinates.length < 3*count)) {
+      throw new IllegalArgumentException("Coordinates array cannot store "+count+" vertices.");
+    }
+
+    if ((remap == null) || (remap.length < count)) {
+      throw new IllegalArgumentException("Remap array cannot store "+count+" vertices.");
+    }
+
+    if ((representatives != null) && (representatives.length < count)) {
+      throw new IllegalArgumentException("Representatives array cannot store "+count+" vertices.");
+    }
+
+    // The representatives of a cell (or of a coordinates hash) are chained from the cell head
+    LongIntHashMap heads = new LongIntHashMap(count, -1);
+    int[] chains         = new int[count];
+    int[] retained       = (representatives != null) ? representatives : new int[count];
+
+    int unique = 0;
+
+    // With a null tolerance, only the vertices that have exactly the same coordinates are welded
+    if (tolerance == 0.0d) {
+
+      for(int i = 0; i < count; i++) {
+
+        // Adding 0 identifies -0.0 with 0.0
+        double x = coordinates[3*i]   + 0.0d;
+        double y = coordinates[3*i+1] + 0.0d;
+        double z = coordinates[3*i+2] + 0.0d;
+
+        long key = cell(Double.doubleToLongBits(x), Double.doubleToLongBits(y), Double.doubleToLongBits(z));
+
+        int representative = heads.get(key);
+        while (representative >= 0) {
+          int vertex = retained[representative];
+          if ((coordinates[3*vertex] == x) && (coordinates[3*vertex+1] == y) && (coordinates[3*vertex+2] == z)) {
+            break;
+          }
+          representative = chains[representative];
+        }
+
+        if (representative < 0) {
+          retained[unique] = i;
+          chains[unique]   = heads.put(key, unique);
+          representative   = unique;
+          unique++;
+        }
+
+        remap[i] = representative;
+      }
+
+      return unique;
+    }
+
+    double cellSize   = tolerance;
+    double tolerance2 = tolerance * tolerance;
+
+    for(int i = 0; i < count; i++) {
+
+      double x = coordinates[3*i];
+      double y = coordinates[3*i+1];
+      double z = coordinates[3*i+2];
+
+      long cx = (long) Math.floor(x / cellSize);
+      long cy = (long) Math.floor(y / cellSize);
+      long cz = (long) Math.floor(z / cellSize);
+
+      int nearest      = -1;
+      double distance2 = Double.POSITIVE_INFINITY;
+
+      for(long ix = cx - 1; ix <= cx + 1; ix++) {
+        for(long iy = cy - 1; iy <= cy + 1; iy++) {
+          for(long iz = cz - 1; iz <= cz + 1; iz++) {
+
+            int representative = heads.get(cell(ix, iy, iz));
+            while (representative >= 0) {
+
+              int vertex = retained[representative];
+              double dx = coordinates[3*vertex]   - x;
+              double dy = coordinates[3*vertex+1] - y;
+              double dz = coordinates[3*vertex+2] - z;
+              double d2 = dx*dx + dy*dy + dz*dz;
+
+              if ((d2 <= tolerance2) && (d2 < distance2)) {
+                nearest   = representative;
+                distance2 = d2;
+              }
+
+              representative = chains[representative];
+            }
+          }
+        }
+      }
+
+      if (nearest < 0) {
+        long key         = cell(cx, cy, cz);
+        retained[unique] = i;
+        chains[unique]   = heads.put(key, unique);
+        nearest          = unique;
+        unique++;
+      }
+
+      remap[i] = nearest;
+    }
+
+    return unique;
+  }
+
+  /**
+   * Remap the given triangles vertices and remove the triangles that become degenerated (that is with at least two identical vertices). The triangles are compacted in place.
+   * @param triangles the triangles vertex indices, the triangle <code>f</code> being stored from offset <code>3*f</code>.
+   * @param faceCount the number of triangles.
+   * @param remap the new index of each vertex, as computed by {@link #computeWeldMap(double[], int, double, int[], int[]) computeWeldMap}.
+   * @return the number of remaining triangles, stored within the first <code>3*count</code> values of the array.
+   */
+  public static int remapTriangles(int[] triangles, int faceCount, int[] remap) {
+
+    int remaining = 0;
+
+    for(int f = 0; f < faceCount; f++) {
+
+      int a = remap[triangles[3*f]];
+      int b = remap[triangles[3*f+1]];
+      int c = remap[triangles[3*f+2]];
+
+      if ((a != b) && (b != c) && (c != a)) {
+        triangles[3*remaining]   = a;
+        triangles[3*remaining+1] = b;
+        triangles[3*remaining+2] = c;
+        remaining++;
+      }
+    }
+
+    return remaining;
+  }
+
+  /**
+   * Compact the vertices that are referenced by the given indices. The referenced vertices are numbered by order of first reference
+   * and the indices are replaced in place by the new numbers.
+   * @param indices the vertex indices.
+   * @param length the number of indices to process.
+   * @param vertexCount the number of vertices (all the indices have to be lower).
+   * @param referenced the array that is filled with the original index of each compacted vertex (at least <code>int[vertexCount]</code>), can be <code>null</code>.
+   * @return the number of referenced vertices.
+   */
+  public static int compactVertices(int[] indices, int length, int vertexCount, int[] referenced) {
+
+    int[] compact = new int[vertexCount];
+    Arrays.fill(compact, -1);
+
+    int count = 0;
+    for(int i = 0; i < length; i++) {
+      int vertex = indices[i];
+      if (compact[vertex] < 0) {
+        compact[vertex] = count;
+        if (referenced != null) {
+          referenced[count] = vertex;
+        }
+        count++;
+      }
+      indices[i] = compact[vertex];
+    }
+
+    return count;
+  }
+
+  /**
+   * Weld the coincident vertices of the given mesh. The faces that have more than 3 vertices are triangulated as fans from their first vertex,
+   * the triangles that become degenerated are removed and the vertices that are not referenced are dropped.
+   * The returned mesh relies on a new vertices source that contains the representative points of the given mesh (the points are not copied).
+   * @param <T> the type of the mesh vertices
+   * @param mesh the mesh to weld.
+   * @param tolerance the maximal distance between two vertices that are welded.
+   * @return the welded mesh.
+   * @throws IllegalArgumentException if the mesh is <code>null</code> or has no vertices source or if the tolerance is invalid.
+   */
+  public static <T extends Point3D> HalfEdgeMesh<T> weld(IndexedMesh<T> mesh, double tolerance) {
+
+    if ((mesh == null) || (mesh.getVerticesSource() == null)) {
+      throw new IllegalArgumentException("Mesh and its vertices source cannot be null.");
+    }
+
+    Point3DContainer<T> source = mesh.getVerticesSource();
+
+    int vertexCount = source.size();
+
+    double[] coordinates = Geom3D.toCoordinates(source);
+
+    int[] remap           = new int[vertexCount];
+    int[] representatives = new int[vertexCount];
+
+    int unique = computeWeldMap(coordinates, vertexCount, tolerance, remap, representatives);
+
+    // Triangulate and remap the faces
+    List<? extends IndexedFace<T>> faces = mesh.getFacesIndexes();
+
+    int count = 0;
+    if (faces != null) {
+      for(IndexedFace<T> face : faces) {
+        if ((face.getVerticesIndexes() != null) && (face.getVerticesIndexes().length > 2)) {
+          count += face.getVerticesIndexes().length - 2;
+        }
+      }
+    }
+
+    int[] triangles = new int[3*count];
+
+    int offset = 0;
+    if (faces != null) {
+      for(IndexedFace<T> face : faces) {
+        int[] indices = face.getVerticesIndexes();
+        if ((indices != null) && (indices.length > 2)) {
+          for(int i = 1; i < indices.length - 1; i++) {
+            triangles[offset++] = indices[0];
+            triangles[offset++] = indices[i];
+            triangles[offset++] = indices[i+1];
+          }
+        }
+      }
+    }
+
+    int faceCount = remapTriangles(triangles, count, remap);
+
+    // Drop the unreferenced vertices
+    int[] referenced = new int[unique];
+    int compacted = compactVertices(triangles, 3*faceCount, unique, referenced);
+
+    Point3DContainer<T> welded = JeometryFactory.createPoint3DContainer(compacted);
+    for(int i = 0; i < compacted; i++) {
+      welded.add(source.get(representatives[referenced[i]]));
+    }
+
+    return new HalfEdgeMesh<T>(triangles, faceCount, welded);
+  }
+
+
+  /**
+   * Compute the key of the grid cell that has the given coordinates. This key is also used to hash the bit patterns of exact coordinates.
+   * @param ix the cell x coordinate.
+   * @param iy the cell y coordinate.
+   * @param iz the cell z coordinate.
+   * @return the key of the cell.
+   */
+  private static long cell(long ix, long iy, long iz) {
+    return (ix * 0x9E3779B97F4A7C15L) ^ (iy * 0xC2B2AE3D27D4EB4FL) ^ (iz * 0x165667B19E3779F9L);
+  }
+}
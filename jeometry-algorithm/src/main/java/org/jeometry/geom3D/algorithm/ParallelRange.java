@@ -0,0 +1,295 @@
+package org.jeometry.geom3D.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+import org.jeometry.Jeometry;
+
+/**
+ * The parallel processing of an index range <code>[0, count[</code>, shared by the algorithms that split their input (points, triangles, rays, boxes, ...) in contiguous ranges.<br><br>
+ * All the computations run within a {@link ForkJoinPool fork / join pool} that is dedicated to the call and whose size is the requested parallelism.
+ * A range is processed on the calling thread when it cannot be split. Two splitting strategies are available:
+ * <ul>
+ * <li>{@link #map(int, int, int, RangeFunction) map} and {@link #forEach(int, int, int, RangeAction) forEach} split the range in a given number of chunks of equal sizes,
+ * which suits the computations that need a state per chunk (buffers, cursors) or whose results have to be concatenated in order;
+ * <li>{@link #reduce(int, int, int, RangeFunction, BinaryOperator) reduce} recursively splits the range in halves down to a minimal chunk size and combines the results pairwise,
+ * which suits the associative reductions (sums, bounds).
+ * </ul>
+ * A {@link RuntimeException} or an {@link Error} thrown by a chunk is rethrown by the calling method, other failures are reported as {@link IllegalStateException}.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class ParallelRange {
+
+  /**
+   * Compute the number of chunks to use for processing the given number of items, so that each chunk has at least the given size.
+   * @param count the number of items.
+   * @param minimalChunkSize the minimal number of items of a chunk.
+   * @param parallelism the maximal number of threads to use.
+   * @return the number of chunks, between <code>1</code> and <code>parallelism</code>.
+   * @throws IllegalArgumentException if the parallelism is lesser than 1.
+   */
+  public static int chunks(int count, int minimalChunkSize, int parallelism) {
+
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+    }
+
+    return Math.min(parallelism, Math.max(1, count / Math.max(1, minimalChunkSize)));
+  }
+
+  /**
+   * Get the first index of the given chunk.
+   * @param count the number of items.
+   * @param chunks the number of chunks.
+   * @param chunk the chunk.
+   * @return the first index of the chunk (included), the chunk ending at the first index of the next one (excluded).
+   */
+  public static int start(int count, int chunks, int chunk) {
+    return (int)((long)count * chunk / chunks);
+  }
+
+  /**
+   * Apply the given function to the given number of contiguous chunks of <code>[0, count[</code>, using a thread per chunk.
+   * @param <R> the type of the chunk results.
+   * @param count the number of items.
+   * @param chunks the number of chunks, each chunk being processed by its own thread.
+   * @param function the function to apply to each chunk.
+   * @return the results of the chunks, in the chunks order.
+   * @throws IllegalArgumentException if the number of chunks is lesser than 1.
+   * @see #map(int, int, int, RangeFunction)
+   */
+  public static <R> List<R> map(int count, int chunks, RangeFunction<R> function) {
+    return map(count, chunks, chunks, function);
+  }
+
+  /**
+   * Apply the given function to the given number of contiguous chunks of <code>[0, count[</code>. Using more chunks than threads
+   * balances the load when the chunks processing times differ.
+   * @param <R> the type of the chunk results.
+   * @param count the number of items.
+   * @param chunks the number of chunks.
+   * @param parallelism the maximal number of threads to use.
+   * @param function the function to apply to each chunk.
+   * @return the results of the chunks, in the chunks order.
+   * @throws IllegalArgumentException if the number of chunks or the parallelism is lesser than 1.
+   */
+  public static <R> List<R> map(int count, int chunks, int parallelism, RangeFunction<R> function) {
+
+    if (chunks < 1) {
+      throw new IllegalArgumentException("Chunks count has to be at least 1 ("+chunks+" given).");
+    }
+
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+    }
+
+    List<R> results = new ArrayList<R>(chunks);
+
+    if ((chunks < 2) || (parallelism < 2)) {
+      for(int c = 0; c < chunks; c++) {
+        results.add(function.apply(start(count, chunks, c), start(count, chunks, c+1)));
+      }
+      return results;
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(Math.min(chunks, parallelism));
+    try {
+      List<ForkJoinTask<R>> tasks = new ArrayList<ForkJoinTask<R>>(chunks);
+      for(int c = 0; c < chunks; c++) {
+        final int from = start(count, chunks, c);
+        final int to   = start(count, chunks, c+1);
+        tasks.add(pool.submit(() -> function.apply(from, to)));
+      }
+
+      for(ForkJoinTask<R> task : tasks) {
+        results.add(task.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Parallel computation interrupted: "+e.getMessage(), e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw new IllegalStateException("Parallel computation failed: "+e.getCause(), e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+
+    return results;
+  }
+
+  /**
+   * Apply the given action to the given number of contiguous chunks of <code>[0, count[</code>, using a thread per chunk.
+   * @param count the number of items.
+   * @param chunks the number of chunks, each chunk being processed by its own thread.
+   * @param action the action to apply to each chunk.
+   * @throws IllegalArgumentException if the number of chunks is lesser than 1.
+   * @see #map(int, int, RangeFunction)
+   */
+  public static void forEach(int count, int chunks, RangeAction action) {
+    forEach(count, chunks, chunks, action);
+  }
+
+  /**
+   * Apply the given action to the given number of contiguous chunks of <code>[0, count[</code>.
+   * @param count the number of items.
+   * @param chunks the number of chunks.
+   * @param parallelism the maximal number of threads to use.
+   * @param action the action to apply to each chunk.
+   * @throws IllegalArgumentException if the number of chunks or the parallelism is lesser than 1.
+   * @see #map(int, int, int, RangeFunction)
+   */
+  public static void forEach(int count, int chunks, int parallelism, RangeAction action) {
+    map(count, chunks, parallelism, (from, to) -> {
+      action.apply(from, to);
+      return null;
+    });
+  }
+
+  /**
+   * Reduce <code>[0, count[</code> by recursively splitting it in halves until a range is smaller than twice the minimal chunk size.
+   * The results of the halves are combined pairwise, the result of the lower half being the first argument of the combiner.
+   * @param <R> the type of the result.
+   * @param count the number of items.
+   * @param minimalChunkSize the minimal number of items of a range.
+   * @param parallelism the maximal number of threads to use.
+   * @param function the function that reduces a range.
+   * @param combiner the function that combines the results of two consecutive ranges.
+   * @return the result of the reduction.
+   * @throws IllegalArgumentException if the parallelism is lesser than 1.
+   */
+  public static <R> R reduce(int count, int minimalChunkSize, int parallelism, RangeFunction<R> function, BinaryOperator<R> combiner) {
+
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+    }
+
+    if ((parallelism < 2) || (count < 2 * minimalChunkSize)) {
+      return function.apply(0, count);
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      return pool.invoke(new ReduceTask<R>(function, combiner, Math.max(1, minimalChunkSize), 0, count));
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * A function that computes a result from a range of items.
+   * @param <R> the type of the result.
+   * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+   * @version {@value Jeometry#version}
+   * @since 2.0.1
+   */
+  @FunctionalInterface
+  public interface RangeFunction<R> {
+
+    /**
+     * Compute the result of the items within <code>[from, to[</code>.
+     * @param from the first item (included).
+     * @param to the last item (excluded).
+     * @return the result.
+     */
+    R apply(int from, int to);
+  }
+
+  /**
+   * An action that processes a range of items.
+   * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+   * @version {@value Jeometry#version}
+   * @since 2.0.1
+   */
+  @FunctionalInterface
+  public interface RangeAction {
+
+    /**
+     * Process the items within <code>[from, to[</code>.
+     * @param from the first item (included).
+     * @param to the last item (excluded).
+     */
+    void apply(int from, int to);
+  }
+
+  /**
+   * A fork / join task that reduces a range, splitting it in halves until it is smaller than twice the minimal chunk size.
+   * @param <R> the type of the result.
+   */
+  private static class ReduceTask<R> extends RecursiveTask<R> {
+
+    /**
+     * The serial version UID.
+     */
+    private static final long serialVersionUID = Jeometry.BUILD;
+
+    /**
+     * The range function.
+     */
+    private final RangeFunction<R> function;
+
+    /**
+     * The results combiner.
+     */
+    private final BinaryOperator<R> combiner;
+
+    /**
+     * The minimal number of items of a range.
+     */
+    private final int minimalChunkSize;
+
+    /**
+     * The first item (included).
+     */
+    private final int from;
+
+    /**
+     * The last item (excluded).
+     */
+    private final int to;
+
+    /**
+     * Create a new task.
+     * @param function the range function.
+     * @param combiner the results combiner.
+     * @param minimalChunkSize the minimal number of items of a range.
+     * @param from the first item (included).
+     * @param to the last item (excluded).
+     */
+    ReduceTask(RangeFunction<R> function, BinaryOperator<R> combiner, int minimalChunkSize, int from, int to) {
+      this.function         = function;
+      this.combiner         = combiner;
+      this.minimalChunkSize = minimalChunkSize;
+      this.from             = from;
+      this.to               = to;
+    }
+
+    @Override
+    protected R compute() {
+
+      if (this.to - this.from < 2 * this.minimalChunkSize) {
+        return this.function.apply(this.from, this.to);
+      }
+
+      int middle = (this.from + this.to) >>> 1;
+
+      ReduceTask<R> left = new ReduceTask<R>(this.function, this.combiner, this.minimalChunkSize, this.from, middle);
+      left.fork();
+
+      R right = new ReduceTask<R>(this.function, this.combiner, this.minimalChunkSize, middle, this.to).compute();
+
+      return this.combiner.apply(left.join(), right);
+    }
+  }
+}
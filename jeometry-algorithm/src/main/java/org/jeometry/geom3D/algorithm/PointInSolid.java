@@ -0,0 +1,253 @@
+package org.jeometry.geom3D.algorithm;
+
+import java.util.BitSet;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.Geom3D;
+import org.jeometry.geom3D.mesh.Mesh;
+import org.jeometry.geom3D.mesh.indexed.IndexedMesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+
+/**
+ * A point in solid query for arbitrary (non convex) closed meshes.<br><br>
+ * A point is inside a closed mesh if a ray cast from the point crosses the mesh surface an odd number of times (<i>ray parity</i>).
+ * The crossings are counted using a {@link TriangleBVH bounding volume hierarchy} over the mesh triangles, so that a query only tests the few triangles
+ * whose boxes are pierced by the ray. The parity is wrong if the ray passes through an edge or a vertex of the mesh, as the crossing is then counted
+ * for each triangle that shares it (or for none of them). Such hits are detected using a tolerance on the barycentric coordinates and another ray,
+ * along a different direction, is cast. The points that lie on the surface (within the tolerance) are considered inside.<br><br>
+ * The result is only meaningful if the mesh is closed (watertight), the orientation of its faces does not matter. Contrary to
+ * {@link Geom3D#contains(Mesh, Point3D)}, the mesh does not have to be convex.
+ * The batch classification processes the points by blocks that correspond to the words of the result bitset and distributes them over parallel chunks.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ * @see ConvexRegion
+ */
+public class PointInSolid {
+
+  /**
+   * The default relative tolerance used to detect the ambiguous ray hits.
+   */
+  public static final double DEFAULT_TOLERANCE = 1.0e-9d;
+
+  /**
+   * The number of points within a classification block (the size of a bitset word).
+   */
+  private static final int BLOCK_SIZE = 64;
+
+  /**
+   * The minimal number of points that a parallel task has to process.
+   */
+  static final int MINIMAL_CHUNK_SIZE = 1 << 12;
+
+  /**
+   * The ray directions, tried in order until a ray is not ambiguous. The directions are not aligned with the axes
+   * nor with the diagonals, which are the most common edge directions of man made models.
+   */
+  private static final double[] DIRECTIONS = createDirections(7);
+
+  /**
+   * The hierarchy over the mesh triangles.
+   */
+  private TriangleBVH hierarchy = null;
+
+  /**
+   * The relative tolerance used to detect the ambiguous ray hits.
+   */
+  private double tolerance      = DEFAULT_TOLERANCE;
+
+  /**
+   * Create a new point in solid query over the given closed mesh.
+   * @param mesh the closed mesh.
+   * @throws IllegalArgumentException if the mesh is <code>null</code> or has no vertices source.
+   */
+  public PointInSolid(IndexedMesh<?> mesh) {
+    this(TriangleBVH.build(mesh));
+  }
+
+  /**
+   * Create a new point in solid query over the given triangles hierarchy. The triangles have to form a closed surface.
+   * @param hierarchy the triangles hierarchy.
+   * @throws IllegalArgumentException if the hierarchy is <code>null</code>.
+   */
+  public PointInSolid(TriangleBVH hierarchy) {
+
+    if (hierarchy == null) {
+      throw new IllegalArgumentException("Triangles hierarchy cannot be null.");
+    }
+
+    this.hierarchy = hierarchy;
+  }
+
+  /**
+   * Get the triangles hierarchy that is used by the query.
+   * @return the triangles hierarchy that is used by the query.
+   */
+  public TriangleBVH getHierarchy() {
+    return this.hierarchy;
+  }
+
+  /**
+   * Get the relative tolerance used to detect the ambiguous ray hits.
+   * @return the relative tolerance used to detect the ambiguous ray hits.
+   */
+  public double getTolerance() {
+    return this.tolerance;
+  }
+
+  /**
+   * Set the relative tolerance used to detect the ambiguous ray hits. A hit is ambiguous if one of its barycentric coordinates is within the tolerance of <code>0</code>.
+   * @param tolerance the relative tolerance used to detect the ambiguous ray hits.
+   * @throws IllegalArgumentException if the tolerance is negative or not finite.
+   */
+  public void setTolerance(double tolerance) {
+
+    if ((tolerance < 0.0d) || Double.isNaN(tolerance) || Double.isInfinite(tolerance)) {
+      throw new IllegalArgumentException("Invalid tolerance "+tolerance+".");
+    }
+
+    this.tolerance = tolerance;
+  }
+
+  /**
+   * Check if the given location is inside the solid.
+   * @param x the location x coordinate.
+   * @param y the location y coordinate.
+   * @param z the location z coordinate.
+   * @return <code>true</code> if the location is inside the solid (or on its surface) and <code>false</code> otherwise.
+   */
+  public boolean contains(double x, double y, double z) {
+    return contains(x, y, z, this.hierarchy.createStack());
+  }
+
+  /**
+   * Check if the given point is inside the solid.
+   * @param point the point to check.
+   * @return <code>true</code> if the point is inside the solid (or on its surface) and <code>false</code> otherwise or if the point is <code>null</code>.
+   */
+  public boolean contains(Point3D point) {
+    return (point != null) && contains(point.getX(), point.getY(), point.getZ());
+  }
+
+  /**
+   * Classify the given points using all the available processors.
+   * @param points the points to classify.
+   * @return a bitset whose bit <code>i</code> is set if the point <code>i</code> is inside the solid.
+   * @see #classify(double[], int, int)
+   */
+  public BitSet classify(Point3DContainer<? extends Point3D> points) {
+    return classify(Geom3D.toCoordinates(points), points.size(), Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Classify the given points.
+   * @param coordinates the points coordinates, the coordinates of the point <code>i</code> being stored from offset <code>3*i</code>.
+   * @param count the number of points.
+   * @param parallelism the maximal number of threads to use.
+   * @return a bitset whose bit <code>i</code> is set if the point <code>i</code> is inside the solid.
+   * @throws IllegalArgumentException if the coordinates array is too small or if the parallelism is lesser than 1.
+   */
+  public BitSet classify(double[] coordinates, int count, int parallelism) {
+
+    if ((coordinates == null) || (count < 0) || (coordinates.length < 3*count)) {
+      throw new IllegalArgumentException("Coordinates array cannot store "+count+" points.");
+    }
+
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+    }
+
+    int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+    long[] words = new long[blocks];
+
+    // The chunks are made of whole blocks, so that each chunk writes its own bitset words
+    ParallelRange.forEach(blocks, ParallelRange.chunks(count, MINIMAL_CHUNK_SIZE, parallelism), (from, to) -> classify(coordinates, count, from, to, words));
+
+    return BitSet.valueOf(words);
+  }
+
+  /**
+   * Classify the points of the given blocks.
+   * @param coordinates the points coordinates.
+   * @param count the number of points.
+   * @param from the first block (included).
+   * @param to the last block (excluded).
+   * @param words the bitset words, the word <code>b</code> holding the classification of the block <code>b</code>.
+   */
+  private void classify(double[] coordinates, int count, int from, int to, long[] words) {
+
+    int[] stack = this.hierarchy.createStack();
+
+    for(int block = from; block < to; block++) {
+
+      int start = block * BLOCK_SIZE;
+      int end   = Math.min(start + BLOCK_SIZE, count);
+
+      long word = 0L;
+      for(int i = start; i < end; i++) {
+        if (contains(coordinates[3*i], coordinates[3*i+1], coordinates[3*i+2], stack)) {
+          word |= 1L << (i - start);
+        }
+      }
+
+      words[block] = word;
+    }
+  }
+
+  /**
+   * Check if the given location is inside the solid using the given traversal stack.
+   * @param x the location x coordinate.
+   * @param y the location y coordinate.
+   * @param z the location z coordinate.
+   * @param stack the traversal stack.
+   * @return <code>true</code> if the location is inside the solid (or on its surface) and <code>false</code> otherwise.
+   */
+  private boolean contains(double x, double y, double z, int[] stack) {
+
+    for(int d = 0; d < DIRECTIONS.length; d += 3) {
+
+      int crossings = this.hierarchy.countCrossings(x, y, z, DIRECTIONS[d], DIRECTIONS[d+1], DIRECTIONS[d+2], this.tolerance, stack);
+
+      if (crossings == Integer.MIN_VALUE) {
+        return true;
+      }
+
+      if (crossings >= 0) {
+        return (crossings & 1) == 1;
+      }
+    }
+
+    // All the rays graze the surface, the location is considered on the surface
+    return true;
+  }
+
+  /**
+   * Create ray directions that are spread over the sphere (Fibonacci lattice) and slightly tilted so that none of them is aligned with the axes.
+   * @param count the number of directions.
+   * @return the directions, the direction <code>i</code> being stored from offset <code>3*i</code> as a unit vector.
+   */
+  private static double[] createDirections(int count) {
+
+    double[] directions = new double[3*count];
+
+    double golden = Math.PI * (3.0d - Math.sqrt(5.0d));
+
+    for(int i = 0; i < count; i++) {
+      double z      = 1.0d - (2.0d * i + 1.0d) / count + 0.0731d;
+      double radius = Math.sqrt(Math.max(0.0d, 1.0d - z*z));
+      double theta  = golden * i + 0.3183d;
+
+      double x = radius * Math.cos(theta);
+      double y = radius * Math.sin(theta);
+      double n = Math.sqrt(x*x + y*y + z*z);
+
+      directions[3*i]   = x / n;
+      directions[3*i+1] = y / n;
+      directions[3*i+2] = z / n;
+    }
+
+    return directions;
+  }
+}
@@ -0,0 +1,271 @@
+package org.jeometry.geom3D.algorithm;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.Geom3D;
+import org.jeometry.geom3D.algorithm.convexhull.quickhull.QuickHull;
+import org.jeometry.geom3D.mesh.indexed.IndexedTriangleMesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+
+/**
+ * The computation of the diameter of a set of 3D points, that is the pair of points that are the farthest from each other.<br><br>
+ * The exact computation is provided by {@link Geom3D#computeDiameter(double[], int, int[])} and relies on the <i>double normal</i> approach of Malandain and Boissonnat (<i>"Computing the diameter of a point set",
+ * International Journal of Computational Geometry and Applications 12(6), 2002</i>):
+ * <ol>
+ * <li>A lower bound <code>d</code> of the diameter is obtained by iterating farthest point queries from the last found point until the distance stops increasing (a double normal).
+ * <li>If two points are more than <code>d</code> apart, at least one of them lies outside the ball whose diameter is the double normal. If all the points lie within this ball, the double normal is the diameter.
+ * Otherwise, the points that are too close to the ball center to be farther than <code>d</code> from any point are discarded.
+ * <li>The farthest pair of the remaining candidates is searched with <code>d</code> as bound by a dual traversal of a k-d tree, that only explores the pairs of cells that may be more than the bound apart.
+ * </ol>
+ * In practice, the bound is very close to the diameter and only a few pairs of opposite cells are explored,
+ * making the computation close to linear instead of the quadratic time of a pairwise comparison. The worst case occurs when the points are spread over a sphere,
+ * as all the pairs of opposite points are then close to the diameter.
+ * The points can also be reduced to the vertices of their {@link QuickHull convex hull} first, as the diameter is always realized by two hull vertices.<br><br>
+ * The approximate computation returns a pair whose distance is at least <code>D / (1 + &epsilon;)</code>, where <code>D</code> is the diameter.
+ * It searches the extreme points of the set along a grid of directions that is fine enough for any direction to be within an angle
+ * <code>&theta;</code> of a grid direction, with <code>cos(&theta;) = 1 / (1 + &epsilon;)</code>, and runs in linear time for a given <code>&epsilon;</code>.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ * @see Geom3D#farthestPoints(Point3DContainer)
+ */
+public class PointSetDiameter {
+
+  /**
+   * Compute the exact diameter of the given points. This method delegates to {@link Geom3D#computeDiameter(double[], int, int[])}.
+   * @param coordinates the points coordinates, the coordinates of the point <code>i</code> being stored from offset <code>3*i</code>.
+   * @param count the number of points.
+   * @param pair the array that will contain the indices of the two farthest points (at least <code>int[2]</code>). If less than two points are given, the indices are set to <code>-1</code>.
+   * @return the diameter of the points.
+   * @throws IllegalArgumentException if an array is too small.
+   */
+  public static double computeDiameter(double[] coordinates, int count, int[] pair) {
+
+    return Geom3D.computeDiameter(coordinates, count, pair);
+  }
+
+  /**
+   * Compute an approximation of the diameter of the given points. The distance between the two returned points is at least <code>D / (1 + epsilon)</code>,
+   * where <code>D</code> is the diameter of the points.
+   * @param coordinates the points coordinates, the coordinates of the point <code>i</code> being stored from offset <code>3*i</code>.
+   * @param count the number of points.
+   * @param epsilon the relative approximation error, greater than <code>0</code>.
+   * @param pair the array that will contain the indices of the two returned points (at least <code>int[2]</code>). If less than two points are given, the indices are set to <code>-1</code>.
+   * @return the distance between the two returned points.
+   * @throws IllegalArgumentException if the approximation error is not positive or if an array is too small.
+   */
+  public static double computeApproximateDiameter(double[] coordinates, int count, double epsilon, int[] pair) {
+
+    check(coordinates, count, pair);
+
+    if (!(epsilon > 0.0d)) {
+      throw new IllegalArgumentException("Invalid approximation error "+epsilon+", a positive value is expected.");
+    }
+
+    pair[0] = -1;
+    pair[1] = -1;
+
+    if (count < 2) {
+      return 0.0d;
+    }
+
+    double[] directions = createDirections(epsilon);
+    int directionCount  = directions.length / 3;
+
+    int[] minimums    = new int[directionCount];
+    int[] maximums    = new int[directionCount];
+    double[] minimals = new double[directionCount];
+    double[] maximals = new double[directionCount];
+
+    Arrays.fill(minimals, Double.POSITIVE_INFINITY);
+    Arrays.fill(maximals, Double.NEGATIVE_INFINITY);
+
+    // Extreme points along each direction
+    for(int i = 0; i < count; i++) {
+      double x = coordinates[3*i];
+      double y = coordinates[3*i+1];
+      double z = coordinates[3*i+2];
+      for(int k = 0; k < directionCount; k++) {
+        double projection = x*directions[3*k] + y*directions[3*k+1] + z*directions[3*k+2];
+        if (projection < minimals[k]) {
+          minimals[k] = projection;
+          minimums[k] = i;
+        }
+        if (projection > maximals[k]) {
+          maximals[k] = projection;
+          maximums[k] = i;
+        }
+      }
+    }
+
+    double best = -1.0d;
+    for(int k = 0; k < directionCount; k++) {
+      double d = squaredDistance(coordinates, minimums[k], maximums[k]);
+      if (d > best) {
+        best    = d;
+        pair[0] = minimums[k];
+        pair[1] = maximums[k];
+      }
+    }
+
+    return Math.sqrt(best);
+  }
+
+  /**
+   * Compute the two points of the given set that are the farthest from each other.
+   * @param <T> The type of underlying 3D points
+   * @param points the points.
+   * @return the two farthest points or <code>null</code> if less than two points are given.
+   */
+  public static <T extends Point3D> Point3D[] farthestPoints(Point3DContainer<T> points) {
+    return farthestPoints(points, false);
+  }
+
+  /**
+   * Compute the two points of the given set that are the farthest from each other. If <code>reduceToHull</code> is set to <code>true</code>,
+   * the points are first reduced to the vertices of their {@link QuickHull#computeIndexedConvexHull(Point3DContainer, boolean) convex hull}.
+   * As the exact computation already discards most of the interior points, this reduction is only worth its cost when the hull is
+   * already known to be small or when the points are processed several times.
+   * @param <T> The type of underlying 3D points
+   * @param points the points.
+   * @param reduceToHull <code>true</code> if the points have to be reduced to their convex hull vertices and <code>false</code> otherwise.
+   * @return the two farthest points or <code>null</code> if less than two points are given.
+   */
+  public static <T extends Point3D> Point3D[] farthestPoints(Point3DContainer<T> points, boolean reduceToHull) {
+
+    if ((points == null) || (points.size() < 2)) {
+      return null;
+    }
+
+    int[] indices = null;
+
+    if (reduceToHull && (points.size() > 3)) {
+      IndexedTriangleMesh<T> hull = QuickHull.computeIndexedConvexHull(points, true);
+      if (hull != null) {
+        List<Integer> vertices = hull.getVerticesIndexes();
+        if ((vertices != null) && (vertices.size() > 1)) {
+          indices = new int[vertices.size()];
+          for(int i = 0; i < indices.length; i++) {
+            indices[i] = vertices.get(i);
+          }
+        }
+      }
+    }
+
+    double[] coordinates = null;
+    int count = 0;
+
+    if (indices == null) {
+      coordinates = Geom3D.toCoordinates(points);
+      count       = points.size();
+    } else {
+      coordinates = new double[3*indices.length];
+      count       = indices.length;
+      for(int i = 0; i < count; i++) {
+        Point3D point = points.get(indices[i]);
+        coordinates[3*i]   = point.getX();
+        coordinates[3*i+1] = point.getY();
+        coordinates[3*i+2] = point.getZ();
+      }
+    }
+
+    int[] pair = new int[2];
+    computeDiameter(coordinates, count, pair);
+
+    if (indices != null) {
+      pair[0] = indices[pair[0]];
+      pair[1] = indices[pair[1]];
+    }
+
+    return new Point3D[] {points.get(pair[0]), points.get(pair[1])};
+  }
+
+  /**
+   * Compute two points of the given set whose distance is at least <code>D / (1 + epsilon)</code>, where <code>D</code> is the diameter of the set.
+   * @param <T> The type of underlying 3D points
+   * @param points the points.
+   * @param epsilon the relative approximation error, greater than <code>0</code>.
+   * @return the two points or <code>null</code> if less than two points are given.
+   * @throws IllegalArgumentException if the approximation error is not positive.
+   */
+  public static <T extends Point3D> Point3D[] farthestPoints(Point3DContainer<T> points, double epsilon) {
+
+    if ((points == null) || (points.size() < 2)) {
+      return null;
+    }
+
+    int[] pair = new int[2];
+    computeApproximateDiameter(Geom3D.toCoordinates(points), points.size(), epsilon, pair);
+
+    return new Point3D[] {points.get(pair[0]), points.get(pair[1])};
+  }
+
+  /**
+   * Create a grid of unit directions that covers the half sphere of directions with a maximal angle <code>&theta;</code> such that <code>cos(&theta;) = 1 / (1 + epsilon)</code>.
+   * The directions are obtained by normalizing a regular grid on the three faces <code>x = 1</code>, <code>y = 1</code> and <code>z = 1</code> of the cube <code>[-1, 1]<sup>3</sup></code>.
+   * @param epsilon the relative approximation error.
+   * @return the directions, the direction <code>k</code> being stored from offset <code>3*k</code>.
+   */
+  private static double[] createDirections(double epsilon) {
+
+    // On a cube face, a direction is within a distance of (spacing * sqrt(2) / 2) of a grid node and at least at a distance of 1 from the cube center
+    double theta   = Math.acos(1.0d / (1.0d + epsilon));
+    int divisions  = Math.max(1, (int) Math.ceil(Math.sqrt(2.0d) / Math.tan(Math.min(theta, Math.PI / 4.0d))));
+
+    double[] directions = new double[3 * 3 * (divisions+1) * (divisions+1)];
+    int count = 0;
+
+    for(int face = 0; face < 3; face++) {
+      for(int i = 0; i <= divisions; i++) {
+        for(int j = 0; j <= divisions; j++) {
+          double u = -1.0d + 2.0d * i / divisions;
+          double v = -1.0d + 2.0d * j / divisions;
+          double norm = Math.sqrt(1.0d + u*u + v*v);
+
+          directions[3*count + face]           = 1.0d / norm;
+          directions[3*count + (face + 1) % 3] = u / norm;
+          directions[3*count + (face + 2) % 3] = v / norm;
+          count++;
+        }
+      }
+    }
+
+    return directions;
+  }
+
+  /**
+   * Compute the squared distance between two points.
+   * @param coordinates the points coordinates.
+   * @param i the index of the first point.
+   * @param j the index of the second point.
+   * @return the squared distance between the two points.
+   */
+  private static double squaredDistance(double[] coordinates, int i, int j) {
+    double dx = coordinates[3*i]   - coordinates[3*j];
+    double dy = coordinates[3*i+1] - coordinates[3*j+1];
+    double dz = coordinates[3*i+2] - coordinates[3*j+2];
+    return dx*dx + dy*dy + dz*dz;
+  }
+
+
+  /**
+   * Check the arguments of a computation.
+   * @param coordinates the points coordinates.
+   * @param count the number of points.
+   * @param pair the result array.
+   * @throws IllegalArgumentException if an array is too small.
+   */
+  private static void check(double[] coordinates, int count, int[] pair) {
+
+    if ((coordinates == null) || (count < 0) || (coordinates.length < 3*count)) {
+      throw new IllegalArgumentException("Coordinates array cannot store "+count+" points.");
+    }
+
+    if ((pair == null) || (pair.length < 2)) {
+      throw new IllegalArgumentException("Pair array has to store at least 2 indices.");
+    }
+  }
+}
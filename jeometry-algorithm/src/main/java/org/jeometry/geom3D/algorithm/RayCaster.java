@@ -0,0 +1,400 @@
+package org.jeometry.geom3D.algorithm;
+
+import java.util.BitSet;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.Geom3D;
+import org.jeometry.geom3D.mesh.indexed.IndexedMesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.primitive.Triangle;
+
+/**
+ * A batch ray caster over the triangles of a mesh.<br><br>
+ * The rays are given as primitive arrays of origins and directions and the results are written within primitive arrays of hit distances,
+ * face indices and barycentric coordinates, so that no object is allocated per ray. The rays are intersected with the triangles by packets
+ * that traverse a {@link TriangleBVH bounding volume hierarchy} as a whole (see {@link TriangleBVH#intersect(double[], double[], int, int, double, boolean, boolean, double[], int[], double[], int[], long[]) TriangleBVH.intersect}),
+ * consecutive rays being grouped within a same packet. The packets are efficient for coherent rays (camera rays, rays cast from a same point) and the packet size
+ * can be reduced for incoherent rays. The packets are distributed over parallel chunks when the rays are numerous enough.<br><br>
+ * The ray <code>i</code> is made of the points <code>O<sub>i</sub> + t*D<sub>i</sub></code> where <code>O<sub>i</sub></code> is its origin and <code>D<sub>i</sub></code> its direction.
+ * The directions do not have to be unit vectors, the distances are then expressed in direction lengths. For example, a line of sight query between two points
+ * <code>A</code> and <code>B</code> is a ray from <code>A</code> with the direction <code>B - A</code> and a maximal distance of <code>1</code>.
+ * The hit point of a ray is <code>(1 - u - v)V<sub>1</sub> + u*V<sub>2</sub> + v*V<sub>3</sub></code>, where <code>(V<sub>1</sub>, V<sub>2</sub>, V<sub>3</sub>)</code>
+ * is the hit triangle, which is the convention of {@link Geom3D#computeIntersection(Triangle, Point3D, Point3D, boolean)}.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ * @see TriangleBVH
+ */
+public class RayCaster {
+
+  /**
+   * The minimal number of rays that a parallel task has to process.
+   */
+  static final int MINIMAL_CHUNK_SIZE = 1 << 12;
+
+  /**
+   * The number of rays within a block of an occlusion bitset word.
+   */
+  private static final int BLOCK_SIZE = 64;
+
+  /**
+   * The hierarchy over the mesh triangles.
+   */
+  private TriangleBVH hierarchy  = null;
+
+  /**
+   * Is the triangles that are not facing the rays are ignored.
+   */
+  private boolean cullback       = false;
+
+  /**
+   * The minimal distance of a hit from the ray origin.
+   */
+  private double minimalDistance = 0.0d;
+
+  /**
+   * The number of rays within a packet.
+   */
+  private int packetSize         = TriangleBVH.PACKET_SIZE;
+
+  /**
+   * Create a new ray caster over the faces of the given mesh.
+   * @param mesh the mesh.
+   * @throws IllegalArgumentException if the mesh is <code>null</code> or has no vertices source.
+   * @see TriangleBVH#build(IndexedMesh)
+   */
+  public RayCaster(IndexedMesh<?> mesh) {
+    this(TriangleBVH.build(mesh));
+  }
+
+  /**
+   * Create a new ray caster over the given triangles hierarchy.
+   * @param hierarchy the triangles hierarchy.
+   * @throws IllegalArgumentException if the hierarchy is <code>null</code>.
+   */
+  public RayCaster(TriangleBVH hierarchy) {
+
+    if (hierarchy == null) {
+      throw new IllegalArgumentException("Triangles hierarchy cannot be null.");
+    }
+
+    this.hierarchy = hierarchy;
+  }
+
+  /**
+   * Get the triangles hierarchy that is used by the caster.
+   * @return the triangles hierarchy that is used by the caster.
+   */
+  public TriangleBVH getHierarchy() {
+    return this.hierarchy;
+  }
+
+  /**
+   * Get if the triangles that are not facing the rays are ignored.
+   * @return <code>true</code> if the triangles that are not facing the rays are ignored and <code>false</code> otherwise.
+   */
+  public boolean isCullback() {
+    return this.cullback;
+  }
+
+  /**
+   * Set if the triangles that are not facing the rays are ignored. A triangle is facing a ray if its vertices are seen counterclockwise from the ray origin.
+   * @param cullback <code>true</code> if the triangles that are not facing the rays have to be ignored and <code>false</code> otherwise.
+   */
+  public void setCullback(boolean cullback) {
+    this.cullback = cullback;
+  }
+
+  /**
+   * Get the minimal distance of a hit from the ray origin.
+   * @return the minimal distance of a hit from the ray origin.
+   */
+  public double getMinimalDistance() {
+    return this.minimalDistance;
+  }
+
+  /**
+   * Set the minimal distance of a hit from the ray origin. A positive distance prevents the rays cast from a surface (ambient occlusion, shadows) to hit this surface.
+   * @param minimalDistance the minimal distance of a hit from the ray origin.
+   * @throws IllegalArgumentException if the distance is negative or not finite.
+   */
+  public void setMinimalDistance(double minimalDistance) {
+
+    if ((minimalDistance < 0.0d) || Double.isNaN(minimalDistance) || Double.isInfinite(minimalDistance)) {
+      throw new IllegalArgumentException("Invalid minimal distance "+minimalDistance+".");
+    }
+
+    this.minimalDistance = minimalDistance;
+  }
+
+  /**
+   * Get the number of rays within a packet.
+   * @return the number of rays within a packet.
+   */
+  public int getPacketSize() {
+    return this.packetSize;
+  }
+
+  /**
+   * Set the number of rays within a packet. Large packets are efficient for coherent rays while incoherent rays (random directions) are best cast
+   * within small packets, down to a single ray.
+   * @param packetSize the number of rays within a packet, between <code>1</code> and {@link TriangleBVH#PACKET_SIZE}.
+   * @throws IllegalArgumentException if the packet size is invalid.
+   */
+  public void setPacketSize(int packetSize) {
+
+    if ((packetSize < 1) || (packetSize > TriangleBVH.PACKET_SIZE)) {
+      throw new IllegalArgumentException("Invalid packet size "+packetSize+", expected a size within [1, "+TriangleBVH.PACKET_SIZE+"].");
+    }
+
+    this.packetSize = packetSize;
+  }
+
+  /**
+   * Compute the nearest intersection between the given ray and the triangles.
+   * @param ox the ray origin x coordinate.
+   * @param oy the ray origin y coordinate.
+   * @param oz the ray origin z coordinate.
+   * @param dx the ray direction x coordinate.
+   * @param dy the ray direction y coordinate.
+   * @param dz the ray direction z coordinate.
+   * @param maximum the maximal distance of a hit from the ray origin.
+   * @param hit the array that will contain the hit as <code>{t, u, v}</code>, where <code>t</code> is the hit distance and <code>(u, v)</code> its barycentric coordinates. Can be <code>null</code>.
+   * @return the index of the hit face or <code>-1</code> if the ray does not hit any triangle.
+   */
+  public int intersect(double ox, double oy, double oz, double dx, double dy, double dz, double maximum, double[] hit) {
+
+    double[] distances    = new double[] {maximum};
+    int[] faces           = new int[] {-1};
+    double[] barycentrics = new double[2];
+
+    this.hierarchy.intersect(new double[] {ox, oy, oz}, new double[] {dx, dy, dz}, 0, 1, this.minimalDistance, this.cullback, false,
+                             distances, faces, barycentrics, this.hierarchy.createStack(), new long[this.hierarchy.getDepth() + 1]);
+
+    if ((faces[0] >= 0) && (hit != null)) {
+      hit[0] = distances[0];
+      hit[1] = barycentrics[0];
+      hit[2] = barycentrics[1];
+    }
+
+    return faces[0];
+  }
+
+  /**
+   * Compute the nearest intersection between the triangles and the ray represented by the given direction and the given origin.
+   * This method is the counterpart of {@link Geom3D#computeIntersection(Triangle, Point3D, Point3D, boolean)} for all the triangles of the caster.
+   * @param dir the direction of the ray.
+   * @param orig the origin of the ray.
+   * @return the intersection point or <code>null</code> if no intersection is detected.
+   */
+  public Point3D computeIntersection(Point3D dir, Point3D orig) {
+
+    double[] hit = new double[3];
+
+    if (intersect(orig.getX(), orig.getY(), orig.getZ(), dir.getX(), dir.getY(), dir.getZ(), Double.POSITIVE_INFINITY, hit) < 0) {
+      return null;
+    }
+
+    return JeometryFactory.createPoint3D(orig.getX() + hit[0]*dir.getX(), orig.getY() + hit[0]*dir.getY(), orig.getZ() + hit[0]*dir.getZ());
+  }
+
+  /**
+   * Compute the nearest intersection between the given rays and the triangles using all the available processors.
+   * @param origins the rays origins, the origin of the ray <code>i</code> being stored from offset <code>3*i</code>.
+   * @param directions the rays directions, the direction of the ray <code>i</code> being stored from offset <code>3*i</code>.
+   * @param count the number of rays.
+   * @param maximum the maximal distance of a hit from the ray origin.
+   * @param distances the array that will contain the hit distance of each ray (at least <code>double[count]</code>).
+   * @param faces the array that will contain the hit face index of each ray (at least <code>int[count]</code>).
+   * @param barycentrics the array that will contain the barycentric coordinates of each hit from offset <code>2*i</code> (at least <code>double[2*count]</code>). Can be <code>null</code>.
+   * @return the number of rays that hit a triangle.
+   * @see #cast(double[], double[], int, double, double[], int[], double[], int)
+   */
+  public int cast(double[] origins, double[] directions, int count, double maximum, double[] distances, int[] faces, double[] barycentrics) {
+    return cast(origins, directions, count, maximum, distances, faces, barycentrics, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Compute the nearest intersection between the given rays and the triangles. For the ray <code>i</code> that hits a triangle,
+   * <code>distances[i]</code> is the hit distance, <code>faces[i]</code> the index of the hit face and <code>barycentrics[2*i]</code>, <code>barycentrics[2*i+1]</code>
+   * the barycentric coordinates of the hit point. For a ray that does not hit any triangle, the distance is {@link Double#POSITIVE_INFINITY},
+   * the face index is <code>-1</code> and the barycentric coordinates are {@link Double#NaN}.
+   * @param origins the rays origins, the origin of the ray <code>i</code> being stored from offset <code>3*i</code>.
+   * @param directions the rays directions, the direction of the ray <code>i</code> being stored from offset <code>3*i</code>.
+   * @param count the number of rays.
+   * @param maximum the maximal distance of a hit from the ray origin.
+   * @param distances the array that will contain the hit distance of each ray (at least <code>double[count]</code>).
+   * @param faces the array that will contain the hit face index of each ray (at least <code>int[count]</code>).
+   * @param barycentrics the array that will contain the barycentric coordinates of each hit from offset <code>2*i</code> (at least <code>double[2*count]</code>). Can be <code>null</code>.
+   * @param parallelism the maximal number of threads to use.
+   * @return the number of rays that hit a triangle.
+   * @throws IllegalArgumentException if an array is too small or if the parallelism is lesser than 1.
+   */
+  public int cast(double[] origins, double[] directions, int count, double maximum, double[] distances, int[] faces, double[] barycentrics, int parallelism) {
+
+    check(origins, directions, count, parallelism);
+
+    if ((distances == null) || (distances.length < count) || (faces == null) || (faces.length < count)) {
+      throw new IllegalArgumentException("Distances and faces arrays cannot store "+count+" hits.");
+    }
+
+    if ((barycentrics != null) && (barycentrics.length < 2*count)) {
+      throw new IllegalArgumentException("Barycentrics array cannot store "+count+" hits.");
+    }
+
+    int chunks = ParallelRange.chunks(count, MINIMAL_CHUNK_SIZE, parallelism);
+
+    int hits = 0;
+    for(Integer chunkHits : ParallelRange.map(count, chunks, (from, to) -> cast(origins, directions, from, to, maximum, distances, faces, barycentrics))) {
+      hits += chunkHits;
+    }
+
+    return hits;
+  }
+
+  /**
+   * Check which of the given rays are occluded using all the available processors.
+   * @param origins the rays origins, the origin of the ray <code>i</code> being stored from offset <code>3*i</code>.
+   * @param directions the rays directions, the direction of the ray <code>i</code> being stored from offset <code>3*i</code>.
+   * @param count the number of rays.
+   * @param maximum the maximal distance of a hit from the ray origin.
+   * @return a bitset whose bit <code>i</code> is set if the ray <code>i</code> hits a triangle.
+   * @see #occluded(double[], double[], int, double, int)
+   */
+  public BitSet occluded(double[] origins, double[] directions, int count, double maximum) {
+    return occluded(origins, directions, count, maximum, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Check which of the given rays are occluded, that is hit a triangle within the given distance. The traversal of a ray stops at its first hit,
+   * which is faster than searching its nearest hit. This method answers line of sight and shadow queries.
+   * @param origins the rays origins, the origin of the ray <code>i</code> being stored from offset <code>3*i</code>.
+   * @param directions the rays directions, the direction of the ray <code>i</code> being stored from offset <code>3*i</code>.
+   * @param count the number of rays.
+   * @param maximum the maximal distance of a hit from the ray origin.
+   * @param parallelism the maximal number of threads to use.
+   * @return a bitset whose bit <code>i</code> is set if the ray <code>i</code> hits a triangle.
+   * @throws IllegalArgumentException if an array is too small or if the parallelism is lesser than 1.
+   */
+  public BitSet occluded(double[] origins, double[] directions, int count, double maximum, int parallelism) {
+
+    check(origins, directions, count, parallelism);
+
+    int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+    long[] words = new long[blocks];
+
+    double[] distances = new double[count];
+
+    // The chunks are made of whole blocks, so that each chunk writes its own bitset words
+    ParallelRange.forEach(blocks, ParallelRange.chunks(count, MINIMAL_CHUNK_SIZE, parallelism), (from, to) -> occluded(origins, directions, count, from, to, maximum, distances, words));
+
+    return BitSet.valueOf(words);
+  }
+
+  /**
+   * Compute the nearest intersection of the given rays.
+   * @param origins the rays origins.
+   * @param directions the rays directions.
+   * @param from the first ray (included).
+   * @param to the last ray (excluded).
+   * @param maximum the maximal distance of a hit from the ray origin.
+   * @param distances the hit distances.
+   * @param faces the hit face indices.
+   * @param barycentrics the hit barycentric coordinates, can be <code>null</code>.
+   * @return the number of rays that hit a triangle.
+   */
+  private int cast(double[] origins, double[] directions, int from, int to, double maximum, double[] distances, int[] faces, double[] barycentrics) {
+
+    int[] stack  = this.hierarchy.createStack();
+    long[] masks = new long[stack.length];
+
+    int hits = 0;
+
+    for(int start = from; start < to; start += this.packetSize) {
+
+      int size = Math.min(this.packetSize, to - start);
+
+      for(int i = start; i < start + size; i++) {
+        distances[i] = maximum;
+        faces[i]     = -1;
+      }
+
+      long mask = this.hierarchy.intersect(origins, directions, start, size, this.minimalDistance, this.cullback, false,
+                                           distances, faces, barycentrics, stack, masks);
+
+      hits += Long.bitCount(mask);
+
+      // Missed rays
+      for(int i = start; i < start + size; i++) {
+        if (faces[i] < 0) {
+          distances[i] = Double.POSITIVE_INFINITY;
+          if (barycentrics != null) {
+            barycentrics[2*i]   = Double.NaN;
+            barycentrics[2*i+1] = Double.NaN;
+          }
+        }
+      }
+    }
+
+    return hits;
+  }
+
+  /**
+   * Check which rays of the given blocks are occluded.
+   * @param origins the rays origins.
+   * @param directions the rays directions.
+   * @param count the number of rays.
+   * @param from the first block (included).
+   * @param to the last block (excluded).
+   * @param maximum the maximal distance of a hit from the ray origin.
+   * @param distances the rays distances, used during the traversal.
+   * @param words the bitset words, the word <code>b</code> holding the occlusion of the block <code>b</code>.
+   */
+  private void occluded(double[] origins, double[] directions, int count, int from, int to, double maximum, double[] distances, long[] words) {
+
+    int[] stack  = this.hierarchy.createStack();
+    long[] masks = new long[stack.length];
+
+    for(int block = from; block < to; block++) {
+
+      int first = block * BLOCK_SIZE;
+      int end   = Math.min(first + BLOCK_SIZE, count);
+
+      long word = 0L;
+      for(int start = first; start < end; start += this.packetSize) {
+
+        int size = Math.min(this.packetSize, end - start);
+
+        for(int i = start; i < start + size; i++) {
+          distances[i] = maximum;
+        }
+
+        word |= this.hierarchy.intersect(origins, directions, start, size, this.minimalDistance, this.cullback, true,
+                                         distances, null, null, stack, masks) << (start - first);
+      }
+
+      words[block] = word;
+    }
+  }
+
+  /**
+   * Check the given rays arrays.
+   * @param origins the rays origins.
+   * @param directions the rays directions.
+   * @param count the number of rays.
+   * @param parallelism the maximal number of threads to use.
+   * @throws IllegalArgumentException if an array is too small or if the parallelism is lesser than 1.
+   */
+  private static void check(double[] origins, double[] directions, int count, int parallelism) {
+
+    if ((origins == null) || (directions == null) || (count < 0) || (origins.length < 3*count) || (directions.length < 3*count)) {
+      throw new IllegalArgumentException("Origins and directions arrays cannot store "+count+" rays.");
+    }
+
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+    }
+  }
+}
@@ -0,0 +1,917 @@
+package org.jeometry.geom3D.algorithm;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.Geom3D;
+import org.jeometry.geom3D.mesh.indexed.IndexedFace;
+import org.jeometry.geom3D.mesh.indexed.IndexedMesh;
+
+/**
+ * A <a href="https://en.wikipedia.org/wiki/Bounding_volume_hierarchy">bounding volume hierarchy</a> (BVH) over triangles, stored within primitive arrays.<br><br>
+ * The hierarchy is a binary tree of axis aligned boxes built top-down. A node is split along the axis of largest centroid spread using a binned
+ * <i>surface area heuristic</i> (SAH), which minimizes the expected cost of a ray traversal, and falls back to a median split when the heuristic
+ * cannot separate the triangles. The nodes are stored in depth first order: the left child of an interior node immediately follows it and only the index
+ * of the right child is stored. The triangles coordinates are copied in the leaves order within a single <code>double[9*F]</code> array,
+ * so that a leaf reads a contiguous memory area.<br><br>
+ * The faces of the hierarchy are identified by their index within the triangles array given at construction (the triangle <code>f</code> being made of
+ * the vertices <code>triangles[3*f]</code>, <code>triangles[3*f+1]</code> and <code>triangles[3*f+2]</code>).
+ * The hierarchy supports ray parity counting (see {@link #countCrossings(double, double, double, double, double, double, double, int[]) countCrossings}) and nearest or any hit queries
+ * for packets of rays (see {@link #intersect(double[], double[], int, int, double, boolean, boolean, double[], int[], double[], int[], long[]) intersect}).
+ * The hierarchy is immutable and can be queried concurrently, each thread using its own traversal stack (see {@link #createStack()}).
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class TriangleBVH {
+
+  /**
+   * The maximal number of triangles within a leaf.
+   */
+  public static final int LEAF_SIZE = 4;
+
+  /**
+   * The maximal number of rays within a packet (the size of a mask word).
+   */
+  public static final int PACKET_SIZE = 64;
+
+  /**
+   * The number of bins used by the surface area heuristic.
+   */
+  private static final int BINS = 16;
+
+  /**
+   * The cost of a node traversal relative to a triangle intersection.
+   */
+  private static final double TRAVERSAL_COST = 1.0d;
+
+  /**
+   * The number of triangles.
+   */
+  private int faceCount;
+
+  /**
+   * The triangles coordinates in leaves order, the triangle at rank <code>r</code> being stored from offset <code>9*r</code> as <code>{x1, y1, z1, x2, y2, z2, x3, y3, z3}</code>.
+   */
+  private double[] coordinates;
+
+  /**
+   * The face index of the triangle at each rank.
+   */
+  private int[] faces;
+
+  /**
+   * The bounds of each node, stored from offset <code>6*n</code> as <code>{xmin, ymin, zmin, xmax, ymax, zmax}</code>.
+   */
+  private double[] nodeBounds;
+
+  /**
+   * For a leaf, the rank of its first triangle. For an interior node, the index of its right child.
+   */
+  private int[] nodeOffsets;
+
+  /**
+   * For a leaf, its number of triangles. For an interior node, <code>0</code>.
+   */
+  private int[] nodeCounts;
+
+  /**
+   * The number of nodes.
+   */
+  private int nodeCount;
+
+  /**
+   * The depth of the hierarchy.
+   */
+  private int depth;
+
+  /**
+   * The triangles centroids, used during the construction.
+   */
+  private double[] centroids;
+
+  /**
+   * The triangles bounds, used during the construction.
+   */
+  private double[] bounds;
+
+  /**
+   * Create a new bounding volume hierarchy over the given triangles.
+   * @param vertices the vertices coordinates, the coordinates of the vertex <code>i</code> being stored from offset <code>3*i</code>.
+   * @param triangles the triangles vertex indices, the triangle <code>f</code> being stored from offset <code>3*f</code>.
+   * @param faceCount the number of triangles.
+   * @throws IllegalArgumentException if the triangles array is too small or references a vertex that is not within the vertices array.
+   */
+  public TriangleBVH(double[] vertices, int[] triangles, int faceCount) {
+
+    if ((vertices == null) || (triangles == null) || (faceCount < 0) || (triangles.length < 3*faceCount)) {
+      throw new IllegalArgumentException("Triangles array cannot store "+faceCount+" triangles.");
+    }
+
+    this.faceCount = faceCount;
+
+    // Triangles bounds and centroids
+    this.bounds    = new double[6*faceCount];
+    this.centroids = new double[3*faceCount];
+
+    for(int f = 0; f < faceCount; f++) {
+      for(int k = 0; k < 3; k++) {
+        int vertex = triangles[3*f+k];
+        if ((vertex < 0) || (3*vertex+2 >= vertices.length)) {
+          throw new IllegalArgumentException("Triangle "+f+" references the invalid vertex "+vertex+".");
+        }
+        for(int dimension = 0; dimension < 3; dimension++) {
+          double value = vertices[3*vertex+dimension];
+          if ((k == 0) || (value < this.bounds[6*f+dimension])) {
+            this.bounds[6*f+dimension] = value;
+          }
+          if ((k == 0) || (value > this.bounds[6*f+3+dimension])) {
+            this.bounds[6*f+3+dimension] = value;
+          }
+        }
+      }
+
+      for(int dimension = 0; dimension < 3; dimension++) {
+        this.centroids[3*f+dimension] = 0.5d * (this.bounds[6*f+dimension] + this.bounds[6*f+3+dimension]);
+      }
+    }
+
+    this.faces = new int[faceCount];
+    for(int f = 0; f < faceCount; f++) {
+      this.faces[f] = f;
+    }
+
+    int capacity = Math.max(1, 2*faceCount - 1);
+    this.nodeBounds  = new double[6*capacity];
+    this.nodeOffsets = new int[capacity];
+    this.nodeCounts  = new int[capacity];
+    this.nodeCount   = 0;
+    this.depth       = 0;
+
+    build(0, faceCount, 1);
+
+    // Copy the triangles coordinates in leaves order
+    this.coordinates = new double[9*faceCount];
+    for(int r = 0; r < faceCount; r++) {
+      int face = this.faces[r];
+      for(int k = 0; k < 3; k++) {
+        System.arraycopy(vertices, 3*triangles[3*face+k], this.coordinates, 9*r+3*k, 3);
+      }
+    }
+
+    this.bounds    = null;
+    this.centroids = null;
+  }
+
+  /**
+   * Create a new bounding volume hierarchy over the faces of the given mesh. The faces that have more than 3 vertices are triangulated as fans from their first vertex,
+   * so that a face of the hierarchy is a triangle of this triangulation. For triangle meshes, the faces of the hierarchy are the faces of the mesh.
+   * @param mesh the mesh.
+   * @return the bounding volume hierarchy over the mesh faces.
+   * @throws IllegalArgumentException if the mesh is <code>null</code> or has no vertices source.
+   */
+  public static TriangleBVH build(IndexedMesh<?> mesh) {
+
+    if ((mesh == null) || (mesh.getVerticesSource() == null)) {
+      throw new IllegalArgumentException("Mesh and its vertices source cannot be null.");
+    }
+
+    int[] triangles = triangulate(mesh);
+
+    return new TriangleBVH(Geom3D.toCoordinates(mesh.getVerticesSource()), triangles, triangles.length / 3);
+  }
+
+  /**
+   * Get the triangles of the given mesh. The faces that have more than 3 vertices are triangulated as fans from their first vertex.
+   * @param mesh the mesh.
+   * @return the triangles vertex indices, the triangle <code>f</code> being stored from offset <code>3*f</code>.
+   */
+  static int[] triangulate(IndexedMesh<?> mesh) {
+
+    if (mesh instanceof HalfEdgeMesh) {
+      int[] triangles = ((HalfEdgeMesh<?>) mesh).getTriangles();
+      int count       = ((HalfEdgeMesh<?>) mesh).getFaceCount();
+      return (triangles.length == 3*count) ? triangles : Arrays.copyOf(triangles, 3*count);
+    }
+
+    List<? extends IndexedFace<?>> faces = mesh.getFacesIndexes();
+
+    int count = 0;
+    if (faces != null) {
+      for(IndexedFace<?> face : faces) {
+        if ((face.getVerticesIndexes() != null) && (face.getVerticesIndexes().length > 2)) {
+          count += face.getVerticesIndexes().length - 2;
+        }
+      }
+    }
+
+    int[] triangles = new int[3*count];
+
+    int offset = 0;
+    if (faces != null) {
+      for(IndexedFace<?> face : faces) {
+        int[] indices = face.getVerticesIndexes();
+        if ((indices != null) && (indices.length > 2)) {
+          for(int i = 1; i < indices.length - 1; i++) {
+            triangles[offset++] = indices[0];
+            triangles[offset++] = indices[i];
+            triangles[offset++] = indices[i+1];
+          }
+        }
+      }
+    }
+
+    return triangles;
+  }
+
+  /**
+   * Get the number of triangles.
+   * @return the number of triangles.
+   */
+  public int getFaceCount() {
+    return this.faceCount;
+  }
+
+  /**
+   * Get the number of nodes.
+   * @return the number of nodes.
+   */
+  public int getNodeCount() {
+    return this.nodeCount;
+  }
+
+  /**
+   * Get the depth of the hierarchy, that is the number of nodes of its longest branch.
+   * @return the depth of the hierarchy.
+   */
+  public int getDepth() {
+    return this.depth;
+  }
+
+  /**
+   * Get the bounds of the triangles, as <code>{xmin, ymin, zmin, xmax, ymax, zmax}</code>.
+   * @param bounds the array that will contain the bounds (at least <code>double[6]</code>), can be <code>null</code>.
+   * @return the bounds of the triangles or <code>null</code> if there is no triangle.
+   */
+  public double[] getBounds(double[] bounds) {
+
+    if (this.faceCount == 0) {
+      return null;
+    }
+
+    double[] result = (bounds != null) ? bounds : new double[6];
+    System.arraycopy(this.nodeBounds, 0, result, 0, 6);
+    return result;
+  }
+
+  /**
+   * Get the bounds of the nodes. The returned array is the internal one and should not be modified.
+   * @return the bounds of the nodes, the bounds of the node <code>n</code> being stored from offset <code>6*n</code> as <code>{xmin, ymin, zmin, xmax, ymax, zmax}</code>.
+   */
+  public double[] getNodeBounds() {
+    return this.nodeBounds;
+  }
+
+  /**
+   * Get the offsets of the nodes. The returned array is the internal one and should not be modified.
+   * The left child of an interior node <code>n</code> is the node <code>n+1</code>.
+   * @return for a leaf, the rank of its first triangle and for an interior node, the index of its right child.
+   */
+  public int[] getNodeOffsets() {
+    return this.nodeOffsets;
+  }
+
+  /**
+   * Get the number of triangles of the nodes. The returned array is the internal one and should not be modified.
+   * @return for a leaf, its number of triangles and for an interior node, <code>0</code>.
+   */
+  public int[] getNodeCounts() {
+    return this.nodeCounts;
+  }
+
+  /**
+   * Get the triangles coordinates in leaves order. The returned array is the internal one and should not be modified.
+   * @return the triangles coordinates, the triangle at rank <code>r</code> being stored from offset <code>9*r</code> as <code>{x1, y1, z1, x2, y2, z2, x3, y3, z3}</code>.
+   */
+  public double[] getCoordinates() {
+    return this.coordinates;
+  }
+
+  /**
+   * Get the face index of the triangles in leaves order. The returned array is the internal one and should not be modified.
+   * @return the face index of the triangle at each rank.
+   */
+  public int[] getFaces() {
+    return this.faces;
+  }
+
+  /**
+   * Create a traversal stack that is large enough for this hierarchy. A stack can be reused by successive queries of a same thread.
+   * @return a traversal stack.
+   */
+  public int[] createStack() {
+    return new int[this.depth + 1];
+  }
+
+  /**
+   * Count the triangles crossed by the given ray. The count is only reliable if the ray does not pass through an edge or a vertex of a triangle,
+   * this case is reported as ambiguous so that the caller can cast another ray. A ray whose origin lies on a triangle is reported as touching the surface.
+   * @param ox the ray origin x coordinate.
+   * @param oy the ray origin y coordinate.
+   * @param oz the ray origin z coordinate.
+   * @param dx the ray direction x coordinate (the direction has to be a unit vector).
+   * @param dy the ray direction y coordinate.
+   * @param dz the ray direction z coordinate.
+   * @param tolerance the relative tolerance used to detect edge, vertex and surface hits.
+   * @param stack the traversal stack (see {@link #createStack()}).
+   * @return the number of crossed triangles, {@link Integer#MIN_VALUE} if the origin lies on a triangle or <code>-1</code> if the ray is ambiguous.
+   */
+  public int countCrossings(double ox, double oy, double oz, double dx, double dy, double dz, double tolerance, int[] stack) {
+
+    if (this.faceCount == 0) {
+      return 0;
+    }
+
+    double ix = 1.0d / dx;
+    double iy = 1.0d / dy;
+    double iz = 1.0d / dz;
+
+    int crossings = 0;
+
+    int top = 0;
+    stack[top++] = 0;
+
+    while (top > 0) {
+
+      int node = stack[--top];
+
+      if (!intersects(node, ox, oy, oz, ix, iy, iz, Double.POSITIVE_INFINITY)) {
+        continue;
+      }
+
+      if (this.nodeCounts[node] > 0) {
+
+        int end = this.nodeOffsets[node] + this.nodeCounts[node];
+        for(int r = this.nodeOffsets[node]; r < end; r++) {
+
+          int offset = 9*r;
+
+          double e1x = this.coordinates[offset+3] - this.coordinates[offset];
+          double e1y = this.coordinates[offset+4] - this.coordinates[offset+1];
+          double e1z = this.coordinates[offset+5] - this.coordinates[offset+2];
+
+          double e2x = this.coordinates[offset+6] - this.coordinates[offset];
+          double e2y = this.coordinates[offset+7] - this.coordinates[offset+1];
+          double e2z = this.coordinates[offset+8] - this.coordinates[offset+2];
+
+          // Moller - Trumbore intersection
+          double px = dy*e2z - dz*e2y;
+          double py = dz*e2x - dx*e2z;
+          double pz = dx*e2y - dy*e2x;
+
+          double det = e1x*px + e1y*py + e1z*pz;
+
+          double sx = ox - this.coordinates[offset];
+          double sy = oy - this.coordinates[offset+1];
+          double sz = oz - this.coordinates[offset+2];
+
+          // Normal of the triangle (not normalized) and signed distance of the origin to its plane
+          double nx = e1y*e2z - e1z*e2y;
+          double ny = e1z*e2x - e1x*e2z;
+          double nz = e1x*e2y - e1y*e2x;
+          double area = Math.sqrt(nx*nx + ny*ny + nz*nz);
+
+          if (area == 0.0d) {
+            continue;
+          }
+
+          double distance = (sx*nx + sy*ny + sz*nz) / area;
+          double scale    = Math.sqrt(Math.max(e1x*e1x + e1y*e1y + e1z*e1z, e2x*e2x + e2y*e2y + e2z*e2z));
+
+          if (Math.abs(det) <= tolerance * area) {
+            // The ray is parallel to the triangle plane, an in-plane ray would cross the neighbor triangles through an edge
+            if (Math.abs(distance) <= tolerance * scale) {
+              if (onTriangle(sx, sy, sz, e1x, e1y, e1z, e2x, e2y, e2z, nx, ny, nz, tolerance)) {
+                return Integer.MIN_VALUE;
+              }
+              return -1;
+            }
+            continue;
+          }
+
+          double inverse = 1.0d / det;
+
+          double u = (sx*px + sy*py + sz*pz) * inverse;
+          if ((u < -tolerance) || (u > 1.0d + tolerance)) {
+            continue;
+          }
+
+          double qx = sy*e1z - sz*e1y;
+          double qy = sz*e1x - sx*e1z;
+          double qz = sx*e1y - sy*e1x;
+
+          double v = (dx*qx + dy*qy + dz*qz) * inverse;
+          if ((v < -tolerance) || (u + v > 1.0d + tolerance)) {
+            continue;
+          }
+
+          double t = (e2x*qx + e2y*qy + e2z*qz) * inverse;
+
+          if (Math.abs(distance) <= tolerance * scale) {
+            // The origin lies within the triangle plane
+            if ((u >= -tolerance) && (v >= -tolerance) && (u + v <= 1.0d + tolerance)) {
+              return Integer.MIN_VALUE;
+            }
+            continue;
+          }
+
+          if (t <= 0.0d) {
+            continue;
+          }
+
+          if ((u <= tolerance) || (v <= tolerance) || (u + v >= 1.0d - tolerance)) {
+            return -1;
+          }
+
+          crossings++;
+        }
+
+      } else {
+        stack[top++] = this.nodeOffsets[node];
+        stack[top++] = node + 1;
+      }
+    }
+
+    return crossings;
+  }
+
+  /**
+   * Intersect a packet of rays with the triangles. The packet traverses the hierarchy as a whole: a node is visited once for all the rays that intersect its bounds
+   * and the edges of a leaf triangle are computed once for all these rays, which is efficient when the rays are coherent (close origins and directions).
+   * The children of a node are visited from the nearest to the farthest along the direction of the first active ray, so that the farthest one is likely culled.<br><br>
+   * A ray <code>i</code> is given by its origin <code>O<sub>i</sub></code> and its direction <code>D<sub>i</sub></code>, its points being <code>O<sub>i</sub> + t*D<sub>i</sub></code>.
+   * The direction does not have to be a unit vector, the ray parameters are then expressed in direction lengths. A hit is kept if its parameter <code>t</code>
+   * is greater than the given minimum and lesser than the current distance of the ray, which is then updated. The hit point is
+   * <code>(1 - u - v)V<sub>1</sub> + u*V<sub>2</sub> + v*V<sub>3</sub></code> where <code>(u, v)</code> are its barycentric coordinates.
+   * @param origins the rays origins, the origin of the ray <code>i</code> being stored from offset <code>3*i</code>.
+   * @param directions the rays directions, the direction of the ray <code>i</code> being stored from offset <code>3*i</code>.
+   * @param start the index of the first ray of the packet.
+   * @param size the number of rays within the packet, between <code>1</code> and {@link #PACKET_SIZE}.
+   * @param minimum the minimal parameter of a hit.
+   * @param cullback if <code>true</code>, the triangles whose front face (counterclockwise vertices seen from the ray origin) is not facing the ray are ignored.
+   * @param any if <code>true</code>, a ray stops at its first hit, which is not the nearest one (occlusion query), otherwise the nearest hit is searched.
+   * @param distances the rays distances. For the ray <code>i</code>, <code>distances[i]</code> has to contain its maximal parameter and contains the parameter of its hit on return.
+   * @param faces the face index of the ray hits. For the ray <code>i</code>, <code>faces[i]</code> is set only if the ray hits a triangle. Can be <code>null</code>.
+   * @param barycentrics the barycentric coordinates of the ray hits, stored from offset <code>2*i</code> as <code>{u, v}</code> and only set if the ray hits a triangle. Can be <code>null</code>.
+   * @param stack the traversal stack (see {@link #createStack()}).
+   * @param masks the rays masks stack, that has at least the same length as the traversal stack.
+   * @return a mask whose bit <code>k</code> is set if the ray <code>start + k</code> hits a triangle.
+   * @throws IllegalArgumentException if the packet size is invalid.
+   */
+  public long intersect(double[] origins, double[] directions, int start, int size, double minimum, boolean cullback, boolean any,
+                        double[] distances, int[] faces, double[] barycentrics, int[] stack, long[] masks) {
+
+    if ((size < 1) || (size > PACKET_SIZE)) {
+      throw new IllegalArgumentException("Invalid packet size "+size+", expected a size within [1, "+PACKET_SIZE+"].");
+    }
+
+    if (this.faceCount == 0) {
+      return 0L;
+    }
+
+    double[] inverses = new double[3*size];
+    for(int k = 0; k < 3*size; k++) {
+      inverses[k] = 1.0d / directions[3*start+k];
+    }
+
+    long hits = 0L;
+    long done = 0L;
+
+    int top = 0;
+    stack[top] = 0;
+    masks[top] = (size == PACKET_SIZE) ? -1L : (1L << size) - 1L;
+    top++;
+
+    while (top > 0) {
+
+      top--;
+      int node  = stack[top];
+      long mask = masks[top] & ~done;
+
+      // Rays of the packet that intersect the node bounds
+      long active = 0L;
+      for(long m = mask; m != 0L; m &= m - 1L) {
+        int k   = Long.numberOfTrailingZeros(m);
+        int ray = 3*(start + k);
+        if (intersects(node, origins[ray], origins[ray+1], origins[ray+2], inverses[3*k], inverses[3*k+1], inverses[3*k+2], distances[start + k])) {
+          active |= 1L << k;
+        }
+      }
+
+      if (active == 0L) {
+        continue;
+      }
+
+      if (this.nodeCounts[node] > 0) {
+
+        int end = this.nodeOffsets[node] + this.nodeCounts[node];
+        for(int r = this.nodeOffsets[node]; (r < end) && ((active & ~done) != 0L); r++) {
+
+          int offset = 9*r;
+
+          double e1x = this.coordinates[offset+3] - this.coordinates[offset];
+          double e1y = this.coordinates[offset+4] - this.coordinates[offset+1];
+          double e1z = this.coordinates[offset+5] - this.coordinates[offset+2];
+
+          double e2x = this.coordinates[offset+6] - this.coordinates[offset];
+          double e2y = this.coordinates[offset+7] - this.coordinates[offset+1];
+          double e2z = this.coordinates[offset+8] - this.coordinates[offset+2];
+
+          for(long m = active & ~done; m != 0L; m &= m - 1L) {
+
+            int k   = Long.numberOfTrailingZeros(m);
+            int ray = start + k;
+
+            double dx = directions[3*ray];
+            double dy = directions[3*ray+1];
+            double dz = directions[3*ray+2];
+
+            // Moller - Trumbore intersection
+            double px = dy*e2z - dz*e2y;
+            double py = dz*e2x - dx*e2z;
+            double pz = dx*e2y - dy*e2x;
+
+            double det = e1x*px + e1y*py + e1z*pz;
+
+            if (cullback ? !(det > 0.0d) : (det == 0.0d)) {
+              continue;
+            }
+
+            double inverse = 1.0d / det;
+
+            double sx = origins[3*ray]   - this.coordinates[offset];
+            double sy = origins[3*ray+1] - this.coordinates[offset+1];
+            double sz = origins[3*ray+2] - this.coordinates[offset+2];
+
+            double u = (sx*px + sy*py + sz*pz) * inverse;
+            if ((u < 0.0d) || (u > 1.0d)) {
+              continue;
+            }
+
+            double qx = sy*e1z - sz*e1y;
+            double qy = sz*e1x - sx*e1z;
+            double qz = sx*e1y - sy*e1x;
+
+            double v = (dx*qx + dy*qy + dz*qz) * inverse;
+            if ((v < 0.0d) || (u + v > 1.0d)) {
+              continue;
+            }
+
+            double t = (e2x*qx + e2y*qy + e2z*qz) * inverse;
+
+            if ((t > minimum) && (t < distances[ray])) {
+
+              distances[ray] = t;
+
+              if (faces != null) {
+                faces[ray] = this.faces[r];
+              }
+
+              if (barycentrics != null) {
+                barycentrics[2*ray]   = u;
+                barycentrics[2*ray+1] = v;
+              }
+
+              hits |= 1L << k;
+
+              if (any) {
+                done |= 1L << k;
+              }
+            }
+          }
+        }
+
+      } else {
+
+        int left  = node + 1;
+        int right = this.nodeOffsets[node];
+
+        // Order the children along the direction of the first active ray
+        int ray = 3*(start + Long.numberOfTrailingZeros(active));
+        double leftCenter  = 0.0d;
+        double rightCenter = 0.0d;
+        for(int dimension = 0; dimension < 3; dimension++) {
+          leftCenter  += (this.nodeBounds[6*left+dimension]  + this.nodeBounds[6*left+3+dimension])  * directions[ray+dimension];
+          rightCenter += (this.nodeBounds[6*right+dimension] + this.nodeBounds[6*right+3+dimension]) * directions[ray+dimension];
+        }
+
+        int near = (leftCenter <= rightCenter) ? left : right;
+        int far  = (near == left) ? right : left;
+
+        stack[top] = far;
+        masks[top] = active;
+        top++;
+
+        stack[top] = near;
+        masks[top] = active;
+        top++;
+      }
+    }
+
+    return hits;
+  }
+
+  /**
+   * Check if the given point lies within the given triangle, the point being expressed relatively to the first vertex of the triangle and being assumed within its plane.
+   * @param sx the point x coordinate relative to the first vertex.
+   * @param sy the point y coordinate relative to the first vertex.
+   * @param sz the point z coordinate relative to the first vertex.
+   * @param e1x the first edge x coordinate.
+   * @param e1y the first edge y coordinate.
+   * @param e1z the first edge z coordinate.
+   * @param e2x the second edge x coordinate.
+   * @param e2y the second edge y coordinate.
+   * @param e2z the second edge z coordinate.
+   * @param nx the triangle normal x coordinate.
+   * @param ny the triangle normal y coordinate.
+   * @param nz the triangle normal z coordinate.
+   * @param tolerance the relative tolerance on the barycentric coordinates.
+   * @return <code>true</code> if the point lies within the triangle and <code>false</code> otherwise.
+   */
+  private static boolean onTriangle(double sx, double sy, double sz, double e1x, double e1y, double e1z, double e2x, double e2y, double e2z,
+                                    double nx, double ny, double nz, double tolerance) {
+
+    double n2 = nx*nx + ny*ny + nz*nz;
+
+    // Barycentric coordinates from the sub triangles areas
+    double u = ((sy*e2z - sz*e2y)*nx + (sz*e2x - sx*e2z)*ny + (sx*e2y - sy*e2x)*nz) / n2;
+    double v = ((e1y*sz - e1z*sy)*nx + (e1z*sx - e1x*sz)*ny + (e1x*sy - e1y*sx)*nz) / n2;
+
+    return (u >= -tolerance) && (v >= -tolerance) && (u + v <= 1.0d + tolerance);
+  }
+
+  /**
+   * Check if the given ray intersects the bounds of the given node before the given distance (slab test).
+   * @param node the node.
+   * @param ox the ray origin x coordinate.
+   * @param oy the ray origin y coordinate.
+   * @param oz the ray origin z coordinate.
+   * @param ix the inverse of the ray direction x coordinate.
+   * @param iy the inverse of the ray direction y coordinate.
+   * @param iz the inverse of the ray direction z coordinate.
+   * @param maximum the maximal ray parameter.
+   * @return <code>true</code> if the ray intersects the node bounds and <code>false</code> otherwise.
+   */
+  private boolean intersects(int node, double ox, double oy, double oz, double ix, double iy, double iz, double maximum) {
+
+    int offset = 6*node;
+
+    double t1 = (this.nodeBounds[offset]   - ox) * ix;
+    double t2 = (this.nodeBounds[offset+3] - ox) * ix;
+    double near = Math.min(t1, t2);
+    double far  = Math.max(t1, t2);
+
+    t1 = (this.nodeBounds[offset+1] - oy) * iy;
+    t2 = (this.nodeBounds[offset+4] - oy) * iy;
+    near = Math.max(near, Math.min(t1, t2));
+    far  = Math.min(far,  Math.max(t1, t2));
+
+    t1 = (this.nodeBounds[offset+2] - oz) * iz;
+    t2 = (this.nodeBounds[offset+5] - oz) * iz;
+    near = Math.max(near, Math.min(t1, t2));
+    far  = Math.min(far,  Math.max(t1, t2));
+
+    // NaN comparisons (origin on a slab with a null direction component) are resolved as intersecting
+    return !(near > far) && !(far < 0.0d) && !(near > maximum);
+  }
+
+  /**
+   * Build the node that contains the triangles within the given ranks.
+   * @param start the first rank (included).
+   * @param end the last rank (excluded).
+   * @param level the level of the node (<code>1</code> for the root).
+   * @return the index of the built node.
+   */
+  private int build(int start, int end, int level) {
+
+    int node = this.nodeCount++;
+
+    this.depth = Math.max(this.depth, level);
+
+    // Node bounds and centroid bounds
+    double[] centroidBounds = new double[] {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                                            Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+    int offset = 6*node;
+    for(int dimension = 0; dimension < 3; dimension++) {
+      this.nodeBounds[offset+dimension]   = Double.POSITIVE_INFINITY;
+      this.nodeBounds[offset+3+dimension] = Double.NEGATIVE_INFINITY;
+    }
+
+    for(int r = start; r < end; r++) {
+      int face = this.faces[r];
+      for(int dimension = 0; dimension < 3; dimension++) {
+        this.nodeBounds[offset+dimension]   = Math.min(this.nodeBounds[offset+dimension],   this.bounds[6*face+dimension]);
+        this.nodeBounds[offset+3+dimension] = Math.max(this.nodeBounds[offset+3+dimension], this.bounds[6*face+3+dimension]);
+        centroidBounds[dimension]   = Math.min(centroidBounds[dimension],   this.centroids[3*face+dimension]);
+        centroidBounds[dimension+3] = Math.max(centroidBounds[dimension+3], this.centroids[3*face+dimension]);
+      }
+    }
+
+    int count = end - start;
+
+    int axis = 0;
+    for(int dimension = 1; dimension < 3; dimension++) {
+      if (centroidBounds[dimension+3] - centroidBounds[dimension] > centroidBounds[axis+3] - centroidBounds[axis]) {
+        axis = dimension;
+      }
+    }
+
+    double extent = centroidBounds[axis+3] - centroidBounds[axis];
+
+    if ((count <= LEAF_SIZE) || !(extent > 0.0d)) {
+      this.nodeOffsets[node] = start;
+      this.nodeCounts[node]  = count;
+      return node;
+    }
+
+    int middle = split(start, end, axis, centroidBounds[axis], extent, area(offset));
+
+    this.nodeCounts[node] = 0;
+    build(start, middle, level + 1);
+    this.nodeOffsets[node] = build(middle, end, level + 1);
+
+    return node;
+  }
+
+  /**
+   * Partition the triangles within the given ranks using the binned surface area heuristic along the given axis.
+   * @param start the first rank (included).
+   * @param end the last rank (excluded).
+   * @param axis the split axis.
+   * @param minimum the minimal centroid coordinate along the axis.
+   * @param extent the centroids extent along the axis.
+   * @param area the surface area of the node bounds.
+   * @return the first rank of the right part.
+   */
+  private int split(int start, int end, int axis, double minimum, double extent, double area) {
+
+    int[] binCounts    = new int[BINS];
+    double[] binBounds = new double[6*BINS];
+    for(int b = 0; b < BINS; b++) {
+      for(int dimension = 0; dimension < 3; dimension++) {
+        binBounds[6*b+dimension]   = Double.POSITIVE_INFINITY;
+        binBounds[6*b+3+dimension] = Double.NEGATIVE_INFINITY;
+      }
+    }
+
+    double scale = BINS / extent;
+
+    for(int r = start; r < end; r++) {
+      int face = this.faces[r];
+      int b    = Math.min(BINS - 1, (int)((this.centroids[3*face+axis] - minimum) * scale));
+      binCounts[b]++;
+      for(int dimension = 0; dimension < 3; dimension++) {
+        binBounds[6*b+dimension]   = Math.min(binBounds[6*b+dimension],   this.bounds[6*face+dimension]);
+        binBounds[6*b+3+dimension] = Math.max(binBounds[6*b+3+dimension], this.bounds[6*face+3+dimension]);
+      }
+    }
+
+    // Sweep the bins from the right to get the cost of the right parts
+    double[] rightCosts = new double[BINS];
+    double[] sweep = new double[] {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                                   Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+    int rightCount = 0;
+    for(int b = BINS - 1; b > 0; b--) {
+      rightCount += binCounts[b];
+      grow(sweep, binBounds, 6*b);
+      rightCosts[b] = (rightCount > 0) ? rightCount * area(sweep, 0) : 0.0d;
+    }
+
+    // Sweep the bins from the left and keep the cheapest split
+    sweep = new double[] {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                          Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+    int leftCount = 0;
+    int best = -1;
+    double bestCost = Double.POSITIVE_INFINITY;
+    for(int b = 0; b < BINS - 1; b++) {
+      leftCount += binCounts[b];
+      grow(sweep, binBounds, 6*b);
+      if ((leftCount > 0) && (leftCount < end - start)) {
+        double cost = TRAVERSAL_COST + (leftCount * area(sweep, 0) + rightCosts[b+1]) / area;
+        if (cost < bestCost) {
+          bestCost = cost;
+          best     = b;
+        }
+      }
+    }
+
+    // Partition the ranks according to the best bin
+    int middle = start;
+    if (best >= 0) {
+      int last = end - 1;
+      while (middle <= last) {
+        int face = this.faces[middle];
+        int b    = Math.min(BINS - 1, (int)((this.centroids[3*face+axis] - minimum) * scale));
+        if (b <= best) {
+          middle++;
+        } else {
+          this.faces[middle] = this.faces[last];
+          this.faces[last]   = face;
+          last--;
+        }
+      }
+    }
+
+    // The heuristic cannot separate the triangles, split them at the median
+    if ((middle == start) || (middle == end)) {
+      middle = (start + end) >>> 1;
+      select(start, end - 1, middle, axis);
+    }
+
+    return middle;
+  }
+
+  /**
+   * Reorder the triangles within the given ranks so that the triangle at rank <code>k</code> is the one that would be there if the ranks were sorted by centroid
+   * along the given axis (quick select).
+   * @param left the first rank (included).
+   * @param right the last rank (included).
+   * @param k the rank to select.
+   * @param axis the axis.
+   */
+  private void select(int left, int right, int k, int axis) {
+
+    while (right > left) {
+
+      double pivot = this.centroids[3*this.faces[(left + right) >>> 1]+axis];
+
+      int i = left;
+      int j = right;
+      while (i <= j) {
+        while (this.centroids[3*this.faces[i]+axis] < pivot) {
+          i++;
+        }
+        while (this.centroids[3*this.faces[j]+axis] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          int swap = this.faces[i];
+          this.faces[i] = this.faces[j];
+          this.faces[j] = swap;
+          i++;
+          j--;
+        }
+      }
+
+      if (k <= j) {
+        right = j;
+      } else if (k >= i) {
+        left = i;
+      } else {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Grow the given bounds in order to include the other given bounds.
+   * @param bounds the bounds to grow.
+   * @param others the bounds to include.
+   * @param offset the offset of the bounds to include.
+   */
+  private static void grow(double[] bounds, double[] others, int offset) {
+    for(int dimension = 0; dimension < 3; dimension++) {
+      bounds[dimension]   = Math.min(bounds[dimension],   others[offset+dimension]);
+      bounds[dimension+3] = Math.max(bounds[dimension+3], others[offset+3+dimension]);
+    }
+  }
+
+  /**
+   * Compute the surface area of the bounds of the given node.
+   * @param offset the offset of the node bounds.
+   * @return the surface area of the node bounds.
+   */
+  private double area(int offset) {
+    return area(this.nodeBounds, offset);
+  }
+
+  /**
+   * Compute the surface area of the given bounds.
+   * @param bounds the bounds.
+   * @param offset the offset of the bounds.
+   * @return the surface area of the bounds or <code>0</code> if the bounds are empty.
+   */
+  private static double area(double[] bounds, int offset) {
+
+    double x = bounds[offset+3] - bounds[offset];
+    double y = bounds[offset+4] - bounds[offset+1];
+    double z = bounds[offset+5] - bounds[offset+2];
+
+    if ((x < 0.0d) || (y < 0.0d) || (z < 0.0d)) {
+      return 0.0d;
+    }
+
+    return 2.0d * (x*y + y*z + z*x);
+  }
+}
@@ -0,0 +1,285 @@
+package org.jeometry.geom3D.algorithm;
+
+import org.jeometry.Jeometry;
+
+/**
+ * A regular grid of cubic cells (voxels) whose occupancy is packed within a bitset.<br><br>
+ * The cell <code>(x, y, z)</code> covers the box <code>[ox + x*s, ox + (x+1)*s] &times; [oy + y*s, oy + (y+1)*s] &times; [oz + z*s, oz + (z+1)*s]</code>
+ * where <code>(ox, oy, oz)</code> is the grid origin and <code>s</code> the cell size. The occupancy is stored by rows along the x axis:
+ * the row <code>(y, z)</code> is made of {@link #getRowWordCount()} consecutive <code>long</code> words starting at {@link #getRowOffset(int, int)},
+ * the cell <code>x</code> being the bit <code>x % 64</code> of the word <code>x / 64</code>. A grid of 1024<sup>3</sup> cells uses 128 MB.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ * @see MeshVoxelizer
+ */
+public class VoxelGrid {
+
+  /**
+   * The number of cells along the x axis.
+   */
+  private int sizeX;
+
+  /**
+   * The number of cells along the y axis.
+   */
+  private int sizeY;
+
+  /**
+   * The number of cells along the z axis.
+   */
+  private int sizeZ;
+
+  /**
+   * The number of words of a row.
+   */
+  private int rowWords;
+
+  /**
+   * The x coordinate of the grid origin.
+   */
+  private double originX;
+
+  /**
+   * The y coordinate of the grid origin.
+   */
+  private double originY;
+
+  /**
+   * The z coordinate of the grid origin.
+   */
+  private double originZ;
+
+  /**
+   * The size of a cell.
+   */
+  private double cellSize;
+
+  /**
+   * The occupancy words.
+   */
+  private long[] words;
+
+  /**
+   * Create a new empty voxel grid.
+   * @param sizeX the number of cells along the x axis.
+   * @param sizeY the number of cells along the y axis.
+   * @param sizeZ the number of cells along the z axis.
+   * @param originX the x coordinate of the grid origin (the minimal corner of the cell <code>(0, 0, 0)</code>).
+   * @param originY the y coordinate of the grid origin.
+   * @param originZ the z coordinate of the grid origin.
+   * @param cellSize the size of a cell.
+   * @throws IllegalArgumentException if a size is not positive, if the cell size is not positive or if the grid is too large to be stored within an array.
+   */
+  public VoxelGrid(int sizeX, int sizeY, int sizeZ, double originX, double originY, double originZ, double cellSize) {
+
+    if ((sizeX < 1) || (sizeY < 1) || (sizeZ < 1)) {
+      throw new IllegalArgumentException("Invalid grid size "+sizeX+"x"+sizeY+"x"+sizeZ+".");
+    }
+
+    if (!(cellSize > 0.0d) || Double.isInfinite(cellSize)) {
+      throw new IllegalArgumentException("Invalid cell size "+cellSize+".");
+    }
+
+    this.rowWords = (sizeX + 63) >>> 6;
+
+    long length = (long) this.rowWords * sizeY * sizeZ;
+    if (length > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Grid "+sizeX+"x"+sizeY+"x"+sizeZ+" is too large.");
+    }
+
+    this.sizeX    = sizeX;
+    this.sizeY    = sizeY;
+    this.sizeZ    = sizeZ;
+    this.originX  = originX;
+    this.originY  = originY;
+    this.originZ  = originZ;
+    this.cellSize = cellSize;
+    this.words    = new long[(int) length];
+  }
+
+  /**
+   * Get the number of cells along the x axis.
+   * @return the number of cells along the x axis.
+   */
+  public int getSizeX() {
+    return this.sizeX;
+  }
+
+  /**
+   * Get the number of cells along the y axis.
+   * @return the number of cells along the y axis.
+   */
+  public int getSizeY() {
+    return this.sizeY;
+  }
+
+  /**
+   * Get the number of cells along the z axis.
+   * @return the number of cells along the z axis.
+   */
+  public int getSizeZ() {
+    return this.sizeZ;
+  }
+
+  /**
+   * Get the x coordinate of the grid origin.
+   * @return the x coordinate of the grid origin.
+   */
+  public double getOriginX() {
+    return this.originX;
+  }
+
+  /**
+   * Get the y coordinate of the grid origin.
+   * @return the y coordinate of the grid origin.
+   */
+  public double getOriginY() {
+    return this.originY;
+  }
+
+  /**
+   * Get the z coordinate of the grid origin.
+   * @return the z coordinate of the grid origin.
+   */
+  public double getOriginZ() {
+    return this.originZ;
+  }
+
+  /**
+   * Get the size of a cell.
+   * @return the size of a cell.
+   */
+  public double getCellSize() {
+    return this.cellSize;
+  }
+
+  /**
+   * Get the number of words of a row.
+   * @return the number of words of a row.
+   */
+  public int getRowWordCount() {
+    return this.rowWords;
+  }
+
+  /**
+   * Get the offset of the first word of the given row.
+   * @param y the row y index.
+   * @param z the row z index.
+   * @return the offset of the first word of the row within the {@link #getWords() words}.
+   */
+  public int getRowOffset(int y, int z) {
+    return (z * this.sizeY + y) * this.rowWords;
+  }
+
+  /**
+   * Get the occupancy words. The returned array is the internal one, its modifications are reflected within the grid.
+   * The bits that are beyond the last cell of a row have to remain cleared.
+   * @return the occupancy words.
+   */
+  public long[] getWords() {
+    return this.words;
+  }
+
+  /**
+   * Check if the given cell is occupied.
+   * @param x the cell x index.
+   * @param y the cell y index.
+   * @param z the cell z index.
+   * @return <code>true</code> if the cell is occupied and <code>false</code> otherwise or if the cell is outside of the grid.
+   */
+  public boolean get(int x, int y, int z) {
+
+    if ((x < 0) || (x >= this.sizeX) || (y < 0) || (y >= this.sizeY) || (z < 0) || (z >= this.sizeZ)) {
+      return false;
+    }
+
+    return (this.words[getRowOffset(y, z) + (x >>> 6)] & (1L << x)) != 0L;
+  }
+
+  /**
+   * Set the occupancy of the given cell.
+   * @param x the cell x index.
+   * @param y the cell y index.
+   * @param z the cell z index.
+   * @param occupied <code>true</code> if the cell is occupied and <code>false</code> otherwise.
+   * @throws IndexOutOfBoundsException if the cell is outside of the grid.
+   */
+  public void set(int x, int y, int z, boolean occupied) {
+
+    if ((x < 0) || (x >= this.sizeX) || (y < 0) || (y >= this.sizeY) || (z < 0) || (z >= this.sizeZ)) {
+      throw new IndexOutOfBoundsException("Cell ("+x+", "+y+", "+z+") is outside of the grid.");
+    }
+
+    int offset = getRowOffset(y, z) + (x >>> 6);
+
+    if (occupied) {
+      this.words[offset] |= 1L << x;
+    } else {
+      this.words[offset] &= ~(1L << x);
+    }
+  }
+
+  /**
+   * Get the number of occupied cells.
+   * @return the number of occupied cells.
+   */
+  public long getOccupiedCount() {
+
+    long count = 0L;
+    for(int w = 0; w < this.words.length; w++) {
+      count += Long.bitCount(this.words[w]);
+    }
+
+    return count;
+  }
+
+  /**
+   * Get the index along the x axis of the cell that contains the given coordinate.
+   * @param x the x coordinate.
+   * @return the index of the cell, that can be outside of the grid.
+   */
+  public int getCellX(double x) {
+    return (int) Math.floor((x - this.originX) / this.cellSize);
+  }
+
+  /**
+   * Get the index along the y axis of the cell that contains the given coordinate.
+   * @param y the y coordinate.
+   * @return the index of the cell, that can be outside of the grid.
+   */
+  public int getCellY(double y) {
+    return (int) Math.floor((y - this.originY) / this.cellSize);
+  }
+
+  /**
+   * Get the index along the z axis of the cell that contains the given coordinate.
+   * @param z the z coordinate.
+   * @return the index of the cell, that can be outside of the grid.
+   */
+  public int getCellZ(double z) {
+    return (int) Math.floor((z - this.originZ) / this.cellSize);
+  }
+
+  /**
+   * Get the bounds of the given cell.
+   * @param x the cell x index.
+   * @param y the cell y index.
+   * @param z the cell z index.
+   * @param bounds the array that will contain the bounds (at least <code>double[6]</code>), can be <code>null</code>.
+   * @return the bounds of the cell, as <code>{xmin, ymin, zmin, xmax, ymax, zmax}</code>.
+   */
+  public double[] getCellBounds(int x, int y, int z, double[] bounds) {
+
+    double[] result = (bounds != null) ? bounds : new double[6];
+
+    result[0] = this.originX + x * this.cellSize;
+    result[1] = this.originY + y * this.cellSize;
+    result[2] = this.originZ + z * this.cellSize;
+    result[3] = this.originX + (x + 1) * this.cellSize;
+    result[4] = this.originY + (y + 1) * this.cellSize;
+    result[5] = this.originZ + (z + 1) * this.cellSize;
+
+    return result;
+  }
+}
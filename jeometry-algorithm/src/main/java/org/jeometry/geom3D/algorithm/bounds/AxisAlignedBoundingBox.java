@@ -1,7 +1,6 @@
 package org.jeometry.geom3D.algorithm.bounds;
 
 import java.util.Collection;
-import java.util.Iterator;
 
 import org.jeometry.factory.JeometryFactory;
 import org.jeometry.geom3D.mesh.Mesh;
@@ -17,125 +16,42 @@ import org.jeometry.geom3D.primitive.Box;
 public class AxisAlignedBoundingBox {
 	  /**
 	   * Compute the axis aligned bounding box for the points given in parameter. If the point
-	   * manager is <code>null</code> or empty, <code>null</code> is returned. 
+	   * manager is <code>null</code> or empty, <code>null</code> is returned. The bounds are computed using {@link AxisAlignedBounds}.
 	   * @param points the points to englobe in the box
 	   * @return the axis aligned bounding box
 	   */
 	  public static Box computeAxisAlignedBoundingBox(Collection<? extends Point3D> points){
 	    
-	    Point3D pMax = null;
-	    Point3D pMin = null;
-	    Point3D pt   = null;
-	    
-	    Box polyhedron = null;
-	    
 	    // Une boite englobante n'est retournée que s'il existe des points à englober.
 	    if ((points == null) || (points.size() < 3)){
-	      polyhedron = null;
-	    } else {
-	      
-	      // On calcule les sommets de la boite englobante
-	      pMax = JeometryFactory.createPoint3D(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
-	      pMin = JeometryFactory.createPoint3D(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
-	   
-	      Iterator<? extends Point3D> iter = points.iterator();
-	      while(iter.hasNext()){
-	        
-	        pt = iter.next();
-	        
-	        if (pMin.getX() > pt.getX()){
-	          pMin.setX(pt.getX());
-	        }
-	        
-	        if (pMin.getY() > pt.getY()){
-	          pMin.setY(pt.getY());
-	        }
-	        
-	        if (pMin.getZ() > pt.getZ()){
-	          pMin.setZ(pt.getZ());
-	        }
-	        
-	        if (pMax.getX() < pt.getX()){
-	          pMax.setX(pt.getX());
-	        }
-	        
-	        if (pMax.getY() < pt.getY()){
-	          pMax.setY(pt.getY());
-	        }
-	        
-	        if (pMax.getZ() < pt.getZ()){
-	          pMax.setZ(pt.getZ());
-	        }
-	        
-	        pt = null;
-	      }
-
-	      // Creation d'un boite parallele aux axes.
-	      polyhedron = JeometryFactory.createBox(pMin, pMax);
+	      return null;
 	    }
-	    
-	    return polyhedron;
+
+	    double[] bounds = AxisAlignedBounds.compute(points, Runtime.getRuntime().availableProcessors(), new double[AxisAlignedBounds.BOUNDS_SIZE]);
+
+	    // Creation d'un boite parallele aux axes.
+	    return JeometryFactory.createBox(JeometryFactory.createPoint3D(bounds[0], bounds[1], bounds[2]), 
+	                                     JeometryFactory.createPoint3D(bounds[3], bounds[4], bounds[5]));
 	  }
 	   
 	  /**
 	   * Compute the axis aligned bounding box for the points given in parameter. If the point
-	   * manager is <code>null</code> or empty, <code>null</code> is returned. 
+	   * manager is <code>null</code> or empty, <code>null</code> is returned. The bounds are computed using {@link AxisAlignedBounds}.
 	   * @param points the points to englobe in the box
 	   * @return the axis aligned bounding box
 	   */
 	  public static Box computeAxisAlignedBoundingBox(Point3DContainer<?> points){
 	    
-	    Point3D pMax = null;
-	    Point3D pMin = null;
-	    Point3D pt   = null;
-	    
-	    Box polyhedron = null;
-	    
 	    // Une boite englobante n'est retournée que s'il existe des points à englober.
 	    if ((points == null) || (points.size() < 3)){
-	      polyhedron = null;
-	    } else {
-	      
-	      // On calcule les sommets de la boite englobante
-	      pMax = JeometryFactory.createPoint3D(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
-	      pMin = JeometryFactory.createPoint3D(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
-	   
-	      for(int i = 0; i < points.size(); i++){
-	        
-	        pt = points.get(i);
-	        
-	        if (pMin.getX() > pt.getX()){
-	          pMin.setX(pt.getX());
-	        }
-	        
-	        if (pMin.getY() > pt.getY()){
-	          pMin.setY(pt.getY());
-	        }
-	        
-	        if (pMin.getZ() > pt.getZ()){
-	          pMin.setZ(pt.getZ());
-	        }
-	        
-	        if (pMax.getX() < pt.getX()){
-	          pMax.setX(pt.getX());
-	        }
-	        
-	        if (pMax.getY() < pt.getY()){
-	          pMax.setY(pt.getY());
-	        }
-	        
-	        if (pMax.getZ() < pt.getZ()){
-	          pMax.setZ(pt.getZ());
-	        }
-	        
-	        pt = null;
-	      }
-
-	      // Creation d'un boite parallele aux axes.
-	      polyhedron = JeometryFactory.createBox(pMin, pMax);
+	      return null;
 	    }
-	    
-	    return polyhedron;
+
+	    double[] bounds = AxisAlignedBounds.compute(points, Runtime.getRuntime().availableProcessors(), new double[AxisAlignedBounds.BOUNDS_SIZE]);
+
+	    // Creation d'un boite parallele aux axes.
+	    return JeometryFactory.createBox(JeometryFactory.createPoint3D(bounds[0], bounds[1], bounds[2]), 
+	                                     JeometryFactory.createPoint3D(bounds[3], bounds[4], bounds[5]));
 	  }
 
 	  
@@ -0,0 +1,304 @@
+package org.jeometry.geom3D.algorithm.bounds;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.SpatialLocalization3D;
+import org.jeometry.geom3D.algorithm.ParallelRange;
+import org.jeometry.geom3D.point.CoordinatesPoint3DContainer;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+
+/**
+ * Compute the axis aligned bounds and the centroid of a set of 3D points.<br><br>
+ * The computation is a min / max / sum reduction that does not allocate memory for each point. When the points are stored within a
+ * {@link CoordinatesPoint3DContainer primitive array backed container}, the reduction runs directly over the coordinates array and the
+ * {@link SpatialLocalization3D localization} cached by the container is updated within the same pass. For large point sets,
+ * the reduction is recursively split into fork / join tasks whose results are combined (see {@link ParallelRange#reduce ParallelRange.reduce}).<br><br>
+ * The bounds are returned within a <code>double[9]</code> array that contains <code>(x<sub>min</sub>, y<sub>min</sub>, z<sub>min</sub>, x<sub>max</sub>, y<sub>max</sub>, z<sub>max</sub>, x<sub>mean</sub>, y<sub>mean</sub>, z<sub>mean</sub>)</code>.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class AxisAlignedBounds {
+
+	/**
+	 * The minimal number of points that a fork / join task has to process.
+	 */
+	static final int MINIMAL_CHUNK_SIZE = 65536;
+
+	/**
+	 * The size of the bounds array.
+	 */
+	public static final int BOUNDS_SIZE = 9;
+
+	/**
+	 * Compute the bounds of the points that are stored within the given coordinates array.
+	 * @param coordinates the coordinates, the point <code>i</code> being stored from offset <code>3*i</code>.
+	 * @param start the first point (included).
+	 * @param end the last point (excluded).
+	 * @param parallelism the maximal number of threads to use.
+	 * @param bounds the array that will contain the bounds (at least <code>double[9]</code>).
+	 * @return the given <code>bounds</code> array or <code>null</code> if the range is empty.
+	 * @throws IllegalArgumentException if the coordinates are <code>null</code> or if the parallelism is lesser than 1.
+	 */
+	public static double[] compute(double[] coordinates, int start, int end, int parallelism, double[] bounds) {
+
+		if (coordinates == null) {
+			throw new IllegalArgumentException("Coordinates cannot be null.");
+		}
+
+		return reduce((from, to, result) -> reduce(coordinates, from, to, result), start, end, parallelism, bounds);
+	}
+
+	/**
+	 * Compute the bounds of the points that are stored within the given container. If the container is a {@link CoordinatesPoint3DContainer},
+	 * its coordinates array is processed directly and its {@link SpatialLocalization3D localization} is updated.
+	 * @param points the points.
+	 * @param parallelism the maximal number of threads to use.
+	 * @param bounds the array that will contain the bounds (at least <code>double[9]</code>).
+	 * @return the given <code>bounds</code> array or <code>null</code> if the container is <code>null</code> or empty.
+	 * @throws IllegalArgumentException if the parallelism is lesser than 1.
+	 */
+	public static double[] compute(Point3DContainer<?> points, int parallelism, double[] bounds) {
+
+		if ((points == null) || (points.size() < 1)) {
+			return null;
+		}
+
+		if (points instanceof CoordinatesPoint3DContainer) {
+			CoordinatesPoint3DContainer<?> container = (CoordinatesPoint3DContainer<?>) points;
+
+			double[] result = compute(container.getCoordinatesArray(), 0, container.size(), parallelism, bounds);
+			if (result != null) {
+				container.setLocalization(result[6], result[7], result[8], result[0], result[1], result[2], result[3], result[4], result[5]);
+			}
+
+			return result;
+		}
+
+		return reduce((from, to, result) -> reduce(points, from, to, result), 0, points.size(), parallelism, bounds);
+	}
+
+	/**
+	 * Compute the bounds of the points that are stored within the given collection. The reduction is parallel only if the collection is a
+	 * {@link RandomAccess random access} {@link List list}, otherwise the collection is iterated sequentially.
+	 * @param points the points.
+	 * @param parallelism the maximal number of threads to use.
+	 * @param bounds the array that will contain the bounds (at least <code>double[9]</code>).
+	 * @return the given <code>bounds</code> array or <code>null</code> if the collection is <code>null</code> or empty.
+	 * @throws IllegalArgumentException if the parallelism is lesser than 1.
+	 */
+	public static double[] compute(Collection<? extends Point3D> points, int parallelism, double[] bounds) {
+
+		if ((points == null) || (points.size() < 1)) {
+			return null;
+		}
+
+		if (points instanceof RandomAccess && points instanceof List) {
+			List<? extends Point3D> list = (List<? extends Point3D>) points;
+			return reduce((from, to, result) -> reduce(list, from, to, result), 0, list.size(), parallelism, bounds);
+		}
+
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+		}
+
+		initialize(bounds);
+
+		Iterator<? extends Point3D> iterator = points.iterator();
+		while (iterator.hasNext()) {
+			Point3D point = iterator.next();
+			include(point.getX(), point.getY(), point.getZ(), bounds);
+		}
+
+		return finish(bounds, points.size());
+	}
+
+	/**
+	 * Reduce the given range, recursively split into fork / join tasks if it is large enough.
+	 * @param reduction the range reduction.
+	 * @param start the first point (included).
+	 * @param end the last point (excluded).
+	 * @param parallelism the maximal number of threads to use.
+	 * @param bounds the array that will contain the bounds.
+	 * @return the given <code>bounds</code> array or <code>null</code> if the range is empty.
+	 */
+	private static double[] reduce(RangeReduction reduction, int start, int end, int parallelism, double[] bounds) {
+
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+		}
+
+		if (end <= start) {
+			return null;
+		}
+
+		double[] result = ParallelRange.reduce(end - start, MINIMAL_CHUNK_SIZE, parallelism, (from, to) -> {
+			double[] partial = new double[BOUNDS_SIZE];
+			initialize(partial);
+			reduction.reduce(start + from, start + to, partial);
+			return partial;
+		}, (lower, upper) -> {
+			combine(lower, upper);
+			return lower;
+		});
+
+		System.arraycopy(result, 0, bounds, 0, BOUNDS_SIZE);
+
+		return finish(bounds, end - start);
+	}
+
+	/**
+	 * Reduce the coordinates within the given range. The bounds have to be initialized and contain the coordinates sums once reduced.
+	 * @param coordinates the coordinates.
+	 * @param from the first point (included).
+	 * @param to the last point (excluded).
+	 * @param bounds the bounds to update.
+	 */
+	private static void reduce(double[] coordinates, int from, int to, double[] bounds) {
+
+		double minX = bounds[0];
+		double minY = bounds[1];
+		double minZ = bounds[2];
+		double maxX = bounds[3];
+		double maxY = bounds[4];
+		double maxZ = bounds[5];
+		double sumX = bounds[6];
+		double sumY = bounds[7];
+		double sumZ = bounds[8];
+
+		// Math.min / Math.max are intrinsics that compile to branch free instructions
+		for(int i = 3*from; i < 3*to; i += 3) {
+			double x = coordinates[i];
+			double y = coordinates[i+1];
+			double z = coordinates[i+2];
+
+			minX = Math.min(minX, x);
+			minY = Math.min(minY, y);
+			minZ = Math.min(minZ, z);
+			maxX = Math.max(maxX, x);
+			maxY = Math.max(maxY, y);
+			maxZ = Math.max(maxZ, z);
+			sumX += x;
+			sumY += y;
+			sumZ += z;
+		}
+
+		bounds[0] = minX;
+		bounds[1] = minY;
+		bounds[2] = minZ;
+		bounds[3] = maxX;
+		bounds[4] = maxY;
+		bounds[5] = maxZ;
+		bounds[6] = sumX;
+		bounds[7] = sumY;
+		bounds[8] = sumZ;
+	}
+
+	/**
+	 * Reduce the points of the container within the given range.
+	 * @param points the points.
+	 * @param from the first point (included).
+	 * @param to the last point (excluded).
+	 * @param bounds the bounds to update.
+	 */
+	private static void reduce(Point3DContainer<?> points, int from, int to, double[] bounds) {
+		for(int i = from; i < to; i++) {
+			Point3D point = points.get(i);
+			include(point.getX(), point.getY(), point.getZ(), bounds);
+		}
+	}
+
+	/**
+	 * Reduce the points of the list within the given range.
+	 * @param points the points.
+	 * @param from the first point (included).
+	 * @param to the last point (excluded).
+	 * @param bounds the bounds to update.
+	 */
+	private static void reduce(List<? extends Point3D> points, int from, int to, double[] bounds) {
+		for(int i = from; i < to; i++) {
+			Point3D point = points.get(i);
+			include(point.getX(), point.getY(), point.getZ(), bounds);
+		}
+	}
+
+	/**
+	 * Include the given location within the bounds.
+	 * @param x the location x coordinate.
+	 * @param y the location y coordinate.
+	 * @param z the location z coordinate.
+	 * @param bounds the bounds to update.
+	 */
+	private static void include(double x, double y, double z, double[] bounds) {
+		bounds[0] = Math.min(bounds[0], x);
+		bounds[1] = Math.min(bounds[1], y);
+		bounds[2] = Math.min(bounds[2], z);
+		bounds[3] = Math.max(bounds[3], x);
+		bounds[4] = Math.max(bounds[4], y);
+		bounds[5] = Math.max(bounds[5], z);
+		bounds[6] += x;
+		bounds[7] += y;
+		bounds[8] += z;
+	}
+
+	/**
+	 * Initialize the given bounds to an empty state.
+	 * @param bounds the bounds to initialize.
+	 */
+	private static void initialize(double[] bounds) {
+		bounds[0] = Double.POSITIVE_INFINITY;
+		bounds[1] = Double.POSITIVE_INFINITY;
+		bounds[2] = Double.POSITIVE_INFINITY;
+		bounds[3] = Double.NEGATIVE_INFINITY;
+		bounds[4] = Double.NEGATIVE_INFINITY;
+		bounds[5] = Double.NEGATIVE_INFINITY;
+		bounds[6] = 0.0d;
+		bounds[7] = 0.0d;
+		bounds[8] = 0.0d;
+	}
+
+	/**
+	 * Combine the partial bounds <code>other</code> within <code>bounds</code>.
+	 * @param bounds the bounds to update.
+	 * @param other the bounds to combine.
+	 */
+	private static void combine(double[] bounds, double[] other) {
+		for(int i = 0; i < 3; i++) {
+			bounds[i]   = Math.min(bounds[i], other[i]);
+			bounds[i+3] = Math.max(bounds[i+3], other[i+3]);
+			bounds[i+6] += other[i+6];
+		}
+	}
+
+	/**
+	 * Convert the coordinates sums of the given bounds into means.
+	 * @param bounds the bounds.
+	 * @param count the number of reduced points.
+	 * @return the given bounds.
+	 */
+	private static double[] finish(double[] bounds, int count) {
+		bounds[6] /= count;
+		bounds[7] /= count;
+		bounds[8] /= count;
+		return bounds;
+	}
+
+	/**
+	 * A reduction of a range of points.
+	 */
+	private interface RangeReduction {
+
+		/**
+		 * Reduce the points within <code>[from, to[</code>.
+		 * @param from the first point (included).
+		 * @param to the last point (excluded).
+		 * @param bounds the initialized bounds to update.
+		 */
+		void reduce(int from, int to, double[] bounds);
+	}
+}
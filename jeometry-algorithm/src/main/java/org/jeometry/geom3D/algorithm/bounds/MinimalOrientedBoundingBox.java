@@ -0,0 +1,1257 @@
+package org.jeometry.geom3D.algorithm.bounds;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.algorithm.ParallelRange;
+import org.jeometry.geom3D.algorithm.convexhull.quickhull.QuickHull;
+import org.jeometry.geom3D.mesh.Face;
+import org.jeometry.geom3D.mesh.Mesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+
+/**
+ * Compute the minimal volume oriented bounding box of a point set.<br><br>
+ * The computation relies on the convex hull of the points (computed with {@link QuickHull}) and is made of two steps:
+ * <ol>
+ * <li>For each distinct hull face normal <i>n</i>, the hull is projected onto the plane orthogonal to <i>n</i>. The minimal area rectangle
+ * that encloses the projection is computed using the rotating calipers over its 2D convex hull. This gives the minimal box that has a face flush with a hull face.
+ * The 2D convex hull is the silhouette of the hull, that is walked over the hull vertex graph. The normals are ordered along a space filling curve and
+ * the extremal vertices along a normal are searched from the ones of the previous normal, so that each normal costs about the silhouette size instead of <i>O</i>(<i>h log h</i>).
+ * <li>The best box found is refined by a local search over the rotations of its axes, until the rotation step is lesser than the given tolerance.
+ * This covers the optimal boxes that are only flush with hull edges (see J. O'Rourke, "<i>Finding minimal enclosing boxes</i>", 1985).
+ * </ol>
+ * The result is a compact {@link OrientedBoundingBox oriented bounding box} that can be converted to a {@link Mesh mesh} using {@link OrientedBoundingBox#toMesh()}.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class MinimalOrientedBoundingBox {
+
+	/**
+	 * The default tolerance, that is the smallest rotation step (in radians) of the refinement.
+	 */
+	public static final double DEFAULT_TOLERANCE = 1.0e-6d;
+
+	/**
+	 * The initial rotation step (in radians) of the refinement.
+	 */
+	private static final double REFINEMENT_STEP = 0.02d;
+
+	/**
+	 * The minimal number of candidate normals that a parallel task has to process.
+	 */
+	static final int MINIMAL_CHUNK_SIZE = 256;
+
+	/**
+	 * The relative precision under which two projected vertices are considered as coincident.
+	 */
+	private static final double PROJECTION_PRECISION = 1.0e-10d;
+
+	/**
+	 * The vertices coordinates, as a <code>double[3*count]</code> array.
+	 */
+	private double[] vertices     = null;
+
+	/**
+	 * The number of vertices.
+	 */
+	private int count             = 0;
+
+	/**
+	 * The offsets of the neighbors of each vertex within {@link #neighbors} (<code>null</code> if the hull is not available).
+	 */
+	private int[] neighborOffsets = null;
+
+	/**
+	 * The neighbors of the vertices within the hull (<code>null</code> if the hull is not available).
+	 */
+	private int[] neighbors       = null;
+
+	/**
+	 * The distance under which two projected vertices are considered as coincident. The direction between such vertices is only made of rounding errors.
+	 */
+	private double epsilon        = 0.0d;
+
+	/**
+	 * Create a new computation for the given vertices.
+	 * @param vertices the vertices coordinates, as a <code>double[3*count]</code> array.
+	 * @param count the number of vertices.
+	 * @param neighborOffsets the offsets of the neighbors of each vertex within the neighbors (can be <code>null</code>).
+	 * @param neighbors the neighbors of the vertices within the hull (can be <code>null</code>).
+	 */
+	private MinimalOrientedBoundingBox(double[] vertices, int count, int[] neighborOffsets, int[] neighbors) {
+		this.vertices        = vertices;
+		this.count           = count;
+		this.neighborOffsets = neighborOffsets;
+		this.neighbors       = neighbors;
+
+		double magnitude = 0.0d;
+		for(int i = 0; i < 3*count; i++) {
+			magnitude = Math.max(magnitude, Math.abs(vertices[i]));
+		}
+		this.epsilon = PROJECTION_PRECISION * magnitude;
+	}
+
+	/**
+	 * Compute the minimal volume oriented bounding box of the given points using the {@link #DEFAULT_TOLERANCE default tolerance}.
+	 * @param points the points to enclose.
+	 * @return the minimal volume oriented bounding box or <code>null</code> if the points are <code>null</code> or empty.
+	 * @see #compute(Point3DContainer, double)
+	 */
+	public static OrientedBoundingBox compute(Point3DContainer<? extends Point3D> points) {
+		return compute(points, DEFAULT_TOLERANCE);
+	}
+
+	/**
+	 * Compute the minimal volume oriented bounding box of the given points.
+	 * The convex hull of the points is computed and the box is then computed from it (see {@link #computeFromHull(Mesh, double)}).
+	 * If the points are coplanar or collinear, the box is computed from all the points and is flat.
+	 * @param points the points to enclose.
+	 * @param tolerance the smallest rotation step (in radians) of the refinement.
+	 * @return the minimal volume oriented bounding box or <code>null</code> if the points are <code>null</code> or empty.
+	 */
+	public static OrientedBoundingBox compute(Point3DContainer<? extends Point3D> points, double tolerance) {
+
+		if ((points == null) || (points.size() < 1)) {
+			return null;
+		}
+
+		Mesh<? extends Point3D> convexHull = null;
+		if (points.size() > 3) {
+			convexHull = QuickHull.computeConvexHull(points, true);
+		}
+
+		if (convexHull != null) {
+			return computeFromHull(convexHull, tolerance);
+		}
+
+		// Degenerated point set, all the points are used
+		double[] coordinates = new double[3*points.size()];
+		for(int i = 0; i < points.size(); i++) {
+			Point3D point = points.get(i);
+			coordinates[3*i]   = point.getX();
+			coordinates[3*i+1] = point.getY();
+			coordinates[3*i+2] = point.getZ();
+		}
+
+		return new MinimalOrientedBoundingBox(coordinates, points.size(), null, null).compute(degeneratedNormals(coordinates, points.size()), tolerance);
+	}
+
+	/**
+	 * Compute the minimal volume oriented bounding box of the given convex hull using the {@link #DEFAULT_TOLERANCE default tolerance}.
+	 * @param convexHull the convex hull of the points to enclose, as produced by {@link QuickHull}.
+	 * @return the minimal volume oriented bounding box or <code>null</code> if the hull is <code>null</code> or has no face.
+	 * @see #computeFromHull(Mesh, double)
+	 */
+	public static OrientedBoundingBox computeFromHull(Mesh<? extends Point3D> convexHull) {
+		return computeFromHull(convexHull, DEFAULT_TOLERANCE);
+	}
+
+	/**
+	 * Compute the minimal volume oriented bounding box of the given convex hull.
+	 * @param convexHull the convex hull of the points to enclose, as produced by {@link QuickHull}.
+	 * @param tolerance the smallest rotation step (in radians) of the refinement.
+	 * @return the minimal volume oriented bounding box or <code>null</code> if the hull is <code>null</code> or has no face.
+	 */
+	public static OrientedBoundingBox computeFromHull(Mesh<? extends Point3D> convexHull, double tolerance) {
+
+		if ((convexHull == null) || (convexHull.getFaces() == null) || (convexHull.getFaces().size() < 1)) {
+			return null;
+		}
+
+		int faceCount = convexHull.getFaces().size();
+
+		// Collect the vertices that are referenced by the faces, the face normals and the face vertices
+		Map<Point3D, Integer> indices = new IdentityHashMap<Point3D, Integer>();
+		double[] coordinates = new double[3*Math.max(4, faceCount)];
+		double[] normals     = new double[3*faceCount];
+		int[] faceOffsets    = new int[faceCount+1];
+		int[] faceVertices   = new int[3*faceCount];
+		int normalCount      = 0;
+
+		for(Face<? extends Point3D> face : convexHull.getFaces()) {
+			Point3DContainer<? extends Point3D> points = face.getVertices();
+
+			if (points.size() > 2) {
+
+				if (faceOffsets[normalCount] + points.size() > faceVertices.length) {
+					faceVertices = Arrays.copyOf(faceVertices, 2*faceVertices.length + points.size());
+				}
+
+				for(int i = 0; i < points.size(); i++) {
+					Point3D vertex = points.get(i);
+					Integer index = indices.get(vertex);
+					if (index == null) {
+						index = indices.size();
+						if (3*index + 3 > coordinates.length) {
+							coordinates = Arrays.copyOf(coordinates, 2*coordinates.length);
+						}
+						coordinates[3*index]   = vertex.getX();
+						coordinates[3*index+1] = vertex.getY();
+						coordinates[3*index+2] = vertex.getZ();
+						indices.put(vertex, index);
+					}
+					faceVertices[faceOffsets[normalCount] + i] = index;
+				}
+
+				Point3D a = points.get(0);
+				Point3D b = points.get(1);
+				Point3D c = points.get(2);
+
+				double ux = b.getX() - a.getX();
+				double uy = b.getY() - a.getY();
+				double uz = b.getZ() - a.getZ();
+				double vx = c.getX() - a.getX();
+				double vy = c.getY() - a.getY();
+				double vz = c.getZ() - a.getZ();
+
+				if (setNormalized(normals, 3*normalCount, uy*vz - uz*vy, uz*vx - ux*vz, ux*vy - uy*vx)) {
+					faceOffsets[normalCount+1] = faceOffsets[normalCount] + points.size();
+					normalCount++;
+				}
+			}
+		}
+
+		int count = indices.size();
+
+		// Vertex graph of the hull, the edges are the consecutive vertices of the faces
+		int[] neighborOffsets = new int[count+1];
+		for(int f = 0; f < normalCount; f++) {
+			for(int i = faceOffsets[f]; i < faceOffsets[f+1]; i++) {
+				neighborOffsets[faceVertices[i]+1] += 2;
+			}
+		}
+		for(int i = 0; i < count; i++) {
+			neighborOffsets[i+1] += neighborOffsets[i];
+		}
+
+		int[] neighbors = new int[neighborOffsets[count]];
+		int[] fill = Arrays.copyOf(neighborOffsets, count);
+		for(int f = 0; f < normalCount; f++) {
+			for(int i = faceOffsets[f]; i < faceOffsets[f+1]; i++) {
+				int a = faceVertices[i];
+				int b = faceVertices[(i + 1 < faceOffsets[f+1]) ? i + 1 : faceOffsets[f]];
+				neighbors[fill[a]++] = b;
+				neighbors[fill[b]++] = a;
+			}
+		}
+
+		// Remove the duplicated neighbors (each edge is shared by two faces)
+		int size = 0;
+		for(int i = 0; i < count; i++) {
+			int from = neighborOffsets[i];
+			int to   = neighborOffsets[i+1];
+			Arrays.sort(neighbors, from, to);
+
+			neighborOffsets[i] = size;
+			for(int j = from; j < to; j++) {
+				if ((j == from) || (neighbors[j] != neighbors[j-1])) {
+					neighbors[size++] = neighbors[j];
+				}
+			}
+		}
+		neighborOffsets[count] = size;
+
+		return new MinimalOrientedBoundingBox(coordinates, count, neighborOffsets, neighbors).compute(Arrays.copyOf(normals, 3*normalCount), tolerance);
+	}
+
+	/**
+	 * Compute the minimal box for the given candidate normals.
+	 * @param normals the candidate normals, as a <code>double[3*n]</code> array.
+	 * @param tolerance the smallest rotation step (in radians) of the refinement.
+	 * @return the minimal volume oriented bounding box.
+	 */
+	private OrientedBoundingBox compute(double[] normals, double tolerance) {
+
+		final double[] unique = uniqueNormals(normals);
+		final int candidates = unique.length / 3;
+
+		// Axis aligned box as initial solution
+		double[] bestAxes = new double[] {1.0d, 0.0d, 0.0d, 0.0d, 1.0d, 0.0d, 0.0d, 0.0d, 1.0d};
+		double bestVolume = volume(bestAxes, null);
+
+		int chunks = ParallelRange.chunks(candidates, MINIMAL_CHUNK_SIZE, Runtime.getRuntime().availableProcessors());
+
+		List<Search> searches = ParallelRange.map(candidates, chunks, (from, to) -> {
+			Search search = new Search(from, to, unique);
+			search.run();
+			return search;
+		});
+
+		for(Search search : searches) {
+			if (search.bestVolume < bestVolume) {
+				bestVolume = search.bestVolume;
+				System.arraycopy(search.bestAxes, 0, bestAxes, 0, 9);
+			}
+		}
+
+		refine(bestAxes, bestVolume, tolerance);
+
+		double[] extents = new double[6];
+		volume(bestAxes, extents);
+
+		double[] center = new double[3];
+		double[] halfExtents = new double[3];
+		for(int i = 0; i < 3; i++) {
+			double middle = 0.5d * (extents[2*i] + extents[2*i+1]);
+			halfExtents[i] = 0.5d * (extents[2*i+1] - extents[2*i]);
+			center[0] += middle * bestAxes[3*i];
+			center[1] += middle * bestAxes[3*i+1];
+			center[2] += middle * bestAxes[3*i+2];
+		}
+
+		return new OrientedBoundingBox(center, bestAxes, halfExtents);
+	}
+
+	/**
+	 * Refine the given solution by a local search over the rotations of the axes.
+	 * @param bestAxes the axes of the solution to refine, as a <code>double[9]</code> array. The array is updated with the refined axes.
+	 * @param bestVolume the volume of the box defined by the axes.
+	 * @param tolerance the smallest rotation step (in radians).
+	 */
+	private void refine(double[] bestAxes, double bestVolume, double tolerance) {
+
+		double[] candidate = new double[9];
+		double step = REFINEMENT_STEP;
+
+		while(step >= tolerance) {
+
+			boolean improved = false;
+
+			for(int axis = 0; axis < 3; axis++) {
+				for(int sign = -1; sign <= 1; sign += 2) {
+					rotate(bestAxes, axis, sign*step, candidate);
+
+					double volume = volume(candidate, null);
+					if (volume < bestVolume) {
+						bestVolume = volume;
+						System.arraycopy(candidate, 0, bestAxes, 0, 9);
+						improved = true;
+					}
+				}
+			}
+
+			if (!improved) {
+				step *= 0.5d;
+			}
+		}
+
+		orthonormalize(bestAxes);
+	}
+
+	/**
+	 * Rotate the given axes around one of them.
+	 * @param axes the axes to rotate, as a <code>double[9]</code> array.
+	 * @param axis the index of the rotation axis.
+	 * @param angle the rotation angle (in radians).
+	 * @param result the array that will contain the rotated axes.
+	 */
+	private static void rotate(double[] axes, int axis, double angle, double[] result) {
+
+		int i = 3*((axis + 1) % 3);
+		int j = 3*((axis + 2) % 3);
+		int k = 3*axis;
+
+		double cos = Math.cos(angle);
+		double sin = Math.sin(angle);
+
+		for(int c = 0; c < 3; c++) {
+			result[k+c] = axes[k+c];
+			result[i+c] =  cos*axes[i+c] + sin*axes[j+c];
+			result[j+c] = -sin*axes[i+c] + cos*axes[j+c];
+		}
+	}
+
+	/**
+	 * Orthonormalize the given axes using the Gram-Schmidt process. The third axis is recomputed as the cross product of the two first ones.
+	 * @param axes the axes, as a <code>double[9]</code> array.
+	 */
+	private static void orthonormalize(double[] axes) {
+
+		setNormalized(axes, 0, axes[0], axes[1], axes[2]);
+
+		double dot = axes[0]*axes[3] + axes[1]*axes[4] + axes[2]*axes[5];
+		setNormalized(axes, 3, axes[3] - dot*axes[0], axes[4] - dot*axes[1], axes[5] - dot*axes[2]);
+
+		axes[6] = axes[1]*axes[5] - axes[2]*axes[4];
+		axes[7] = axes[2]*axes[3] - axes[0]*axes[5];
+		axes[8] = axes[0]*axes[4] - axes[1]*axes[3];
+	}
+
+	/**
+	 * Compute the volume of the box defined by the given axes.
+	 * @param axes the axes, as a <code>double[9]</code> array.
+	 * @param extents the array that will contain the minimal and maximal projections along each axis (can be <code>null</code>).
+	 * @return the volume of the box.
+	 */
+	private double volume(double[] axes, double[] extents) {
+
+		double min0 = Double.POSITIVE_INFINITY;
+		double min1 = Double.POSITIVE_INFINITY;
+		double min2 = Double.POSITIVE_INFINITY;
+		double max0 = Double.NEGATIVE_INFINITY;
+		double max1 = Double.NEGATIVE_INFINITY;
+		double max2 = Double.NEGATIVE_INFINITY;
+
+		for(int i = 0; i < this.count; i++) {
+			double x = this.vertices[3*i];
+			double y = this.vertices[3*i+1];
+			double z = this.vertices[3*i+2];
+
+			double p0 = x*axes[0] + y*axes[1] + z*axes[2];
+			double p1 = x*axes[3] + y*axes[4] + z*axes[5];
+			double p2 = x*axes[6] + y*axes[7] + z*axes[8];
+
+			min0 = Math.min(min0, p0);
+			max0 = Math.max(max0, p0);
+			min1 = Math.min(min1, p1);
+			max1 = Math.max(max1, p1);
+			min2 = Math.min(min2, p2);
+			max2 = Math.max(max2, p2);
+		}
+
+		if (extents != null) {
+			extents[0] = min0;
+			extents[1] = max0;
+			extents[2] = min1;
+			extents[3] = max1;
+			extents[4] = min2;
+			extents[5] = max2;
+		}
+
+		return (max0 - min0) * (max1 - min1) * (max2 - min2);
+	}
+
+	/**
+	 * Remove the duplicated normals. A normal and its opposite are considered as duplicated.
+	 * The unique normals are ordered along a Z-order (Morton) curve, so that consecutive normals are close to each other.
+	 * As the extremal vertices and the silhouette of the hull along a normal are searched from the ones of the previous normal,
+	 * this ordering keeps the hill climbing walks short.
+	 * @param normals the normals, as a <code>double[3*n]</code> array.
+	 * @return the unique normals.
+	 */
+	private static double[] uniqueNormals(double[] normals) {
+
+		int n = normals.length / 3;
+
+		// Use a canonical orientation and compute the position of the normals along the curve
+		long[] keys = new long[n];
+		for(int i = 0; i < n; i++) {
+			double x = normals[3*i];
+			double y = normals[3*i+1];
+			double z = normals[3*i+2];
+			if ((x < 0.0d) || ((x == 0.0d) && ((y < 0.0d) || ((y == 0.0d) && (z < 0.0d))))) {
+				normals[3*i]   = -x;
+				normals[3*i+1] = -y;
+				normals[3*i+2] = -z;
+			}
+			keys[i] = mortonKey(normals[3*i], normals[3*i+1], normals[3*i+2]);
+		}
+
+		Integer[] order = new Integer[n];
+		for(int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+
+		double[] unique = new double[normals.length];
+		long[] uniqueKeys = new long[n];
+		int count = 0;
+
+		for(int i = 0; i < n; i++) {
+			int index = order[i];
+
+			// Search for an equal normal among the ones that have the same key
+			boolean duplicated = false;
+			for(int j = count - 1; (j >= 0) && (!duplicated) && (uniqueKeys[j] == keys[index]); j--) {
+				duplicated = (Math.abs(unique[3*j] - normals[3*index]) < 1.0e-9d)
+						&& (Math.abs(unique[3*j+1] - normals[3*index+1]) < 1.0e-9d)
+						&& (Math.abs(unique[3*j+2] - normals[3*index+2]) < 1.0e-9d);
+			}
+
+			if (!duplicated) {
+				unique[3*count]   = normals[3*index];
+				unique[3*count+1] = normals[3*index+1];
+				unique[3*count+2] = normals[3*index+2];
+				uniqueKeys[count] = keys[index];
+				count++;
+			}
+		}
+
+		return Arrays.copyOf(unique, 3*count);
+	}
+
+	/**
+	 * Compute the position of the given unit vector along a Z-order (Morton) curve. Each coordinate is quantized on 21 bits
+	 * and the bits of the three coordinates are interleaved.
+	 * @param x the vector x coordinate.
+	 * @param y the vector y coordinate.
+	 * @param z the vector z coordinate.
+	 * @return the position of the vector along the curve.
+	 */
+	private static long mortonKey(double x, double y, double z) {
+		return spread(quantize(x)) | (spread(quantize(y)) << 1) | (spread(quantize(z)) << 2);
+	}
+
+	/**
+	 * Quantize a unit vector coordinate within [-1, 1] on 21 bits.
+	 * @param coordinate the coordinate.
+	 * @return the quantized coordinate.
+	 */
+	private static long quantize(double coordinate) {
+		return Math.max(0L, Math.min(0x1FFFFFL, Math.round((coordinate + 1.0d) * 0.5d * 0x1FFFFF)));
+	}
+
+	/**
+	 * Spread the 21 lowest bits of the given value, so that two zero bits are inserted between each of them.
+	 * @param value the value to spread.
+	 * @return the spread value.
+	 */
+	private static long spread(long value) {
+		long result = value & 0x1FFFFFL;
+		result = (result | (result << 32)) & 0x1F00000000FFFFL;
+		result = (result | (result << 16)) & 0x1F0000FF0000FFL;
+		result = (result | (result << 8))  & 0x100F00F00F00F00FL;
+		result = (result | (result << 4))  & 0x10C30C30C30C30C3L;
+		result = (result | (result << 2))  & 0x1249249249249249L;
+		return result;
+	}
+
+	/**
+	 * Compute candidate normals for a degenerated (coplanar or collinear) point set.
+	 * The candidates are the coordinate axes and the normal of the plane that contains the points.
+	 * @param coordinates the points coordinates, as a <code>double[3*count]</code> array.
+	 * @param count the number of points.
+	 * @return the candidate normals, as a <code>double[3*n]</code> array.
+	 */
+	private static double[] degeneratedNormals(double[] coordinates, int count) {
+
+		double[] normals = new double[] {1.0d, 0.0d, 0.0d, 0.0d, 1.0d, 0.0d, 0.0d, 0.0d, 1.0d, 0.0d, 0.0d, 0.0d};
+
+		// Farthest point from the first one
+		int a = 0;
+		double best = -1.0d;
+		for(int i = 0; i < count; i++) {
+			double dx = coordinates[3*i] - coordinates[0];
+			double dy = coordinates[3*i+1] - coordinates[1];
+			double dz = coordinates[3*i+2] - coordinates[2];
+			double distance = dx*dx + dy*dy + dz*dz;
+			if (distance > best) {
+				best = distance;
+				a = i;
+			}
+		}
+
+		double ux = coordinates[3*a] - coordinates[0];
+		double uy = coordinates[3*a+1] - coordinates[1];
+		double uz = coordinates[3*a+2] - coordinates[2];
+
+		// Point that is the farthest from the line
+		double bestNorm = 0.0d;
+		for(int i = 0; i < count; i++) {
+			double vx = coordinates[3*i] - coordinates[0];
+			double vy = coordinates[3*i+1] - coordinates[1];
+			double vz = coordinates[3*i+2] - coordinates[2];
+
+			double nx = uy*vz - uz*vy;
+			double ny = uz*vx - ux*vz;
+			double nz = ux*vy - uy*vx;
+			double norm = nx*nx + ny*ny + nz*nz;
+
+			if (norm > bestNorm) {
+				bestNorm = norm;
+				normals[9]  = nx;
+				normals[10] = ny;
+				normals[11] = nz;
+			}
+		}
+
+		if (setNormalized(normals, 9, normals[9], normals[10], normals[11])) {
+			return normals;
+		}
+
+		return Arrays.copyOf(normals, 9);
+	}
+
+	/**
+	 * Store the normalized given vector within the given array.
+	 * @param array the array that will contain the normalized vector.
+	 * @param offset the offset of the vector within the array.
+	 * @param x the vector x coordinate.
+	 * @param y the vector y coordinate.
+	 * @param z the vector z coordinate.
+	 * @return <code>true</code> if the vector can be normalized and <code>false</code> if its norm is 0.
+	 */
+	private static boolean setNormalized(double[] array, int offset, double x, double y, double z) {
+
+		double norm = Math.sqrt(x*x + y*y + z*z);
+
+		if (norm > 0.0d) {
+			array[offset]   = x / norm;
+			array[offset+1] = y / norm;
+			array[offset+2] = z / norm;
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * The evaluation of a range of candidate normals. Each search has its own working memory and best solution.
+	 */
+	private class Search implements Runnable {
+
+		/**
+		 * The first candidate normal to evaluate (included).
+		 */
+		private int start           = 0;
+
+		/**
+		 * The last candidate normal to evaluate (excluded).
+		 */
+		private int end             = 0;
+
+		/**
+		 * The candidate normals.
+		 */
+		private double[] normals    = null;
+
+		/**
+		 * The first projected coordinates of the vertices.
+		 */
+		private double[] projectedU = null;
+
+		/**
+		 * The second projected coordinates of the vertices.
+		 */
+		private double[] projectedV = null;
+
+		/**
+		 * The indices of the vertices sorted by projected coordinates, or the vertices of the current cluster of coincident projected vertices during a silhouette walk.
+		 */
+		private int[] order         = null;
+
+		/**
+		 * The marks of the vertices that have been gathered within the current cluster of coincident projected vertices.
+		 */
+		private int[] marks         = null;
+
+		/**
+		 * The mark of the current cluster of coincident projected vertices.
+		 */
+		private int stamp           = 0;
+
+		/**
+		 * The indices of the vertices of the 2D convex hull.
+		 */
+		private int[] hull          = null;
+
+		/**
+		 * The direction of the first rectangle side within the projection plane.
+		 */
+		private double[] direction  = new double[2];
+
+		/**
+		 * The vertex that had the minimal projection along the previous normal.
+		 */
+		private int lowest          = 0;
+
+		/**
+		 * The vertex that had the maximal projection along the previous normal.
+		 */
+		private int highest         = 0;
+
+		/**
+		 * The first vertex of the previous 2D convex hull.
+		 */
+		private int first           = 0;
+
+		/**
+		 * The best axes found, as a <code>double[9]</code> array.
+		 */
+		private double[] bestAxes   = new double[9];
+
+		/**
+		 * The volume of the box defined by the best axes.
+		 */
+		private double bestVolume   = Double.POSITIVE_INFINITY;
+
+		/**
+		 * Create a new search over the given range of candidate normals.
+		 * @param start the first candidate normal to evaluate (included).
+		 * @param end the last candidate normal to evaluate (excluded).
+		 * @param normals the candidate normals.
+		 */
+		Search(int start, int end, double[] normals){
+			this.start      = start;
+			this.end        = end;
+			this.normals    = normals;
+			this.projectedU = new double[MinimalOrientedBoundingBox.this.count];
+			this.projectedV = new double[MinimalOrientedBoundingBox.this.count];
+			this.order      = new int[MinimalOrientedBoundingBox.this.count];
+			this.marks      = new int[MinimalOrientedBoundingBox.this.count];
+			this.hull       = new int[MinimalOrientedBoundingBox.this.count+1];
+		}
+
+		@Override
+		public void run() {
+			for(int i = this.start; i < this.end; i++) {
+				evaluateNormal(this.normals[3*i], this.normals[3*i+1], this.normals[3*i+2]);
+			}
+		}
+
+		/**
+		 * Compute the minimal box that has an axis aligned with the given normal and update the best solution.
+		 * @param nx the normal x coordinate.
+		 * @param ny the normal y coordinate.
+		 * @param nz the normal z coordinate.
+		 */
+		private void evaluateNormal(double nx, double ny, double nz) {
+
+			// Orthonormal basis (u, v) of the plane orthogonal to the normal
+			double ax = Math.abs(nx);
+			double ay = Math.abs(ny);
+			double az = Math.abs(nz);
+
+			double ux;
+			double uy;
+			double uz;
+			if ((ax <= ay) && (ax <= az)) {
+				ux = 0.0d;
+				uy = nz;
+				uz = -ny;
+			} else if (ay <= az) {
+				ux = -nz;
+				uy = 0.0d;
+				uz = nx;
+			} else {
+				ux = ny;
+				uy = -nx;
+				uz = 0.0d;
+			}
+
+			double norm = Math.sqrt(ux*ux + uy*uy + uz*uz);
+			ux /= norm;
+			uy /= norm;
+			uz /= norm;
+
+			double vx = ny*uz - nz*uy;
+			double vy = nz*ux - nx*uz;
+			double vz = nx*uy - ny*ux;
+
+			double[] coordinates = MinimalOrientedBoundingBox.this.vertices;
+
+			double height;
+			int size = -1;
+
+			if (MinimalOrientedBoundingBox.this.neighbors != null) {
+
+				// The extremal vertices of a convex polyhedron are reached by hill climbing over its vertex graph
+				this.highest = climb(this.highest, nx, ny, nz);
+				this.lowest  = climb(this.lowest, -nx, -ny, -nz);
+
+				height = (coordinates[3*this.highest] - coordinates[3*this.lowest]) * nx
+						+ (coordinates[3*this.highest+1] - coordinates[3*this.lowest+1]) * ny
+						+ (coordinates[3*this.highest+2] - coordinates[3*this.lowest+2]) * nz;
+
+				size = wrap(ux, uy, uz, vx, vy, vz);
+			} else {
+				double minN = Double.POSITIVE_INFINITY;
+				double maxN = Double.NEGATIVE_INFINITY;
+
+				for(int i = 0; i < MinimalOrientedBoundingBox.this.count; i++) {
+					double projection = coordinates[3*i]*nx + coordinates[3*i+1]*ny + coordinates[3*i+2]*nz;
+					if (projection < minN) {
+						minN = projection;
+					}
+					if (projection > maxN) {
+						maxN = projection;
+					}
+				}
+
+				height = maxN - minN;
+			}
+
+			// The hull walk failed or is not available, all the vertices are projected
+			if (size < 0) {
+				size = convexHull2D(ux, uy, uz, vx, vy, vz);
+			}
+
+			// Direction of the rectangle within the (u, v) plane
+			double[] direction = this.direction;
+			double area = minimalRectangle(size, direction);
+
+			double volume = area * height;
+
+			if (volume < this.bestVolume) {
+				this.bestVolume = volume;
+
+				double ex = direction[0]*ux + direction[1]*vx;
+				double ey = direction[0]*uy + direction[1]*vy;
+				double ez = direction[0]*uz + direction[1]*vz;
+
+				this.bestAxes[0] = ex;
+				this.bestAxes[1] = ey;
+				this.bestAxes[2] = ez;
+				this.bestAxes[3] = ny*ez - nz*ey;
+				this.bestAxes[4] = nz*ex - nx*ez;
+				this.bestAxes[5] = nx*ey - ny*ex;
+				this.bestAxes[6] = nx;
+				this.bestAxes[7] = ny;
+				this.bestAxes[8] = nz;
+			}
+		}
+
+		/**
+		 * Get the vertex that has the maximal projection along the given direction by hill climbing over the vertex graph of the hull.
+		 * @param from the starting vertex.
+		 * @param dx the direction x coordinate.
+		 * @param dy the direction y coordinate.
+		 * @param dz the direction z coordinate.
+		 * @return the vertex that has the maximal projection.
+		 */
+		private int climb(int from, double dx, double dy, double dz) {
+
+			double[] coordinates = MinimalOrientedBoundingBox.this.vertices;
+			int[] offsets        = MinimalOrientedBoundingBox.this.neighborOffsets;
+			int[] graph          = MinimalOrientedBoundingBox.this.neighbors;
+
+			int current = from;
+			double best = coordinates[3*current]*dx + coordinates[3*current+1]*dy + coordinates[3*current+2]*dz;
+
+			boolean moved = true;
+			while(moved) {
+				moved = false;
+
+				// The neighbors of the vertex that starts the pass, as the current vertex may change during the pass
+				int vertex = current;
+				for(int j = offsets[vertex]; j < offsets[vertex+1]; j++) {
+					int neighbor = graph[j];
+					double projection = coordinates[3*neighbor]*dx + coordinates[3*neighbor+1]*dy + coordinates[3*neighbor+2]*dz;
+					if (projection > best) {
+						best    = projection;
+						current = neighbor;
+						moved   = true;
+					}
+				}
+			}
+
+			return current;
+		}
+
+		/**
+		 * Compute the 2D convex hull of the projection of the hull onto the (u, v) plane by walking along its silhouette.
+		 * The walk starts from the vertex that has the maximal <code>u</code> projection and follows, at each vertex,
+		 * the neighbor that makes the smallest left turn. The vertices whose projection coincides with the current vertex are walked as a single vertex, as the direction
+		 * toward them is not significant. The hull vertices are stored in counter clockwise order within {@link #hull}.
+		 * @param ux the u axis x coordinate.
+		 * @param uy the u axis y coordinate.
+		 * @param uz the u axis z coordinate.
+		 * @param vx the v axis x coordinate.
+		 * @param vy the v axis y coordinate.
+		 * @param vz the v axis z coordinate.
+		 * @return the number of hull vertices or <code>-1</code> if the walk fails.
+		 */
+		private int wrap(double ux, double uy, double uz, double vx, double vy, double vz) {
+
+			double[] coordinates = MinimalOrientedBoundingBox.this.vertices;
+			int[] offsets        = MinimalOrientedBoundingBox.this.neighborOffsets;
+			int[] graph          = MinimalOrientedBoundingBox.this.neighbors;
+
+			this.first = climb(this.first, ux, uy, uz);
+
+			double epsilon = MinimalOrientedBoundingBox.this.epsilon;
+
+			int current = this.first;
+			double cu = coordinates[3*current]*ux + coordinates[3*current+1]*uy + coordinates[3*current+2]*uz;
+			double cv = coordinates[3*current]*vx + coordinates[3*current+1]*vy + coordinates[3*current+2]*vz;
+
+			double firstU = cu;
+			double firstV = cv;
+
+			// At the vertex that has the maximal u, the counter clockwise boundary goes toward v
+			double inU = 0.0d;
+			double inV = 1.0d;
+
+			int size = 0;
+
+			while(size < MinimalOrientedBoundingBox.this.count) {
+
+				this.hull[size++] = current;
+				this.projectedU[current] = cu;
+				this.projectedV[current] = cv;
+
+				int next = -1;
+				double nextU = 0.0d;
+				double nextV = 0.0d;
+				double nextAngle = Double.POSITIVE_INFINITY;
+				double nextLength = 0.0d;
+
+				// The vertices whose projection coincides with the current one (for example both ends of an edge that is parallel to the normal)
+				// are walked as a single vertex, as the silhouette may go on from any of them
+				this.stamp++;
+				this.marks[current] = this.stamp;
+				this.order[0] = current;
+				int clusterSize = 1;
+
+				for(int k = 0; k < clusterSize; k++) {
+					int vertex = this.order[k];
+
+					for(int j = offsets[vertex]; j < offsets[vertex+1]; j++) {
+						int neighbor = graph[j];
+
+						double wu = coordinates[3*neighbor]*ux + coordinates[3*neighbor+1]*uy + coordinates[3*neighbor+2]*uz;
+						double wv = coordinates[3*neighbor]*vx + coordinates[3*neighbor+1]*vy + coordinates[3*neighbor+2]*vz;
+
+						double du = wu - cu;
+						double dv = wv - cv;
+
+						if (Math.abs(du) + Math.abs(dv) > epsilon) {
+
+							double dot   = inU*du + inV*dv;
+							double cross = inU*dv - inV*du;
+							double manhattan = Math.abs(dot) + Math.abs(cross);
+
+							// Pseudo angle of the turn, in ]-2, 2], that is monotonic with the turn angle
+							double angle = 1.0d - dot / manhattan;
+							if (cross < 0.0d) {
+								angle = -angle;
+							}
+
+							if ((angle < nextAngle) || ((angle == nextAngle) && (manhattan > nextLength))) {
+								next       = neighbor;
+								nextU      = wu;
+								nextV      = wv;
+								nextAngle  = angle;
+								nextLength = manhattan;
+							}
+						} else if (this.marks[neighbor] != this.stamp) {
+							this.marks[neighbor] = this.stamp;
+							this.order[clusterSize++] = neighbor;
+						}
+					}
+				}
+
+				if (next < 0) {
+					return -1;
+				}
+
+				if ((next == this.first) || (Math.abs(nextU - firstU) + Math.abs(nextV - firstV) <= epsilon)) {
+					return isConvex(size) ? size : -1;
+				}
+
+				inU = nextU - cu;
+				inV = nextV - cv;
+				cu = nextU;
+				cv = nextV;
+				current = next;
+			}
+
+			return -1;
+		}
+
+		/**
+		 * Check that the 2D hull computed by {@link #wrap(double, double, double, double, double, double) the silhouette walk} is a convex polygon
+		 * in counter clockwise order, that is that the walk neither turned right nor went back.
+		 * @param size the number of 2D hull vertices.
+		 * @return <code>true</code> if the 2D hull is convex and <code>false</code> otherwise.
+		 */
+		private boolean isConvex(int size) {
+
+			if (size < 3) {
+				return size > 0;
+			}
+
+			for(int i = 0; i < size; i++) {
+				int a = this.hull[i];
+				int b = this.hull[(i+1) % size];
+				int c = this.hull[(i+2) % size];
+
+				double e1u = this.projectedU[b] - this.projectedU[a];
+				double e1v = this.projectedV[b] - this.projectedV[a];
+				double e2u = this.projectedU[c] - this.projectedU[b];
+				double e2v = this.projectedV[c] - this.projectedV[b];
+
+				double cross = e1u*e2v - e1v*e2u;
+				double tolerance = PROJECTION_PRECISION * Math.sqrt((e1u*e1u + e1v*e1v) * (e2u*e2u + e2v*e2v));
+
+				if ((cross < -tolerance) || ((cross <= tolerance) && (e1u*e2u + e1v*e2v < 0.0d))) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		/**
+		 * Compute the 2D convex hull of the projection of all the vertices onto the (u, v) plane using the monotone chain algorithm.
+		 * The hull vertices are stored in counter clockwise order within {@link #hull}.
+		 * @param ux the u axis x coordinate.
+		 * @param uy the u axis y coordinate.
+		 * @param uz the u axis z coordinate.
+		 * @param vx the v axis x coordinate.
+		 * @param vy the v axis y coordinate.
+		 * @param vz the v axis z coordinate.
+		 * @return the number of hull vertices.
+		 */
+		private int convexHull2D(double ux, double uy, double uz, double vx, double vy, double vz) {
+
+			double[] coordinates = MinimalOrientedBoundingBox.this.vertices;
+			int count = MinimalOrientedBoundingBox.this.count;
+
+			for(int i = 0; i < count; i++) {
+				double x = coordinates[3*i];
+				double y = coordinates[3*i+1];
+				double z = coordinates[3*i+2];
+
+				this.projectedU[i] = x*ux + y*uy + z*uz;
+				this.projectedV[i] = x*vx + y*vy + z*vz;
+				this.order[i] = i;
+			}
+
+			sort(this.order, 0, count - 1);
+
+			if (count < 3) {
+				System.arraycopy(this.order, 0, this.hull, 0, count);
+				return count;
+			}
+
+			int size = 0;
+
+			// Lower hull
+			for(int i = 0; i < count; i++) {
+				int p = this.order[i];
+				while((size >= 2) && (cross(this.hull[size-2], this.hull[size-1], p) <= 0.0d)) {
+					size--;
+				}
+				this.hull[size++] = p;
+			}
+
+			// Upper hull
+			int lower = size + 1;
+			for(int i = count - 2; i >= 0; i--) {
+				int p = this.order[i];
+				while((size >= lower) && (cross(this.hull[size-2], this.hull[size-1], p) <= 0.0d)) {
+					size--;
+				}
+				this.hull[size++] = p;
+			}
+
+			// The first vertex is repeated at the end
+			return size - 1;
+		}
+
+		/**
+		 * Compute the minimal area rectangle that encloses the 2D convex hull using the rotating calipers.
+		 * @param size the number of 2D hull vertices.
+		 * @param direction the array that will contain the direction of the first rectangle side within the (u, v) plane.
+		 * @return the area of the minimal rectangle.
+		 */
+		private double minimalRectangle(int size, double[] direction) {
+
+			direction[0] = 1.0d;
+			direction[1] = 0.0d;
+
+			if (size < 2) {
+				return 0.0d;
+			}
+
+			if (size == 2) {
+				double dx = this.projectedU[this.hull[1]] - this.projectedU[this.hull[0]];
+				double dy = this.projectedV[this.hull[1]] - this.projectedV[this.hull[0]];
+				double length = Math.sqrt(dx*dx + dy*dy);
+				if (length > 0.0d) {
+					direction[0] = dx / length;
+					direction[1] = dy / length;
+				}
+				return 0.0d;
+			}
+
+			double bestArea = Double.POSITIVE_INFINITY;
+
+			// Calipers: the farthest vertex from the edge, the vertices with maximal and minimal projection along the edge
+			int far = -1;
+			int max = -1;
+			int min = -1;
+
+			for(int i = 0; i < size; i++) {
+				int a = this.hull[i];
+				int b = this.hull[(i+1) % size];
+
+				double ex = this.projectedU[b] - this.projectedU[a];
+				double ey = this.projectedV[b] - this.projectedV[a];
+				double length = Math.sqrt(ex*ex + ey*ey);
+
+				// The direction of an edge between coincident vertices is not significant and would move the calipers beyond the extremal vertices
+				if (length > MinimalOrientedBoundingBox.this.epsilon) {
+					ex /= length;
+					ey /= length;
+
+					// Inner normal of the edge (the hull is counter clockwise)
+					double nx = -ey;
+					double ny = ex;
+
+					if (far < 0) {
+						far = extremum(0, size, nx, ny);
+						max = extremum(0, size, ex, ey);
+						min = extremum(0, size, -ex, -ey);
+					} else {
+						far = advance(far, size, nx, ny);
+						max = advance(max, size, ex, ey);
+						min = advance(min, size, -ex, -ey);
+					}
+
+					double width  = project(max, ex, ey) - project(min, ex, ey);
+					double height = project(far, nx, ny) - project(i, nx, ny);
+					double area   = width * height;
+
+					if (area < bestArea) {
+						bestArea = area;
+						direction[0] = ex;
+						direction[1] = ey;
+					}
+				}
+			}
+
+			return bestArea;
+		}
+
+		/**
+		 * Get the position within the 2D hull of the vertex that has the maximal projection along the given direction.
+		 * @param from the first position.
+		 * @param size the number of 2D hull vertices.
+		 * @param dx the direction x coordinate.
+		 * @param dy the direction y coordinate.
+		 * @return the position of the vertex that has the maximal projection.
+		 */
+		private int extremum(int from, int size, double dx, double dy) {
+			int best = from;
+			double bestProjection = project(from, dx, dy);
+			for(int i = 1; i < size; i++) {
+				int position = (from + i) % size;
+				double projection = project(position, dx, dy);
+				if (projection > bestProjection) {
+					bestProjection = projection;
+					best = position;
+				}
+			}
+			return best;
+		}
+
+		/**
+		 * Advance a caliper along the 2D hull while the projection along the given direction increases.
+		 * @param from the current caliper position.
+		 * @param size the number of 2D hull vertices.
+		 * @param dx the direction x coordinate.
+		 * @param dy the direction y coordinate.
+		 * @return the new caliper position.
+		 */
+		private int advance(int from, int size, double dx, double dy) {
+			int position = from;
+			for(int step = 0; step < size; step++) {
+				int next = (position + 1) % size;
+				if (project(next, dx, dy) > project(position, dx, dy)) {
+					position = next;
+				} else {
+					return position;
+				}
+			}
+			return position;
+		}
+
+		/**
+		 * Project the 2D hull vertex at the given position along the given direction.
+		 * @param position the position of the vertex within the 2D hull.
+		 * @param dx the direction x coordinate.
+		 * @param dy the direction y coordinate.
+		 * @return the projection of the vertex.
+		 */
+		private double project(int position, double dx, double dy) {
+			int vertex = this.hull[position];
+			return this.projectedU[vertex]*dx + this.projectedV[vertex]*dy;
+		}
+
+		/**
+		 * Compute the 2D cross product <code>(b - a) x (c - a)</code> of projected vertices.
+		 * @param a the first vertex.
+		 * @param b the second vertex.
+		 * @param c the third vertex.
+		 * @return the cross product.
+		 */
+		private double cross(int a, int b, int c) {
+			return (this.projectedU[b] - this.projectedU[a]) * (this.projectedV[c] - this.projectedV[a])
+					- (this.projectedV[b] - this.projectedV[a]) * (this.projectedU[c] - this.projectedU[a]);
+		}
+
+		/**
+		 * Sort the given vertex indices by increasing projected coordinates.
+		 * @param indices the indices to sort.
+		 * @param low the first position to sort (included).
+		 * @param high the last position to sort (included).
+		 */
+		private void sort(int[] indices, int low, int high) {
+
+			int lo = low;
+			int hi = high;
+
+			while(hi - lo > 16) {
+				int pivot = indices[(lo + hi) >>> 1];
+				int i = lo;
+				int j = hi;
+				while(i <= j) {
+					while(compare(indices[i], pivot) < 0) {
+						i++;
+					}
+					while(compare(indices[j], pivot) > 0) {
+						j--;
+					}
+					if (i <= j) {
+						int tmp = indices[i];
+						indices[i] = indices[j];
+						indices[j] = tmp;
+						i++;
+						j--;
+					}
+				}
+
+				// Recurse on the smallest part
+				if (j - lo < hi - i) {
+					sort(indices, lo, j);
+					lo = i;
+				} else {
+					sort(indices, i, hi);
+					hi = j;
+				}
+			}
+
+			for(int i = lo + 1; i <= hi; i++) {
+				int value = indices[i];
+				int j = i - 1;
+				while((j >= lo) && (compare(indices[j], value) > 0)) {
+					indices[j+1] = indices[j];
+					j--;
+				}
+				indices[j+1] = value;
+			}
+		}
+
+		/**
+		 * Compare two vertices according to their projected coordinates.
+		 * @param a the first vertex.
+		 * @param b the second vertex.
+		 * @return a negative value, zero or a positive value if the first vertex is lesser, equal or greater than the second.
+		 */
+		private int compare(int a, int b) {
+			int result = Double.compare(this.projectedU[a], this.projectedU[b]);
+			if (result == 0) {
+				result = Double.compare(this.projectedV[a], this.projectedV[b]);
+			}
+			return result;
+		}
+	}
+
+}
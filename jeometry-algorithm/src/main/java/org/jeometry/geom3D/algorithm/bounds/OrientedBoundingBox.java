@@ -0,0 +1,185 @@
+package org.jeometry.geom3D.algorithm.bounds;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.mesh.Mesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+
+/**
+ * A compact representation of an oriented bounding box (OBB).
+ * A box is described by its center, three orthonormal axes and the half extents of the box along each axis.
+ * The data are stored within primitive arrays and a box can be converted to a {@link Mesh mesh} using {@link #toMesh()}.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class OrientedBoundingBox {
+
+	/**
+	 * The center of the box, as a <code>double[3]</code> array.
+	 */
+	private double[] center      = null;
+
+	/**
+	 * The axes of the box, as a <code>double[9]</code> array. The axis <code>i</code> is stored from offset <code>3*i</code>.
+	 */
+	private double[] axes        = null;
+
+	/**
+	 * The half extents of the box along its axes, as a <code>double[3]</code> array.
+	 */
+	private double[] halfExtents = null;
+
+	/**
+	 * Create a new oriented bounding box. The given arrays are copied.
+	 * @param center the center of the box, as a <code>double[3]</code> array.
+	 * @param axes the axes of the box, as a <code>double[9]</code> array where the axis <code>i</code> is stored from offset <code>3*i</code>. The axes have to be orthonormal.
+	 * @param halfExtents the half extents of the box along its axes, as a <code>double[3]</code> array.
+	 * @throws IllegalArgumentException if the arrays have not the expected length.
+	 */
+	public OrientedBoundingBox(double[] center, double[] axes, double[] halfExtents) {
+
+		if ((center == null) || (center.length != 3) || (axes == null) || (axes.length != 9) || (halfExtents == null) || (halfExtents.length != 3)) {
+			throw new IllegalArgumentException("Invalid box description, expected center[3], axes[9] and half extents[3].");
+		}
+
+		this.center      = center.clone();
+		this.axes        = axes.clone();
+		this.halfExtents = halfExtents.clone();
+	}
+
+	/**
+	 * Get the center of the box. The returned array is the internal one and should not be modified.
+	 * @return the center of the box, as a <code>double[3]</code> array.
+	 */
+	public double[] getCenter() {
+		return this.center;
+	}
+
+	/**
+	 * Get the axes of the box. The returned array is the internal one and should not be modified.
+	 * @return the axes of the box, as a <code>double[9]</code> array where the axis <code>i</code> is stored from offset <code>3*i</code>.
+	 */
+	public double[] getAxes() {
+		return this.axes;
+	}
+
+	/**
+	 * Get the half extents of the box along its axes. The returned array is the internal one and should not be modified.
+	 * @return the half extents of the box, as a <code>double[3]</code> array.
+	 */
+	public double[] getHalfExtents() {
+		return this.halfExtents;
+	}
+
+	/**
+	 * Get the given axis of the box.
+	 * @param index the index of the axis (0, 1 or 2).
+	 * @param axis the array that will contain the axis coordinates (at least <code>double[3]</code>).
+	 * @return the given array filled with the axis coordinates.
+	 */
+	public double[] getAxis(int index, double[] axis) {
+		axis[0] = this.axes[3*index];
+		axis[1] = this.axes[3*index+1];
+		axis[2] = this.axes[3*index+2];
+		return axis;
+	}
+
+	/**
+	 * Get the volume of the box.
+	 * @return the volume of the box.
+	 */
+	public double getVolume() {
+		return 8.0d * this.halfExtents[0] * this.halfExtents[1] * this.halfExtents[2];
+	}
+
+	/**
+	 * Get the area of the box surface.
+	 * @return the area of the box surface.
+	 */
+	public double getArea() {
+		return 8.0d * (this.halfExtents[0]*this.halfExtents[1] + this.halfExtents[1]*this.halfExtents[2] + this.halfExtents[0]*this.halfExtents[2]);
+	}
+
+	/**
+	 * Check if the given point is within the box.
+	 * @param x the point x coordinate.
+	 * @param y the point y coordinate.
+	 * @param z the point z coordinate.
+	 * @param tolerance the distance from the box boundary under which an outer point is considered as within the box.
+	 * @return <code>true</code> if the point is within the box and <code>false</code> otherwise.
+	 */
+	public boolean contains(double x, double y, double z, double tolerance) {
+
+		double dx = x - this.center[0];
+		double dy = y - this.center[1];
+		double dz = z - this.center[2];
+
+		for(int i = 0; i < 3; i++) {
+			double projection = dx*this.axes[3*i] + dy*this.axes[3*i+1] + dz*this.axes[3*i+2];
+			if (Math.abs(projection) > this.halfExtents[i] + tolerance) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Compute the corners of the box. The corner <code>c</code> is stored from offset <code>3*c</code> and is located at
+	 * <code>center + s0*e0*axis0 + s1*e1*axis1 + s2*e2*axis2</code> where <code>si</code> is <code>-1</code> if the bit <code>i</code> of <code>c</code> is not set and <code>+1</code> otherwise.
+	 * @param corners the array that will contain the corners (at least <code>double[24]</code>).
+	 * @return the given array filled with the corners coordinates.
+	 */
+	public double[] getCorners(double[] corners) {
+
+		for(int c = 0; c < 8; c++) {
+			double s0 = ((c & 1) != 0 ? 1.0d : -1.0d) * this.halfExtents[0];
+			double s1 = ((c & 2) != 0 ? 1.0d : -1.0d) * this.halfExtents[1];
+			double s2 = ((c & 4) != 0 ? 1.0d : -1.0d) * this.halfExtents[2];
+
+			for(int k = 0; k < 3; k++) {
+				corners[3*c+k] = this.center[k] + s0*this.axes[k] + s1*this.axes[3+k] + s2*this.axes[6+k];
+			}
+		}
+
+		return corners;
+	}
+
+	/**
+	 * Create a {@link Mesh mesh} that represents this box. The mesh is made of 6 quadrilateral faces.
+	 * @return a mesh that represents this box.
+	 */
+	public Mesh<Point3D> toMesh() {
+
+		double[] corners = getCorners(new double[24]);
+
+		Point3D[] vertices = new Point3D[8];
+		for(int c = 0; c < 8; c++) {
+			vertices[c] = JeometryFactory.createPoint3D(corners[3*c], corners[3*c+1], corners[3*c+2]);
+		}
+
+		// The faces, described by their corners, ordered so that the normals are oriented toward the outside when the axes are direct
+		int[][] faces = new int[][] {{0, 2, 3, 1}, {4, 5, 7, 6}, {0, 1, 5, 4}, {2, 6, 7, 3}, {0, 4, 6, 2}, {1, 3, 7, 5}};
+
+		Mesh<Point3D> mesh = JeometryFactory.createMesh();
+
+		for(int[] face : faces) {
+			Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(4);
+			for(int corner : face) {
+				points.add(vertices[corner]);
+			}
+			mesh.addFace(JeometryFactory.createMeshFace(mesh, points));
+		}
+
+		return mesh;
+	}
+
+	@Override
+	public String toString() {
+		return "OrientedBoundingBox[center=("+this.center[0]+", "+this.center[1]+", "+this.center[2]+"), "
+				+ "axes=(("+this.axes[0]+", "+this.axes[1]+", "+this.axes[2]+"), ("+this.axes[3]+", "+this.axes[4]+", "+this.axes[5]+"), ("+this.axes[6]+", "+this.axes[7]+", "+this.axes[8]+")), "
+				+ "half extents=("+this.halfExtents[0]+", "+this.halfExtents[1]+", "+this.halfExtents[2]+")]";
+	}
+}
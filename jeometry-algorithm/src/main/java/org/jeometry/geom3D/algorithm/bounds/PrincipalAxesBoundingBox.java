@@ -0,0 +1,232 @@
+package org.jeometry.geom3D.algorithm.bounds;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.algorithm.ParallelRange;
+import org.jeometry.geom3D.algorithm.convexhull.quickhull.QuickHull;
+import org.jeometry.geom3D.algorithm.fitting.MomentAccumulator;
+import org.jeometry.geom3D.algorithm.fitting.SymmetricEigen3x3;
+import org.jeometry.geom3D.mesh.Face;
+import org.jeometry.geom3D.mesh.Mesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+
+/**
+ * Compute an oriented bounding box whose axes are the principal axes of a point set.<br><br>
+ * The covariance matrix of the points is computed within a single pass over the points (see {@link MomentAccumulator}), its eigenvectors (obtained from
+ * {@link SymmetricEigen3x3}) are the box axes and the box extents are computed by projecting the points onto these axes within a second pass.
+ * Both passes are split over contiguous ranges of points that are processed concurrently and do not allocate memory for each point.<br><br>
+ * The obtained box is generally not the minimal one (see {@link MinimalOrientedBoundingBox}) but its computation is linear in the number of points.
+ * As the principal axes are sensitive to the points density, the covariance can be computed from the {@link #computeFromHull(Mesh) convex hull vertices} only.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class PrincipalAxesBoundingBox {
+
+	/**
+	 * The minimal number of points that a parallel task has to process.
+	 */
+	static final int MINIMAL_CHUNK_SIZE = 65536;
+
+	/**
+	 * Compute the principal axes bounding box of the given points using as many threads as available processors.
+	 * @param points the points to enclose.
+	 * @return the principal axes bounding box or <code>null</code> if the points are <code>null</code> or empty.
+	 * @see #compute(Point3DContainer, boolean, int)
+	 */
+	public static OrientedBoundingBox compute(Point3DContainer<? extends Point3D> points) {
+		return compute(points, false, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Compute the principal axes bounding box of the given points.
+	 * @param points the points to enclose.
+	 * @param parallelism the maximal number of threads to use.
+	 * @return the principal axes bounding box or <code>null</code> if the points are <code>null</code> or empty.
+	 * @see #compute(Point3DContainer, boolean, int)
+	 */
+	public static OrientedBoundingBox compute(Point3DContainer<? extends Point3D> points, int parallelism) {
+		return compute(points, false, parallelism);
+	}
+
+	/**
+	 * Compute the principal axes bounding box of the given points.
+	 * If <code>useConvexHull</code> is set to <code>true</code>, the convex hull of the points is computed using {@link QuickHull}
+	 * and only its vertices are used (see {@link #computeFromHull(Mesh)}).
+	 * @param points the points to enclose.
+	 * @param useConvexHull <code>true</code> if only the convex hull vertices have to be used and <code>false</code> otherwise.
+	 * @param parallelism the maximal number of threads to use.
+	 * @return the principal axes bounding box or <code>null</code> if the points are <code>null</code> or empty.
+	 * @throws IllegalArgumentException if the parallelism is lesser than 1.
+	 */
+	public static OrientedBoundingBox compute(Point3DContainer<? extends Point3D> points, boolean useConvexHull, int parallelism) {
+
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+		}
+
+		if ((points == null) || (points.size() < 1)) {
+			return null;
+		}
+
+		if (useConvexHull && (points.size() > 3)) {
+			Mesh<? extends Point3D> convexHull = QuickHull.computeConvexHull(points, true);
+			if (convexHull != null) {
+				return computeFromHull(convexHull);
+			}
+		}
+
+		return computeBox(points, parallelism);
+	}
+
+	/**
+	 * Compute the principal axes bounding box of the given convex hull. Only the hull vertices are used for computing the covariance,
+	 * that makes the box axes independent of the density of the points within the hull.
+	 * @param convexHull the convex hull of the points to enclose.
+	 * @return the principal axes bounding box or <code>null</code> if the hull is <code>null</code> or has no face.
+	 */
+	public static OrientedBoundingBox computeFromHull(Mesh<? extends Point3D> convexHull) {
+
+		if ((convexHull == null) || (convexHull.getFaces() == null) || (convexHull.getFaces().size() < 1)) {
+			return null;
+		}
+
+		Map<Point3D, Boolean> visited = new IdentityHashMap<Point3D, Boolean>();
+		Point3DContainer<Point3D> vertices = JeometryFactory.createPoint3DContainer();
+
+		for(Face<? extends Point3D> face : convexHull.getFaces()) {
+			Point3DContainer<? extends Point3D> faceVertices = face.getVertices();
+			for(int i = 0; i < faceVertices.size(); i++) {
+				Point3D vertex = faceVertices.get(i);
+				if (visited.put(vertex, Boolean.TRUE) == null) {
+					vertices.add(vertex);
+				}
+			}
+		}
+
+		return computeBox(vertices, 1);
+	}
+
+	/**
+	 * Compute the principal axes of the given points. The axes are sorted by decreasing variance and form a direct orthonormal frame.
+	 * @param points the points.
+	 * @param parallelism the maximal number of threads to use.
+	 * @param axes the array that will contain the axes, the axis <code>i</code> is stored from offset <code>3*i</code> (at least <code>double[9]</code>).
+	 * @return the given array filled with the axes or <code>null</code> if the points are <code>null</code> or empty.
+	 * @throws IllegalArgumentException if the parallelism is lesser than 1.
+	 */
+	public static double[] computePrincipalAxes(Point3DContainer<? extends Point3D> points, int parallelism, double[] axes) {
+
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+		}
+
+		if ((points == null) || (points.size() < 1)) {
+			return null;
+		}
+
+		return MomentAccumulator.accumulate(points, parallelism).getPrincipalAxes(new double[3], axes);
+	}
+
+	/**
+	 * Compute the principal axes bounding box of the given points.
+	 * @param points the points to enclose.
+	 * @param parallelism the maximal number of threads to use.
+	 * @return the principal axes bounding box.
+	 */
+	private static OrientedBoundingBox computeBox(Point3DContainer<? extends Point3D> points, int parallelism) {
+
+		final double[] axes = computePrincipalAxes(points, parallelism, new double[9]);
+
+		double[] extents = new double[] {Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+				Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+				Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+
+		int chunks = ParallelRange.chunks(points.size(), MINIMAL_CHUNK_SIZE, parallelism);
+
+		List<double[]> partials = ParallelRange.map(points.size(), chunks, (from, to) -> {
+			double[] result = new double[6];
+			project(points, from, to, axes, result);
+			return result;
+		});
+
+		for(double[] partial : partials) {
+			for(int i = 0; i < 3; i++) {
+				extents[2*i]   = Math.min(extents[2*i], partial[2*i]);
+				extents[2*i+1] = Math.max(extents[2*i+1], partial[2*i+1]);
+			}
+		}
+
+		double[] center = new double[3];
+		double[] halfExtents = new double[3];
+		for(int i = 0; i < 3; i++) {
+			double middle = 0.5d * (extents[2*i] + extents[2*i+1]);
+			halfExtents[i] = 0.5d * (extents[2*i+1] - extents[2*i]);
+			center[0] += middle * axes[3*i];
+			center[1] += middle * axes[3*i+1];
+			center[2] += middle * axes[3*i+2];
+		}
+
+		return new OrientedBoundingBox(center, axes, halfExtents);
+	}
+
+	/**
+	 * Compute the minimal and maximal projections of the points within the given range onto the given axes.
+	 * @param points the points.
+	 * @param from the first point (included).
+	 * @param to the last point (excluded).
+	 * @param axes the axes, as a <code>double[9]</code> array.
+	 * @param extents the extents, as a <code>double[6]</code> array (min0, max0, min1, max1, min2, max2).
+	 */
+	private static void project(Point3DContainer<? extends Point3D> points, int from, int to, double[] axes, double[] extents) {
+
+		double min0 = Double.POSITIVE_INFINITY;
+		double min1 = Double.POSITIVE_INFINITY;
+		double min2 = Double.POSITIVE_INFINITY;
+		double max0 = Double.NEGATIVE_INFINITY;
+		double max1 = Double.NEGATIVE_INFINITY;
+		double max2 = Double.NEGATIVE_INFINITY;
+
+		for(int i = from; i < to; i++) {
+			Point3D point = points.get(i);
+			double x = point.getX();
+			double y = point.getY();
+			double z = point.getZ();
+
+			double p0 = x*axes[0] + y*axes[1] + z*axes[2];
+			double p1 = x*axes[3] + y*axes[4] + z*axes[5];
+			double p2 = x*axes[6] + y*axes[7] + z*axes[8];
+
+			if (p0 < min0) {
+				min0 = p0;
+			}
+			if (p0 > max0) {
+				max0 = p0;
+			}
+			if (p1 < min1) {
+				min1 = p1;
+			}
+			if (p1 > max1) {
+				max1 = p1;
+			}
+			if (p2 < min2) {
+				min2 = p2;
+			}
+			if (p2 > max2) {
+				max2 = p2;
+			}
+		}
+
+		extents[0] = min0;
+		extents[1] = max0;
+		extents[2] = min1;
+		extents[3] = max1;
+		extents[4] = min2;
+		extents[5] = max2;
+	}
+}
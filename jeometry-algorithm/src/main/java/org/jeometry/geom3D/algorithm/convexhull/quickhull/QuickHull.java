@@ -1,15 +1,21 @@
 package org.jeometry.geom3D.algorithm.convexhull.quickhull;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.jeometry.Jeometry;
 import org.jeometry.factory.JeometryFactory;
 import org.jeometry.geom3D.Geom3D;
+import org.jeometry.geom3D.Predicates;
 import org.jeometry.geom3D.mesh.Edge;
 import org.jeometry.geom3D.mesh.Face;
 import org.jeometry.geom3D.mesh.Mesh;
+import org.jeometry.geom3D.mesh.indexed.IndexedTriangleMesh;
 import org.jeometry.geom3D.point.Point3D;
 import org.jeometry.geom3D.point.Point3DContainer;
 import org.jeometry.geom3D.primitive.Polygon3D;
@@ -52,7 +58,8 @@ public class QuickHull {
    * Returns the sign of the volume of the tetrahedron formed by a triangle and a vertex.  Volume sign is positive if and only if the vertex is
    * on the negative side of the triangle, where the positive side is
    * determined by the <a href="https://en.wikipedia.org/wiki/Right-hand_rule">right hand rule</a>.  So the volume is positive if the ccw
-   * normal to points outside the tetrahedron.  The final fewer-multiplications form is due to Bob Williamson.
+   * normal to points outside the tetrahedron. The sign is computed exactly using {@link Predicates#orient3d(Point3D, Point3D, Point3D, Point3D)},
+   * so that near coplanar vertices are not misclassified.
    * @param polygon the face of the mesh (should be a triangle)
    * @param p the vertex that form the tetrahedron.
    * @return -1, 0 or1 if vertex is respectively on the negative, coplanar or positive side of the triangle according to the right hand rule.
@@ -63,20 +70,8 @@ public class QuickHull {
     Point3D v2 = polygon.getVertices().get(1);
     Point3D v3 = polygon.getVertices().get(2);
 
-    double ax = v1.getX() - p.getX();
-    double ay = v1.getY() - p.getY();
-    double az = v1.getZ() - p.getZ();
-    double bx = v2.getX() - p.getX();
-    double by = v2.getY() - p.getY();
-    double bz = v2.getZ() - p.getZ();
-    double cx = v3.getX() - p.getX();
-    double cy = v3.getY() - p.getY();
-    double cz = v3.getZ() - p.getZ();
-
-    // Calcul du volume du tétraedre créé
-    double vol = ax * (by * cz - bz * cy)
-                 + ay * (bz * cx - bx * cz)
-                 + az * (bx * cy - by * cx);
+    // Calcul exact du signe du volume du tétraedre créé
+    double vol = Predicates.orient3d(v1, v2, v3, p);
 
     // Retourne le signe du volume
     if (vol > 0) {
@@ -88,6 +83,7 @@ public class QuickHull {
     }
   }
 
+
  
   /**
    * Compute the Akl-Toussain points from a set of points.
@@ -150,7 +146,7 @@ public class QuickHull {
     
     // Deuxieme parcours des points pour determiner les maximaux / minimaux
     aklToussaintPoints = JeometryFactory.createPoint3DContainer();
-    for(int i = 1; i < points.size(); i++ ){
+    for(int i = 0; i < points.size(); i++ ){
       pt = points.get(i);
       
       if (pt.getX() <= xmin){
@@ -199,10 +195,16 @@ public class QuickHull {
       convexHull = computeConvexHull(aklToussaintPoints, false);
       
       if (convexHull != null){
+        // The extreme points lie on the boundary of their own hull and have to be kept
+        Set<T> extremes = Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+        for(int i = 0; i < aklToussaintPoints.size(); i++){
+          extremes.add(aklToussaintPoints.get(i));
+        }
+
         filteredVertices = JeometryFactory.createPoint3DContainer();
         for(int i = 0; i < points.size(); i++){
           pt = points.get(i);
-          if (!Geom3D.contains(convexHull, pt)){
+          if (extremes.contains(pt) || !Geom3D.contains(convexHull, pt)){
             filteredVertices.add(pt);
           }
           pt = null;
@@ -269,6 +271,7 @@ public class QuickHull {
     for(int i = 0; i< visEdges.size(); i++){
       Edge<T> edge = visEdges.get(i);
 
+      points = JeometryFactory.createPoint3DContainer(3);
       points.add(edge.getVertices().get(0));
       points.add(edge.getVertices().get(1));
       points.add(vertex);
@@ -493,7 +496,51 @@ public class QuickHull {
     return convexHull;
   }
 
-  
+  /**
+   * Compute the convex hull of the given points as an {@link IndexedTriangleMesh indexed triangle mesh} that relies on the given points as vertices source.
+   * The hull is computed using {@link #computeConvexHull(Point3DContainer, boolean)} and its faces are then stored within a single <code>int[3*F]</code> array
+   * (the faces with more than 3 vertices are triangulated as fans from their first vertex), so that the returned mesh does not retain one object per face.
+   * @param <T> The type of underlying 3D points
+   * @param points the set of points used for computing the convex hull.
+   * @param useAklToussaint <code>true</code> if the algorithm has to use Akl-Toussaint heuristic or <code>false</code> otherwise.
+   * @return the computed convex hull or <code>null</code> if the hull cannot be computed.
+   * @since 2.0.1
+   */
+  public static <T extends Point3D> IndexedTriangleMesh<T> computeIndexedConvexHull(Point3DContainer<T> points, boolean useAklToussaint){
 
-  
+    Mesh<T> convexHull = computeConvexHull(points, useAklToussaint);
+
+    if ((convexHull == null) || (convexHull.getFaces() == null)) {
+      return null;
+    }
+
+    // The hull vertices are the given points themselves
+    Map<Point3D, Integer> indices = new IdentityHashMap<Point3D, Integer>(points.size());
+    for(int i = 0; i < points.size(); i++) {
+      indices.putIfAbsent(points.get(i), i);
+    }
+
+    int count = 0;
+    for(Face<T> face : convexHull.getFaces()) {
+      if ((face.getVertices() != null) && (face.getVertices().size() > 2)) {
+        count += face.getVertices().size() - 2;
+      }
+    }
+
+    int[] triangles = new int[3*count];
+    int offset = 0;
+    for(Face<T> face : convexHull.getFaces()) {
+      Point3DContainer<T> vertices = face.getVertices();
+      if ((vertices != null) && (vertices.size() > 2)) {
+        int first = indices.get(vertices.get(0));
+        for(int i = 1; i < vertices.size() - 1; i++) {
+          triangles[offset++] = first;
+          triangles[offset++] = indices.get(vertices.get(i));
+          triangles[offset++] = indices.get(vertices.get(i+1));
+        }
+      }
+    }
+
+    return JeometryFactory.createIndexedTriangleMesh(triangles, count, points);
+  }
 }
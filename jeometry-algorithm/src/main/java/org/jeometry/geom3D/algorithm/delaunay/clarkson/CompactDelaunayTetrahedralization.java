@@ -0,0 +1,583 @@
+package org.jeometry.geom3D.algorithm.delaunay.clarkson;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.Predicates;
+import org.jeometry.geom3D.mesh.indexed.IndexedTriangleMesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+
+/**
+ * A compact, array based, Delaunay tetrahedralization.<br><br>
+ * Contrary to {@link DelaunayTetrahedralization}, this representation does not rely on one object per tetrahedron.
+ * Tetrahedra are identified by their index <code>t</code> and the representation relies on:
+ * <ul>
+ * <li>an <code>int[4*T]</code> vertex table, where the vertex <code>i</code> of the tetrahedron <code>t</code> is stored at <code>4*t+i</code>;
+ * <li>an <code>int[4*T]</code> neighbor table, where the neighbor stored at <code>4*t+i</code> is the tetrahedron that shares the face opposite to the vertex <code>i</code> of <code>t</code> (<code>-1</code> if no neighbor exists);
+ * <li>an <code>int[V]</code> vertex table that store, for each vertex, the index of one of its incident tetrahedra (<code>-1</code> if the vertex is not used).
+ * </ul>
+ * Vertices are identified by their index within the {@link #getPoints() points}. The indices that are greater or equal to the number of points
+ * denote the {@link #getInfinitePoints() infinite points}, if any.<br><br>
+ * The tetrahedra that are incident to a vertex or to an edge can be enumerated without allocation using a {@link VertexStarCirculator} or an {@link EdgeRingCirculator}.
+ * As these circulators walk through the neighborhood, the star of a vertex is expected to be connected through faces. It may not be the case if
+ * degenerated tetrahedra lie on the convex hull and infinite tetrahedra are filtered.
+ * @param <T> The type of underlying 3D points
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class CompactDelaunayTetrahedralization<T extends Point3D> {
+
+  /**
+   * The points.
+   */
+  private Point3DContainer<T> points = null;
+
+  /**
+   * The infinite points.
+   */
+  private Point3D[] infinitePoints   = null;
+
+  /**
+   * The tetrahedra vertex indices (4 per tetrahedron).
+   */
+  private int[] tetrahedra           = null;
+
+  /**
+   * The tetrahedra neighbor indices (4 per tetrahedron).
+   */
+  private int[] neighbors            = null;
+
+  /**
+   * For each vertex, the index of an incident tetrahedron.
+   */
+  private int[] vertexTetrahedra     = null;
+
+  /**
+   * The Voronoi extractor used by the dual queries.
+   */
+  private VoronoiExtractor<T> voronoi  = null;
+
+  /**
+   * The index of each point, built on the first point based query.
+   */
+  private Map<Point3D, Integer> pointIndices = null;
+
+  /**
+   * Create a new compact Delaunay tetrahedralization.
+   * @param points the points that are the vertices of the tetrahedralization.
+   * @param infinitePoints the infinite points, that are referenced by the vertex indices greater or equal to the points count (can be <code>null</code>).
+   * @param tetrahedra the tetrahedra vertex indices, as an <code>int[4*T]</code> array.
+   * @param neighbors the tetrahedra neighbor indices, as an <code>int[4*T]</code> array. The neighbor stored at <code>4*t+i</code> shares the face opposite to the vertex <code>i</code> of <code>t</code>.
+   * @throws IllegalArgumentException if the arrays are not consistent.
+   */
+  public CompactDelaunayTetrahedralization(Point3DContainer<T> points, Point3D[] infinitePoints, int[] tetrahedra, int[] neighbors){
+
+    if ((points == null) || (tetrahedra == null) || (neighbors == null)) {
+      throw new IllegalArgumentException("Points, tetrahedra and neighbors cannot be null.");
+    }
+
+    if ((tetrahedra.length % 4 != 0) || (tetrahedra.length != neighbors.length)) {
+      throw new IllegalArgumentException("Invalid tetrahedra ("+tetrahedra.length+") and neighbors ("+neighbors.length+") length, expected the same multiple of 4.");
+    }
+
+    this.points         = points;
+    this.infinitePoints = infinitePoints;
+    this.tetrahedra     = tetrahedra;
+    this.neighbors      = neighbors;
+
+    this.vertexTetrahedra = new int[getVertexCount()];
+    Arrays.fill(this.vertexTetrahedra, -1);
+
+    // Prefer incident tetrahedra that are linked to their neighbors around the vertex
+    byte[] links = new byte[this.vertexTetrahedra.length];
+
+    for(int i = 0; i < tetrahedra.length; i++) {
+      int vertex = tetrahedra[i];
+
+      if (links[vertex] < 3) {
+        byte linked = 0;
+        for(int j = (i & ~3); j < (i & ~3) + 4; j++) {
+          if ((j != i) && (neighbors[j] > -1)) {
+            linked++;
+          }
+        }
+
+        if ((this.vertexTetrahedra[vertex] == -1) || (linked > links[vertex])) {
+          this.vertexTetrahedra[vertex] = i >> 2;
+          links[vertex] = linked;
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the points (vertices) that compose the tetrahedralized space.
+   * @return the points (vertices) that compose the tetrahedralized space.
+   */
+  public Point3DContainer<T> getPoints(){
+    return this.points;
+  }
+
+  /**
+   * Get the infinite points, that are referenced by the vertex indices greater or equal to the {@link #getPoints() points} count.
+   * @return the infinite points or <code>null</code> if no infinite point is used.
+   */
+  public Point3D[] getInfinitePoints(){
+    return this.infinitePoints;
+  }
+
+  /**
+   * Get the number of vertices, including the infinite ones.
+   * @return the number of vertices.
+   */
+  public int getVertexCount() {
+    return this.points.size() + (this.infinitePoints != null ? this.infinitePoints.length : 0);
+  }
+
+  /**
+   * Get the number of tetrahedra.
+   * @return the number of tetrahedra.
+   */
+  public int getTetrahedronCount() {
+    return this.tetrahedra.length >> 2;
+  }
+
+  /**
+   * Get the tetrahedra vertex table. The vertex <code>i</code> of the tetrahedron <code>t</code> is stored at <code>4*t+i</code>.
+   * The returned array is the internal one and should not be modified.
+   * @return the tetrahedra vertex table.
+   */
+  public int[] getTetrahedra() {
+    return this.tetrahedra;
+  }
+
+  /**
+   * Get the tetrahedra neighbor table. The neighbor stored at <code>4*t+i</code> is the tetrahedron that shares
+   * the face opposite to the vertex <code>i</code> of <code>t</code> (<code>-1</code> if no neighbor exists).
+   * The returned array is the internal one and should not be modified.
+   * @return the tetrahedra neighbor table.
+   */
+  public int[] getNeighbors() {
+    return this.neighbors;
+  }
+
+  /**
+   * Get the vertex to tetrahedron table. The value stored at <code>v</code> is the index of a tetrahedron that is incident to the vertex <code>v</code> (<code>-1</code> if none).
+   * The returned array is the internal one and should not be modified.
+   * @return the vertex to tetrahedron table.
+   */
+  public int[] getVertexTetrahedra() {
+    return this.vertexTetrahedra;
+  }
+
+  /**
+   * Get the index of the vertex at the given position within the given tetrahedron.
+   * @param tetrahedron the tetrahedron index.
+   * @param position the position of the vertex within the tetrahedron (between 0 and 3).
+   * @return the index of the vertex.
+   */
+  public int getVertex(int tetrahedron, int position) {
+    return this.tetrahedra[4*tetrahedron + position];
+  }
+
+  /**
+   * Get the neighbor of the given tetrahedron that shares its face opposite to the vertex at the given position.
+   * @param tetrahedron the tetrahedron index.
+   * @param position the position of the vertex in front of the shared face (between 0 and 3).
+   * @return the index of the neighbor or <code>-1</code> if no neighbor exists.
+   */
+  public int getNeighbor(int tetrahedron, int position) {
+    return this.neighbors[4*tetrahedron + position];
+  }
+
+  /**
+   * Get the index of a tetrahedron that is incident to the given vertex.
+   * @param vertex the vertex index.
+   * @return the index of a tetrahedron that is incident to the given vertex or <code>-1</code> if none.
+   */
+  public int getIncidentTetrahedron(int vertex) {
+    return this.vertexTetrahedra[vertex];
+  }
+
+  /**
+   * Get the position of the given vertex within the given tetrahedron.
+   * @param tetrahedron the tetrahedron index.
+   * @param vertex the vertex index.
+   * @return the position of the vertex (between 0 and 3) or <code>-1</code> if the vertex does not belong to the tetrahedron.
+   */
+  public int getPosition(int tetrahedron, int vertex) {
+    int offset = 4*tetrahedron;
+    for(int i = 0; i < 4; i++) {
+      if (this.tetrahedra[offset+i] == vertex) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Check if the given vertex is an infinite one.
+   * @param vertex the vertex index.
+   * @return <code>true</code> if the vertex is infinite and <code>false</code> otherwise.
+   */
+  public boolean isInfiniteVertex(int vertex) {
+    return vertex >= this.points.size();
+  }
+
+  /**
+   * Check if the given tetrahedron is infinite, that is one of its vertices is an infinite one.
+   * @param tetrahedron the tetrahedron index.
+   * @return <code>true</code> if the tetrahedron is infinite and <code>false</code> otherwise.
+   */
+  public boolean isInfinite(int tetrahedron) {
+    int n = this.points.size();
+    int offset = 4*tetrahedron;
+    return (this.tetrahedra[offset] >= n) || (this.tetrahedra[offset+1] >= n) || (this.tetrahedra[offset+2] >= n) || (this.tetrahedra[offset+3] >= n);
+  }
+
+  /**
+   * Get the point that correspond to the given vertex.
+   * @param vertex the vertex index.
+   * @return the point that correspond to the given vertex.
+   */
+  public Point3D getPoint(int vertex) {
+    if (vertex < this.points.size()) {
+      return this.points.get(vertex);
+    }
+
+    return this.infinitePoints[vertex - this.points.size()];
+  }
+
+  /**
+   * Create the {@link IndexedTriangleMesh indexed triangle mesh} that bounds the finite tetrahedra, that is the convex hull of the points when the tetrahedralization is complete.
+   * A face of a finite tetrahedron belongs to the boundary if it has no neighbor or if its neighbor is infinite. As the boundary is convex, the triangles are oriented
+   * so that their normal (right hand rule) points away from the points centroid. This is more robust than an orientation against the opposite vertex of the tetrahedron,
+   * as the flat tetrahedra that lie on the hull may be inverted once the points are scaled back from the computation.
+   * The triangles are stored within a single <code>int[3*F]</code> array and the returned mesh relies on the {@link #getPoints() points} as vertices source.
+   * @return the boundary of the finite tetrahedra.
+   */
+  public IndexedTriangleMesh<T> createBoundaryMesh() {
+
+    int[] triangles = new int[3*16];
+    int count = 0;
+
+    double cx = 0.0d;
+    double cy = 0.0d;
+    double cz = 0.0d;
+    for(int i = 0; i < this.points.size(); i++) {
+      Point3D point = this.points.get(i);
+      cx = cx + (point.getX() - cx) / (i + 1);
+      cy = cy + (point.getY() - cy) / (i + 1);
+      cz = cz + (point.getZ() - cz) / (i + 1);
+    }
+
+    for(int t = 0; t < getTetrahedronCount(); t++) {
+
+      if (!isInfinite(t)) {
+        for(int i = 0; i < 4; i++) {
+          int neighbor = this.neighbors[4*t+i];
+
+          if ((neighbor < 0) || isInfinite(neighbor)) {
+
+            int a = this.tetrahedra[4*t + ((i+1) & 3)];
+            int b = this.tetrahedra[4*t + ((i+2) & 3)];
+            int c = this.tetrahedra[4*t + ((i+3) & 3)];
+
+            Point3D pa = this.points.get(a);
+            Point3D pb = this.points.get(b);
+            Point3D pc = this.points.get(c);
+
+            // The centroid has to lie on the negative side of the face (below the face according to the predicate)
+            double orientation = Predicates.orient3d(pa.getX(), pa.getY(), pa.getZ(), pb.getX(), pb.getY(), pb.getZ(),
+                                                     pc.getX(), pc.getY(), pc.getZ(), cx, cy, cz);
+
+            if (orientation < 0.0d) {
+              int tmp = b;
+              b = c;
+              c = tmp;
+            }
+
+            if (3*count + 3 > triangles.length) {
+              triangles = Arrays.copyOf(triangles, 2*triangles.length);
+            }
+
+            triangles[3*count]   = a;
+            triangles[3*count+1] = b;
+            triangles[3*count+2] = c;
+            count++;
+          }
+        }
+      }
+    }
+
+    return JeometryFactory.createIndexedTriangleMesh(triangles, count, this.points);
+  }
+
+  /**
+   * Count the interior faces that are not locally Delaunay. A face shared by two finite tetrahedra is locally Delaunay if the vertex of one tetrahedron
+   * that is opposite to the face does not lie strictly inside the circumscribed sphere of the other tetrahedron. As a tetrahedralization
+   * whose faces are all locally Delaunay is a Delaunay tetrahedralization, this method certifies a result without recomputing it.
+   * The tests rely on the exact {@link Predicates#insphere(double, double, double, double, double, double, double, double, double, double, double, double, double, double, double) insphere}
+   * and {@link Predicates#orient3d(double, double, double, double, double, double, double, double, double, double, double, double) orient3d} predicates,
+   * so that cospherical configurations are not reported. The flat tetrahedra are ignored. As the Clarkson engine works on rounded coordinates,
+   * a few faces may be reported if the rounding multiplier used to compute the tetrahedralization is too small for the points.
+   * @return the number of interior faces that are not locally Delaunay.
+   */
+  public int countNonDelaunayFaces() {
+
+    int count = 0;
+
+    for(int t = 0; t < getTetrahedronCount(); t++) {
+
+      if (isInfinite(t)) {
+        continue;
+      }
+
+      Point3D a = this.points.get(this.tetrahedra[4*t]);
+      Point3D b = this.points.get(this.tetrahedra[4*t+1]);
+      Point3D c = this.points.get(this.tetrahedra[4*t+2]);
+      Point3D d = this.points.get(this.tetrahedra[4*t+3]);
+
+      double orientation = Predicates.orient3d(a, b, c, d);
+      if (orientation == 0.0d) {
+        continue;
+      }
+
+      for(int i = 0; i < 4; i++) {
+        int neighbor = this.neighbors[4*t+i];
+
+        // Each face is checked once, from its tetrahedron of lowest index
+        if ((neighbor <= t) || isInfinite(neighbor)) {
+          continue;
+        }
+
+        int opposite = -1;
+        for(int j = 0; (j < 4) && (opposite < 0); j++) {
+          int vertex = this.tetrahedra[4*neighbor+j];
+          if ((vertex != this.tetrahedra[4*t]) && (vertex != this.tetrahedra[4*t+1]) && (vertex != this.tetrahedra[4*t+2]) && (vertex != this.tetrahedra[4*t+3])) {
+            opposite = vertex;
+          }
+        }
+
+        if ((opposite >= 0) && (Predicates.insphere(a, b, c, d, this.points.get(opposite)) * orientation > 0.0d)) {
+          count++;
+        }
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Create a new circulator over the tetrahedra that are incident to a vertex.
+   * The circulator can be reused for any vertex of this tetrahedralization.
+   * @return a new circulator over the tetrahedra that are incident to a vertex.
+   */
+  public VertexStarCirculator createVertexStarCirculator() {
+    return new VertexStarCirculator(this);
+  }
+
+  /**
+   * Create a new circulator over the tetrahedra that are incident to an edge.
+   * The circulator can be reused for any edge of this tetrahedralization.
+   * @return a new circulator over the tetrahedra that are incident to an edge.
+   */
+  public EdgeRingCirculator createEdgeRingCirculator() {
+    return new EdgeRingCirculator(this);
+  }
+
+  /**
+   * Compute the circumcenter of the given tetrahedron, that is the Voronoi vertex dual to the tetrahedron.
+   * @param tetrahedron the tetrahedron index.
+   * @param center the array that will contain the circumcenter coordinates (<code>{x, y, z}</code>) from the given offset.
+   * @param offset the offset within the <code>center</code> array.
+   * @return <code>true</code> if the circumcenter has been computed and <code>false</code> if the tetrahedron is degenerated.
+   */
+  public boolean getCircumCenter(int tetrahedron, double[] center, int offset) {
+
+    Point3D p = getPoint(this.tetrahedra[4*tetrahedron]);
+    Point3D q = getPoint(this.tetrahedra[4*tetrahedron+1]);
+    Point3D r = getPoint(this.tetrahedra[4*tetrahedron+2]);
+    Point3D s = getPoint(this.tetrahedra[4*tetrahedron+3]);
+
+    // Translate p to origin to simplify the expression.
+    double qx = q.getX() - p.getX();
+    double qy = q.getY() - p.getY();
+    double qz = q.getZ() - p.getZ();
+    double rx = r.getX() - p.getX();
+    double ry = r.getY() - p.getY();
+    double rz = r.getZ() - p.getZ();
+    double sx = s.getX() - p.getX();
+    double sy = s.getY() - p.getY();
+    double sz = s.getZ() - p.getZ();
+
+    double q2 = qx*qx + qy*qy + qz*qz;
+    double r2 = rx*rx + ry*ry + rz*rz;
+    double s2 = sx*sx + sy*sy + sz*sz;
+
+    // r x s, s x q, q x r
+    double rsx = ry*sz - rz*sy;
+    double rsy = rz*sx - rx*sz;
+    double rsz = rx*sy - ry*sx;
+    double sqx = sy*qz - sz*qy;
+    double sqy = sz*qx - sx*qz;
+    double sqz = sx*qy - sy*qx;
+    double qrx = qy*rz - qz*ry;
+    double qry = qz*rx - qx*rz;
+    double qrz = qx*ry - qy*rx;
+
+    double denominator = 2.0d * (qx*rsx + qy*rsy + qz*rsz);
+
+    if (denominator == 0.0d) {
+      center[offset]   = Double.NaN;
+      center[offset+1] = Double.NaN;
+      center[offset+2] = Double.NaN;
+      return false;
+    }
+
+    center[offset]   = p.getX() + (q2*rsx + r2*sqx + s2*qrx) / denominator;
+    center[offset+1] = p.getY() + (q2*rsy + r2*sqy + s2*qry) / denominator;
+    center[offset+2] = p.getZ() + (q2*rsz + r2*sqz + s2*qrz) / denominator;
+
+    return true;
+  }
+
+  /**
+   * Outputs the Voronoi vertex dual to the given tetrahedron.
+   * By definition, this vertex coincides with the circumcenter of the tetrahedron.
+   * @param tetrahedron the tetrahedron index.
+   * @return the Voronoi vertex dual to the given tetrahedron or <code>null</code> if the tetrahedron is degenerated.
+   */
+  public Point3D dual(int tetrahedron) {
+    double[] center = new double[3];
+
+    if (getCircumCenter(tetrahedron, center, 0)) {
+      return JeometryFactory.createPoint3D(center[0], center[1], center[2]);
+    }
+
+    return null;
+  }
+
+  /**
+   * Get the {@link VoronoiExtractor Voronoi extractor} that is used by the {@link #dualVertex(int) dual} queries of this tetrahedralization. 
+   * The extractor is created on the first call and the same instance is returned afterward, so that the circumcenters are computed once.
+   * @return the Voronoi extractor of this tetrahedralization.
+   */
+  public synchronized VoronoiExtractor<T> getVoronoiExtractor() {
+
+    if (this.voronoi == null) {
+      this.voronoi = new VoronoiExtractor<T>(this);
+    }
+
+    return this.voronoi;
+  }
+
+  /**
+   * Get the index of the given point within the {@link #getPoints() points}. The points are compared with {@link Object#equals(Object)}, 
+   * as for {@link Point3DContainer#indexOf(Point3D)}, through a map from the points to their indices that is built on the first call.
+   * @param point the point.
+   * @return the index of the point or <code>-1</code> if the point is not a vertex of the tetrahedralization.
+   */
+  public int getPointIndex(Point3D point) {
+
+    Map<Point3D, Integer> indices;
+
+    synchronized(this) {
+      if (this.pointIndices == null) {
+        this.pointIndices = new HashMap<Point3D, Integer>(2*this.points.size());
+        for(int i = 0; i < this.points.size(); i++) {
+          this.pointIndices.putIfAbsent(this.points.get(i), i);
+        }
+      }
+
+      indices = this.pointIndices;
+    }
+
+    Integer index = (point != null) ? indices.get(point) : null;
+
+    return (index != null) ? index : -1;
+  }
+
+  /**
+   * Outputs the (triangulated) boundary of the Voronoi region dual to the given point.
+   * The index of the point is retrieved in constant time using {@link #getPointIndex(Point3D)}.
+   * @param point the point.
+   * @return the (triangulated) boundary of the Voronoi region dual to the given point or <code>null</code> if the point is not a vertex of the tetrahedralization.
+   * @see #dualVertex(int)
+   */
+  public Collection<VoronoiTriangle> dual(Point3D point) {
+    int vertex = getPointIndex(point);
+
+    if (vertex < 0) {
+      return null;
+    }
+
+    return dualVertex(vertex);
+  }
+
+  /**
+   * Outputs the (triangulated) boundary of the Voronoi region dual to the given vertex.
+   * Each Voronoi face forming the Voronoi region boundary is triangulated.
+   * When the vertex lies on the boundary of the convex hull, only the finite faces
+   * of the boundary of its region are output.<br><br>
+   * The region is extracted by the {@link #getVoronoiExtractor() Voronoi extractor} of this tetrahedralization, whose circumcenters are computed once for all 
+   * the tetrahedra on the first call. The following calls cost time proportional to the size of the vertex star. The extractions are serialized, the cells 
+   * of many vertices should be extracted concurrently using the extractor {@link VoronoiExtractor#createCursor() cursors}.
+   * @param vertex the vertex index.
+   * @return the (triangulated) boundary of the Voronoi region dual to the given vertex.
+   * @throws IllegalArgumentException if the vertex is not the index of one of the {@link #getPoints() points}.
+   */
+  public Collection<VoronoiTriangle> dualVertex(int vertex) {
+
+    VoronoiExtractor<T> extractor = getVoronoiExtractor();
+    double[] centers = extractor.getCircumCenters();
+
+    VoronoiCell cell = extractor.extract(vertex, null);
+
+    List<VoronoiTriangle> result = new ArrayList<VoronoiTriangle>();
+
+    // The Voronoi vertices are shared by the triangles of the region
+    Map<Integer, Point3D> vertices = new HashMap<Integer, Point3D>();
+
+    for(int face = 0; face < cell.getFaceCount(); face++) {
+
+      Point3D first    = voronoiVertex(cell.getFaceVertex(face, 0), centers, vertices);
+      Point3D previous = voronoiVertex(cell.getFaceVertex(face, 1), centers, vertices);
+
+      for(int k = 2; k < cell.getFaceSize(face); k++) {
+        Point3D current = voronoiVertex(cell.getFaceVertex(face, k), centers, vertices);
+        result.add(new VoronoiTriangle(first, previous, current));
+        previous = current;
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Get the point that represents the Voronoi vertex dual to the given tetrahedron.
+   * @param tetrahedron the tetrahedron index.
+   * @param centers the tetrahedra circumcenters.
+   * @param vertices the points already created for the Voronoi vertices.
+   * @return the point that represents the Voronoi vertex.
+   */
+  private static Point3D voronoiVertex(int tetrahedron, double[] centers, Map<Integer, Point3D> vertices) {
+
+    Point3D vertex = vertices.get(tetrahedron);
+
+    if (vertex == null) {
+      vertex = JeometryFactory.createPoint3D(centers[3*tetrahedron], centers[3*tetrahedron+1], centers[3*tetrahedron+2]);
+      vertices.put(tetrahedron, vertex);
+    }
+
+    return vertex;
+  }
+}
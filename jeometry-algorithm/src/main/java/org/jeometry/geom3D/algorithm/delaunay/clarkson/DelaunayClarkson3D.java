@@ -2,15 +2,11 @@ package org.jeometry.geom3D.algorithm.delaunay.clarkson;
 
 import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.jeometry.factory.JeometryFactory;
-import org.jeometry.geom3D.algorithm.bounds.AxisAlignedBoundingBox;
 import org.jeometry.geom3D.point.Point3D;
 import org.jeometry.geom3D.point.Point3DContainer;
-import org.jeometry.geom3D.primitive.Box;
 
 
 
@@ -109,96 +105,7 @@ public class DelaunayClarkson3D<T extends Point3D> extends DelaunayClarkson{
   public DelaunayTetrahedralization<T> compute(Point3DContainer<T> points, float scale) throws DelaunayException{
     if ((points != null)&&(points.size() > 3)){
       
-      this.originalPointCount = points.size();
-      
-      Map<Integer, DelaunayTetrahedron<T>> map = new LinkedHashMap<Integer, DelaunayTetrahedron<T>>();
-      
-      double[][] samples = null;
-      
-      int i = 0;
-      
-      if (isGenerateInfinite()){
-        samples = new double[3][points.size()+8];
-        Iterator<? extends Point3D> iter = points.iterator();
-        Point3D pt                       = null;
-        i = 0;
-        while(iter.hasNext()){
-          pt = iter.next();
-          samples[0][i] = pt.getX();
-          samples[1][i] = pt.getY();
-          samples[2][i] = pt.getZ();
-          //samples[3][i] = pt.getNormSquare();
-          i++;
-        }
-        
-        // Adding infinite points (bounding box *10 points)
-        Box box = AxisAlignedBoundingBox.computeAxisAlignedBoundingBox(points);
-        
-        double boxXMax = box.getMax().getX()*scale*10;
-        double boxYMax = box.getMax().getY()*scale*10;
-        double boxZMax = box.getMax().getZ()*scale*10;
-        double boxXMin = box.getMin().getX()*scale*10;
-        double boxYMin = box.getMin().getY()*scale*10;
-        double boxZMin = box.getMin().getZ()*scale*10;
-        
-        this.ifinitePoints = new Point3D[8];
-        
-        this.ifinitePoints[0] = JeometryFactory.createPoint3D(boxXMin, boxYMin, boxZMin);
-        this.ifinitePoints[1] = JeometryFactory.createPoint3D(boxXMin, boxYMin, boxZMax);
-        this.ifinitePoints[2] = JeometryFactory.createPoint3D(boxXMin, boxYMax, boxZMin);
-        this.ifinitePoints[3] = JeometryFactory.createPoint3D(boxXMin, boxYMax, boxZMax);
-        this.ifinitePoints[4] = JeometryFactory.createPoint3D(boxXMax, boxYMin, boxZMin);
-        this.ifinitePoints[5] = JeometryFactory.createPoint3D(boxXMax, boxYMin, boxZMax);
-        this.ifinitePoints[6] = JeometryFactory.createPoint3D(boxXMax, boxYMax, boxZMin);
-        this.ifinitePoints[7] = JeometryFactory.createPoint3D(boxXMax, boxYMax, boxZMax);
-        
-        samples[0][points.size()]   = boxXMin;
-        samples[1][points.size()]   = boxYMin;
-        samples[2][points.size()]   = boxZMin;
-        
-        samples[0][points.size()+1] = boxXMin;
-        samples[1][points.size()+1] = boxYMin;
-        samples[2][points.size()+1] = boxZMax;
-        
-        samples[0][points.size()+2] = boxXMin;
-        samples[1][points.size()+2] = boxYMax;
-        samples[2][points.size()+2] = boxZMin;
-        
-        samples[0][points.size()+3] = boxXMin;
-        samples[1][points.size()+3] = boxYMax;
-        samples[2][points.size()+3] = boxZMax;
-        
-        samples[0][points.size()+4] = boxXMax;
-        samples[1][points.size()+4] = boxYMin;
-        samples[2][points.size()+4] = boxZMin;
-        
-        samples[0][points.size()+5] = boxXMax;
-        samples[1][points.size()+5] = boxYMin;
-        samples[2][points.size()+5] = boxZMax;
-        
-        samples[0][points.size()+6] = boxXMax;
-        samples[1][points.size()+6] = boxYMax;
-        samples[2][points.size()+6] = boxZMin;
-        
-        samples[0][points.size()+7] = boxXMax;
-        samples[1][points.size()+7] = boxYMax;
-        samples[2][points.size()+7] = boxZMax;
-      } else {
-        
-        samples = new double[3][points.size()];
-        Iterator<? extends Point3D> iter = points.iterator();
-        Point3D pt                       = null;
-        i = 0;
-        while(iter.hasNext()){
-          pt = iter.next();
-          samples[0][i] = pt.getX();
-          samples[1][i] = pt.getY();
-          samples[2][i] = pt.getZ();
-          //samples[3][i] = pt.getNormSquare();
-          i++;
-        }
-      }
-      
+      double[][] samples = createSamples(points, scale);
 
       System.out.print("Computing delaunay");
       long s = System.currentTimeMillis();
@@ -207,100 +114,277 @@ public class DelaunayClarkson3D<T extends Point3D> extends DelaunayClarkson{
       
       System.out.print("Generating tetrahedra");
       s = System.currentTimeMillis();
-      DelaunayTetrahedralization<T> result = new DelaunayTetrahedralization<T>(points, getSimplexes().length);
-      DelaunayTetrahedron<T> tetrahedron   = null;
+      DelaunayTetrahedralization<T> result = createTetrahedralization(points, getSimplexes(), getVertices(), getNeighbors());
+      System.out.println("  ["+((System.currentTimeMillis() - s)/1000.0d)+"s]");
       
-      // Generating tetrahedra
-      for (i=0; i<getSimplexes().length; i++) {
-        
-        tetrahedron = new DelaunayTetrahedron<T>(getSimplexes()[i][0], getSimplexes()[i][1], getSimplexes()[i][2], getSimplexes()[i][3], true, points);
-        
-        map.put(i, tetrahedron);
-        tetrahedron.setInfinite(isInfinite(getSimplexes()[i]));
-        
-        if ((isFilterInfinite())&&(!tetrahedron.isInfinite())){
-          tetrahedron = result.addTetrahedron(tetrahedron);
-        } else {
-          tetrahedron = result.addTetrahedron(tetrahedron);
-        }
+      return result;
+      
+    } else {
+      throw new DelaunayException("Cannot triangulate less than 3 points");
+    }
+  }
+  
+  /**
+   * Compute the delaunay triangulation for the given points and at the given scale as a {@link CompactDelaunayTetrahedralization compact tetrahedralization}. 
+   * This method does not create any object per tetrahedron and should be preferred for large point sets.
+   * @param points the points.
+   * @param scale the scale to apply before computation.
+   * @return the compact delaunay tetrahedralization
+   * @throws DelaunayException if an error occurs.
+   */
+  public CompactDelaunayTetrahedralization<T> computeCompact(Point3DContainer<T> points, float scale) throws DelaunayException{
+    if ((points != null)&&(points.size() > 3)){
+      
+      double[][] samples = createSamples(points, scale);
+
+      compute(samples, scale);
+      
+      return createCompactTetrahedralization(points, getSimplexes(), getNeighbors());
+      
+    } else {
+      throw new DelaunayException("Cannot triangulate less than 3 points");
+    }
+  }
+  
+  /**
+   * Create the samples that are given to the {@link #compute(double[][], float) underlying computation} from the given points. 
+   * The samples are organized as a <code>double[3][n]</code> array. If the {@link #isGenerateInfinite() generation of infinite tetrahedra} 
+   * is enabled, the 8 infinite points are appended at the end of the samples (indices <code>points.size()</code> to <code>points.size()+7</code>).<br>
+   * This method also set up the original point count that is used for {@link DelaunayTetrahedron#isInfinite() infinite tetrahedra} detection.
+   * @param points the points.
+   * @param scale the scale that will be applied before computation.
+   * @return the samples that are given to the underlying computation.
+   */
+  protected double[][] createSamples(Point3DContainer<T> points, float scale){
+    
+    this.originalPointCount = points.size();
+    
+    double[][] samples = null;
+    
+    if (isGenerateInfinite()){
+      samples = new double[3][points.size()+8];
+    } else {
+      samples = new double[3][points.size()];
+    }
+    
+    Iterator<? extends Point3D> iter = points.iterator();
+    Point3D pt                       = null;
+    int i = 0;
+    while(iter.hasNext()){
+      pt = iter.next();
+      samples[0][i] = pt.getX();
+      samples[1][i] = pt.getY();
+      samples[2][i] = pt.getZ();
+      i++;
+    }
+    
+    if (isGenerateInfinite()){
+
+      // Adding infinite points (bounding box *10 points)
+      double boxXMax = Double.NEGATIVE_INFINITY;
+      double boxYMax = Double.NEGATIVE_INFINITY;
+      double boxZMax = Double.NEGATIVE_INFINITY;
+      double boxXMin = Double.POSITIVE_INFINITY;
+      double boxYMin = Double.POSITIVE_INFINITY;
+      double boxZMin = Double.POSITIVE_INFINITY;
+      
+      for(i = 0; i < points.size(); i++) {
+        boxXMax = Math.max(boxXMax, samples[0][i]);
+        boxYMax = Math.max(boxYMax, samples[1][i]);
+        boxZMax = Math.max(boxZMax, samples[2][i]);
+        boxXMin = Math.min(boxXMin, samples[0][i]);
+        boxYMin = Math.min(boxYMin, samples[1][i]);
+        boxZMin = Math.min(boxZMin, samples[2][i]);
       }
       
-      // Generating tetrahedra incidency to vertices.
-      // Infinite vertices (last 8 vertices) are not integrated.
-      for(i=0; i < getVertices().length - 8; i++){
-        
-        if (getVertices()[i] != null){
-          for(int j = 0; j < getVertices()[i].length; j++){
+      boxXMax = boxXMax*scale*10;
+      boxYMax = boxYMax*scale*10;
+      boxZMax = boxZMax*scale*10;
+      boxXMin = boxXMin*scale*10;
+      boxYMin = boxYMin*scale*10;
+      boxZMin = boxZMin*scale*10;
+      
+      this.ifinitePoints = new Point3D[8];
+      
+      this.ifinitePoints[0] = JeometryFactory.createPoint3D(boxXMin, boxYMin, boxZMin);
+      this.ifinitePoints[1] = JeometryFactory.createPoint3D(boxXMin, boxYMin, boxZMax);
+      this.ifinitePoints[2] = JeometryFactory.createPoint3D(boxXMin, boxYMax, boxZMin);
+      this.ifinitePoints[3] = JeometryFactory.createPoint3D(boxXMin, boxYMax, boxZMax);
+      this.ifinitePoints[4] = JeometryFactory.createPoint3D(boxXMax, boxYMin, boxZMin);
+      this.ifinitePoints[5] = JeometryFactory.createPoint3D(boxXMax, boxYMin, boxZMax);
+      this.ifinitePoints[6] = JeometryFactory.createPoint3D(boxXMax, boxYMax, boxZMin);
+      this.ifinitePoints[7] = JeometryFactory.createPoint3D(boxXMax, boxYMax, boxZMax);
+      
+      for(int j = 0; j < 8; j++) {
+        samples[0][points.size()+j] = this.ifinitePoints[j].getX();
+        samples[1][points.size()+j] = this.ifinitePoints[j].getY();
+        samples[2][points.size()+j] = this.ifinitePoints[j].getZ();
+      }
+    } 
+    
+    return samples;
+  }
+  
+  /**
+   * Create a {@link DelaunayTetrahedralization Delaunay tetrahedralization} from the given raw simplexes description. 
+   * The raw description follows the one provided by {@link #getSimplexes()}, {@link #getVertices()} and {@link #getNeighbors()}. 
+   * The {@link #isFilterInfinite() infinite tetrahedra filtering} is applied during the creation.
+   * @param points the points that are the vertices of the tetrahedralization.
+   * @param simplexes the simplexes, as an <code>int[n][4]</code> array of vertex indices.
+   * @param vertices the vertices incidence, as an array that map each vertex index to the indices of the simplexes it belongs to.
+   * @param neighbors the neighbors, as an <code>int[n][4]</code> array of simplex indices (<code>-1</code> if no neighbor).
+   * @return the Delaunay tetrahedralization.
+   */
+  protected DelaunayTetrahedralization<T> createTetrahedralization(Point3DContainer<T> points, int[][] simplexes, int[][] vertices, int[][] neighbors){
+    
+    DelaunayTetrahedralization<T> result = new DelaunayTetrahedralization<T>(points, simplexes.length);
+    
+    List<DelaunayTetrahedron<T>> tetrahedra = new ArrayList<DelaunayTetrahedron<T>>(simplexes.length);
+    
+    DelaunayTetrahedron<T> tetrahedron = null;
+    
+    int i = 0;
+    
+    // Generating tetrahedra
+    for (i=0; i<simplexes.length; i++) {
+      
+      tetrahedron = new DelaunayTetrahedron<T>(simplexes[i][0], simplexes[i][1], simplexes[i][2], simplexes[i][3], true, points);
+      
+      tetrahedron.setInfinite(isInfinite(simplexes[i]));
+      
+      tetrahedra.add(tetrahedron);
+      
+      if (!(isFilterInfinite() && tetrahedron.isInfinite())){
+        result.addTetrahedron(tetrahedron);
+      }
+    }
+    
+    // Generating tetrahedra incidency to vertices.
+    // Infinite vertices (the vertices after the original points) are not integrated.
+    for(i=0; (i < vertices.length) && (i < this.originalPointCount); i++){
+      
+      if (vertices[i] != null){
+        for(int j = 0; j < vertices[i].length; j++){
+          
+          if (vertices[i][j] > -1){
             
-            tetrahedron = map.get(getVertices()[i][j]);
+            tetrahedron = tetrahedra.get(vertices[i][j]);
             
-            if (getVertices()[i][j] > -1){
-              
-              if (!(isFilterInfinite() && tetrahedron.isInfinite())){
-                result.addIndicentTetrahedron(points.get(i), tetrahedron);
-              }
-            } else {
-              //result.addIndicentTetrahedron(points.get(i), (DelaunayTetrahedron)null);
+            if (!(isFilterInfinite() && tetrahedron.isInfinite())){
+              result.addIndicentTetrahedron(points.get(i), tetrahedron);
             }
-            
-            tetrahedron = null;
           }
-        } else {
-          result.addIndicentTetrahedron(points.get(i), (DelaunayTetrahedron<T>)null);
+          
+          tetrahedron = null;
         }
+      } else {
+        result.addIndicentTetrahedron(points.get(i), (DelaunayTetrahedron<T>)null);
       }
-      
-      // Generating neighborhood
-      List<DelaunayTetrahedron<T>> neighbors = new ArrayList<DelaunayTetrahedron<T>>(4);
-      DelaunayTetrahedron<T> candidate   = null;
-      int index                       = -1;
-      
-      for(i = 0; i < getNeighbors().length; i++){
+    }
+    
+    // Generating neighborhood
+    List<DelaunayTetrahedron<T>> tetrahedronNeighbors = null;
+    DelaunayTetrahedron<T> candidate   = null;
+    int index                          = -1;
+    
+    for(i = 0; i < neighbors.length; i++){
 
-        tetrahedron = map.get(i);
-          
-        if ((getNeighbors()[i] != null)&&(getNeighbors()[i].length > 0)){
+      tetrahedron = tetrahedra.get(i);
+      
+      if (isFilterInfinite() && tetrahedron.isInfinite()){
+        continue;
+      }
+        
+      if ((neighbors[i] != null)&&(neighbors[i].length > 0)){
+        
+        tetrahedronNeighbors = new ArrayList<DelaunayTetrahedron<T>>(4);
+        for(int j = 0; j < 4; j++){
+          tetrahedronNeighbors.add(null);
+        }
+        
+        for(int j = 0; j < 4; j++){
+          if (neighbors[i][j] > -1){
             
-          for(int j = 0; j < 4; j++){
-            if (getNeighbors()[i][j] > -1){
-              
-              candidate = map.get(getNeighbors()[i][j]);
-              index     = getDifferentVertex(tetrahedron, candidate);
-              
-              if (isFilterInfinite()){
-                if (!candidate.isInfinite()){
-                  neighbors.set(index, candidate);
-                } else {
-                  neighbors.set(index, null);
-                  tetrahedron.setConvexHullFace(index, true);
-                }
-              } else {
-                neighbors.set(index, candidate);
-              } 
-            } else {
-              neighbors.set(j, null);
-            }
-          }
+            candidate = tetrahedra.get(neighbors[i][j]);
+            index     = getDifferentVertex(tetrahedron, candidate);
             
-          result.setNeighbors(tetrahedron, neighbors);
+            if (isFilterInfinite() && candidate.isInfinite()){
+              tetrahedron.setConvexHullFace(index, true);
+            } else {
+              tetrahedronNeighbors.set(index, candidate);
+            } 
+          } 
+        }
           
-        } else {
-          result.setNeighbors(tetrahedron, null);
-        } 
+        result.setNeighbors(tetrahedron, tetrahedronNeighbors);
+        
+      } else {
+        result.setNeighbors(tetrahedron, null);
+      } 
+    }
+    
+    return result;
+  }
+  
+  /**
+   * Create a {@link CompactDelaunayTetrahedralization compact Delaunay tetrahedralization} from the given raw simplexes description. 
+   * The raw description follows the one provided by {@link #getSimplexes()} and {@link #getNeighbors()}. 
+   * The {@link #isFilterInfinite() infinite tetrahedra filtering} is applied during the creation.
+   * @param points the points that are the vertices of the tetrahedralization.
+   * @param simplexes the simplexes, as an <code>int[n][4]</code> array of vertex indices.
+   * @param neighbors the neighbors, as an <code>int[n][4]</code> array of simplex indices (<code>-1</code> if no neighbor).
+   * @return the compact Delaunay tetrahedralization.
+   */
+  protected CompactDelaunayTetrahedralization<T> createCompactTetrahedralization(Point3DContainer<T> points, int[][] simplexes, int[][] neighbors){
+    
+    // Index of each simplex within the result (-1 if filtered)
+    int[] indices = new int[simplexes.length];
+    int count = 0;
+    for(int i = 0; i < simplexes.length; i++) {
+      if (isFilterInfinite() && isInfinite(simplexes[i])) {
+        indices[i] = -1;
+      } else {
+        indices[i] = count++;
+      }
+    }
+    
+    int[] tetrahedra         = new int[4*count];
+    int[] tetrahedraNeighbors = new int[4*count];
+    
+    for(int i = 0; i < simplexes.length; i++) {
+      if (indices[i] > -1) {
+        int offset = 4*indices[i];
+        for(int j = 0; j < 4; j++) {
+          tetrahedra[offset+j] = simplexes[i][j];
+          
+          // The neighbor j shares the face (j, j+1, j+2) that is opposite to the vertex j+3
+          int neighbor = ((neighbors[i] != null) && (neighbors[i].length > j)) ? neighbors[i][j] : -1;
+          tetrahedraNeighbors[offset+((j+3)&3)] = (neighbor > -1) ? indices[neighbor] : -1;
+        }
+      }
+    }
+    
+    Point3D[] infinite = null;
+    if ((this.ifinitePoints != null) && (!isFilterInfinite()) && (simplexes.length > 0) && (getMaxIndex(simplexes) >= this.originalPointCount)) {
+      infinite = this.ifinitePoints;
+    }
+    
+    return new CompactDelaunayTetrahedralization<T>(points, infinite, tetrahedra, tetrahedraNeighbors);
+  }
+  
+  /**
+   * Get the maximal vertex index used by the given simplexes.
+   * @param simplexes the simplexes.
+   * @return the maximal vertex index used by the given simplexes.
+   */
+  private int getMaxIndex(int[][] simplexes) {
+    int max = -1;
+    for(int i = 0; i < simplexes.length; i++) {
+      for(int j = 0; j < simplexes[i].length; j++) {
+        max = Math.max(max, simplexes[i][j]);
       }
-      System.out.println("  ["+((System.currentTimeMillis() - s)/1000.0d)+"s]");
-      
-      neighbors.set(0, null);
-      neighbors.set(1, null);
-      neighbors.set(2, null);
-      neighbors.set(3, null);
-      neighbors = null;
-      
-      return result;
-      
-    } else {
-      throw new DelaunayException("Cannot triangulate less than 3 points");
     }
+    return max;
   }
   
   /**
@@ -3,7 +3,6 @@ package org.jeometry.geom3D.algorithm.delaunay.clarkson;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.jeometry.factory.JeometryFactory;
 import org.jeometry.geom3D.point.Point3D;
 import org.jeometry.geom3D.point.Point3DContainer;
 import org.jeometry.geom3D.primitive.indexed.IndexedTetrahedron;
@@ -33,9 +32,14 @@ public class DelaunayTetrahedron<T extends Point3D> implements IndexedTetrahedro
   private boolean infinite        = false;
 
   /**
-   * The underlying tetrahedron.
+   * The vertex indices within the source.
    */
-  private IndexedTetrahedron<T> tetrahedron = null;
+  private int[] vertices = null;
+  
+  /**
+   * The vertices source.
+   */
+  private Point3DContainer<T> source = null;
   
   /**
    * Construct a new Delaunay tetrahedron from the given point source and the given vertex indices.
@@ -60,8 +64,12 @@ public class DelaunayTetrahedron<T extends Point3D> implements IndexedTetrahedro
    * @param validate if the tetrahedron has to be validated
    */
   public DelaunayTetrahedron(int base1, int base2, int base3, int top, boolean validate, Point3DContainer<T> source){
-    this.tetrahedron = JeometryFactory.createIndexedTetrahedron(base1, base2, base3, top, source);
+    this.vertices    = new int[] {base1, base2, base3, top};
+    this.source      = source;
     this.neighbors   = new ArrayList<DelaunayTetrahedron<T>>(4);
+    for(int i = 0; i < 4; i++) {
+      this.neighbors.add(null);
+    }
     this.convexFaces = new boolean[4];
   }
   
@@ -81,32 +89,52 @@ public class DelaunayTetrahedron<T extends Point3D> implements IndexedTetrahedro
   
   @Override
   public Point3DContainer<T> getVerticesSource() {
-  	return this.tetrahedron.getVerticesSource();
+  	return this.source;
   }
 
   @Override
   public void setVerticesSource(Point3DContainer<T> verticesSource) {
-  this.tetrahedron.setVerticesSource(verticesSource);
+    this.source = verticesSource;
   }
   
   @Override
   public int getVertexIndice(int position) {
-  	return this.tetrahedron.getVertexIndice(position);
+    if ((position > -1)&&(position < 4)){
+      return this.vertices[position];
+    } else {
+      throw new IllegalArgumentException("Invalid index "+position+", expected values are 0, 1, 2 or 3.");
+    }
   }
 
+  /**
+   * {@inheritDoc}<br>
+   * If the vertex is an infinite one (its index is outside of the {@link #getVerticesSource() vertices source}), <code>null</code> is returned.
+   */
   @Override
   public Point3D getVertex(int position) {
-  	return this.tetrahedron.getVertex(position);
+    int index = getVertexIndice(position);
+    
+    if ((this.source != null)&&(index < this.source.size())){
+      return this.source.get(index);
+    }
+    
+    return null;
   }
 
   @Override
   public int getVertexIndex(Point3D vertex) {
-  	return this.tetrahedron.getVertexIndex(vertex);
+    for(int i = 0; i < 4; i++) {
+      if ((vertex != null)&&(getVertex(i) == vertex)) {
+        return i;
+      }
+    }
+    
+    return -1;
   }
 
   @Override
   public int[] getVerticesArray() {
-  	return this.tetrahedron.getVerticesArray();
+  	return this.vertices;
   }
   
   /**
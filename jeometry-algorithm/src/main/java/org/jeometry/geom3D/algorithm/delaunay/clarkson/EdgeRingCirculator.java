@@ -0,0 +1,236 @@
+package org.jeometry.geom3D.algorithm.delaunay.clarkson;
+
+import org.jeometry.Jeometry;
+
+/**
+ * A circulator over the tetrahedra of a {@link CompactDelaunayTetrahedralization compact Delaunay tetrahedralization} 
+ * that are incident to a given edge (the edge ring).<br><br>
+ * The tetrahedra are enumerated in their rotation order around the edge. If the ring is not closed 
+ * (the edge lies on the boundary of the tetrahedralization), the tetrahedra are enumerated from the start one in a direction and 
+ * then from the start one in the other direction. In this case, {@link #isClosed()} returns <code>false</code> once the enumeration is finished.<br><br>
+ * The circulator does not allocate memory. A circulator can be {@link #reset(int, int) reset} for any edge and should be reused instead of being created for each edge. 
+ * A circulator is not thread safe, each thread has to use its own instance.<br><br>
+ * Usage:
+ * <pre>
+ * EdgeRingCirculator ring = tetrahedralization.createEdgeRingCirculator();
+ * ring.reset(u, v);
+ * while(ring.hasNext()){
+ *   int tetrahedron = ring.next();
+ *   ...
+ * }
+ * </pre>
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class EdgeRingCirculator {
+
+  /**
+   * The underlying tetrahedralization.
+   */
+  private CompactDelaunayTetrahedralization<?> tetrahedralization = null;
+
+  /**
+   * The circulator used for finding a tetrahedron incident to the edge.
+   */
+  private VertexStarCirculator star = null;
+
+  /**
+   * The first edge extremity.
+   */
+  private int u         = -1;
+
+  /**
+   * The second edge extremity.
+   */
+  private int v         = -1;
+
+  /**
+   * The first enumerated tetrahedron.
+   */
+  private int start     = -1;
+
+  /**
+   * The next tetrahedron to enumerate.
+   */
+  private int current   = -1;
+
+  /**
+   * The vertex of the current tetrahedron that is opposite to the face to cross for reaching the next tetrahedron.
+   */
+  private int pivot     = -1;
+
+  /**
+   * The vertex of the start tetrahedron to use as pivot when enumerating in the backward direction.
+   */
+  private int backwardPivot = -1;
+
+  /**
+   * Is the enumeration is in the backward direction.
+   */
+  private boolean backward = false;
+
+  /**
+   * Is the ring closed.
+   */
+  private boolean closed   = false;
+
+  /**
+   * Create a new circulator over the edge rings of the given tetrahedralization.
+   * @param tetrahedralization the tetrahedralization.
+   */
+  public EdgeRingCirculator(CompactDelaunayTetrahedralization<?> tetrahedralization) {
+    this.tetrahedralization = tetrahedralization;
+  }
+
+  /**
+   * Reset this circulator in order to enumerate the tetrahedra that are incident to the edge <code>(u, v)</code>. 
+   * A tetrahedron that contains the edge is searched within the star of <code>u</code>, 
+   * {@link #reset(int, int, int)} should be preferred if such a tetrahedron is known.
+   * @param u the first edge extremity.
+   * @param v the second edge extremity.
+   * @return <code>true</code> if the edge exists and <code>false</code> otherwise.
+   */
+  public boolean reset(int u, int v) {
+
+    if (this.star == null) {
+      this.star = this.tetrahedralization.createVertexStarCirculator();
+    }
+
+    this.star.reset(u);
+    while(this.star.hasNext()) {
+      int tetrahedron = this.star.next();
+      if (this.tetrahedralization.getPosition(tetrahedron, v) > -1) {
+        reset(u, v, tetrahedron);
+        return true;
+      }
+    }
+
+    this.u       = u;
+    this.v       = v;
+    this.start   = -1;
+    this.current = -1;
+    this.closed  = false;
+
+    return false;
+  }
+
+  /**
+   * Reset this circulator in order to enumerate the tetrahedra that are incident to the edge <code>(u, v)</code>, 
+   * starting from the given tetrahedron.
+   * @param u the first edge extremity.
+   * @param v the second edge extremity.
+   * @param tetrahedron a tetrahedron that contains the edge.
+   * @throws IllegalArgumentException if the given tetrahedron does not contain the edge.
+   */
+  public void reset(int u, int v, int tetrahedron) {
+
+    this.u        = u;
+    this.v        = v;
+    this.start    = tetrahedron;
+    this.current  = tetrahedron;
+    this.backward = false;
+    this.closed   = false;
+
+    this.pivot         = -1;
+    this.backwardPivot = -1;
+
+    int found = 0;
+    for(int i = 0; i < 4; i++) {
+      int vertex = this.tetrahedralization.getVertex(tetrahedron, i);
+      if ((vertex == u) || (vertex == v)) {
+        found++;
+      } else if (this.pivot == -1) {
+        this.pivot = vertex;
+      } else {
+        this.backwardPivot = vertex;
+      }
+    }
+
+    if (found != 2) {
+      throw new IllegalArgumentException("Tetrahedron "+tetrahedron+" does not contain edge ("+u+", "+v+")");
+    }
+  }
+
+  /**
+   * Check if there is remaining tetrahedra to enumerate.
+   * @return <code>true</code> if there is remaining tetrahedra to enumerate and <code>false</code> otherwise.
+   */
+  public boolean hasNext() {
+    return this.current > -1;
+  }
+
+  /**
+   * Get the next tetrahedron that is incident to the edge.
+   * @return the index of the next tetrahedron that is incident to the edge.
+   * @throws IllegalStateException if there is no more tetrahedra to enumerate.
+   */
+  public int next() {
+
+    if (this.current < 0) {
+      throw new IllegalStateException("No more tetrahedra within the edge ("+this.u+", "+this.v+") ring.");
+    }
+
+    int tetrahedron = this.current;
+
+    int position = this.tetrahedralization.getPosition(tetrahedron, this.pivot);
+
+    // The other vertex of the crossed face becomes the pivot of the next tetrahedron
+    int other = -1;
+    for(int i = 0; i < 4; i++) {
+      int vertex = this.tetrahedralization.getVertex(tetrahedron, i);
+      if ((vertex != this.u) && (vertex != this.v) && (vertex != this.pivot)) {
+        other = vertex;
+      }
+    }
+
+    int neighbor = this.tetrahedralization.getNeighbor(tetrahedron, position);
+
+    if (neighbor == this.start) {
+      this.closed  = true;
+      this.current = -1;
+    } else if (neighbor > -1) {
+      this.current = neighbor;
+      this.pivot   = other;
+    } else if (!this.backward) {
+      // The ring is open, enumerate the other side from the start tetrahedron
+      this.backward = true;
+      
+      int startPosition = this.tetrahedralization.getPosition(this.start, this.backwardPivot);
+      this.current = this.tetrahedralization.getNeighbor(this.start, startPosition);
+      
+      if (this.current > -1) {
+        this.pivot = otherVertex(this.start, this.backwardPivot);
+      }
+    } else {
+      this.current = -1;
+    }
+
+    return tetrahedron;
+  }
+
+  /**
+   * Check if the enumerated ring is closed, that is the edge does not lie on the boundary of the tetrahedralization.
+   * The result is only relevant once all the tetrahedra of the ring have been enumerated.
+   * @return <code>true</code> if the ring is closed and <code>false</code> otherwise.
+   */
+  public boolean isClosed() {
+    return this.closed;
+  }
+
+  /**
+   * Get the vertex of the given tetrahedron that is neither an edge extremity nor the given vertex.
+   * @param tetrahedron the tetrahedron index.
+   * @param vertex the vertex to exclude.
+   * @return the vertex of the given tetrahedron that is neither an edge extremity nor the given vertex.
+   */
+  private int otherVertex(int tetrahedron, int vertex) {
+    for(int i = 0; i < 4; i++) {
+      int candidate = this.tetrahedralization.getVertex(tetrahedron, i);
+      if ((candidate != this.u) && (candidate != this.v) && (candidate != vertex)) {
+        return candidate;
+      }
+    }
+    return -1;
+  }
+}
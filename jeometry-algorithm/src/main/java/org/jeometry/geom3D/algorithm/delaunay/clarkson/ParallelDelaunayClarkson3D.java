@@ -0,0 +1,918 @@
+package org.jeometry.geom3D.algorithm.delaunay.clarkson;
+
+import java.util.Arrays;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.algorithm.ParallelRange;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+
+/**
+ * A multi-threaded version of the {@link DelaunayClarkson3D Clarkson 3D Delaunay tetrahedralization}.<br><br>
+ * The input points are split into {@link #getPartitionCount() partitions} that are slabs along the longest axis of their bounding box.
+ * Each partition is tetrahedralized concurrently using its own {@link DelaunayClarkson} instance.
+ * A tetrahedron computed within a partition is kept as is if its circumscribed sphere lies strictly inside the partition slab,
+ * as no point of the other partitions can then lie within the sphere.
+ * The vertices of all the other tetrahedra form the conflict zone, which is located along the partition interfaces.
+ * This zone is tetrahedralized a second time and only its tetrahedra that cross an interface and that have an empty circumscribed sphere
+ * regarding the whole point set are kept. The neighborhood is finally rebuilt over the merged tetrahedra.<br><br>
+ * The partitions always rely on the infinite points (see {@link #isGenerateInfinite()}) in order to bound the Voronoi cells of the input points.
+ * If the generation of infinite tetrahedra is disabled, these points are only used as guards: the tetrahedra they belong to are removed from the result
+ * and the convex hull tetrahedra they have hidden are recovered.
+ * The {@link #isFilterInfinite() infinite tetrahedra filtering} is applied as for the sequential computation.<br><br>
+ * If the point set is too small to be partitioned (see {@link #MINIMAL_PARTITION_SIZE}), the computation falls back to the sequential one.
+ * @param <T> The type of underlying 3D points
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class ParallelDelaunayClarkson3D<T extends Point3D> extends DelaunayClarkson3D<T> {
+
+  /**
+   * The minimal number of points that a partition has to contain.
+   */
+  public static final int MINIMAL_PARTITION_SIZE = 1024;
+
+  /**
+   * The relative margin applied to circumscribed sphere radius when checking if a sphere lies within a partition slab.
+   */
+  private static final double SPHERE_MARGIN = 1.0e-9;
+
+  /**
+   * The number of partitions.
+   */
+  private int partitionCount = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Create a new instance of this algorithm that use as many partitions as available processors.
+   */
+  public ParallelDelaunayClarkson3D(){
+    super();
+  }
+
+  /**
+   * Create a new instance of this algorithm that use the given number of partitions.
+   * @param partitionCount the number of partitions.
+   */
+  public ParallelDelaunayClarkson3D(int partitionCount){
+    super();
+    setPartitionCount(partitionCount);
+  }
+
+  /**
+   * Get the number of partitions (and of concurrent computations) that are used.
+   * The number of partitions that are really used can be lower if the input points are not numerous enough.
+   * @return the number of partitions.
+   * @see #setPartitionCount(int)
+   */
+  public int getPartitionCount() {
+    return this.partitionCount;
+  }
+
+  /**
+   * Set the number of partitions (and of concurrent computations) that are used.
+   * @param partitionCount the number of partitions.
+   * @throws IllegalArgumentException if the given count is lower than 1.
+   * @see #getPartitionCount()
+   */
+  public void setPartitionCount(int partitionCount) {
+    if (partitionCount < 1) {
+      throw new IllegalArgumentException("Partition count has to be at least 1 ("+partitionCount+" given).");
+    }
+    this.partitionCount = partitionCount;
+  }
+
+  /**
+   * Compute the delaunay triangulation for the given points and at the given scale.
+   * Contrary to the sequential computation, the results available from {@link #getSimplexes()}, {@link #getVertices()} and {@link #getNeighbors()}
+   * are not representative of the returned tetrahedralization.
+   * @param points the points.
+   * @param scale the scale to apply before computation.
+   * @return the delaunay tetrahedralization
+   * @throws DelaunayException if an error occurs.
+   */
+  @Override
+  public DelaunayTetrahedralization<T> compute(Point3DContainer<T> points, float scale) throws DelaunayException{
+
+    if ((points == null)||(points.size() <= 3)){
+      throw new DelaunayException("Cannot triangulate less than 3 points");
+    }
+
+    int partitions = Math.min(this.partitionCount, points.size() / MINIMAL_PARTITION_SIZE);
+
+    if (partitions < 2) {
+      return super.compute(points, scale);
+    }
+
+    int[][] simplexes = computeSimplexes(points, scale, partitions);
+
+    return createTetrahedralization(points, simplexes, computeVertices(simplexes, points.size() + (isGenerateInfinite() ? 8 : 0)), computeNeighbors(simplexes));
+  }
+
+  /**
+   * Compute the delaunay triangulation for the given points and at the given scale as a {@link CompactDelaunayTetrahedralization compact tetrahedralization}.
+   * @param points the points.
+   * @param scale the scale to apply before computation.
+   * @return the compact delaunay tetrahedralization
+   * @throws DelaunayException if an error occurs.
+   */
+  @Override
+  public CompactDelaunayTetrahedralization<T> computeCompact(Point3DContainer<T> points, float scale) throws DelaunayException{
+
+    if ((points == null)||(points.size() <= 3)){
+      throw new DelaunayException("Cannot triangulate less than 3 points");
+    }
+
+    int partitions = Math.min(this.partitionCount, points.size() / MINIMAL_PARTITION_SIZE);
+
+    if (partitions < 2) {
+      return super.computeCompact(points, scale);
+    }
+
+    int[][] simplexes = computeSimplexes(points, scale, partitions);
+
+    return createCompactTetrahedralization(points, simplexes, computeNeighbors(simplexes));
+  }
+
+  /**
+   * Compute the simplexes of the delaunay triangulation for the given points using the given number of partitions.
+   * @param points the points.
+   * @param scale the scale to apply before computation.
+   * @param partitions the number of partitions.
+   * @return the simplexes, as an <code>int[n][4]</code> array of vertex indices.
+   * @throws DelaunayException if an error occurs.
+   */
+  private int[][] computeSimplexes(Point3DContainer<T> points, float scale, int partitions) throws DelaunayException{
+
+    int n = points.size();
+
+    // The infinite points are always needed by the partitions
+    boolean generateInfinite = isGenerateInfinite();
+    double[][] samples;
+    try {
+      setGenerateInfinite(true);
+      samples = createSamples(points, scale);
+    } finally {
+      setGenerateInfinite(generateInfinite);
+    }
+
+    int total = samples[0].length;
+
+    // Integer coordinates, as used by the underlying computation
+    double[][] coordinates = new double[3][total];
+    for(int i = 0; i < 3; i++) {
+      for(int j = 0; j < total; j++) {
+        coordinates[i][j] = Math.floor(scale * samples[i][j] + 0.5);
+      }
+    }
+
+    // Partition along the longest axis
+    int longest = 0;
+    double extent = -1.0d;
+    for(int i = 0; i < 3; i++) {
+      double min = Double.POSITIVE_INFINITY;
+      double max = Double.NEGATIVE_INFINITY;
+      for(int j = 0; j < n; j++) {
+        min = Math.min(min, coordinates[i][j]);
+        max = Math.max(max, coordinates[i][j]);
+      }
+
+      if (max - min > extent) {
+        extent  = max - min;
+        longest = i;
+      }
+    }
+    int axis = longest;
+
+    double[] sorted = Arrays.copyOf(coordinates[axis], n);
+    Arrays.parallelSort(sorted);
+
+    // bounds[c] and bounds[c+1] are the limits of the slab of the partition c
+    double[] bounds = new double[partitions+1];
+    bounds[0]          = Double.NEGATIVE_INFINITY;
+    bounds[partitions] = Double.POSITIVE_INFINITY;
+    for(int c = 1; c < partitions; c++) {
+      bounds[c] = sorted[(int)((long)c * n / partitions)];
+    }
+    sorted = null;
+
+    int[] partitionSizes = new int[partitions];
+    int[] pointPartition = new int[n];
+    for(int i = 0; i < n; i++) {
+      pointPartition[i] = getSlab(bounds, coordinates[axis][i]);
+      partitionSizes[pointPartition[i]]++;
+    }
+
+    int[][] partitionPoints = new int[partitions][];
+    for(int c = 0; c < partitions; c++) {
+      partitionPoints[c] = new int[partitionSizes[c] + 8];
+      partitionSizes[c] = 0;
+    }
+
+    for(int i = 0; i < n; i++) {
+      partitionPoints[pointPartition[i]][partitionSizes[pointPartition[i]]++] = i;
+    }
+
+    for(int c = 0; c < partitions; c++) {
+      for(int j = 0; j < 8; j++) {
+        partitionPoints[c][partitionSizes[c] + j] = n + j;
+      }
+    }
+    pointPartition = null;
+
+    // Compute partitions tetrahedralization concurrently
+    boolean[] conflict = new boolean[total];
+
+    int[][] partitionTetrahedra = new int[partitions][];
+
+    try {
+      ParallelRange.forEach(partitions, partitions, (from, to) -> {
+        for(int c = from; c < to; c++) {
+          try {
+            partitionTetrahedra[c] = computePartition(samples, coordinates, axis, bounds, c, partitionPoints[c], scale, conflict);
+          } catch (DelaunayException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+          }
+        }
+      });
+    } catch (IllegalStateException e) {
+      if (e.getCause() instanceof DelaunayException) {
+        throw (DelaunayException) e.getCause();
+      }
+      throw new DelaunayException("Partition computation failed: "+e.getMessage());
+    }
+
+    // Tetrahedralize the conflict zone
+    for(int i = n; i < total; i++) {
+      conflict[i] = true;
+    }
+
+    int conflictCount = 0;
+    for(int i = 0; i < total; i++) {
+      if (conflict[i]) {
+        conflictCount++;
+      }
+    }
+
+    int[] conflictPoints = new int[conflictCount];
+    double[][] conflictSamples = new double[3][conflictCount];
+    conflictCount = 0;
+    for(int i = 0; i < total; i++) {
+      if (conflict[i]) {
+        conflictPoints[conflictCount] = i;
+        conflictSamples[0][conflictCount] = samples[0][i];
+        conflictSamples[1][conflictCount] = samples[1][i];
+        conflictSamples[2][conflictCount] = samples[2][i];
+        conflictCount++;
+      }
+    }
+
+    DelaunayClarkson conflictDelaunay = new DelaunayClarkson();
+    conflictDelaunay.compute(conflictSamples, scale);
+    conflictSamples = null;
+
+    PointGrid freeGrid = new PointGrid(coordinates, conflict, n);
+
+    int[][] conflictSimplexes = conflictDelaunay.getSimplexes();
+    int[] conflictTetrahedra = new int[4*conflictSimplexes.length];
+    int conflictTetrahedraCount = 0;
+
+    int[] tetrahedron = new int[4];
+    double[] sphere   = new double[4];
+    for(int i = 0; i < conflictSimplexes.length; i++) {
+      for(int j = 0; j < 4; j++) {
+        tetrahedron[j] = conflictPoints[conflictSimplexes[i][j]];
+      }
+
+      boolean circumscribed = circumSphere(coordinates, tetrahedron, sphere);
+
+      if ((!circumscribed) || (!isInSlab(bounds, axis, sphere))) {
+        if ((!circumscribed) || freeGrid.isEmpty(sphere)) {
+          System.arraycopy(tetrahedron, 0, conflictTetrahedra, 4*conflictTetrahedraCount, 4);
+          conflictTetrahedraCount++;
+        }
+      }
+    }
+    conflictDelaunay = null;
+    freeGrid = null;
+
+    // Merge the tetrahedra
+    int count = conflictTetrahedraCount;
+    for(int c = 0; c < partitions; c++) {
+      count += partitionTetrahedra[c].length / 4;
+    }
+
+    int[] merged = Arrays.copyOf(conflictTetrahedra, 4*count);
+    int index = 4*conflictTetrahedraCount;
+    for(int c = 0; c < partitions; c++) {
+      System.arraycopy(partitionTetrahedra[c], 0, merged, index, partitionTetrahedra[c].length);
+      index += partitionTetrahedra[c].length;
+      partitionTetrahedra[c] = null;
+    }
+    conflictTetrahedra = null;
+
+    int[] recovered = new int[0];
+
+    if (!generateInfinite) {
+      recovered = recoverConvexHull(samples, coordinates, merged, n, scale);
+    }
+
+    int[][] simplexes = new int[count + recovered.length / 4][];
+    index = 0;
+    for(int i = 0; i < merged.length; i += 4) {
+      if (generateInfinite || !isGuarded(merged, i, n)) {
+        simplexes[index++] = Arrays.copyOfRange(merged, i, i+4);
+      }
+    }
+
+    for(int i = 0; i < recovered.length; i += 4) {
+      simplexes[index++] = Arrays.copyOfRange(recovered, i, i+4);
+    }
+
+    if (index < simplexes.length) {
+      simplexes = Arrays.copyOf(simplexes, index);
+    }
+
+    return simplexes;
+  }
+
+  /**
+   * Recover the tetrahedra that are located on the convex hull of the original points and that have been
+   * discarded because their circumscribed sphere contains an infinite (guard) point.<br>
+   * The vertices of such tetrahedra are all linked to a guard point. These vertices are tetrahedralized without the guards
+   * and the resulting tetrahedra whose circumscribed sphere contains a guard point and no other original point are recovered.
+   * @param samples the samples of all the points.
+   * @param coordinates the integer coordinates of all the points.
+   * @param tetrahedra the tetrahedra computed with the guard points (<code>4</code> consecutive vertex indices per tetrahedron).
+   * @param n the number of original points.
+   * @param scale the scale to apply before computation.
+   * @return the recovered tetrahedra (<code>4</code> consecutive vertex indices per tetrahedron).
+   * @throws DelaunayException if an error occurs.
+   */
+  private int[] recoverConvexHull(double[][] samples, double[][] coordinates, int[] tetrahedra, int n, float scale) throws DelaunayException {
+
+    boolean[] hull = new boolean[n];
+    int hullCount = 0;
+    for(int i = 0; i < tetrahedra.length; i += 4) {
+      if (isGuarded(tetrahedra, i, n)) {
+        for(int j = i; j < i+4; j++) {
+          if ((tetrahedra[j] < n) && (!hull[tetrahedra[j]])) {
+            hull[tetrahedra[j]] = true;
+            hullCount++;
+          }
+        }
+      }
+    }
+
+    if (hullCount < 4) {
+      return new int[0];
+    }
+
+    int[] hullPoints = new int[hullCount];
+    double[][] hullSamples = new double[3][hullCount];
+    hullCount = 0;
+    for(int i = 0; i < n; i++) {
+      if (hull[i]) {
+        hullPoints[hullCount] = i;
+        hullSamples[0][hullCount] = samples[0][i];
+        hullSamples[1][hullCount] = samples[1][i];
+        hullSamples[2][hullCount] = samples[2][i];
+        hullCount++;
+      }
+    }
+
+    DelaunayClarkson hullDelaunay = new DelaunayClarkson();
+    hullDelaunay.compute(hullSamples, scale);
+
+    PointGrid innerGrid = new PointGrid(coordinates, hull, n);
+
+    int[][] hullSimplexes = hullDelaunay.getSimplexes();
+    int[] recovered = new int[4*hullSimplexes.length];
+    int recoveredCount = 0;
+
+    int[] tetrahedron = new int[4];
+    double[] sphere   = new double[4];
+    for(int i = 0; i < hullSimplexes.length; i++) {
+      for(int j = 0; j < 4; j++) {
+        tetrahedron[j] = hullPoints[hullSimplexes[i][j]];
+      }
+
+      if (circumSphere(coordinates, tetrahedron, sphere) && containsGuard(coordinates, n, sphere) && innerGrid.isEmpty(sphere)) {
+        System.arraycopy(tetrahedron, 0, recovered, 4*recoveredCount, 4);
+        recoveredCount++;
+      }
+    }
+
+    return Arrays.copyOf(recovered, 4*recoveredCount);
+  }
+
+  /**
+   * Check if the given sphere strictly contains one of the guard points (the points stored after the original ones).
+   * @param coordinates the integer coordinates of all the points.
+   * @param n the number of original points.
+   * @param sphere the sphere, as <code>{x, y, z, radius}</code>.
+   * @return <code>true</code> if the sphere contains a guard point and <code>false</code> otherwise.
+   */
+  private static boolean containsGuard(double[][] coordinates, int n, double[] sphere) {
+    double radius2 = sphere[3] * sphere[3] * (1.0d - SPHERE_MARGIN);
+    for(int i = n; i < coordinates[0].length; i++) {
+      double x = coordinates[0][i] - sphere[0];
+      double y = coordinates[1][i] - sphere[1];
+      double z = coordinates[2][i] - sphere[2];
+      if (x*x + y*y + z*z < radius2) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Compute the tetrahedralization of a partition.
+   * The result is an array that contains the vertex indices of the partition tetrahedra that lie within the partition slab
+   * (<code>4</code> consecutive values per tetrahedron). The vertices of the other tetrahedra are marked within the <code>conflict</code> array.
+   * @param samples the samples of all the points.
+   * @param coordinates the integer coordinates of all the points.
+   * @param axis the partition axis.
+   * @param bounds the slab bounds.
+   * @param partition the index of the partition.
+   * @param partitionPoints the indices of the points that belong to the partition.
+   * @param scale the scale to apply before computation.
+   * @param conflict the conflict marks of all the points.
+   * @return the vertex indices of the partition tetrahedra that lie within the partition slab.
+   * @throws DelaunayException if the partition tetrahedralization cannot be computed.
+   */
+  private int[] computePartition(double[][] samples, double[][] coordinates, int axis, double[] bounds, int partition, int[] partitionPoints, float scale, boolean[] conflict) throws DelaunayException {
+
+    double[][] partitionSamples = new double[3][partitionPoints.length];
+    for(int i = 0; i < partitionPoints.length; i++) {
+      partitionSamples[0][i] = samples[0][partitionPoints[i]];
+      partitionSamples[1][i] = samples[1][partitionPoints[i]];
+      partitionSamples[2][i] = samples[2][partitionPoints[i]];
+    }
+
+    DelaunayClarkson delaunay = new DelaunayClarkson();
+    delaunay.compute(partitionSamples, scale);
+
+    int[][] simplexes = delaunay.getSimplexes();
+
+    int[] kept  = new int[4*simplexes.length];
+    int keptCount = 0;
+
+    int[] tetrahedron = new int[4];
+    double[] sphere   = new double[4];
+
+    for(int i = 0; i < simplexes.length; i++) {
+      for(int j = 0; j < 4; j++) {
+        tetrahedron[j] = partitionPoints[simplexes[i][j]];
+      }
+
+      if (circumSphere(coordinates, tetrahedron, sphere) && (getSlab(bounds, sphere[axis]) == partition) && isInSlab(bounds, axis, sphere)) {
+        System.arraycopy(tetrahedron, 0, kept, 4*keptCount, 4);
+        keptCount++;
+      } else {
+        for(int j = 0; j < 4; j++) {
+          conflict[tetrahedron[j]] = true;
+        }
+      }
+    }
+
+    return Arrays.copyOf(kept, 4*keptCount);
+  }
+
+  /**
+   * Get the index of the slab that contains the given coordinate.
+   * @param bounds the slab bounds.
+   * @param coordinate the coordinate along the partition axis.
+   * @return the index of the slab that contains the given coordinate.
+   */
+  private static int getSlab(double[] bounds, double coordinate) {
+    int low  = 0;
+    int high = bounds.length - 2;
+
+    while(low < high) {
+      int middle = (low + high + 1) >>> 1;
+      if (coordinate >= bounds[middle]) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+
+    return low;
+  }
+
+  /**
+   * Check if the given sphere lies strictly within a partition slab.
+   * @param bounds the slab bounds.
+   * @param axis the partition axis.
+   * @param sphere the sphere, as <code>{x, y, z, radius}</code>.
+   * @return <code>true</code> if the sphere lies strictly within a partition slab and <code>false</code> otherwise.
+   */
+  private static boolean isInSlab(double[] bounds, int axis, double[] sphere) {
+    int slab = getSlab(bounds, sphere[axis]);
+    double radius = sphere[3] * (1.0d + SPHERE_MARGIN);
+    return (sphere[axis] - radius > bounds[slab]) && (sphere[axis] + radius < bounds[slab+1]);
+  }
+
+  /**
+   * Check if the tetrahedron stored at the given offset has a guard (infinite) vertex.
+   * @param tetrahedra the tetrahedra vertex indices.
+   * @param offset the offset of the tetrahedron.
+   * @param n the number of original points.
+   * @return <code>true</code> if the tetrahedron has a guard vertex and <code>false</code> otherwise.
+   */
+  private static boolean isGuarded(int[] tetrahedra, int offset, int n) {
+    return (tetrahedra[offset] >= n) || (tetrahedra[offset+1] >= n) || (tetrahedra[offset+2] >= n) || (tetrahedra[offset+3] >= n);
+  }
+
+  /**
+   * Compute the circumscribed sphere of the given tetrahedron. The computation is made with the vertices sorted
+   * by index in order to obtain the same result whatever the vertices order.
+   * @param coordinates the points coordinates.
+   * @param tetrahedron the tetrahedron vertex indices.
+   * @param sphere the computed sphere, as <code>{x, y, z, radius}</code>.
+   * @return <code>true</code> if the sphere can be computed and <code>false</code> if the tetrahedron is degenerated.
+   */
+  private static boolean circumSphere(double[][] coordinates, int[] tetrahedron, double[] sphere) {
+
+    int a = Math.min(Math.min(tetrahedron[0], tetrahedron[1]), Math.min(tetrahedron[2], tetrahedron[3]));
+    int d = Math.max(Math.max(tetrahedron[0], tetrahedron[1]), Math.max(tetrahedron[2], tetrahedron[3]));
+    int b = -1;
+    int c = -1;
+    for(int i = 0; i < 4; i++) {
+      if ((tetrahedron[i] != a) && (tetrahedron[i] != d)) {
+        if (b == -1) {
+          b = tetrahedron[i];
+        } else {
+          c = tetrahedron[i];
+        }
+      }
+    }
+
+    if (b > c) {
+      int tmp = b;
+      b = c;
+      c = tmp;
+    }
+
+    double px = coordinates[0][a];
+    double py = coordinates[1][a];
+    double pz = coordinates[2][a];
+
+    double qx = coordinates[0][b] - px;
+    double qy = coordinates[1][b] - py;
+    double qz = coordinates[2][b] - pz;
+    double rx = coordinates[0][c] - px;
+    double ry = coordinates[1][c] - py;
+    double rz = coordinates[2][c] - pz;
+    double sx = coordinates[0][d] - px;
+    double sy = coordinates[1][d] - py;
+    double sz = coordinates[2][d] - pz;
+
+    double q2 = qx*qx + qy*qy + qz*qz;
+    double r2 = rx*rx + ry*ry + rz*rz;
+    double s2 = sx*sx + sy*sy + sz*sz;
+
+    // r x s, s x q, q x r
+    double rsx = ry*sz - rz*sy;
+    double rsy = rz*sx - rx*sz;
+    double rsz = rx*sy - ry*sx;
+    double sqx = sy*qz - sz*qy;
+    double sqy = sz*qx - sx*qz;
+    double sqz = sx*qy - sy*qx;
+    double qrx = qy*rz - qz*ry;
+    double qry = qz*rx - qx*rz;
+    double qrz = qx*ry - qy*rx;
+
+    double denominator = 2.0d * (qx*rsx + qy*rsy + qz*rsz);
+
+    if ((denominator == 0.0d) || Double.isNaN(denominator)) {
+      return false;
+    }
+
+    double ox = (q2*rsx + r2*sqx + s2*qrx) / denominator;
+    double oy = (q2*rsy + r2*sqy + s2*qry) / denominator;
+    double oz = (q2*rsz + r2*sqz + s2*qrz) / denominator;
+
+    sphere[0] = px + ox;
+    sphere[1] = py + oy;
+    sphere[2] = pz + oz;
+    sphere[3] = Math.sqrt(ox*ox + oy*oy + oz*oz);
+
+    return Double.isFinite(sphere[3]);
+  }
+
+  /**
+   * Compute the vertices incidence of the given simplexes.
+   * @param simplexes the simplexes.
+   * @param vertexCount the number of vertices.
+   * @return the vertices incidence, as an array that map each vertex index to the indices of the simplexes it belongs to.
+   */
+  private static int[][] computeVertices(int[][] simplexes, int vertexCount) {
+    int[] counts = new int[vertexCount];
+    for(int i = 0; i < simplexes.length; i++) {
+      for(int j = 0; j < 4; j++) {
+        counts[simplexes[i][j]]++;
+      }
+    }
+
+    int[][] vertices = new int[vertexCount][];
+    for(int i = 0; i < vertexCount; i++) {
+      vertices[i] = new int[counts[i]];
+      counts[i] = 0;
+    }
+
+    for(int i = 0; i < simplexes.length; i++) {
+      for(int j = 0; j < 4; j++) {
+        vertices[simplexes[i][j]][counts[simplexes[i][j]]++] = i;
+      }
+    }
+
+    return vertices;
+  }
+
+  /**
+   * Compute the neighbors of the given simplexes. As for {@link DelaunayClarkson#getNeighbors()}, the neighbor <code>j</code> of
+   * a simplex shares its face made of the vertices <code>j</code>, <code>j+1</code> and <code>j+2</code> (modulo 4).
+   * @param simplexes the simplexes.
+   * @return the neighbors, as an <code>int[n][4]</code> array of simplex indices (<code>-1</code> if no neighbor).
+   */
+  private static int[][] computeNeighbors(int[][] simplexes) {
+
+    int[][] neighbors = new int[simplexes.length][4];
+    for(int i = 0; i < simplexes.length; i++) {
+      Arrays.fill(neighbors[i], -1);
+    }
+
+    // Open addressing hash table of faces (face f is the face of simplex f/4 that is opposite to its vertex f%4)
+    int capacity = Integer.highestOneBit(Math.max(16, 8*simplexes.length)) << 1;
+    int mask     = capacity - 1;
+    int[] table  = new int[capacity];
+    Arrays.fill(table, -1);
+
+    int[] face      = new int[3];
+    int[] candidate = new int[3];
+
+    for(int f = 0; f < 4*simplexes.length; f++) {
+
+      getFace(simplexes, f, face);
+
+      int slot = hash(face[0], face[1], face[2]) & mask;
+
+      while(table[slot] != -1) {
+        getFace(simplexes, table[slot], candidate);
+
+        if ((candidate[0] == face[0]) && (candidate[1] == face[1]) && (candidate[2] == face[2])) {
+          int g = table[slot];
+          neighbors[f >> 2][((f & 3) + 1) & 3] = g >> 2;
+          neighbors[g >> 2][((g & 3) + 1) & 3] = f >> 2;
+          break;
+        }
+
+        slot = (slot + 1) & mask;
+      }
+
+      if (table[slot] == -1) {
+        table[slot] = f;
+      }
+    }
+
+    return neighbors;
+  }
+
+  /**
+   * Get the sorted vertex indices of the face <code>f</code>, that is the face of the simplex <code>f/4</code>
+   * that is opposite to its vertex <code>f%4</code>.
+   * @param simplexes the simplexes.
+   * @param f the face index.
+   * @param face the sorted face vertex indices.
+   */
+  private static void getFace(int[][] simplexes, int f, int[] face) {
+    int[] simplex = simplexes[f >> 2];
+    int opposite  = f & 3;
+
+    int a = simplex[(opposite+1) & 3];
+    int b = simplex[(opposite+2) & 3];
+    int c = simplex[(opposite+3) & 3];
+
+    int tmp;
+    if (a > b) { tmp = a; a = b; b = tmp; }
+    if (b > c) { tmp = b; b = c; c = tmp; }
+    if (a > b) { tmp = a; a = b; b = tmp; }
+
+    face[0] = a;
+    face[1] = b;
+    face[2] = c;
+  }
+
+  /**
+   * Compute a hash code for the given face vertex indices.
+   * @param a the first vertex index.
+   * @param b the second vertex index.
+   * @param c the third vertex index.
+   * @return the hash code.
+   */
+  private static int hash(int a, int b, int c) {
+    int h = a * 0x9E3779B1;
+    h = (h ^ (h >>> 15)) + b * 0x85EBCA77;
+    h = (h ^ (h >>> 13)) + c * 0xC2B2AE3D;
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * A uniform grid over the points that are not in the conflict zone.
+   * This grid is used for checking that the circumscribed sphere of a conflict zone tetrahedron does not contain any other point.
+   * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+   * @version {@value Jeometry#version}
+   * @since 2.0.1
+   */
+  private static class PointGrid {
+
+    /**
+     * The points coordinates.
+     */
+    private double[][] coordinates;
+
+    /**
+     * The grid origin.
+     */
+    private double[] origin = new double[3];
+
+    /**
+     * The grid cell size.
+     */
+    private double cellSize;
+
+    /**
+     * The grid cell counts along each axis.
+     */
+    private int[] cellCounts = new int[3];
+
+    /**
+     * The index of the first point of each cell within {@link #cellPoints} (CSR layout).
+     */
+    private int[] cellStarts;
+
+    /**
+     * The indices of the points, sorted by cell.
+     */
+    private int[] cellPoints;
+
+    /**
+     * Create a new grid over the points that are not marked within the given <code>excluded</code> array.
+     * @param coordinates the points coordinates.
+     * @param excluded the points to exclude.
+     * @param n the number of points to consider.
+     */
+    PointGrid(double[][] coordinates, boolean[] excluded, int n){
+
+      this.coordinates = coordinates;
+
+      int count = 0;
+      double[] max = new double[3];
+      Arrays.fill(this.origin, Double.POSITIVE_INFINITY);
+      Arrays.fill(max, Double.NEGATIVE_INFINITY);
+      for(int i = 0; i < n; i++) {
+        if (!excluded[i]) {
+          count++;
+          for(int j = 0; j < 3; j++) {
+            this.origin[j] = Math.min(this.origin[j], coordinates[j][i]);
+            max[j]         = Math.max(max[j], coordinates[j][i]);
+          }
+        }
+      }
+
+      if (count == 0) {
+        this.cellSize   = 1.0d;
+        this.cellStarts = new int[2];
+        this.cellPoints = new int[0];
+        Arrays.fill(this.origin, 0.0d);
+        Arrays.fill(this.cellCounts, 1);
+        return;
+      }
+
+      double volume = Math.max(1.0d, (max[0] - this.origin[0] + 1) * (max[1] - this.origin[1] + 1) * (max[2] - this.origin[2] + 1));
+      this.cellSize = Math.max(1.0d, Math.cbrt(volume * 2.0d / count));
+
+      long cells = Long.MAX_VALUE;
+      while (cells > 4L * count + 64) {
+        cells = 1;
+        for(int j = 0; j < 3; j++) {
+          this.cellCounts[j] = (int) Math.floor((max[j] - this.origin[j]) / this.cellSize) + 1;
+          cells *= this.cellCounts[j];
+        }
+
+        if (cells > 4L * count + 64) {
+          this.cellSize = this.cellSize * 1.5d;
+        }
+      }
+
+      this.cellStarts = new int[(int)cells + 1];
+      this.cellPoints = new int[count];
+
+      for(int i = 0; i < n; i++) {
+        if (!excluded[i]) {
+          this.cellStarts[cell(i) + 1]++;
+        }
+      }
+
+      for(int c = 0; c < cells; c++) {
+        this.cellStarts[c+1] += this.cellStarts[c];
+      }
+
+      int[] fill = Arrays.copyOf(this.cellStarts, (int)cells);
+      for(int i = 0; i < n; i++) {
+        if (!excluded[i]) {
+          this.cellPoints[fill[cell(i)]++] = i;
+        }
+      }
+    }
+
+    /**
+     * Get the index of the cell that contains the given point.
+     * @param point the point index.
+     * @return the index of the cell that contains the given point.
+     */
+    private int cell(int point) {
+      int index = 0;
+      for(int j = 2; j >= 0; j--) {
+        index = index * this.cellCounts[j] + clamp((int)((this.coordinates[j][point] - this.origin[j]) / this.cellSize), this.cellCounts[j]);
+      }
+      return index;
+    }
+
+    /**
+     * Clamp the given cell coordinate.
+     * @param value the value to clamp.
+     * @param count the cell count.
+     * @return the clamped value.
+     */
+    private static int clamp(int value, int count) {
+      return Math.max(0, Math.min(count - 1, value));
+    }
+
+    /**
+     * Check that the given sphere does not strictly contain any point of the grid.
+     * @param sphere the sphere, as <code>{x, y, z, radius}</code>.
+     * @return <code>true</code> if the sphere does not contain any point and <code>false</code> otherwise.
+     */
+    boolean isEmpty(double[] sphere) {
+
+      double radius2 = sphere[3] * sphere[3] * (1.0d - SPHERE_MARGIN);
+
+      int[] min = new int[3];
+      int[] max = new int[3];
+      for(int j = 0; j < 3; j++) {
+        double low  = (sphere[j] - sphere[3] - this.origin[j]) / this.cellSize;
+        double high = (sphere[j] + sphere[3] - this.origin[j]) / this.cellSize;
+
+        if ((high < 0) || (low >= this.cellCounts[j])) {
+          return true;
+        }
+
+        min[j] = clamp((int)Math.floor(low), this.cellCounts[j]);
+        max[j] = clamp((int)Math.floor(high), this.cellCounts[j]);
+      }
+
+      for(int z = min[2]; z <= max[2]; z++) {
+        double dz = distance(sphere[2], this.origin[2] + z * this.cellSize);
+        for(int y = min[1]; y <= max[1]; y++) {
+          double dy = distance(sphere[1], this.origin[1] + y * this.cellSize);
+          for(int x = min[0]; x <= max[0]; x++) {
+            double dx = distance(sphere[0], this.origin[0] + x * this.cellSize);
+
+            if (dx*dx + dy*dy + dz*dz < radius2) {
+              int c = (z * this.cellCounts[1] + y) * this.cellCounts[0] + x;
+              for(int k = this.cellStarts[c]; k < this.cellStarts[c+1]; k++) {
+                int p = this.cellPoints[k];
+                double px = this.coordinates[0][p] - sphere[0];
+                double py = this.coordinates[1][p] - sphere[1];
+                double pz = this.coordinates[2][p] - sphere[2];
+                if (px*px + py*py + pz*pz < radius2) {
+                  return false;
+                }
+              }
+            }
+          }
+        }
+      }
+
+      return true;
+    }
+
+    /**
+     * Get the distance between the given coordinate and the cell interval that start at the given value.
+     * @param coordinate the coordinate.
+     * @param start the cell interval start.
+     * @return the distance between the given coordinate and the cell interval (<code>0</code> if the coordinate is within the interval).
+     */
+    private double distance(double coordinate, double start) {
+      if (coordinate < start) {
+        return start - coordinate;
+      } else if (coordinate > start + this.cellSize) {
+        return coordinate - start - this.cellSize;
+      }
+      return 0.0d;
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package org.jeometry.geom3D.algorithm.delaunay.clarkson;
+
+import java.util.Arrays;
+
+import org.jeometry.Jeometry;
+
+/**
+ * A circulator over the tetrahedra of a {@link CompactDelaunayTetrahedralization compact Delaunay tetrahedralization} 
+ * that are incident to a given vertex (the vertex star).<br><br>
+ * The circulator walks through the neighbors of the {@link CompactDelaunayTetrahedralization#getIncidentTetrahedron(int) vertex incident tetrahedron}
+ * and does not allocate memory once its internal buffers are large enough. A circulator can be {@link #reset(int) reset} for any vertex
+ * and should be reused instead of being created for each vertex. A circulator is not thread safe, each thread has to use its own instance.<br><br>
+ * Usage:
+ * <pre>
+ * VertexStarCirculator star = tetrahedralization.createVertexStarCirculator();
+ * star.reset(vertex);
+ * while(star.hasNext()){
+ *   int tetrahedron = star.next();
+ *   ...
+ * }
+ * </pre>
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class VertexStarCirculator {
+
+  /**
+   * The underlying tetrahedralization.
+   */
+  private CompactDelaunayTetrahedralization<?> tetrahedralization = null;
+
+  /**
+   * The visit marks of the tetrahedra.
+   */
+  private int[] marks = null;
+
+  /**
+   * The current visit mark.
+   */
+  private int stamp   = 0;
+
+  /**
+   * The tetrahedra that remain to visit.
+   */
+  private int[] stack = null;
+
+  /**
+   * The number of tetrahedra that remain to visit.
+   */
+  private int stackSize = 0;
+
+  /**
+   * The vertex.
+   */
+  private int vertex = -1;
+
+  /**
+   * Create a new circulator over the vertex stars of the given tetrahedralization.
+   * @param tetrahedralization the tetrahedralization.
+   */
+  public VertexStarCirculator(CompactDelaunayTetrahedralization<?> tetrahedralization) {
+    this.tetrahedralization = tetrahedralization;
+    this.marks = new int[tetrahedralization.getTetrahedronCount()];
+    this.stack = new int[64];
+  }
+
+  /**
+   * Reset this circulator in order to enumerate the tetrahedra that are incident to the given vertex.
+   * @param vertex the vertex index.
+   */
+  public void reset(int vertex) {
+    this.vertex    = vertex;
+    this.stackSize = 0;
+
+    this.stamp++;
+    if (this.stamp == Integer.MAX_VALUE) {
+      Arrays.fill(this.marks, 0);
+      this.stamp = 1;
+    }
+
+    int start = this.tetrahedralization.getIncidentTetrahedron(vertex);
+    if (start > -1) {
+      this.marks[start] = this.stamp;
+      this.stack[this.stackSize++] = start;
+    }
+  }
+
+  /**
+   * Get the vertex whose star is enumerated.
+   * @return the vertex index.
+   */
+  public int getVertex() {
+    return this.vertex;
+  }
+
+  /**
+   * Check if there is remaining tetrahedra to enumerate.
+   * @return <code>true</code> if there is remaining tetrahedra to enumerate and <code>false</code> otherwise.
+   */
+  public boolean hasNext() {
+    return this.stackSize > 0;
+  }
+
+  /**
+   * Get the next tetrahedron that is incident to the vertex.
+   * @return the index of the next tetrahedron that is incident to the vertex.
+   * @throws IllegalStateException if there is no more tetrahedra to enumerate.
+   */
+  public int next() {
+
+    if (this.stackSize == 0) {
+      throw new IllegalStateException("No more tetrahedra within the vertex "+this.vertex+" star.");
+    }
+
+    int tetrahedron = this.stack[--this.stackSize];
+
+    // The faces that are not opposite to the vertex contain it
+    for(int i = 0; i < 4; i++) {
+      if (this.tetrahedralization.getVertex(tetrahedron, i) != this.vertex) {
+        int neighbor = this.tetrahedralization.getNeighbor(tetrahedron, i);
+
+        if ((neighbor > -1) && (this.marks[neighbor] != this.stamp)) {
+          this.marks[neighbor] = this.stamp;
+
+          if (this.stackSize == this.stack.length) {
+            this.stack = Arrays.copyOf(this.stack, 2*this.stack.length);
+          }
+
+          this.stack[this.stackSize++] = neighbor;
+        }
+      }
+    }
+
+    return tetrahedron;
+  }
+}
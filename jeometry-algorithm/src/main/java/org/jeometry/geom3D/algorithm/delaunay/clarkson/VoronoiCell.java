@@ -0,0 +1,230 @@
+package org.jeometry.geom3D.algorithm.delaunay.clarkson;
+
+import java.util.Arrays;
+
+import org.jeometry.Jeometry;
+
+/**
+ * A Voronoi cell, as produced by a {@link VoronoiExtractor Voronoi extractor}.<br><br>
+ * A cell is the region of the space that is closer to its {@link #getSite() site} than to any other site. 
+ * The cell is described as a set of faces. Each face is dual to a Delaunay edge that links the site to a 
+ * {@link #getFaceNeighbor(int) neighbor site} and is a convex polygon whose vertices are Voronoi vertices. A Voronoi vertex is identified by the index of its 
+ * dual Delaunay tetrahedron, its coordinates are available from {@link VoronoiExtractor#getCircumCenters()} 
+ * at offset <code>3*index</code>.<br><br>
+ * When cells are streamed, the same instance is reused by the extractor for successive cells. A consumer that needs to keep a cell has to {@link #copy() copy} it.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class VoronoiCell {
+
+  /**
+   * The site.
+   */
+  private int site        = -1;
+
+  /**
+   * The number of faces.
+   */
+  private int faceCount   = 0;
+
+  /**
+   * The offset of each face within the face vertices (<code>faceCount+1</code> values are relevant).
+   */
+  private int[] faceOffsets  = null;
+
+  /**
+   * The neighbor site of each face.
+   */
+  private int[] faceNeighbors = null;
+
+  /**
+   * The face vertices (Voronoi vertex indices).
+   */
+  private int[] faceVertices  = null;
+
+  /**
+   * Is the cell bounded.
+   */
+  private boolean bounded = true;
+
+  /**
+   * The cell volume.
+   */
+  private double volume   = Double.NaN;
+
+  /**
+   * Create a new empty Voronoi cell.
+   */
+  public VoronoiCell() {
+    this.faceOffsets   = new int[33];
+    this.faceNeighbors = new int[32];
+    this.faceVertices  = new int[256];
+  }
+
+  /**
+   * Get the site of this cell, that is the index of the Delaunay vertex this cell is dual to.
+   * @return the site of this cell.
+   */
+  public int getSite() {
+    return this.site;
+  }
+
+  /**
+   * Get the number of faces of this cell.
+   * @return the number of faces of this cell.
+   */
+  public int getFaceCount() {
+    return this.faceCount;
+  }
+
+  /**
+   * Get the number of vertices of the given face.
+   * @param face the face index.
+   * @return the number of vertices of the given face.
+   */
+  public int getFaceSize(int face) {
+    return this.faceOffsets[face+1] - this.faceOffsets[face];
+  }
+
+  /**
+   * Get the Voronoi vertex at the given position within the given face. 
+   * The Voronoi vertices of a face are ordered along the face boundary.
+   * @param face the face index.
+   * @param position the position of the vertex within the face.
+   * @return the Voronoi vertex index, that is the index of its dual Delaunay tetrahedron.
+   */
+  public int getFaceVertex(int face, int position) {
+    return this.faceVertices[this.faceOffsets[face] + position];
+  }
+
+  /**
+   * Get the site that is separated from this cell site by the given face.
+   * @param face the face index.
+   * @return the neighbor site.
+   */
+  public int getFaceNeighbor(int face) {
+    return this.faceNeighbors[face];
+  }
+
+  /**
+   * Get the face offsets. The vertices of the face <code>f</code> are stored within the {@link #getFaceVertices() face vertices} 
+   * from <code>offsets[f]</code> (included) to <code>offsets[f+1]</code> (excluded). 
+   * The returned array is the internal one and can be larger than the number of faces.
+   * @return the face offsets.
+   */
+  public int[] getFaceOffsets() {
+    return this.faceOffsets;
+  }
+
+  /**
+   * Get the face vertices. The returned array is the internal one and can be larger than the number of face vertices.
+   * @return the face vertices.
+   * @see #getFaceOffsets()
+   */
+  public int[] getFaceVertices() {
+    return this.faceVertices;
+  }
+
+  /**
+   * Check if this cell is bounded. A cell is unbounded if its site lies on the convex hull of the sites
+   * or if one of its vertices is dual to an infinite tetrahedron.
+   * @return <code>true</code> if this cell is bounded and <code>false</code> otherwise.
+   */
+  public boolean isBounded() {
+    return this.bounded;
+  }
+
+  /**
+   * Get the volume of this cell. 
+   * @return the volume of this cell, {@link Double#POSITIVE_INFINITY} if the cell is not bounded or {@link Double#NaN} if the volume has not been computed.
+   */
+  public double getVolume() {
+    return this.volume;
+  }
+
+  /**
+   * Create a copy of this cell that does not share data with it.
+   * @return a copy of this cell.
+   */
+  public VoronoiCell copy() {
+    VoronoiCell copy = new VoronoiCell();
+    copy.site          = this.site;
+    copy.faceCount     = this.faceCount;
+    copy.faceOffsets   = Arrays.copyOf(this.faceOffsets, this.faceCount + 1);
+    copy.faceNeighbors = Arrays.copyOf(this.faceNeighbors, this.faceCount);
+    copy.faceVertices  = Arrays.copyOf(this.faceVertices, this.faceOffsets[this.faceCount]);
+    copy.bounded       = this.bounded;
+    copy.volume        = this.volume;
+    return copy;
+  }
+
+  /**
+   * Reset this cell for the given site.
+   * @param site the site.
+   */
+  void reset(int site) {
+    this.site           = site;
+    this.faceCount      = 0;
+    this.faceOffsets[0] = 0;
+    this.bounded        = true;
+    this.volume         = Double.NaN;
+  }
+
+  /**
+   * Start a new face that separates this cell site from the given neighbor site.
+   * @param neighbor the neighbor site.
+   */
+  void startFace(int neighbor) {
+    if (this.faceCount == this.faceNeighbors.length) {
+      int capacity = 2*this.faceNeighbors.length;
+      this.faceNeighbors = Arrays.copyOf(this.faceNeighbors, capacity);
+      this.faceOffsets   = Arrays.copyOf(this.faceOffsets, capacity + 1);
+    }
+    this.faceNeighbors[this.faceCount] = neighbor;
+    this.faceOffsets[this.faceCount+1] = this.faceOffsets[this.faceCount];
+  }
+
+  /**
+   * Add a vertex to the current face.
+   * @param vertex the Voronoi vertex index.
+   */
+  void addFaceVertex(int vertex) {
+    int end = this.faceOffsets[this.faceCount+1];
+    if (end == this.faceVertices.length) {
+      this.faceVertices = Arrays.copyOf(this.faceVertices, 2*this.faceVertices.length);
+    }
+    this.faceVertices[end] = vertex;
+    this.faceOffsets[this.faceCount+1] = end + 1;
+  }
+
+  /**
+   * Validate the current face.
+   */
+  void endFace() {
+    this.faceCount++;
+  }
+
+  /**
+   * Discard the current face.
+   */
+  void discardFace() {
+    this.faceOffsets[this.faceCount+1] = this.faceOffsets[this.faceCount];
+  }
+
+  /**
+   * Set if this cell is bounded.
+   * @param bounded <code>true</code> if this cell is bounded and <code>false</code> otherwise.
+   */
+  void setBounded(boolean bounded) {
+    this.bounded = bounded;
+  }
+
+  /**
+   * Set the volume of this cell.
+   * @param volume the volume of this cell.
+   */
+  void setVolume(double volume) {
+    this.volume = volume;
+  }
+}
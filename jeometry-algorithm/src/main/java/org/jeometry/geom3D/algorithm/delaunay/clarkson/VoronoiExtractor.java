@@ -0,0 +1,435 @@
+package org.jeometry.geom3D.algorithm.delaunay.clarkson;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.algorithm.ParallelRange.RangeAction;
+import org.jeometry.geom3D.algorithm.ParallelRange;
+import org.jeometry.geom3D.point.Point3D;
+
+/**
+ * A bulk extractor of the Voronoi diagram that is dual to a {@link CompactDelaunayTetrahedralization compact Delaunay tetrahedralization}.<br><br>
+ * The circumcenter of each tetrahedron (that is a Voronoi vertex) is computed exactly once and stored within a <code>double[3*T]</code> array 
+ * (see {@link #getCircumCenters()}). Voronoi cells are then expressed as lists of Voronoi vertex indices (see {@link VoronoiCell}) and can be 
+ * extracted one by one, streamed to a consumer or collected. Cells are only extracted for the original points, infinite vertices are not considered as sites.<br><br>
+ * Extracting a cell costs time proportional to the size of the site star, once the extraction state (<code>int[V]</code> vertex marks and 
+ * <code>int[T]</code> tetrahedron marks) is allocated. This state is held by a {@link Cursor cursor}: {@link #extract(int, VoronoiCell)} reuses 
+ * a cursor that is shared by the calling threads, concurrent per site extractions should rely on one {@link #createCursor() cursor} per thread.<br><br>
+ * A cell that has a face dual to an edge lying on the boundary of the tetrahedralization, a vertex dual to an infinite tetrahedron or a vertex dual 
+ * to a degenerated tetrahedron is not {@link VoronoiCell#isBounded() bounded}. Such a cell only contains its closed faces and its volume is {@link Double#POSITIVE_INFINITY}.<br><br>
+ * Usage:
+ * <pre>
+ * VoronoiExtractor&lt;Point3D&gt; extractor = new VoronoiExtractor&lt;Point3D&gt;(tetrahedralization);
+ * double[] centers = extractor.getCircumCenters();
+ * extractor.extract(cell -&gt; {
+ *   ...
+ * });
+ * </pre>
+ * @param <T> the type of the underlying points.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class VoronoiExtractor<T extends Point3D> {
+
+  /**
+   * The minimal number of items that a parallel task has to process.
+   */
+  static final int MINIMAL_CHUNK_SIZE = 4096;
+
+  /**
+   * The underlying tetrahedralization.
+   */
+  private CompactDelaunayTetrahedralization<T> tetrahedralization = null;
+
+  /**
+   * The tetrahedra circumcenters.
+   */
+  private double[] circumCenters = null;
+
+  /**
+   * The number of threads to use.
+   */
+  private int parallelism        = 1;
+
+  /**
+   * The cursor used by the single site extraction.
+   */
+  private Cursor cursor          = null;
+
+  /**
+   * Create a new Voronoi extractor for the given tetrahedralization. 
+   * The number of threads is initialized with the number of available processors.
+   * @param tetrahedralization the tetrahedralization.
+   * @throws IllegalArgumentException if the tetrahedralization is <code>null</code>.
+   */
+  public VoronoiExtractor(CompactDelaunayTetrahedralization<T> tetrahedralization) {
+
+    if (tetrahedralization == null) {
+      throw new IllegalArgumentException("Tetrahedralization cannot be null.");
+    }
+
+    this.tetrahedralization = tetrahedralization;
+    this.parallelism        = Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Get the underlying tetrahedralization.
+   * @return the underlying tetrahedralization.
+   */
+  public CompactDelaunayTetrahedralization<T> getTetrahedralization() {
+    return this.tetrahedralization;
+  }
+
+  /**
+   * Get the number of threads used by the extraction.
+   * @return the number of threads used by the extraction.
+   * @see #setParallelism(int)
+   */
+  public int getParallelism() {
+    return this.parallelism;
+  }
+
+  /**
+   * Set the number of threads used by the extraction.
+   * @param parallelism the number of threads used by the extraction.
+   * @throws IllegalArgumentException if the given number is lesser than 1.
+   * @see #getParallelism()
+   */
+  public void setParallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+    }
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Get the circumcenters of the tetrahedra, that are the Voronoi vertices. The circumcenter of the tetrahedron <code>t</code> is stored 
+   * at offset <code>3*t</code>. The circumcenter of a degenerated tetrahedron is made of {@link Double#NaN NaN} coordinates.
+   * The circumcenters are computed on the first call and the same array is returned afterward.
+   * @return the circumcenters of the tetrahedra.
+   */
+  public synchronized double[] getCircumCenters() {
+
+    if (this.circumCenters == null) {
+      final int count = this.tetrahedralization.getTetrahedronCount();
+      final double[] centers = new double[3*count];
+
+      run(count, (start, end) -> {
+        for(int t = start; t < end; t++) {
+          this.tetrahedralization.getCircumCenter(t, centers, 3*t);
+        }
+      });
+
+      this.circumCenters = centers;
+    }
+
+    return this.circumCenters;
+  }
+
+  /**
+   * Create a new cursor that extracts the Voronoi cells of this extractor one by one.
+   * A cursor allocates its extraction state once and can then extract any cell in time proportional to the size of the site star.
+   * A cursor is not thread safe, each thread has to use its own instance.
+   * @return a new cursor.
+   */
+  public Cursor createCursor() {
+    return new Cursor();
+  }
+
+  /**
+   * Extract the Voronoi cell of the given site. 
+   * This method relies on a cursor that is created on the first call and reused afterward, so that extracting all the cells one by one costs the same as 
+   * {@link #extract(Consumer) streaming} them. The calls are serialized, threads that extract cells concurrently should use their own {@link #createCursor() cursor}.
+   * @param site the site, that is the index of a non infinite vertex of the tetrahedralization.
+   * @param cell the cell to fill (can be <code>null</code>).
+   * @return the given cell filled with the site data or a new cell if the given one is <code>null</code>.
+   * @throws IllegalArgumentException if the site is not a valid one.
+   */
+  public synchronized VoronoiCell extract(int site, VoronoiCell cell) {
+
+    if (this.cursor == null) {
+      this.cursor = new Cursor();
+    }
+
+    return this.cursor.extract(site, cell);
+  }
+
+  /**
+   * Extract all the Voronoi cells and stream them to the given consumer. 
+   * The cells are extracted in the site order, within the calling thread. The same {@link VoronoiCell cell} instance is 
+   * given to the consumer for all the sites and has to be {@link VoronoiCell#copy() copied} if it needs to be kept.
+   * @param consumer the cell consumer.
+   */
+  public void extract(Consumer<VoronoiCell> consumer) {
+
+    double[] centers = getCircumCenters();
+
+    Cursor cursor = new Cursor();
+    VoronoiCell cell = new VoronoiCell();
+
+    int sites = this.tetrahedralization.getPoints().size();
+    for(int site = 0; site < sites; site++) {
+      cursor.fill(site, cell, centers);
+      consumer.accept(cell);
+    }
+  }
+
+  /**
+   * Extract all the Voronoi cells in parallel and stream them to the given consumer. 
+   * The consumer is called concurrently by the extraction threads and has to be thread safe. The cells are not given in the site order. 
+   * A {@link VoronoiCell cell} instance is reused by each thread and has to be {@link VoronoiCell#copy() copied} if it needs to be kept.
+   * @param consumer the cell consumer.
+   * @see #setParallelism(int)
+   */
+  public void extractParallel(Consumer<VoronoiCell> consumer) {
+
+    final double[] centers = getCircumCenters();
+
+    run(this.tetrahedralization.getPoints().size(), (start, end) -> {
+      Cursor cursor = new Cursor();
+      VoronoiCell cell = new VoronoiCell();
+      for(int site = start; site < end; site++) {
+        cursor.fill(site, cell, centers);
+        consumer.accept(cell);
+      }
+    });
+  }
+
+  /**
+   * Extract all the Voronoi cells as a list. The cells are ordered by site. 
+   * For large point sets, {@link #extract(Consumer) streaming} the cells should be preferred.
+   * @return the Voronoi cells.
+   */
+  public List<VoronoiCell> extractAll() {
+
+    final int sites = this.tetrahedralization.getPoints().size();
+    final VoronoiCell[] cells = new VoronoiCell[sites];
+    final double[] centers = getCircumCenters();
+
+    run(sites, (start, end) -> {
+      Cursor cursor = new Cursor();
+      VoronoiCell cell = new VoronoiCell();
+      for(int site = start; site < end; site++) {
+        cursor.fill(site, cell, centers);
+        cells[site] = cell.copy();
+      }
+    });
+
+    List<VoronoiCell> result = new ArrayList<VoronoiCell>(sites);
+    for(VoronoiCell cell : cells) {
+      result.add(cell);
+    }
+
+    return result;
+  }
+
+  /**
+   * Compute the volume of all the Voronoi cells. The volume of the cell of site <code>s</code> is stored at index <code>s</code>. 
+   * The volume of a cell that is not bounded is {@link Double#POSITIVE_INFINITY}.
+   * @return the volumes of the Voronoi cells.
+   */
+  public double[] computeVolumes() {
+
+    final double[] volumes = new double[this.tetrahedralization.getPoints().size()];
+    final double[] centers = getCircumCenters();
+
+    run(volumes.length, (start, end) -> {
+      Cursor cursor = new Cursor();
+      VoronoiCell cell = new VoronoiCell();
+      for(int site = start; site < end; site++) {
+        cursor.fill(site, cell, centers);
+        volumes[site] = cell.getVolume();
+      }
+    });
+
+    return volumes;
+  }
+
+  /**
+   * Process the range <code>[0, count[</code> by chunks, in parallel if the range is large enough.
+   * @param count the number of items to process.
+   * @param action the chunk processing.
+   */
+  private void run(int count, RangeAction action) {
+    ParallelRange.forEach(count, ParallelRange.chunks(count, MINIMAL_CHUNK_SIZE, this.parallelism), action);
+  }
+
+  /**
+   * A cursor over the Voronoi cells, that holds the extraction state. A cursor is created by {@link VoronoiExtractor#createCursor()} and 
+   * is not thread safe, each thread has to use its own instance.
+   * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+   * @version {@value Jeometry#version}
+   * @since 2.0.1
+   */
+  public class Cursor {
+
+    /**
+     * The circulator over the site stars.
+     */
+    private VertexStarCirculator star = null;
+
+    /**
+     * The circulator over the edge rings.
+     */
+    private EdgeRingCirculator ring   = null;
+
+    /**
+     * The marks of the vertices that are already linked to the current site.
+     */
+    private int[] marks = null;
+
+    /**
+     * The current mark value.
+     */
+    private int stamp   = 0;
+
+    /**
+     * Create a new cursor.
+     */
+    private Cursor(){
+      this.star  = VoronoiExtractor.this.tetrahedralization.createVertexStarCirculator();
+      this.ring  = VoronoiExtractor.this.tetrahedralization.createEdgeRingCirculator();
+      this.marks = new int[VoronoiExtractor.this.tetrahedralization.getVertexCount()];
+    }
+
+    /**
+     * Extract the Voronoi cell of the given site.
+     * @param site the site, that is the index of a non infinite vertex of the tetrahedralization.
+     * @param cell the cell to fill (can be <code>null</code>).
+     * @return the given cell filled with the site data or a new cell if the given one is <code>null</code>.
+     * @throws IllegalArgumentException if the site is not a valid one.
+     */
+    public VoronoiCell extract(int site, VoronoiCell cell) {
+
+      int sites = VoronoiExtractor.this.tetrahedralization.getPoints().size();
+      if ((site < 0) || (site >= sites)) {
+        throw new IllegalArgumentException("Invalid site "+site+", expected a value within [0, "+sites+"[.");
+      }
+
+      VoronoiCell result = cell;
+      if (result == null) {
+        result = new VoronoiCell();
+      }
+
+      fill(site, result, getCircumCenters());
+
+      return result;
+    }
+
+    /**
+     * Fill the given cell with the Voronoi cell of the given site.
+     * @param site the site.
+     * @param cell the cell to fill.
+     * @param centers the tetrahedra circumcenters.
+     */
+    private void fill(int site, VoronoiCell cell, double[] centers) {
+
+      CompactDelaunayTetrahedralization<T> del = VoronoiExtractor.this.tetrahedralization;
+
+      this.stamp++;
+      if (this.stamp == Integer.MAX_VALUE) {
+        Arrays.fill(this.marks, 0);
+        this.stamp = 1;
+      }
+      this.marks[site] = this.stamp;
+
+      cell.reset(site);
+
+      Point3D point = del.getPoint(site);
+      double px = point.getX();
+      double py = point.getY();
+      double pz = point.getZ();
+
+      boolean bounded = del.getIncidentTetrahedron(site) > -1;
+      double volume = 0.0d;
+
+      this.star.reset(site);
+      while(this.star.hasNext()) {
+        int tetrahedron = this.star.next();
+
+        for(int i = 0; i < 4; i++) {
+          int other = del.getVertex(tetrahedron, i);
+
+          if (this.marks[other] != this.stamp) {
+            this.marks[other] = this.stamp;
+
+            boolean valid = !del.isInfiniteVertex(other);
+
+            cell.startFace(other);
+
+            this.ring.reset(site, other, tetrahedron);
+            while(this.ring.hasNext()) {
+              int vertex = this.ring.next();
+              if (valid) {
+                if (del.isInfinite(vertex) || Double.isNaN(centers[3*vertex])) {
+                  valid = false;
+                } else {
+                  cell.addFaceVertex(vertex);
+                }
+              }
+            }
+
+            if (valid && this.ring.isClosed() && (cell.getFaceSize(cell.getFaceCount()) > 2)) {
+              volume += faceVolume(cell, cell.getFaceCount(), centers, px, py, pz);
+              cell.endFace();
+            } else {
+              cell.discardFace();
+              bounded = false;
+            }
+          }
+        }
+      }
+
+      cell.setBounded(bounded);
+      if (bounded) {
+        cell.setVolume(volume);
+      } else {
+        cell.setVolume(Double.POSITIVE_INFINITY);
+      }
+    }
+
+    /**
+     * Compute the volume of the pyramid that has the given face as base and the site as apex.
+     * @param cell the cell.
+     * @param face the face.
+     * @param centers the tetrahedra circumcenters.
+     * @param px the site x coordinate.
+     * @param py the site y coordinate.
+     * @param pz the site z coordinate.
+     * @return the volume of the pyramid.
+     */
+    private double faceVolume(VoronoiCell cell, int face, double[] centers, double px, double py, double pz) {
+
+      int[] vertices = cell.getFaceVertices();
+      int start = cell.getFaceOffsets()[face];
+      int size  = cell.getFaceSize(face);
+
+      int first = 3*vertices[start];
+      double ax = centers[first]   - px;
+      double ay = centers[first+1] - py;
+      double az = centers[first+2] - pz;
+
+      double sum = 0.0d;
+
+      for(int k = 2; k < size; k++) {
+        int b = 3*vertices[start+k-1];
+        int c = 3*vertices[start+k];
+
+        double bx = centers[b]   - px;
+        double by = centers[b+1] - py;
+        double bz = centers[b+2] - pz;
+        double cx = centers[c]   - px;
+        double cy = centers[c+1] - py;
+        double cz = centers[c+2] - pz;
+
+        sum += ax*(by*cz - bz*cy) + ay*(bz*cx - bx*cz) + az*(bx*cy - by*cx);
+      }
+
+      return Math.abs(sum) / 6.0d;
+    }
+  }
+}
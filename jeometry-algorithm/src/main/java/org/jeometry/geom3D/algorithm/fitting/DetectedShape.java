@@ -0,0 +1,145 @@
+package org.jeometry.geom3D.algorithm.fitting;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.primitive.Plane;
+
+/**
+ * A shape detected within a point cloud by a {@link RansacShapeDetection shape detection}. A shape is made of its type, its parameters and
+ * the indices of the points (its inliers) that lie on it. The parameters are stored within a primitive array:
+ * <ul>
+ * <li>{@link #PLANE}: <code>(n<sub>x</sub>, n<sub>y</sub>, n<sub>z</sub>, o<sub>x</sub>, o<sub>y</sub>, o<sub>z</sub>)</code> where <i>n</i> is the unit normal of the plane and <i>o</i> its origin (the inliers centroid).
+ * <li>{@link #SPHERE}: <code>(c<sub>x</sub>, c<sub>y</sub>, c<sub>z</sub>, r)</code> where <i>c</i> is the center of the sphere and <i>r</i> its radius.
+ * </ul>
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class DetectedShape {
+
+	/**
+	 * The plane shape type.
+	 */
+	public static final int PLANE  = 1;
+
+	/**
+	 * The sphere shape type.
+	 */
+	public static final int SPHERE = 2;
+
+	/**
+	 * The shape type.
+	 */
+	private int type          = PLANE;
+
+	/**
+	 * The shape parameters.
+	 */
+	private double[] parameters = null;
+
+	/**
+	 * The indices of the inliers within the original point container.
+	 */
+	private int[] inliers       = null;
+
+	/**
+	 * Create a new detected shape.
+	 * @param type the shape type ({@link #PLANE} or {@link #SPHERE}).
+	 * @param parameters the shape parameters. The array is copied.
+	 * @param inliers the indices of the inliers within the original point container. The array is not copied.
+	 */
+	DetectedShape(int type, double[] parameters, int[] inliers) {
+		this.type       = type;
+		this.parameters = parameters.clone();
+		this.inliers    = inliers;
+	}
+
+	/**
+	 * Get the shape type.
+	 * @return the shape type ({@link #PLANE} or {@link #SPHERE}).
+	 */
+	public int getType() {
+		return this.type;
+	}
+
+	/**
+	 * Get the shape parameters. The returned array is the internal one and should not be modified.
+	 * @return the shape parameters.
+	 */
+	public double[] getParameters() {
+		return this.parameters;
+	}
+
+	/**
+	 * Get the indices of the inliers within the original point container. The returned array is the internal one and should not be modified.
+	 * @return the indices of the inliers, in increasing order.
+	 */
+	public int[] getInliers() {
+		return this.inliers;
+	}
+
+	/**
+	 * Get the number of inliers.
+	 * @return the number of inliers.
+	 */
+	public int getInlierCount() {
+		return this.inliers.length;
+	}
+
+	/**
+	 * Get the {@link Plane plane} that represents this shape.
+	 * @return the {@link Plane plane} that represents this shape.
+	 * @throws IllegalStateException if this shape is not a {@link #PLANE plane}.
+	 */
+	public Plane<Point3D> getPlane() {
+
+		if (this.type != PLANE) {
+			throw new IllegalStateException("The shape is not a plane.");
+		}
+
+		return JeometryFactory.createPlane(JeometryFactory.createPoint3D(this.parameters[3], this.parameters[4], this.parameters[5]),
+				JeometryFactory.createPoint3D(this.parameters[0], this.parameters[1], this.parameters[2]));
+	}
+
+	/**
+	 * Compute the distance from the given location to the shape.
+	 * @param x the location x coordinate.
+	 * @param y the location y coordinate.
+	 * @param z the location z coordinate.
+	 * @return the distance from the location to the shape.
+	 */
+	public double distance(double x, double y, double z) {
+		return distance(this.type, this.parameters, x, y, z);
+	}
+
+	/**
+	 * Compute the distance from the given location to the shape described by the given parameters.
+	 * @param type the shape type ({@link #PLANE} or {@link #SPHERE}).
+	 * @param parameters the shape parameters.
+	 * @param x the location x coordinate.
+	 * @param y the location y coordinate.
+	 * @param z the location z coordinate.
+	 * @return the distance from the location to the shape.
+	 */
+	static double distance(int type, double[] parameters, double x, double y, double z) {
+		if (type == PLANE) {
+			return Math.abs(parameters[0]*(x - parameters[3]) + parameters[1]*(y - parameters[4]) + parameters[2]*(z - parameters[5]));
+		}
+
+		double dx = x - parameters[0];
+		double dy = y - parameters[1];
+		double dz = z - parameters[2];
+		return Math.abs(Math.sqrt(dx*dx + dy*dy + dz*dz) - parameters[3]);
+	}
+
+	@Override
+	public String toString() {
+		if (this.type == PLANE) {
+			return "DetectedShape[plane, normal=("+this.parameters[0]+", "+this.parameters[1]+", "+this.parameters[2]+"), "
+					+ "origin=("+this.parameters[3]+", "+this.parameters[4]+", "+this.parameters[5]+"), inliers="+this.inliers.length+"]";
+		}
+		return "DetectedShape[sphere, center=("+this.parameters[0]+", "+this.parameters[1]+", "+this.parameters[2]+"), "
+				+ "radius="+this.parameters[3]+", inliers="+this.inliers.length+"]";
+	}
+}
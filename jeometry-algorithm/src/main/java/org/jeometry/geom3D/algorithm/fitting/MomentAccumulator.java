@@ -0,0 +1,525 @@
+package org.jeometry.geom3D.algorithm.fitting;
+
+import java.util.Iterator;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.algorithm.ParallelRange;
+import org.jeometry.geom3D.mesh.Face;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.jeometry.geom3D.primitive.Plane;
+import org.jeometry.io.ply.PLYElementDescription;
+import org.jeometry.io.ply.PLYReader;
+import org.jeometry.io.ply.PLYReaderListener;
+
+/**
+ * A streaming accumulator of the first and second order moments of a set of 3D points: the number of points, their mean, their covariance and their bounds.<br><br>
+ * The points are added one by one using the <a href="https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance#Welford's_online_algorithm">Welford</a> update,
+ * so that the points do not need to be stored and the statistics remain accurate far from the origin. Two accumulators can be {@link #merge(MomentAccumulator) merged}
+ * (Chan et al. update), that enables to process parts of the data on different threads and to combine the results. An accumulator can be fed:
+ * <ul>
+ * <li>by an {@link #addAll(Iterator) iterator} or a range of a {@link #addAll(Point3DContainer, int, int) container}.
+ * <li>by a {@link PLYReader PLY reader} as it is a {@link PLYReaderListener} that accumulates the {@link #readVertex(Point3D) read vertices}.
+ * <li>by parallel chunks of a container using {@link #accumulate(Point3DContainer, int)}.
+ * </ul>
+ * The centroid, the bounds, the principal axes and the least squares plane are then all available from a single pass over the data.
+ * This class is not thread safe, an accumulator has to be used by a single thread at a time.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class MomentAccumulator implements PLYReaderListener {
+
+	/**
+	 * The minimal number of points that a parallel task has to process.
+	 */
+	static final int MINIMAL_CHUNK_SIZE = 65536;
+
+	/**
+	 * The number of accumulated points.
+	 */
+	private long count  = 0L;
+
+	/**
+	 * The mean x coordinate.
+	 */
+	private double meanX = 0.0d;
+
+	/**
+	 * The mean y coordinate.
+	 */
+	private double meanY = 0.0d;
+
+	/**
+	 * The mean z coordinate.
+	 */
+	private double meanZ = 0.0d;
+
+	/**
+	 * The sum of the squared x deviations.
+	 */
+	private double mxx   = 0.0d;
+
+	/**
+	 * The sum of the x and y deviations products.
+	 */
+	private double mxy   = 0.0d;
+
+	/**
+	 * The sum of the x and z deviations products.
+	 */
+	private double mxz   = 0.0d;
+
+	/**
+	 * The sum of the squared y deviations.
+	 */
+	private double myy   = 0.0d;
+
+	/**
+	 * The sum of the y and z deviations products.
+	 */
+	private double myz   = 0.0d;
+
+	/**
+	 * The sum of the squared z deviations.
+	 */
+	private double mzz   = 0.0d;
+
+	/**
+	 * The minimal x coordinate.
+	 */
+	private double minX  = Double.POSITIVE_INFINITY;
+
+	/**
+	 * The minimal y coordinate.
+	 */
+	private double minY  = Double.POSITIVE_INFINITY;
+
+	/**
+	 * The minimal z coordinate.
+	 */
+	private double minZ  = Double.POSITIVE_INFINITY;
+
+	/**
+	 * The maximal x coordinate.
+	 */
+	private double maxX  = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * The maximal y coordinate.
+	 */
+	private double maxY  = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * The maximal z coordinate.
+	 */
+	private double maxZ  = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * Create a new empty accumulator.
+	 */
+	public MomentAccumulator() {
+	}
+
+	/**
+	 * Accumulate the moments of the given points. The points are split in contiguous ranges that are accumulated concurrently and the partial moments are merged.
+	 * @param points the points.
+	 * @param parallelism the maximal number of threads to use.
+	 * @return the accumulated moments.
+	 * @throws IllegalArgumentException if the points are <code>null</code> or if the parallelism is lesser than 1.
+	 */
+	public static MomentAccumulator accumulate(Point3DContainer<? extends Point3D> points, int parallelism) {
+
+		if (points == null) {
+			throw new IllegalArgumentException("Points cannot be null.");
+		}
+
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+		}
+
+		int size   = points.size();
+		int chunks = ParallelRange.chunks(size, MINIMAL_CHUNK_SIZE, parallelism);
+
+		MomentAccumulator accumulator = new MomentAccumulator();
+		for(MomentAccumulator partial : ParallelRange.map(size, chunks, (start, end) -> new MomentAccumulator().addAll(points, start, end))) {
+			accumulator.merge(partial);
+		}
+
+		return accumulator;
+	}
+
+	/**
+	 * Add the given location.
+	 * @param x the location x coordinate.
+	 * @param y the location y coordinate.
+	 * @param z the location z coordinate.
+	 * @return a reference on this accumulator.
+	 */
+	public MomentAccumulator add(double x, double y, double z) {
+
+		this.count++;
+
+		double dx = x - this.meanX;
+		double dy = y - this.meanY;
+		double dz = z - this.meanZ;
+
+		double inverse = 1.0d / this.count;
+		this.meanX += dx * inverse;
+		this.meanY += dy * inverse;
+		this.meanZ += dz * inverse;
+
+		// Deviations from the previous mean times deviations from the updated mean
+		double ex = x - this.meanX;
+		double ey = y - this.meanY;
+		double ez = z - this.meanZ;
+
+		this.mxx += dx * ex;
+		this.mxy += dx * ey;
+		this.mxz += dx * ez;
+		this.myy += dy * ey;
+		this.myz += dy * ez;
+		this.mzz += dz * ez;
+
+		if (x < this.minX) {
+			this.minX = x;
+		}
+		if (x > this.maxX) {
+			this.maxX = x;
+		}
+		if (y < this.minY) {
+			this.minY = y;
+		}
+		if (y > this.maxY) {
+			this.maxY = y;
+		}
+		if (z < this.minZ) {
+			this.minZ = z;
+		}
+		if (z > this.maxZ) {
+			this.maxZ = z;
+		}
+
+		return this;
+	}
+
+	/**
+	 * Add the given point.
+	 * @param point the point to add. A <code>null</code> point is ignored.
+	 * @return a reference on this accumulator.
+	 */
+	public MomentAccumulator add(Point3D point) {
+		if (point != null) {
+			add(point.getX(), point.getY(), point.getZ());
+		}
+		return this;
+	}
+
+	/**
+	 * Add the points that are given by the iterator.
+	 * @param iterator the points iterator.
+	 * @return a reference on this accumulator.
+	 */
+	public MomentAccumulator addAll(Iterator<? extends Point3D> iterator) {
+		while (iterator.hasNext()) {
+			add(iterator.next());
+		}
+		return this;
+	}
+
+	/**
+	 * Add the points of the given container that are within the range <code>[start, end[</code>.
+	 * @param points the points.
+	 * @param start the first point to add (included).
+	 * @param end the last point to add (excluded).
+	 * @return a reference on this accumulator.
+	 */
+	public MomentAccumulator addAll(Point3DContainer<? extends Point3D> points, int start, int end) {
+		for(int i = start; i < end; i++) {
+			add(points.get(i));
+		}
+		return this;
+	}
+
+	/**
+	 * Add the locations that are stored within a flat coordinates array.
+	 * @param coordinates the coordinates, the location <code>i</code> being stored from offset <code>3*i</code>.
+	 * @param start the first location to add (included).
+	 * @param end the last location to add (excluded).
+	 * @return a reference on this accumulator.
+	 */
+	public MomentAccumulator addAll(double[] coordinates, int start, int end) {
+		for(int i = start; i < end; i++) {
+			add(coordinates[3*i], coordinates[3*i+1], coordinates[3*i+2]);
+		}
+		return this;
+	}
+
+	/**
+	 * Merge the moments of the given accumulator within this one. After the merge, this accumulator describes the union of the two point sets.
+	 * @param other the accumulator to merge.
+	 * @return a reference on this accumulator.
+	 */
+	public MomentAccumulator merge(MomentAccumulator other) {
+
+		if ((other == null) || (other.count == 0L)) {
+			return this;
+		}
+
+		if (this.count == 0L) {
+			copyFrom(other);
+			return this;
+		}
+
+		double n  = this.count + other.count;
+		double na = this.count;
+		double nb = other.count;
+
+		double dx = other.meanX - this.meanX;
+		double dy = other.meanY - this.meanY;
+		double dz = other.meanZ - this.meanZ;
+
+		double factor = na * nb / n;
+
+		this.mxx += other.mxx + dx*dx*factor;
+		this.mxy += other.mxy + dx*dy*factor;
+		this.mxz += other.mxz + dx*dz*factor;
+		this.myy += other.myy + dy*dy*factor;
+		this.myz += other.myz + dy*dz*factor;
+		this.mzz += other.mzz + dz*dz*factor;
+
+		this.meanX += dx * nb / n;
+		this.meanY += dy * nb / n;
+		this.meanZ += dz * nb / n;
+
+		this.count += other.count;
+
+		this.minX = Math.min(this.minX, other.minX);
+		this.minY = Math.min(this.minY, other.minY);
+		this.minZ = Math.min(this.minZ, other.minZ);
+		this.maxX = Math.max(this.maxX, other.maxX);
+		this.maxY = Math.max(this.maxY, other.maxY);
+		this.maxZ = Math.max(this.maxZ, other.maxZ);
+
+		return this;
+	}
+
+	/**
+	 * Reset this accumulator to its empty state.
+	 * @return a reference on this accumulator.
+	 */
+	public MomentAccumulator reset() {
+		copyFrom(new MomentAccumulator());
+		return this;
+	}
+
+	/**
+	 * Create a copy of this accumulator.
+	 * @return a copy of this accumulator.
+	 */
+	public MomentAccumulator copy() {
+		MomentAccumulator copy = new MomentAccumulator();
+		copy.copyFrom(this);
+		return copy;
+	}
+
+	/**
+	 * Get the number of accumulated points.
+	 * @return the number of accumulated points.
+	 */
+	public long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Get the mean of the accumulated points, that is their centroid.
+	 * @param mean the array that will contain the mean (at least <code>double[3]</code>).
+	 * @return the given array filled with the mean, or filled with {@link Double#NaN NaN} if no point has been accumulated.
+	 */
+	public double[] getMean(double[] mean) {
+		mean[0] = (this.count > 0L) ? this.meanX : Double.NaN;
+		mean[1] = (this.count > 0L) ? this.meanY : Double.NaN;
+		mean[2] = (this.count > 0L) ? this.meanZ : Double.NaN;
+		return mean;
+	}
+
+	/**
+	 * Get the centroid of the accumulated points.
+	 * @return the centroid of the accumulated points or <code>null</code> if no point has been accumulated.
+	 */
+	public Point3D getCentroid() {
+		if (this.count == 0L) {
+			return null;
+		}
+		return JeometryFactory.createPoint3D(this.meanX, this.meanY, this.meanZ);
+	}
+
+	/**
+	 * Get the minimal coordinates of the accumulated points.
+	 * @param min the array that will contain the minimal coordinates (at least <code>double[3]</code>).
+	 * @return the given array filled with the minimal coordinates, that are {@link Double#POSITIVE_INFINITY} if no point has been accumulated.
+	 */
+	public double[] getMin(double[] min) {
+		min[0] = this.minX;
+		min[1] = this.minY;
+		min[2] = this.minZ;
+		return min;
+	}
+
+	/**
+	 * Get the maximal coordinates of the accumulated points.
+	 * @param max the array that will contain the maximal coordinates (at least <code>double[3]</code>).
+	 * @return the given array filled with the maximal coordinates, that are {@link Double#NEGATIVE_INFINITY} if no point has been accumulated.
+	 */
+	public double[] getMax(double[] max) {
+		max[0] = this.maxX;
+		max[1] = this.maxY;
+		max[2] = this.maxZ;
+		return max;
+	}
+
+	/**
+	 * Get the (population) covariance matrix of the accumulated points, that is the sum of the deviations products divided by the number of points.
+	 * @param covariance the array that will contain the covariance matrix, row major (at least <code>double[9]</code>).
+	 * @return the given array filled with the covariance matrix, or filled with {@link Double#NaN NaN} if no point has been accumulated.
+	 */
+	public double[] getCovariance(double[] covariance) {
+
+		double inverse = (this.count > 0L) ? 1.0d / this.count : Double.NaN;
+
+		covariance[0] = this.mxx * inverse;
+		covariance[1] = this.mxy * inverse;
+		covariance[2] = this.mxz * inverse;
+		covariance[3] = covariance[1];
+		covariance[4] = this.myy * inverse;
+		covariance[5] = this.myz * inverse;
+		covariance[6] = covariance[2];
+		covariance[7] = covariance[5];
+		covariance[8] = this.mzz * inverse;
+
+		return covariance;
+	}
+
+	/**
+	 * Compute the principal axes of the accumulated points, that are the eigenvectors of their covariance matrix.
+	 * @param variances the array that will contain the variances along the axes in decreasing order (at least <code>double[3]</code>).
+	 * @param axes the array that will contain the axes (at least <code>double[9]</code>), the axis <code>i</code> being stored from offset <code>3*i</code>.
+	 * The axes form a direct orthonormal frame.
+	 * @return the given <code>axes</code> array or <code>null</code> if no point has been accumulated.
+	 * @see SymmetricEigen3x3
+	 */
+	public double[] getPrincipalAxes(double[] variances, double[] axes) {
+
+		if (this.count == 0L) {
+			return null;
+		}
+
+		double inverse = 1.0d / this.count;
+
+		SymmetricEigen3x3.decompose(this.mxx * inverse, this.mxy * inverse, this.mxz * inverse, this.myy * inverse, this.myz * inverse, this.mzz * inverse, variances, axes);
+
+		return axes;
+	}
+
+	/**
+	 * Get the least squares plane of the accumulated points. The plane origin is the centroid of the points and
+	 * its normal is the principal axis of smallest variance.
+	 * @return the least squares plane or <code>null</code> if less than 3 points have been accumulated or if all the points are coincident.
+	 * @see PlaneFitting
+	 */
+	public Plane<Point3D> getPlane() {
+
+		if (this.count < 3L) {
+			return null;
+		}
+
+		double[] variances = new double[3];
+		double[] axes = getPrincipalAxes(variances, new double[9]);
+
+		if (variances[0] <= 0.0d) {
+			return null;
+		}
+
+		return JeometryFactory.createPlane(JeometryFactory.createPoint3D(this.meanX, this.meanY, this.meanZ),
+				JeometryFactory.createPoint3D(axes[6], axes[7], axes[8]));
+	}
+
+	/**
+	 * Copy the state of the given accumulator.
+	 * @param other the accumulator to copy.
+	 */
+	private void copyFrom(MomentAccumulator other) {
+		this.count = other.count;
+		this.meanX = other.meanX;
+		this.meanY = other.meanY;
+		this.meanZ = other.meanZ;
+		this.mxx   = other.mxx;
+		this.mxy   = other.mxy;
+		this.mxz   = other.mxz;
+		this.myy   = other.myy;
+		this.myz   = other.myz;
+		this.mzz   = other.mzz;
+		this.minX  = other.minX;
+		this.minY  = other.minY;
+		this.minZ  = other.minZ;
+		this.maxX  = other.maxX;
+		this.maxY  = other.maxY;
+		this.maxZ  = other.maxZ;
+	}
+
+	@Override
+	public void readStarted() {
+	}
+
+	@Override
+	public void readFinished() {
+	}
+
+	@Override
+	public void readHeaderStarted() {
+	}
+
+	@Override
+	public void readHeaderFinished() {
+	}
+
+	@Override
+	public void readElementDescription(PLYElementDescription description) {
+	}
+
+	@Override
+	public void readDataStarted() {
+	}
+
+	@Override
+	public void readDataFinished() {
+	}
+
+	@Override
+	public void readElementsStarted(PLYElementDescription description) {
+	}
+
+	@Override
+	public void readElementsFinished(PLYElementDescription description) {
+	}
+
+	/**
+	 * Accumulate the vertex that has been read.
+	 * @param vertex the vertex that has been read.
+	 */
+	@Override
+	public void readVertex(Point3D vertex) {
+		add(vertex);
+	}
+
+	@Override
+	public void readFace(Face<?> face) {
+	}
+
+	@Override
+	public String toString() {
+		return "MomentAccumulator[count="+this.count+", mean=("+this.meanX+", "+this.meanY+", "+this.meanZ+"), "
+				+ "min=("+this.minX+", "+this.minY+", "+this.minZ+"), max=("+this.maxX+", "+this.maxY+", "+this.maxZ+")]";
+	}
+}
@@ -0,0 +1,569 @@
+package org.jeometry.geom3D.algorithm.fitting;
+
+import java.util.Arrays;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.Geom3D;
+import org.jeometry.geom3D.PointKdTree;
+import org.jeometry.geom3D.algorithm.ParallelRange.RangeAction;
+import org.jeometry.geom3D.algorithm.ParallelRange;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.jeometry.geom3D.properties.HasNormal;
+
+/**
+ * A bulk estimation of the normals of a point cloud.<br><br>
+ * The normal of a point is the normal of the plane that fits its <code>k</code> nearest neighbors (the point included), that is the eigenvector associated
+ * to the smallest eigenvalue of the neighborhood covariance matrix. The neighbors are searched within a {@link PointKdTree k-d tree},
+ * the covariance is accumulated within local variables and the eigenproblem is solved by {@link SymmetricEigen3x3}, so that no memory is allocated per point.
+ * The points are processed by contiguous ranges that are run concurrently.<br><br>
+ * The normals can then be oriented:
+ * <ul>
+ * <li>{@link #ORIENTATION_NONE}: the normals are not oriented and the sign of each normal is arbitrary.
+ * <li>{@link #ORIENTATION_VIEWPOINT}: each normal is oriented toward the {@link #setViewPoint(double, double, double) view point}.
+ * <li>{@link #ORIENTATION_PROPAGATION}: the orientation is propagated along a minimum spanning tree of the neighborhood graph weighted by <i>1&nbsp;-&nbsp;|n<sub>i</sub>&nbsp;&middot;&nbsp;n<sub>j</sub>|</i>
+ * (see Hoppe et al., <i>Surface reconstruction from unorganized points</i>, 1992). The tree of each connected component is rooted at its highest point, whose normal is oriented toward +z.
+ * </ul>
+ * Usage:
+ * <pre>
+ * NormalEstimation estimation = new NormalEstimation(16);
+ * double[] normals = estimation.estimate(points);
+ * </pre>
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class NormalEstimation {
+
+	/**
+	 * The normals are not oriented.
+	 */
+	public static final int ORIENTATION_NONE        = 0;
+
+	/**
+	 * The normals are oriented toward a view point.
+	 */
+	public static final int ORIENTATION_VIEWPOINT   = 1;
+
+	/**
+	 * The normals orientation is propagated along the neighborhood graph.
+	 */
+	public static final int ORIENTATION_PROPAGATION = 2;
+
+	/**
+	 * The default number of neighbors.
+	 */
+	public static final int DEFAULT_NEIGHBOR_COUNT  = 16;
+
+	/**
+	 * The minimal number of points that a parallel task has to process.
+	 */
+	static final int MINIMAL_CHUNK_SIZE      = 4096;
+
+	/**
+	 * The number of neighbors used for estimating a normal.
+	 */
+	private int neighborCount = DEFAULT_NEIGHBOR_COUNT;
+
+	/**
+	 * The orientation method.
+	 */
+	private int orientation   = ORIENTATION_PROPAGATION;
+
+	/**
+	 * The view point used by the {@link #ORIENTATION_VIEWPOINT} orientation.
+	 */
+	private double[] viewPoint = new double[3];
+
+	/**
+	 * The number of threads to use.
+	 */
+	private int parallelism   = 1;
+
+	/**
+	 * Create a new normal estimation that relies on {@link #DEFAULT_NEIGHBOR_COUNT} neighbors.
+	 * The number of threads is initialized with the number of available processors.
+	 */
+	public NormalEstimation() {
+		this(DEFAULT_NEIGHBOR_COUNT);
+	}
+
+	/**
+	 * Create a new normal estimation that relies on the given number of neighbors.
+	 * The number of threads is initialized with the number of available processors.
+	 * @param neighborCount the number of neighbors used for estimating a normal (at least 2).
+	 * @throws IllegalArgumentException if the number of neighbors is lesser than 2.
+	 */
+	public NormalEstimation(int neighborCount) {
+		setNeighborCount(neighborCount);
+		this.parallelism = Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Get the number of neighbors used for estimating a normal.
+	 * @return the number of neighbors used for estimating a normal.
+	 * @see #setNeighborCount(int)
+	 */
+	public int getNeighborCount() {
+		return this.neighborCount;
+	}
+
+	/**
+	 * Set the number of neighbors used for estimating a normal.
+	 * @param neighborCount the number of neighbors used for estimating a normal (at least 2).
+	 * @throws IllegalArgumentException if the number of neighbors is lesser than 2.
+	 * @see #getNeighborCount()
+	 */
+	public void setNeighborCount(int neighborCount) {
+		if (neighborCount < 2) {
+			throw new IllegalArgumentException("The number of neighbors has to be at least 2 ("+neighborCount+" given).");
+		}
+		this.neighborCount = neighborCount;
+	}
+
+	/**
+	 * Get the orientation method.
+	 * @return the orientation method ({@link #ORIENTATION_NONE}, {@link #ORIENTATION_VIEWPOINT} or {@link #ORIENTATION_PROPAGATION}).
+	 * @see #setOrientation(int)
+	 */
+	public int getOrientation() {
+		return this.orientation;
+	}
+
+	/**
+	 * Set the orientation method.
+	 * @param orientation the orientation method ({@link #ORIENTATION_NONE}, {@link #ORIENTATION_VIEWPOINT} or {@link #ORIENTATION_PROPAGATION}).
+	 * @throws IllegalArgumentException if the orientation method is not valid.
+	 * @see #getOrientation()
+	 */
+	public void setOrientation(int orientation) {
+		if ((orientation != ORIENTATION_NONE) && (orientation != ORIENTATION_VIEWPOINT) && (orientation != ORIENTATION_PROPAGATION)) {
+			throw new IllegalArgumentException("Invalid orientation method "+orientation+".");
+		}
+		this.orientation = orientation;
+	}
+
+	/**
+	 * Get the view point used by the {@link #ORIENTATION_VIEWPOINT} orientation.
+	 * @return the view point, as a <code>double[3]</code> array.
+	 * @see #setViewPoint(double, double, double)
+	 */
+	public double[] getViewPoint() {
+		return this.viewPoint.clone();
+	}
+
+	/**
+	 * Set the view point used by the {@link #ORIENTATION_VIEWPOINT} orientation.
+	 * @param x the view point x coordinate.
+	 * @param y the view point y coordinate.
+	 * @param z the view point z coordinate.
+	 * @see #getViewPoint()
+	 */
+	public void setViewPoint(double x, double y, double z) {
+		this.viewPoint[0] = x;
+		this.viewPoint[1] = y;
+		this.viewPoint[2] = z;
+	}
+
+	/**
+	 * Get the number of threads used by the estimation.
+	 * @return the number of threads used by the estimation.
+	 * @see #setParallelism(int)
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/**
+	 * Set the number of threads used by the estimation.
+	 * @param parallelism the number of threads used by the estimation.
+	 * @throws IllegalArgumentException if the given number is lesser than 1.
+	 * @see #getParallelism()
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+		}
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Estimate the normals of the given points.
+	 * @param points the points.
+	 * @return the unit normals, as a <code>double[3*N]</code> array where the normal of the point <code>i</code> is stored from offset <code>3*i</code>.
+	 * @see #estimate(Point3DContainer, double[], double[])
+	 */
+	public double[] estimate(Point3DContainer<? extends Point3D> points) {
+		return estimate(points, null, null);
+	}
+
+	/**
+	 * Estimate the normals of the given points. The normal of a point that has less than 2 neighbors (if the container has less than 3 points)
+	 * is made of {@link Double#NaN NaN} coordinates.
+	 * @param points the points.
+	 * @param normals the array that will contain the normals (at least <code>double[3*N]</code>), or <code>null</code> if a new array has to be allocated.
+	 * @param curvatures the array that will contain the surface variation of each point (at least <code>double[N]</code>), or <code>null</code> if not needed.
+	 * The surface variation is <i>&lambda;<sub>min</sub>&nbsp;/&nbsp;(&lambda;<sub>0</sub>&nbsp;+&nbsp;&lambda;<sub>1</sub>&nbsp;+&nbsp;&lambda;<sub>2</sub>)</i>,
+	 * it is <i>0</i> on a plane and <i>1/3</i> for an isotropic neighborhood.
+	 * @return the unit normals, as a <code>double[3*N]</code> array where the normal of the point <code>i</code> is stored from offset <code>3*i</code>.
+	 * @throws IllegalArgumentException if the points are <code>null</code> or if an array is too small.
+	 */
+	public double[] estimate(Point3DContainer<? extends Point3D> points, double[] normals, double[] curvatures) {
+
+		if (points == null) {
+			throw new IllegalArgumentException("Points cannot be null.");
+		}
+
+		final int count = points.size();
+
+		final double[] result = (normals != null) ? normals : new double[3*count];
+
+		if (result.length < 3*count) {
+			throw new IllegalArgumentException("Normals array is too small ("+result.length+" < "+(3*count)+").");
+		}
+
+		if ((curvatures != null) && (curvatures.length < count)) {
+			throw new IllegalArgumentException("Curvatures array is too small ("+curvatures.length+" < "+count+").");
+		}
+
+		final double[] coordinates = Geom3D.toCoordinates(points);
+
+		final PointKdTree index = new PointKdTree(coordinates);
+
+		final int k = Math.min(this.neighborCount, Math.max(0, count - 1));
+
+		// The neighborhood graph is only needed by the propagation
+		final int[] neighbors = (this.orientation == ORIENTATION_PROPAGATION) ? new int[k*count] : null;
+
+		run(count, (start, end) -> {
+
+			int[] indices      = new int[Math.max(k, 1)];
+			double[] distances = new double[Math.max(k, 1)];
+			double[] values    = new double[3];
+			double[] vectors   = new double[9];
+
+			for(int i = start; i < end; i++) {
+
+				double px = coordinates[3*i];
+				double py = coordinates[3*i+1];
+				double pz = coordinates[3*i+2];
+
+				int found = index.nearest(px, py, pz, k, i, indices, distances);
+
+				if (neighbors != null) {
+					System.arraycopy(indices, 0, neighbors, k*i, found);
+				}
+
+				if (found < 2) {
+					result[3*i]   = Double.NaN;
+					result[3*i+1] = Double.NaN;
+					result[3*i+2] = Double.NaN;
+					if (curvatures != null) {
+						curvatures[i] = Double.NaN;
+					}
+					continue;
+				}
+
+				// Covariance of the neighborhood (the point included), relative to the point for numerical stability
+				double sx  = 0.0d;
+				double sy  = 0.0d;
+				double sz  = 0.0d;
+				double sxx = 0.0d;
+				double sxy = 0.0d;
+				double sxz = 0.0d;
+				double syy = 0.0d;
+				double syz = 0.0d;
+				double szz = 0.0d;
+
+				for(int n = 0; n < found; n++) {
+					int neighbor = indices[n];
+					double x = coordinates[3*neighbor]   - px;
+					double y = coordinates[3*neighbor+1] - py;
+					double z = coordinates[3*neighbor+2] - pz;
+					sx  += x;
+					sy  += y;
+					sz  += z;
+					sxx += x*x;
+					sxy += x*y;
+					sxz += x*z;
+					syy += y*y;
+					syz += y*z;
+					szz += z*z;
+				}
+
+				double size = found + 1;
+				double mx = sx / size;
+				double my = sy / size;
+				double mz = sz / size;
+
+				SymmetricEigen3x3.decompose(sxx / size - mx*mx, sxy / size - mx*my, sxz / size - mx*mz,
+						syy / size - my*my, syz / size - my*mz, szz / size - mz*mz, values, vectors);
+
+				result[3*i]   = vectors[6];
+				result[3*i+1] = vectors[7];
+				result[3*i+2] = vectors[8];
+
+				if (curvatures != null) {
+					double sum = values[0] + values[1] + values[2];
+					curvatures[i] = (sum > 0.0d) ? Math.max(0.0d, values[2]) / sum : 0.0d;
+				}
+			}
+		});
+
+		if (this.orientation == ORIENTATION_VIEWPOINT) {
+			final double vx = this.viewPoint[0];
+			final double vy = this.viewPoint[1];
+			final double vz = this.viewPoint[2];
+			run(count, (start, end) -> {
+				for(int i = start; i < end; i++) {
+					double dot = (vx - coordinates[3*i])*result[3*i] + (vy - coordinates[3*i+1])*result[3*i+1] + (vz - coordinates[3*i+2])*result[3*i+2];
+					if (dot < 0.0d) {
+						result[3*i]   = -result[3*i];
+						result[3*i+1] = -result[3*i+1];
+						result[3*i+2] = -result[3*i+2];
+					}
+				}
+			});
+		} else if ((this.orientation == ORIENTATION_PROPAGATION) && (k > 0)) {
+			propagate(coordinates, result, neighbors, k, count);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Estimate the normals of the given points and set them to the points that implement {@link HasNormal}.
+	 * The normal of a point that already has one is updated in place, otherwise a new normal is created.
+	 * @param points the points.
+	 * @return the number of points whose normal has been set.
+	 */
+	public int apply(Point3DContainer<? extends Point3D> points) {
+
+		double[] normals = estimate(points);
+
+		int updated = 0;
+		for(int i = 0; i < points.size(); i++) {
+			Point3D point = points.get(i);
+			if ((point instanceof HasNormal) && (!Double.isNaN(normals[3*i]))) {
+				HasNormal target = (HasNormal) point;
+				Point3D normal = target.getNormal();
+				if (normal != null) {
+					normal.setX(normals[3*i]);
+					normal.setY(normals[3*i+1]);
+					normal.setZ(normals[3*i+2]);
+				} else {
+					target.setNormal(JeometryFactory.createPoint3D(normals[3*i], normals[3*i+1], normals[3*i+2]));
+				}
+				updated++;
+			}
+		}
+
+		return updated;
+	}
+
+	/**
+	 * Propagate the normals orientation along a minimum spanning tree of the symmetric neighborhood graph (Prim algorithm).
+	 * @param coordinates the points coordinates.
+	 * @param normals the normals to orient.
+	 * @param neighbors the neighbors of each point (<code>k</code> per point).
+	 * @param k the number of neighbors of each point.
+	 * @param count the number of points.
+	 */
+	private static void propagate(double[] coordinates, double[] normals, int[] neighbors, int k, int count) {
+
+		// Reverse neighborhood, so that the graph is symmetric
+		int[] reverseStart = new int[count + 1];
+		for(int e = 0; e < k*count; e++) {
+			reverseStart[neighbors[e] + 1]++;
+		}
+		for(int i = 0; i < count; i++) {
+			reverseStart[i+1] += reverseStart[i];
+		}
+		int[] fill = new int[count];
+		int[] reverse = new int[k*count];
+		for(int e = 0; e < k*count; e++) {
+			int target = neighbors[e];
+			reverse[reverseStart[target] + fill[target]] = e / k;
+			fill[target]++;
+		}
+
+		// Connected components, each one is rooted at its highest point
+		int[] queue = fill;
+		boolean[] visited = new boolean[count];
+		int[] roots = new int[count];
+		int rootCount = 0;
+		for(int seed = 0; seed < count; seed++) {
+			if (visited[seed] || Double.isNaN(normals[3*seed])) {
+				continue;
+			}
+
+			int root = seed;
+			int head = 0;
+			int tail = 0;
+			queue[tail++] = seed;
+			visited[seed] = true;
+			while (head < tail) {
+				int current = queue[head++];
+				if (coordinates[3*current+2] > coordinates[3*root+2]) {
+					root = current;
+				}
+				for(int e = k*current; e < k*(current+1); e++) {
+					int next = neighbors[e];
+					if (!visited[next]) {
+						visited[next] = true;
+						queue[tail++] = next;
+					}
+				}
+				for(int e = reverseStart[current]; e < reverseStart[current+1]; e++) {
+					int next = reverse[e];
+					if (!visited[next]) {
+						visited[next] = true;
+						queue[tail++] = next;
+					}
+				}
+			}
+			roots[rootCount++] = root;
+		}
+
+		// Prim algorithm from each root, a point is oriented consistently with its tree parent when it is reached
+		double[] keys = new double[count];
+		int[] parents = new int[count];
+		int[] heap = queue;
+		int[] positions = new int[count];
+		Arrays.fill(keys, Double.POSITIVE_INFINITY);
+		Arrays.fill(positions, -1);
+		Arrays.fill(visited, false);
+
+		for(int r = 0; r < rootCount; r++) {
+
+			int root = roots[r];
+			if (normals[3*root+2] < 0.0d) {
+				flip(normals, root);
+			}
+
+			int size = 0;
+			keys[root] = 0.0d;
+			parents[root] = -1;
+			heap[size] = root;
+			positions[root] = size;
+			size++;
+
+			while (size > 0) {
+
+				int current = heap[0];
+				positions[current] = -1;
+				size--;
+				if (size > 0) {
+					heap[0] = heap[size];
+					positions[heap[0]] = 0;
+					siftDown(heap, positions, keys, 0, size);
+				}
+
+				visited[current] = true;
+
+				int parent = parents[current];
+				if ((parent >= 0) && (normals[3*current]*normals[3*parent] + normals[3*current+1]*normals[3*parent+1] + normals[3*current+2]*normals[3*parent+2] < 0.0d)) {
+					flip(normals, current);
+				}
+
+				for(int pass = 0; pass < 2; pass++) {
+					int first = (pass == 0) ? k*current : reverseStart[current];
+					int last  = (pass == 0) ? k*(current+1) : reverseStart[current+1];
+					int[] edges = (pass == 0) ? neighbors : reverse;
+					for(int e = first; e < last; e++) {
+						int next = edges[e];
+						if (visited[next] || Double.isNaN(normals[3*next])) {
+							continue;
+						}
+
+						double weight = 1.0d - Math.abs(normals[3*current]*normals[3*next] + normals[3*current+1]*normals[3*next+1] + normals[3*current+2]*normals[3*next+2]);
+						if (weight < keys[next]) {
+							keys[next] = weight;
+							parents[next] = current;
+							if (positions[next] < 0) {
+								heap[size] = next;
+								positions[next] = size;
+								size++;
+							}
+							siftUp(heap, positions, keys, positions[next]);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Flip the given normal.
+	 * @param normals the normals.
+	 * @param point the point whose normal has to be flipped.
+	 */
+	private static void flip(double[] normals, int point) {
+		normals[3*point]   = -normals[3*point];
+		normals[3*point+1] = -normals[3*point+1];
+		normals[3*point+2] = -normals[3*point+2];
+	}
+
+	/**
+	 * Move up the given element within the indexed min heap.
+	 * @param heap the heap.
+	 * @param positions the position of each element within the heap.
+	 * @param keys the elements keys.
+	 * @param position the element position.
+	 */
+	private static void siftUp(int[] heap, int[] positions, double[] keys, int position) {
+		int child = position;
+		int element = heap[child];
+		while (child > 0) {
+			int parent = (child - 1) >> 1;
+			if (keys[heap[parent]] <= keys[element]) {
+				break;
+			}
+			heap[child] = heap[parent];
+			positions[heap[child]] = child;
+			child = parent;
+		}
+		heap[child] = element;
+		positions[element] = child;
+	}
+
+	/**
+	 * Move down the given element within the indexed min heap.
+	 * @param heap the heap.
+	 * @param positions the position of each element within the heap.
+	 * @param keys the elements keys.
+	 * @param position the element position.
+	 * @param size the heap size.
+	 */
+	private static void siftDown(int[] heap, int[] positions, double[] keys, int position, int size) {
+		int parent = position;
+		int element = heap[parent];
+		while (true) {
+			int child = 2*parent + 1;
+			if (child >= size) {
+				break;
+			}
+			if ((child + 1 < size) && (keys[heap[child+1]] < keys[heap[child]])) {
+				child++;
+			}
+			if (keys[heap[child]] >= keys[element]) {
+				break;
+			}
+			heap[parent] = heap[child];
+			positions[heap[parent]] = parent;
+			parent = child;
+		}
+		heap[parent] = element;
+		positions[element] = parent;
+	}
+
+	/**
+	 * Process the range <code>[0, count[</code> by chunks, in parallel if the range is large enough.
+	 * @param count the number of items to process.
+	 * @param action the chunk processing.
+	 */
+	private void run(int count, RangeAction action) {
+		ParallelRange.forEach(count, ParallelRange.chunks(count, MINIMAL_CHUNK_SIZE, this.parallelism), action);
+	}
+}
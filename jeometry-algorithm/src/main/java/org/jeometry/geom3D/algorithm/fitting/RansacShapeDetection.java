@@ -0,0 +1,1054 @@
+package org.jeometry.geom3D.algorithm.fitting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.algorithm.ParallelRange;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.jeometry.geom3D.primitive.Plane;
+
+/**
+ * A detection of {@link DetectedShape#PLANE planes} and {@link DetectedShape#SPHERE spheres} within a point cloud based on the
+ * <a href="https://en.wikipedia.org/wiki/Random_sample_consensus">RANdom SAmple Consensus</a> (RANSAC) method.<br><br>
+ * A shape hypothesis is computed from a minimal random sample of points (3 points for a plane, 4 points for a sphere) and is scored by counting
+ * the points that lie within the {@link #setDistanceThreshold(double) distance threshold} from it. The hypotheses are generated and scored concurrently
+ * over a primitive coordinates array. The scoring of a hypothesis is stopped as soon as it cannot beat the best one and the number of hypotheses is adapted
+ * to the best inlier ratio so that the best shape is found with the {@link #setProbability(double) given probability}.
+ * The best hypothesis is then refined using a least squares fit of its inliers ({@link PlaneFitting} for the planes) and its inliers are collected again.<br><br>
+ * {@link #detectAll(Point3DContainer)} extracts the shapes one after the other, removing the inliers of each detected shape, until no shape with
+ * enough {@link #setMinimumInliers(int) inliers} can be found. This is the usual way of segmenting a scan into planes.<br><br>
+ * Usage:
+ * <pre>
+ * RansacShapeDetection detection = new RansacShapeDetection(0.01d, 500);
+ * for(DetectedShape shape : detection.detectAll(points)) {
+ *   Plane&lt;Point3D&gt; plane = shape.getPlane();
+ *   int[] inliers = shape.getInliers();
+ *   ...
+ * }
+ * </pre>
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class RansacShapeDetection {
+
+	/**
+	 * The default probability of finding the best shape.
+	 */
+	public static final double DEFAULT_PROBABILITY       = 0.99d;
+
+	/**
+	 * The default maximal number of hypotheses per detected shape.
+	 */
+	public static final int DEFAULT_MAXIMUM_ITERATIONS   = 10000;
+
+	/**
+	 * The default number of refinement steps of a detected shape.
+	 */
+	public static final int DEFAULT_REFINEMENT_STEPS     = 3;
+
+	/**
+	 * The default maximal radius of a detected sphere, relatively to the diagonal of the bounds of the points.
+	 */
+	public static final double DEFAULT_RADIUS_RATIO      = 1.0d;
+
+	/**
+	 * The minimal number of points that justifies a parallel scoring.
+	 */
+	public static final int MINIMAL_PARALLEL_SIZE        = 4096;
+
+	/**
+	 * The maximal distance from a point to a shape for the point to be an inlier of the shape.
+	 */
+	private double distanceThreshold = 0.0d;
+
+	/**
+	 * The minimal number of inliers of a detected shape.
+	 */
+	private int minimumInliers       = 3;
+
+	/**
+	 * The probability of finding the best shape.
+	 */
+	private double probability       = DEFAULT_PROBABILITY;
+
+	/**
+	 * The maximal number of hypotheses per detected shape.
+	 */
+	private int maximumIterations    = DEFAULT_MAXIMUM_ITERATIONS;
+
+	/**
+	 * The number of refinement steps of a detected shape.
+	 */
+	private int refinementSteps      = DEFAULT_REFINEMENT_STEPS;
+
+	/**
+	 * The detected shape types, as a combination of {@link DetectedShape#PLANE} and {@link DetectedShape#SPHERE}.
+	 */
+	private int shapeTypes           = DetectedShape.PLANE;
+
+	/**
+	 * The minimal radius of a detected sphere.
+	 */
+	private double minimumRadius     = 0.0d;
+
+	/**
+	 * The maximal radius of a detected sphere.
+	 */
+	private double maximumRadius     = Double.POSITIVE_INFINITY;
+
+	/**
+	 * The maximal radius of a detected sphere, relatively to the diagonal of the bounds of the points.
+	 */
+	private double radiusRatio       = DEFAULT_RADIUS_RATIO;
+
+	/**
+	 * The maximal number of shapes extracted by {@link #detectAll(Point3DContainer)}.
+	 */
+	private int maximumShapes        = Integer.MAX_VALUE;
+
+	/**
+	 * The seed of the random samples.
+	 */
+	private long seed                = 0L;
+
+	/**
+	 * The number of threads to use.
+	 */
+	private int parallelism          = 1;
+
+	/**
+	 * Create a new shape detection that detects planes.
+	 * The number of threads is initialized with the number of available processors.
+	 * @param distanceThreshold the maximal distance from a point to a shape for the point to be an inlier of the shape.
+	 * @param minimumInliers the minimal number of inliers of a detected shape.
+	 * @throws IllegalArgumentException if the threshold is negative or if the minimal number of inliers is lesser than 3.
+	 */
+	public RansacShapeDetection(double distanceThreshold, int minimumInliers) {
+		setDistanceThreshold(distanceThreshold);
+		setMinimumInliers(minimumInliers);
+		this.parallelism = Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Get the maximal distance from a point to a shape for the point to be an inlier of the shape.
+	 * @return the maximal distance from a point to a shape for the point to be an inlier of the shape.
+	 * @see #setDistanceThreshold(double)
+	 */
+	public double getDistanceThreshold() {
+		return this.distanceThreshold;
+	}
+
+	/**
+	 * Set the maximal distance from a point to a shape for the point to be an inlier of the shape.
+	 * @param distanceThreshold the maximal distance from a point to a shape for the point to be an inlier of the shape.
+	 * @throws IllegalArgumentException if the threshold is negative or is not a number.
+	 * @see #getDistanceThreshold()
+	 */
+	public void setDistanceThreshold(double distanceThreshold) {
+		if (!(distanceThreshold >= 0.0d)) {
+			throw new IllegalArgumentException("Invalid distance threshold "+distanceThreshold+".");
+		}
+		this.distanceThreshold = distanceThreshold;
+	}
+
+	/**
+	 * Get the minimal number of inliers of a detected shape.
+	 * @return the minimal number of inliers of a detected shape.
+	 * @see #setMinimumInliers(int)
+	 */
+	public int getMinimumInliers() {
+		return this.minimumInliers;
+	}
+
+	/**
+	 * Set the minimal number of inliers of a detected shape.
+	 * @param minimumInliers the minimal number of inliers of a detected shape (at least 3).
+	 * @throws IllegalArgumentException if the minimal number of inliers is lesser than 3.
+	 * @see #getMinimumInliers()
+	 */
+	public void setMinimumInliers(int minimumInliers) {
+		if (minimumInliers < 3) {
+			throw new IllegalArgumentException("The minimal number of inliers has to be at least 3 ("+minimumInliers+" given).");
+		}
+		this.minimumInliers = minimumInliers;
+	}
+
+	/**
+	 * Get the probability of finding the best shape.
+	 * @return the probability of finding the best shape.
+	 * @see #setProbability(double)
+	 */
+	public double getProbability() {
+		return this.probability;
+	}
+
+	/**
+	 * Set the probability of finding the best shape. The greater the probability, the greater the number of hypotheses.
+	 * @param probability the probability of finding the best shape, within <code>]0, 1[</code>.
+	 * @throws IllegalArgumentException if the probability is not within <code>]0, 1[</code>.
+	 * @see #getProbability()
+	 */
+	public void setProbability(double probability) {
+		if (!((probability > 0.0d) && (probability < 1.0d))) {
+			throw new IllegalArgumentException("Invalid probability "+probability+", expected a value within ]0, 1[.");
+		}
+		this.probability = probability;
+	}
+
+	/**
+	 * Get the maximal number of hypotheses per detected shape.
+	 * @return the maximal number of hypotheses per detected shape.
+	 * @see #setMaximumIterations(int)
+	 */
+	public int getMaximumIterations() {
+		return this.maximumIterations;
+	}
+
+	/**
+	 * Set the maximal number of hypotheses per detected shape.
+	 * @param maximumIterations the maximal number of hypotheses per detected shape.
+	 * @throws IllegalArgumentException if the given number is lesser than 1.
+	 * @see #getMaximumIterations()
+	 */
+	public void setMaximumIterations(int maximumIterations) {
+		if (maximumIterations < 1) {
+			throw new IllegalArgumentException("The maximal number of iterations has to be at least 1 ("+maximumIterations+" given).");
+		}
+		this.maximumIterations = maximumIterations;
+	}
+
+	/**
+	 * Get the number of least squares refinement steps of a detected shape.
+	 * @return the number of refinement steps of a detected shape.
+	 * @see #setRefinementSteps(int)
+	 */
+	public int getRefinementSteps() {
+		return this.refinementSteps;
+	}
+
+	/**
+	 * Set the number of least squares refinement steps of a detected shape.
+	 * A step fits the shape to its inliers and collects the inliers again. The refinement stops when a step does not increase the number of inliers.
+	 * @param refinementSteps the number of refinement steps (<code>0</code> disables the refinement).
+	 * @throws IllegalArgumentException if the given number is negative.
+	 * @see #getRefinementSteps()
+	 */
+	public void setRefinementSteps(int refinementSteps) {
+		if (refinementSteps < 0) {
+			throw new IllegalArgumentException("The number of refinement steps cannot be negative ("+refinementSteps+" given).");
+		}
+		this.refinementSteps = refinementSteps;
+	}
+
+	/**
+	 * Get the detected shape types.
+	 * @return the detected shape types, as a combination of {@link DetectedShape#PLANE} and {@link DetectedShape#SPHERE}.
+	 * @see #setShapeTypes(int)
+	 */
+	public int getShapeTypes() {
+		return this.shapeTypes;
+	}
+
+	/**
+	 * Set the detected shape types.
+	 * @param shapeTypes the detected shape types, as a combination (using logical "or") of {@link DetectedShape#PLANE} and {@link DetectedShape#SPHERE}.
+	 * @throws IllegalArgumentException if no valid shape type is given.
+	 * @see #getShapeTypes()
+	 */
+	public void setShapeTypes(int shapeTypes) {
+		if (((shapeTypes & (DetectedShape.PLANE | DetectedShape.SPHERE)) == 0) || ((shapeTypes & ~(DetectedShape.PLANE | DetectedShape.SPHERE)) != 0)) {
+			throw new IllegalArgumentException("Invalid shape types "+shapeTypes+".");
+		}
+		this.shapeTypes = shapeTypes;
+	}
+
+	/**
+	 * Set the range of the radius of the detected spheres. The detected spheres are also bounded by the {@link #setRadiusRatio(double) radius ratio}.
+	 * @param minimumRadius the minimal radius of a detected sphere.
+	 * @param maximumRadius the maximal radius of a detected sphere.
+	 * @throws IllegalArgumentException if the range is not valid.
+	 * @see #getMinimumRadius()
+	 * @see #getMaximumRadius()
+	 */
+	public void setRadiusRange(double minimumRadius, double maximumRadius) {
+		if (!((minimumRadius >= 0.0d) && (maximumRadius >= minimumRadius))) {
+			throw new IllegalArgumentException("Invalid radius range ["+minimumRadius+", "+maximumRadius+"].");
+		}
+		this.minimumRadius = minimumRadius;
+		this.maximumRadius = maximumRadius;
+	}
+
+	/**
+	 * Get the minimal radius of a detected sphere.
+	 * @return the minimal radius of a detected sphere.
+	 * @see #setRadiusRange(double, double)
+	 */
+	public double getMinimumRadius() {
+		return this.minimumRadius;
+	}
+
+	/**
+	 * Get the maximal radius of a detected sphere.
+	 * @return the maximal radius of a detected sphere.
+	 * @see #setRadiusRange(double, double)
+	 */
+	public double getMaximumRadius() {
+		return this.maximumRadius;
+	}
+
+	/**
+	 * Get the maximal radius of a detected sphere, relatively to the diagonal of the bounds of the points.
+	 * @return the maximal radius of a detected sphere, relatively to the diagonal of the bounds of the points.
+	 * @see #setRadiusRatio(double)
+	 */
+	public double getRadiusRatio() {
+		return this.radiusRatio;
+	}
+
+	/**
+	 * Set the maximal radius of a detected sphere, relatively to the diagonal of the bounds of the points that remain when the sphere is searched.
+	 * As a sphere whose radius is large enough fits any planar patch within the distance threshold, an unbounded radius lets the spheres
+	 * take over the planes. The default ratio ({@value #DEFAULT_RADIUS_RATIO}) allows the spheres whose visible part is a cap of at least 30 degrees half angle.
+	 * The radius of the detected spheres is also bounded by the {@link #setRadiusRange(double, double) radius range}.
+	 * @param radiusRatio the maximal radius of a detected sphere, relatively to the diagonal of the bounds of the points
+	 * (<code>Double.POSITIVE_INFINITY</code> to rely only on the radius range).
+	 * @throws IllegalArgumentException if the ratio is not positive.
+	 * @see #getRadiusRatio()
+	 */
+	public void setRadiusRatio(double radiusRatio) {
+		if (!(radiusRatio > 0.0d)) {
+			throw new IllegalArgumentException("Invalid radius ratio "+radiusRatio+", a positive value is expected.");
+		}
+		this.radiusRatio = radiusRatio;
+	}
+
+	/**
+	 * Get the maximal number of shapes extracted by {@link #detectAll(Point3DContainer)}.
+	 * @return the maximal number of extracted shapes.
+	 * @see #setMaximumShapes(int)
+	 */
+	public int getMaximumShapes() {
+		return this.maximumShapes;
+	}
+
+	/**
+	 * Set the maximal number of shapes extracted by {@link #detectAll(Point3DContainer)}.
+	 * @param maximumShapes the maximal number of extracted shapes.
+	 * @throws IllegalArgumentException if the given number is lesser than 1.
+	 * @see #getMaximumShapes()
+	 */
+	public void setMaximumShapes(int maximumShapes) {
+		if (maximumShapes < 1) {
+			throw new IllegalArgumentException("The maximal number of shapes has to be at least 1 ("+maximumShapes+" given).");
+		}
+		this.maximumShapes = maximumShapes;
+	}
+
+	/**
+	 * Get the seed of the random samples.
+	 * @return the seed of the random samples.
+	 * @see #setSeed(long)
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * Set the seed of the random samples. With a single thread, the detection is reproducible for a given seed.
+	 * @param seed the seed of the random samples.
+	 * @see #getSeed()
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Get the number of threads used by the detection.
+	 * @return the number of threads used by the detection.
+	 * @see #setParallelism(int)
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/**
+	 * Set the number of threads used by the detection.
+	 * @param parallelism the number of threads used by the detection.
+	 * @throws IllegalArgumentException if the given number is lesser than 1.
+	 * @see #getParallelism()
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism has to be at least 1 ("+parallelism+" given).");
+		}
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Detect the shape that has the most inliers within the given points.
+	 * @param points the points.
+	 * @return the detected shape or <code>null</code> if no shape with enough inliers can be found.
+	 * @throws IllegalArgumentException if the points are <code>null</code>.
+	 */
+	public DetectedShape detect(Point3DContainer<? extends Point3D> points) {
+
+		List<DetectedShape> shapes = detect(points, 1);
+
+		if (shapes.size() > 0) {
+			return shapes.get(0);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Detect the shapes within the given points. The shapes are extracted one after the other by decreasing number of inliers, the inliers of a shape being
+	 * removed from the points before the detection of the next one. A point is therefore an inlier of at most one shape.
+	 * @param points the points.
+	 * @return the detected shapes.
+	 * @throws IllegalArgumentException if the points are <code>null</code>.
+	 * @see #setMaximumShapes(int)
+	 */
+	public List<DetectedShape> detectAll(Point3DContainer<? extends Point3D> points) {
+		return detect(points, this.maximumShapes);
+	}
+
+	/**
+	 * Detect at most the given number of shapes within the given points.
+	 * @param points the points.
+	 * @param shapeCount the maximal number of shapes to detect.
+	 * @return the detected shapes.
+	 */
+	private List<DetectedShape> detect(Point3DContainer<? extends Point3D> points, int shapeCount) {
+
+		if (points == null) {
+			throw new IllegalArgumentException("Points cannot be null.");
+		}
+
+		List<DetectedShape> shapes = new ArrayList<DetectedShape>();
+
+		int count = points.size();
+
+		// The remaining points, their original indices and compacted coordinates
+		int[] active = new int[count];
+		double[] coordinates = new double[3*count];
+		for(int i = 0; i < count; i++) {
+			Point3D point = points.get(i);
+			active[i] = i;
+			coordinates[3*i]   = point.getX();
+			coordinates[3*i+1] = point.getY();
+			coordinates[3*i+2] = point.getZ();
+		}
+
+		int activeCount = count;
+
+		Random random = new Random(this.seed);
+
+		while ((shapes.size() < shapeCount) && (activeCount >= this.minimumInliers)) {
+
+			// The radius of the spheres is bounded relatively to the extent of the remaining points
+			double maximalRadius = Math.min(this.maximumRadius, this.radiusRatio * diagonal(coordinates, activeCount));
+
+			Consensus consensus = search(coordinates, activeCount, random.nextLong(), maximalRadius);
+
+			if (consensus.type == 0) {
+				break;
+			}
+
+			int score = refine(points, active, coordinates, activeCount, consensus.type, consensus.parameters, consensus.score, maximalRadius);
+
+			if (score < this.minimumInliers) {
+				break;
+			}
+
+			double[] parameters = (consensus.type == DetectedShape.PLANE) ? consensus.parameters : Arrays.copyOf(consensus.parameters, 4);
+
+			// Collect the inliers and compact the remaining points
+			int inlierCount = 0;
+			for(int i = 0; i < activeCount; i++) {
+				if (DetectedShape.distance(consensus.type, parameters, coordinates[3*i], coordinates[3*i+1], coordinates[3*i+2]) <= this.distanceThreshold) {
+					inlierCount++;
+				}
+			}
+
+			int[] inliers = new int[inlierCount];
+			inlierCount = 0;
+			int remaining = 0;
+			for(int i = 0; i < activeCount; i++) {
+				double x = coordinates[3*i];
+				double y = coordinates[3*i+1];
+				double z = coordinates[3*i+2];
+				if (DetectedShape.distance(consensus.type, parameters, x, y, z) <= this.distanceThreshold) {
+					inliers[inlierCount++] = active[i];
+				} else {
+					active[remaining] = active[i];
+					coordinates[3*remaining]   = x;
+					coordinates[3*remaining+1] = y;
+					coordinates[3*remaining+2] = z;
+					remaining++;
+				}
+			}
+
+			shapes.add(new DetectedShape(consensus.type, parameters, inliers));
+
+			activeCount = remaining;
+		}
+
+		return shapes;
+	}
+
+	/**
+	 * Compute the length of the diagonal of the axis aligned bounds of the given points.
+	 * @param coordinates the points coordinates.
+	 * @param count the number of points.
+	 * @return the length of the bounds diagonal.
+	 */
+	private static double diagonal(double[] coordinates, int count) {
+
+		double xmin = Double.POSITIVE_INFINITY, ymin = Double.POSITIVE_INFINITY, zmin = Double.POSITIVE_INFINITY;
+		double xmax = Double.NEGATIVE_INFINITY, ymax = Double.NEGATIVE_INFINITY, zmax = Double.NEGATIVE_INFINITY;
+
+		for(int i = 0; i < 3*count; i += 3) {
+			xmin = Math.min(xmin, coordinates[i]);
+			xmax = Math.max(xmax, coordinates[i]);
+			ymin = Math.min(ymin, coordinates[i+1]);
+			ymax = Math.max(ymax, coordinates[i+1]);
+			zmin = Math.min(zmin, coordinates[i+2]);
+			zmax = Math.max(zmax, coordinates[i+2]);
+		}
+
+		double dx = xmax - xmin;
+		double dy = ymax - ymin;
+		double dz = zmax - zmin;
+
+		return Math.sqrt(dx*dx + dy*dy + dz*dz);
+	}
+
+	/**
+	 * Search the best shape hypothesis among the given points.
+	 * @param coordinates the points coordinates.
+	 * @param count the number of points.
+	 * @param searchSeed the seed of the random samples.
+	 * @param maximalRadius the maximal radius of a sphere hypothesis.
+	 * @return the best hypothesis.
+	 */
+	private Consensus search(double[] coordinates, int count, long searchSeed, double maximalRadius) {
+
+		// A hypothesis has to reach the minimal number of inliers, so that its scoring can be stopped early from the beginning
+		final Consensus consensus = new Consensus(this.maximumIterations, this.minimumInliers - 1);
+
+		int workers = (count >= MINIMAL_PARALLEL_SIZE) ? this.parallelism : 1;
+
+		// Each worker draws its own samples from a distinct seed
+		ParallelRange.forEach(workers, workers, (from, to) -> {
+			for(int w = from; w < to; w++) {
+				new Worker(coordinates, count, consensus, searchSeed + 0x9E3779B97F4A7C15L * w, maximalRadius).run();
+			}
+		});
+
+		return consensus;
+	}
+
+	/**
+	 * Refine the given shape using a least squares fit of its inliers. The refined parameters are kept only if they increase the number of inliers.
+	 * @param points the original points.
+	 * @param active the original indices of the remaining points.
+	 * @param coordinates the remaining points coordinates.
+	 * @param count the number of remaining points.
+	 * @param type the shape type.
+	 * @param parameters the shape parameters, updated with the refined ones.
+	 * @param score the number of inliers of the shape.
+	 * @param maximalRadius the maximal radius of a refined sphere.
+	 * @return the number of inliers of the refined shape.
+	 */
+	private int refine(Point3DContainer<? extends Point3D> points, int[] active, double[] coordinates, int count, int type, double[] parameters, int score, double maximalRadius) {
+
+		int best = score;
+		double[] refined = new double[6];
+
+		for(int step = 0; step < this.refinementSteps; step++) {
+
+			boolean fitted = false;
+
+			if (type == DetectedShape.PLANE) {
+				Point3DContainer<Point3D> inliers = JeometryFactory.createPoint3DContainer(best);
+				for(int i = 0; i < count; i++) {
+					if (DetectedShape.distance(type, parameters, coordinates[3*i], coordinates[3*i+1], coordinates[3*i+2]) <= this.distanceThreshold) {
+						inliers.add(points.get(active[i]));
+					}
+				}
+
+				Plane<Point3D> plane = PlaneFitting.fit(inliers);
+				if (plane != null) {
+					Point3D normal = plane.getPlaneNormal();
+					Point3D origin = plane.getPlaneOrigin();
+					double norm = Math.sqrt(normal.getX()*normal.getX() + normal.getY()*normal.getY() + normal.getZ()*normal.getZ());
+					refined[0] = normal.getX() / norm;
+					refined[1] = normal.getY() / norm;
+					refined[2] = normal.getZ() / norm;
+					refined[3] = origin.getX();
+					refined[4] = origin.getY();
+					refined[5] = origin.getZ();
+					fitted = true;
+				}
+			} else {
+				fitted = fitSphere(type, parameters, coordinates, count, maximalRadius, refined);
+			}
+
+			if (!fitted) {
+				break;
+			}
+
+			int refinedScore = score(type, refined, coordinates, count, this.distanceThreshold, -1);
+			if (refinedScore < best) {
+				break;
+			}
+
+			System.arraycopy(refined, 0, parameters, 0, parameters.length);
+
+			if (refinedScore == best) {
+				break;
+			}
+
+			best = refinedScore;
+		}
+
+		return best;
+	}
+
+	/**
+	 * Fit a sphere to the inliers of the given sphere using an algebraic least squares fit
+	 * (minimization of the sum of <i>(x<sup>2</sup>&nbsp;+&nbsp;y<sup>2</sup>&nbsp;+&nbsp;z<sup>2</sup>&nbsp;+&nbsp;D&nbsp;x&nbsp;+&nbsp;E&nbsp;y&nbsp;+&nbsp;F&nbsp;z&nbsp;+&nbsp;G)<sup>2</sup></i>).
+	 * @param type the shape type.
+	 * @param parameters the sphere parameters.
+	 * @param coordinates the points coordinates.
+	 * @param count the number of points.
+	 * @param maximalRadius the maximal radius of the fitted sphere.
+	 * @param fitted the array that will contain the fitted sphere parameters.
+	 * @return <code>true</code> if the sphere has been fitted and <code>false</code> otherwise.
+	 */
+	private boolean fitSphere(int type, double[] parameters, double[] coordinates, int count, double maximalRadius, double[] fitted) {
+
+		// The coordinates are expressed relatively to the current center for conditioning
+		double cx = parameters[0];
+		double cy = parameters[1];
+		double cz = parameters[2];
+
+		// Normal equations of the linear system [x y z 1] [D E F G]^T = -(x^2 + y^2 + z^2)
+		double[][] system = new double[4][5];
+		double[] row = new double[] {0.0d, 0.0d, 0.0d, 1.0d};
+		int inliers = 0;
+		for(int i = 0; i < count; i++) {
+			double x = coordinates[3*i];
+			double y = coordinates[3*i+1];
+			double z = coordinates[3*i+2];
+			if (DetectedShape.distance(type, parameters, x, y, z) <= this.distanceThreshold) {
+				row[0] = x - cx;
+				row[1] = y - cy;
+				row[2] = z - cz;
+				double rhs = -(row[0]*row[0] + row[1]*row[1] + row[2]*row[2]);
+				for(int r = 0; r < 4; r++) {
+					for(int c = 0; c < 4; c++) {
+						system[r][c] += row[r]*row[c];
+					}
+					system[r][4] += row[r]*rhs;
+				}
+				inliers++;
+			}
+		}
+
+		if (inliers < 4) {
+			return false;
+		}
+
+		// Gaussian elimination with partial pivoting
+		for(int c = 0; c < 4; c++) {
+			int pivot = c;
+			for(int r = c + 1; r < 4; r++) {
+				if (Math.abs(system[r][c]) > Math.abs(system[pivot][c])) {
+					pivot = r;
+				}
+			}
+
+			if (Math.abs(system[pivot][c]) <= 1.0e-300d) {
+				return false;
+			}
+
+			double[] tmp = system[c];
+			system[c] = system[pivot];
+			system[pivot] = tmp;
+
+			for(int r = c + 1; r < 4; r++) {
+				double factor = system[r][c] / system[c][c];
+				for(int k = c; k < 5; k++) {
+					system[r][k] -= factor*system[c][k];
+				}
+			}
+		}
+
+		double[] solution = new double[4];
+		for(int r = 3; r >= 0; r--) {
+			double value = system[r][4];
+			for(int k = r + 1; k < 4; k++) {
+				value -= system[r][k]*solution[k];
+			}
+			solution[r] = value / system[r][r];
+		}
+
+		double ox = -0.5d*solution[0];
+		double oy = -0.5d*solution[1];
+		double oz = -0.5d*solution[2];
+		double squaredRadius = ox*ox + oy*oy + oz*oz - solution[3];
+
+		if (!(squaredRadius > 0.0d)) {
+			return false;
+		}
+
+		double radius = Math.sqrt(squaredRadius);
+		if ((radius < this.minimumRadius) || (radius > maximalRadius)) {
+			return false;
+		}
+
+		fitted[0] = cx + ox;
+		fitted[1] = cy + oy;
+		fitted[2] = cz + oz;
+		fitted[3] = radius;
+
+		return true;
+	}
+
+	/**
+	 * Count the inliers of the given shape. The counting is stopped as soon as the number of inliers cannot exceed the given bound.
+	 * @param type the shape type.
+	 * @param parameters the shape parameters.
+	 * @param coordinates the points coordinates.
+	 * @param count the number of points.
+	 * @param threshold the distance threshold.
+	 * @param bound the number of inliers to exceed, or <code>-1</code> if all the points have to be scored.
+	 * @return the number of inliers, that is lesser or equal to <code>bound</code> if the counting has been stopped.
+	 */
+	private static int score(int type, double[] parameters, double[] coordinates, int count, double threshold, int bound) {
+
+		int inliers = 0;
+
+		if (type == DetectedShape.PLANE) {
+			double nx = parameters[0];
+			double ny = parameters[1];
+			double nz = parameters[2];
+			double d  = -(nx*parameters[3] + ny*parameters[4] + nz*parameters[5]);
+			for(int i = 0; i < count; i++) {
+				if (Math.abs(nx*coordinates[3*i] + ny*coordinates[3*i+1] + nz*coordinates[3*i+2] + d) <= threshold) {
+					inliers++;
+				} else if (inliers + (count - i - 1) <= bound) {
+					return inliers;
+				}
+			}
+		} else {
+			double cx = parameters[0];
+			double cy = parameters[1];
+			double cz = parameters[2];
+			double low  = Math.max(0.0d, parameters[3] - threshold);
+			double high = parameters[3] + threshold;
+			low  *= low;
+			high *= high;
+			for(int i = 0; i < count; i++) {
+				double dx = coordinates[3*i]   - cx;
+				double dy = coordinates[3*i+1] - cy;
+				double dz = coordinates[3*i+2] - cz;
+				double d  = dx*dx + dy*dy + dz*dz;
+				if ((d >= low) && (d <= high)) {
+					inliers++;
+				} else if (inliers + (count - i - 1) <= bound) {
+					return inliers;
+				}
+			}
+		}
+
+		return inliers;
+	}
+
+	/**
+	 * The best hypothesis shared by the workers of a search.
+	 */
+	private static class Consensus {
+
+		/**
+		 * The number of generated hypotheses.
+		 */
+		private AtomicInteger iterations = new AtomicInteger();
+
+		/**
+		 * The number of hypotheses to generate.
+		 */
+		private volatile int required    = 0;
+
+		/**
+		 * The number of inliers of the best hypothesis.
+		 */
+		private volatile int score       = 0;
+
+		/**
+		 * The type of the best hypothesis (<code>0</code> if none).
+		 */
+		private int type                 = 0;
+
+		/**
+		 * The parameters of the best hypothesis.
+		 */
+		private double[] parameters      = new double[6];
+
+		/**
+		 * Create a new consensus.
+		 * @param required the initial number of hypotheses to generate.
+		 * @param score the number of inliers that a hypothesis has to exceed.
+		 */
+		private Consensus(int required, int score) {
+			this.required = required;
+			this.score    = score;
+		}
+	}
+
+	/**
+	 * A generator and scorer of hypotheses.
+	 */
+	private class Worker implements Runnable {
+
+		/**
+		 * The points coordinates.
+		 */
+		private double[] coordinates = null;
+
+		/**
+		 * The number of points.
+		 */
+		private int count            = 0;
+
+		/**
+		 * The shared best hypothesis.
+		 */
+		private Consensus consensus  = null;
+
+		/**
+		 * The random sample generator.
+		 */
+		private Random random        = null;
+
+		/**
+		 * The maximal radius of a sphere hypothesis.
+		 */
+		private double maximalRadius = 0.0d;
+
+		/**
+		 * The sample points indices.
+		 */
+		private int[] sample         = new int[4];
+
+		/**
+		 * The hypothesis parameters.
+		 */
+		private double[] parameters  = new double[6];
+
+		/**
+		 * Create a new worker.
+		 * @param coordinates the points coordinates.
+		 * @param count the number of points.
+		 * @param consensus the shared best hypothesis.
+		 * @param seed the seed of the random samples.
+		 * @param maximalRadius the maximal radius of a sphere hypothesis.
+		 */
+		private Worker(double[] coordinates, int count, Consensus consensus, long seed, double maximalRadius) {
+			this.coordinates   = coordinates;
+			this.count         = count;
+			this.consensus     = consensus;
+			this.random        = new Random(seed);
+			this.maximalRadius = maximalRadius;
+		}
+
+		@Override
+		public void run() {
+
+			double threshold = RansacShapeDetection.this.distanceThreshold;
+			int types = RansacShapeDetection.this.shapeTypes;
+
+			while (this.consensus.iterations.getAndIncrement() < this.consensus.required) {
+
+				if (((types & DetectedShape.PLANE) != 0) && plane()) {
+					evaluate(DetectedShape.PLANE, 3, threshold);
+				}
+
+				if (((types & DetectedShape.SPHERE) != 0) && sphere()) {
+					evaluate(DetectedShape.SPHERE, 4, threshold);
+				}
+			}
+		}
+
+		/**
+		 * Score the current hypothesis and update the consensus if it is the best one.
+		 * @param type the hypothesis type.
+		 * @param sampleSize the size of the sample of the hypothesis type.
+		 * @param threshold the distance threshold.
+		 */
+		private void evaluate(int type, int sampleSize, double threshold) {
+
+			int bound = this.consensus.score;
+
+			int score = score(type, this.parameters, this.coordinates, this.count, threshold, bound);
+
+			if (score > bound) {
+				synchronized (this.consensus) {
+					if (score > this.consensus.score) {
+						this.consensus.score = score;
+						this.consensus.type  = type;
+						System.arraycopy(this.parameters, 0, this.consensus.parameters, 0, this.parameters.length);
+
+						// Number of samples needed for drawing an outlier free sample with the expected probability
+						double ratio = Math.pow((double) score / this.count, sampleSize);
+						if (ratio >= 1.0d) {
+							this.consensus.required = 1;
+						} else if (ratio > 0.0d) {
+							double required = Math.ceil(Math.log(1.0d - RansacShapeDetection.this.probability) / Math.log1p(-ratio));
+							this.consensus.required = (int) Math.max(1.0d, Math.min(required, RansacShapeDetection.this.maximumIterations));
+						}
+					}
+				}
+			}
+		}
+
+		/**
+		 * Draw distinct random points.
+		 * @param size the number of points to draw.
+		 * @return <code>true</code> if the points have been drawn and <code>false</code> if there are not enough points.
+		 */
+		private boolean draw(int size) {
+
+			if (this.count < size) {
+				return false;
+			}
+
+			for(int i = 0; i < size; i++) {
+				boolean distinct = false;
+				while (!distinct) {
+					this.sample[i] = this.random.nextInt(this.count);
+					distinct = true;
+					for(int j = 0; j < i; j++) {
+						if (this.sample[j] == this.sample[i]) {
+							distinct = false;
+						}
+					}
+				}
+			}
+
+			return true;
+		}
+
+		/**
+		 * Compute a plane hypothesis from a random sample.
+		 * @return <code>true</code> if the hypothesis is valid and <code>false</code> if the sample is degenerated.
+		 */
+		private boolean plane() {
+
+			if (!draw(3)) {
+				return false;
+			}
+
+			int a = 3*this.sample[0];
+			int b = 3*this.sample[1];
+			int c = 3*this.sample[2];
+
+			double ux = this.coordinates[b]   - this.coordinates[a];
+			double uy = this.coordinates[b+1] - this.coordinates[a+1];
+			double uz = this.coordinates[b+2] - this.coordinates[a+2];
+			double vx = this.coordinates[c]   - this.coordinates[a];
+			double vy = this.coordinates[c+1] - this.coordinates[a+1];
+			double vz = this.coordinates[c+2] - this.coordinates[a+2];
+
+			double nx = uy*vz - uz*vy;
+			double ny = uz*vx - ux*vz;
+			double nz = ux*vy - uy*vx;
+
+			double norm = Math.sqrt(nx*nx + ny*ny + nz*nz);
+
+			// Collinear sample
+			if (!(norm > 1.0e-12d * Math.sqrt((ux*ux + uy*uy + uz*uz) * (vx*vx + vy*vy + vz*vz)))) {
+				return false;
+			}
+
+			this.parameters[0] = nx / norm;
+			this.parameters[1] = ny / norm;
+			this.parameters[2] = nz / norm;
+			this.parameters[3] = this.coordinates[a];
+			this.parameters[4] = this.coordinates[a+1];
+			this.parameters[5] = this.coordinates[a+2];
+
+			return true;
+		}
+
+		/**
+		 * Compute a sphere hypothesis from a random sample.
+		 * @return <code>true</code> if the hypothesis is valid and <code>false</code> if the sample is degenerated.
+		 */
+		private boolean sphere() {
+
+			if (!draw(4)) {
+				return false;
+			}
+
+			int o = 3*this.sample[0];
+			double ox = this.coordinates[o];
+			double oy = this.coordinates[o+1];
+			double oz = this.coordinates[o+2];
+
+			// The center c satisfies 2 (p_i - p_0) . (c - p_0) = |p_i - p_0|^2, solved using the Cramer's rule
+			double[] m = this.parameters;
+			double ax = 0.0d, ay = 0.0d, az = 0.0d, ar = 0.0d;
+			double bx = 0.0d, by = 0.0d, bz = 0.0d, br = 0.0d;
+			double cx = 0.0d, cy = 0.0d, cz = 0.0d, cr = 0.0d;
+			for(int i = 1; i < 4; i++) {
+				int p = 3*this.sample[i];
+				double x = this.coordinates[p]   - ox;
+				double y = this.coordinates[p+1] - oy;
+				double z = this.coordinates[p+2] - oz;
+				double r = 0.5d * (x*x + y*y + z*z);
+				if (i == 1) {
+					ax = x; ay = y; az = z; ar = r;
+				} else if (i == 2) {
+					bx = x; by = y; bz = z; br = r;
+				} else {
+					cx = x; cy = y; cz = z; cr = r;
+				}
+			}
+
+			double det = ax*(by*cz - bz*cy) - ay*(bx*cz - bz*cx) + az*(bx*cy - by*cx);
+			double scale = Math.sqrt((ax*ax + ay*ay + az*az) * (bx*bx + by*by + bz*bz) * (cx*cx + cy*cy + cz*cz));
+
+			// Coplanar sample
+			if (!(Math.abs(det) > 1.0e-9d * scale)) {
+				return false;
+			}
+
+			double x = (ar*(by*cz - bz*cy) - ay*(br*cz - bz*cr) + az*(br*cy - by*cr)) / det;
+			double y = (ax*(br*cz - bz*cr) - ar*(bx*cz - bz*cx) + az*(bx*cr - br*cx)) / det;
+			double z = (ax*(by*cr - br*cy) - ay*(bx*cr - br*cx) + ar*(bx*cy - by*cx)) / det;
+
+			double radius = Math.sqrt(x*x + y*y + z*z);
+
+			if ((radius < RansacShapeDetection.this.minimumRadius) || (radius > this.maximalRadius)) {
+				return false;
+			}
+
+			m[0] = ox + x;
+			m[1] = oy + y;
+			m[2] = oz + z;
+			m[3] = radius;
+
+			return true;
+		}
+	}
+}
@@ -0,0 +1,218 @@
+package org.jeometry.geom3D.algorithm.fitting;
+
+import org.jeometry.Jeometry;
+
+/**
+ * An eigen solver dedicated to the 3x3 symmetric matrices such as covariance or inertia matrices.<br><br>
+ * The decomposition relies on the cyclic <a href="https://en.wikipedia.org/wiki/Jacobi_eigenvalue_algorithm">Jacobi eigenvalue algorithm</a> that converges within a few sweeps
+ * for a 3x3 matrix and that remains accurate for degenerated (singular, repeated eigenvalues) matrices. No memory is allocated during the decomposition,
+ * the results are written within arrays provided by the caller. This class is thread safe.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class SymmetricEigen3x3 {
+
+	/**
+	 * The maximum number of Jacobi sweeps. In practice, a 3x3 matrix is diagonalized to the machine precision within less than 10 sweeps.
+	 */
+	public static final int MAXIMUM_SWEEPS = 32;
+
+	/**
+	 * Decompose the symmetric matrix <i>A</i> given by its upper triangular part such that <i>A</i>&nbsp;=&nbsp;<i>V</i>&nbsp;<i>D</i>&nbsp;<i>V</i><sup>T</sup>.
+	 * The eigenvalues are sorted in decreasing order and the eigenvectors are unit vectors that form a direct orthonormal frame.
+	 * @param a00 the value at row 0, column 0.
+	 * @param a01 the value at row 0, column 1.
+	 * @param a02 the value at row 0, column 2.
+	 * @param a11 the value at row 1, column 1.
+	 * @param a12 the value at row 1, column 2.
+	 * @param a22 the value at row 2, column 2.
+	 * @param eigenvalues the array that will contain the eigenvalues in decreasing order (at least <code>double[3]</code>).
+	 * @param eigenvectors the array that will contain the eigenvectors (at least <code>double[9]</code>). The eigenvector associated to the eigenvalue <code>i</code> is stored from offset <code>3*i</code>.
+	 * @return the given <code>eigenvalues</code> array.
+	 */
+	public static double[] decompose(double a00, double a01, double a02, double a11, double a12, double a22, double[] eigenvalues, double[] eigenvectors) {
+
+		// The matrix diagonal is stored within the eigenvalues array and the off diagonal values are locals.
+		// The eigenvector j is the column j of the accumulated rotations (row major storage).
+		double d0 = a00;
+		double d1 = a11;
+		double d2 = a22;
+		double o01 = a01;
+		double o02 = a02;
+		double o12 = a12;
+
+		eigenvectors[0] = 1.0d; eigenvectors[1] = 0.0d; eigenvectors[2] = 0.0d;
+		eigenvectors[3] = 0.0d; eigenvectors[4] = 1.0d; eigenvectors[5] = 0.0d;
+		eigenvectors[6] = 0.0d; eigenvectors[7] = 0.0d; eigenvectors[8] = 1.0d;
+
+		for(int sweep = 0; sweep < MAXIMUM_SWEEPS; sweep++) {
+
+			double off = o01*o01 + o02*o02 + o12*o12;
+			double norm = d0*d0 + d1*d1 + d2*d2 + 2.0d*off;
+
+			if ((off == 0.0d) || (off <= 1.0e-32d * norm)) {
+				break;
+			}
+
+			// Pivot (0, 1), the remaining index is 2
+			if (o01 != 0.0d) {
+				double theta = (d1 - d0) / (2.0d * o01);
+				double t = Math.signum(theta) / (Math.abs(theta) + Math.sqrt(theta*theta + 1.0d));
+				if (theta == 0.0d) {
+					t = 1.0d;
+				}
+				double c = 1.0d / Math.sqrt(t*t + 1.0d);
+				double s = t * c;
+
+				d0 -= t * o01;
+				d1 += t * o01;
+				o01 = 0.0d;
+
+				double r0 = o02;
+				double r1 = o12;
+				o02 = c*r0 - s*r1;
+				o12 = s*r0 + c*r1;
+
+				rotate(eigenvectors, 0, 1, c, s);
+			}
+
+			// Pivot (0, 2), the remaining index is 1
+			if (o02 != 0.0d) {
+				double theta = (d2 - d0) / (2.0d * o02);
+				double t = Math.signum(theta) / (Math.abs(theta) + Math.sqrt(theta*theta + 1.0d));
+				if (theta == 0.0d) {
+					t = 1.0d;
+				}
+				double c = 1.0d / Math.sqrt(t*t + 1.0d);
+				double s = t * c;
+
+				d0 -= t * o02;
+				d2 += t * o02;
+				o02 = 0.0d;
+
+				double r0 = o01;
+				double r2 = o12;
+				o01 = c*r0 - s*r2;
+				o12 = s*r0 + c*r2;
+
+				rotate(eigenvectors, 0, 2, c, s);
+			}
+
+			// Pivot (1, 2), the remaining index is 0
+			if (o12 != 0.0d) {
+				double theta = (d2 - d1) / (2.0d * o12);
+				double t = Math.signum(theta) / (Math.abs(theta) + Math.sqrt(theta*theta + 1.0d));
+				if (theta == 0.0d) {
+					t = 1.0d;
+				}
+				double c = 1.0d / Math.sqrt(t*t + 1.0d);
+				double s = t * c;
+
+				d1 -= t * o12;
+				d2 += t * o12;
+				o12 = 0.0d;
+
+				double r1 = o01;
+				double r2 = o02;
+				o01 = c*r1 - s*r2;
+				o02 = s*r1 + c*r2;
+
+				rotate(eigenvectors, 1, 2, c, s);
+			}
+		}
+
+		// Transpose so that the eigenvector i is stored from offset 3*i
+		swap(eigenvectors, 1, 3);
+		swap(eigenvectors, 2, 6);
+		swap(eigenvectors, 5, 7);
+
+		eigenvalues[0] = d0;
+		eigenvalues[1] = d1;
+		eigenvalues[2] = d2;
+
+		// Sort by decreasing eigenvalue
+		if (eigenvalues[1] > eigenvalues[0]) {
+			exchange(eigenvalues, eigenvectors, 0, 1);
+		}
+		if (eigenvalues[2] > eigenvalues[1]) {
+			exchange(eigenvalues, eigenvectors, 1, 2);
+			if (eigenvalues[1] > eigenvalues[0]) {
+				exchange(eigenvalues, eigenvectors, 0, 1);
+			}
+		}
+
+		// Ensure a direct frame
+		double cx = eigenvectors[1]*eigenvectors[5] - eigenvectors[2]*eigenvectors[4];
+		double cy = eigenvectors[2]*eigenvectors[3] - eigenvectors[0]*eigenvectors[5];
+		double cz = eigenvectors[0]*eigenvectors[4] - eigenvectors[1]*eigenvectors[3];
+		if (cx*eigenvectors[6] + cy*eigenvectors[7] + cz*eigenvectors[8] < 0.0d) {
+			eigenvectors[6] = -eigenvectors[6];
+			eigenvectors[7] = -eigenvectors[7];
+			eigenvectors[8] = -eigenvectors[8];
+		}
+
+		return eigenvalues;
+	}
+
+	/**
+	 * Decompose the given symmetric matrix. This method is equivalent to a call to {@link #decompose(double, double, double, double, double, double, double[], double[])}
+	 * with the upper triangular part of the matrix.
+	 * @param matrix the symmetric matrix, as a row major <code>double[9]</code> array.
+	 * @param eigenvalues the array that will contain the eigenvalues in decreasing order (at least <code>double[3]</code>).
+	 * @param eigenvectors the array that will contain the eigenvectors (at least <code>double[9]</code>). The eigenvector associated to the eigenvalue <code>i</code> is stored from offset <code>3*i</code>.
+	 * @return the given <code>eigenvalues</code> array.
+	 * @throws IllegalArgumentException if the matrix is <code>null</code> or has less than 9 values.
+	 */
+	public static double[] decompose(double[] matrix, double[] eigenvalues, double[] eigenvectors) {
+
+		if ((matrix == null) || (matrix.length < 9)) {
+			throw new IllegalArgumentException("Invalid matrix, expected a 3x3 row major array.");
+		}
+
+		return decompose(matrix[0], matrix[1], matrix[2], matrix[4], matrix[5], matrix[8], eigenvalues, eigenvectors);
+	}
+
+	/**
+	 * Apply the Jacobi rotation of the given pivot to the columns <code>p</code> and <code>q</code> of the given row major matrix.
+	 * @param v the row major 3x3 matrix.
+	 * @param p the first pivot index.
+	 * @param q the second pivot index.
+	 * @param c the rotation cosine.
+	 * @param s the rotation sine.
+	 */
+	private static void rotate(double[] v, int p, int q, double c, double s) {
+		for(int k = 0; k < 9; k += 3) {
+			double vp = v[k+p];
+			double vq = v[k+q];
+			v[k+p] = c*vp - s*vq;
+			v[k+q] = s*vp + c*vq;
+		}
+	}
+
+	/**
+	 * Swap the two given values within the array.
+	 * @param array the array.
+	 * @param i the first index.
+	 * @param j the second index.
+	 */
+	private static void swap(double[] array, int i, int j) {
+		double tmp = array[i];
+		array[i] = array[j];
+		array[j] = tmp;
+	}
+
+	/**
+	 * Exchange the two given eigenvalues and their associated eigenvectors.
+	 * @param eigenvalues the eigenvalues.
+	 * @param eigenvectors the eigenvectors.
+	 * @param i the first eigenvalue index.
+	 * @param j the second eigenvalue index.
+	 */
+	private static void exchange(double[] eigenvalues, double[] eigenvectors, int i, int j) {
+		swap(eigenvalues, i, j);
+		swap(eigenvectors, 3*i, 3*j);
+		swap(eigenvectors, 3*i+1, 3*j+1);
+		swap(eigenvectors, 3*i+2, 3*j+2);
+	}
+}
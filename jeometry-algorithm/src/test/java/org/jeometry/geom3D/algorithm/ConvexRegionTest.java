@@ -0,0 +1,121 @@
+package org.jeometry.geom3D.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.Geom3D;
+import org.jeometry.geom3D.algorithm.convexhull.quickhull.QuickHull;
+import org.jeometry.geom3D.mesh.Mesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link ConvexRegion} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class ConvexRegionTest {
+
+  /**
+   * Test the classification of the points of a box against the box extent.
+   */
+  @Test
+  public void boxTest() {
+
+    ConvexRegion region = ConvexRegion.compile(MeshTestData.box(-1.0d, -2.0d, -3.0d, 1.0d, 2.0d, 3.0d));
+
+    assertEquals(12, region.getPlaneCount(), "Unexpected planes count");
+
+    Random random = new Random(1);
+
+    // Not a multiple of the block size
+    int count = 1000 + 37;
+    double[] coordinates = new double[3*count];
+    for(int i = 0; i < count; i++) {
+      coordinates[3*i]   = 3.0d * (random.nextDouble() - 0.5d);
+      coordinates[3*i+1] = 6.0d * (random.nextDouble() - 0.5d);
+      coordinates[3*i+2] = 9.0d * (random.nextDouble() - 0.5d);
+    }
+
+    BitSet inside = region.classify(coordinates, count, 1);
+
+    assertTrue(inside.length() <= count, "Point classified beyond the points count");
+
+    for(int i = 0; i < count; i++) {
+      boolean expected = (Math.abs(coordinates[3*i]) <= 1.0d) && (Math.abs(coordinates[3*i+1]) <= 2.0d) && (Math.abs(coordinates[3*i+2]) <= 3.0d);
+      assertEquals(expected, inside.get(i), "Unexpected classification of point "+i);
+      assertEquals(expected, region.contains(coordinates[3*i], coordinates[3*i+1], coordinates[3*i+2]), "Unexpected single classification of point "+i);
+    }
+
+    assertTrue(region.containsAll(new double[] {0.0d, 0.0d, 0.0d, 1.0d, 2.0d, 3.0d, -1.0d, -2.0d, -3.0d}, 3), "Box corners are not contained");
+    assertFalse(region.containsAll(new double[] {0.0d, 0.0d, 0.0d, 1.0d, 2.0d, 3.5d}, 2), "Outside point is contained");
+    assertFalse(region.contains(null), "Null point is contained");
+  }
+
+  /**
+   * Test the batch classification against {@link Geom3D#contains(Mesh, Point3D)} on the convex hull of random points, sequentially and in parallel.
+   */
+  @Test
+  public void classifyHullTest() {
+
+    Random random = new Random(2);
+
+    Point3DContainer<Point3D> hullPoints = JeometryFactory.createPoint3DContainer(500);
+    for(int i = 0; i < 500; i++) {
+      hullPoints.add(JeometryFactory.createPoint3D(random.nextGaussian(), 2.0d * random.nextGaussian(), 0.5d * random.nextGaussian()));
+    }
+
+    Mesh<Point3D> hull = QuickHull.computeConvexHull(hullPoints, false);
+
+    ConvexRegion region = ConvexRegion.compile(hull);
+
+    // Enough points to be split over parallel chunks
+    int count = 2 * ConvexRegion.MINIMAL_CHUNK_SIZE + 101;
+
+    Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(count);
+    for(int i = 0; i < count; i++) {
+      points.add(JeometryFactory.createPoint3D(4.0d * (random.nextDouble() - 0.5d), 8.0d * (random.nextDouble() - 0.5d), 2.0d * (random.nextDouble() - 0.5d)));
+    }
+
+    double[] coordinates = Geom3D.toCoordinates(points);
+
+    BitSet sequential = region.classify(coordinates, count, 1);
+    BitSet parallel   = region.classify(coordinates, count, 4);
+
+    assertEquals(sequential, parallel, "Parallel classification differs from the sequential one");
+    assertEquals(sequential, region.classify(points), "Container classification differs from the array one");
+
+    assertTrue(sequential.cardinality() > 0, "No point inside the hull");
+    assertTrue(sequential.cardinality() < count, "No point outside the hull");
+
+    for(int i = 0; i < count; i += 17) {
+      assertEquals(Geom3D.contains(hull, points.get(i)), sequential.get(i), "Unexpected classification of point "+i);
+    }
+  }
+
+  /**
+   * Test the invalid arguments.
+   */
+  @Test
+  public void invalidTest() {
+
+    ConvexRegion region = ConvexRegion.compile(MeshTestData.box(0.0d, 0.0d, 0.0d, 1.0d, 1.0d, 1.0d));
+
+    assertThrows(IllegalArgumentException.class, () -> new ConvexRegion(null, 1), "Null planes accepted");
+    assertThrows(IllegalArgumentException.class, () -> new ConvexRegion(new double[7], 2), "Too many planes accepted");
+    assertThrows(IllegalArgumentException.class, () -> ConvexRegion.compile(null), "Null polyhedron accepted");
+    assertThrows(IllegalArgumentException.class, () -> region.classify(new double[5], 2, 1), "Too many points accepted");
+    assertThrows(IllegalArgumentException.class, () -> region.classify(new double[6], 2, 0), "Invalid parallelism accepted");
+
+    assertEquals(0, region.classify(new double[0], 0, 1).cardinality(), "Point classified within an empty set");
+  }
+}
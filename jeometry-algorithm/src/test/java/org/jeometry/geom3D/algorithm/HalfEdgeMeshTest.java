@@ -0,0 +1,199 @@
+package org.jeometry.geom3D.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.primitive.indexed.IndexedTriangle;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link HalfEdgeMesh} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class HalfEdgeMeshTest {
+
+  /**
+   * Test the adjacency queries of a closed mesh against a scan of all the triangles.
+   */
+  @Test
+  public void topologyTest() {
+
+    int[] triangles = MeshTestData.sphereTriangles(12, 8);
+    HalfEdgeMesh<Point3D> mesh = new HalfEdgeMesh<Point3D>(triangles, triangles.length / 3, MeshTestData.points(MeshTestData.sphereVertices(1.0d, 12, 8)));
+
+    int faces = mesh.getFaceCount();
+
+    assertTrue(mesh.isClosed(), "Sphere is not closed");
+    assertEquals(0, mesh.getBoundaryHalfEdgeCount(), "Unexpected boundary");
+    assertEquals(2, mesh.getVertexCount() - mesh.getEdgeCount() + faces, "Unexpected Euler characteristic");
+
+    for(int h = 0; h < 3*faces; h++) {
+      int twin = mesh.getTwin(h);
+      assertEquals(h, mesh.getTwin(twin), "Twin relation is not symmetric");
+      assertEquals(mesh.getOrigin(h), mesh.getTarget(twin), "Twin does not share the edge");
+      assertEquals(mesh.getTarget(h), mesh.getOrigin(twin), "Twin does not share the edge");
+      assertEquals(h, mesh.getNext(mesh.getPrevious(h)), "Unexpected next half-edge");
+      assertEquals(h, mesh.findHalfEdge(mesh.getOrigin(h), mesh.getTarget(h)), "Half-edge not found");
+    }
+
+    int[] ring = new int[32];
+    int[] incident = new int[32];
+    for(int v = 0; v < mesh.getVertexCount(); v++) {
+
+      Set<Integer> expectedRing = new TreeSet<Integer>();
+      Set<Integer> expectedFaces = new TreeSet<Integer>();
+      for(int f = 0; f < faces; f++) {
+        for(int k = 0; k < 3; k++) {
+          if (triangles[3*f+k] == v) {
+            expectedFaces.add(f);
+            expectedRing.add(triangles[3*f+(k+1)%3]);
+            expectedRing.add(triangles[3*f+(k+2)%3]);
+          }
+        }
+      }
+
+      int count = mesh.getOneRing(v, ring);
+      assertEquals(expectedRing.size(), mesh.getValence(v), "Unexpected valence of vertex "+v);
+      assertEquals(expectedRing, set(ring, count), "Unexpected one-ring of vertex "+v);
+
+      count = mesh.getIncidentFaces(v, incident);
+      assertEquals(expectedFaces, set(incident, count), "Unexpected incident faces of vertex "+v);
+    }
+
+    assertEquals(HalfEdgeMesh.NONE, mesh.findHalfEdge(0, 1), "Half-edge between the poles");
+  }
+
+  /**
+   * Test the boundary queries of an open mesh.
+   */
+  @Test
+  public void boundaryTest() {
+
+    int[] triangles = Arrays.copyOf(MeshTestData.BOX_TRIANGLES, MeshTestData.BOX_TRIANGLES.length - 3);
+    HalfEdgeMesh<Point3D> mesh = new HalfEdgeMesh<Point3D>(triangles, triangles.length / 3, MeshTestData.points(MeshTestData.boxVertices(0.0d, 0.0d, 0.0d, 1.0d, 1.0d, 1.0d)));
+
+    assertFalse(mesh.isClosed(), "Open box is closed");
+    assertEquals(3, mesh.getBoundaryHalfEdgeCount(), "Unexpected boundary half-edges count");
+
+    int[] ring = new int[8];
+    for(int v = 0; v < mesh.getVertexCount(); v++) {
+
+      boolean boundary = (v == 1) || (v == 5) || (v == 7);
+      assertEquals(boundary, mesh.isBoundaryVertex(v), "Unexpected boundary state of vertex "+v);
+
+      int count = mesh.getOneRing(v, ring);
+      assertEquals(mesh.getValence(v), count, "Unexpected one-ring size of vertex "+v);
+
+      if (boundary) {
+        assertTrue(mesh.isBoundaryHalfEdge(mesh.getOutgoing(v)), "Outgoing half-edge of a boundary vertex is not on the boundary");
+      }
+    }
+
+    int[] edgeFaces = mesh.getEdgeFaces(mesh.findHalfEdge(7, 1), new int[2]);
+    assertEquals(HalfEdgeMesh.NONE, edgeFaces[1], "Boundary edge has two faces");
+  }
+
+  /**
+   * Test that the triangles returned by the mesh write through to its triangles array and that the topology follows the modifications.
+   */
+  @Test
+  public void facesIndexesTest() {
+
+    HalfEdgeMesh<Point3D> mesh = new HalfEdgeMesh<Point3D>(MeshTestData.BOX_TRIANGLES, 12, MeshTestData.points(MeshTestData.boxVertices(0.0d, 0.0d, 0.0d, 1.0d, 1.0d, 1.0d)));
+
+    List<? extends IndexedTriangle<Point3D>> faces = mesh.getFacesIndexes();
+
+    assertEquals(12, faces.size(), "Unexpected faces count");
+    assertTrue(mesh.isClosed(), "Box is not closed");
+
+    // Flipping a face makes its three edges inconsistent
+    faces.get(4).inverseVerticesOrder();
+    assertArrayEquals(new int[] {5, 1, 0}, Arrays.copyOfRange(mesh.getTriangles(), 12, 15), "Face is not written to the mesh");
+    assertEquals(3, mesh.getInconsistentEdgeCount(), "Topology is not rebuilt");
+
+    faces.get(4).setVerticesIndexes(new int[] {0, 1, 5});
+    assertEquals(0, mesh.getInconsistentEdgeCount(), "Topology is not rebuilt");
+    assertTrue(mesh.isClosed(), "Box is not closed");
+
+    // The list follows the faces count
+    mesh.addFace(new int[] {0, 1, 2});
+    assertEquals(13, faces.size(), "Added face not listed");
+    assertArrayEquals(new int[] {0, 1, 2}, faces.get(12).getVerticesIndexes(), "Unexpected added face");
+
+    assertArrayEquals(new int[] {0, 2, 3}, faces.remove(0).getVerticesIndexes(), "Unexpected removed face");
+    assertEquals(12, mesh.getFaceCount(), "Face not removed");
+    assertArrayEquals(new int[] {0, 3, 1}, faces.get(0).getVerticesIndexes(), "Faces are not shifted");
+
+    assertThrows(IndexOutOfBoundsException.class, () -> faces.get(12), "Invalid face accepted");
+  }
+
+  /**
+   * Test that orienting a mesh whose faces have been randomly flipped restores the orientation of the start face.
+   */
+  @Test
+  public void orientTest() {
+
+    int[] triangles = MeshTestData.sphereTriangles(16, 10);
+    int faceCount = triangles.length / 3;
+
+    HalfEdgeMesh<Point3D> mesh = new HalfEdgeMesh<Point3D>(triangles, faceCount, MeshTestData.points(MeshTestData.sphereVertices(1.0d, 16, 10)));
+
+    Random random = new Random(1);
+
+    int flipped = 0;
+    for(int f = 1; f < faceCount; f++) {
+      if (random.nextBoolean()) {
+        mesh.getFacesIndexes().get(f).inverseVerticesOrder();
+        flipped++;
+      }
+    }
+
+    assertTrue(mesh.getInconsistentEdgeCount() > 0, "Flipped faces are consistent");
+
+    MeshOrientation orientation = MeshOrientation.orient(mesh, 0);
+
+    assertEquals(flipped, orientation.getFlippedCount(), "Unexpected flipped faces count");
+    assertTrue(orientation.isOrientable(), "Sphere is not orientable");
+    assertEquals(0, mesh.getInconsistentEdgeCount(), "Mesh is not consistently oriented");
+    assertTrue(mesh.isClosed(), "Oriented sphere is not closed");
+
+    // A face is flipped by keeping its first vertex, the original triangles are restored up to a rotation of their vertices
+    for(int f = 0; f < faceCount; f++) {
+      int[] actual = mesh.getFacesIndexes().get(f).getVerticesIndexes();
+      int[] expected = Arrays.copyOfRange(triangles, 3*f, 3*f+3);
+      int shift = 0;
+      while ((shift < 3) && (actual[shift] != expected[0])) {
+        shift++;
+      }
+      assertTrue(shift < 3, "Unexpected vertices for face "+f);
+      assertEquals(expected[1], actual[(shift+1)%3], "Unexpected orientation of face "+f);
+    }
+  }
+
+  /**
+   * Create a sorted set from the first values of an array.
+   * @param values the values.
+   * @param count the number of values.
+   * @return the sorted set.
+   */
+  private static Set<Integer> set(int[] values, int count) {
+    Set<Integer> set = new TreeSet<Integer>();
+    for(int i = 0; i < count; i++) {
+      set.add(values[i]);
+    }
+    return set;
+  }
+}
@@ -0,0 +1,159 @@
+package org.jeometry.geom3D.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.Geom3D;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link MeshCollision} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class MeshCollisionTest {
+
+  /**
+   * Test the intersecting faces of two nearly coincident spheres against an all pairs scan, sequentially and in parallel.
+   */
+  @Test
+  public void computeIntersectingFacesTest() {
+
+    double[] vertices1  = MeshTestData.sphereVertices(1.0d, 64, 32);
+    int[]    triangles1 = MeshTestData.sphereTriangles(64, 32);
+
+    // A jagged sphere with another tessellation, whose vertices are alternately inside and outside of the first sphere so that the surfaces cross everywhere
+    double[] vertices2  = MeshTestData.sphereVertices(1.0d, 57, 29);
+    int[]    triangles2 = MeshTestData.sphereTriangles(57, 29);
+    for(int v = 0; v < vertices2.length / 3; v++) {
+      double scale = (v % 2 == 0) ? 1.02d : 0.98d;
+      vertices2[3*v]   *= scale;
+      vertices2[3*v+1] *= scale;
+      vertices2[3*v+2] *= scale;
+    }
+
+    TriangleBVH hierarchy1 = TriangleBVH.build(MeshTestData.mesh(vertices1, triangles1));
+    TriangleBVH hierarchy2 = TriangleBVH.build(MeshTestData.mesh(vertices2, triangles2));
+
+    double[] faces1 = triangles(vertices1, triangles1);
+    double[] faces2 = triangles(vertices2, triangles2);
+
+    int count1 = triangles1.length / 3;
+    int count2 = triangles2.length / 3;
+
+    // All pairs scan, sorted by first face and then by second face
+    int[] expected = new int[2 * count1 * count2];
+    int size = 0;
+    for(int f1 = 0; f1 < count1; f1++) {
+      for(int f2 = 0; f2 < count2; f2++) {
+        if (Geom3D.isIntersectTriangles(faces1, 9*f1, faces2, 9*f2)) {
+          expected[size++] = f1;
+          expected[size++] = f2;
+        }
+      }
+    }
+
+    assertTrue(size / 2 > count1, "The surfaces do not cross everywhere");
+
+    int[] sequential = MeshCollision.computeIntersectingFaces(hierarchy1, hierarchy2, 1);
+    int[] parallel   = MeshCollision.computeIntersectingFaces(hierarchy1, hierarchy2, 4);
+
+    assertArrayEquals(Arrays.copyOf(expected, size), sequential, "Intersecting faces differ from the all pairs scan");
+    assertArrayEquals(sequential, parallel, "Parallel intersecting faces differ from the sequential ones");
+
+    // Disjoint meshes
+    assertEquals(0, MeshCollision.computeIntersectingFaces(MeshTestData.box(0.0d, 0.0d, 0.0d, 1.0d, 1.0d, 1.0d), MeshTestData.box(2.0d, 0.0d, 0.0d, 3.0d, 1.0d, 1.0d)).length, "Disjoint boxes intersect");
+
+    // Touching meshes
+    assertTrue(MeshCollision.computeIntersectingFaces(MeshTestData.box(0.0d, 0.0d, 0.0d, 1.0d, 1.0d, 1.0d), MeshTestData.box(1.0d, 0.0d, 0.0d, 2.0d, 1.0d, 1.0d)).length > 0, "Touching boxes do not intersect");
+  }
+
+  /**
+   * Test the intersecting faces and boxes of a sphere and random boxes against an all pairs scan, sequentially and in parallel.
+   */
+  @Test
+  public void computeIntersectingBoxesTest() {
+
+    double[] vertices  = MeshTestData.sphereVertices(1.0d, 32, 16);
+    int[]    triangles = MeshTestData.sphereTriangles(32, 16);
+
+    TriangleBVH hierarchy = TriangleBVH.build(MeshTestData.mesh(vertices, triangles));
+
+    Random random = new Random(1);
+
+    // Enough boxes to be split over parallel chunks
+    int boxCount = 2 * MeshCollision.MINIMAL_CHUNK_SIZE + 101;
+    double[] boxes = new double[6*boxCount];
+    for(int b = 0; b < boxCount; b++) {
+      for(int k = 0; k < 3; k++) {
+        double center = 3.0d * (random.nextDouble() - 0.5d);
+        double half   = 0.1d * random.nextDouble();
+        boxes[6*b+k]   = center - half;
+        boxes[6*b+3+k] = center + half;
+      }
+    }
+
+    double[] faces = triangles(vertices, triangles);
+    int faceCount  = triangles.length / 3;
+
+    // All pairs scan, sorted by face and then by box
+    int[] expected = new int[2 * faceCount * boxCount];
+    int size = 0;
+    for(int f = 0; f < faceCount; f++) {
+      for(int b = 0; b < boxCount; b++) {
+        if (Geom3D.isIntersectBoxTriangle(boxes, 6*b, faces, 9*f)) {
+          expected[size++] = f;
+          expected[size++] = b;
+        }
+      }
+    }
+
+    assertTrue(size > 0, "No box intersects the sphere");
+
+    int[] sequential = MeshCollision.computeIntersectingBoxes(hierarchy, boxes, boxCount, 1);
+    int[] parallel   = MeshCollision.computeIntersectingBoxes(hierarchy, boxes, boxCount, 4);
+
+    assertArrayEquals(Arrays.copyOf(expected, size), sequential, "Intersecting boxes differ from the all pairs scan");
+    assertArrayEquals(sequential, parallel, "Parallel intersecting boxes differ from the sequential ones");
+
+    // A box inside the sphere does not intersect its surface
+    assertEquals(0, MeshCollision.computeIntersectingBoxes(hierarchy, new double[] {-0.1d, -0.1d, -0.1d, 0.1d, 0.1d, 0.1d}, 1, 1).length, "Inner box intersects the sphere surface");
+  }
+
+  /**
+   * Test the invalid arguments.
+   */
+  @Test
+  public void invalidTest() {
+
+    TriangleBVH hierarchy = TriangleBVH.build(MeshTestData.box(0.0d, 0.0d, 0.0d, 1.0d, 1.0d, 1.0d));
+
+    assertThrows(IllegalArgumentException.class, () -> MeshCollision.computeIntersectingFaces(null, hierarchy, 1), "Null hierarchy accepted");
+    assertThrows(IllegalArgumentException.class, () -> MeshCollision.computeIntersectingFaces(hierarchy, hierarchy, 0), "Invalid parallelism accepted");
+    assertThrows(IllegalArgumentException.class, () -> MeshCollision.computeIntersectingBoxes(hierarchy, new double[11], 2, 1), "Too many boxes accepted");
+    assertThrows(IllegalArgumentException.class, () -> MeshCollision.computeIntersectingBoxes(hierarchy, new double[12], 2, 0), "Invalid parallelism accepted");
+  }
+
+  /**
+   * Create the packed vertices of the given triangles.
+   * @param vertices the vertices coordinates.
+   * @param triangles the triangles vertex indices.
+   * @return the triangles vertices, the vertices of the triangle <code>f</code> being stored from offset <code>9*f</code>.
+   */
+  private static double[] triangles(double[] vertices, int[] triangles) {
+
+    double[] packed = new double[3 * triangles.length];
+    for(int i = 0; i < triangles.length; i++) {
+      System.arraycopy(vertices, 3*triangles[i], packed, 3*i, 3);
+    }
+
+    return packed;
+  }
+}
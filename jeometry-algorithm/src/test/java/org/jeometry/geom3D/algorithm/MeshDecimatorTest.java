@@ -0,0 +1,117 @@
+package org.jeometry.geom3D.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.point.Point3D;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link MeshDecimator} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class MeshDecimatorTest {
+
+  /**
+   * Test the simplification of a closed sphere to a target face count.
+   */
+  @Test
+  public void decimateSphereTest() {
+
+    int[] triangles   = MeshTestData.sphereTriangles(64, 32);
+    double[] vertices = MeshTestData.sphereVertices(1.0d, 64, 32);
+
+    int faceCount = triangles.length / 3;
+
+    MeshDecimator decimator = new MeshDecimator();
+
+    HalfEdgeMesh<Point3D> decimated = decimator.decimate(MeshTestData.mesh(vertices, triangles), faceCount / 10);
+
+    assertEquals(faceCount / 10, decimated.getFaceCount(), "Unexpected faces count");
+    assertTrue(decimated.isClosed(), "Decimated sphere should be closed");
+    assertEquals(0, decimated.getNonManifoldEdgeCount(), "Decimated sphere should be manifold");
+    assertEquals(0, decimated.getInconsistentEdgeCount(), "Decimated sphere should be consistently oriented");
+
+    // The remaining vertices stay close to the sphere
+    for(int i = 0; i < decimated.getVerticesSource().size(); i++) {
+      Point3D point = decimated.getVerticesSource().get(i);
+      double radius = Math.sqrt(point.getX() * point.getX() + point.getY() * point.getY() + point.getZ() * point.getZ());
+      assertEquals(1.0d, radius, 0.05d, "Vertex "+i+" is too far from the sphere");
+    }
+
+    // A null maximal error prevents the collapses that move the surface
+    decimator.setMaximalError(0.0d);
+    assertEquals(faceCount, decimator.decimate(MeshTestData.mesh(vertices, triangles), faceCount / 10).getFaceCount(), "No collapse should respect a null error");
+  }
+
+  /**
+   * Test that the texture seams of a sphere that is smaller than the unit are preserved.
+   */
+  @Test
+  public void decimateSeamsTest() {
+
+    int slices = 64;
+    int stacks = 32;
+
+    int[] triangles   = MeshTestData.sphereTriangles(slices, stacks);
+    double[] sphere   = MeshTestData.sphereVertices(0.01d, slices, stacks);
+
+    int vertexCount = sphere.length / 3;
+
+    // The first meridian is duplicated, the triangles of the last slice refer to the duplicates
+    double[] vertices = new double[sphere.length + 3 * (stacks - 1)];
+    System.arraycopy(sphere, 0, vertices, 0, sphere.length);
+    for(int j = 1; j < stacks; j++) {
+      System.arraycopy(sphere, 3 * (2 + (j - 1) * slices), vertices, 3 * (vertexCount + j - 1), 3);
+    }
+
+    for(int f = 0; f < triangles.length / 3; f++) {
+
+      boolean last = false;
+      for(int k = 0; k < 3; k++) {
+        int v = triangles[3*f+k];
+        last |= (v >= 2) && ((v - 2) % slices == slices - 1);
+      }
+
+      if (last) {
+        for(int k = 0; k < 3; k++) {
+          int v = triangles[3*f+k];
+          if ((v >= 2) && ((v - 2) % slices == 0)) {
+            triangles[3*f+k] = vertexCount + (v - 2) / slices;
+          }
+        }
+      }
+    }
+
+    double[] original = vertices.clone();
+
+    MeshDecimator decimator = new MeshDecimator();
+    decimator.setPreserveSeams(true);
+
+    int faceCount = decimator.decimate(vertices, vertices.length / 3, triangles, triangles.length / 3, triangles.length / 30);
+
+    assertTrue(faceCount < triangles.length / 6, "Sphere should be simplified");
+
+    // The seam vertices are kept, at their original position
+    boolean[] referenced = new boolean[vertices.length / 3];
+    for(int i = 0; i < 3 * faceCount; i++) {
+      referenced[triangles[i]] = true;
+    }
+
+    for(int j = 1; j < stacks; j++) {
+
+      int seam      = 2 + (j - 1) * slices;
+      int duplicate = vertexCount + j - 1;
+
+      assertTrue(referenced[seam] && referenced[duplicate], "Seam vertex "+seam+" has been removed");
+
+      for(int dimension = 0; dimension < 3; dimension++) {
+        assertEquals(original[3*seam+dimension], vertices[3*seam+dimension], 0.0d, "Seam vertex "+seam+" has moved");
+        assertEquals(original[3*duplicate+dimension], vertices[3*duplicate+dimension], 0.0d, "Seam vertex "+duplicate+" has moved");
+      }
+    }
+  }
+}
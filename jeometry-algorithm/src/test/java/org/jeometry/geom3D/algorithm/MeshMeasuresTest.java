@@ -0,0 +1,167 @@
+package org.jeometry.geom3D.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.jeometry.Jeometry;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link MeshMeasures} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class MeshMeasuresTest {
+
+  /**
+   * Test the measures of a box against their analytic values.
+   */
+  @Test
+  public void boxTest() {
+
+    // A box of size 2 x 3 x 6
+    MeshMeasures measures = MeshMeasures.compute(MeshTestData.box(1.0d, 2.0d, 3.0d, 3.0d, 5.0d, 9.0d));
+
+    assertEquals(12, measures.getFaceCount(), "Unexpected faces count");
+
+    check(measures, 36.0d, 72.0d, new double[] {2.0d, 3.5d, 6.0d}, new double[] {135.0d, 120.0d, 39.0d}, 1.0e-12d);
+
+    // Inward faces give a negative volume and the same centroid and inertia
+    int[] inward = MeshTestData.BOX_TRIANGLES.clone();
+    for(int f = 0; f < inward.length / 3; f++) {
+      int swap = inward[3*f+1];
+      inward[3*f+1] = inward[3*f+2];
+      inward[3*f+2] = swap;
+    }
+
+    MeshMeasures reversed = MeshMeasures.compute(MeshTestData.boxVertices(1.0d, 2.0d, 3.0d, 3.0d, 5.0d, 9.0d), inward, 12, 1);
+
+    assertEquals(-36.0d, reversed.getVolume(), 1.0e-12d, "Unexpected volume of an inward box");
+    assertEquals(72.0d, reversed.getArea(), 1.0e-12d, "Unexpected area of an inward box");
+    assertEquals(2.0d, reversed.getCentroidX(), 1.0e-12d, "Unexpected centroid of an inward box");
+    assertEquals(3.5d, reversed.getCentroidY(), 1.0e-12d, "Unexpected centroid of an inward box");
+    assertEquals(6.0d, reversed.getCentroidZ(), 1.0e-12d, "Unexpected centroid of an inward box");
+
+    double[] tensor   = measures.getInertiaTensor(null);
+    double[] opposite = reversed.getInertiaTensor(new double[9]);
+    for(int i = 0; i < 9; i++) {
+      assertEquals(tensor[i], opposite[i], 1.0e-9d, "Unexpected inertia of an inward box");
+    }
+  }
+
+  /**
+   * Test that the measures of a box far from the origin (as a georeferenced mesh) keep their precision.
+   */
+  @Test
+  public void translatedTest() {
+
+    double tx = 4.5e6d;
+    double ty = -3.2e7d;
+    double tz = 1.25e3d;
+
+    MeshMeasures measures = MeshMeasures.compute(MeshTestData.box(tx + 1.0d, ty + 2.0d, tz + 3.0d, tx + 3.0d, ty + 5.0d, tz + 9.0d));
+
+    check(measures, 36.0d, 72.0d, new double[] {tx + 2.0d, ty + 3.5d, tz + 6.0d}, new double[] {135.0d, 120.0d, 39.0d}, 1.0e-8d);
+  }
+
+  /**
+   * Test the measures of a finely tessellated sphere against the analytic values of the sphere, sequentially and in parallel.
+   */
+  @Test
+  public void sphereTest() {
+
+    double radius = 2.0d;
+
+    double[] vertices  = MeshTestData.sphereVertices(radius, 256, 128);
+    int[]    triangles = MeshTestData.sphereTriangles(256, 128);
+
+    // Move the sphere so that its centroid is not the origin
+    for(int v = 0; v < vertices.length / 3; v++) {
+      vertices[3*v]   += 10.0d;
+      vertices[3*v+1] -= 5.0d;
+      vertices[3*v+2] += 1.0d;
+    }
+
+    int faceCount = triangles.length / 3;
+
+    assertTrue(faceCount > 2 * MeshMeasures.MINIMAL_CHUNK_SIZE, "Too few triangles to be split over parallel tasks");
+
+    MeshMeasures sequential = MeshMeasures.compute(vertices, triangles, faceCount, 1);
+    MeshMeasures parallel   = MeshMeasures.compute(vertices, triangles, faceCount, 4);
+
+    double volume  = 4.0d / 3.0d * Math.PI * radius * radius * radius;
+    double area    = 4.0d * Math.PI * radius * radius;
+    double inertia = 0.4d * volume * radius * radius;
+
+    // The tessellation error is far greater than the numerical one
+    assertEquals(volume, sequential.getVolume(), 1.0e-3d * volume, "Unexpected sphere volume");
+    assertEquals(area, sequential.getArea(), 1.0e-3d * area, "Unexpected sphere area");
+    assertEquals(10.0d, sequential.getCentroidX(), 1.0e-9d, "Unexpected sphere centroid");
+    assertEquals(-5.0d, sequential.getCentroidY(), 1.0e-9d, "Unexpected sphere centroid");
+    assertEquals(1.0d, sequential.getCentroidZ(), 1.0e-9d, "Unexpected sphere centroid");
+
+    double[] tensor = sequential.getInertiaTensor(null);
+    for(int i = 0; i < 3; i++) {
+      for(int j = 0; j < 3; j++) {
+        assertEquals(i == j ? inertia : 0.0d, tensor[3*i+j], 2.0e-3d * inertia, "Unexpected sphere inertia ("+i+", "+j+")");
+      }
+    }
+
+    check(parallel, sequential.getVolume(), sequential.getArea(), new double[] {sequential.getCentroidX(), sequential.getCentroidY(), sequential.getCentroidZ()},
+          new double[] {tensor[0], tensor[4], tensor[8]}, 1.0e-10d);
+
+    double[] parallelTensor = parallel.getInertiaTensor(null);
+    for(int i = 0; i < 9; i++) {
+      assertEquals(tensor[i], parallelTensor[i], 1.0e-10d * inertia, "Parallel inertia differs from the sequential one");
+    }
+  }
+
+  /**
+   * Test the measures of an empty mesh and the invalid arguments.
+   */
+  @Test
+  public void invalidTest() {
+
+    MeshMeasures empty = MeshMeasures.compute(new double[0], new int[0], 0, 1);
+
+    assertEquals(0, empty.getFaceCount(), "Unexpected faces count");
+    assertEquals(0.0d, empty.getVolume(), 0.0d, "Unexpected empty volume");
+    assertEquals(0.0d, empty.getArea(), 0.0d, "Unexpected empty area");
+    assertTrue(Double.isNaN(empty.getCentroidX()), "Empty centroid is defined");
+
+    assertThrows(IllegalArgumentException.class, () -> MeshMeasures.compute(null), "Null mesh accepted");
+    assertThrows(IllegalArgumentException.class, () -> MeshMeasures.compute(new double[9], new int[5], 2, 1), "Too many triangles accepted");
+    assertThrows(IllegalArgumentException.class, () -> MeshMeasures.compute(new double[9], new int[3], 1, 0), "Invalid parallelism accepted");
+  }
+
+  /**
+   * Check the given measures.
+   * @param measures the measures to check.
+   * @param volume the expected volume.
+   * @param area the expected area.
+   * @param centroid the expected centroid.
+   * @param moments the expected diagonal of the inertia tensor, the other terms being expected to be <code>0</code>.
+   * @param tolerance the tolerance, relative to the measures magnitudes.
+   */
+  private static void check(MeshMeasures measures, double volume, double area, double[] centroid, double[] moments, double tolerance) {
+
+    assertEquals(volume, measures.getVolume(), tolerance * Math.abs(volume), "Unexpected volume");
+    assertEquals(area, measures.getArea(), tolerance * area, "Unexpected area");
+
+    // The centroid precision is relative to the mesh size, not to its distance from the origin
+    double size = Math.cbrt(Math.abs(volume));
+    assertEquals(centroid[0], measures.getCentroidX(), tolerance * size, "Unexpected centroid x");
+    assertEquals(centroid[1], measures.getCentroidY(), tolerance * size, "Unexpected centroid y");
+    assertEquals(centroid[2], measures.getCentroidZ(), tolerance * size, "Unexpected centroid z");
+
+    double[] tensor = measures.getInertiaTensor(null);
+    double scale    = Math.max(moments[0], Math.max(moments[1], moments[2]));
+    for(int i = 0; i < 3; i++) {
+      for(int j = 0; j < 3; j++) {
+        assertEquals(i == j ? moments[i] : 0.0d, tensor[3*i+j], tolerance * scale, "Unexpected inertia ("+i+", "+j+")");
+      }
+    }
+  }
+}
@@ -0,0 +1,270 @@
+package org.jeometry.geom3D.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.mesh.indexed.IndexedFace;
+import org.jeometry.geom3D.mesh.indexed.IndexedTriangleMesh;
+import org.jeometry.geom3D.neighbor.MeshNeighborhood;
+import org.jeometry.geom3D.point.Point3D;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link MeshNeighborhoodComputation} class and to the {@link CompactAdjacencyMap compact adjacency} and
+ * {@link CompactIncidenceMap compact incidence} maps.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class MeshNeighborhoodComputationTest {
+
+  /**
+   * Test the indexed neighborhood of a box.
+   */
+  @Test
+  public void computeIndexedNeighborhoodTest() {
+
+    IndexedTriangleMesh<Point3D> box = MeshTestData.box(0.0d, 0.0d, 0.0d, 1.0d, 2.0d, 3.0d);
+
+    IndexedNeighborhood neighborhood = MeshNeighborhoodComputation.computeIndexedNeighborhood(box, 2);
+
+    assertEquals(12, neighborhood.getFaceCount(), "Unexpected faces count");
+    assertEquals(8, neighborhood.getVertexCount(), "Unexpected vertices count");
+
+    int incidences = 0;
+    for(int v = 0; v < 8; v++) {
+      incidences += neighborhood.getIncidentCount(v);
+    }
+    assertEquals(36, incidences, "Unexpected incidences count");
+
+    for(int f = 0; f < 12; f++) {
+
+      assertEquals(3, neighborhood.getAdjacentCount(f), "Unexpected adjacent count for face "+f);
+
+      // Adjacent faces share two vertices
+      for(int i = 0; i < 3; i++) {
+        int adjacent = neighborhood.getAdjacent(f, i);
+        int shared = 0;
+        for(int j = 0; j < 3; j++) {
+          for(int k = 0; k < 3; k++) {
+            if (MeshTestData.BOX_TRIANGLES[3*f+j] == MeshTestData.BOX_TRIANGLES[3*adjacent+k]) {
+              shared++;
+            }
+          }
+        }
+        assertEquals(2, shared, "Faces "+f+" and "+adjacent+" do not share an edge");
+      }
+    }
+  }
+
+  /**
+   * Test the indexed neighborhood of random triangles, that contain non-manifold and degenerated edges, against a scan of all the face pairs.
+   */
+  @Test
+  public void computeIndexedNeighborhoodScanTest() {
+
+    Random random = new Random(1);
+
+    int faceCount = 400;
+    int[] triangles = new int[3*faceCount];
+    for(int i = 0; i < triangles.length; i++) {
+      triangles[i] = random.nextInt(40);
+    }
+
+    IndexedNeighborhood neighborhood = MeshNeighborhoodComputation.computeIndexedNeighborhood(MeshTestData.mesh(new double[3*40], triangles), 1);
+
+    assertEquals(faceCount, neighborhood.getFaceCount(), "Unexpected faces count");
+    assertEquals(40, neighborhood.getVertexCount(), "Unexpected vertices count");
+
+    for(int f = 0; f < faceCount; f++) {
+
+      Set<Integer> expected = new TreeSet<Integer>();
+      for(int g = 0; g < faceCount; g++) {
+        if ((g != f) && shareEdge(triangles, f, g)) {
+          expected.add(g);
+        }
+      }
+
+      // The adjacent faces are sorted and unique
+      List<Integer> actual = new ArrayList<Integer>();
+      for(int i = 0; i < neighborhood.getAdjacentCount(f); i++) {
+        actual.add(neighborhood.getAdjacent(f, i));
+      }
+
+      assertEquals(new ArrayList<Integer>(expected), actual, "Unexpected adjacent faces for face "+f);
+    }
+
+    // Each face is incident to a vertex once for each of its corners, by increasing face index
+    for(int v = 0; v < 40; v++) {
+
+      List<Integer> expected = new ArrayList<Integer>();
+      for(int c = 0; c < triangles.length; c++) {
+        if (triangles[c] == v) {
+          expected.add(c / 3);
+        }
+      }
+
+      List<Integer> actual = new ArrayList<Integer>();
+      for(int i = 0; i < neighborhood.getIncidentCount(v); i++) {
+        actual.add(neighborhood.getIncident(v, i));
+      }
+
+      assertEquals(expected, actual, "Unexpected incident faces for vertex "+v);
+    }
+
+    assertThrows(IllegalArgumentException.class, () -> MeshNeighborhoodComputation.computeIndexedNeighborhood(null, 1), "Null mesh accepted");
+    assertThrows(IllegalArgumentException.class, () -> MeshNeighborhoodComputation.computeIndexedNeighborhood(MeshTestData.box(0.0d, 0.0d, 0.0d, 1.0d, 1.0d, 1.0d), 0), "Invalid parallelism accepted");
+  }
+
+  /**
+   * Test that the indexed neighborhood computed over several edge partitions is the one computed by a single thread.
+   */
+  @Test
+  public void computeIndexedNeighborhoodParallelTest() {
+
+    // More than two partitions of face edges
+    IndexedTriangleMesh<Point3D> sphere = MeshTestData.sphere(1.0d, 300, 120);
+    assertTrue(3*sphere.getFacesIndexes().size() > 2*MeshNeighborhoodComputation.MINIMAL_CHUNK_SIZE, "Mesh is too small to be partitioned");
+
+    IndexedNeighborhood expected = MeshNeighborhoodComputation.computeIndexedNeighborhood(sphere, 1);
+    IndexedNeighborhood actual   = MeshNeighborhoodComputation.computeIndexedNeighborhood(sphere, 4);
+
+    assertArrayEquals(expected.getAdjacencyOffsets(), actual.getAdjacencyOffsets(), "Unexpected adjacency offsets");
+    assertArrayEquals(expected.getAdjacencies(), actual.getAdjacencies(), "Unexpected adjacencies");
+    assertArrayEquals(expected.getIncidenceOffsets(), actual.getIncidenceOffsets(), "Unexpected incidence offsets");
+    assertArrayEquals(expected.getIncidences(), actual.getIncidences(), "Unexpected incidences");
+
+    // A closed triangle mesh: each face has 3 adjacent faces
+    for(int f = 0; f < actual.getFaceCount(); f++) {
+      assertEquals(3, actual.getAdjacentCount(f), "Unexpected adjacent count for face "+f);
+    }
+  }
+
+  /**
+   * Test that the neighborhood of a mesh resolves the faces and the vertices of the mesh and that it can be modified.
+   */
+  @Test
+  public void computeNeighborhoodTest() {
+
+    IndexedTriangleMesh<Point3D> box = MeshTestData.box(0.0d, 0.0d, 0.0d, 1.0d, 2.0d, 3.0d);
+
+    MeshNeighborhood<Point3D> neighborhood = MeshNeighborhoodComputation.computeNeighborhood(box, 1);
+
+    assertNotNull(neighborhood, "No neighborhood computed");
+
+    List<? extends IndexedFace<Point3D>> faces = box.getFacesIndexes();
+    for(int f = 0; f < faces.size(); f++) {
+
+      List<IndexedFace<Point3D>> adjacent = neighborhood.getAdjacencies().getAdjacencies(faces.get(f));
+
+      assertNotNull(adjacent, "Face "+f+" adjacencies cannot be resolved");
+      assertEquals(3, adjacent.size(), "Unexpected adjacencies count for face "+f);
+      for(int g = 0; g < faces.size(); g++) {
+        assertEquals((g != f) && shareEdge(MeshTestData.BOX_TRIANGLES, f, g), adjacent.contains(faces.get(g)), "Unexpected adjacency between faces "+f+" and "+g);
+      }
+    }
+
+    for(int v = 0; v < box.getVerticesSource().size(); v++) {
+      List<IndexedFace<Point3D>> incident = neighborhood.getIncidences().getIncidences(box.getVerticesSource().get(v));
+      assertNotNull(incident, "Vertex "+v+" incidences cannot be resolved");
+      for(IndexedFace<Point3D> face : incident) {
+        boolean found = false;
+        for(int index : face.getVerticesIndexes()) {
+          found |= (index == v);
+        }
+        assertTrue(found, "Face is not incident to vertex "+v);
+      }
+    }
+
+    // The neighborhood can be modified
+    int count = neighborhood.getAdjacencies().getAdjacencies(faces.get(0)).size();
+    neighborhood.getAdjacencies().addAdjacent(faces.get(0), faces.get(6));
+    assertEquals(count + 1, neighborhood.getAdjacencies().getAdjacencies(faces.get(0)).size(), "Adjacency not added");
+
+    count = neighborhood.getIncidences().getIncidences(box.getVerticesSource().get(0)).size();
+    neighborhood.getIncidences().addIncident(box.getVerticesSource().get(0), faces.get(6));
+    assertEquals(count + 1, neighborhood.getIncidences().getIncidences(box.getVerticesSource().get(0)).size(), "Incidence not added");
+
+    assertNull(MeshNeighborhoodComputation.computeNeighborhood(MeshTestData.mesh(new double[9], new int[] {0, 1, 2}), 1), "Neighborhood of a single face");
+  }
+
+  /**
+   * Test that the face and vertex based queries of a compact neighborhood resolve the faces and the vertices of a mesh and that the compact neighborhood is read only.
+   */
+  @Test
+  public void computeCompactNeighborhoodTest() {
+
+    IndexedTriangleMesh<Point3D> box = MeshTestData.box(0.0d, 0.0d, 0.0d, 1.0d, 2.0d, 3.0d);
+
+    MeshNeighborhood<Point3D> compact = MeshNeighborhoodComputation.computeCompactNeighborhood(box, 1);
+    MeshNeighborhood<Point3D> legacy  = MeshNeighborhoodComputation.computeNeighborhood(box, 1);
+
+    CompactAdjacencyMap<Point3D> adjacencies = (CompactAdjacencyMap<Point3D>) compact.getAdjacencies();
+
+    List<? extends IndexedFace<Point3D>> faces = box.getFacesIndexes();
+    for(int f = 0; f < faces.size(); f++) {
+
+      assertEquals(f, adjacencies.getFaceIndex(faces.get(f)), "Unexpected face index");
+
+      List<IndexedFace<Point3D>> adjacent = compact.getAdjacencies().getAdjacencies(faces.get(f));
+      List<IndexedFace<Point3D>> expected = legacy.getAdjacencies().getAdjacencies(faces.get(f));
+
+      assertNotNull(adjacent, "Face "+f+" adjacencies cannot be resolved");
+      assertEquals(expected.size(), adjacent.size(), "Unexpected adjacencies count for face "+f);
+      for(IndexedFace<Point3D> face : expected) {
+        assertTrue(adjacent.contains(face), "Missing adjacency for face "+f);
+      }
+    }
+
+    for(int v = 0; v < box.getVerticesSource().size(); v++) {
+      List<IndexedFace<Point3D>> incident = compact.getIncidences().getIncidences(box.getVerticesSource().get(v));
+      List<IndexedFace<Point3D>> expected = legacy.getIncidences().getIncidences(box.getVerticesSource().get(v));
+
+      assertNotNull(incident, "Vertex "+v+" incidences cannot be resolved");
+      assertEquals(expected.size(), incident.size(), "Unexpected incidences count for vertex "+v);
+      for(IndexedFace<Point3D> face : expected) {
+        assertTrue(incident.contains(face), "Missing incidence for vertex "+v);
+      }
+    }
+
+    // The compact neighborhood is read only
+    assertThrows(UnsupportedOperationException.class, () -> compact.getAdjacencies().addAdjacent(faces.get(0), faces.get(1)), "Adjacency added");
+    assertThrows(UnsupportedOperationException.class, () -> compact.getAdjacencies().getAdjacencies(faces.get(0)).clear(), "Adjacencies cleared");
+    assertThrows(UnsupportedOperationException.class, () -> compact.getIncidences().addIncident(box.getVerticesSource().get(0), faces.get(1)), "Incidence added");
+  }
+
+  /**
+   * Check if two triangles share a non degenerated edge, whatever their orientations.
+   * @param triangles the triangles vertex indices.
+   * @param f the first triangle.
+   * @param g the second triangle.
+   * @return <code>true</code> if the triangles share an edge and <code>false</code> otherwise.
+   */
+  private static boolean shareEdge(int[] triangles, int f, int g) {
+    for(int i = 0; i < 3; i++) {
+      int a = triangles[3*f+i];
+      int b = triangles[3*f+(i+1)%3];
+      if (a != b) {
+        for(int j = 0; j < 3; j++) {
+          int c = triangles[3*g+j];
+          int d = triangles[3*g+(j+1)%3];
+          if (((a == c) && (b == d)) || ((a == d) && (b == c))) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,195 @@
+package org.jeometry.geom3D.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.mesh.indexed.IndexedTriangleMesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link MeshOrientation} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class MeshOrientationTest {
+
+  /**
+   * Test the orientation of the faces of tori whose faces have been randomly flipped.
+   */
+  @Test
+  public void torusTest() {
+
+    int[] outward = MeshTestData.torusTriangles(48, 24);
+    int faceCount = outward.length / 3;
+
+    Random random = new Random(1);
+
+    for(int n = 0; n < 10; n++) {
+
+      BitSet flips  = new BitSet(faceCount);
+      int[] flipped = outward.clone();
+      for(int f = 0; f < faceCount; f++) {
+        if (random.nextBoolean()) {
+          flips.set(f);
+          flip(flipped, f);
+        }
+      }
+
+      int start = random.nextInt(faceCount);
+
+      MeshOrientation orientation = MeshOrientation.compute(flipped, null, faceCount, start);
+
+      assertEquals(faceCount, orientation.getFaceCount(), "Unexpected faces count");
+      assertEquals(1, orientation.getComponentCount(), "Unexpected components count");
+      assertTrue(orientation.isOrientable(), "Torus is not orientable");
+      assertEquals(0, orientation.getConflictingEdgeCount(), "Unexpected conflicting edges");
+      assertEquals(0, orientation.getBoundaryEdgeCount(), "Unexpected boundary edges");
+      assertEquals(0, orientation.getNonManifoldEdgeCount(), "Unexpected non-manifold edges");
+
+      // A face is flipped if its orientation differs from the start face one
+      int flippedCount = 0;
+      for(int f = 0; f < faceCount; f++) {
+        boolean expected = flips.get(f) != flips.get(start);
+        assertEquals(expected, orientation.isFlipped(f), "Unexpected flip of face "+f);
+        if (expected) {
+          flippedCount++;
+        }
+      }
+      assertEquals(flippedCount, orientation.getFlippedCount(), "Unexpected flipped faces count");
+
+      assertEquals(flippedCount, orientation.apply(flipped, null), "Unexpected applied flips count");
+
+      // Flipping is an involution, so that the start face orientation is restored on all the faces
+      if (flips.get(start)) {
+        for(int f = 0; f < faceCount; f++) {
+          flip(flipped, f);
+        }
+      }
+      assertArrayEquals(outward, flipped, "Faces are not consistently oriented");
+
+      // Once oriented, the faces need no more flip
+      assertEquals(0, MeshOrientation.compute(flipped, faceCount).getFlippedCount(), "Oriented faces need to be flipped");
+    }
+  }
+
+  /**
+   * Test the orientation of the faces of a mesh, that are flipped in place, and the connected components.
+   */
+  @Test
+  public void orientTest() {
+
+    // Two disjoint boxes whose faces are alternately flipped
+    double[] vertices = new double[48];
+    System.arraycopy(MeshTestData.boxVertices(0.0d, 0.0d, 0.0d, 1.0d, 1.0d, 1.0d), 0, vertices, 0, 24);
+    System.arraycopy(MeshTestData.boxVertices(2.0d, 0.0d, 0.0d, 3.0d, 1.0d, 1.0d), 0, vertices, 24, 24);
+
+    int[] outward = new int[72];
+    for(int i = 0; i < 36; i++) {
+      outward[i]      = MeshTestData.BOX_TRIANGLES[i];
+      outward[36 + i] = MeshTestData.BOX_TRIANGLES[i] + 8;
+    }
+
+    int[] triangles = outward.clone();
+    for(int f = 1; f < 24; f += 2) {
+      flip(triangles, f);
+    }
+
+    IndexedTriangleMesh<Point3D> mesh = MeshTestData.mesh(vertices, triangles);
+
+    MeshOrientation orientation = MeshOrientation.orient(mesh, -1);
+
+    assertEquals(2, orientation.getComponentCount(), "Unexpected components count");
+    assertEquals(12, orientation.getFlippedCount(), "Unexpected flipped faces count");
+    assertNotEquals(orientation.getComponent(0), orientation.getComponent(12), "Disjoint boxes within a same component");
+    for(int f = 0; f < 24; f++) {
+      assertEquals(orientation.getComponent((f < 12) ? 0 : 12), orientation.getComponent(f), "Unexpected component of face "+f);
+    }
+
+    for(int f = 0; f < 24; f++) {
+      assertArrayEquals(new int[] {outward[3*f], outward[3*f+1], outward[3*f+2]}, mesh.getFacesIndexes().get(f).getVerticesIndexes(), "Face "+f+" is not consistently oriented");
+    }
+
+    assertTrue(MeshMeasures.compute(mesh).getVolume() > 0.0d, "Oriented boxes are not oriented outward");
+  }
+
+  /**
+   * Test the report of a non-orientable M&ouml;bius strip and of a non-manifold edge.
+   */
+  @Test
+  public void nonOrientableTest() {
+
+    int segments = 12;
+
+    // Each segment is a quad between the vertices (2i, 2i+1) and (2i+2, 2i+3), the last one being joined to the first one with a half twist
+    int[] strip = new int[6*segments];
+    for(int i = 0; i < segments; i++) {
+      int a = 2*i;
+      int b = 2*i + 1;
+      int c = (i < segments - 1) ? 2*i + 2 : 1;
+      int d = (i < segments - 1) ? 2*i + 3 : 0;
+      strip[6*i]   = a;
+      strip[6*i+1] = c;
+      strip[6*i+2] = d;
+      strip[6*i+3] = a;
+      strip[6*i+4] = d;
+      strip[6*i+5] = b;
+    }
+
+    MeshOrientation orientation = MeshOrientation.compute(strip, 2*segments);
+
+    assertEquals(1, orientation.getComponentCount(), "Unexpected components count");
+    assertFalse(orientation.isOrientable(), "Moebius strip is orientable");
+    assertFalse(orientation.isOrientable(0), "Moebius strip component is orientable");
+    assertEquals(1, orientation.getNonOrientableComponentCount(), "Unexpected non-orientable components count");
+    assertTrue(orientation.getConflictingEdgeCount() > 0, "No conflicting edge");
+    assertEquals(2*segments, orientation.getBoundaryEdgeCount(), "Unexpected boundary edges count");
+
+    // Without the half twist, the strip is an orientable annulus
+    strip[6*segments-5] = 0;
+    strip[6*segments-4] = 1;
+    strip[6*segments-2] = 1;
+
+    assertTrue(MeshOrientation.compute(strip, 2*segments).isOrientable(), "Annulus is not orientable");
+
+    // Three triangles that share an edge
+    MeshOrientation fan = MeshOrientation.compute(new int[] {0, 1, 2, 1, 0, 3, 0, 1, 4}, 3);
+
+    assertEquals(1, fan.getNonManifoldEdgeCount(), "Unexpected non-manifold edges count");
+  }
+
+  /**
+   * Test the invalid arguments.
+   */
+  @Test
+  public void invalidTest() {
+
+    assertThrows(IllegalArgumentException.class, () -> MeshOrientation.orient(null, -1), "Null mesh accepted");
+    assertThrows(IllegalArgumentException.class, () -> MeshOrientation.compute(null, 1), "Null triangles accepted");
+    assertThrows(IllegalArgumentException.class, () -> MeshOrientation.compute(new int[5], 2), "Too many triangles accepted");
+    assertThrows(IllegalArgumentException.class, () -> MeshOrientation.compute(new int[6], null, 2, 2), "Invalid start face accepted");
+    assertThrows(IllegalArgumentException.class, () -> MeshOrientation.compute(new int[] {0, 1, -1}, 1), "Negative index accepted");
+
+    assertEquals(0, MeshOrientation.compute(new int[0], 0).getComponentCount(), "Unexpected components of an empty mesh");
+  }
+
+  /**
+   * Flip the given triangle by keeping its first vertex and swapping the other ones.
+   * @param triangles the triangles vertex indices.
+   * @param face the triangle to flip.
+   */
+  private static void flip(int[] triangles, int face) {
+    int swap = triangles[3*face+1];
+    triangles[3*face+1] = triangles[3*face+2];
+    triangles[3*face+2] = swap;
+  }
+}
@@ -0,0 +1,260 @@
+package org.jeometry.geom3D.algorithm;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.mesh.indexed.IndexedTriangleMesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+
+/**
+ * A set of meshes dedicated to the algorithms tests.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class MeshTestData {
+
+  /**
+   * The triangles of a box whose 8 vertices are indexed by <code>(x ? 1 : 0) + (y ? 2 : 0) + (z ? 4 : 0)</code>, oriented outward.
+   */
+  public static final int[] BOX_TRIANGLES = new int[] {0, 2, 3, 0, 3, 1,
+                                                       4, 5, 7, 4, 7, 6,
+                                                       0, 1, 5, 0, 5, 4,
+                                                       2, 6, 7, 2, 7, 3,
+                                                       0, 4, 6, 0, 6, 2,
+                                                       1, 3, 7, 1, 7, 5};
+
+  /**
+   * Create the coordinates of the vertices of an axis aligned box, indexed as described by {@link #BOX_TRIANGLES}.
+   * @param xmin the minimal x coordinate.
+   * @param ymin the minimal y coordinate.
+   * @param zmin the minimal z coordinate.
+   * @param xmax the maximal x coordinate.
+   * @param ymax the maximal y coordinate.
+   * @param zmax the maximal z coordinate.
+   * @return the coordinates of the box vertices.
+   */
+  public static double[] boxVertices(double xmin, double ymin, double zmin, double xmax, double ymax, double zmax) {
+
+    double[] vertices = new double[24];
+    for(int i = 0; i < 8; i++) {
+      vertices[3*i]   = ((i & 1) != 0) ? xmax : xmin;
+      vertices[3*i+1] = ((i & 2) != 0) ? ymax : ymin;
+      vertices[3*i+2] = ((i & 4) != 0) ? zmax : zmin;
+    }
+
+    return vertices;
+  }
+
+  /**
+   * Create a closed triangle mesh that represents an axis aligned box, oriented outward.
+   * @param xmin the minimal x coordinate.
+   * @param ymin the minimal y coordinate.
+   * @param zmin the minimal z coordinate.
+   * @param xmax the maximal x coordinate.
+   * @param ymax the maximal y coordinate.
+   * @param zmax the maximal z coordinate.
+   * @return the box mesh.
+   */
+  public static IndexedTriangleMesh<Point3D> box(double xmin, double ymin, double zmin, double xmax, double ymax, double zmax) {
+    return mesh(boxVertices(xmin, ymin, zmin, xmax, ymax, zmax), BOX_TRIANGLES.clone());
+  }
+
+  /**
+   * Create the coordinates of the vertices of a closed sphere made of <code>slices</code> meridians and <code>stacks</code> parallels.
+   * The two poles are the vertices <code>0</code> and <code>1</code>, followed by the vertices of each parallel.
+   * @param radius the sphere radius.
+   * @param slices the number of meridians (at least 3).
+   * @param stacks the number of stacks between the poles (at least 2).
+   * @return the coordinates of the sphere vertices.
+   */
+  public static double[] sphereVertices(double radius, int slices, int stacks) {
+
+    double[] vertices = new double[3 * (2 + slices * (stacks - 1))];
+    vertices[2] =  radius;
+    vertices[5] = -radius;
+
+    for(int j = 1; j < stacks; j++) {
+      double phi = Math.PI * j / stacks;
+      for(int i = 0; i < slices; i++) {
+        double theta = 2.0d * Math.PI * i / slices;
+        int v = 2 + (j - 1) * slices + i;
+        vertices[3*v]   = radius * Math.sin(phi) * Math.cos(theta);
+        vertices[3*v+1] = radius * Math.sin(phi) * Math.sin(theta);
+        vertices[3*v+2] = radius * Math.cos(phi);
+      }
+    }
+
+    return vertices;
+  }
+
+  /**
+   * Create the triangles of a closed sphere whose vertices are created by {@link #sphereVertices(double, int, int)}, oriented outward.
+   * @param slices the number of meridians (at least 3).
+   * @param stacks the number of stacks between the poles (at least 2).
+   * @return the triangles of the sphere.
+   */
+  public static int[] sphereTriangles(int slices, int stacks) {
+
+    int[] triangles = new int[3 * 2 * slices * (stacks - 1)];
+    int f = 0;
+
+    for(int i = 0; i < slices; i++) {
+
+      int next = (i + 1) % slices;
+
+      // North cap
+      triangles[3*f]   = 0;
+      triangles[3*f+1] = 2 + i;
+      triangles[3*f+2] = 2 + next;
+      f++;
+
+      // Stacks
+      for(int j = 1; j < stacks - 1; j++) {
+        int a = 2 + (j - 1) * slices + i;
+        int b = 2 + (j - 1) * slices + next;
+        int c = 2 + j * slices + next;
+        int d = 2 + j * slices + i;
+        triangles[3*f]   = a;
+        triangles[3*f+1] = d;
+        triangles[3*f+2] = c;
+        f++;
+        triangles[3*f]   = a;
+        triangles[3*f+1] = c;
+        triangles[3*f+2] = b;
+        f++;
+      }
+
+      // South cap
+      triangles[3*f]   = 1;
+      triangles[3*f+1] = 2 + (stacks - 2) * slices + next;
+      triangles[3*f+2] = 2 + (stacks - 2) * slices + i;
+      f++;
+    }
+
+    return triangles;
+  }
+
+  /**
+   * Create a closed triangle mesh that represents a sphere centered on the origin, oriented outward.
+   * @param radius the sphere radius.
+   * @param slices the number of meridians (at least 3).
+   * @param stacks the number of stacks between the poles (at least 2).
+   * @return the sphere mesh.
+   */
+  public static IndexedTriangleMesh<Point3D> sphere(double radius, int slices, int stacks) {
+    return mesh(sphereVertices(radius, slices, stacks), sphereTriangles(slices, stacks));
+  }
+
+  /**
+   * Create the coordinates of the vertices of a closed torus whose axis is z, made of <code>slices</code> tube sections and <code>sides</code> vertices per section.
+   * The vertex <code>j</code> of the section <code>i</code> has the index <code>i * sides + j</code>.
+   * @param radius the distance between the torus center and the tube center.
+   * @param tube the tube radius.
+   * @param slices the number of tube sections (at least 3).
+   * @param sides the number of vertices of a tube section (at least 3).
+   * @return the coordinates of the torus vertices.
+   */
+  public static double[] torusVertices(double radius, double tube, int slices, int sides) {
+
+    double[] vertices = new double[3 * slices * sides];
+
+    for(int i = 0; i < slices; i++) {
+      double theta = 2.0d * Math.PI * i / slices;
+      for(int j = 0; j < sides; j++) {
+        double phi = 2.0d * Math.PI * j / sides;
+        int v = i * sides + j;
+        vertices[3*v]   = (radius + tube * Math.cos(phi)) * Math.cos(theta);
+        vertices[3*v+1] = (radius + tube * Math.cos(phi)) * Math.sin(theta);
+        vertices[3*v+2] = tube * Math.sin(phi);
+      }
+    }
+
+    return vertices;
+  }
+
+  /**
+   * Create the triangles of a closed torus whose vertices are created by {@link #torusVertices(double, double, int, int)}, oriented outward.
+   * @param slices the number of tube sections (at least 3).
+   * @param sides the number of vertices of a tube section (at least 3).
+   * @return the triangles of the torus.
+   */
+  public static int[] torusTriangles(int slices, int sides) {
+
+    int[] triangles = new int[3 * 2 * slices * sides];
+    int f = 0;
+
+    for(int i = 0; i < slices; i++) {
+      for(int j = 0; j < sides; j++) {
+        int a = i * sides + j;
+        int b = ((i + 1) % slices) * sides + j;
+        int c = ((i + 1) % slices) * sides + (j + 1) % sides;
+        int d = i * sides + (j + 1) % sides;
+        triangles[3*f]   = a;
+        triangles[3*f+1] = b;
+        triangles[3*f+2] = c;
+        f++;
+        triangles[3*f]   = a;
+        triangles[3*f+1] = c;
+        triangles[3*f+2] = d;
+        f++;
+      }
+    }
+
+    return triangles;
+  }
+
+  /**
+   * Create a closed triangle mesh that represents a torus centered on the origin whose axis is z, oriented outward.
+   * @param radius the distance between the torus center and the tube center.
+   * @param tube the tube radius.
+   * @param slices the number of tube sections (at least 3).
+   * @param sides the number of vertices of a tube section (at least 3).
+   * @return the torus mesh.
+   */
+  public static IndexedTriangleMesh<Point3D> torus(double radius, double tube, int slices, int sides) {
+    return mesh(torusVertices(radius, tube, slices, sides), torusTriangles(slices, sides));
+  }
+
+  /**
+   * Duplicate the vertices of the given triangles so that each triangle has its own vertices (a triangle soup).
+   * @param vertices the vertices coordinates.
+   * @param triangles the triangles vertex indices, that are replaced in place by the indices of the duplicated vertices.
+   * @return the coordinates of the duplicated vertices.
+   */
+  public static double[] soup(double[] vertices, int[] triangles) {
+
+    double[] duplicated = new double[3 * triangles.length];
+    for(int i = 0; i < triangles.length; i++) {
+      System.arraycopy(vertices, 3*triangles[i], duplicated, 3*i, 3);
+      triangles[i] = i;
+    }
+
+    return duplicated;
+  }
+
+  /**
+   * Create a triangle mesh from the given coordinates and triangles.
+   * @param vertices the vertices coordinates, the coordinates of the vertex <code>i</code> being stored from offset <code>3*i</code>.
+   * @param triangles the triangles vertex indices, the triangle <code>f</code> being stored from offset <code>3*f</code>.
+   * @return the mesh.
+   */
+  public static IndexedTriangleMesh<Point3D> mesh(double[] vertices, int[] triangles) {
+    return JeometryFactory.createIndexedTriangleMesh(triangles, triangles.length / 3, points(vertices));
+  }
+
+  /**
+   * Create a point container from the given coordinates.
+   * @param coordinates the coordinates, the coordinates of the point <code>i</code> being stored from offset <code>3*i</code>.
+   * @return the points.
+   */
+  public static Point3DContainer<Point3D> points(double[] coordinates) {
+
+    Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(coordinates.length / 3);
+    for(int i = 0; i < coordinates.length / 3; i++) {
+      points.add(JeometryFactory.createPoint3D(coordinates[3*i], coordinates[3*i+1], coordinates[3*i+2]));
+    }
+
+    return points;
+  }
+}
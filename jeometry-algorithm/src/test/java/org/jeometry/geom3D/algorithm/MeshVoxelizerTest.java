@@ -0,0 +1,177 @@
+package org.jeometry.geom3D.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.mesh.indexed.IndexedTriangleMesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link MeshVoxelizer} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class MeshVoxelizerTest {
+
+  /**
+   * Test the surface and solid voxelization of a box whose faces lie on the grid bounds.
+   */
+  @Test
+  public void voxelizeBoxTest() {
+
+    IndexedTriangleMesh<Point3D> box = MeshTestData.box(0.0d, 0.0d, 0.0d, 2.0d, 2.0d, 2.0d);
+
+    VoxelGrid surface = MeshVoxelizer.voxelize(box, 8, false);
+    VoxelGrid solid   = MeshVoxelizer.voxelize(box, 8, true);
+
+    assertEquals(11, solid.getSizeX(), "Unexpected grid size");
+    assertEquals(11, solid.getSizeY(), "Unexpected grid size");
+    assertEquals(11, solid.getSizeZ(), "Unexpected grid size");
+
+    assertEquals(9*9*9 - 7*7*7, surface.getOccupiedCount(), "Unexpected surface cells count");
+    assertEquals(9*9*9, solid.getOccupiedCount(), "Unexpected solid cells count");
+
+    for(int z = 0; z < solid.getSizeZ(); z++) {
+      for(int y = 0; y < solid.getSizeY(); y++) {
+        for(int x = 0; x < solid.getSizeX(); x++) {
+          boolean margin = (x == 0) || (y == 0) || (z == 0) || (x == solid.getSizeX() - 1) || (y == solid.getSizeY() - 1) || (z == solid.getSizeZ() - 1);
+          assertEquals(!margin, solid.get(x, y, z), "Unexpected cell ("+x+", "+y+", "+z+") occupancy");
+        }
+      }
+    }
+  }
+
+  /**
+   * Test that the solid voxelization of random axis aligned boxes fills their interior.
+   */
+  @Test
+  public void voxelizeSolidBoxesTest() {
+
+    Random random = new Random(3);
+
+    double[] cell = new double[6];
+
+    for(int i = 0; i < 200; i++) {
+
+      double xmin = 10.0d * random.nextDouble() - 5.0d;
+      double ymin = 10.0d * random.nextDouble() - 5.0d;
+      double zmin = 10.0d * random.nextDouble() - 5.0d;
+      double xmax = xmin + 0.1d + 5.0d * random.nextDouble();
+      double ymax = ymin + 0.1d + 5.0d * random.nextDouble();
+      double zmax = zmin + 0.1d + 5.0d * random.nextDouble();
+
+      VoxelGrid solid = MeshVoxelizer.voxelize(MeshTestData.box(xmin, ymin, zmin, xmax, ymax, zmax), 20, true);
+
+      for(int z = 0; z < solid.getSizeZ(); z++) {
+        for(int y = 0; y < solid.getSizeY(); y++) {
+          for(int x = 0; x < solid.getSizeX(); x++) {
+
+            solid.getCellBounds(x, y, z, cell);
+
+            boolean inside = (cell[3] > xmin) && (cell[0] < xmax) && (cell[4] > ymin) && (cell[1] < ymax) && (cell[5] > zmin) && (cell[2] < zmax);
+
+            if (inside) {
+              assertTrue(solid.get(x, y, z), "Box "+i+" cell ("+x+", "+y+", "+z+") should be occupied");
+            } else if ((cell[3] < xmin) || (cell[0] > xmax) || (cell[4] < ymin) || (cell[1] > ymax) || (cell[5] < zmin) || (cell[2] > zmax)) {
+              assertFalse(solid.get(x, y, z), "Box "+i+" cell ("+x+", "+y+", "+z+") should be empty");
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Test the solid voxelization of translated U shaped solids whose inner faces lie on cells boundaries.
+   */
+  @Test
+  public void voxelizeSolidUShapeTest() {
+
+    // U shape within [0, 4] x [0, 3] x [0, 1], the notch being [1.05, 2.95] x [1.05, 3]
+    double[] shape = new double[] {0, 0, 0,  4, 0, 0,  4, 3, 0,  2.95, 3, 0,  2.95, 1.05, 0,  1.05, 1.05, 0,  1.05, 3, 0,  0, 3, 0,
+                                   0, 0, 1,  4, 0, 1,  4, 3, 1,  2.95, 3, 1,  2.95, 1.05, 1,  1.05, 1.05, 1,  1.05, 3, 1,  0, 3, 1};
+
+    // Bottom and top faces as three quads and side faces along the outline
+    int[] bottom = new int[] {0, 5, 4, 1,  1, 4, 3, 2,  0, 7, 6, 5};
+    int[] triangles = new int[3 * (12 + 16)];
+    int f = 0;
+    for(int q = 0; q < 3; q++) {
+      int a = bottom[4*q], b = bottom[4*q+1], c = bottom[4*q+2], d = bottom[4*q+3];
+      f = addQuad(triangles, f, a, b, c, d);
+      f = addQuad(triangles, f, d + 8, c + 8, b + 8, a + 8);
+    }
+    for(int v = 0; v < 8; v++) {
+      int w = (v + 1) % 8;
+      f = addQuad(triangles, f, v, w, w + 8, v + 8);
+    }
+
+    Random random = new Random(7);
+
+    double[] cell = new double[6];
+
+    for(int i = 0; i < 50; i++) {
+
+      double tx = 100.0d * random.nextDouble() - 50.0d;
+      double ty = 100.0d * random.nextDouble() - 50.0d;
+      double tz = 100.0d * random.nextDouble() - 50.0d;
+
+      double[] vertices = new double[shape.length];
+      for(int v = 0; v < shape.length / 3; v++) {
+        vertices[3*v]   = shape[3*v]   + tx;
+        vertices[3*v+1] = shape[3*v+1] + ty;
+        vertices[3*v+2] = shape[3*v+2] + tz;
+      }
+
+      // Cells of size 0.1 from -0.15, the outline faces lie at the middle of cells and the notch faces on cells boundaries
+      VoxelGrid solid = MeshVoxelizer.voxelize(MeshTestData.mesh(vertices, triangles.clone()), 40, true);
+
+      int missing = 0;
+      for(int z = 0; z < solid.getSizeZ(); z++) {
+        for(int y = 0; y < solid.getSizeY(); y++) {
+          for(int x = 0; x < solid.getSizeX(); x++) {
+
+            solid.getCellBounds(x, y, z, cell);
+
+            double cx = 0.5d * (cell[0] + cell[3]) - tx;
+            double cy = 0.5d * (cell[1] + cell[4]) - ty;
+            double cz = 0.5d * (cell[2] + cell[5]) - tz;
+
+            boolean inside = (cx > 0.0d) && (cx < 4.0d) && (cy > 0.0d) && (cy < 3.0d) && (cz > 0.0d) && (cz < 1.0d) && !((cx > 1.05d) && (cx < 2.95d) && (cy > 1.05d));
+
+            if (inside && !solid.get(x, y, z)) {
+              missing++;
+            }
+          }
+        }
+      }
+
+      assertEquals(0, missing, "Interior cells of shape "+i+" are not filled");
+    }
+  }
+
+  /**
+   * Add the two triangles of the given quad to the triangles array.
+   * @param triangles the triangles array.
+   * @param face the index of the first triangle to set.
+   * @param a the first vertex of the quad.
+   * @param b the second vertex of the quad.
+   * @param c the third vertex of the quad.
+   * @param d the fourth vertex of the quad.
+   * @return the index of the next triangle.
+   */
+  private static int addQuad(int[] triangles, int face, int a, int b, int c, int d) {
+    triangles[3*face]   = a;
+    triangles[3*face+1] = b;
+    triangles[3*face+2] = c;
+    triangles[3*face+3] = a;
+    triangles[3*face+4] = c;
+    triangles[3*face+5] = d;
+    return face + 2;
+  }
+}
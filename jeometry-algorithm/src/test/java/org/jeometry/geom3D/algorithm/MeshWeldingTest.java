@@ -0,0 +1,92 @@
+package org.jeometry.geom3D.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.point.Point3D;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link MeshWelding} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class MeshWeldingTest {
+
+  /**
+   * Test the exact welding of a triangle soup whose coordinates are lower than the unit.
+   */
+  @Test
+  public void computeExactWeldMapTest() {
+
+    int[] triangles     = MeshTestData.sphereTriangles(256, 128);
+    double[] reference  = MeshTestData.sphereVertices(0.01d, 256, 128);
+    double[] soup       = MeshTestData.soup(reference, triangles);
+
+    int count = soup.length / 3;
+
+    int[] remap           = new int[count];
+    int[] representatives = new int[count];
+
+    int unique = MeshWelding.computeWeldMap(soup, count, 0.0d, remap, representatives);
+
+    assertEquals(reference.length / 3, unique, "Unexpected unique vertices count");
+
+    for(int i = 0; i < count; i++) {
+      int representative = representatives[remap[i]];
+      assertEquals(soup[3*i],   soup[3*representative],   0.0d, "Vertex "+i+" welded with a distinct vertex");
+      assertEquals(soup[3*i+1], soup[3*representative+1], 0.0d, "Vertex "+i+" welded with a distinct vertex");
+      assertEquals(soup[3*i+2], soup[3*representative+2], 0.0d, "Vertex "+i+" welded with a distinct vertex");
+    }
+
+    // Signed zeros are welded, distinct close coordinates are not
+    double[] close = new double[] {0.0d, 0.0d, 0.0d,  -0.0d, 0.0d, -0.0d,  1.0e-300d, 0.0d, 0.0d,  Math.nextUp(0.5d), 0.0d, 0.0d,  0.5d, 0.0d, 0.0d};
+    int[] closeRemap = new int[5];
+    assertEquals(4, MeshWelding.computeWeldMap(close, 5, 0.0d, closeRemap, null), "Unexpected unique vertices count");
+    assertEquals(0, closeRemap[1], "Signed zeros are not welded");
+  }
+
+  /**
+   * Test the welding of a triangle soup with a tolerance.
+   */
+  @Test
+  public void computeToleranceWeldMapTest() {
+
+    int[] triangles     = MeshTestData.sphereTriangles(64, 32);
+    double[] reference  = MeshTestData.sphereVertices(0.5d, 64, 32);
+    double[] soup       = MeshTestData.soup(reference, triangles);
+
+    // Noise lower than the tolerance
+    Random random = new Random(1);
+    for(int i = 0; i < soup.length; i++) {
+      soup[i] += 1.0e-7d * (random.nextDouble() - 0.5d);
+    }
+
+    int[] remap = new int[soup.length / 3];
+
+    assertEquals(soup.length / 3, MeshWelding.computeWeldMap(soup, soup.length / 3, 0.0d, remap, null), "Noisy vertices should not be welded exactly");
+    assertEquals(reference.length / 3, MeshWelding.computeWeldMap(soup, soup.length / 3, 1.0e-6d, remap, null), "Unexpected unique vertices count");
+  }
+
+  /**
+   * Test that the welding of a sphere triangle soup leads to a closed mesh with compact vertices.
+   */
+  @Test
+  public void weldTest() {
+
+    int[] triangles    = MeshTestData.sphereTriangles(32, 16);
+    double[] soup      = MeshTestData.soup(MeshTestData.sphereVertices(0.25d, 32, 16), triangles);
+
+    HalfEdgeMesh<Point3D> welded = MeshWelding.weld(MeshTestData.mesh(soup, triangles), 0.0d);
+
+    assertEquals(triangles.length / 3, welded.getFaceCount(), "Unexpected faces count");
+    assertEquals(2 + 32 * 15, welded.getVerticesSource().size(), "Unexpected vertices count");
+    assertTrue(welded.isClosed(), "Welded sphere should be closed");
+    assertEquals(0, welded.getNonManifoldEdgeCount(), "Welded sphere should be manifold");
+    assertEquals(0, welded.getInconsistentEdgeCount(), "Welded sphere should be consistently oriented");
+  }
+}
@@ -0,0 +1,139 @@
+package org.jeometry.geom3D.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.jeometry.Jeometry;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link ParallelRange} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class ParallelRangeTest {
+
+  /**
+   * Test the number of chunks.
+   */
+  @Test
+  public void chunksTest() {
+
+    assertEquals(1, ParallelRange.chunks(0, 100, 8), "Unexpected chunks of an empty range");
+    assertEquals(1, ParallelRange.chunks(199, 100, 8), "Unexpected chunks of a small range");
+    assertEquals(3, ParallelRange.chunks(399, 100, 8), "Unexpected chunks of a medium range");
+    assertEquals(8, ParallelRange.chunks(100000, 100, 8), "Unexpected chunks of a large range");
+    assertEquals(1, ParallelRange.chunks(100000, 100, 1), "Unexpected chunks of a sequential computation");
+
+    assertThrows(IllegalArgumentException.class, () -> ParallelRange.chunks(10, 1, 0), "Invalid parallelism accepted");
+  }
+
+  /**
+   * Test that the chunks of a map cover the range exactly once and that their results are ordered.
+   */
+  @Test
+  public void mapTest() {
+
+    int count = 1000003;
+
+    for(int[] setting : new int[][] {{1, 1}, {7, 1}, {7, 3}, {16, 4}, {5, 5}}) {
+
+      int chunks      = setting[0];
+      int parallelism = setting[1];
+
+      AtomicIntegerArray visits = new AtomicIntegerArray(count);
+
+      List<int[]> ranges = ParallelRange.map(count, chunks, parallelism, (from, to) -> {
+        for(int i = from; i < to; i++) {
+          visits.incrementAndGet(i);
+        }
+        return new int[] {from, to};
+      });
+
+      String options = "(chunks: "+chunks+", parallelism: "+parallelism+")";
+
+      assertEquals(chunks, ranges.size(), "Unexpected results count "+options);
+      assertEquals(0, ranges.get(0)[0], "First chunk does not start the range "+options);
+      assertEquals(count, ranges.get(chunks - 1)[1], "Last chunk does not end the range "+options);
+      for(int c = 1; c < chunks; c++) {
+        assertEquals(ranges.get(c-1)[1], ranges.get(c)[0], "Chunks are not contiguous "+options);
+        assertEquals(ParallelRange.start(count, chunks, c), ranges.get(c)[0], "Unexpected chunk start "+options);
+      }
+
+      for(int i = 0; i < count; i++) {
+        assertEquals(1, visits.get(i), "Item "+i+" not visited once "+options);
+      }
+    }
+
+    assertThrows(IllegalArgumentException.class, () -> ParallelRange.map(10, 0, 1, (from, to) -> null), "Invalid chunks accepted");
+    assertThrows(IllegalArgumentException.class, () -> ParallelRange.map(10, 2, 0, (from, to) -> null), "Invalid parallelism accepted");
+  }
+
+  /**
+   * Test that a pairwise reduction gives the same result sequentially and in parallel.
+   */
+  @Test
+  public void reduceTest() {
+
+    int count = 1 << 20;
+
+    for(int parallelism : new int[] {1, 2, 4, 8}) {
+
+      long[] sum = ParallelRange.reduce(count, 1000, parallelism, (from, to) -> {
+        long value = 0L;
+        for(long i = from; i < to; i++) {
+          value += i*i;
+        }
+        return new long[] {value, to - from};
+      }, (lower, upper) -> {
+        lower[0] += upper[0];
+        lower[1] += upper[1];
+        return lower;
+      });
+
+      assertEquals(((long)count - 1L) * count * (2L*count - 1L) / 6L, sum[0], "Unexpected reduction for parallelism "+parallelism);
+      assertEquals(count, sum[1], "Unexpected reduced items for parallelism "+parallelism);
+    }
+
+    // The reduction order is kept, the lower range being the first argument of the combiner
+    String order = ParallelRange.reduce(64, 1, 4, (from, to) -> {
+      StringBuilder builder = new StringBuilder();
+      for(int i = from; i < to; i++) {
+        builder.append((char)('0' + i));
+      }
+      return builder.toString();
+    }, (lower, upper) -> lower + upper);
+
+    StringBuilder expected = new StringBuilder();
+    for(int i = 0; i < 64; i++) {
+      expected.append((char)('0' + i));
+    }
+    assertEquals(expected.toString(), order, "Unexpected reduction order");
+
+    assertThrows(IllegalArgumentException.class, () -> ParallelRange.reduce(10, 1, 0, (from, to) -> null, (a, b) -> a), "Invalid parallelism accepted");
+  }
+
+  /**
+   * Test that a runtime exception thrown by a chunk is rethrown.
+   */
+  @Test
+  public void failureTest() {
+
+    assertThrows(IllegalArgumentException.class, () -> ParallelRange.forEach(1000, 4, (from, to) -> {
+      if (from > 0) {
+        throw new IllegalArgumentException("Chunk failure");
+      }
+    }), "Chunk failure not rethrown");
+
+    assertThrows(IllegalArgumentException.class, () -> ParallelRange.reduce(100000, 10, 4, (from, to) -> {
+      if (from > 50000) {
+        throw new IllegalArgumentException("Reduction failure");
+      }
+      return Integer.valueOf(to - from);
+    }, (a, b) -> a + b), "Reduction failure not rethrown");
+  }
+}
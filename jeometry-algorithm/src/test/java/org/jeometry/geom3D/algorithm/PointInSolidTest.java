@@ -0,0 +1,198 @@
+package org.jeometry.geom3D.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.mesh.indexed.IndexedMesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link PointInSolid} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class PointInSolidTest {
+
+  /**
+   * The torus distance between its center and its tube center.
+   */
+  private static final double RADIUS = 2.0d;
+
+  /**
+   * The torus tube radius.
+   */
+  private static final double TUBE   = 0.75d;
+
+  /**
+   * Test the classification of random points against a brute force ray crossing parity over all the triangles of a torus, sequentially and in parallel.
+   */
+  @Test
+  public void classifyTorusTest() {
+
+    double[] vertices  = MeshTestData.torusVertices(RADIUS, TUBE, 48, 24);
+    int[]    triangles = MeshTestData.torusTriangles(48, 24);
+
+    PointInSolid solid = new PointInSolid(MeshTestData.mesh(vertices, triangles));
+
+    Random random = new Random(1);
+
+    // Enough points to be split over parallel chunks
+    int count = 2 * PointInSolid.MINIMAL_CHUNK_SIZE + 101;
+    double[] coordinates = new double[3*count];
+    for(int i = 0; i < count; i++) {
+      coordinates[3*i]   = 6.0d * (random.nextDouble() - 0.5d);
+      coordinates[3*i+1] = 6.0d * (random.nextDouble() - 0.5d);
+      coordinates[3*i+2] = 2.0d * (random.nextDouble() - 0.5d);
+    }
+
+    BitSet sequential = solid.classify(coordinates, count, 1);
+    BitSet parallel   = solid.classify(coordinates, count, 4);
+
+    assertEquals(sequential, parallel, "Parallel classification differs from the sequential one");
+    assertEquals(sequential, solid.classify(MeshTestData.points(coordinates)), "Container classification differs from the array one");
+
+    int analytic = 0;
+
+    for(int i = 0; i < count; i++) {
+
+      double x = coordinates[3*i];
+      double y = coordinates[3*i+1];
+      double z = coordinates[3*i+2];
+
+      boolean expected = (crossings(vertices, triangles, x, y, z) % 2) == 1;
+
+      assertEquals(expected, sequential.get(i), "Unexpected classification of point "+i);
+
+      // Far enough from the surface, the polyhedral torus and the analytic one agree (the hole is outside)
+      double distance = Math.hypot(Math.hypot(x, y) - RADIUS, z) - TUBE;
+      if (Math.abs(distance) > 0.05d) {
+        assertEquals(distance < 0.0d, sequential.get(i), "Unexpected analytic classification of point "+i);
+        analytic++;
+      }
+    }
+
+    assertTrue(analytic > count / 2, "Too few points checked against the analytic torus");
+    assertTrue(sequential.cardinality() > 0, "No point inside the torus");
+    assertFalse(solid.contains(0.0d, 0.0d, 0.0d), "Torus center is inside the torus");
+    assertTrue(solid.contains(RADIUS, 0.0d, 0.0d), "Tube center is outside of the torus");
+  }
+
+  /**
+   * Test the classification of the points of a box, including points on its surface.
+   */
+  @Test
+  public void boxTest() {
+
+    PointInSolid solid = new PointInSolid(MeshTestData.box(-1.0d, -2.0d, -3.0d, 1.0d, 2.0d, 3.0d));
+
+    Random random = new Random(2);
+
+    for(int i = 0; i < 1000; i++) {
+      double x = 3.0d * (random.nextDouble() - 0.5d);
+      double y = 6.0d * (random.nextDouble() - 0.5d);
+      double z = 9.0d * (random.nextDouble() - 0.5d);
+      boolean expected = (Math.abs(x) <= 1.0d) && (Math.abs(y) <= 2.0d) && (Math.abs(z) <= 3.0d);
+      assertEquals(expected, solid.contains(x, y, z), "Unexpected classification of ("+x+", "+y+", "+z+")");
+    }
+
+    // Points on a face, an edge and a vertex are inside
+    assertTrue(solid.contains(1.0d, 0.5d, 0.5d), "Face point is outside");
+    assertTrue(solid.contains(1.0d, 2.0d, 0.5d), "Edge point is outside");
+    assertTrue(solid.contains(JeometryFactory.createPoint3D(-1.0d, -2.0d, -3.0d)), "Vertex is outside");
+
+    // Points aligned with the box edges
+    assertFalse(solid.contains(2.0d, 2.0d, 3.0d), "Point aligned with an edge is inside");
+    assertFalse(solid.contains((Point3D)null), "Null point is inside");
+  }
+
+  /**
+   * Test the invalid arguments.
+   */
+  @Test
+  public void invalidTest() {
+
+    PointInSolid solid = new PointInSolid(MeshTestData.box(0.0d, 0.0d, 0.0d, 1.0d, 1.0d, 1.0d));
+
+    assertThrows(IllegalArgumentException.class, () -> new PointInSolid((IndexedMesh<?>)null), "Null mesh accepted");
+    assertThrows(IllegalArgumentException.class, () -> new PointInSolid((TriangleBVH)null), "Null hierarchy accepted");
+    assertThrows(IllegalArgumentException.class, () -> solid.setTolerance(-1.0d), "Negative tolerance accepted");
+    assertThrows(IllegalArgumentException.class, () -> solid.setTolerance(Double.NaN), "Invalid tolerance accepted");
+    assertThrows(IllegalArgumentException.class, () -> solid.classify(new double[5], 2, 1), "Too many points accepted");
+    assertThrows(IllegalArgumentException.class, () -> solid.classify(new double[6], 2, 0), "Invalid parallelism accepted");
+  }
+
+  /**
+   * Count the crossings of the given triangles by a ray that starts from the given location, testing all the triangles.
+   * The ray direction is not aligned with the test meshes, so that the ray hits no edge for random locations.
+   * @param vertices the vertices coordinates.
+   * @param triangles the triangles vertex indices.
+   * @param x the ray origin x coordinate.
+   * @param y the ray origin y coordinate.
+   * @param z the ray origin z coordinate.
+   * @return the number of triangles crossed by the ray.
+   */
+  private static int crossings(double[] vertices, int[] triangles, double x, double y, double z) {
+
+    double dx = 0.5773d;
+    double dy = 0.3137d;
+    double dz = 0.7541d;
+
+    int crossings = 0;
+
+    for(int f = 0; f < triangles.length / 3; f++) {
+
+      int a = 3*triangles[3*f];
+      int b = 3*triangles[3*f+1];
+      int c = 3*triangles[3*f+2];
+
+      double e1x = vertices[b] - vertices[a];
+      double e1y = vertices[b+1] - vertices[a+1];
+      double e1z = vertices[b+2] - vertices[a+2];
+      double e2x = vertices[c] - vertices[a];
+      double e2y = vertices[c+1] - vertices[a+1];
+      double e2z = vertices[c+2] - vertices[a+2];
+
+      double px = dy*e2z - dz*e2y;
+      double py = dz*e2x - dx*e2z;
+      double pz = dx*e2y - dy*e2x;
+
+      double det = e1x*px + e1y*py + e1z*pz;
+      if (det == 0.0d) {
+        continue;
+      }
+
+      double tx = x - vertices[a];
+      double ty = y - vertices[a+1];
+      double tz = z - vertices[a+2];
+
+      double u = (tx*px + ty*py + tz*pz) / det;
+      if ((u < 0.0d) || (u > 1.0d)) {
+        continue;
+      }
+
+      double qx = ty*e1z - tz*e1y;
+      double qy = tz*e1x - tx*e1z;
+      double qz = tx*e1y - ty*e1x;
+
+      double v = (dx*qx + dy*qy + dz*qz) / det;
+      if ((v < 0.0d) || (u + v > 1.0d)) {
+        continue;
+      }
+
+      if ((e2x*qx + e2y*qy + e2z*qz) / det > 0.0d) {
+        crossings++;
+      }
+    }
+
+    return crossings;
+  }
+}
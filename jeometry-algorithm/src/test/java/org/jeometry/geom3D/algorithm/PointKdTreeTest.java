@@ -0,0 +1,183 @@
+package org.jeometry.geom3D.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.PointKdTree;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link PointKdTree} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class PointKdTreeTest {
+
+  /**
+   * Test the nearest neighbors search against a scan of all the points, including coincident points.
+   */
+  @Test
+  public void nearestTest() {
+
+    double[] coordinates = coordinates(3000, 1);
+
+    PointKdTree tree = new PointKdTree(coordinates);
+    assertEquals(3000, tree.getPointCount(), "Unexpected point count");
+
+    Random random = new Random(2);
+
+    int k = 10;
+    int[] indices        = new int[k];
+    double[] distances   = new double[k];
+    double[] scan        = new double[3000];
+
+    for(int query = 0; query < 500; query++) {
+
+      // Half of the queries are located at an indexed point, that is excluded
+      int exclude = (query % 2 == 0) ? random.nextInt(3000) : -1;
+      double x = (exclude < 0) ? 100.0d*random.nextDouble() : coordinates[3*exclude];
+      double y = (exclude < 0) ? 100.0d*random.nextDouble() : coordinates[3*exclude+1];
+      double z = (exclude < 0) ? 100.0d*random.nextDouble() : coordinates[3*exclude+2];
+
+      int size = 0;
+      for(int i = 0; i < 3000; i++) {
+        if (i != exclude) {
+          scan[size++] = squaredDistance(coordinates, i, x, y, z);
+        }
+      }
+      Arrays.sort(scan, 0, size);
+
+      assertEquals(k, tree.nearest(x, y, z, k, exclude, indices, distances), "Unexpected found count");
+
+      for(int n = 0; n < k; n++) {
+        assertTrue(indices[n] != exclude, "Excluded point found");
+        assertEquals(scan[n], distances[n], 0.0d, "Unexpected distance of neighbor "+n);
+        assertEquals(distances[n], squaredDistance(coordinates, indices[n], x, y, z), 0.0d, "Distance does not match the neighbor");
+      }
+    }
+
+    // Less points than requested
+    PointKdTree small = new PointKdTree(Arrays.copyOf(coordinates, 9));
+    assertEquals(2, small.nearest(0.0d, 0.0d, 0.0d, k, 0, indices, distances), "Unexpected found count");
+    assertEquals(0, new PointKdTree(new double[0]).nearest(0.0d, 0.0d, 0.0d, k, -1, indices, distances), "Point found within an empty tree");
+
+    assertThrows(IllegalArgumentException.class, () -> new PointKdTree(null), "Null coordinates accepted");
+    assertThrows(IllegalArgumentException.class, () -> new PointKdTree(coordinates, 3001), "Too many points accepted");
+  }
+
+  /**
+   * Test the farthest point search against a scan of all the points.
+   */
+  @Test
+  public void farthestTest() {
+
+    double[] coordinates = coordinates(3000, 3);
+
+    PointKdTree tree = new PointKdTree(coordinates);
+
+    Random random = new Random(4);
+
+    double[] distance = new double[1];
+
+    for(int query = 0; query < 200; query++) {
+
+      double x = 200.0d*random.nextDouble() - 50.0d;
+      double y = 200.0d*random.nextDouble() - 50.0d;
+      double z = 200.0d*random.nextDouble() - 50.0d;
+
+      double best = -1.0d;
+      for(int i = 0; i < 3000; i++) {
+        best = Math.max(best, squaredDistance(coordinates, i, x, y, z));
+      }
+
+      int farthest = tree.farthest(x, y, z, 0.0d, distance);
+      assertEquals(best, distance[0], 0.0d, "Unexpected farthest distance");
+      assertEquals(best, squaredDistance(coordinates, farthest, x, y, z), 0.0d, "Distance does not match the farthest point");
+
+      // No point is farther than the bound
+      assertEquals(-1, tree.farthest(x, y, z, best, distance), "Point found beyond the bound");
+      assertEquals(best, distance[0], 0.0d, "Bound is not returned");
+    }
+  }
+
+  /**
+   * Test the farthest pair search against a scan of all the pairs, on a prefix of the coordinates.
+   */
+  @Test
+  public void farthestPairTest() {
+
+    for(long seed = 5; seed < 10; seed++) {
+
+      double[] coordinates = coordinates(1500, seed);
+
+      // Only the first 1000 points are indexed
+      PointKdTree tree = new PointKdTree(coordinates, 1000);
+      assertEquals(1000, tree.getPointCount(), "Unexpected point count");
+
+      double best = -1.0d;
+      for(int i = 0; i < 1000; i++) {
+        for(int j = i + 1; j < 1000; j++) {
+          best = Math.max(best, squaredDistance(coordinates, i, coordinates[3*j], coordinates[3*j+1], coordinates[3*j+2]));
+        }
+      }
+
+      int[] pair = new int[] {-1, -1};
+      assertEquals(best, tree.farthestPair(0.0d, pair), 0.0d, "Unexpected farthest pair distance");
+      assertTrue((pair[0] < 1000) && (pair[1] < 1000), "Pair is not indexed");
+      assertEquals(best, squaredDistance(coordinates, pair[0], coordinates[3*pair[1]], coordinates[3*pair[1]+1], coordinates[3*pair[1]+2]), 0.0d, "Distance does not match the pair");
+
+      // No pair is farther than the bound
+      int[] none = new int[] {-1, -1};
+      assertEquals(best, tree.farthestPair(best, none), 0.0d, "Bound is not returned");
+      assertEquals(-1, none[0], "Pair found beyond the bound");
+    }
+
+    assertEquals(0.0d, new PointKdTree(new double[3]).farthestPair(0.0d, new int[2]), 0.0d, "Pair found within a single point");
+  }
+
+  /**
+   * Create random coordinates within a cube, some points being duplicated.
+   * @param count the number of points.
+   * @param seed the random seed.
+   * @return the coordinates.
+   */
+  private static double[] coordinates(int count, long seed) {
+
+    Random random = new Random(seed);
+
+    double[] coordinates = new double[3*count];
+    for(int i = 0; i < count; i++) {
+      if ((i > 0) && (i % 10 == 0)) {
+        System.arraycopy(coordinates, 3*random.nextInt(i), coordinates, 3*i, 3);
+      } else {
+        coordinates[3*i]   = 100.0d*random.nextDouble();
+        coordinates[3*i+1] = 100.0d*random.nextDouble();
+        coordinates[3*i+2] = 100.0d*random.nextDouble();
+      }
+    }
+
+    return coordinates;
+  }
+
+  /**
+   * Compute the squared distance between an indexed point and a location.
+   * @param coordinates the points coordinates.
+   * @param i the point index.
+   * @param x the location x coordinate.
+   * @param y the location y coordinate.
+   * @param z the location z coordinate.
+   * @return the squared distance.
+   */
+  private static double squaredDistance(double[] coordinates, int i, double x, double y, double z) {
+    double dx = coordinates[3*i]   - x;
+    double dy = coordinates[3*i+1] - y;
+    double dz = coordinates[3*i+2] - z;
+    return dx*dx + dy*dy + dz*dz;
+  }
+}
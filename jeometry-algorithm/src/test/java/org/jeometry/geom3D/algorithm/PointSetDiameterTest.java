@@ -0,0 +1,157 @@
+package org.jeometry.geom3D.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.Geom3D;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link PointSetDiameter} class and to the underlying {@link Geom3D#computeDiameter(double[], int, int[])} method.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class PointSetDiameterTest {
+
+  /**
+   * Test the exact diameter against a pairwise comparison on random point sets, including sets with coincident points.
+   */
+  @Test
+  public void computeDiameterTest() {
+
+    Random random = new Random(1);
+
+    for(int test = 0; test < 500; test++) {
+
+      int count = 1 + random.nextInt(200);
+
+      double[] coordinates = new double[3*count];
+      for(int i = 0; i < coordinates.length; i++) {
+        coordinates[i] = (test % 3 == 0) ? random.nextInt(3) : random.nextGaussian();
+      }
+
+      int[] pair = new int[2];
+      double diameter = PointSetDiameter.computeDiameter(coordinates, count, pair);
+
+      double expected = Math.sqrt(pairwiseSquaredDiameter(coordinates, count));
+
+      assertEquals(expected, diameter, 1.0e-12d, "Unexpected diameter for set "+test);
+
+      if (count > 1) {
+        assertEquals(diameter, Math.sqrt(squaredDistance(coordinates, pair[0], pair[1])), 1.0e-12d, "Pair does not realize the diameter for set "+test);
+      } else {
+        assertEquals(-1, pair[0], "Unexpected pair for a single point");
+      }
+    }
+
+    assertThrows(IllegalArgumentException.class, () -> Geom3D.computeDiameter(new double[5], 2, new int[2]), "Too small coordinates array accepted");
+    assertThrows(IllegalArgumentException.class, () -> Geom3D.computeDiameter(new double[6], 2, new int[1]), "Too small pair array accepted");
+  }
+
+  /**
+   * Test the farthest points of points that are spread over a sphere, that is the worst case of the double normal approach.
+   */
+  @Test
+  public void farthestPointsSphereTest() {
+
+    Random random = new Random(2);
+
+    int count = 50000;
+
+    double[] coordinates = new double[3*count];
+    for(int i = 0; i < count; i++) {
+      double x = random.nextGaussian();
+      double y = random.nextGaussian();
+      double z = random.nextGaussian();
+      double norm = Math.sqrt(x*x + y*y + z*z);
+      coordinates[3*i]   = x / norm;
+      coordinates[3*i+1] = y / norm;
+      coordinates[3*i+2] = z / norm;
+    }
+
+    Point3DContainer<Point3D> points = MeshTestData.points(coordinates);
+
+    Point3D[] farthest = Geom3D.farthestPoints(points);
+
+    assertNotNull(farthest, "No farthest points");
+    assertTrue(farthest[0].distance(farthest[1]) > 1.9999d, "Unexpected diameter "+farthest[0].distance(farthest[1]));
+
+    // The farthest pair of a sphere is also the farthest pair of its sub sets
+    double[] subset = new double[3*2000];
+    System.arraycopy(coordinates, 0, subset, 0, subset.length);
+    Point3D[] expected = PointSetDiameter.farthestPoints(MeshTestData.points(subset), true);
+    assertEquals(Math.sqrt(pairwiseSquaredDiameter(subset, 2000)), expected[0].distance(expected[1]), 1.0e-12d, "Unexpected diameter of the hull vertices");
+  }
+
+  /**
+   * Test the farthest points degenerated cases and the approximate diameter bound.
+   */
+  @Test
+  public void farthestPointsTest() {
+
+    assertNull(Geom3D.farthestPoints(null), "Farthest points of a null set");
+    assertNull(Geom3D.farthestPoints(MeshTestData.points(new double[] {1.0d, 2.0d, 3.0d})), "Farthest points of a single point");
+
+    Point3D[] coincident = Geom3D.farthestPoints(MeshTestData.points(new double[] {1.0d, 2.0d, 3.0d,  1.0d, 2.0d, 3.0d}));
+    assertNotNull(coincident, "No farthest points for coincident points");
+    assertNull(coincident[0], "Farthest points of coincident points");
+
+    Random random = new Random(3);
+
+    int count = 10000;
+    double[] coordinates = new double[3*count];
+    for(int i = 0; i < coordinates.length; i++) {
+      coordinates[i] = random.nextDouble() * (1 + i % 3);
+    }
+
+    int[] pair = new int[2];
+    double diameter = Geom3D.computeDiameter(coordinates, count, pair);
+
+    for(double epsilon : new double[] {0.5d, 0.1d, 0.01d}) {
+      double approximation = PointSetDiameter.computeApproximateDiameter(coordinates, count, epsilon, pair);
+      assertTrue(approximation <= diameter, "Approximation "+approximation+" greater than the diameter "+diameter);
+      assertTrue(approximation * (1.0d + epsilon) >= diameter, "Approximation "+approximation+" out of the "+epsilon+" bound of the diameter "+diameter);
+    }
+
+    assertThrows(IllegalArgumentException.class, () -> PointSetDiameter.computeApproximateDiameter(coordinates, count, 0.0d, new int[2]), "Null approximation error accepted");
+  }
+
+  /**
+   * Compute the squared diameter of the given points by comparing all the pairs of points.
+   * @param coordinates the points coordinates.
+   * @param count the number of points.
+   * @return the squared diameter of the points.
+   */
+  private static double pairwiseSquaredDiameter(double[] coordinates, int count) {
+    double best = 0.0d;
+    for(int i = 0; i < count; i++) {
+      for(int j = i + 1; j < count; j++) {
+        best = Math.max(best, squaredDistance(coordinates, i, j));
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Compute the squared distance between two points.
+   * @param coordinates the points coordinates.
+   * @param i the index of the first point.
+   * @param j the index of the second point.
+   * @return the squared distance between the two points.
+   */
+  private static double squaredDistance(double[] coordinates, int i, int j) {
+    double dx = coordinates[3*i]   - coordinates[3*j];
+    double dy = coordinates[3*i+1] - coordinates[3*j+1];
+    double dz = coordinates[3*i+2] - coordinates[3*j+2];
+    return dx*dx + dy*dy + dz*dz;
+  }
+}
@@ -0,0 +1,270 @@
+package org.jeometry.geom3D.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.Predicates;
+import org.jeometry.geom3D.point.Point3D;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link Predicates} class. The signs of the predicates are checked against the exact determinants computed with {@link BigDecimal}.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class PredicatesTest {
+
+  /**
+   * Test the orient 2D predicate on nearly collinear points, obtained by moving a point of a line by a few ulps.
+   */
+  @Test
+  public void orient2dTest() {
+
+    int naiveErrors = 0;
+
+    for(int i = 0; i < 64; i++) {
+      for(int j = 0; j < 64; j++) {
+
+        double ax = 0.5d + i * Math.ulp(0.5d);
+        double ay = 0.5d + j * Math.ulp(0.5d);
+
+        int expected = exact(ax, ay, 12.0d, 12.0d, 24.0d, 24.0d);
+
+        assertEquals(expected, (int)Math.signum(Predicates.orient2d(ax, ay, 12.0d, 12.0d, 24.0d, 24.0d)), "Unexpected orientation of ("+ax+", "+ay+")");
+
+        if ((int)Math.signum((ax - 24.0d) * (12.0d - 24.0d) - (ay - 24.0d) * (12.0d - 24.0d)) != expected) {
+          naiveErrors++;
+        }
+      }
+    }
+
+    // The inputs are degenerated enough to defeat the plain double evaluation
+    assertTrue(naiveErrors > 0, "Plain double evaluation never fails");
+
+    assertEquals(0.0d, Predicates.orient2d(0.0d, 0.0d, 1.0d, 1.0d, 3.0d, 3.0d), 0.0d, "Collinear points are not degenerated");
+    assertTrue(Predicates.orient2d(0.0d, 0.0d, 1.0d, 0.0d, 0.0d, 1.0d) > 0.0d, "Counterclockwise points are not positive");
+  }
+
+  /**
+   * Test the orient 3D predicate on nearly coplanar points, obtained by moving a point of a plane by a few ulps.
+   */
+  @Test
+  public void orient3dTest() {
+
+    Random random = new Random(1);
+
+    for(int n = 0; n < 2000; n++) {
+
+      double[] a = new double[] {random.nextDouble(), random.nextDouble(), random.nextDouble()};
+      double[] b = new double[] {random.nextDouble(), random.nextDouble(), random.nextDouble()};
+      double[] c = new double[] {random.nextDouble(), random.nextDouble(), random.nextDouble()};
+
+      // A point of the plane abc, rounded to doubles then moved by a few ulps
+      double s = random.nextDouble();
+      double t = random.nextDouble();
+      double[] d = new double[3];
+      for(int k = 0; k < 3; k++) {
+        d[k] = a[k] + s*(b[k] - a[k]) + t*(c[k] - a[k]) + (random.nextInt(5) - 2) * Math.ulp(a[k]);
+      }
+
+      int expected = exact(a, b, c, d);
+
+      assertEquals(expected, (int)Math.signum(Predicates.orient3d(a[0], a[1], a[2], b[0], b[1], b[2], c[0], c[1], c[2], d[0], d[1], d[2])), "Unexpected orientation "+n);
+      assertEquals(-expected, (int)Math.signum(Predicates.orient3d(b[0], b[1], b[2], a[0], a[1], a[2], c[0], c[1], c[2], d[0], d[1], d[2])), "Unexpected swapped orientation "+n);
+    }
+
+    Point3D a = JeometryFactory.createPoint3D(0.0d, 0.0d, 0.0d);
+    Point3D b = JeometryFactory.createPoint3D(1.0d, 0.0d, 0.0d);
+    Point3D c = JeometryFactory.createPoint3D(0.0d, 1.0d, 0.0d);
+
+    assertEquals(0.0d, Predicates.orient3d(a, b, c, JeometryFactory.createPoint3D(0.3d, 0.7d, 0.0d)), 0.0d, "Coplanar points are not degenerated");
+    assertTrue(Predicates.orient3d(a, b, c, JeometryFactory.createPoint3D(0.0d, 0.0d, -1.0d)) > 0.0d, "Point below the plane is not positive");
+    assertTrue(Predicates.orient3d(a, b, c, JeometryFactory.createPoint3D(0.0d, 0.0d, Double.MIN_VALUE)) < 0.0d, "Point slightly above the plane is not negative");
+  }
+
+  /**
+   * Test the insphere predicate on nearly cospherical points, obtained by moving a point of a sphere by a few ulps.
+   */
+  @Test
+  public void insphereTest() {
+
+    Random random = new Random(2);
+
+    int degenerated = 0;
+
+    for(int n = 0; n < 2000; n++) {
+
+      double[][] p = new double[5][];
+      for(int i = 0; i < 5; i++) {
+        p[i] = sphere(random, 0.3d, -0.2d, 0.1d, 1.7d);
+      }
+
+      // Move the tested point by a few ulps
+      for(int k = 0; k < 3; k++) {
+        p[4][k] += (random.nextInt(5) - 2) * Math.ulp(p[4][k]);
+      }
+
+      // The sign of insphere is defined for positively oriented tetrahedra
+      if (exact(p[0], p[1], p[2], p[3]) < 0) {
+        double[] swap = p[0];
+        p[0] = p[1];
+        p[1] = swap;
+      }
+
+      int expected = exact(p[0], p[1], p[2], p[3], p[4]);
+      if (expected == 0) {
+        degenerated++;
+      }
+
+      assertEquals(expected, (int)Math.signum(Predicates.insphere(p[0][0], p[0][1], p[0][2], p[1][0], p[1][1], p[1][2], p[2][0], p[2][1], p[2][2],
+                                                                  p[3][0], p[3][1], p[3][2], p[4][0], p[4][1], p[4][2])), "Unexpected position "+n);
+    }
+
+    assertTrue(degenerated < 2000, "All the configurations are degenerated");
+
+    // Exactly cospherical points
+    Point3D a = JeometryFactory.createPoint3D(1.0d, 0.0d, 0.0d);
+    Point3D b = JeometryFactory.createPoint3D(0.0d, 1.0d, 0.0d);
+    Point3D c = JeometryFactory.createPoint3D(0.0d, 0.0d, 1.0d);
+    Point3D d = JeometryFactory.createPoint3D(-1.0d, 0.0d, 0.0d);
+
+    if (Predicates.orient3d(a, b, c, d) < 0.0d) {
+      Point3D swap = a;
+      a = b;
+      b = swap;
+    }
+
+    assertEquals(0.0d, Predicates.insphere(a, b, c, d, JeometryFactory.createPoint3D(0.0d, -1.0d, 0.0d)), 0.0d, "Cospherical points are not degenerated");
+    assertTrue(Predicates.insphere(a, b, c, d, JeometryFactory.createPoint3D(0.0d, 0.0d, 0.0d)) > 0.0d, "Sphere center is not inside");
+    assertTrue(Predicates.insphere(a, b, c, d, JeometryFactory.createPoint3D(0.0d, 0.0d, -1.0d - Math.ulp(1.0d))) < 0.0d, "Point slightly outside is not outside");
+  }
+
+  /**
+   * Create a point of a sphere, rounded to doubles.
+   * @param random the random generator.
+   * @param x the sphere center x coordinate.
+   * @param y the sphere center y coordinate.
+   * @param z the sphere center z coordinate.
+   * @param radius the sphere radius.
+   * @return the point coordinates.
+   */
+  private static double[] sphere(Random random, double x, double y, double z, double radius) {
+
+    double theta = 2.0d * Math.PI * random.nextDouble();
+    double cos   = 2.0d * random.nextDouble() - 1.0d;
+    double sin   = Math.sqrt(1.0d - cos*cos);
+
+    return new double[] {x + radius * sin * Math.cos(theta), y + radius * sin * Math.sin(theta), z + radius * cos};
+  }
+
+  /**
+   * Compute the exact sign of the orient 2D determinant <code>(a-c) x (b-c)</code>.
+   * @param ax the first point x coordinate.
+   * @param ay the first point y coordinate.
+   * @param bx the second point x coordinate.
+   * @param by the second point y coordinate.
+   * @param cx the third point x coordinate.
+   * @param cy the third point y coordinate.
+   * @return the sign of the determinant.
+   */
+  private static int exact(double ax, double ay, double bx, double by, double cx, double cy) {
+
+    BigDecimal acx = new BigDecimal(ax).subtract(new BigDecimal(cx));
+    BigDecimal acy = new BigDecimal(ay).subtract(new BigDecimal(cy));
+    BigDecimal bcx = new BigDecimal(bx).subtract(new BigDecimal(cx));
+    BigDecimal bcy = new BigDecimal(by).subtract(new BigDecimal(cy));
+
+    return acx.multiply(bcy).subtract(acy.multiply(bcx)).signum();
+  }
+
+  /**
+   * Compute the exact sign of the orient 3D determinant, whose rows are <code>a-d</code>, <code>b-d</code> and <code>c-d</code>.
+   * @param a the first point coordinates.
+   * @param b the second point coordinates.
+   * @param c the third point coordinates.
+   * @param d the fourth point coordinates.
+   * @return the sign of the determinant.
+   */
+  private static int exact(double[] a, double[] b, double[] c, double[] d) {
+    return determinant(new BigDecimal[][] {difference(a, d), difference(b, d), difference(c, d)}).signum();
+  }
+
+  /**
+   * Compute the exact sign of the insphere determinant, whose rows are <code>p-e</code> lifted by <code>|p-e|<sup>2</sup></code> for <code>p</code> in <code>a</code>, <code>b</code>, <code>c</code> and <code>d</code>.
+   * The determinant is positive if <code>e</code> is inside the sphere of a positively oriented tetrahedron.
+   * @param a the first point coordinates.
+   * @param b the second point coordinates.
+   * @param c the third point coordinates.
+   * @param d the fourth point coordinates.
+   * @param e the tested point coordinates.
+   * @return the sign of the determinant.
+   */
+  private static int exact(double[] a, double[] b, double[] c, double[] d, double[] e) {
+
+    BigDecimal[][] rows = new BigDecimal[4][];
+
+    double[][] points = new double[][] {a, b, c, d};
+    for(int i = 0; i < 4; i++) {
+      BigDecimal[] difference = difference(points[i], e);
+      BigDecimal lift = difference[0].multiply(difference[0]).add(difference[1].multiply(difference[1])).add(difference[2].multiply(difference[2]));
+      rows[i] = new BigDecimal[] {difference[0], difference[1], difference[2], lift};
+    }
+
+    return determinant(rows).signum();
+  }
+
+  /**
+   * Compute the exact difference <code>p-q</code>.
+   * @param p the first point coordinates.
+   * @param q the second point coordinates.
+   * @return the exact difference.
+   */
+  private static BigDecimal[] difference(double[] p, double[] q) {
+
+    BigDecimal[] difference = new BigDecimal[3];
+    for(int k = 0; k < 3; k++) {
+      difference[k] = new BigDecimal(p[k]).subtract(new BigDecimal(q[k]));
+    }
+
+    return difference;
+  }
+
+  /**
+   * Compute the exact determinant of the given square matrix using a cofactor expansion along its first row.
+   * @param matrix the matrix, given as an array of rows.
+   * @return the determinant.
+   */
+  private static BigDecimal determinant(BigDecimal[][] matrix) {
+
+    int size = matrix.length;
+
+    if (size == 1) {
+      return matrix[0][0];
+    }
+
+    BigDecimal determinant = BigDecimal.ZERO;
+
+    for(int column = 0; column < size; column++) {
+
+      BigDecimal[][] minor = new BigDecimal[size - 1][size - 1];
+      for(int i = 1; i < size; i++) {
+        for(int j = 0, k = 0; j < size; j++) {
+          if (j != column) {
+            minor[i-1][k++] = matrix[i][j];
+          }
+        }
+      }
+
+      BigDecimal term = matrix[0][column].multiply(determinant(minor));
+      determinant = (column % 2 == 0) ? determinant.add(term) : determinant.subtract(term);
+    }
+
+    return determinant;
+  }
+}
@@ -0,0 +1,291 @@
+package org.jeometry.geom3D.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.point.Point3D;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link RayCaster} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class RayCasterTest {
+
+  /**
+   * The torus tube sections count.
+   */
+  private static final int SLICES = 32;
+
+  /**
+   * The torus tube section vertices count.
+   */
+  private static final int SIDES  = 16;
+
+  /**
+   * Test the nearest hits of random rays against a brute force intersection with all the triangles of a torus, sequentially and in parallel.
+   */
+  @Test
+  public void castTest() {
+
+    double[] vertices  = MeshTestData.torusVertices(2.0d, 0.75d, SLICES, SIDES);
+    int[]    triangles = MeshTestData.torusTriangles(SLICES, SIDES);
+
+    RayCaster caster = new RayCaster(MeshTestData.mesh(vertices, triangles));
+
+    // Enough rays to be split over parallel chunks
+    int count = 2 * RayCaster.MINIMAL_CHUNK_SIZE + 101;
+
+    double[] origins    = new double[3*count];
+    double[] directions = new double[3*count];
+    rays(new Random(1), origins, directions, count);
+
+    for(boolean cullback : new boolean[] {false, true}) {
+
+      caster.setCullback(cullback);
+
+      double[] distances    = new double[count];
+      int[]    faces        = new int[count];
+      double[] barycentrics = new double[2*count];
+
+      int hits = caster.cast(origins, directions, count, Double.POSITIVE_INFINITY, distances, faces, barycentrics, 1);
+
+      int expectedHits = 0;
+
+      for(int i = 0; i < count; i++) {
+
+        double[] expected = nearest(vertices, triangles, origins, directions, i, 0.0d, Double.POSITIVE_INFINITY, cullback);
+
+        if (expected == null) {
+          assertEquals(-1, faces[i], "Unexpected hit of ray "+i+" (cullback: "+cullback+")");
+          assertEquals(Double.POSITIVE_INFINITY, distances[i], 0.0d, "Unexpected distance of ray "+i+" (cullback: "+cullback+")");
+          continue;
+        }
+
+        expectedHits++;
+
+        assertTrue(faces[i] >= 0, "Missing hit of ray "+i+" (cullback: "+cullback+")");
+        assertEquals(expected[0], distances[i], 1.0e-9d, "Unexpected distance of ray "+i+" (cullback: "+cullback+")");
+
+        // The hit point given by the face and its barycentric coordinates is on the ray
+        double u = barycentrics[2*i];
+        double v = barycentrics[2*i+1];
+        for(int k = 0; k < 3; k++) {
+          double point = (1.0d - u - v) * vertices[3*triangles[3*faces[i]]+k] + u * vertices[3*triangles[3*faces[i]+1]+k] + v * vertices[3*triangles[3*faces[i]+2]+k];
+          assertEquals(origins[3*i+k] + distances[i] * directions[3*i+k], point, 1.0e-9d, "Hit point of ray "+i+" is not on the ray (cullback: "+cullback+")");
+        }
+
+        // Away from the edges, the hit face is the brute force one
+        if ((expected[1] > 1.0e-6d) && (expected[2] > 1.0e-6d) && (expected[1] + expected[2] < 1.0d - 1.0e-6d)) {
+          assertEquals((int)expected[3], faces[i], "Unexpected face of ray "+i+" (cullback: "+cullback+")");
+        }
+      }
+
+      assertEquals(expectedHits, hits, "Unexpected hits count (cullback: "+cullback+")");
+      assertTrue(hits > 0, "No ray hits the torus (cullback: "+cullback+")");
+      assertTrue(hits < count, "All the rays hit the torus (cullback: "+cullback+")");
+
+      // Parallel and single ray packets give the same results
+      double[] parallelDistances = new double[count];
+      int[]    parallelFaces     = new int[count];
+
+      caster.setPacketSize(1);
+      assertEquals(hits, caster.cast(origins, directions, count, Double.POSITIVE_INFINITY, parallelDistances, parallelFaces, null, 4), "Unexpected parallel hits count");
+      caster.setPacketSize(TriangleBVH.PACKET_SIZE);
+
+      assertArrayEquals(distances, parallelDistances, "Parallel distances differ from the sequential ones (cullback: "+cullback+")");
+      assertArrayEquals(faces, parallelFaces, "Parallel faces differ from the sequential ones (cullback: "+cullback+")");
+    }
+  }
+
+  /**
+   * Test the occlusion of random rays within a maximal distance against a brute force intersection with all the triangles of a torus, sequentially and in parallel.
+   */
+  @Test
+  public void occludedTest() {
+
+    double[] vertices  = MeshTestData.torusVertices(2.0d, 0.75d, SLICES, SIDES);
+    int[]    triangles = MeshTestData.torusTriangles(SLICES, SIDES);
+
+    RayCaster caster = new RayCaster(MeshTestData.mesh(vertices, triangles));
+    caster.setMinimalDistance(0.01d);
+
+    // Not a multiple of the bitset blocks
+    int count = 2 * RayCaster.MINIMAL_CHUNK_SIZE + 37;
+
+    double[] origins    = new double[3*count];
+    double[] directions = new double[3*count];
+    rays(new Random(2), origins, directions, count);
+
+    double maximum = 1.5d;
+
+    BitSet sequential = caster.occluded(origins, directions, count, maximum, 1);
+    BitSet parallel   = caster.occluded(origins, directions, count, maximum, 4);
+
+    assertEquals(sequential, parallel, "Parallel occlusion differs from the sequential one");
+    assertTrue(sequential.length() <= count, "Ray occluded beyond the rays count");
+
+    for(int i = 0; i < count; i++) {
+      double[] expected = nearest(vertices, triangles, origins, directions, i, 0.01d, maximum, false);
+
+      // The rays that hit near the minimal or the maximal distance are ambiguous
+      if ((expected == null) || ((expected[0] > 0.01d + 1.0e-9d) && (expected[0] < maximum - 1.0e-9d))) {
+        assertEquals(expected != null, sequential.get(i), "Unexpected occlusion of ray "+i);
+      }
+    }
+
+    assertTrue(sequential.cardinality() > 0, "No ray is occluded");
+    assertTrue(sequential.cardinality() < count, "All the rays are occluded");
+  }
+
+  /**
+   * Test the single ray intersection.
+   */
+  @Test
+  public void intersectTest() {
+
+    RayCaster caster = new RayCaster(MeshTestData.box(-1.0d, -1.0d, -1.0d, 1.0d, 1.0d, 1.0d));
+
+    double[] hit = new double[3];
+
+    assertTrue(caster.intersect(-5.0d, 0.25d, 0.5d, 2.0d, 0.0d, 0.0d, Double.POSITIVE_INFINITY, hit) >= 0, "Missing box hit");
+    assertEquals(2.0d, hit[0], 1.0e-12d, "Unexpected hit distance");
+    assertEquals(-1, caster.intersect(-5.0d, 0.25d, 0.5d, 2.0d, 0.0d, 0.0d, 1.5d, hit), "Hit beyond the maximal distance");
+    assertEquals(-1, caster.intersect(-5.0d, 0.25d, 0.5d, -1.0d, 0.0d, 0.0d, Double.POSITIVE_INFINITY, hit), "Hit behind the ray origin");
+
+    // From inside the box, only the back faces are hit
+    caster.setCullback(true);
+    assertEquals(-1, caster.intersect(0.0d, 0.25d, 0.5d, 1.0d, 0.0d, 0.0d, Double.POSITIVE_INFINITY, hit), "Back face hit with cullback");
+    caster.setCullback(false);
+
+    Point3D point = caster.computeIntersection(JeometryFactory.createPoint3D(0.0d, 0.0d, 1.0d), JeometryFactory.createPoint3D(0.25d, -0.5d, -3.0d));
+    assertEquals(0.25d, point.getX(), 1.0e-12d, "Unexpected intersection x");
+    assertEquals(-0.5d, point.getY(), 1.0e-12d, "Unexpected intersection y");
+    assertEquals(-1.0d, point.getZ(), 1.0e-12d, "Unexpected intersection z");
+
+    assertNull(caster.computeIntersection(JeometryFactory.createPoint3D(0.0d, 0.0d, 1.0d), JeometryFactory.createPoint3D(3.0d, 0.0d, -3.0d)), "Unexpected intersection");
+  }
+
+  /**
+   * Test the invalid arguments.
+   */
+  @Test
+  public void invalidTest() {
+
+    RayCaster caster = new RayCaster(MeshTestData.box(0.0d, 0.0d, 0.0d, 1.0d, 1.0d, 1.0d));
+
+    assertThrows(IllegalArgumentException.class, () -> new RayCaster((TriangleBVH)null), "Null hierarchy accepted");
+    assertThrows(IllegalArgumentException.class, () -> caster.setMinimalDistance(-1.0d), "Negative minimal distance accepted");
+    assertThrows(IllegalArgumentException.class, () -> caster.setPacketSize(0), "Empty packets accepted");
+    assertThrows(IllegalArgumentException.class, () -> caster.setPacketSize(TriangleBVH.PACKET_SIZE + 1), "Too large packets accepted");
+    assertThrows(IllegalArgumentException.class, () -> caster.cast(new double[6], new double[6], 2, 1.0d, new double[1], new int[2], null, 1), "Too small distances accepted");
+    assertThrows(IllegalArgumentException.class, () -> caster.cast(new double[6], new double[6], 2, 1.0d, new double[2], new int[2], new double[3], 1), "Too small barycentrics accepted");
+    assertThrows(IllegalArgumentException.class, () -> caster.occluded(new double[6], new double[6], 2, 1.0d, 0), "Invalid parallelism accepted");
+  }
+
+  /**
+   * Create random rays, whose origins are around the torus and whose directions are random unit vectors.
+   * @param random the random generator.
+   * @param origins the array that will contain the rays origins.
+   * @param directions the array that will contain the rays directions.
+   * @param count the number of rays.
+   */
+  private static void rays(Random random, double[] origins, double[] directions, int count) {
+
+    for(int i = 0; i < count; i++) {
+
+      origins[3*i]   = 8.0d * (random.nextDouble() - 0.5d);
+      origins[3*i+1] = 8.0d * (random.nextDouble() - 0.5d);
+      origins[3*i+2] = 3.0d * (random.nextDouble() - 0.5d);
+
+      double dx = random.nextGaussian();
+      double dy = random.nextGaussian();
+      double dz = random.nextGaussian();
+      double norm = Math.sqrt(dx*dx + dy*dy + dz*dz);
+
+      directions[3*i]   = dx / norm;
+      directions[3*i+1] = dy / norm;
+      directions[3*i+2] = dz / norm;
+    }
+  }
+
+  /**
+   * Compute the nearest hit of a ray by intersecting it with all the given triangles.
+   * @param vertices the vertices coordinates.
+   * @param triangles the triangles vertex indices.
+   * @param origins the rays origins.
+   * @param directions the rays directions.
+   * @param ray the ray index.
+   * @param minimum the minimal distance of a hit from the ray origin.
+   * @param maximum the maximal distance of a hit from the ray origin.
+   * @param cullback <code>true</code> if the triangles that are not facing the ray are ignored.
+   * @return the nearest hit as <code>{t, u, v, face}</code> or <code>null</code> if the ray does not hit any triangle.
+   */
+  private static double[] nearest(double[] vertices, int[] triangles, double[] origins, double[] directions, int ray, double minimum, double maximum, boolean cullback) {
+
+    double dx = directions[3*ray];
+    double dy = directions[3*ray+1];
+    double dz = directions[3*ray+2];
+
+    double[] nearest = null;
+
+    for(int f = 0; f < triangles.length / 3; f++) {
+
+      int a = 3*triangles[3*f];
+      int b = 3*triangles[3*f+1];
+      int c = 3*triangles[3*f+2];
+
+      double e1x = vertices[b] - vertices[a];
+      double e1y = vertices[b+1] - vertices[a+1];
+      double e1z = vertices[b+2] - vertices[a+2];
+      double e2x = vertices[c] - vertices[a];
+      double e2y = vertices[c+1] - vertices[a+1];
+      double e2z = vertices[c+2] - vertices[a+2];
+
+      double px = dy*e2z - dz*e2y;
+      double py = dz*e2x - dx*e2z;
+      double pz = dx*e2y - dy*e2x;
+
+      // A positive determinant is a triangle whose vertices are seen counterclockwise from the ray origin
+      double det = e1x*px + e1y*py + e1z*pz;
+      if ((det == 0.0d) || (cullback && (det < 0.0d))) {
+        continue;
+      }
+
+      double tx = origins[3*ray]   - vertices[a];
+      double ty = origins[3*ray+1] - vertices[a+1];
+      double tz = origins[3*ray+2] - vertices[a+2];
+
+      double u = (tx*px + ty*py + tz*pz) / det;
+      if ((u < 0.0d) || (u > 1.0d)) {
+        continue;
+      }
+
+      double qx = ty*e1z - tz*e1y;
+      double qy = tz*e1x - tx*e1z;
+      double qz = tx*e1y - ty*e1x;
+
+      double v = (dx*qx + dy*qy + dz*qz) / det;
+      if ((v < 0.0d) || (u + v > 1.0d)) {
+        continue;
+      }
+
+      double t = (e2x*qx + e2y*qy + e2z*qz) / det;
+      if ((t >= minimum) && (t > 0.0d) && (t <= maximum) && ((nearest == null) || (t < nearest[0]))) {
+        nearest = new double[] {t, u, v, f};
+      }
+    }
+
+    return nearest;
+  }
+}
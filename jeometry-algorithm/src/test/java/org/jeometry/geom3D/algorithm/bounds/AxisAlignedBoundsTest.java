@@ -0,0 +1,159 @@
+package org.jeometry.geom3D.algorithm.bounds;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.jeometry.geom3D.primitive.Box;
+import org.jeometry.simple.geom3D.point.ArrayCoordinatesPoint3DContainer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link AxisAlignedBounds} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class AxisAlignedBoundsTest {
+
+	/**
+	 * The number of test points, that enables to split the reduction in several tasks.
+	 */
+	private static final int SIZE = 3*AxisAlignedBounds.MINIMAL_CHUNK_SIZE + 5;
+
+	/**
+	 * Test the bounds of a coordinates array against a scan of all the points, with one and several threads.
+	 */
+	@Test
+	public void computeCoordinatesTest() {
+
+		double[] coordinates = coordinates(SIZE, 1);
+		double[] expected = scan(coordinates);
+
+		for(int parallelism : new int[] {1, 4}) {
+			double[] bounds = new double[AxisAlignedBounds.BOUNDS_SIZE];
+			assertSame(bounds, AxisAlignedBounds.compute(coordinates, 0, SIZE, parallelism, bounds), "Given bounds are not filled");
+			assertSameBounds(expected, bounds);
+		}
+
+		// Sub range
+		double[] sub = scan(Arrays.copyOfRange(coordinates, 30, 3*1000));
+		assertSameBounds(sub, AxisAlignedBounds.compute(coordinates, 10, 1000, 4, new double[AxisAlignedBounds.BOUNDS_SIZE]));
+
+		assertNull(AxisAlignedBounds.compute(coordinates, 10, 10, 4, new double[AxisAlignedBounds.BOUNDS_SIZE]), "Bounds of an empty range");
+		assertThrows(IllegalArgumentException.class, () -> AxisAlignedBounds.compute((double[])null, 0, 1, 1, new double[AxisAlignedBounds.BOUNDS_SIZE]), "Null coordinates accepted");
+		assertThrows(IllegalArgumentException.class, () -> AxisAlignedBounds.compute(coordinates, 0, SIZE, 0, new double[AxisAlignedBounds.BOUNDS_SIZE]), "Invalid parallelism accepted");
+	}
+
+	/**
+	 * Test the bounds of containers and collections against a scan of all the points, and the update of a coordinates container localization.
+	 */
+	@Test
+	public void computePointsTest() {
+
+		double[] coordinates = coordinates(SIZE, 2);
+		double[] expected = scan(coordinates);
+
+		Point3DContainer<Point3D> container = JeometryFactory.createPoint3DContainer(SIZE);
+		List<Point3D> list = new ArrayList<Point3D>(SIZE);
+		for(int i = 0; i < SIZE; i++) {
+			Point3D point = JeometryFactory.createPoint3D(coordinates[3*i], coordinates[3*i+1], coordinates[3*i+2]);
+			container.add(point);
+			list.add(point);
+		}
+
+		assertSameBounds(expected, AxisAlignedBounds.compute(container, 4, new double[AxisAlignedBounds.BOUNDS_SIZE]));
+		assertSameBounds(expected, AxisAlignedBounds.compute(list, 4, new double[AxisAlignedBounds.BOUNDS_SIZE]));
+		assertSameBounds(expected, AxisAlignedBounds.compute(new LinkedList<Point3D>(list), 4, new double[AxisAlignedBounds.BOUNDS_SIZE]));
+
+		// A primitive array container is reduced from its coordinates and its localization is updated
+		ArrayCoordinatesPoint3DContainer<Point3D> array = new ArrayCoordinatesPoint3DContainer<Point3D>(SIZE);
+		System.arraycopy(coordinates, 0, array.getCoordinatesArray(), 0, 3*SIZE);
+
+		assertSameBounds(expected, AxisAlignedBounds.compute(array, 4, new double[AxisAlignedBounds.BOUNDS_SIZE]));
+		assertSameBounds(expected, new double[] {array.getXMin(), array.getYMin(), array.getZMin(), array.getXMax(), array.getYMax(), array.getZMax(), array.getX(), array.getY(), array.getZ()});
+
+		// Bounding box
+		Box box = AxisAlignedBoundingBox.computeAxisAlignedBoundingBox(list);
+		assertNotNull(box, "No box computed");
+		assertEquals(expected[0], box.getMin().getX(), 0.0d, "Unexpected box minimum");
+		assertEquals(expected[2], box.getMin().getZ(), 0.0d, "Unexpected box minimum");
+		assertEquals(expected[4], box.getMax().getY(), 0.0d, "Unexpected box maximum");
+
+		assertNull(AxisAlignedBounds.compute((Point3DContainer<?>)null, 4, new double[AxisAlignedBounds.BOUNDS_SIZE]), "Bounds of null points");
+		assertNull(AxisAlignedBounds.compute(new ArrayList<Point3D>(), 4, new double[AxisAlignedBounds.BOUNDS_SIZE]), "Bounds of empty points");
+		assertThrows(IllegalArgumentException.class, () -> AxisAlignedBounds.compute(new LinkedList<Point3D>(list), 0, new double[AxisAlignedBounds.BOUNDS_SIZE]), "Invalid parallelism accepted");
+	}
+
+	/**
+	 * Compute the bounds of the given coordinates by scanning all the points.
+	 * @param coordinates the coordinates.
+	 * @return the bounds.
+	 */
+	private static double[] scan(double[] coordinates) {
+
+		double[] bounds = new double[] {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+				Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, 0.0d, 0.0d, 0.0d};
+
+		int count = coordinates.length / 3;
+		for(int i = 0; i < count; i++) {
+			for(int j = 0; j < 3; j++) {
+				bounds[j]   = Math.min(bounds[j], coordinates[3*i+j]);
+				bounds[3+j] = Math.max(bounds[3+j], coordinates[3*i+j]);
+				bounds[6+j] += coordinates[3*i+j] / count;
+			}
+		}
+
+		return bounds;
+	}
+
+	/**
+	 * Check that the given bounds are the expected ones. The extrema have to be the same and the means are compared up to the summation rounding.
+	 * @param expected the expected bounds.
+	 * @param actual the actual bounds.
+	 */
+	private static void assertSameBounds(double[] expected, double[] actual) {
+
+		assertNotNull(actual, "No bounds computed");
+
+		for(int j = 0; j < 6; j++) {
+			assertEquals(expected[j], actual[j], 0.0d, "Unexpected extremum "+j);
+		}
+
+		for(int j = 6; j < 9; j++) {
+			assertEquals(expected[j], actual[j], 1.0e-9d, "Unexpected mean "+j);
+		}
+	}
+
+	/**
+	 * Create random coordinates within a box.
+	 * @param count the number of points.
+	 * @param seed the random seed.
+	 * @return the coordinates.
+	 */
+	private static double[] coordinates(int count, long seed) {
+
+		Random random = new Random(seed);
+
+		double[] coordinates = new double[3*count];
+		for(int i = 0; i < count; i++) {
+			coordinates[3*i]   = 100.0d*random.nextDouble() - 50.0d;
+			coordinates[3*i+1] = 20.0d*random.nextDouble() + 300.0d;
+			coordinates[3*i+2] = -5.0d*random.nextDouble();
+		}
+
+		return coordinates;
+	}
+}
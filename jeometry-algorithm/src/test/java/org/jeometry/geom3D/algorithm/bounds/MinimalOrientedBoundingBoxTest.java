@@ -0,0 +1,105 @@
+package org.jeometry.geom3D.algorithm.bounds;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.mesh.Mesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link MinimalOrientedBoundingBox} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class MinimalOrientedBoundingBoxTest {
+
+	/**
+	 * Test the minimal box of points that fill a rotated box, whose corners are part of the points.
+	 */
+	@Test
+	public void computeRotatedBoxTest() {
+
+		Random random = new Random(1);
+
+		// A random rotation, from a random unit quaternion
+		double qw = random.nextGaussian();
+		double qx = random.nextGaussian();
+		double qy = random.nextGaussian();
+		double qz = random.nextGaussian();
+		double qn = Math.sqrt(qw*qw + qx*qx + qy*qy + qz*qz);
+		qw /= qn; qx /= qn; qy /= qn; qz /= qn;
+
+		double[] rotation = new double[] {
+			1.0d - 2.0d*(qy*qy + qz*qz), 2.0d*(qx*qy - qz*qw),        2.0d*(qx*qz + qy*qw),
+			2.0d*(qx*qy + qz*qw),        1.0d - 2.0d*(qx*qx + qz*qz), 2.0d*(qy*qz - qx*qw),
+			2.0d*(qx*qz - qy*qw),        2.0d*(qy*qz + qx*qw),        1.0d - 2.0d*(qx*qx + qy*qy)
+		};
+
+		double[] extents = new double[] {4.0d, 2.0d, 1.0d};
+
+		Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(2008);
+		for(int i = 0; i < 2008; i++) {
+			double[] local = new double[3];
+			for(int d = 0; d < 3; d++) {
+				if (i < 8) {
+					local[d] = (((i >> d) & 1) == 0 ? -0.5d : 0.5d) * extents[d];
+				} else {
+					local[d] = (random.nextDouble() - 0.5d) * extents[d];
+				}
+			}
+
+			points.add(JeometryFactory.createPoint3D(
+				10.0d + rotation[0]*local[0] + rotation[1]*local[1] + rotation[2]*local[2],
+				-5.0d + rotation[3]*local[0] + rotation[4]*local[1] + rotation[5]*local[2],
+				 3.0d + rotation[6]*local[0] + rotation[7]*local[1] + rotation[8]*local[2]));
+		}
+
+		OrientedBoundingBox box = MinimalOrientedBoundingBox.compute(points);
+
+		assertNotNull(box, "No box computed");
+		assertEquals(8.0d, box.getVolume(), 1.0e-6d, "Unexpected box volume");
+		assertEquals(10.0d, box.getCenter()[0], 1.0e-6d, "Unexpected box center");
+		assertEquals(-5.0d, box.getCenter()[1], 1.0e-6d, "Unexpected box center");
+		assertEquals(3.0d,  box.getCenter()[2], 1.0e-6d, "Unexpected box center");
+
+		for(Point3D point : points) {
+			assertTrue(box.contains(point.getX(), point.getY(), point.getZ(), 1.0e-9d), "Point "+point+" outside of the box");
+		}
+
+		Mesh<Point3D> mesh = box.toMesh();
+		assertEquals(6, mesh.getFaces().size(), "Unexpected box mesh face count");
+		assertEquals(8, mesh.getVertices().size(), "Box mesh vertices are duplicated");
+	}
+
+	/**
+	 * Test the minimal box of degenerated point sets.
+	 */
+	@Test
+	public void computeDegeneratedTest() {
+
+		assertNull(MinimalOrientedBoundingBox.compute(null), "Box of null points");
+		assertNull(MinimalOrientedBoundingBox.compute(JeometryFactory.createPoint3DContainer()), "Box of empty points");
+
+		// Coplanar points lead to a flat box
+		Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(4);
+		points.add(JeometryFactory.createPoint3D(0.0d, 0.0d, 1.0d));
+		points.add(JeometryFactory.createPoint3D(2.0d, 0.0d, 1.0d));
+		points.add(JeometryFactory.createPoint3D(2.0d, 3.0d, 1.0d));
+		points.add(JeometryFactory.createPoint3D(0.0d, 3.0d, 1.0d));
+
+		OrientedBoundingBox box = MinimalOrientedBoundingBox.compute(points);
+
+		assertNotNull(box, "No box computed");
+		assertEquals(0.0d, box.getVolume(), 1.0e-9d, "Coplanar points box is not flat");
+		assertEquals(12.0d, box.getArea(), 1.0e-6d, "Unexpected flat box area");
+	}
+}
@@ -0,0 +1,189 @@
+package org.jeometry.geom3D.algorithm.bounds;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link PrincipalAxesBoundingBox} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class PrincipalAxesBoundingBoxTest {
+
+	/**
+	 * The rotation of the test point clouds, as a <code>double[9]</code> row major matrix (rotation of 30 degrees around z followed by 45 degrees around x).
+	 */
+	private static final double[] ROTATION = rotation();
+
+	/**
+	 * Test that the box axes are the principal axes of an anisotropic point cloud and that the box encloses the points.
+	 */
+	@Test
+	public void computeTest() {
+
+		Point3DContainer<Point3D> points = cloud(20000, 1);
+
+		OrientedBoundingBox box = PrincipalAxesBoundingBox.compute(points, 1);
+
+		assertNotNull(box, "No box computed");
+
+		// The axes are sorted by decreasing variance and are the columns of the rotation
+		double[] axis = new double[3];
+		for(int i = 0; i < 3; i++) {
+			box.getAxis(i, axis);
+			double dot = axis[0]*ROTATION[i] + axis[1]*ROTATION[3+i] + axis[2]*ROTATION[6+i];
+			assertEquals(1.0d, Math.abs(dot), 1.0e-3d, "Axis "+i+" is not a principal axis");
+		}
+
+		// The frame is orthonormal and direct
+		double[] axes = box.getAxes();
+		for(int i = 0; i < 3; i++) {
+			for(int j = 0; j < 3; j++) {
+				double dot = axes[3*i]*axes[3*j] + axes[3*i+1]*axes[3*j+1] + axes[3*i+2]*axes[3*j+2];
+				assertEquals(i == j ? 1.0d : 0.0d, dot, 1.0e-9d, "Axes are not orthonormal");
+			}
+		}
+		double triple = axes[6]*(axes[1]*axes[5] - axes[2]*axes[4]) + axes[7]*(axes[2]*axes[3] - axes[0]*axes[5]) + axes[8]*(axes[0]*axes[4] - axes[1]*axes[3]);
+		assertEquals(1.0d, triple, 1.0e-9d, "Axes frame is not direct");
+
+		for(Point3D point : points) {
+			assertTrue(box.contains(point.getX(), point.getY(), point.getZ(), 1.0e-9d), "Point "+point+" outside of the box");
+		}
+	}
+
+	/**
+	 * Test that the box computed over several threads is the one computed by a single thread.
+	 */
+	@Test
+	public void computeParallelTest() {
+
+		Point3DContainer<Point3D> points = cloud(200000, 2);
+
+		OrientedBoundingBox expected = PrincipalAxesBoundingBox.compute(points, 1);
+		OrientedBoundingBox actual   = PrincipalAxesBoundingBox.compute(points, 4);
+
+		for(int i = 0; i < 9; i++) {
+			assertEquals(expected.getAxes()[i], actual.getAxes()[i], 1.0e-9d, "Unexpected parallel axes");
+		}
+
+		for(int i = 0; i < 3; i++) {
+			assertEquals(expected.getCenter()[i], actual.getCenter()[i], 1.0e-9d, "Unexpected parallel center");
+			assertEquals(expected.getHalfExtents()[i], actual.getHalfExtents()[i], 1.0e-9d, "Unexpected parallel extents");
+		}
+	}
+
+	/**
+	 * Test that the box computed from the convex hull does not depend on the density of the points within the hull.
+	 */
+	@Test
+	public void computeFromHullTest() {
+
+		Point3DContainer<Point3D> points = cloud(2000, 3);
+
+		// A dense cluster along the second axis, that tilts the principal axes of the points
+		Random random = new Random(4);
+		for(int i = 0; i < 20000; i++) {
+			double[] local = new double[] {0.2d*random.nextGaussian(), 8.0d*(random.nextDouble() - 0.5d), 0.2d*random.nextGaussian()};
+			points.add(transform(local));
+		}
+
+		OrientedBoundingBox hull = PrincipalAxesBoundingBox.compute(points, true, 1);
+
+		assertNotNull(hull, "No box computed");
+		for(Point3D point : points) {
+			assertTrue(hull.contains(point.getX(), point.getY(), point.getZ(), 1.0e-9d), "Point "+point+" outside of the box");
+		}
+
+		// The cluster changes the first principal axis of the points but not the one of the hull vertices
+		double[] axis = new double[3];
+		PrincipalAxesBoundingBox.compute(points, false, 1).getAxis(0, axis);
+		assertTrue(Math.abs(axis[0]*ROTATION[0] + axis[1]*ROTATION[3] + axis[2]*ROTATION[6]) < 0.5d, "Points first axis is not tilted by the cluster");
+
+		hull.getAxis(0, axis);
+		assertEquals(1.0d, Math.abs(axis[0]*ROTATION[0] + axis[1]*ROTATION[3] + axis[2]*ROTATION[6]), 1.0e-2d, "Hull first axis is tilted by the cluster");
+	}
+
+	/**
+	 * Test the box of degenerated inputs.
+	 */
+	@Test
+	public void computeDegeneratedTest() {
+
+		assertNull(PrincipalAxesBoundingBox.compute(null), "Box of null points");
+		assertNull(PrincipalAxesBoundingBox.compute(JeometryFactory.createPoint3DContainer()), "Box of empty points");
+		assertNull(PrincipalAxesBoundingBox.computeFromHull(null), "Box of a null hull");
+
+		assertThrows(IllegalArgumentException.class, () -> PrincipalAxesBoundingBox.compute(cloud(10, 5), 0), "Invalid parallelism accepted");
+
+		Point3DContainer<Point3D> single = JeometryFactory.createPoint3DContainer(1);
+		single.add(JeometryFactory.createPoint3D(1.0d, 2.0d, 3.0d));
+
+		OrientedBoundingBox box = PrincipalAxesBoundingBox.compute(single);
+
+		assertNotNull(box, "No box computed");
+		assertEquals(0.0d, box.getVolume(), 0.0d, "Single point box is not empty");
+		assertEquals(1.0d, box.getCenter()[0], 1.0e-12d, "Unexpected box center");
+		assertEquals(2.0d, box.getCenter()[1], 1.0e-12d, "Unexpected box center");
+		assertEquals(3.0d, box.getCenter()[2], 1.0e-12d, "Unexpected box center");
+	}
+
+	/**
+	 * Create a rotated and translated anisotropic point cloud, whose standard deviations along the rotation columns are 5, 2 and 0.5.
+	 * @param count the number of points.
+	 * @param seed the random seed.
+	 * @return the points.
+	 */
+	private static Point3DContainer<Point3D> cloud(int count, long seed) {
+
+		Random random = new Random(seed);
+
+		Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(count);
+		for(int i = 0; i < count; i++) {
+			points.add(transform(new double[] {5.0d*random.nextGaussian(), 2.0d*random.nextGaussian(), 0.5d*random.nextGaussian()}));
+		}
+
+		return points;
+	}
+
+	/**
+	 * Transform the given local coordinates using the test rotation and a translation.
+	 * @param local the local coordinates.
+	 * @return the transformed point.
+	 */
+	private static Point3D transform(double[] local) {
+		return JeometryFactory.createPoint3D(
+				100.0d + ROTATION[0]*local[0] + ROTATION[1]*local[1] + ROTATION[2]*local[2],
+				-20.0d + ROTATION[3]*local[0] + ROTATION[4]*local[1] + ROTATION[5]*local[2],
+				  7.0d + ROTATION[6]*local[0] + ROTATION[7]*local[1] + ROTATION[8]*local[2]);
+	}
+
+	/**
+	 * Compute the test rotation.
+	 * @return the rotation, as a <code>double[9]</code> row major matrix.
+	 */
+	private static double[] rotation() {
+
+		double cz = Math.cos(Math.toRadians(30.0d));
+		double sz = Math.sin(Math.toRadians(30.0d));
+		double cx = Math.cos(Math.toRadians(45.0d));
+		double sx = Math.sin(Math.toRadians(45.0d));
+
+		return new double[] {
+			cz,     -sz,     0.0d,
+			cx*sz,  cx*cz,  -sx,
+			sx*sz,  sx*cz,   cx
+		};
+	}
+}
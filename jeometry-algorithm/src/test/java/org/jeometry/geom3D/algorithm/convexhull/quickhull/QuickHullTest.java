@@ -0,0 +1,119 @@
+package org.jeometry.geom3D.algorithm.convexhull.quickhull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.algorithm.MeshMeasures;
+import org.jeometry.geom3D.mesh.Face;
+import org.jeometry.geom3D.mesh.Mesh;
+import org.jeometry.geom3D.mesh.indexed.IndexedTriangleMesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.jeometry.geom3D.primitive.indexed.IndexedTriangle;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link QuickHull} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class QuickHullTest {
+
+  /**
+   * Test that the indexed convex hull has the same faces as the convex hull, with and without the Akl-Toussaint heuristic.
+   */
+  @Test
+  public void computeIndexedConvexHullTest() {
+
+    Random random = new Random(1);
+
+    // Points within a ball, some of them on its surface
+    Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(500);
+    for(int i = 0; i < 500; i++) {
+      double x = 2.0d * random.nextDouble() - 1.0d;
+      double y = 2.0d * random.nextDouble() - 1.0d;
+      double z = 2.0d * random.nextDouble() - 1.0d;
+      double scale = ((i % 5) == 0) ? 1.0d / Math.sqrt(x*x + y*y + z*z) : 0.5d;
+      points.add(JeometryFactory.createPoint3D(scale * x, scale * y, scale * z));
+    }
+
+    for(boolean useAklToussaint : new boolean[] {false, true}) {
+
+      Mesh<Point3D> hull = QuickHull.computeConvexHull(points, useAklToussaint);
+      IndexedTriangleMesh<Point3D> indexed = QuickHull.computeIndexedConvexHull(points, useAklToussaint);
+
+      assertNotNull(hull, "No convex hull computed");
+      assertNotNull(indexed, "No indexed convex hull computed");
+      assertSame(points, indexed.getVerticesSource(), "The indexed hull does not rely on the points");
+
+      List<? extends Face<Point3D>> faces = hull.getFaces();
+      List<? extends IndexedTriangle<Point3D>> triangles = indexed.getFacesIndexes();
+
+      assertEquals(faces.size(), triangles.size(), "Unexpected triangles count");
+
+      // The hull faces are triangles that are stored in the same order with the same vertices
+      for(int f = 0; f < faces.size(); f++) {
+        Point3DContainer<Point3D> vertices = faces.get(f).getVertices();
+        assertEquals(3, vertices.size(), "Hull face "+f+" is not a triangle");
+        assertSame(vertices.get(0), triangles.get(f).getVertex1(), "Unexpected first vertex of triangle "+f);
+        assertSame(vertices.get(1), triangles.get(f).getVertex2(), "Unexpected second vertex of triangle "+f);
+        assertSame(vertices.get(2), triangles.get(f).getVertex3(), "Unexpected third vertex of triangle "+f);
+      }
+
+      // The indexed hull is closed and contains all the points
+      MeshMeasures measures = MeshMeasures.compute(indexed);
+      assertTrue(Math.abs(measures.getVolume()) > 0.9d * 4.0d / 3.0d * Math.PI * 0.125d, "Hull volume is too small");
+      assertTrue(Math.abs(measures.getVolume()) < 4.0d / 3.0d * Math.PI, "Hull volume is greater than the ball one");
+
+      int[] t = new int[3];
+      for(int f = 0; f < triangles.size(); f++) {
+        t[0] = triangles.get(f).getVertex1Index();
+        t[1] = triangles.get(f).getVertex2Index();
+        t[2] = triangles.get(f).getVertex3Index();
+        for(int i = 0; i < points.size(); i++) {
+          double side = orientation(points.get(t[0]), points.get(t[1]), points.get(t[2]), points.get(i)) * Math.signum(measures.getVolume());
+          assertTrue(side >= -1.0e-12d, "Point "+i+" is outside of the hull face "+f);
+        }
+      }
+    }
+
+    // Not enough points
+    Point3DContainer<Point3D> few = JeometryFactory.createPoint3DContainer(3);
+    few.add(JeometryFactory.createPoint3D(0.0d, 0.0d, 0.0d));
+    few.add(JeometryFactory.createPoint3D(1.0d, 0.0d, 0.0d));
+    few.add(JeometryFactory.createPoint3D(0.0d, 1.0d, 0.0d));
+    assertNull(QuickHull.computeIndexedConvexHull(few, false), "Hull of 3 points computed");
+  }
+
+  /**
+   * Compute the orientation of the point <code>d</code> with respect to the plane of the triangle <code>(a, b, c)</code>.
+   * @param a the first triangle vertex.
+   * @param b the second triangle vertex.
+   * @param c the third triangle vertex.
+   * @param d the point.
+   * @return a negative value if <code>d</code> is on the side the triangle normal points to, a positive value if it is on the other side and <code>0</code> if the points are coplanar.
+   */
+  private static double orientation(Point3D a, Point3D b, Point3D c, Point3D d) {
+
+    double bx = b.getX() - a.getX();
+    double by = b.getY() - a.getY();
+    double bz = b.getZ() - a.getZ();
+    double cx = c.getX() - a.getX();
+    double cy = c.getY() - a.getY();
+    double cz = c.getZ() - a.getZ();
+    double dx = d.getX() - a.getX();
+    double dy = d.getY() - a.getY();
+    double dz = d.getZ() - a.getZ();
+
+    return -(dx * (by * cz - bz * cy) + dy * (bz * cx - bx * cz) + dz * (bx * cy - by * cx));
+  }
+}
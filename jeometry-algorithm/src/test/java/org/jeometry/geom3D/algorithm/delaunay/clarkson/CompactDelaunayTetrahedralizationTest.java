@@ -0,0 +1,169 @@
+package org.jeometry.geom3D.algorithm.delaunay.clarkson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.mesh.indexed.IndexedTriangleMesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link CompactDelaunayTetrahedralization} class and to its {@link VertexStarCirculator vertex star}
+ * and {@link EdgeRingCirculator edge ring} circulators.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class CompactDelaunayTetrahedralizationTest {
+
+  /**
+   * Test that the tetrahedralization is Delaunay and that its boundary is a closed mesh.
+   * @throws DelaunayException if the tetrahedralization cannot be computed.
+   */
+  @Test
+  public void computeCompactTest() throws DelaunayException {
+
+    CompactDelaunayTetrahedralization<Point3D> tetrahedralization = new DelaunayClarkson3D<Point3D>().computeCompact(VoronoiExtractorTest.randomPoints(1000, 3), 1000.0f);
+
+    assertTrue(tetrahedralization.getTetrahedronCount() > 0, "No tetrahedron");
+    assertEquals(0, tetrahedralization.countNonDelaunayFaces(), "Unexpected non Delaunay faces");
+
+    // Each neighbor relation is symmetric
+    for(int t = 0; t < tetrahedralization.getTetrahedronCount(); t++) {
+      for(int i = 0; i < 4; i++) {
+        int neighbor = tetrahedralization.getNeighbor(t, i);
+        if (neighbor > -1) {
+          boolean found = false;
+          for(int j = 0; j < 4; j++) {
+            found |= (tetrahedralization.getNeighbor(neighbor, j) == t);
+          }
+          assertTrue(found, "Neighbor relation between "+t+" and "+neighbor+" is not symmetric");
+        }
+      }
+    }
+
+    // Each boundary edge is shared by two boundary triangles
+    IndexedTriangleMesh<Point3D> boundary = tetrahedralization.createBoundaryMesh();
+    Map<Long, Integer> edges = new HashMap<Long, Integer>();
+    for(int f = 0; f < boundary.getFacesIndexes().size(); f++) {
+      int[] vertices = boundary.getFacesIndexes().get(f).getVerticesIndexes();
+      for(int i = 0; i < 3; i++) {
+        int a = Math.min(vertices[i], vertices[(i+1)%3]);
+        int b = Math.max(vertices[i], vertices[(i+1)%3]);
+        edges.merge(((long)a << 32) | b, 1, Integer::sum);
+      }
+    }
+
+    assertTrue(edges.size() > 0, "Empty boundary");
+    for(Integer count : edges.values()) {
+      assertEquals(2, count.intValue(), "Boundary is not closed");
+    }
+  }
+
+  /**
+   * Test the vertex star and edge ring circulators against a scan of all the tetrahedra.
+   * @throws DelaunayException if the tetrahedralization cannot be computed.
+   */
+  @Test
+  public void circulatorsTest() throws DelaunayException {
+
+    CompactDelaunayTetrahedralization<Point3D> tetrahedralization = new DelaunayClarkson3D<Point3D>().computeCompact(VoronoiExtractorTest.randomPoints(300, 4), 1000.0f);
+
+    VertexStarCirculator star = tetrahedralization.createVertexStarCirculator();
+    EdgeRingCirculator ring   = tetrahedralization.createEdgeRingCirculator();
+
+    int count = tetrahedralization.getTetrahedronCount();
+
+    for(int vertex = 0; vertex < tetrahedralization.getPoints().size(); vertex++) {
+
+      boolean[] incident = new boolean[count];
+      int expected = 0;
+      for(int t = 0; t < count; t++) {
+        if (tetrahedralization.getPosition(t, vertex) > -1) {
+          incident[t] = true;
+          expected++;
+        }
+      }
+
+      int enumerated = 0;
+      star.reset(vertex);
+      while(star.hasNext()) {
+        int tetrahedron = star.next();
+        assertTrue(incident[tetrahedron], "Tetrahedron "+tetrahedron+" is not incident to vertex "+vertex);
+        incident[tetrahedron] = false;
+        enumerated++;
+      }
+
+      assertEquals(expected, enumerated, "Unexpected star size for vertex "+vertex);
+
+      // The ring of each edge of the star
+      star.reset(vertex);
+      while(star.hasNext()) {
+        int tetrahedron = star.next();
+        for(int i = 0; i < 4; i++) {
+          int other = tetrahedralization.getVertex(tetrahedron, i);
+          if (other > vertex) {
+
+            int edge = 0;
+            for(int t = 0; t < count; t++) {
+              if ((tetrahedralization.getPosition(t, vertex) > -1) && (tetrahedralization.getPosition(t, other) > -1)) {
+                edge++;
+              }
+            }
+
+            int size = 0;
+            ring.reset(vertex, other, tetrahedron);
+            while(ring.hasNext()) {
+              int t = ring.next();
+              assertTrue((tetrahedralization.getPosition(t, vertex) > -1) && (tetrahedralization.getPosition(t, other) > -1), "Tetrahedron "+t+" is not incident to the edge");
+              size++;
+            }
+
+            assertEquals(edge, size, "Unexpected ring size for edge ("+vertex+", "+other+")");
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Test the Voronoi regions dual to the vertices against the cells of the Voronoi extractor.
+   * @throws DelaunayException if the tetrahedralization cannot be computed.
+   */
+  @Test
+  public void dualVertexTest() throws DelaunayException {
+
+    CompactDelaunayTetrahedralization<Point3D> tetrahedralization = new DelaunayClarkson3D<Point3D>().computeCompact(VoronoiExtractorTest.randomPoints(1000, 5), 1000.0f);
+
+    VoronoiExtractor<Point3D> extractor = new VoronoiExtractor<Point3D>(tetrahedralization);
+    VoronoiCell cell = new VoronoiCell();
+
+    for(int vertex = 0; vertex < tetrahedralization.getPoints().size(); vertex++) {
+
+      extractor.extract(vertex, cell);
+
+      int expected = 0;
+      for(int face = 0; face < cell.getFaceCount(); face++) {
+        expected += cell.getFaceSize(face) - 2;
+      }
+
+      Point3D site = tetrahedralization.getPoint(vertex);
+
+      Collection<VoronoiTriangle> region = tetrahedralization.dualVertex(vertex);
+      assertEquals(expected, region.size(), "Unexpected region size for vertex "+vertex);
+
+      assertEquals(region.size(), tetrahedralization.dual(site).size(), "Unexpected region size for point "+vertex);
+      assertEquals(vertex, tetrahedralization.getPointIndex(site), "Unexpected point index");
+    }
+
+    assertNull(tetrahedralization.dual(JeometryFactory.createPoint3D(0.0d, 0.0d, 0.0d)), "Region of an unknown point");
+    assertEquals(-1, tetrahedralization.getPointIndex(null), "Index of a null point");
+  }
+}
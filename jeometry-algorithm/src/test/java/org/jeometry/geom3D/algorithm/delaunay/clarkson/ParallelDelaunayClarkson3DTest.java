@@ -0,0 +1,376 @@
+package org.jeometry.geom3D.algorithm.delaunay.clarkson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.Predicates;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link ParallelDelaunayClarkson3D} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class ParallelDelaunayClarkson3DTest {
+
+  /**
+   * Test that the partitioned tetrahedralization has the same finite tetrahedra as the sequential one, whatever the infinite tetrahedra options.
+   * As both computations work on rounded coordinates, they are expected to report the same non locally Delaunay faces.
+   * @throws DelaunayException if a tetrahedralization cannot be computed.
+   */
+  @Test
+  public void computeCompactTest() throws DelaunayException {
+
+    Point3DContainer<Point3D> points = VoronoiExtractorTest.randomPoints(6000, 6);
+
+    for(boolean generate : new boolean[] {true, false}) {
+      for(boolean filter : new boolean[] {true, false}) {
+
+        DelaunayClarkson3D<Point3D> sequential = new DelaunayClarkson3D<Point3D>();
+        sequential.setGenerateInfinite(generate);
+        sequential.setFilterInfinite(filter);
+
+        ParallelDelaunayClarkson3D<Point3D> parallel = new ParallelDelaunayClarkson3D<Point3D>(4);
+        parallel.setGenerateInfinite(generate);
+        parallel.setFilterInfinite(filter);
+
+        CompactDelaunayTetrahedralization<Point3D> expected = sequential.computeCompact(points, 1000.0f);
+        CompactDelaunayTetrahedralization<Point3D> actual   = parallel.computeCompact(points, 1000.0f);
+
+        String options = "(generate: "+generate+", filter: "+filter+")";
+
+        assertEquals(finiteTetrahedra(finite(expected)), finiteTetrahedra(finite(actual)), "Unexpected finite tetrahedra "+options);
+        assertEquals(expected.countNonDelaunayFaces(), actual.countNonDelaunayFaces(), "Unexpected non Delaunay faces "+options);
+
+        // The merged neighborhood is symmetric
+        for(int t = 0; t < actual.getTetrahedronCount(); t++) {
+          for(int i = 0; i < 4; i++) {
+            int neighbor = actual.getNeighbor(t, i);
+            if (neighbor > -1) {
+              boolean found = false;
+              for(int j = 0; j < 4; j++) {
+                found |= (actual.getNeighbor(neighbor, j) == t);
+              }
+              assertTrue(found, "Neighbor relation between "+t+" and "+neighbor+" is not symmetric "+options);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Test that the partitioned tetrahedralization has the same finite tetrahedra as the sequential one when computed as a {@link DelaunayTetrahedralization tetrahedralization}.
+   * @throws DelaunayException if a tetrahedralization cannot be computed.
+   */
+  @Test
+  public void computeTest() throws DelaunayException {
+
+    Point3DContainer<Point3D> points = VoronoiExtractorTest.randomPoints(4000, 8);
+
+    for(boolean generate : new boolean[] {true, false}) {
+      for(boolean filter : new boolean[] {true, false}) {
+
+        DelaunayClarkson3D<Point3D> sequential = new DelaunayClarkson3D<Point3D>();
+        sequential.setGenerateInfinite(generate);
+        sequential.setFilterInfinite(filter);
+
+        ParallelDelaunayClarkson3D<Point3D> parallel = new ParallelDelaunayClarkson3D<Point3D>(4);
+        parallel.setGenerateInfinite(generate);
+        parallel.setFilterInfinite(filter);
+
+        DelaunayTetrahedralization<Point3D> expected = sequential.compute(points, 1000.0f);
+        DelaunayTetrahedralization<Point3D> actual   = parallel.compute(points, 1000.0f);
+
+        String options = "(generate: "+generate+", filter: "+filter+")";
+
+        assertEquals(finiteTetrahedra(finite(expected)), finiteTetrahedra(finite(actual)), "Unexpected finite tetrahedra "+options);
+
+        // The finite tetrahedra are resolved from the points
+        for(DelaunayTetrahedron<Point3D> tetrahedron : actual.getTetrahedra()) {
+          if (!tetrahedron.isInfinite()) {
+            for(int i = 0; i < 4; i++) {
+              assertEquals(points.get(tetrahedron.getVertexIndice(i)), tetrahedron.getVertex(i), "Unexpected tetrahedron vertex "+options);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Test the tetrahedralization of a regular lattice, whose points are cospherical, so that its Delaunay tetrahedralization is not unique.
+   * The partitioned tetrahedralization has to fill the lattice extent without duplicate tetrahedron and each of its tetrahedra has to have an empty circumscribed sphere.
+   * The flat tetrahedra produced by the underlying computation are expected to lie on the convex hull faces only.
+   * @throws DelaunayException if a tetrahedralization cannot be computed.
+   */
+  @Test
+  public void computeLatticeTest() throws DelaunayException {
+
+    int size = 14;
+
+    Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(size*size*size);
+    for(int i = 0; i < size; i++) {
+      for(int j = 0; j < size; j++) {
+        for(int k = 0; k < size; k++) {
+          points.add(JeometryFactory.createPoint3D(i, j, k));
+        }
+      }
+    }
+
+    double volume = (size - 1) * (size - 1) * (size - 1);
+
+    for(boolean generate : new boolean[] {true, false}) {
+
+      DelaunayClarkson3D<Point3D> sequential = new DelaunayClarkson3D<Point3D>();
+      sequential.setGenerateInfinite(generate);
+
+      ParallelDelaunayClarkson3D<Point3D> parallel = new ParallelDelaunayClarkson3D<Point3D>(4);
+      parallel.setGenerateInfinite(generate);
+
+      int[] expected = finite(sequential.computeCompact(points, 1000.0f));
+      int[] compact  = finite(parallel.computeCompact(points, 1000.0f));
+      int[] legacy   = finite(parallel.compute(points, 1000.0f));
+
+      String options = "(generate: "+generate+")";
+
+      assertEquals(volume, checkLattice(expected, points, size, "sequential "+options), 1.0e-6d, "Unexpected sequential volume "+options);
+      assertEquals(volume, checkLattice(compact, points, size, "compact "+options), 1.0e-6d, "Unexpected compact volume "+options);
+      assertEquals(volume, checkLattice(legacy, points, size, "non compact "+options), 1.0e-6d, "Unexpected non compact volume "+options);
+
+      assertEquals(countSolid(expected, points), countSolid(compact, points), "Unexpected non flat compact tetrahedra count "+options);
+      assertEquals(finiteTetrahedra(compact), finiteTetrahedra(legacy), "Compact and non compact tetrahedra differ "+options);
+    }
+  }
+
+  /**
+   * Test that a point set too small to be partitioned falls back to the sequential computation.
+   * @throws DelaunayException if a tetrahedralization cannot be computed.
+   */
+  @Test
+  public void computeCompactSmallTest() throws DelaunayException {
+
+    Point3DContainer<Point3D> points = VoronoiExtractorTest.randomPoints(ParallelDelaunayClarkson3D.MINIMAL_PARTITION_SIZE, 7);
+
+    CompactDelaunayTetrahedralization<Point3D> expected = new DelaunayClarkson3D<Point3D>().computeCompact(points, 1000.0f);
+    CompactDelaunayTetrahedralization<Point3D> actual   = new ParallelDelaunayClarkson3D<Point3D>(8).computeCompact(points, 1000.0f);
+
+    assertEquals(finiteTetrahedra(finite(expected)), finiteTetrahedra(finite(actual)), "Unexpected finite tetrahedra");
+
+    assertThrows(IllegalArgumentException.class, () -> new ParallelDelaunayClarkson3D<Point3D>(0), "Invalid partition count accepted");
+  }
+
+  /**
+   * Check the tetrahedra of a lattice tetrahedralization: each tetrahedron is unique, each non flat tetrahedron has an empty circumscribed sphere
+   * and each flat tetrahedron lies on a face of the lattice extent.
+   * @param tetrahedra the finite tetrahedra vertex indices, the tetrahedron <code>t</code> being stored from offset <code>4*t</code>.
+   * @param points the lattice points.
+   * @param size the number of points along each lattice axis.
+   * @param name the name of the checked tetrahedralization, used within the assertion messages.
+   * @return the total volume of the tetrahedra.
+   */
+  private static double checkLattice(int[] tetrahedra, Point3DContainer<Point3D> points, int size, String name) {
+
+    List<String> sorted = finiteTetrahedra(tetrahedra);
+    for(int t = 1; t < sorted.size(); t++) {
+      assertTrue(!sorted.get(t).equals(sorted.get(t-1)), "Duplicate tetrahedron "+sorted.get(t)+" within "+name);
+    }
+
+    double volume = 0.0d;
+
+    for(int t = 0; t < tetrahedra.length / 4; t++) {
+
+      Point3D a = points.get(tetrahedra[4*t]);
+      Point3D b = points.get(tetrahedra[4*t+1]);
+      Point3D c = points.get(tetrahedra[4*t+2]);
+      Point3D d = points.get(tetrahedra[4*t+3]);
+
+      double orientation = Predicates.orient3d(a, b, c, d);
+
+      if (orientation == 0.0d) {
+        assertTrue(isOnLatticeFace(size, a, b, c, d), "Flat tetrahedron "+t+" within the lattice extent of "+name);
+      } else {
+        volume += Math.abs(orientation) / 6.0d;
+
+        // Only the lattice points within the bounding box of the circumscribed sphere can be within the sphere
+        int[] range = sphereRange(a, b, c, d, size);
+        for(int i = range[0]; i <= range[3]; i++) {
+          for(int j = range[1]; j <= range[4]; j++) {
+            for(int k = range[2]; k <= range[5]; k++) {
+              int index = (i * size + j) * size + k;
+              assertTrue(Predicates.insphere(a, b, c, d, points.get(index)) * Math.signum(orientation) <= 0.0d, "Point "+index+" is within the sphere of tetrahedron "+t+" of "+name);
+            }
+          }
+        }
+      }
+    }
+
+    return volume;
+  }
+
+  /**
+   * Compute the range of the lattice indices that are within the bounding box of the sphere circumscribed to the given tetrahedron.
+   * @param a the first tetrahedron vertex.
+   * @param b the second tetrahedron vertex.
+   * @param c the third tetrahedron vertex.
+   * @param d the fourth tetrahedron vertex.
+   * @param size the number of points along each lattice axis.
+   * @return the minimal indices along x, y and z followed by the maximal indices along x, y and z.
+   */
+  private static int[] sphereRange(Point3D a, Point3D b, Point3D c, Point3D d, int size) {
+
+    double bx = b.getX() - a.getX();
+    double by = b.getY() - a.getY();
+    double bz = b.getZ() - a.getZ();
+    double cx = c.getX() - a.getX();
+    double cy = c.getY() - a.getY();
+    double cz = c.getZ() - a.getZ();
+    double dx = d.getX() - a.getX();
+    double dy = d.getY() - a.getY();
+    double dz = d.getZ() - a.getZ();
+
+    double b2 = bx*bx + by*by + bz*bz;
+    double c2 = cx*cx + cy*cy + cz*cz;
+    double d2 = dx*dx + dy*dy + dz*dz;
+
+    double det = 2.0d * (bx * (cy * dz - cz * dy) - by * (cx * dz - cz * dx) + bz * (cx * dy - cy * dx));
+
+    // Circumcenter relative to a
+    double ox = (b2 * (cy * dz - cz * dy) - c2 * (by * dz - bz * dy) + d2 * (by * cz - bz * cy)) / det;
+    double oy = (bx * (c2 * dz - cz * d2) - cx * (b2 * dz - bz * d2) + dx * (b2 * cz - bz * c2)) / det;
+    double oz = (bx * (cy * d2 - c2 * dy) - cx * (by * d2 - b2 * dy) + dx * (by * c2 - b2 * cy)) / det;
+
+    double radius = Math.sqrt(ox*ox + oy*oy + oz*oz);
+
+    double[] center = new double[] {a.getX() + ox, a.getY() + oy, a.getZ() + oz};
+
+    int[] range = new int[6];
+    for(int axis = 0; axis < 3; axis++) {
+      range[axis]   = Math.max(0, (int) Math.floor(center[axis] - radius) - 1);
+      range[axis+3] = Math.min(size - 1, (int) Math.ceil(center[axis] + radius) + 1);
+    }
+
+    return range;
+  }
+
+  /**
+   * Check if the given points lie on the same face of the lattice extent.
+   * @param size the number of points along each lattice axis.
+   * @param vertices the points to check.
+   * @return <code>true</code> if all the points lie on the same face of the lattice extent and <code>false</code> otherwise.
+   */
+  private static boolean isOnLatticeFace(int size, Point3D... vertices) {
+
+    for(int axis = 0; axis < 3; axis++) {
+      for(double bound : new double[] {0.0d, size - 1}) {
+        boolean on = true;
+        for(Point3D vertex : vertices) {
+          on &= (vertex.getValue(axis) == bound);
+        }
+
+        if (on) {
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Count the non flat tetrahedra.
+   * @param tetrahedra the finite tetrahedra vertex indices, the tetrahedron <code>t</code> being stored from offset <code>4*t</code>.
+   * @param points the points.
+   * @return the number of non flat tetrahedra.
+   */
+  private static int countSolid(int[] tetrahedra, Point3DContainer<Point3D> points) {
+
+    int count = 0;
+    for(int t = 0; t < tetrahedra.length / 4; t++) {
+      if (Predicates.orient3d(points.get(tetrahedra[4*t]), points.get(tetrahedra[4*t+1]), points.get(tetrahedra[4*t+2]), points.get(tetrahedra[4*t+3])) != 0.0d) {
+        count++;
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Get the finite tetrahedra of a compact tetrahedralization.
+   * @param tetrahedralization the tetrahedralization.
+   * @return the finite tetrahedra vertex indices, the tetrahedron <code>t</code> being stored from offset <code>4*t</code>.
+   */
+  private static int[] finite(CompactDelaunayTetrahedralization<Point3D> tetrahedralization) {
+
+    int[] tetrahedra = new int[4*tetrahedralization.getTetrahedronCount()];
+    int count = 0;
+
+    for(int t = 0; t < tetrahedralization.getTetrahedronCount(); t++) {
+      if (!tetrahedralization.isInfinite(t)) {
+        for(int i = 0; i < 4; i++) {
+          tetrahedra[4*count+i] = tetrahedralization.getVertex(t, i);
+        }
+        count++;
+      }
+    }
+
+    return Arrays.copyOf(tetrahedra, 4*count);
+  }
+
+  /**
+   * Get the finite tetrahedra of a tetrahedralization.
+   * @param tetrahedralization the tetrahedralization.
+   * @return the finite tetrahedra vertex indices, the tetrahedron <code>t</code> being stored from offset <code>4*t</code>.
+   */
+  private static int[] finite(DelaunayTetrahedralization<Point3D> tetrahedralization) {
+
+    List<DelaunayTetrahedron<Point3D>> list = tetrahedralization.getTetrahedra();
+
+    int[] tetrahedra = new int[4*list.size()];
+    int count = 0;
+
+    for(DelaunayTetrahedron<Point3D> tetrahedron : list) {
+      if (!tetrahedron.isInfinite()) {
+        for(int i = 0; i < 4; i++) {
+          tetrahedra[4*count+i] = tetrahedron.getVertexIndice(i);
+        }
+        count++;
+      }
+    }
+
+    return Arrays.copyOf(tetrahedra, 4*count);
+  }
+
+  /**
+   * Get the given tetrahedra, each one being described by its sorted vertex indices. The tetrahedra are sorted, so that
+   * two lists are equal if they contain the same tetrahedra the same number of times.
+   * @param tetrahedra the tetrahedra vertex indices, the tetrahedron <code>t</code> being stored from offset <code>4*t</code>.
+   * @return the sorted tetrahedra.
+   */
+  private static List<String> finiteTetrahedra(int[] tetrahedra) {
+
+    List<String> sorted = new ArrayList<String>(tetrahedra.length / 4);
+
+    int[] vertices = new int[4];
+    for(int t = 0; t < tetrahedra.length / 4; t++) {
+      System.arraycopy(tetrahedra, 4*t, vertices, 0, 4);
+      Arrays.sort(vertices);
+      sorted.add(Arrays.toString(vertices));
+    }
+
+    Collections.sort(sorted);
+
+    return sorted;
+  }
+}
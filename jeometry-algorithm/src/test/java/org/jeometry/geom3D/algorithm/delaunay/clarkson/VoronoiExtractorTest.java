@@ -0,0 +1,211 @@
+package org.jeometry.geom3D.algorithm.delaunay.clarkson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link VoronoiExtractor} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class VoronoiExtractorTest {
+
+  /**
+   * Test that the cells extracted one by one, by a cursor, by streaming and in bulk are the same.
+   * @throws DelaunayException if the tetrahedralization cannot be computed.
+   */
+  @Test
+  public void extractTest() throws DelaunayException {
+
+    CompactDelaunayTetrahedralization<Point3D> tetrahedralization = new DelaunayClarkson3D<Point3D>().computeCompact(randomPoints(2000, 1), 1000.0f);
+
+    VoronoiExtractor<Point3D> extractor = new VoronoiExtractor<Point3D>(tetrahedralization);
+
+    List<VoronoiCell> cells = extractor.extractAll();
+    double[] volumes = extractor.computeVolumes();
+
+    assertEquals(tetrahedralization.getPoints().size(), cells.size(), "Unexpected cells count");
+
+    VoronoiExtractor<Point3D>.Cursor cursor = extractor.createCursor();
+    VoronoiCell single = new VoronoiCell();
+    VoronoiCell cursorCell = new VoronoiCell();
+
+    for(int site = 0; site < cells.size(); site++) {
+
+      assertSame(single, extractor.extract(site, single), "Given cell is not filled");
+      assertSame(cursorCell, cursor.extract(site, cursorCell), "Given cell is not filled");
+
+      assertSameCell(cells.get(site), single);
+      assertSameCell(cells.get(site), cursorCell);
+      assertEquals(cells.get(site).getVolume(), volumes[site], "Unexpected volume for site "+site);
+    }
+
+    int[] count = new int[1];
+    extractor.extract(cell -> {
+      assertSameCell(cells.get(cell.getSite()), cell);
+      count[0]++;
+    });
+    assertEquals(cells.size(), count[0], "Unexpected streamed cells count");
+
+    assertThrows(IllegalArgumentException.class, () -> extractor.extract(-1, null), "Invalid site accepted");
+    assertThrows(IllegalArgumentException.class, () -> cursor.extract(cells.size(), null), "Invalid site accepted");
+  }
+
+  /**
+   * Test that the vertices of each cell face are equidistant from the cell site and from the face neighbor site,
+   * and that the volume of the bounded cells does not depend on the pyramids apex.
+   * @throws DelaunayException if the tetrahedralization cannot be computed.
+   */
+  @Test
+  public void extractGeometryTest() throws DelaunayException {
+
+    CompactDelaunayTetrahedralization<Point3D> tetrahedralization = new DelaunayClarkson3D<Point3D>().computeCompact(randomPoints(1000, 2), 1000.0f);
+
+    VoronoiExtractor<Point3D> extractor = new VoronoiExtractor<Point3D>(tetrahedralization);
+    double[] centers = extractor.getCircumCenters();
+
+    int bounded = 0;
+
+    for(VoronoiCell cell : extractor.extractAll()) {
+
+      Point3D site = tetrahedralization.getPoint(cell.getSite());
+
+      for(int face = 0; face < cell.getFaceCount(); face++) {
+
+        Point3D neighbor = tetrahedralization.getPoint(cell.getFaceNeighbor(face));
+
+        for(int position = 0; position < cell.getFaceSize(face); position++) {
+          int vertex = 3*cell.getFaceVertex(face, position);
+          double toSite     = distance(centers, vertex, site);
+          double toNeighbor = distance(centers, vertex, neighbor);
+          assertEquals(toSite, toNeighbor, 1.0e-6d*toSite, "Voronoi vertex is not equidistant for site "+cell.getSite());
+        }
+      }
+
+      if (cell.isBounded()) {
+        bounded++;
+
+        assertTrue(cell.getVolume() > 0.0d, "Unexpected volume for site "+cell.getSite());
+
+        // Signed volume of the closed cell with its first vertex as apex
+        int apex = 3*cell.getFaceVertex(0, 0);
+        double volume = 0.0d;
+        for(int face = 0; face < cell.getFaceCount(); face++) {
+          double signed = 0.0d;
+          for(int k = 2; k < cell.getFaceSize(face); k++) {
+            signed += tetrahedronVolume(centers, apex, 3*cell.getFaceVertex(face, 0), 3*cell.getFaceVertex(face, k-1), 3*cell.getFaceVertex(face, k));
+          }
+
+          // The faces are not consistently oriented, the orientation is given by the site side
+          Point3D neighbor = tetrahedralization.getPoint(cell.getFaceNeighbor(face));
+          double dx = neighbor.getX() - site.getX();
+          double dy = neighbor.getY() - site.getY();
+          double dz = neighbor.getZ() - site.getZ();
+          int a = 3*cell.getFaceVertex(face, 0);
+          int b = 3*cell.getFaceVertex(face, 1);
+          int c = 3*cell.getFaceVertex(face, 2);
+          double nx = (centers[b+1] - centers[a+1])*(centers[c+2] - centers[a+2]) - (centers[b+2] - centers[a+2])*(centers[c+1] - centers[a+1]);
+          double ny = (centers[b+2] - centers[a+2])*(centers[c]   - centers[a])   - (centers[b]   - centers[a])  *(centers[c+2] - centers[a+2]);
+          double nz = (centers[b]   - centers[a])  *(centers[c+1] - centers[a+1]) - (centers[b+1] - centers[a+1])*(centers[c]   - centers[a]);
+
+          volume += (nx*dx + ny*dy + nz*dz > 0.0d) ? signed : -signed;
+        }
+
+        assertEquals(cell.getVolume(), volume, 1.0e-6d*cell.getVolume(), "Volume depends on the apex for site "+cell.getSite());
+      } else {
+        assertEquals(Double.POSITIVE_INFINITY, cell.getVolume(), "Unexpected volume for an unbounded cell");
+      }
+    }
+
+    assertTrue(bounded > 0, "No bounded cell");
+  }
+
+  /**
+   * Create random points within a cube.
+   * @param count the number of points.
+   * @param seed the random seed.
+   * @return the points.
+   */
+  static Point3DContainer<Point3D> randomPoints(int count, long seed) {
+
+    Random random = new Random(seed);
+
+    Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(count);
+    for(int i = 0; i < count; i++) {
+      points.add(JeometryFactory.createPoint3D(100.0d*random.nextDouble(), 100.0d*random.nextDouble(), 100.0d*random.nextDouble()));
+    }
+
+    return points;
+  }
+
+  /**
+   * Check that two cells are the same.
+   * @param expected the expected cell.
+   * @param actual the actual cell.
+   */
+  private static void assertSameCell(VoronoiCell expected, VoronoiCell actual) {
+
+    assertEquals(expected.getSite(), actual.getSite(), "Unexpected site");
+    assertEquals(expected.isBounded(), actual.isBounded(), "Unexpected bounded state for site "+expected.getSite());
+    assertEquals(expected.getVolume(), actual.getVolume(), "Unexpected volume for site "+expected.getSite());
+    assertEquals(expected.getFaceCount(), actual.getFaceCount(), "Unexpected faces count for site "+expected.getSite());
+
+    for(int face = 0; face < expected.getFaceCount(); face++) {
+      assertEquals(expected.getFaceNeighbor(face), actual.getFaceNeighbor(face), "Unexpected face neighbor for site "+expected.getSite());
+      assertEquals(expected.getFaceSize(face), actual.getFaceSize(face), "Unexpected face size for site "+expected.getSite());
+      for(int position = 0; position < expected.getFaceSize(face); position++) {
+        assertEquals(expected.getFaceVertex(face, position), actual.getFaceVertex(face, position), "Unexpected face vertex for site "+expected.getSite());
+      }
+    }
+  }
+
+  /**
+   * Compute the distance between a point stored within an array and a point.
+   * @param coordinates the coordinates array.
+   * @param offset the offset of the first point.
+   * @param point the second point.
+   * @return the distance between the points.
+   */
+  private static double distance(double[] coordinates, int offset, Point3D point) {
+    double dx = coordinates[offset]   - point.getX();
+    double dy = coordinates[offset+1] - point.getY();
+    double dz = coordinates[offset+2] - point.getZ();
+    return Math.sqrt(dx*dx + dy*dy + dz*dz);
+  }
+
+  /**
+   * Compute the signed volume of the tetrahedron whose vertices are stored within an array.
+   * @param coordinates the coordinates array.
+   * @param a the offset of the first vertex.
+   * @param b the offset of the second vertex.
+   * @param c the offset of the third vertex.
+   * @param d the offset of the fourth vertex.
+   * @return the signed volume of the tetrahedron.
+   */
+  private static double tetrahedronVolume(double[] coordinates, int a, int b, int c, int d) {
+
+    double bx = coordinates[b]   - coordinates[a];
+    double by = coordinates[b+1] - coordinates[a+1];
+    double bz = coordinates[b+2] - coordinates[a+2];
+    double cx = coordinates[c]   - coordinates[a];
+    double cy = coordinates[c+1] - coordinates[a+1];
+    double cz = coordinates[c+2] - coordinates[a+2];
+    double dx = coordinates[d]   - coordinates[a];
+    double dy = coordinates[d+1] - coordinates[a+1];
+    double dz = coordinates[d+2] - coordinates[a+2];
+
+    return (bx*(cy*dz - cz*dy) + by*(cz*dx - cx*dz) + bz*(cx*dy - cy*dx)) / 6.0d;
+  }
+}
@@ -0,0 +1,212 @@
+package org.jeometry.geom3D.algorithm.fitting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link MomentAccumulator} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class MomentAccumulatorTest {
+
+	/**
+	 * Test the accumulated moments against a two pass computation, on points that are far from the origin.
+	 */
+	@Test
+	public void addTest() {
+
+		double[] coordinates = coordinates(10000, 1.0e8d, 1);
+
+		MomentAccumulator accumulator = new MomentAccumulator().addAll(coordinates, 0, 10000);
+
+		assertEquals(10000L, accumulator.getCount(), "Unexpected count");
+
+		double[] mean = new double[3];
+		double[] covariance = new double[9];
+		double[] min = new double[] {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+		double[] max = new double[] {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+		for(int i = 0; i < 10000; i++) {
+			for(int j = 0; j < 3; j++) {
+				mean[j] += coordinates[3*i+j] / 10000;
+				min[j] = Math.min(min[j], coordinates[3*i+j]);
+				max[j] = Math.max(max[j], coordinates[3*i+j]);
+			}
+		}
+		for(int i = 0; i < 10000; i++) {
+			for(int j = 0; j < 3; j++) {
+				for(int k = 0; k < 3; k++) {
+					covariance[3*j+k] += (coordinates[3*i+j] - mean[j])*(coordinates[3*i+k] - mean[k]) / 10000;
+				}
+			}
+		}
+
+		assertSameMoments(mean, covariance, accumulator, 1.0e-6d);
+
+		double[] bound = new double[3];
+		accumulator.getMin(bound);
+		for(int j = 0; j < 3; j++) {
+			assertEquals(min[j], bound[j], 0.0d, "Unexpected minimal coordinate");
+		}
+		accumulator.getMax(bound);
+		for(int j = 0; j < 3; j++) {
+			assertEquals(max[j], bound[j], 0.0d, "Unexpected maximal coordinate");
+		}
+
+		// The variances are the ones of the generated distribution (standard deviations 3, 2 and 1)
+		assertEquals(9.0d, covariance[0], 0.5d, "Unexpected x variance");
+		assertEquals(4.0d, covariance[4], 0.2d, "Unexpected y variance");
+		assertEquals(1.0d, covariance[8], 0.05d, "Unexpected z variance");
+	}
+
+	/**
+	 * Test that merging partial accumulators and accumulating over several threads give the moments of a sequential accumulation.
+	 */
+	@Test
+	public void mergeTest() {
+
+		int size = 3*MomentAccumulator.MINIMAL_CHUNK_SIZE + 17;
+
+		double[] coordinates = coordinates(size, 1000.0d, 2);
+
+		Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(size);
+		for(int i = 0; i < size; i++) {
+			points.add(JeometryFactory.createPoint3D(coordinates[3*i], coordinates[3*i+1], coordinates[3*i+2]));
+		}
+
+		MomentAccumulator expected = new MomentAccumulator().addAll(points.iterator());
+
+		double[] mean = expected.getMean(new double[3]);
+		double[] covariance = expected.getCovariance(new double[9]);
+
+		// Unbalanced partial accumulators, including an empty one
+		MomentAccumulator merged = new MomentAccumulator().merge(new MomentAccumulator())
+				.merge(new MomentAccumulator().addAll(coordinates, 0, 10))
+				.merge(new MomentAccumulator().addAll(coordinates, 10, size / 2).copy())
+				.merge(new MomentAccumulator().addAll(coordinates, size / 2, size));
+
+		assertEquals(size, merged.getCount(), "Unexpected merged count");
+		assertSameMoments(mean, covariance, merged, 1.0e-9d);
+
+		MomentAccumulator parallel = MomentAccumulator.accumulate(points, 4);
+
+		assertEquals(size, parallel.getCount(), "Unexpected parallel count");
+		assertSameMoments(mean, covariance, parallel, 1.0e-9d);
+
+		assertThrows(IllegalArgumentException.class, () -> MomentAccumulator.accumulate(null, 1), "Null points accepted");
+		assertThrows(IllegalArgumentException.class, () -> MomentAccumulator.accumulate(points, 0), "Invalid parallelism accepted");
+	}
+
+	/**
+	 * Test the principal axes and the least squares plane of the accumulated points.
+	 */
+	@Test
+	public void getPlaneTest() {
+
+		MomentAccumulator accumulator = new MomentAccumulator();
+
+		Random random = new Random(3);
+
+		// Points on the plane z = 2 spread along the (1, 1, 0) direction
+		for(int i = 0; i < 1000; i++) {
+			double u = 10.0d*random.nextGaussian();
+			double v = random.nextGaussian();
+			accumulator.add(JeometryFactory.createPoint3D(5.0d + u + v, -3.0d + u - v, 2.0d));
+		}
+
+		double[] variances = new double[3];
+		double[] axes = accumulator.getPrincipalAxes(variances, new double[9]);
+
+		assertTrue((variances[0] >= variances[1]) && (variances[1] >= variances[2]), "Variances are not sorted");
+		assertEquals(0.0d, variances[2], 1.0e-9d, "Unexpected smallest variance");
+		assertEquals(1.0d, Math.abs(axes[0] + axes[1]) / Math.sqrt(2.0d), 1.0e-3d, "Unexpected first axis");
+		assertEquals(1.0d, Math.abs(axes[8]), 1.0e-9d, "Unexpected third axis");
+
+		assertEquals(1.0d, Math.abs(accumulator.getPlane().getPlaneNormal().getZ()), 1.0e-9d, "Unexpected plane normal");
+		assertEquals(2.0d, accumulator.getPlane().getPlaneOrigin().getZ(), 1.0e-9d, "Unexpected plane origin");
+	}
+
+	/**
+	 * Test the moments of an empty and of a degenerated accumulator.
+	 */
+	@Test
+	public void emptyTest() {
+
+		MomentAccumulator accumulator = new MomentAccumulator();
+
+		assertEquals(0L, accumulator.getCount(), "Unexpected count");
+		assertNull(accumulator.getCentroid(), "Centroid of an empty accumulator");
+		assertNull(accumulator.getPrincipalAxes(new double[3], new double[9]), "Axes of an empty accumulator");
+		assertNull(accumulator.getPlane(), "Plane of an empty accumulator");
+		assertTrue(Double.isNaN(accumulator.getMean(new double[3])[0]), "Mean of an empty accumulator");
+		assertTrue(Double.isNaN(accumulator.getCovariance(new double[9])[0]), "Covariance of an empty accumulator");
+		assertEquals(Double.POSITIVE_INFINITY, accumulator.getMin(new double[3])[0], "Minimum of an empty accumulator");
+
+		// Coincident points
+		for(int i = 0; i < 10; i++) {
+			accumulator.add(1.0d, 2.0d, 3.0d);
+		}
+		accumulator.add(null);
+
+		assertEquals(10L, accumulator.getCount(), "Null point accumulated");
+		assertNull(accumulator.getPlane(), "Plane of coincident points");
+
+		accumulator.reset();
+		assertEquals(0L, accumulator.getCount(), "Accumulator is not reset");
+		assertNull(accumulator.getCentroid(), "Centroid of a reset accumulator");
+	}
+
+	/**
+	 * Check that an accumulator has the given moments.
+	 * @param mean the expected mean.
+	 * @param covariance the expected covariance.
+	 * @param accumulator the accumulator.
+	 * @param epsilon the relative tolerance.
+	 */
+	private static void assertSameMoments(double[] mean, double[] covariance, MomentAccumulator accumulator, double epsilon) {
+
+		double[] actualMean = accumulator.getMean(new double[3]);
+		double[] actualCovariance = accumulator.getCovariance(new double[9]);
+
+		for(int j = 0; j < 3; j++) {
+			assertEquals(mean[j], actualMean[j], epsilon*Math.max(1.0d, Math.abs(mean[j])), "Unexpected mean");
+		}
+
+		for(int j = 0; j < 9; j++) {
+			assertEquals(covariance[j], actualCovariance[j], epsilon*Math.max(1.0d, Math.abs(covariance[j])), "Unexpected covariance");
+		}
+	}
+
+	/**
+	 * Create coordinates that are normally distributed around the location <code>(offset, -offset, offset)</code>
+	 * with standard deviations 3, 2 and 1 along the axes.
+	 * @param count the number of points.
+	 * @param offset the distribution offset.
+	 * @param seed the random seed.
+	 * @return the coordinates.
+	 */
+	private static double[] coordinates(int count, double offset, long seed) {
+
+		Random random = new Random(seed);
+
+		double[] coordinates = new double[3*count];
+		for(int i = 0; i < count; i++) {
+			coordinates[3*i]   =  offset + 3.0d*random.nextGaussian();
+			coordinates[3*i+1] = -offset + 2.0d*random.nextGaussian();
+			coordinates[3*i+2] =  offset + random.nextGaussian();
+		}
+
+		return coordinates;
+	}
+}
@@ -0,0 +1,152 @@
+package org.jeometry.geom3D.algorithm.fitting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link NormalEstimation} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class NormalEstimationTest {
+
+	/**
+	 * The radius of the test sphere.
+	 */
+	private static final double RADIUS = 10.0d;
+
+	/**
+	 * Test that the normals estimated on a sphere are radial and that the orientation methods orient them consistently.
+	 */
+	@Test
+	public void estimateSphereTest() {
+
+		Point3DContainer<Point3D> points = sphere(3000, 1);
+
+		NormalEstimation estimation = new NormalEstimation(12);
+
+		// Not oriented normals are radial
+		double[] normals = estimation.estimate(points);
+		for(int i = 0; i < points.size(); i++) {
+			assertEquals(1.0d, Math.abs(radialDot(points.get(i), normals, i)), 1.0e-2d, "Normal "+i+" is not radial");
+			assertEquals(1.0d, Math.sqrt(normals[3*i]*normals[3*i] + normals[3*i+1]*normals[3*i+1] + normals[3*i+2]*normals[3*i+2]), 1.0e-9d, "Normal "+i+" is not a unit vector");
+		}
+
+		// Normals oriented toward the sphere center point inward
+		estimation.setOrientation(NormalEstimation.ORIENTATION_VIEWPOINT);
+		estimation.setViewPoint(0.0d, 0.0d, 0.0d);
+		normals = estimation.estimate(points);
+		for(int i = 0; i < points.size(); i++) {
+			assertTrue(radialDot(points.get(i), normals, i) < 0.0d, "Normal "+i+" is not oriented toward the view point");
+		}
+
+		// Propagated normals are oriented as the normal of the highest point, that is toward +z
+		estimation.setOrientation(NormalEstimation.ORIENTATION_PROPAGATION);
+		normals = estimation.estimate(points);
+		for(int i = 0; i < points.size(); i++) {
+			assertTrue(radialDot(points.get(i), normals, i) > 0.0d, "Normal "+i+" orientation is not propagated");
+		}
+	}
+
+	/**
+	 * Test that the surface variation is null on a plane and that the estimation does not depend on the number of threads.
+	 */
+	@Test
+	public void estimatePlaneTest() {
+
+		Random random = new Random(2);
+
+		Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(3*NormalEstimation.MINIMAL_CHUNK_SIZE);
+		for(int i = 0; i < 3*NormalEstimation.MINIMAL_CHUNK_SIZE; i++) {
+			double x = 100.0d*random.nextDouble();
+			double y = 100.0d*random.nextDouble();
+			points.add(JeometryFactory.createPoint3D(x, y, 0.5d*x - 0.25d*y + 3.0d));
+		}
+
+		NormalEstimation estimation = new NormalEstimation();
+		estimation.setParallelism(1);
+
+		double[] curvatures = new double[points.size()];
+		double[] expected   = estimation.estimate(points, null, curvatures);
+
+		double nz = 1.0d / Math.sqrt(0.25d + 0.0625d + 1.0d);
+		for(int i = 0; i < points.size(); i++) {
+			assertEquals(0.0d, curvatures[i], 1.0e-9d, "Unexpected surface variation of point "+i);
+			assertEquals(1.0d, Math.abs(-0.5d*nz*expected[3*i] + 0.25d*nz*expected[3*i+1] + nz*expected[3*i+2]), 1.0e-9d, "Unexpected normal of point "+i);
+		}
+
+		estimation.setParallelism(4);
+		double[] actual = estimation.estimate(points, new double[3*points.size()], null);
+		for(int i = 0; i < 3*points.size(); i++) {
+			assertEquals(expected[i], actual[i], 0.0d, "Parallel estimation differs");
+		}
+	}
+
+	/**
+	 * Test the estimation on degenerated inputs.
+	 */
+	@Test
+	public void estimateDegeneratedTest() {
+
+		NormalEstimation estimation = new NormalEstimation();
+
+		assertThrows(IllegalArgumentException.class, () -> estimation.estimate(null), "Null points accepted");
+		assertThrows(IllegalArgumentException.class, () -> estimation.estimate(sphere(10, 3), new double[3], null), "Too small normals array accepted");
+		assertThrows(IllegalArgumentException.class, () -> new NormalEstimation(1), "Invalid neighbor count accepted");
+		assertThrows(IllegalArgumentException.class, () -> estimation.setOrientation(3), "Invalid orientation accepted");
+		assertThrows(IllegalArgumentException.class, () -> estimation.setParallelism(0), "Invalid parallelism accepted");
+
+		// Two points do not have enough neighbors
+		Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(2);
+		points.add(JeometryFactory.createPoint3D(0.0d, 0.0d, 0.0d));
+		points.add(JeometryFactory.createPoint3D(1.0d, 0.0d, 0.0d));
+
+		double[] normals = estimation.estimate(points);
+		for(double value : normals) {
+			assertTrue(Double.isNaN(value), "Normal of a point without enough neighbors");
+		}
+	}
+
+	/**
+	 * Create points that are uniformly distributed on a sphere centered on the origin.
+	 * @param count the number of points.
+	 * @param seed the random seed.
+	 * @return the points.
+	 */
+	private static Point3DContainer<Point3D> sphere(int count, long seed) {
+
+		Random random = new Random(seed);
+
+		Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(count);
+		for(int i = 0; i < count; i++) {
+			double x = random.nextGaussian();
+			double y = random.nextGaussian();
+			double z = random.nextGaussian();
+			double norm = Math.sqrt(x*x + y*y + z*z);
+			points.add(JeometryFactory.createPoint3D(RADIUS*x/norm, RADIUS*y/norm, RADIUS*z/norm));
+		}
+
+		return points;
+	}
+
+	/**
+	 * Compute the dot product between the normal of a sphere point and its radial direction.
+	 * @param point the sphere point.
+	 * @param normals the normals.
+	 * @param index the index of the point.
+	 * @return the dot product.
+	 */
+	private static double radialDot(Point3D point, double[] normals, int index) {
+		return (point.getX()*normals[3*index] + point.getY()*normals[3*index+1] + point.getZ()*normals[3*index+2]) / RADIUS;
+	}
+}
@@ -0,0 +1,95 @@
+package org.jeometry.geom3D.algorithm.fitting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.jeometry.geom3D.primitive.Plane;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link PlaneFitting} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class PlaneFittingTest {
+
+	/**
+	 * Test the plane fitted on noisy points sampled around the plane <code>x + 2y - 2z = 6</code>.
+	 */
+	@Test
+	public void fitTest() {
+
+		Random random = new Random(1);
+
+		// Unit normal of the plane and two directions within the plane
+		double[] normal = new double[] {1.0d/3.0d, 2.0d/3.0d, -2.0d/3.0d};
+		double[] u      = new double[] {2.0d/3.0d, 1.0d/3.0d, 2.0d/3.0d};
+		double[] v      = new double[] {2.0d/3.0d, -2.0d/3.0d, -1.0d/3.0d};
+
+		Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(5000);
+		for(int i = 0; i < 5000; i++) {
+			double a = 100.0d*(random.nextDouble() - 0.5d);
+			double b = 50.0d*(random.nextDouble() - 0.5d);
+			double n = 2.0d + 0.01d*random.nextGaussian();
+			points.add(JeometryFactory.createPoint3D(a*u[0] + b*v[0] + n*normal[0], a*u[1] + b*v[1] + n*normal[1], a*u[2] + b*v[2] + n*normal[2]));
+		}
+
+		Plane<Point3D> plane = PlaneFitting.fit(points);
+
+		assertNotNull(plane, "No plane fitted");
+
+		Point3D fitted = plane.getPlaneNormal();
+		double norm = Math.sqrt(fitted.getX()*fitted.getX() + fitted.getY()*fitted.getY() + fitted.getZ()*fitted.getZ());
+		double dot  = (fitted.getX()*normal[0] + fitted.getY()*normal[1] + fitted.getZ()*normal[2]) / norm;
+		assertEquals(1.0d, Math.abs(dot), 1.0e-6d, "Unexpected plane normal");
+
+		// The plane origin is the points centroid, that lies on the plane
+		Point3D origin = plane.getPlaneOrigin();
+		assertEquals(2.0d, origin.getX()*normal[0] + origin.getY()*normal[1] + origin.getZ()*normal[2], 1.0e-3d, "Plane origin is not on the plane");
+
+		// The deprecated parameters are ignored
+		Plane<Point3D> other = PlaneFitting.fit(points, 1, 1.0d);
+		assertEquals(fitted.getX(), other.getPlaneNormal().getX(), 0.0d, "Iteration parameters are not ignored");
+		assertEquals(fitted.getY(), other.getPlaneNormal().getY(), 0.0d, "Iteration parameters are not ignored");
+		assertEquals(fitted.getZ(), other.getPlaneNormal().getZ(), 0.0d, "Iteration parameters are not ignored");
+	}
+
+	/**
+	 * Test the fitting on degenerated point sets.
+	 */
+	@Test
+	public void fitDegeneratedTest() {
+
+		assertNull(PlaneFitting.fit(null), "Plane fitted on null points");
+
+		Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(3);
+		points.add(JeometryFactory.createPoint3D(1.0d, 2.0d, 3.0d));
+		points.add(JeometryFactory.createPoint3D(4.0d, 5.0d, 6.0d));
+		assertNull(PlaneFitting.fit(points), "Plane fitted on two points");
+
+		// Coincident points
+		points = JeometryFactory.createPoint3DContainer(3);
+		for(int i = 0; i < 3; i++) {
+			points.add(JeometryFactory.createPoint3D(1.0d, 2.0d, 3.0d));
+		}
+		assertNull(PlaneFitting.fit(points), "Plane fitted on coincident points");
+
+		// Three exact points
+		points = JeometryFactory.createPoint3DContainer(3);
+		points.add(JeometryFactory.createPoint3D(0.0d, 0.0d, 5.0d));
+		points.add(JeometryFactory.createPoint3D(1.0d, 0.0d, 5.0d));
+		points.add(JeometryFactory.createPoint3D(0.0d, 1.0d, 5.0d));
+
+		Plane<Point3D> plane = PlaneFitting.fit(points);
+		assertNotNull(plane, "No plane fitted on three points");
+		assertEquals(1.0d, Math.abs(plane.getPlaneNormal().getZ()), 1.0e-12d, "Unexpected plane normal");
+	}
+}
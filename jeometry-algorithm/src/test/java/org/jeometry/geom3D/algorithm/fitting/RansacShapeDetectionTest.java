@@ -0,0 +1,101 @@
+package org.jeometry.geom3D.algorithm.fitting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link RansacShapeDetection} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class RansacShapeDetectionTest {
+
+	/**
+	 * Test that a noisy plane is detected as a plane when both planes and spheres are searched.
+	 */
+	@Test
+	public void detectPlaneTest() {
+
+		for(int seed = 0; seed < 10; seed++) {
+
+			Random random = new Random(seed);
+
+			Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(300);
+			for(int i = 0; i < 300; i++) {
+				points.add(JeometryFactory.createPoint3D(10.0d * random.nextDouble(), 5.0d + 0.01d * random.nextGaussian(), 10.0d * random.nextDouble()));
+			}
+
+			RansacShapeDetection detection = new RansacShapeDetection(0.01d, 30);
+			detection.setShapeTypes(DetectedShape.PLANE | DetectedShape.SPHERE);
+			detection.setSeed(seed);
+
+			DetectedShape shape = detection.detect(points);
+
+			assertNotNull(shape, "No shape detected");
+			assertEquals(DetectedShape.PLANE, shape.getType(), "Plane detected as "+shape);
+			assertEquals(1.0d, Math.abs(shape.getParameters()[1]), 1.0e-3d, "Unexpected plane normal");
+		}
+	}
+
+	/**
+	 * Test the detection of a sphere and a plane within the same cloud.
+	 */
+	@Test
+	public void detectAllTest() {
+
+		Random random = new Random(2);
+
+		Point3DContainer<Point3D> points = JeometryFactory.createPoint3DContainer(8000);
+
+		// A plane z = 0 and a sphere of radius 2 above it
+		for(int i = 0; i < 4000; i++) {
+			points.add(JeometryFactory.createPoint3D(20.0d * random.nextDouble() - 10.0d, 20.0d * random.nextDouble() - 10.0d, 0.002d * (random.nextDouble() - 0.5d)));
+		}
+
+		for(int i = 0; i < 4000; i++) {
+			double x = random.nextGaussian();
+			double y = random.nextGaussian();
+			double z = random.nextGaussian();
+			double scale = (2.0d + 0.002d * (random.nextDouble() - 0.5d)) / Math.sqrt(x*x + y*y + z*z);
+			points.add(JeometryFactory.createPoint3D(1.0d + scale * x, -1.0d + scale * y, 5.0d + scale * z));
+		}
+
+		RansacShapeDetection detection = new RansacShapeDetection(0.01d, 500);
+		detection.setShapeTypes(DetectedShape.PLANE | DetectedShape.SPHERE);
+
+		List<DetectedShape> shapes = detection.detectAll(points);
+
+		assertEquals(2, shapes.size(), "Unexpected shape count");
+
+		int planes = 0;
+		for(DetectedShape shape : shapes) {
+			assertEquals(4000, shape.getInlierCount(), "Unexpected inlier count of "+shape);
+			if (shape.getType() == DetectedShape.PLANE) {
+				planes++;
+			} else {
+				double[] parameters = shape.getParameters();
+				assertEquals(1.0d,  parameters[0], 1.0e-2d, "Unexpected sphere center");
+				assertEquals(-1.0d, parameters[1], 1.0e-2d, "Unexpected sphere center");
+				assertEquals(5.0d,  parameters[2], 1.0e-2d, "Unexpected sphere center");
+				assertEquals(2.0d,  parameters[3], 1.0e-2d, "Unexpected sphere radius");
+			}
+		}
+
+		assertEquals(1, planes, "Unexpected plane count");
+
+		assertThrows(IllegalArgumentException.class, () -> detection.setRadiusRatio(0.0d), "Null radius ratio accepted");
+		assertTrue(detection.getRadiusRatio() > 0.0d, "Invalid radius ratio");
+	}
+}
@@ -0,0 +1,122 @@
+package org.jeometry.geom3D.algorithm.fitting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.jeometry.Jeometry;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link SymmetricEigen3x3} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class SymmetricEigen3x3Test {
+
+	/**
+	 * Test the decomposition of random symmetric matrices.
+	 */
+	@Test
+	public void decomposeTest() {
+
+		Random random = new Random(1);
+
+		double[] eigenvalues  = new double[3];
+		double[] eigenvectors = new double[9];
+
+		for(int test = 0; test < 1000; test++) {
+
+			double[] matrix = new double[9];
+			for(int i = 0; i < 3; i++) {
+				for(int j = i; j < 3; j++) {
+					matrix[3*i+j] = 10.0d*random.nextGaussian();
+					matrix[3*j+i] = matrix[3*i+j];
+				}
+			}
+
+			assertSame(eigenvalues, SymmetricEigen3x3.decompose(matrix, eigenvalues, eigenvectors), "Given eigenvalues array is not returned");
+
+			checkDecomposition(matrix, eigenvalues, eigenvectors);
+		}
+	}
+
+	/**
+	 * Test the decomposition of degenerated matrices (repeated eigenvalues, singular matrices).
+	 */
+	@Test
+	public void decomposeDegeneratedTest() {
+
+		double[] eigenvalues  = new double[3];
+		double[] eigenvectors = new double[9];
+
+		// Zero matrix
+		double[] matrix = new double[9];
+		SymmetricEigen3x3.decompose(matrix, eigenvalues, eigenvectors);
+		checkDecomposition(matrix, eigenvalues, eigenvectors);
+
+		// Repeated eigenvalues
+		matrix = new double[] {2.0d, 0.0d, 0.0d, 0.0d, 1.0d, 0.0d, 0.0d, 0.0d, 2.0d};
+		SymmetricEigen3x3.decompose(matrix, eigenvalues, eigenvectors);
+		checkDecomposition(matrix, eigenvalues, eigenvectors);
+		assertEquals(2.0d, eigenvalues[0], 1.0e-12d, "Unexpected eigenvalue");
+		assertEquals(2.0d, eigenvalues[1], 1.0e-12d, "Unexpected eigenvalue");
+		assertEquals(1.0d, eigenvalues[2], 1.0e-12d, "Unexpected eigenvalue");
+		assertEquals(1.0d, Math.abs(eigenvectors[7]), 1.0e-12d, "Unexpected eigenvector for the smallest eigenvalue");
+
+		// Rank one matrix u.u^T, with u = (1, 2, 3)
+		matrix = new double[] {1.0d, 2.0d, 3.0d, 2.0d, 4.0d, 6.0d, 3.0d, 6.0d, 9.0d};
+		SymmetricEigen3x3.decompose(matrix, eigenvalues, eigenvectors);
+		checkDecomposition(matrix, eigenvalues, eigenvectors);
+		assertEquals(14.0d, eigenvalues[0], 1.0e-12d, "Unexpected eigenvalue");
+		assertEquals(0.0d,  eigenvalues[1], 1.0e-12d, "Unexpected eigenvalue");
+		assertEquals(0.0d,  eigenvalues[2], 1.0e-12d, "Unexpected eigenvalue");
+
+		// Nearly repeated eigenvalues with a large magnitude
+		matrix = new double[] {1.0e8d, 1.0e-4d, 0.0d, 1.0e-4d, 1.0e8d, 0.0d, 0.0d, 0.0d, -1.0e8d};
+		SymmetricEigen3x3.decompose(matrix, eigenvalues, eigenvectors);
+		checkDecomposition(matrix, eigenvalues, eigenvectors);
+
+		assertThrows(IllegalArgumentException.class, () -> SymmetricEigen3x3.decompose(new double[8], new double[3], new double[9]), "Invalid matrix accepted");
+		assertThrows(IllegalArgumentException.class, () -> SymmetricEigen3x3.decompose(null, new double[3], new double[9]), "Null matrix accepted");
+	}
+
+	/**
+	 * Check that the given decomposition is sorted, orthonormal, direct and that <i>A</i>&nbsp;<i>v</i>&nbsp;=&nbsp;&lambda;&nbsp;<i>v</i> for each eigenvector.
+	 * @param matrix the decomposed matrix, as a row major <code>double[9]</code> array.
+	 * @param eigenvalues the eigenvalues.
+	 * @param eigenvectors the eigenvectors.
+	 */
+	private static void checkDecomposition(double[] matrix, double[] eigenvalues, double[] eigenvectors) {
+
+		double norm = 0.0d;
+		for(double value : matrix) {
+			norm = Math.max(norm, Math.abs(value));
+		}
+		double tolerance = 1.0e-12d * Math.max(1.0d, norm);
+
+		assertTrue(eigenvalues[0] >= eigenvalues[1], "Eigenvalues are not sorted");
+		assertTrue(eigenvalues[1] >= eigenvalues[2], "Eigenvalues are not sorted");
+
+		for(int k = 0; k < 3; k++) {
+			for(int i = 0; i < 3; i++) {
+				double product = matrix[3*i]*eigenvectors[3*k] + matrix[3*i+1]*eigenvectors[3*k+1] + matrix[3*i+2]*eigenvectors[3*k+2];
+				assertEquals(eigenvalues[k]*eigenvectors[3*k+i], product, 10.0d*tolerance, "A.v is not lambda.v for eigenvalue "+k);
+			}
+
+			for(int l = 0; l < 3; l++) {
+				double dot = eigenvectors[3*k]*eigenvectors[3*l] + eigenvectors[3*k+1]*eigenvectors[3*l+1] + eigenvectors[3*k+2]*eigenvectors[3*l+2];
+				assertEquals(k == l ? 1.0d : 0.0d, dot, 1.0e-12d, "Eigenvectors are not orthonormal");
+			}
+		}
+
+		double triple = eigenvectors[6]*(eigenvectors[1]*eigenvectors[5] - eigenvectors[2]*eigenvectors[4])
+				+ eigenvectors[7]*(eigenvectors[2]*eigenvectors[3] - eigenvectors[0]*eigenvectors[5])
+				+ eigenvectors[8]*(eigenvectors[0]*eigenvectors[4] - eigenvectors[1]*eigenvectors[3]);
+		assertEquals(1.0d, triple, 1.0e-12d, "Eigenvectors frame is not direct");
+	}
+}
@@ -901,6 +901,24 @@ public class JeometryFactory {
 		}
 	}
 
+	/**
+	 * Create a new {@link IndexedTriangleMesh indexed triangle mesh} made of the given triangles and that relies on the given vertices source.
+	 * The triangle <code>f</code> is made of the vertices whose indices are stored from offset <code>3*f</code> of the given array.
+	 * @param <T> The type of underlying 3D points
+	 * @param triangles the triangles vertex indices (at least <code>3*faceCount</code> values)
+	 * @param faceCount the number of triangles
+	 * @param source the indexed mesh vertices source
+	 * @return a new {@link IndexedTriangleMesh indexed triangle mesh}
+	 * @since 2.0.1
+	 */
+	public static <T extends Point3D> IndexedTriangleMesh<T> createIndexedTriangleMesh(int[] triangles, int faceCount, Point3DContainer<T> source){
+		if (meshBuilder != null) {
+			return meshBuilder.createIndexedTriangleMesh(triangles, faceCount, source);
+		} else {
+			throw new IllegalStateException("No mesh builder available.");
+		}
+	}
+
 	/**
 	 * Create an {@link IndexedFace indexed face} made of the vertices designed by the given indices.
 	 * The returned object is also an instance of {@link Texturable} interface
@@ -1047,8 +1065,11 @@ public class JeometryFactory {
 	 * @return a default {@link Plane} 
 	 */
 	public static <T extends Point3D> Plane<T> createPlane(){
-		// TODO Implements GeometryFactory.createPlane()
-		return null;
+		if (primitiveBuilder != null) {
+			return primitiveBuilder.createPlane();
+		} else {
+			throw new IllegalStateException("No primitive builder available.");
+		}
 	}
 
 	/**
@@ -1073,8 +1094,11 @@ public class JeometryFactory {
 	 * @return a new {@link Plane} with the given parameters
 	 */
 	public static <T extends Point3D> Plane<T> createPlane(T origin, T normal){
-		// TODO Implements GeometryFactory.createPlane(T, T)
-		return null;
+		if (primitiveBuilder != null) {
+			return primitiveBuilder.createPlane(origin, normal);
+		} else {
+			throw new IllegalStateException("No primitive builder available.");
+		}
 	}
 
 	/**
@@ -1085,8 +1109,11 @@ public class JeometryFactory {
 	 * @return a new axis aligned {@link Box box}
 	 */
 	public static <T extends Point3D> Box createBox(T min, T max) {
-		// TODO implements createBox(T min, T max)
-		return null;
+		if (primitiveBuilder != null) {
+			return primitiveBuilder.createBox(min, max);
+		} else {
+			throw new IllegalStateException("No primitive builder available.");
+		}
 	}
 
 	/**
@@ -176,6 +176,34 @@ public interface MeshBuilder {
 	 */
 	public <T extends Point3D> IndexedTriangleMesh<T> createIndexedTriangleMesh(int size, Point3DContainer<T> source);
 
+	/**
+	 * Create a new {@link IndexedTriangleMesh indexed triangle mesh} made of the given triangles and that relies on the given vertices source.
+	 * The triangle <code>f</code> is made of the vertices whose indices are stored from offset <code>3*f</code> of the given array.
+	 * Implementations are encouraged to store the triangles within a primitive array instead of one object per triangle.
+	 * The default implementation {@link #createIndexedTriangleMesh(int, Point3DContainer) creates a mesh} with the given capacity and
+	 * {@link IndexedTriangleMesh#addTriangle(int[]) adds} the triangles one by one.
+	 * @param <T> The type of underlying 3D points
+	 * @param triangles the triangles vertex indices (at least <code>3*faceCount</code> values)
+	 * @param faceCount the number of triangles
+	 * @param source the indexed mesh vertices source
+	 * @return a new {@link IndexedTriangleMesh indexed triangle mesh}
+	 * @throws IllegalArgumentException if the triangles are <code>null</code> or if they cannot store <code>faceCount</code> triangles
+	 * @since 2.0.1
+	 */
+	public default <T extends Point3D> IndexedTriangleMesh<T> createIndexedTriangleMesh(int[] triangles, int faceCount, Point3DContainer<T> source) {
+
+		if ((triangles == null) || (faceCount < 0) || (triangles.length < 3*faceCount)) {
+			throw new IllegalArgumentException("Invalid triangles for "+faceCount+" faces.");
+		}
+
+		IndexedTriangleMesh<T> mesh = createIndexedTriangleMesh(faceCount, source);
+		for(int f = 0; f < faceCount; f++) {
+			mesh.addTriangle(new int[] {triangles[3*f], triangles[3*f+1], triangles[3*f+2]});
+		}
+
+		return mesh;
+	}
+
 	/**
 	 * Create an {@link IndexedFace indexed face} made of the vertices designed by the given indices.
 	 * The returned object is also an instance of {@link Texturable} interface.
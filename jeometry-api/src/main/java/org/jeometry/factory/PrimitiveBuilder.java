@@ -3,6 +3,9 @@ package org.jeometry.factory;
 import org.jeometry.Jeometry;
 import org.jeometry.geom2D.point.Point2D;
 import org.jeometry.geom2D.primitive.Ellipse2D;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.primitive.Box;
+import org.jeometry.geom3D.primitive.Plane;
 
 
 /**
@@ -33,4 +36,45 @@ public interface PrimitiveBuilder {
 	 * @see #createEllipse2D(Point2D, double, double, double)
 	 */
 	public Ellipse2D createEllipse2D(Point2D center, double semiMajorAxis, double semiMinorAxis);
+
+	/**
+	 * Create a default {@link Plane plane}.
+	 * The default implementation throws an {@link UnsupportedOperationException}, as builders written before version 2.0.1 do not provide planes.
+	 * @param <T> The type of underlying 3D points
+	 * @return a default {@link Plane plane}
+	 * @throws UnsupportedOperationException if the builder does not provide planes
+	 * @since 2.0.1
+	 */
+	public default <T extends Point3D> Plane<T> createPlane() {
+		throw new UnsupportedOperationException("Primitive builder "+getClass().getName()+" does not provide planes.");
+	}
+
+	/**
+	 * Create a new {@link Plane plane} with the given parameters.
+	 * The default implementation creates a {@link #createPlane() default plane} and {@link Plane#setPlaneParameters(Point3D, Point3D) sets} its parameters.
+	 * @param <T> The type of underlying 3D points
+	 * @param origin the origin of the plane
+	 * @param normal the normal to the plane
+	 * @return a new {@link Plane plane} created with the given parameters
+	 * @throws UnsupportedOperationException if the builder does not provide planes
+	 * @since 2.0.1
+	 */
+	public default <T extends Point3D> Plane<T> createPlane(T origin, T normal) {
+		Plane<T> plane = createPlane();
+		plane.setPlaneParameters(origin, normal);
+		return plane;
+	}
+
+	/**
+	 * Create a new axis aligned {@link Box box} with the given minimal and maximal vertices.
+	 * The default implementation throws an {@link UnsupportedOperationException}, as builders written before version 2.0.1 do not provide boxes.
+	 * @param min the minimal vertex
+	 * @param max the maximal vertex
+	 * @return a new axis aligned {@link Box box}
+	 * @throws UnsupportedOperationException if the builder does not provide boxes
+	 * @since 2.0.1
+	 */
+	public default Box createBox(Point3D min, Point3D max) {
+		throw new UnsupportedOperationException("Primitive builder "+getClass().getName()+" does not provide boxes.");
+	}
 }
@@ -1,14 +1,13 @@
 package org.jeometry.geom3D;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.List;
 
 import org.jeometry.Jeometry;
 import org.jeometry.factory.JeometryFactory;
 import org.jeometry.geom3D.mesh.Face;
 import org.jeometry.geom3D.mesh.Mesh;
+import org.jeometry.geom3D.point.CoordinatesPoint3DContainer;
 import org.jeometry.geom3D.point.Point3D;
 import org.jeometry.geom3D.point.Point3DContainer;
 import org.jeometry.geom3D.primitive.Box;
@@ -41,7 +40,8 @@ public class Geom3D {
   public static double EPSILON = 0.00000001d;
   
   /**
-   * Return <code>true</code> if the three points given in parameter are aligned.
+   * Return <code>true</code> if the three points given in parameter are aligned. The three points are aligned if their projections
+   * on the three coordinate planes are aligned, which is checked exactly using {@link Predicates#orient2d(double, double, double, double, double, double)}.
    * @param p1 the first point.
    * @param p2 the second point.
    * @param p3 the third point.
@@ -58,9 +58,9 @@ public class Geom3D {
     double y3 = p3.getY();
     double z3 = p3.getZ();
 
-    return (z3 - z1) * (y2 - y1) - (z2 - z1) * (y3 - y1) == 0 &&
-           (z2 - z1) * (x3 - x1) - (x2 - x1) * (z3 - z1) == 0 &&
-           (x2 - x1) * (y3 - y1) - (y2 - y1) * (x3 - x1) == 0;
+    return Predicates.orient2d(y1, z1, y2, z2, y3, z3) == 0 &&
+           Predicates.orient2d(z1, x1, z2, x2, z3, x3) == 0 &&
+           Predicates.orient2d(x1, y1, x2, y2, x3, y3) == 0;
   }
 
 
@@ -140,20 +140,48 @@ public class Geom3D {
   public static Point3D computeBarycenter(Point3DContainer<?> points){
     Point3D barycenter = null;
     if ((points != null)&&(points.size() >= 1)){
-      barycenter = JeometryFactory.createPoint3D();
-      barycenter.setX(0.0d);
-      barycenter.setY(0.0d);
-      barycenter.setZ(0.0d);
+      // Running mean, no intermediate point is allocated
+      double x = 0.0d;
+      double y = 0.0d;
+      double z = 0.0d;
+      long count = 0L;
       Iterator<? extends Point3D> iter = points.iterator();
       while(iter.hasNext()){
-        barycenter = barycenter.plus(iter.next());
+        Point3D point = iter.next();
+        count++;
+        x += (point.getX() - x) / count;
+        y += (point.getY() - y) / count;
+        z += (point.getZ() - z) / count;
       }
-      barycenter = barycenter.divide(points.size());
+      barycenter = JeometryFactory.createPoint3D(x, y, z);
     }  
 
     return barycenter;
   }
 
+  /**
+   * Get the coordinates of the given points within a flat array. If the container is a {@link CoordinatesPoint3DContainer}, its internal array is returned
+   * and should not be modified, otherwise the coordinates are copied within a new array.
+   * @param points the points.
+   * @return the coordinates of the points, the coordinates of the point <code>i</code> being stored from offset <code>3*i</code>.
+   */
+  public static double[] toCoordinates(Point3DContainer<?> points){
+
+    if (points instanceof CoordinatesPoint3DContainer) {
+      return ((CoordinatesPoint3DContainer<?>) points).getCoordinatesArray();
+    }
+
+    double[] coordinates = new double[3*points.size()];
+    for(int i = 0; i < points.size(); i++) {
+      Point3D point = points.get(i);
+      coordinates[3*i]   = point.getX();
+      coordinates[3*i+1] = point.getY();
+      coordinates[3*i+2] = point.getZ();
+    }
+
+    return coordinates;
+  }
+
   /**
    * Compute and return the volume of a box given in parameter.
    * @param box the box to use
@@ -163,7 +191,7 @@ public class Geom3D {
     if (box == null){
       return 0.0d;
     } else {
-      return box.getHeight()*box.getWidth()*box.getHeight();
+      return box.getWidth()*box.getHeight()*box.getLength();
     }
   }
   
@@ -268,6 +296,8 @@ public class Geom3D {
    * A point is inside a convex polyhedron if it is on the invisible side of all its faces. 
    * The computation of all the normals of the face and the scalar product with the vector given by the point
    * <code>p3d</code> and the barycenter of the face show if the point is on the visible side.
+   * The face planes are computed on the fly, when many points have to be checked against the same polyhedron,
+   * the planes should be computed once using {@link #computeFacePlanes(Mesh)}.
    * @param polyhedron the mesh that represents a convex polyhedron.
    * @param p3d the point 3D to check.
    * @return boolean <code>true</code> if the point is inside the polyhedron, <code>false</code> otherwise
@@ -275,13 +305,11 @@ public class Geom3D {
   public static boolean contains(Mesh<?> polyhedron, Point3D p3d){
     boolean contains = true;
 
-    // Vecteur composé par le point donné en paramêtre et le barycentre de
-    // de la face courante du polyhedre.
-    Point3D vector;
+    // Plan de la face courante
+    double[] plane = new double[4];
 
     // Variables de parcours de la liste des faces
     Iterator<? extends Face<?>> iter = null;
-    Face<?> currentFace = null;
 
     if ((polyhedron != null) && (polyhedron.getFaces().size() > 0)){
 
@@ -294,12 +322,9 @@ public class Geom3D {
       iter = polyhedron.getFaces().iterator();
       while(iter.hasNext() && (contains == true)){
 
-        currentFace = iter.next();
-
-        // Calcul du vector par rapport au point pour cette face
-        vector = Geom3D.computeBarycenter(currentFace.getVertices()).minus(p3d);
+        computeFacePlane(iter.next(), plane, 0);
 
-        contains = contains && (vector.dot(Geom3D.normal(currentFace)) >= 0);
+        contains = plane[0]*p3d.getX() + plane[1]*p3d.getY() + plane[2]*p3d.getZ() + plane[3] <= 0;
       }
     } else{
       contains = false;
@@ -307,6 +332,90 @@ public class Geom3D {
     return contains;
   }
 
+  /**
+   * Compute the planes of the faces of the given polyhedron. The plane of the face <code>f</code> is stored from offset <code>4*f</code> as
+   * the coefficients <code>{a, b, c, d}</code> of the equation <code>a*x + b*y + c*z + d = 0</code>, where <code>(a, b, c)</code> is the {@link #normal(Polygon3D) normal}
+   * of the face and where the plane passes through the face barycenter. A point <code>(x, y, z)</code> lies on the invisible side of the face
+   * if <code>a*x + b*y + c*z + d &le; 0</code>, so a point is inside a convex polyhedron if this relation holds for all the planes.
+   * The face normals are not normalized, a degenerated face produces a null plane that contains all the points.
+   * @param polyhedron the mesh that represents a convex polyhedron.
+   * @return the planes of the polyhedron faces (<code>double[4*F]</code>) or <code>null</code> if the polyhedron is <code>null</code>.
+   * @since 2.0.1
+   */
+  public static double[] computeFacePlanes(Mesh<?> polyhedron){
+
+    if ((polyhedron == null) || (polyhedron.getFaces() == null)){
+      return null;
+    }
+
+    double[] planes = new double[4*polyhedron.getFaces().size()];
+
+    int f = 0;
+    Iterator<? extends Face<?>> iter = polyhedron.getFaces().iterator();
+    while(iter.hasNext()){
+      computeFacePlane(iter.next(), planes, 4*f);
+      f++;
+    }
+
+    return planes;
+  }
+
+  /**
+   * Compute the plane of the given face as described within {@link #computeFacePlanes(Mesh)}, without allocating intermediate points.
+   * @param face the face.
+   * @param planes the array that will contain the plane coefficients.
+   * @param offset the offset of the plane coefficients within the array.
+   */
+  private static void computeFacePlane(Face<?> face, double[] planes, int offset){
+
+    Point3DContainer<?> vertices = face.getVertices();
+
+    planes[offset]   = 0.0d;
+    planes[offset+1] = 0.0d;
+    planes[offset+2] = 0.0d;
+    planes[offset+3] = 0.0d;
+
+    if ((vertices == null) || (vertices.size() < 3)){
+      return;
+    }
+
+    // Normale calculee comme dans normal(Polygon3D)
+    Point3D p1 = vertices.get(0);
+    Point3D p2 = vertices.get(vertices.size() / 2);
+    Point3D p3 = vertices.get(vertices.size() - 1);
+
+    double ux = p2.getX() - p1.getX();
+    double uy = p2.getY() - p1.getY();
+    double uz = p2.getZ() - p1.getZ();
+
+    double vx = p3.getX() - p2.getX();
+    double vy = p3.getY() - p2.getY();
+    double vz = p3.getZ() - p2.getZ();
+
+    double nx = uy*vz - uz*vy;
+    double ny = uz*vx - ux*vz;
+    double nz = ux*vy - uy*vx;
+
+    // Barycentre de la face
+    double bx = 0.0d;
+    double by = 0.0d;
+    double bz = 0.0d;
+    for(int i = 0; i < vertices.size(); i++){
+      Point3D vertex = vertices.get(i);
+      bx += vertex.getX();
+      by += vertex.getY();
+      bz += vertex.getZ();
+    }
+    bx = bx / vertices.size();
+    by = by / vertices.size();
+    bz = bz / vertices.size();
+
+    planes[offset]   = nx;
+    planes[offset+1] = ny;
+    planes[offset+2] = nz;
+    planes[offset+3] = -(nx*bx + ny*by + nz*bz);
+  }
+
   /**
    * Check if the given {@link Box box} contains 
    * the given {@link SpatialLocalization3D spatial localization}.
@@ -389,12 +498,7 @@ public class Geom3D {
   public static boolean contains(Mesh<?> polyhedron, Point3DContainer<?> points){
     boolean contains       = true;
    
-    Point3D[] normals     = null;
-    Point3D[] barycenters = null;
-    
-    Iterator<? extends Face<?>> iter   = null;
-    
-    Face<?> currentFace      = null;
+    double[] planes       = null;
     
     Point3D p3d           = null;
     
@@ -409,26 +513,19 @@ public class Geom3D {
       return true;
     }
     
-    // Calcul des normales et des barycentres des faces.
-    normals     = new Point3D[polyhedron.getFaces().size()];
-    barycenters = new Point3D[polyhedron.getFaces().size()];
-    i = 0;
-    iter = polyhedron.getFaces().iterator();
-    while(iter.hasNext()){
-      currentFace    = iter.next();
-      normals[i]     = Geom3D.normal(currentFace);
-      barycenters[i] = Geom3D.computeBarycenter(currentFace.getVertices());
-      i++;
-      currentFace = null;
-    }
+    // Calcul des plans des faces.
+    planes = computeFacePlanes(polyhedron);
     
     // Parcours de la liste des points et calcul du scalaire
     j = 0;
     while((j < points.size()) && (contains)){
-      // Parcours de la liste des normales / barycentres
+      p3d = points.get(j);
+      
+      // Parcours de la liste des plans
       i = 0;
-      while((i < normals.length) &&(contains)){
-        contains = contains && (barycenters[i].minus(p3d).dot(normals[i]) >= 0);
+      while((i < planes.length) &&(contains)){
+        contains = planes[i]*p3d.getX() + planes[i+1]*p3d.getY() + planes[i+2]*p3d.getZ() + planes[i+3] <= 0;
+        i += 4;
       }
       
       j++;
@@ -465,180 +562,375 @@ public class Geom3D {
   
   /**
    * Check if the given {@link Triangle triangle} intersect 
-   * the given {@link Box box}.
+   * the given {@link Box box}. A triangle that touches the box is considered as intersecting it.
    * @param box the box to check.
    * @param triangle the triangle to check.
    * @return <code>true</code> if the given triangle intersect the box and <code>false</code> otherwise.
+   * @see #isIntersectBoxTriangle(double[], int, double[], int)
    */
   public static boolean isIntersect(Box box, Triangle<?> triangle){
     
-    if ((box != null)||(triangle != null)){
-   
-      
-      // Triangle is on the "right" of the box
-      if (   (triangle.getVertex1().getX() > box.getMax().getX())
-          && (triangle.getVertex2().getX() > box.getMax().getX())
-          && (triangle.getVertex3().getX() > box.getMax().getX())){
-            return false;
-      }
-      
-      // Triangle is on the "left" of the box
-      if (   (triangle.getVertex1().getX() < box.getMin().getX())
-          && (triangle.getVertex2().getX() < box.getMin().getX())
-          && (triangle.getVertex3().getX() < box.getMin().getX())){
-            return false;
-      }
-      
-      // Triangle is in "above" the box
-      if (   (triangle.getVertex1().getY() > box.getMax().getY())
-          && (triangle.getVertex2().getY() > box.getMax().getY())
-          && (triangle.getVertex3().getY() > box.getMax().getY())){
-            return false;
-      }
-      
-      // Triangle is "below" the box
-      if (   (triangle.getVertex1().getZ() < box.getMin().getZ())
-          && (triangle.getVertex2().getZ() < box.getMin().getZ())
-          && (triangle.getVertex3().getZ() < box.getMin().getZ())){
-            return false;
-      }
-      
-      // Triangle is in "front" of the box
-      if (   (triangle.getVertex1().getZ() > box.getMax().getZ())
-          && (triangle.getVertex2().getZ() > box.getMax().getZ())
-          && (triangle.getVertex3().getZ() > box.getMax().getZ())){
-            return false;
-      }
+    if ((box != null)&&(triangle != null)){
       
-      // Triangle is "behind" the box
-      if (   (triangle.getVertex1().getY() < box.getMin().getY())
-          && (triangle.getVertex2().getY() < box.getMin().getY())
-          && (triangle.getVertex3().getY() < box.getMin().getY())){
-            return false;
-      }
+      double[] bounds = new double[] {box.getMin().getX(), box.getMin().getY(), box.getMin().getZ(), 
+                                      box.getMax().getX(), box.getMax().getY(), box.getMax().getZ()};
       
-      // The first vertex of the triangle lies within the box
-      if (   (triangle.getVertex1().getX() <= box.getMax().getX())
-          && (triangle.getVertex1().getX() >= box.getMin().getX())
-          && (triangle.getVertex1().getY() <= box.getMax().getY())
-          && (triangle.getVertex1().getY() >= box.getMin().getY())
-          && (triangle.getVertex1().getZ() <= box.getMax().getZ())
-          && (triangle.getVertex1().getZ() >= box.getMin().getZ())){
-        return true;
-        
-      // The second vertex of the triangle lies within the box  
-      } else if (   (triangle.getVertex2().getX() <= box.getMax().getX())
-                 && (triangle.getVertex2().getX() >= box.getMin().getX())
-                 && (triangle.getVertex2().getY() <= box.getMax().getY())
-                 && (triangle.getVertex2().getY() >= box.getMin().getY())
-                 && (triangle.getVertex2().getZ() <= box.getMax().getZ())
-                 && (triangle.getVertex2().getZ() >= box.getMin().getZ())){
-        return true;
-        
-     // The third vertex of the triangle lies within the box  
-      } else if (   (triangle.getVertex3().getX() <= box.getMax().getX())
-                 && (triangle.getVertex3().getX() >= box.getMin().getX())
-                 && (triangle.getVertex3().getY() <= box.getMax().getY())
-                 && (triangle.getVertex3().getY() >= box.getMin().getY())
-                 && (triangle.getVertex3().getZ() <= box.getMax().getZ())
-                 && (triangle.getVertex3().getZ() >= box.getMin().getZ())){
-        return true;
-        
-      }
- 
-      Collection<Point3D> boxpoints = new ArrayList<Point3D>(8);
-      Point3D boxCenter = JeometryFactory.createPoint3D((box.getMin().getX()+box.getMax().getX())/2.0d, 
-                                               (box.getMin().getY()+box.getMax().getY())/2.0d, 
-                                               (box.getMin().getZ()+box.getMax().getZ())/2.0d);
-      //IPoint3D boxCenter = Geometry.newPoint3D(0.0, 0.0, 0.0);
+      double[] vertices = new double[] {triangle.getVertex1().getX(), triangle.getVertex1().getY(), triangle.getVertex1().getZ(),
+                                        triangle.getVertex2().getX(), triangle.getVertex2().getY(), triangle.getVertex2().getZ(),
+                                        triangle.getVertex3().getX(), triangle.getVertex3().getY(), triangle.getVertex3().getZ()};
       
-      Point3D translatedBoxMin = box.getMin().minus(boxCenter);
-      Point3D translatedBoxMax = box.getMax().minus(boxCenter);
-      
-      boxpoints.add(JeometryFactory.createPoint3D(box.getMax().minus(boxCenter).getX(), box.getMax().minus(boxCenter).getY(), box.getMax().minus(boxCenter).getZ()));
-      boxpoints.add(JeometryFactory.createPoint3D(box.getMax().minus(boxCenter).getX(), box.getMax().minus(boxCenter).getY(), box.getMin().minus(boxCenter).getZ()));
-      boxpoints.add(JeometryFactory.createPoint3D(box.getMax().minus(boxCenter).getX(), box.getMin().minus(boxCenter).getY(), box.getMax().minus(boxCenter).getZ()));
-      boxpoints.add(JeometryFactory.createPoint3D(box.getMax().minus(boxCenter).getX(), box.getMin().minus(boxCenter).getY(), box.getMin().minus(boxCenter).getZ()));
-      boxpoints.add(JeometryFactory.createPoint3D(box.getMin().minus(boxCenter).getX(), box.getMax().minus(boxCenter).getY(), box.getMax().minus(boxCenter).getZ()));
-      boxpoints.add(JeometryFactory.createPoint3D(box.getMin().minus(boxCenter).getX(), box.getMax().minus(boxCenter).getY(), box.getMin().minus(boxCenter).getZ()));
-      boxpoints.add(JeometryFactory.createPoint3D(box.getMin().minus(boxCenter).getX(), box.getMin().minus(boxCenter).getY(), box.getMax().minus(boxCenter).getZ()));
-      boxpoints.add(JeometryFactory.createPoint3D(box.getMin().minus(boxCenter).getX(), box.getMin().minus(boxCenter).getY(), box.getMin().minus(boxCenter).getZ()));
+      return isIntersectBoxTriangle(bounds, 0, vertices, 0);
+    }
+
+    return false;
+  }
   
-      
-      List<Point3D> tripoints = new ArrayList<Point3D>(3);
-      tripoints.add(triangle.getVertex1().minus(boxCenter));
-      tripoints.add(triangle.getVertex2().minus(boxCenter));
-      tripoints.add(triangle.getVertex3().minus(boxCenter));
-     
-      
-      // test the x, y, and z axes
-      if (!isIntersect(boxpoints, tripoints, JeometryFactory.createPoint3D(translatedBoxMax.getX() - translatedBoxMin.getX(), 0, 0))){
-        return false;
-      }
-      
-      if (!isIntersect(boxpoints, tripoints, JeometryFactory.createPoint3D(0, translatedBoxMax.getY() - translatedBoxMin.getY(), 0))){
-        return false;
-      }
-      
-      if (!isIntersect(boxpoints, tripoints, JeometryFactory.createPoint3D(0, 0, translatedBoxMax.getZ() - translatedBoxMin.getZ()))){
-        return false;
-      }
+  /**
+   * Check if the given axis aligned box and the given triangle intersect using the separating axis theorem.<br><br>
+   * This method is an implementation of "Fast 3D Triangle-Box Overlap Testing", <i>Journal of Graphics Tools</i>, 6(1):29--33, 2001 published by Tomas Akenine-M&ouml;ller.
+   * The triangle is expressed relatively to the box center and is projected on the 13 candidate separating axes: the 9 cross products of the box axes
+   * and of the triangle edges, the 3 box axes and the triangle normal. The box and the triangle intersect if none of these axes separates them.
+   * A triangle that touches the box is considered as intersecting it. This method works on primitive arrays and does not allocate any object.
+   * @param box the box bounds, stored from offset <code>boxOffset</code> as <code>{xmin, ymin, zmin, xmax, ymax, zmax}</code>.
+   * @param boxOffset the offset of the box bounds.
+   * @param triangle the triangle vertices, stored from offset <code>triangleOffset</code> as <code>{x1, y1, z1, x2, y2, z2, x3, y3, z3}</code>.
+   * @param triangleOffset the offset of the triangle vertices.
+   * @return <code>true</code> if the box and the triangle intersect and <code>false</code> otherwise.
+   * @see #isIntersect(Box, Triangle)
+   */
+  public static boolean isIntersectBoxTriangle(double[] box, int boxOffset, double[] triangle, int triangleOffset){
+
+    // Box center and half sizes
+    double cx = 0.5d * (box[boxOffset]   + box[boxOffset+3]);
+    double cy = 0.5d * (box[boxOffset+1] + box[boxOffset+4]);
+    double cz = 0.5d * (box[boxOffset+2] + box[boxOffset+5]);
+
+    double hx = 0.5d * (box[boxOffset+3] - box[boxOffset]);
+    double hy = 0.5d * (box[boxOffset+4] - box[boxOffset+1]);
+    double hz = 0.5d * (box[boxOffset+5] - box[boxOffset+2]);
+
+    // Triangle vertices relative to the box center
+    double v0x = triangle[triangleOffset]   - cx;
+    double v0y = triangle[triangleOffset+1] - cy;
+    double v0z = triangle[triangleOffset+2] - cz;
+    double v1x = triangle[triangleOffset+3] - cx;
+    double v1y = triangle[triangleOffset+4] - cy;
+    double v1z = triangle[triangleOffset+5] - cz;
+    double v2x = triangle[triangleOffset+6] - cx;
+    double v2y = triangle[triangleOffset+7] - cy;
+    double v2z = triangle[triangleOffset+8] - cz;
+
+    // The box axes
+    if (separated(v0x, v1x, v2x, hx) || separated(v0y, v1y, v2y, hy) || separated(v0z, v1z, v2z, hz)){
+      return false;
+    }
 
-      // test the triangle normal
-      Point3D triedge1  = tripoints.get(1).minus(tripoints.get(0));
-      Point3D triedge2  = tripoints.get(2).minus(tripoints.get(1));
-      Point3D trinormal = triedge1.cross(triedge2);
-      if (!isIntersect(boxpoints, tripoints, trinormal)){ 
-        return false;
-      }
+    // The triangle edges
+    double e0x = v1x - v0x;
+    double e0y = v1y - v0y;
+    double e0z = v1z - v0z;
+    double e1x = v2x - v1x;
+    double e1y = v2y - v1y;
+    double e1z = v2z - v1z;
+    double e2x = v0x - v2x;
+    double e2y = v0y - v2y;
+    double e2z = v0z - v2z;
+
+    // The 9 cross products of the box axes and of the triangle edges
+    if (separated(e0z*v0y - e0y*v0z, e0z*v1y - e0y*v1z, e0z*v2y - e0y*v2z, hy*Math.abs(e0z) + hz*Math.abs(e0y))
+     || separated(e1z*v0y - e1y*v0z, e1z*v1y - e1y*v1z, e1z*v2y - e1y*v2z, hy*Math.abs(e1z) + hz*Math.abs(e1y))
+     || separated(e2z*v0y - e2y*v0z, e2z*v1y - e2y*v1z, e2z*v2y - e2y*v2z, hy*Math.abs(e2z) + hz*Math.abs(e2y))){
+      return false;
+    }
 
-      // test the 9 edge cross products
-      Point3D triedge3 = tripoints.get(0).minus(tripoints.get(2));
+    if (separated(e0x*v0z - e0z*v0x, e0x*v1z - e0z*v1x, e0x*v2z - e0z*v2x, hx*Math.abs(e0z) + hz*Math.abs(e0x))
+     || separated(e1x*v0z - e1z*v0x, e1x*v1z - e1z*v1x, e1x*v2z - e1z*v2x, hx*Math.abs(e1z) + hz*Math.abs(e1x))
+     || separated(e2x*v0z - e2z*v0x, e2x*v1z - e2z*v1x, e2x*v2z - e2z*v2x, hx*Math.abs(e2z) + hz*Math.abs(e2x))){
+      return false;
+    }
 
-      Point3D boxedge1 = JeometryFactory.createPoint3D(translatedBoxMax.getX() - translatedBoxMin.getX(), 0, 0);
-      Point3D boxedge2 = JeometryFactory.createPoint3D(0, translatedBoxMax.getY() - translatedBoxMin.getY(), 0);
-      Point3D boxedge3 = JeometryFactory.createPoint3D(0, 0, translatedBoxMax.getZ() - translatedBoxMin.getZ());
+    if (separated(e0y*v0x - e0x*v0y, e0y*v1x - e0x*v1y, e0y*v2x - e0x*v2y, hx*Math.abs(e0y) + hy*Math.abs(e0x))
+     || separated(e1y*v0x - e1x*v0y, e1y*v1x - e1x*v1y, e1y*v2x - e1x*v2y, hx*Math.abs(e1y) + hy*Math.abs(e1x))
+     || separated(e2y*v0x - e2x*v0y, e2y*v1x - e2x*v1y, e2y*v2x - e2x*v2y, hx*Math.abs(e2y) + hy*Math.abs(e2x))){
+      return false;
+    }
 
-      if (!isIntersect(boxpoints, tripoints, boxedge1.cross(triedge1))) return false;
-      if (!isIntersect(boxpoints, tripoints, boxedge1.cross(triedge2))) return false;
-      if (!isIntersect(boxpoints, tripoints, boxedge1.cross(triedge3))) return false;
- 
-      if (!isIntersect(boxpoints, tripoints, boxedge2.cross(triedge1))) return false;
-      if (!isIntersect(boxpoints, tripoints, boxedge2.cross(triedge2))) return false;
-      if (!isIntersect(boxpoints, tripoints, boxedge2.cross(triedge3))) return false;
-   
-      if (!isIntersect(boxpoints, tripoints, boxedge3.cross(triedge1))) return false;
-      if (!isIntersect(boxpoints, tripoints, boxedge3.cross(triedge2))) return false;
-      if (!isIntersect(boxpoints, tripoints, boxedge3.cross(triedge3))) return false;
-      
-      // Inverted normals
-      triedge1  = tripoints.get(2).minus(tripoints.get(0));
-      triedge2  = tripoints.get(1).minus(tripoints.get(2));
-      trinormal = triedge1.cross(triedge2);
-      if (!isIntersect(boxpoints, tripoints, trinormal)){ 
-        return false;
+    // The triangle normal
+    double nx = e0y*e1z - e0z*e1y;
+    double ny = e0z*e1x - e0x*e1z;
+    double nz = e0x*e1y - e0y*e1x;
+
+    return Math.abs(nx*v0x + ny*v0y + nz*v0z) <= hx*Math.abs(nx) + hy*Math.abs(ny) + hz*Math.abs(nz);
+  }
+
+  /**
+   * Check if the two given triangles intersect. Two triangles that touch each other are considered as intersecting.
+   * @param triangle1 the first triangle.
+   * @param triangle2 the second triangle.
+   * @return <code>true</code> if the triangles intersect and <code>false</code> otherwise.
+   * @see #isIntersectTriangles(double[], int, double[], int)
+   */
+  public static boolean isIntersect(Triangle<?> triangle1, Triangle<?> triangle2){
+
+    if ((triangle1 != null)&&(triangle2 != null)){
+
+      double[] vertices = new double[] {triangle1.getVertex1().getX(), triangle1.getVertex1().getY(), triangle1.getVertex1().getZ(),
+                                        triangle1.getVertex2().getX(), triangle1.getVertex2().getY(), triangle1.getVertex2().getZ(),
+                                        triangle1.getVertex3().getX(), triangle1.getVertex3().getY(), triangle1.getVertex3().getZ(),
+                                        triangle2.getVertex1().getX(), triangle2.getVertex1().getY(), triangle2.getVertex1().getZ(),
+                                        triangle2.getVertex2().getX(), triangle2.getVertex2().getY(), triangle2.getVertex2().getZ(),
+                                        triangle2.getVertex3().getX(), triangle2.getVertex3().getY(), triangle2.getVertex3().getZ()};
+
+      return isIntersectTriangles(vertices, 0, vertices, 9);
+    }
+
+    return false;
+  }
+
+  /**
+   * Check if the two given triangles intersect.<br><br>
+   * This method is an implementation of "A Fast Triangle-Triangle Intersection Test", <i>Journal of Graphics Tools</i>, 2(2):25--30, 1997 published by Tomas M&ouml;ller.
+   * If all the vertices of a triangle lie strictly on the same side of the plane of the other triangle, the triangles do not intersect. Otherwise, both triangles
+   * cross the line where their planes intersect and they intersect if their intervals on this line overlap. Coplanar triangles are tested within the 2D
+   * projection that maximizes their area, using edge crossings and point in triangle tests.<br><br>
+   * The side of a vertex relatively to a plane and the 2D tests rely on the exact {@link Predicates}, so that touching and coplanar configurations are detected
+   * without tolerance. Two triangles that touch each other are considered as intersecting. This method works on primitive arrays and does not allocate any object.
+   * @param triangle1 the first triangle vertices, stored from offset <code>offset1</code> as <code>{x1, y1, z1, x2, y2, z2, x3, y3, z3}</code>.
+   * @param offset1 the offset of the first triangle vertices.
+   * @param triangle2 the second triangle vertices, stored from offset <code>offset2</code> as <code>{x1, y1, z1, x2, y2, z2, x3, y3, z3}</code>.
+   * @param offset2 the offset of the second triangle vertices.
+   * @return <code>true</code> if the triangles intersect and <code>false</code> otherwise.
+   * @see #isIntersect(Triangle, Triangle)
+   */
+  public static boolean isIntersectTriangles(double[] triangle1, int offset1, double[] triangle2, int offset2){
+
+    double[] u = triangle1;
+    double[] v = triangle2;
+    int a = offset1;
+    int b = offset2;
+
+    // Signed distances (up to a positive factor) of the second triangle vertices to the plane of the first one
+    double dv0 = Predicates.orient3d(u[a], u[a+1], u[a+2], u[a+3], u[a+4], u[a+5], u[a+6], u[a+7], u[a+8], v[b],   v[b+1], v[b+2]);
+    double dv1 = Predicates.orient3d(u[a], u[a+1], u[a+2], u[a+3], u[a+4], u[a+5], u[a+6], u[a+7], u[a+8], v[b+3], v[b+4], v[b+5]);
+    double dv2 = Predicates.orient3d(u[a], u[a+1], u[a+2], u[a+3], u[a+4], u[a+5], u[a+6], u[a+7], u[a+8], v[b+6], v[b+7], v[b+8]);
+
+    if (((dv0 > 0.0d) && (dv1 > 0.0d) && (dv2 > 0.0d)) || ((dv0 < 0.0d) && (dv1 < 0.0d) && (dv2 < 0.0d))){
+      return false;
+    }
+
+    // Signed distances of the first triangle vertices to the plane of the second one
+    double du0 = Predicates.orient3d(v[b], v[b+1], v[b+2], v[b+3], v[b+4], v[b+5], v[b+6], v[b+7], v[b+8], u[a],   u[a+1], u[a+2]);
+    double du1 = Predicates.orient3d(v[b], v[b+1], v[b+2], v[b+3], v[b+4], v[b+5], v[b+6], v[b+7], v[b+8], u[a+3], u[a+4], u[a+5]);
+    double du2 = Predicates.orient3d(v[b], v[b+1], v[b+2], v[b+3], v[b+4], v[b+5], v[b+6], v[b+7], v[b+8], u[a+6], u[a+7], u[a+8]);
+
+    if (((du0 > 0.0d) && (du1 > 0.0d) && (du2 > 0.0d)) || ((du0 < 0.0d) && (du1 < 0.0d) && (du2 < 0.0d))){
+      return false;
+    }
+
+    // Planes normals
+    double n1x = (u[a+4] - u[a+1])*(u[a+8] - u[a+2]) - (u[a+5] - u[a+2])*(u[a+7] - u[a+1]);
+    double n1y = (u[a+5] - u[a+2])*(u[a+6] - u[a])   - (u[a+3] - u[a])  *(u[a+8] - u[a+2]);
+    double n1z = (u[a+3] - u[a])  *(u[a+7] - u[a+1]) - (u[a+4] - u[a+1])*(u[a+6] - u[a]);
+
+    if ((du0 == 0.0d) && (du1 == 0.0d) && (du2 == 0.0d)){
+      return isIntersectCoplanarTriangles(u, a, v, b, n1x, n1y, n1z);
+    }
+
+    double n2x = (v[b+4] - v[b+1])*(v[b+8] - v[b+2]) - (v[b+5] - v[b+2])*(v[b+7] - v[b+1]);
+    double n2y = (v[b+5] - v[b+2])*(v[b+6] - v[b])   - (v[b+3] - v[b])  *(v[b+8] - v[b+2]);
+    double n2z = (v[b+3] - v[b])  *(v[b+7] - v[b+1]) - (v[b+4] - v[b+1])*(v[b+6] - v[b]);
+
+    // Direction of the planes intersection line, the intervals are computed along its largest component
+    double dx = Math.abs(n1y*n2z - n1z*n2y);
+    double dy = Math.abs(n1z*n2x - n1x*n2z);
+    double dz = Math.abs(n1x*n2y - n1y*n2x);
+
+    int axis = 0;
+    if ((dy > dx) && (dy >= dz)){
+      axis = 1;
+    } else if ((dz > dx) && (dz > dy)){
+      axis = 2;
+    }
+
+    double[] interval1 = new double[2];
+    double[] interval2 = new double[2];
+
+    if (!computeInterval(u[a+axis], u[a+3+axis], u[a+6+axis], du0, du1, du2, interval1)
+     || !computeInterval(v[b+axis], v[b+3+axis], v[b+6+axis], dv0, dv1, dv2, interval2)){
+      return isIntersectCoplanarTriangles(u, a, v, b, n1x, n1y, n1z);
+    }
+
+    return (interval1[0] <= interval2[1]) && (interval2[0] <= interval1[1]);
+  }
+
+  /**
+   * Compute the interval covered by a triangle on the intersection line of its plane and of another plane.
+   * @param p0 the projection of the first vertex on the line.
+   * @param p1 the projection of the second vertex on the line.
+   * @param p2 the projection of the third vertex on the line.
+   * @param d0 the signed distance of the first vertex to the other plane.
+   * @param d1 the signed distance of the second vertex to the other plane.
+   * @param d2 the signed distance of the third vertex to the other plane.
+   * @param interval the array that will contain the interval as <code>{min, max}</code>.
+   * @return <code>true</code> if the interval is computed and <code>false</code> if the triangle lies within the other plane.
+   */
+  private static boolean computeInterval(double p0, double p1, double p2, double d0, double d1, double d2, double[] interval){
+
+    double s0 = Math.signum(d0);
+    double s1 = Math.signum(d1);
+    double s2 = Math.signum(d2);
+
+    double t1;
+    double t2;
+
+    // Select the vertex that lies alone on its side of the plane
+    if (s0*s1 > 0.0d){
+      t1 = p2 + (p0 - p2) * d2 / (d2 - d0);
+      t2 = p2 + (p1 - p2) * d2 / (d2 - d1);
+    } else if (s0*s2 > 0.0d){
+      t1 = p1 + (p0 - p1) * d1 / (d1 - d0);
+      t2 = p1 + (p2 - p1) * d1 / (d1 - d2);
+    } else if ((s1*s2 > 0.0d) || (s0 != 0.0d)){
+      t1 = p0 + (p1 - p0) * d0 / (d0 - d1);
+      t2 = p0 + (p2 - p0) * d0 / (d0 - d2);
+    } else if (s1 != 0.0d){
+      t1 = p1 + (p0 - p1) * d1 / (d1 - d0);
+      t2 = p1 + (p2 - p1) * d1 / (d1 - d2);
+    } else if (s2 != 0.0d){
+      t1 = p2 + (p0 - p2) * d2 / (d2 - d0);
+      t2 = p2 + (p1 - p2) * d2 / (d2 - d1);
+    } else {
+      return false;
+    }
+
+    interval[0] = Math.min(t1, t2);
+    interval[1] = Math.max(t1, t2);
+
+    return true;
+  }
+
+  /**
+   * Check if the two given coplanar triangles intersect. The triangles are projected on the coordinate plane that maximizes their area
+   * and intersect if an edge of a triangle crosses an edge of the other one or if a triangle contains the other one.
+   * @param u the first triangle vertices.
+   * @param a the offset of the first triangle vertices.
+   * @param v the second triangle vertices.
+   * @param b the offset of the second triangle vertices.
+   * @param nx the common normal x coordinate.
+   * @param ny the common normal y coordinate.
+   * @param nz the common normal z coordinate.
+   * @return <code>true</code> if the triangles intersect and <code>false</code> otherwise.
+   */
+  private static boolean isIntersectCoplanarTriangles(double[] u, int a, double[] v, int b, double nx, double ny, double nz){
+
+    // Projection plane axes
+    int i = 0;
+    int j = 1;
+    if ((Math.abs(nx) > Math.abs(ny)) && (Math.abs(nx) > Math.abs(nz))){
+      i = 1;
+      j = 2;
+    } else if (Math.abs(ny) > Math.abs(nz)){
+      i = 0;
+      j = 2;
+    }
+
+    // Edges crossings
+    for(int e = 0; e < 3; e++){
+      int p = a + 3*e;
+      int q = a + 3*((e+1) % 3);
+      for(int f = 0; f < 3; f++){
+        int r = b + 3*f;
+        int s = b + 3*((f+1) % 3);
+        if (isIntersectSegments(u[p+i], u[p+j], u[q+i], u[q+j], v[r+i], v[r+j], v[s+i], v[s+j])){
+          return true;
+        }
       }
+    }
 
-      // test the 9 edge cross products with inverted normals
-      triedge3 = tripoints.get(0).minus(tripoints.get(1));
+    // A triangle contains the other one
+    return contains(u[a+i], u[a+j], u[a+3+i], u[a+3+j], u[a+6+i], u[a+6+j], v[b+i], v[b+j])
+        || contains(v[b+i], v[b+j], v[b+3+i], v[b+3+j], v[b+6+i], v[b+6+j], u[a+i], u[a+j]);
+  }
 
-      if (!isIntersect(boxpoints, tripoints, boxedge1.cross(triedge1))) return false;
-      if (!isIntersect(boxpoints, tripoints, boxedge1.cross(triedge2))) return false;
-      if (!isIntersect(boxpoints, tripoints, boxedge1.cross(triedge3))) return false;
- 
-      if (!isIntersect(boxpoints, tripoints, boxedge2.cross(triedge1))) return false;
-      if (!isIntersect(boxpoints, tripoints, boxedge2.cross(triedge2))) return false;
-      if (!isIntersect(boxpoints, tripoints, boxedge2.cross(triedge3))) return false;
-   
-      if (!isIntersect(boxpoints, tripoints, boxedge3.cross(triedge1))) return false;
-      if (!isIntersect(boxpoints, tripoints, boxedge3.cross(triedge2))) return false;
-      if (!isIntersect(boxpoints, tripoints, boxedge3.cross(triedge3))) return false;
-      
+  /**
+   * Check if the two given 2D segments intersect, including their end points and collinear overlaps.
+   * @param px the first segment first point x coordinate.
+   * @param py the first segment first point y coordinate.
+   * @param qx the first segment second point x coordinate.
+   * @param qy the first segment second point y coordinate.
+   * @param rx the second segment first point x coordinate.
+   * @param ry the second segment first point y coordinate.
+   * @param sx the second segment second point x coordinate.
+   * @param sy the second segment second point y coordinate.
+   * @return <code>true</code> if the segments intersect and <code>false</code> otherwise.
+   */
+  private static boolean isIntersectSegments(double px, double py, double qx, double qy, double rx, double ry, double sx, double sy){
+
+    double o1 = Math.signum(Predicates.orient2d(px, py, qx, qy, rx, ry));
+    double o2 = Math.signum(Predicates.orient2d(px, py, qx, qy, sx, sy));
+    double o3 = Math.signum(Predicates.orient2d(rx, ry, sx, sy, px, py));
+    double o4 = Math.signum(Predicates.orient2d(rx, ry, sx, sy, qx, qy));
+
+    if ((o1 != o2) && (o3 != o4)){
       return true;
     }
 
+    if ((o1 == 0.0d) && (o2 == 0.0d)){
+      return isOverlap(px, py, qx, qy, rx, ry, sx, sy);
+    }
+
     return false;
   }
+
+  /**
+   * Check if the two given collinear 2D segments overlap.
+   * @param px the first segment first point x coordinate.
+   * @param py the first segment first point y coordinate.
+   * @param qx the first segment second point x coordinate.
+   * @param qy the first segment second point y coordinate.
+   * @param rx the second segment first point x coordinate.
+   * @param ry the second segment first point y coordinate.
+   * @param sx the second segment second point x coordinate.
+   * @param sy the second segment second point y coordinate.
+   * @return <code>true</code> if the segments overlap and <code>false</code> otherwise.
+   */
+  private static boolean isOverlap(double px, double py, double qx, double qy, double rx, double ry, double sx, double sy){
+    return (Math.max(Math.min(px, qx), Math.min(rx, sx)) <= Math.min(Math.max(px, qx), Math.max(rx, sx)))
+        && (Math.max(Math.min(py, qy), Math.min(ry, sy)) <= Math.min(Math.max(py, qy), Math.max(ry, sy)));
+  }
+
+  /**
+   * Check if the given 2D triangle contains the given 2D point, including its boundary.
+   * @param ax the triangle first vertex x coordinate.
+   * @param ay the triangle first vertex y coordinate.
+   * @param bx the triangle second vertex x coordinate.
+   * @param by the triangle second vertex y coordinate.
+   * @param cx the triangle third vertex x coordinate.
+   * @param cy the triangle third vertex y coordinate.
+   * @param px the point x coordinate.
+   * @param py the point y coordinate.
+   * @return <code>true</code> if the triangle contains the point and <code>false</code> otherwise.
+   */
+  private static boolean contains(double ax, double ay, double bx, double by, double cx, double cy, double px, double py){
+
+    double o1 = Predicates.orient2d(ax, ay, bx, by, px, py);
+    double o2 = Predicates.orient2d(bx, by, cx, cy, px, py);
+    double o3 = Predicates.orient2d(cx, cy, ax, ay, px, py);
+
+    return ((o1 >= 0.0d) && (o2 >= 0.0d) && (o3 >= 0.0d)) || ((o1 <= 0.0d) && (o2 <= 0.0d) && (o3 <= 0.0d));
+  }
+
+  /**
+   * Check if the projections of a triangle vertices on an axis are separated from the interval <code>[-radius, radius]</code>.
+   * @param p0 the projection of the first vertex.
+   * @param p1 the projection of the second vertex.
+   * @param p2 the projection of the third vertex.
+   * @param radius the projection radius of the box.
+   * @return <code>true</code> if the axis separates the triangle from the box and <code>false</code> otherwise.
+   */
+  private static boolean separated(double p0, double p1, double p2, double radius){
+    return (Math.min(p0, Math.min(p1, p2)) > radius) || (Math.max(p0, Math.max(p1, p2)) < -radius);
+  }
   
   /**
    * This method check if a {@link Point3D 3D point} intersects 
@@ -713,47 +1005,177 @@ public class Geom3D {
 
   /**
    * Compute the farthest points in the point manager given in parameter. If the point manager
-   * is <code>null</code> or if it contains less than 2 points, <code>null</code> is returned.
+   * is <code>null</code> or if it contains less than 2 points, <code>null</code> is returned. If all the points are coincident,
+   * an array that contains two <code>null</code> values is returned.<br><br>
+   * The computation relies on {@link #computeDiameter(double[], int, int[])} and is close to linear for most point sets.
    * @param p3dm the point manager used for computation
    * @return an array containing the farthest points of the manager.
+   * @see #computeDiameter(double[], int, int[])
    */
   public static Point3D[] farthestPoints(Point3DContainer<? extends Point3D> p3dm){
-    Point3D[] result  = null;
-    Point3D p1        = null;
-    Point3D p2        = null;
-    double distance    = 0.0d;
-    double distanceMax = 0.0d;
-    
-    
+
     if ((p3dm == null) || (p3dm.size() < 2)){
       return null;
-    } else {
-      result = new Point3D[2];
-      p1       = null;
-      p2       = null;
-      
-      // Toutes les distances sont calculées et comparées
-      for(int i = 0; i < p3dm.size(); i++){
-        p1 = p3dm.get(i);
-        for(int j = i+1; j < p3dm.size(); j++){
-          p2 = p3dm.get(j); 
-          if (p1 != p2){
-            distance = p1.distance(p2);
-            if (distance > distanceMax){
-              distanceMax = distance;
-              result[0] = p1;
-              result[1] = p2;
-            }
-          }
-        } 
-      }
-    } 
-    p1 = null;
-    p2 = null;
+    }
+
+    Point3D[] result = new Point3D[2];
+
+    int size = p3dm.size();
+
+    double[] coordinates = toCoordinates(p3dm);
+
+    int[] pair = new int[2];
+
+    // All the points are coincident
+    if (computeDiameter(coordinates, size, pair) <= 0.0d) {
+      return result;
+    }
+
+    result[0] = p3dm.get(pair[0]);
+    result[1] = p3dm.get(pair[1]);
+
     return result;
   }
 
+  /**
+   * Compute the diameter of the given points, that is the distance between the two points that are the farthest from each other.<br><br>
+   * The computation relies on the <i>double normal</i> approach of Malandain and Boissonnat (<i>"Computing the diameter of a point set",
+   * International Journal of Computational Geometry and Applications 12(6), 2002</i>):
+   * <ol>
+   * <li>A lower bound <code>d</code> of the diameter is obtained by iterating farthest point queries from the last found point until the distance stops increasing (a double normal).
+   * <li>If two points are more than <code>d</code> apart, at least one of them lies outside the ball whose diameter is the double normal. If all the points lie within this ball, the double normal is the diameter.
+   * Otherwise, the points that are too close to the ball center to be farther than <code>d</code> from any point are discarded.
+   * <li>The farthest pair of the remaining candidates is searched with <code>d</code> as bound by a dual traversal of a k-d tree, that only explores the pairs of cells that may be more than the bound apart.
+   * </ol>
+   * In practice, the bound is very close to the diameter and only a few pairs of opposite cells are explored, making the computation close to linear
+   * instead of the quadratic time of a pairwise comparison, including when the points are spread over a surface.
+   * @param coordinates the points coordinates, the coordinates of the point <code>i</code> being stored from offset <code>3*i</code>.
+   * @param count the number of points.
+   * @param pair the array that will contain the indices of the two farthest points (at least <code>int[2]</code>). If less than two points are given, the indices are set to <code>-1</code>.
+   * @return the diameter of the points.
+   * @throws IllegalArgumentException if an array is too small.
+   * @since 2.0.1
+   */
+  public static double computeDiameter(double[] coordinates, int count, int[] pair){
+
+    if ((coordinates == null) || (count < 0) || (coordinates.length < 3*count)) {
+      throw new IllegalArgumentException("Coordinates array cannot store "+count+" points.");
+    }
+
+    if ((pair == null) || (pair.length < 2)) {
+      throw new IllegalArgumentException("Pair array has to store at least 2 indices.");
+    }
+
+    pair[0] = -1;
+    pair[1] = -1;
+
+    if (count < 2) {
+      return 0.0d;
+    }
+
+    // Double normal: farthest point searches are iterated until the distance does not increase
+    int a = 0;
+    int b = farthestIndex(coordinates, count, a);
+    double best = squaredDistance(coordinates, a, b);
+
+    while (true) {
+      int c = farthestIndex(coordinates, count, b);
+      double d = squaredDistance(coordinates, b, c);
+      if (d > best) {
+        a    = b;
+        b    = c;
+        best = d;
+      } else {
+        break;
+      }
+    }
+
+    pair[0] = a;
+    pair[1] = b;
+
+    if (best <= 0.0d) {
+      return 0.0d;
+    }
+
+    // The ball whose diameter is the double normal
+    double cx = 0.5d * (coordinates[3*a]   + coordinates[3*b]);
+    double cy = 0.5d * (coordinates[3*a+1] + coordinates[3*b+1]);
+    double cz = 0.5d * (coordinates[3*a+2] + coordinates[3*b+2]);
+
+    double[] radii = new double[count];
+    double radius  = 0.0d;
+    for(int i = 0; i < count; i++) {
+      double dx = coordinates[3*i]   - cx;
+      double dy = coordinates[3*i+1] - cy;
+      double dz = coordinates[3*i+2] - cz;
+      radii[i] = Math.sqrt(dx*dx + dy*dy + dz*dz);
+      radius   = Math.max(radius, radii[i]);
+    }
+
+    // The points of a farther pair are far enough from the center to be farther than the bound from a point and one of them lies outside the ball
+    int[] candidates = new int[count];
+    int candidateCount = 0;
+    boolean outside = false;
+    double half = 0.5d * Math.sqrt(best);
+    for(int i = 0; i < count; i++) {
+      if ((radii[i] + radius) * (radii[i] + radius) > best) {
+        candidates[candidateCount++] = i;
+        outside = outside || (radii[i] > half);
+      }
+    }
+
+    if (!outside) {
+      return Math.sqrt(best);
+    }
+
+    double[] candidateCoordinates = new double[3*candidateCount];
+    for(int c = 0; c < candidateCount; c++) {
+      System.arraycopy(coordinates, 3*candidates[c], candidateCoordinates, 3*c, 3);
+    }
+
+    int[] found = new int[] {-1, -1};
+    best = new PointKdTree(candidateCoordinates, candidateCount).farthestPair(best, found);
+    if (found[0] >= 0) {
+      pair[0] = candidates[found[0]];
+      pair[1] = candidates[found[1]];
+    }
+
+    return Math.sqrt(best);
+  }
+
+  /**
+   * Get the index of the point that is the farthest from the given one by scanning all the points.
+   * @param coordinates the points coordinates, the coordinates of the point <code>i</code> being stored from offset <code>3*i</code>.
+   * @param count the number of points.
+   * @param from the index of the reference point.
+   * @return the index of the farthest point.
+   */
+  private static int farthestIndex(double[] coordinates, int count, int from){
+    int result  = from;
+    double best = -1.0d;
+    for(int i = 0; i < count; i++){
+      double d = squaredDistance(coordinates, from, i);
+      if (d > best){
+        best   = d;
+        result = i;
+      }
+    }
+    return result;
+  }
 
+  /**
+   * Compute the squared distance between two points.
+   * @param coordinates the points coordinates, the coordinates of the point <code>i</code> being stored from offset <code>3*i</code>.
+   * @param i the index of the first point.
+   * @param j the index of the second point.
+   * @return the squared distance between the two points.
+   */
+  private static double squaredDistance(double[] coordinates, int i, int j){
+    double dx = coordinates[3*i]   - coordinates[3*j];
+    double dy = coordinates[3*i+1] - coordinates[3*j+1];
+    double dz = coordinates[3*i+2] - coordinates[3*j+2];
+    return dx*dx + dy*dy + dz*dz;
+  }
   /**
    * Return the point of the manager given in parameter that is the furthest from the polygon
    * given in parameter. The distance is computed between the barycenter of the polygon and a
@@ -1033,272 +1455,6 @@ public class Geom3D {
     
     return true;     
   }
-
-/*  
-  public static void computeFaceOrientation(IMeshIndexed mesh, IFaceIndexed start) {
-    
-    if (mesh != null){
-      
-      List<? extends IFaceIndexed> faces = mesh.getFacesIndexes();
-      
-      List<IFaceIndexed> wavefront  = new LinkedList<IFaceIndexed>();
-      List<IFaceIndexed> wavefront2 = new LinkedList<IFaceIndexed>();
-      
-      if ((start != null)&&(start.getMesh() == mesh)){
-        wavefront.add(start);
-      } else {
-        wavefront.add(faces.get(0));
-      }
-      
-      HashMap<Triangle, Integer> flag = new HashMap<Triangle, Integer>();
-      
-      boolean oneflagactive=(faces.size() > 0);
-
-      int processedTriangles          = 0;
-      
-      int orientedFaces               = 1;
-      int lastIterationOrientedFaces  = 0;
-      
-      List<Triangle>[] adjacentsArray = null;
-      
-      List<Triangle>[] incidentsArray = null;
-      
-      int commonPoint1IndexOnAdj      = -1;
-      int commonPoint2IndexOnAdj      = -1;
-      
-      int tmp                         = -1;
-      
-      int invertedEdge                = -1;
-
-      while (oneflagactive==true) {
-        
-        Iterator<IFaceIndexed> wavefrontIter = wavefront.iterator();
-        IFaceIndexed wave                    = null;
-        IFaceIndexed adjacent                = null;
-        while(wavefrontIter.hasNext()){
-
-          wave = wavefrontIter.next();
-          
-          IFaceIndexed[] adjacents={wave.getAdjacent(0), wave.getAdjacent(1), wave.getAdjacent(2)};
-
-          for(int i = 0; i < 3; i++){
-            
-            adjacent = adjacents[i];
-
-            // We check each adjacent of the wave
-            if ((adjacent!=null) &&(flag.get(adjacent) == null)){
-              
-              int[] waveIndices     = wave.getIndice();     
-              int[] adjacentIndices = adjacent.getIndice();
-              
-              // We retrieve the indices of the vertices forming the edge of adjacency for the wave triangle
-              // within the adjacent triangle. for an edge i, the attached vertices indices are (i, (i+1)%3)
-              // ie: edge 0: (0, 1), edge 1: (1, 2), edge 2: (2, 0)          
-              if (adjacentIndices[0] == waveIndices[i]){
-                commonPoint1IndexOnAdj = 0;
-              } else if (adjacentIndices[1] == waveIndices[i]){
-                commonPoint1IndexOnAdj = 1;
-              } else if (adjacentIndices[2] == waveIndices[i]){
-                commonPoint1IndexOnAdj = 2;
-              } else {
-                commonPoint1IndexOnAdj = -1;
-              }
-              
-              if (adjacentIndices[0] == waveIndices[(i+1)%3]){
-                commonPoint2IndexOnAdj = 0;
-              } else if (adjacentIndices[1] == waveIndices[(i+1)%3]){
-                commonPoint2IndexOnAdj = 1;
-              } else if (adjacentIndices[2] == waveIndices[(i+1)%3]){
-                commonPoint2IndexOnAdj = 2;
-              } else {
-                commonPoint1IndexOnAdj = -1;
-              }
-              
-              // We check if the common points are in the same order (natural ordering relation on indices is the same
-              // within wave and its adjacent.) 
-              boolean samedir = (adjacentIndices[(commonPoint1IndexOnAdj+1)%3] == adjacentIndices[commonPoint2IndexOnAdj]);
-              
-              // If the edge is listed within the same order for the two triangle, the adjacent edge has to be 
-              // inverted. The adjacents relative to the inverted edge have also to be inverted.
-              if (samedir){
-                
-                // Saving actual neighborhood for each edge (adjacent) and each vertex (incident)
-                adjacentsArray = new List[]{adjacent.getAdjacents(0), adjacent.getAdjacents(1), adjacent.getAdjacents(2)};
-                incidentsArray = new List[]{ adjacent.getIncidents(0), adjacent.getIncidents(1), adjacent.getIncidents(2)};
-
-                // Inverting vertices
-                tmp = adjacentIndices[commonPoint1IndexOnAdj];
-                adjacentIndices[commonPoint1IndexOnAdj] = adjacentIndices[commonPoint2IndexOnAdj];
-                adjacentIndices[commonPoint2IndexOnAdj] = tmp;
-                adjacent.setIndice(adjacentIndices);
-                
-                // Inverting incidents attached to inverted vertices
-                adjacent.setIncidents(commonPoint1IndexOnAdj, incidentsArray[commonPoint2IndexOnAdj]);
-                adjacent.setIncidents(commonPoint2IndexOnAdj, incidentsArray[commonPoint1IndexOnAdj]);
-                
-                // Inverting adjacency to match the new edges order.
-                if (commonPoint1IndexOnAdj == 0){
-                  if (commonPoint2IndexOnAdj == 1){
-                    invertedEdge = 0;
-                  } else if (commonPoint2IndexOnAdj == 2){
-                    invertedEdge = 2;
-                  }
-                } else if (commonPoint1IndexOnAdj == 1){
-                  if (commonPoint2IndexOnAdj == 0){
-                    invertedEdge = 0;
-                  } else if (commonPoint2IndexOnAdj == 2){
-                    invertedEdge = 1;
-                  }
-                } else if (commonPoint1IndexOnAdj == 2){
-                  if (commonPoint2IndexOnAdj == 0){
-                    invertedEdge = 2;
-                  } else if (commonPoint2IndexOnAdj == 1){
-                    invertedEdge = 1;
-                  }
-                }
-                
-                if (invertedEdge == 0){
-                  adjacent.setAdjacents(1, adjacentsArray[2]);
-                  adjacent.setAdjacents(2, adjacentsArray[1]);
-                } else if (invertedEdge == 1){
-                  adjacent.setAdjacents(0, adjacentsArray[2]);
-                  adjacent.setAdjacents(2, adjacentsArray[0]);
-                } else if (invertedEdge == 2){
-                  adjacent.setAdjacents(1, adjacentsArray[0]);
-                  adjacent.setAdjacents(0, adjacentsArray[1]);
-                  
-                }
-                
-                adjacentsArray = null;
-                incidentsArray = null;
-                tmp            = -1;
-                invertedEdge   = -1;
-              }
-              
-              // Compute the adjacent normal
-              adjacent.computeAndSetNormal();
-              processedTriangles++;
-
-              // Mark the adjacent as processed.
-              flag.put(adjacent, 1);
-              
-              // Set the adjacent as part of the next wave front.
-              wavefront2.add(adjacent);
-              
-              // Update the processed faces count.
-              orientedFaces++;
-            }
-            
-          }
-          
-          wave.computeAndSetNormal();
-          processedTriangles++;
-        }
-
-        if (processedTriangles < faces.size()){
-          processedTriangles = faces.size();
-        }
-        
-        wavefront.clear();
-        wavefront.addAll(wavefront2);
-        wavefront2.clear();
-
-        // Check if all the faces are oriented or if the face orientation does not provide
-        // new computation
-        if (orientedFaces == faces.size() || (lastIterationOrientedFaces == orientedFaces)){
-          oneflagactive = false;
-        }
-        
-        lastIterationOrientedFaces = orientedFaces;
-      }
-      
-      //
-      // Computation of vertices normals
-      //
-      HashMap<IPoint3D, Boolean> normalescalculees = new HashMap<IPoint3D, Boolean>();
-      
-      Iterator<Triangle> triangleIter        = faces.iterator();
-      Triangle triangle                      = null;
-      
-      Collection<Triangle> pointNeighborhood = new LinkedList<Triangle>();
-      Point3DManager<IPoint3D> vertices      = null;
-      IPoint3D vertex                        = null;
-      
-      while(triangleIter.hasNext()){
-
-        triangle = triangleIter.next();
-
-        if (triangle.getNormale() == null){
-          triangle.computeAndSetNormal();  
-        }
-        
-        vertices = triangle.getVertices();
-        
-        if (vertices != null){
-          Iterator<IPoint3D> vertexIter = vertices.iterator();
-          int cpt = 0;
-          while(vertexIter.hasNext()){
-            
-            vertex = vertexIter.next();
-
-            if ((vertex instanceof HasNormal)&&(normalescalculees.get(vertex) == null)){
-              
-              ((HasNormal) vertex).setNormal(GeometryFactory.createPoint3D(
-                                             triangle.getNormale().getX(), 
-                                             triangle.getNormale().getY(), 
-                                             triangle.getNormale().getZ()));
-              
-              // Get adjacent from the first edge containing the vertex
-              if (triangle.getAdjacents(cpt) != null){
-                pointNeighborhood.addAll(triangle.getAdjacents(cpt));
-              }
-              
-              // Get adjacent from the second edge containing the vertex
-              if (triangle.getAdjacents((cpt+2)%3) != null){
-                pointNeighborhood.addAll(triangle.getAdjacents((cpt+2)%3));
-              }
-              
-              // Get incidents faces linked to the current vertex
-              if (triangle.getIncidents(cpt) != null){
-                pointNeighborhood.addAll(triangle.getIncidents(cpt));
-              }
-              
-              // Summing all neighbors faces normal to compute the vertex normal.
-              Iterator<Triangle> faceIter = pointNeighborhood.iterator();
-              IPoint3D tmpNormal          = null;
-              while(faceIter.hasNext()){
-                tmpNormal = faceIter.next().getNormale();
-                ((HasNormal) vertex).getNormal().plusAffect(tmpNormal);
-              }
-              
-              ((HasNormal) vertex).getNormal().normalize();
-              
-              cpt++;
-              
-              normalescalculees.put(vertex, true);
-              
-              pointNeighborhood.clear();
-              tmpNormal = null;
-              vertex    = null;
-            }
-          }
-          
-          vertexIter = null;
-        }
-        
-        vertices = null;
-        triangle = null;
-        
-        processedTriangles++;
-      }
-
-      normalescalculees.clear();
-      normalescalculees = null;
-      
-      triangleIter = null;
-    }
-  }
- */
 } 
 ////////////////////////////////////////////////////////////////////////////////
 // FIN COMPATIBILITE AVEC LES CLASSES DE GEOMETRIE DE HAUT NIVEAU D'ARPENTEUR //
@@ -0,0 +1,548 @@
+package org.jeometry.geom3D;
+
+import org.jeometry.Jeometry;
+
+/**
+ * A spatial index of 3D points based on a balanced <a href="https://en.wikipedia.org/wiki/K-d_tree">k-d tree</a>.<br><br>
+ * The points are given as a flat <code>double[3*N]</code> coordinates array where the point <code>i</code> is stored from offset <code>3*i</code>.
+ * The tree is implicit: the point indices are permuted so that each node covers a contiguous range of the permutation, split at its middle along
+ * the dimension of largest spread, and only the split dimensions and values are stored (in heap order). Unlike a uniform grid, the tree adapts
+ * to points that are sampled on surfaces or curves. The bounds of the points of each node are also stored, so that farthest point and farthest pair
+ * queries can skip the nodes that cannot hold a farther point. The tree is immutable once built, the queries do not allocate memory and can be run
+ * concurrently from multiple threads as long as each thread provides its own result arrays.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ * @see Geom3D#computeDiameter(double[], int, int[])
+ */
+public class PointKdTree {
+
+  /**
+   * The maximal number of points within a leaf.
+   */
+  public static final int LEAF_SIZE = 8;
+
+  /**
+   * The indexed coordinates.
+   */
+  private double[] coordinates = null;
+
+  /**
+   * The number of indexed points.
+   */
+  private int count            = 0;
+
+  /**
+   * The permutation of the point indices. Each node covers a contiguous range of this array.
+   */
+  private int[] permutation    = null;
+
+  /**
+   * The split dimension of each internal node (heap order, the root is the node <code>1</code>).
+   */
+  private byte[] splitDimensions = null;
+
+  /**
+   * The split value of each internal node (heap order, the root is the node <code>1</code>).
+   */
+  private double[] splitValues   = null;
+
+  /**
+   * The bounds of the points of each node (heap order), the bounds of the node <code>n</code> being stored as <code>{xmin, ymin, zmin, xmax, ymax, zmax}</code> from offset <code>6*n</code>.
+   */
+  private double[] nodeBounds    = null;
+
+  /**
+   * Create a new k-d tree over the given coordinates.
+   * @param coordinates the points coordinates, as a <code>double[3*N]</code> array. The array is not copied and should not be modified while the tree is used.
+   * @throws IllegalArgumentException if the coordinates are <code>null</code>.
+   */
+  public PointKdTree(double[] coordinates) {
+    this(coordinates, (coordinates != null) ? coordinates.length / 3 : 0);
+  }
+
+  /**
+   * Create a new k-d tree over the first <code>count</code> points of the given coordinates.
+   * @param coordinates the points coordinates, the coordinates of the point <code>i</code> being stored from offset <code>3*i</code>.
+   * The array is not copied and should not be modified while the tree is used.
+   * @param count the number of points to index.
+   * @throws IllegalArgumentException if the coordinates are <code>null</code> or if they cannot store <code>count</code> points.
+   */
+  public PointKdTree(double[] coordinates, int count) {
+
+    if (coordinates == null) {
+      throw new IllegalArgumentException("Coordinates cannot be null.");
+    }
+
+    if ((count < 0) || (coordinates.length < 3*count)) {
+      throw new IllegalArgumentException("Coordinates array cannot store "+count+" points.");
+    }
+
+    this.coordinates = coordinates;
+    this.count       = count;
+
+    this.permutation = new int[this.count];
+    for(int i = 0; i < this.count; i++) {
+      this.permutation[i] = i;
+    }
+
+    // The tree depth is such that the leaves hold at most LEAF_SIZE points
+    int nodes = 2;
+    while ((this.count + (nodes / 2) - 1) / (nodes / 2) > LEAF_SIZE) {
+      nodes *= 2;
+    }
+
+    this.splitDimensions = new byte[nodes];
+    this.splitValues     = new double[nodes];
+
+    this.nodeBounds      = new double[6*nodes];
+
+    build(1, 0, this.count);
+  }
+
+  /**
+   * Get the indexed coordinates. The returned array is the internal one and should not be modified.
+   * @return the indexed coordinates, as a <code>double[3*N]</code> array.
+   */
+  public double[] getCoordinates() {
+    return this.coordinates;
+  }
+
+  /**
+   * Get the number of indexed points.
+   * @return the number of indexed points.
+   */
+  public int getPointCount() {
+    return this.count;
+  }
+
+  /**
+   * Search the <code>k</code> nearest indexed points of the given location. The found points are sorted by increasing distance.
+   * @param x the location x coordinate.
+   * @param y the location y coordinate.
+   * @param z the location z coordinate.
+   * @param k the number of points to search.
+   * @param exclude the index of a point to exclude from the search (for example the point that is located at the query location), or <code>-1</code> if no point has to be excluded.
+   * @param indices the array that will contain the indices of the found points (at least <code>int[k]</code>).
+   * @param squaredDistances the array that will contain the squared distances of the found points (at least <code>double[k]</code>).
+   * @return the number of found points, that is <code>k</code> if enough points are indexed.
+   */
+  public int nearest(double x, double y, double z, int k, int exclude, int[] indices, double[] squaredDistances) {
+
+    if ((k < 1) || (this.count == 0)) {
+      return 0;
+    }
+
+    int found = search(1, 0, this.count, x, y, z, k, exclude, indices, squaredDistances, 0);
+
+    // Sort the max heap by increasing distance
+    for(int last = found - 1; last > 0; last--) {
+      swap(indices, squaredDistances, 0, last);
+      siftDown(indices, squaredDistances, 0, last);
+    }
+
+    return found;
+  }
+
+  /**
+   * Search the nearest points within the given node.
+   * @param node the node.
+   * @param start the first point of the node within the permutation (included).
+   * @param end the last point of the node within the permutation (excluded).
+   * @param x the location x coordinate.
+   * @param y the location y coordinate.
+   * @param z the location z coordinate.
+   * @param k the number of points to search.
+   * @param exclude the index of the excluded point.
+   * @param indices the max heap of the found points indices.
+   * @param distances the max heap of the found points squared distances.
+   * @param found the number of points within the heap.
+   * @return the number of points within the heap after the node processing.
+   */
+  private int search(int node, int start, int end, double x, double y, double z, int k, int exclude, int[] indices, double[] distances, int found) {
+
+    int size = found;
+
+    if (end - start <= LEAF_SIZE) {
+      for(int p = start; p < end; p++) {
+        int point = this.permutation[p];
+        if (point != exclude) {
+          double dx = this.coordinates[3*point]   - x;
+          double dy = this.coordinates[3*point+1] - y;
+          double dz = this.coordinates[3*point+2] - z;
+          double d  = dx*dx + dy*dy + dz*dz;
+
+          if (size < k) {
+            indices[size]   = point;
+            distances[size] = d;
+            size++;
+            siftUp(indices, distances, size - 1);
+          } else if (d < distances[0]) {
+            indices[0]   = point;
+            distances[0] = d;
+            siftDown(indices, distances, 0, size);
+          }
+        }
+      }
+      return size;
+    }
+
+    int middle = (start + end) >>> 1;
+    int dimension = this.splitDimensions[node];
+    double offset = (dimension == 0 ? x : (dimension == 1 ? y : z)) - this.splitValues[node];
+
+    // The child that contains the location is processed first
+    if (offset < 0.0d) {
+      size = search(2*node, start, middle, x, y, z, k, exclude, indices, distances, size);
+      if ((size < k) || (offset*offset < distances[0])) {
+        size = search(2*node+1, middle, end, x, y, z, k, exclude, indices, distances, size);
+      }
+    } else {
+      size = search(2*node+1, middle, end, x, y, z, k, exclude, indices, distances, size);
+      if ((size < k) || (offset*offset < distances[0])) {
+        size = search(2*node, start, middle, x, y, z, k, exclude, indices, distances, size);
+      }
+    }
+
+    return size;
+  }
+
+  /**
+   * Search the indexed point that is the farthest from the given location, provided that its squared distance is greater than the given bound.
+   * The nodes whose points cannot be farther than the bound or than the current farthest point are not explored,
+   * so a tight bound makes the search much faster than a scan of all the points.
+   * @param x the location x coordinate.
+   * @param y the location y coordinate.
+   * @param z the location z coordinate.
+   * @param squaredBound the squared distance that the farthest point has to exceed.
+   * @param squaredDistance the array that will contain the squared distance of the found point at index <code>0</code> (at least <code>double[1]</code>).
+   * @return the index of the farthest point or <code>-1</code> if no point is farther than the bound.
+   */
+  public int farthest(double x, double y, double z, double squaredBound, double[] squaredDistance) {
+
+    squaredDistance[0] = squaredBound;
+
+    if (this.count == 0) {
+      return -1;
+    }
+
+    return farthest(1, 0, this.count, x, y, z, squaredDistance, -1);
+  }
+
+  /**
+   * Search the farthest point within the given node.
+   * @param node the node.
+   * @param start the first point of the node within the permutation (included).
+   * @param end the last point of the node within the permutation (excluded).
+   * @param x the location x coordinate.
+   * @param y the location y coordinate.
+   * @param z the location z coordinate.
+   * @param best the squared distance of the farthest point found so far (at index <code>0</code>).
+   * @param farthest the index of the farthest point found so far.
+   * @return the index of the farthest point after the node processing.
+   */
+  private int farthest(int node, int start, int end, double x, double y, double z, double[] best, int farthest) {
+
+    // The largest distance from the location to the node points bounds
+    double fx = Math.max(x - this.nodeBounds[6*node],   this.nodeBounds[6*node+3] - x);
+    double fy = Math.max(y - this.nodeBounds[6*node+1], this.nodeBounds[6*node+4] - y);
+    double fz = Math.max(z - this.nodeBounds[6*node+2], this.nodeBounds[6*node+5] - z);
+    if (fx*fx + fy*fy + fz*fz <= best[0]) {
+      return farthest;
+    }
+
+    int result = farthest;
+
+    if (end - start <= LEAF_SIZE) {
+      for(int p = start; p < end; p++) {
+        int point = this.permutation[p];
+        double dx = this.coordinates[3*point]   - x;
+        double dy = this.coordinates[3*point+1] - y;
+        double dz = this.coordinates[3*point+2] - z;
+        double d  = dx*dx + dy*dy + dz*dz;
+        if (d > best[0]) {
+          best[0] = d;
+          result  = point;
+        }
+      }
+      return result;
+    }
+
+    int middle    = (start + end) >>> 1;
+    int dimension = this.splitDimensions[node];
+    double offset = (dimension == 0 ? x : (dimension == 1 ? y : z)) - this.splitValues[node];
+
+    // The child that is on the other side of the location is processed first
+    if (offset >= 0.0d) {
+      result = farthest(2*node, start, middle, x, y, z, best, result);
+      result = farthest(2*node+1, middle, end, x, y, z, best, result);
+    } else {
+      result = farthest(2*node+1, middle, end, x, y, z, best, result);
+      result = farthest(2*node, start, middle, x, y, z, best, result);
+    }
+
+    return result;
+  }
+
+  /**
+   * Search the two indexed points that are the farthest from each other, provided that their squared distance is greater than the given bound.
+   * The pair is searched by a dual traversal of the tree that only explores the pairs of nodes whose bounds may be farther apart than the best pair found so far.
+   * @param squaredBound the squared distance that the farthest pair has to exceed.
+   * @param pair the array that will contain the indices of the two farthest points (at least <code>int[2]</code>). The array is not modified if no pair is farther than the bound.
+   * @return the squared distance between the two farthest points or the bound if no pair is farther.
+   */
+  public double farthestPair(double squaredBound, int[] pair) {
+
+    double[] best = new double[] {squaredBound};
+
+    if (this.count > 1) {
+      farthestPair(1, 0, this.count, 1, 0, this.count, best, pair);
+    }
+
+    return best[0];
+  }
+
+  /**
+   * Search the farthest pair of points between the two given nodes.
+   * @param node1 the first node.
+   * @param start1 the first point of the first node within the permutation (included).
+   * @param end1 the last point of the first node within the permutation (excluded).
+   * @param node2 the second node.
+   * @param start2 the first point of the second node within the permutation (included).
+   * @param end2 the last point of the second node within the permutation (excluded).
+   * @param best the squared distance of the farthest pair found so far (at index <code>0</code>).
+   * @param pair the farthest pair found so far.
+   */
+  private void farthestPair(int node1, int start1, int end1, int node2, int start2, int end2, double[] best, int[] pair) {
+
+    if (maximalSquaredDistance(node1, node2) <= best[0]) {
+      return;
+    }
+
+    boolean leaf1 = end1 - start1 <= LEAF_SIZE;
+    boolean leaf2 = end2 - start2 <= LEAF_SIZE;
+
+    if (leaf1 && leaf2) {
+      for(int p = start1; p < end1; p++) {
+        int i = this.permutation[p];
+        for(int q = (node1 == node2) ? p + 1 : start2; q < end2; q++) {
+          int j = this.permutation[q];
+          double dx = this.coordinates[3*i]   - this.coordinates[3*j];
+          double dy = this.coordinates[3*i+1] - this.coordinates[3*j+1];
+          double dz = this.coordinates[3*i+2] - this.coordinates[3*j+2];
+          double d  = dx*dx + dy*dy + dz*dz;
+          if (d > best[0]) {
+            best[0] = d;
+            pair[0] = i;
+            pair[1] = j;
+          }
+        }
+      }
+      return;
+    }
+
+    if (node1 == node2) {
+      int middle = (start1 + end1) >>> 1;
+      farthestPair(2*node1, start1, middle, 2*node1+1, middle, end1, best, pair);
+      farthestPair(2*node1, start1, middle, 2*node1, start1, middle, best, pair);
+      farthestPair(2*node1+1, middle, end1, 2*node1+1, middle, end1, best, pair);
+      return;
+    }
+
+    // The largest node is split and its child that may hold the farthest points is processed first
+    if (leaf2 || (!leaf1 && (end1 - start1 >= end2 - start2))) {
+      int middle = (start1 + end1) >>> 1;
+      if (maximalSquaredDistance(2*node1, node2) >= maximalSquaredDistance(2*node1+1, node2)) {
+        farthestPair(2*node1, start1, middle, node2, start2, end2, best, pair);
+        farthestPair(2*node1+1, middle, end1, node2, start2, end2, best, pair);
+      } else {
+        farthestPair(2*node1+1, middle, end1, node2, start2, end2, best, pair);
+        farthestPair(2*node1, start1, middle, node2, start2, end2, best, pair);
+      }
+    } else {
+      int middle = (start2 + end2) >>> 1;
+      if (maximalSquaredDistance(node1, 2*node2) >= maximalSquaredDistance(node1, 2*node2+1)) {
+        farthestPair(node1, start1, end1, 2*node2, start2, middle, best, pair);
+        farthestPair(node1, start1, end1, 2*node2+1, middle, end2, best, pair);
+      } else {
+        farthestPair(node1, start1, end1, 2*node2+1, middle, end2, best, pair);
+        farthestPair(node1, start1, end1, 2*node2, start2, middle, best, pair);
+      }
+    }
+  }
+
+  /**
+   * Compute the largest squared distance between the points bounds of the two given nodes.
+   * @param node1 the first node.
+   * @param node2 the second node.
+   * @return the largest squared distance between the points bounds of the two nodes.
+   */
+  private double maximalSquaredDistance(int node1, int node2) {
+    double d = 0.0d;
+    for(int dimension = 0; dimension < 3; dimension++) {
+      double extent = Math.max(this.nodeBounds[6*node1+3+dimension] - this.nodeBounds[6*node2+dimension],
+                               this.nodeBounds[6*node2+3+dimension] - this.nodeBounds[6*node1+dimension]);
+      d += extent*extent;
+    }
+    return d;
+  }
+
+  /**
+   * Build the given node.
+   * @param node the node.
+   * @param start the first point of the node within the permutation (included).
+   * @param end the last point of the node within the permutation (excluded).
+   */
+  private void build(int node, int start, int end) {
+
+    // Bounds of the node points, the split is done along the dimension of largest spread
+    double minX = Double.POSITIVE_INFINITY;
+    double minY = Double.POSITIVE_INFINITY;
+    double minZ = Double.POSITIVE_INFINITY;
+    double maxX = Double.NEGATIVE_INFINITY;
+    double maxY = Double.NEGATIVE_INFINITY;
+    double maxZ = Double.NEGATIVE_INFINITY;
+    for(int p = start; p < end; p++) {
+      int point = this.permutation[p];
+      minX = Math.min(minX, this.coordinates[3*point]);
+      maxX = Math.max(maxX, this.coordinates[3*point]);
+      minY = Math.min(minY, this.coordinates[3*point+1]);
+      maxY = Math.max(maxY, this.coordinates[3*point+1]);
+      minZ = Math.min(minZ, this.coordinates[3*point+2]);
+      maxZ = Math.max(maxZ, this.coordinates[3*point+2]);
+    }
+
+    this.nodeBounds[6*node]   = minX;
+    this.nodeBounds[6*node+1] = minY;
+    this.nodeBounds[6*node+2] = minZ;
+    this.nodeBounds[6*node+3] = maxX;
+    this.nodeBounds[6*node+4] = maxY;
+    this.nodeBounds[6*node+5] = maxZ;
+
+    if (end - start <= LEAF_SIZE) {
+      return;
+    }
+
+    int dimension = 0;
+    if ((maxY - minY > maxX - minX) && (maxY - minY >= maxZ - minZ)) {
+      dimension = 1;
+    } else if ((maxZ - minZ > maxX - minX) && (maxZ - minZ > maxY - minY)) {
+      dimension = 2;
+    }
+
+    int middle = (start + end) >>> 1;
+    select(start, end - 1, middle, dimension);
+
+    this.splitDimensions[node] = (byte) dimension;
+    this.splitValues[node]     = this.coordinates[3*this.permutation[middle]+dimension];
+
+    build(2*node, start, middle);
+    build(2*node+1, middle, end);
+  }
+
+  /**
+   * Partially sort the permutation range so that the element at position <code>nth</code> is the one that would be there if the range was sorted
+   * along the given dimension, the lower elements being before and the greater after (quickselect).
+   * @param left the first position of the range (included).
+   * @param right the last position of the range (included).
+   * @param nth the position to select.
+   * @param dimension the dimension.
+   */
+  private void select(int left, int right, int nth, int dimension) {
+
+    int lo = left;
+    int hi = right;
+
+    while (hi > lo) {
+
+      double pivot = this.coordinates[3*this.permutation[(lo + hi) >>> 1]+dimension];
+
+      int i = lo;
+      int j = hi;
+      while (i <= j) {
+        while (this.coordinates[3*this.permutation[i]+dimension] < pivot) {
+          i++;
+        }
+        while (this.coordinates[3*this.permutation[j]+dimension] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          int tmp = this.permutation[i];
+          this.permutation[i] = this.permutation[j];
+          this.permutation[j] = tmp;
+          i++;
+          j--;
+        }
+      }
+
+      if (nth <= j) {
+        hi = j;
+      } else if (nth >= i) {
+        lo = i;
+      } else {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Move up the given element within the max heap.
+   * @param indices the heap indices.
+   * @param distances the heap keys.
+   * @param position the element position.
+   */
+  private static void siftUp(int[] indices, double[] distances, int position) {
+    int child = position;
+    while (child > 0) {
+      int parent = (child - 1) >> 1;
+      if (distances[parent] >= distances[child]) {
+        return;
+      }
+      swap(indices, distances, parent, child);
+      child = parent;
+    }
+  }
+
+  /**
+   * Move down the given element within the max heap.
+   * @param indices the heap indices.
+   * @param distances the heap keys.
+   * @param position the element position.
+   * @param size the heap size.
+   */
+  private static void siftDown(int[] indices, double[] distances, int position, int size) {
+    int parent = position;
+    while (true) {
+      int largest = parent;
+      int left    = 2*parent + 1;
+      int right   = left + 1;
+      if ((left < size) && (distances[left] > distances[largest])) {
+        largest = left;
+      }
+      if ((right < size) && (distances[right] > distances[largest])) {
+        largest = right;
+      }
+      if (largest == parent) {
+        return;
+      }
+      swap(indices, distances, parent, largest);
+      parent = largest;
+    }
+  }
+
+  /**
+   * Swap two heap elements.
+   * @param indices the heap indices.
+   * @param distances the heap keys.
+   * @param i the first element.
+   * @param j the second element.
+   */
+  private static void swap(int[] indices, double[] distances, int i, int j) {
+    int index    = indices[i];
+    indices[i]   = indices[j];
+    indices[j]   = index;
+    double value = distances[i];
+    distances[i] = distances[j];
+    distances[j] = value;
+  }
+}
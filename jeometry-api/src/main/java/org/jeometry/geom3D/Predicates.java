@@ -0,0 +1,485 @@
+package org.jeometry.geom3D;
+
+import java.util.Arrays;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.point.Point3D;
+
+/**
+ * Robust geometric predicates with adaptive precision, following <i>J. R. Shewchuk, "Adaptive Precision Floating-Point Arithmetic and Fast Robust Geometric Predicates",
+ * Discrete and Computational Geometry 18(3), 1997</i>.<br><br>
+ * Each predicate first evaluates its determinant with plain double arithmetic and compares it with a forward error bound. If the determinant is larger
+ * than the bound, its sign is certain and it is returned directly, which is the case for almost all the inputs. Otherwise, the determinant is evaluated
+ * exactly using floating point expansions (sums of non overlapping doubles) built from error free transformations, so that near degenerated and degenerated
+ * configurations are classified correctly. The sign of a returned value is always exact, its magnitude is an approximation of the determinant.<br><br>
+ * Contrary to the tolerance based tests of {@link Geom3D} (that rely on {@link Geom3D#EPSILON} or {@link Geom3D#ZERO_LIMIT}), a predicate returns <code>0</code>
+ * if and only if the configuration is exactly degenerated.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class Predicates {
+
+  /**
+   * The machine epsilon used by the error bounds (half an ulp of <code>1</code>, that is <code>2<sup>-53</sup></code>).
+   */
+  private static final double EPSILON = 0x1.0p-53;
+
+  /**
+   * The error bound of the orient 2D filter.
+   */
+  private static final double ORIENT2D_BOUND = (3.0d + 16.0d * EPSILON) * EPSILON;
+
+  /**
+   * The error bound of the orient 3D filter.
+   */
+  private static final double ORIENT3D_BOUND = (7.0d + 56.0d * EPSILON) * EPSILON;
+
+  /**
+   * The error bound of the insphere filter.
+   */
+  private static final double INSPHERE_BOUND = (16.0d + 224.0d * EPSILON) * EPSILON;
+
+  /**
+   * Compute the orientation of the three given 2D points. The result is positive if the points <code>a</code>, <code>b</code> and <code>c</code> occur
+   * in counterclockwise order, negative if they occur in clockwise order and <code>0</code> if they are collinear.
+   * The result is an approximation of twice the signed area of the triangle <code>abc</code>.
+   * @param ax the first point x coordinate.
+   * @param ay the first point y coordinate.
+   * @param bx the second point x coordinate.
+   * @param by the second point y coordinate.
+   * @param cx the third point x coordinate.
+   * @param cy the third point y coordinate.
+   * @return a value whose sign is the orientation of the points.
+   */
+  public static double orient2d(double ax, double ay, double bx, double by, double cx, double cy) {
+
+    double left  = (ax - cx) * (by - cy);
+    double right = (ay - cy) * (bx - cx);
+    double det   = left - right;
+
+    double sum;
+    if (left > 0.0d) {
+      if (right <= 0.0d) {
+        return det;
+      }
+      sum = left + right;
+    } else if (left < 0.0d) {
+      if (right >= 0.0d) {
+        return det;
+      }
+      sum = -left - right;
+    } else {
+      return det;
+    }
+
+    double bound = ORIENT2D_BOUND * sum;
+    if ((det >= bound) || (-det >= bound)) {
+      return det;
+    }
+
+    // Exact evaluation
+    double[] acx = difference(ax, cx);
+    double[] acy = difference(ay, cy);
+    double[] bcx = difference(bx, cx);
+    double[] bcy = difference(by, cy);
+
+    return estimate(sum(product(acx, bcy), negate(product(acy, bcx))));
+  }
+
+  /**
+   * Compute the orientation of the point <code>d</code> relatively to the plane that passes through the points <code>a</code>, <code>b</code> and <code>c</code>.
+   * The result is positive if <code>d</code> lies below the plane, where <i>above</i> is defined so that <code>a</code>, <code>b</code> and <code>c</code>
+   * appear in counterclockwise order when viewed from above the plane. The result is negative if <code>d</code> lies above the plane and <code>0</code> if the points are coplanar.
+   * The result is an approximation of six times the signed volume of the tetrahedron <code>abcd</code>, that is the determinant of the matrix whose rows are
+   * <code>a-d</code>, <code>b-d</code> and <code>c-d</code>.
+   * @param ax the first point x coordinate.
+   * @param ay the first point y coordinate.
+   * @param az the first point z coordinate.
+   * @param bx the second point x coordinate.
+   * @param by the second point y coordinate.
+   * @param bz the second point z coordinate.
+   * @param cx the third point x coordinate.
+   * @param cy the third point y coordinate.
+   * @param cz the third point z coordinate.
+   * @param dx the fourth point x coordinate.
+   * @param dy the fourth point y coordinate.
+   * @param dz the fourth point z coordinate.
+   * @return a value whose sign is the orientation of the points.
+   */
+  public static double orient3d(double ax, double ay, double az, double bx, double by, double bz,
+                                double cx, double cy, double cz, double dx, double dy, double dz) {
+
+    double adx = ax - dx;
+    double bdx = bx - dx;
+    double cdx = cx - dx;
+    double ady = ay - dy;
+    double bdy = by - dy;
+    double cdy = cy - dy;
+    double adz = az - dz;
+    double bdz = bz - dz;
+    double cdz = cz - dz;
+
+    double bdxcdy = bdx * cdy;
+    double cdxbdy = cdx * bdy;
+
+    double cdxady = cdx * ady;
+    double adxcdy = adx * cdy;
+
+    double adxbdy = adx * bdy;
+    double bdxady = bdx * ady;
+
+    double det = adz * (bdxcdy - cdxbdy) + bdz * (cdxady - adxcdy) + cdz * (adxbdy - bdxady);
+
+    double permanent = (Math.abs(bdxcdy) + Math.abs(cdxbdy)) * Math.abs(adz)
+                     + (Math.abs(cdxady) + Math.abs(adxcdy)) * Math.abs(bdz)
+                     + (Math.abs(adxbdy) + Math.abs(bdxady)) * Math.abs(cdz);
+
+    double bound = ORIENT3D_BOUND * permanent;
+    if ((det > bound) || (-det > bound)) {
+      return det;
+    }
+
+    // Exact evaluation
+    double[] eadx = difference(ax, dx);
+    double[] ebdx = difference(bx, dx);
+    double[] ecdx = difference(cx, dx);
+    double[] eady = difference(ay, dy);
+    double[] ebdy = difference(by, dy);
+    double[] ecdy = difference(cy, dy);
+    double[] eadz = difference(az, dz);
+    double[] ebdz = difference(bz, dz);
+    double[] ecdz = difference(cz, dz);
+
+    double[] bc = sum(product(ebdx, ecdy), negate(product(ecdx, ebdy)));
+    double[] ca = sum(product(ecdx, eady), negate(product(eadx, ecdy)));
+    double[] ab = sum(product(eadx, ebdy), negate(product(ebdx, eady)));
+
+    return estimate(sum(sum(product(eadz, bc), product(ebdz, ca)), product(ecdz, ab)));
+  }
+
+  /**
+   * Compute the orientation of the point <code>d</code> relatively to the plane that passes through the points <code>a</code>, <code>b</code> and <code>c</code>.
+   * @param a the first point.
+   * @param b the second point.
+   * @param c the third point.
+   * @param d the fourth point.
+   * @return a value whose sign is the orientation of the points.
+   * @see #orient3d(double, double, double, double, double, double, double, double, double, double, double, double)
+   */
+  public static double orient3d(Point3D a, Point3D b, Point3D c, Point3D d) {
+    return orient3d(a.getX(), a.getY(), a.getZ(), b.getX(), b.getY(), b.getZ(), c.getX(), c.getY(), c.getZ(), d.getX(), d.getY(), d.getZ());
+  }
+
+  /**
+   * Compute the position of the point <code>e</code> relatively to the sphere that passes through the points <code>a</code>, <code>b</code>, <code>c</code> and <code>d</code>.
+   * The points <code>a</code>, <code>b</code>, <code>c</code> and <code>d</code> have to be ordered so that they have a positive {@link #orient3d(double, double, double, double, double, double, double, double, double, double, double, double) orientation},
+   * otherwise the sign of the result is reversed. The result is then positive if <code>e</code> lies inside the sphere, negative if it lies outside
+   * and <code>0</code> if the five points are cospherical.
+   * @param ax the first point x coordinate.
+   * @param ay the first point y coordinate.
+   * @param az the first point z coordinate.
+   * @param bx the second point x coordinate.
+   * @param by the second point y coordinate.
+   * @param bz the second point z coordinate.
+   * @param cx the third point x coordinate.
+   * @param cy the third point y coordinate.
+   * @param cz the third point z coordinate.
+   * @param dx the fourth point x coordinate.
+   * @param dy the fourth point y coordinate.
+   * @param dz the fourth point z coordinate.
+   * @param ex the tested point x coordinate.
+   * @param ey the tested point y coordinate.
+   * @param ez the tested point z coordinate.
+   * @return a value whose sign is the position of the point relatively to the sphere.
+   */
+  public static double insphere(double ax, double ay, double az, double bx, double by, double bz,
+                                double cx, double cy, double cz, double dx, double dy, double dz,
+                                double ex, double ey, double ez) {
+
+    double aex = ax - ex;
+    double bex = bx - ex;
+    double cex = cx - ex;
+    double dex = dx - ex;
+    double aey = ay - ey;
+    double bey = by - ey;
+    double cey = cy - ey;
+    double dey = dy - ey;
+    double aez = az - ez;
+    double bez = bz - ez;
+    double cez = cz - ez;
+    double dez = dz - ez;
+
+    double aexbey = aex * bey;
+    double bexaey = bex * aey;
+    double ab = aexbey - bexaey;
+    double bexcey = bex * cey;
+    double cexbey = cex * bey;
+    double bc = bexcey - cexbey;
+    double cexdey = cex * dey;
+    double dexcey = dex * cey;
+    double cd = cexdey - dexcey;
+    double dexaey = dex * aey;
+    double aexdey = aex * dey;
+    double da = dexaey - aexdey;
+
+    double aexcey = aex * cey;
+    double cexaey = cex * aey;
+    double ac = aexcey - cexaey;
+    double bexdey = bex * dey;
+    double dexbey = dex * bey;
+    double bd = bexdey - dexbey;
+
+    double abc = aez * bc - bez * ac + cez * ab;
+    double bcd = bez * cd - cez * bd + dez * bc;
+    double cda = cez * da + dez * ac + aez * cd;
+    double dab = dez * ab + aez * bd + bez * da;
+
+    double alift = aex * aex + aey * aey + aez * aez;
+    double blift = bex * bex + bey * bey + bez * bez;
+    double clift = cex * cex + cey * cey + cez * cez;
+    double dlift = dex * dex + dey * dey + dez * dez;
+
+    double det = (dlift * abc - clift * dab) + (blift * cda - alift * bcd);
+
+    double aezplus = Math.abs(aez);
+    double bezplus = Math.abs(bez);
+    double cezplus = Math.abs(cez);
+    double dezplus = Math.abs(dez);
+    double aexbeyplus = Math.abs(aexbey);
+    double bexaeyplus = Math.abs(bexaey);
+    double bexceyplus = Math.abs(bexcey);
+    double cexbeyplus = Math.abs(cexbey);
+    double cexdeyplus = Math.abs(cexdey);
+    double dexceyplus = Math.abs(dexcey);
+    double dexaeyplus = Math.abs(dexaey);
+    double aexdeyplus = Math.abs(aexdey);
+    double aexceyplus = Math.abs(aexcey);
+    double cexaeyplus = Math.abs(cexaey);
+    double bexdeyplus = Math.abs(bexdey);
+    double dexbeyplus = Math.abs(dexbey);
+
+    double permanent = ((cexdeyplus + dexceyplus) * bezplus + (dexbeyplus + bexdeyplus) * cezplus + (bexceyplus + cexbeyplus) * dezplus) * alift
+                     + ((dexaeyplus + aexdeyplus) * cezplus + (aexceyplus + cexaeyplus) * dezplus + (cexdeyplus + dexceyplus) * aezplus) * blift
+                     + ((aexbeyplus + bexaeyplus) * dezplus + (bexdeyplus + dexbeyplus) * aezplus + (dexaeyplus + aexdeyplus) * bezplus) * clift
+                     + ((bexceyplus + cexbeyplus) * aezplus + (cexaeyplus + aexceyplus) * bezplus + (aexbeyplus + bexaeyplus) * cezplus) * dlift;
+
+    double bound = INSPHERE_BOUND * permanent;
+    if ((det > bound) || (-det > bound)) {
+      return det;
+    }
+
+    // Exact evaluation
+    double[] eaex = difference(ax, ex);
+    double[] ebex = difference(bx, ex);
+    double[] ecex = difference(cx, ex);
+    double[] edex = difference(dx, ex);
+    double[] eaey = difference(ay, ey);
+    double[] ebey = difference(by, ey);
+    double[] ecey = difference(cy, ey);
+    double[] edey = difference(dy, ey);
+    double[] eaez = difference(az, ez);
+    double[] ebez = difference(bz, ez);
+    double[] ecez = difference(cz, ez);
+    double[] edez = difference(dz, ez);
+
+    double[] eab = sum(product(eaex, ebey), negate(product(ebex, eaey)));
+    double[] ebc = sum(product(ebex, ecey), negate(product(ecex, ebey)));
+    double[] ecd = sum(product(ecex, edey), negate(product(edex, ecey)));
+    double[] eda = sum(product(edex, eaey), negate(product(eaex, edey)));
+    double[] eac = sum(product(eaex, ecey), negate(product(ecex, eaey)));
+    double[] ebd = sum(product(ebex, edey), negate(product(edex, ebey)));
+
+    double[] eabc = sum(sum(product(eaez, ebc), negate(product(ebez, eac))), product(ecez, eab));
+    double[] ebcd = sum(sum(product(ebez, ecd), negate(product(ecez, ebd))), product(edez, ebc));
+    double[] ecda = sum(sum(product(ecez, eda), product(edez, eac)), product(eaez, ecd));
+    double[] edab = sum(sum(product(edez, eab), product(eaez, ebd)), product(ebez, eda));
+
+    double[] ealift = sum(sum(product(eaex, eaex), product(eaey, eaey)), product(eaez, eaez));
+    double[] eblift = sum(sum(product(ebex, ebex), product(ebey, ebey)), product(ebez, ebez));
+    double[] eclift = sum(sum(product(ecex, ecex), product(ecey, ecey)), product(ecez, ecez));
+    double[] edlift = sum(sum(product(edex, edex), product(edey, edey)), product(edez, edez));
+
+    double[] left  = sum(product(edlift, eabc), negate(product(eclift, edab)));
+    double[] right = sum(product(eblift, ecda), negate(product(ealift, ebcd)));
+
+    return estimate(sum(left, right));
+  }
+
+  /**
+   * Compute the position of the point <code>e</code> relatively to the sphere that passes through the points <code>a</code>, <code>b</code>, <code>c</code> and <code>d</code>.
+   * @param a the first point.
+   * @param b the second point.
+   * @param c the third point.
+   * @param d the fourth point.
+   * @param e the tested point.
+   * @return a value whose sign is the position of the point relatively to the sphere.
+   * @see #insphere(double, double, double, double, double, double, double, double, double, double, double, double, double, double, double)
+   */
+  public static double insphere(Point3D a, Point3D b, Point3D c, Point3D d, Point3D e) {
+    return insphere(a.getX(), a.getY(), a.getZ(), b.getX(), b.getY(), b.getZ(), c.getX(), c.getY(), c.getZ(),
+                    d.getX(), d.getY(), d.getZ(), e.getX(), e.getY(), e.getZ());
+  }
+
+  /**
+   * Compute the exact difference <code>a - b</code> as an expansion.
+   * @param a the first value.
+   * @param b the second value.
+   * @return the expansion of the difference.
+   */
+  private static double[] difference(double a, double b) {
+
+    double x = a - b;
+
+    double bvirt  = a - x;
+    double avirt  = x + bvirt;
+    double bround = bvirt - b;
+    double around = a - avirt;
+    double y      = around + bround;
+
+    return (y == 0.0d) ? new double[] {x} : new double[] {y, x};
+  }
+
+  /**
+   * Compute the sum of the two given expansions (zero components are eliminated).
+   * @param e the first expansion.
+   * @param f the second expansion.
+   * @return the expansion of the sum.
+   */
+  private static double[] sum(double[] e, double[] f) {
+
+    double[] h = e;
+    for(int i = 0; i < f.length; i++) {
+      h = grow(h, f[i]);
+    }
+
+    return h;
+  }
+
+  /**
+   * Add a double to the given expansion (zero components are eliminated).
+   * @param e the expansion.
+   * @param b the value to add.
+   * @return the expansion of the sum.
+   */
+  private static double[] grow(double[] e, double b) {
+
+    double[] h = new double[e.length + 1];
+    int count = 0;
+
+    double q = b;
+    for(int i = 0; i < e.length; i++) {
+      double sum = q + e[i];
+      double tail = twoSumTail(q, e[i], sum);
+      q = sum;
+      if (tail != 0.0d) {
+        h[count++] = tail;
+      }
+    }
+
+    if ((q != 0.0d) || (count == 0)) {
+      h[count++] = q;
+    }
+
+    return (count == h.length) ? h : Arrays.copyOf(h, count);
+  }
+
+  /**
+   * Compute the product of the given expansion by a double (zero components are eliminated).
+   * @param e the expansion.
+   * @param b the factor.
+   * @return the expansion of the product.
+   */
+  private static double[] scale(double[] e, double b) {
+
+    double[] h = new double[2 * e.length];
+    int count = 0;
+
+    double product1 = e[0] * b;
+    double product0 = Math.fma(e[0], b, -product1);
+    if (product0 != 0.0d) {
+      h[count++] = product0;
+    }
+
+    double q = product1;
+    for(int i = 1; i < e.length; i++) {
+      product1 = e[i] * b;
+      product0 = Math.fma(e[i], b, -product1);
+
+      double sum  = q + product0;
+      double tail = twoSumTail(q, product0, sum);
+      if (tail != 0.0d) {
+        h[count++] = tail;
+      }
+
+      q    = product1 + sum;
+      tail = sum - (q - product1);
+      if (tail != 0.0d) {
+        h[count++] = tail;
+      }
+    }
+
+    if ((q != 0.0d) || (count == 0)) {
+      h[count++] = q;
+    }
+
+    return (count == h.length) ? h : Arrays.copyOf(h, count);
+  }
+
+  /**
+   * Compute the product of the two given expansions.
+   * @param e the first expansion.
+   * @param f the second expansion.
+   * @return the expansion of the product.
+   */
+  private static double[] product(double[] e, double[] f) {
+
+    double[] h = scale(e, f[0]);
+    for(int i = 1; i < f.length; i++) {
+      h = sum(h, scale(e, f[i]));
+    }
+
+    return h;
+  }
+
+  /**
+   * Compute the opposite of the given expansion.
+   * @param e the expansion.
+   * @return the expansion of the opposite.
+   */
+  private static double[] negate(double[] e) {
+    for(int i = 0; i < e.length; i++) {
+      e[i] = -e[i];
+    }
+    return e;
+  }
+
+  /**
+   * Compute an approximation of the value of the given expansion. As the components are non overlapping and sorted by increasing magnitude,
+   * the sign of the approximation is the sign of the expansion.
+   * @param e the expansion.
+   * @return an approximation of the expansion value.
+   */
+  private static double estimate(double[] e) {
+    double value = 0.0d;
+    for(int i = 0; i < e.length; i++) {
+      value += e[i];
+    }
+    return value;
+  }
+
+  /**
+   * Compute the rounding error of the sum <code>a + b</code> (the result of <i>two sum</i> algorithm), such that <code>a + b = x + tail</code> exactly.
+   * @param a the first value.
+   * @param b the second value.
+   * @param x the rounded sum <code>a + b</code>.
+   * @return the rounding error of the sum.
+   */
+  private static double twoSumTail(double a, double b, double x) {
+    double bvirt  = x - a;
+    double avirt  = x - bvirt;
+    double bround = b - bvirt;
+    double around = a - avirt;
+    return around + bround;
+  }
+}
@@ -0,0 +1,39 @@
+package org.jeometry.geom3D.point;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.SpatialLocalization3D;
+
+/**
+ * A {@link Point3DContainer 3D point container} that stores the coordinates of its points within a primitive array.
+ * The coordinates of the point <code>i</code> are stored from offset <code>3*i</code> as (<i>x</i>, <i>y</i>, <i>z</i>).
+ * Such a container enables algorithms to process the coordinates directly without accessing the {@link Point3D points} objects.
+ * @param <T> the specific type of the {@link Point3D 3D points}
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version} build {@value Jeometry#BUILD}
+ * @since 2.0.1
+ */
+public interface CoordinatesPoint3DContainer<T extends Point3D> extends Point3DContainer<T> {
+
+  /**
+   * Get the array that stores the coordinates of the points. The returned array is the internal one, its first <code>3*{@link #size()}</code> values are the points coordinates.
+   * Modifying the array modifies the points.
+   * @return the array that stores the coordinates of the points.
+   */
+  public double[] getCoordinatesArray();
+
+  /**
+   * Set the cached {@link SpatialLocalization3D spatial localization} of the container. This method enables an algorithm that has already
+   * processed all the coordinates to update the localization without another pass over the points.
+   * @param x the mean x coordinate.
+   * @param y the mean y coordinate.
+   * @param z the mean z coordinate.
+   * @param xmin the minimal x coordinate.
+   * @param ymin the minimal y coordinate.
+   * @param zmin the minimal z coordinate.
+   * @param xmax the maximal x coordinate.
+   * @param ymax the maximal y coordinate.
+   * @param zmax the maximal z coordinate.
+   * @see #updateLocalization()
+   */
+  public void setLocalization(double x, double y, double z, double xmin, double ymin, double zmin, double xmax, double ymax, double zmax);
+}
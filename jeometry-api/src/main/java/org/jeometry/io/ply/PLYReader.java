@@ -30,6 +30,7 @@ import org.jeometry.geom2D.point.Point2D;
 import org.jeometry.geom2D.point.Point2DContainer;
 import org.jeometry.geom3D.mesh.Face;
 import org.jeometry.geom3D.mesh.Mesh;
+import org.jeometry.geom3D.mesh.indexed.IndexedFace;
 import org.jeometry.geom3D.mesh.indexed.IndexedMesh;
 import org.jeometry.geom3D.mesh.indexed.IndexedTriangleMesh;
 import org.jeometry.geom3D.point.Point3D;
@@ -918,7 +919,10 @@ public Object read(Reader reader) throws IOException {
       logger.log(Level.INFO, "PLY points file read in " + (endTime - startTime) / 1000.0f + "s");
       return ret;
     } else if (this.geometryType == GEOM_POLYHEDRON) {
-      if (isTriangleMesh) {
+      if (isTriangleMesh && (this.textures == null)) {
+        mesh = createTriangleMesh(faces, (Point3DContainer<T>)ret);
+        faces = null;
+      } else if (isTriangleMesh) {
         mesh = JeometryFactory.createIndexedTriangleMesh((Point3DContainer<T>)ret);
         
         ((IndexedTriangleMesh<T>) mesh).setVerticesSource((Point3DContainer<T>)ret);
@@ -1579,7 +1583,11 @@ public Object read(Reader reader) throws IOException {
 
                     if (face != null) {
                       faceCurrentIndex = faceCurrentIndex + 1;
-                      faces.set(faceCurrentIndex, face);
+                      faces.add(face);
+
+                      if (!(face instanceof IndexedFace) || (((IndexedFace<T>) face).getVerticesIndexes() == null) || (((IndexedFace<T>) face).getVerticesIndexes().length != 3)) {
+                        isTriangleMesh = false;
+                      }
                     } else {
                       logger.log(Level.INFO, "Cannot read face.");
                     }
@@ -1633,7 +1641,10 @@ public Object read(Reader reader) throws IOException {
 
       if (fileDescriptor.getVertexType() == PLY.VERTEX_TYPE_3D) {
        
-        if (isTriangleMesh) {
+        if (isTriangleMesh && (this.textures == null)) {
+          mesh = createTriangleMesh(faces, points3D);
+          faces = null;
+        } else if (isTriangleMesh) {
           mesh = JeometryFactory.createIndexedTriangleMesh(points3D);
           
           if (this.textures != null) {
@@ -1898,6 +1909,37 @@ public Object read(Reader reader) throws IOException {
     }
   }
 
+  /**
+   * Create an {@link IndexedTriangleMesh indexed triangle mesh} made of the given triangular faces.
+   * The faces indices are copied within a single <code>int[3*F]</code> array that is given to the {@link JeometryFactory geometry factory},
+   * so that the returned mesh does not retain the read face objects.
+   * @param faces the read faces, that are all {@link IndexedFace indexed faces} with 3 vertices.
+   * @param points the vertices source.
+   * @return the indexed triangle mesh.
+   */
+  private IndexedTriangleMesh<T> createTriangleMesh(List<Face<T>> faces, Point3DContainer<T> points) {
+
+    int count = (faces != null) ? faces.size() : 0;
+
+    int[] triangles = new int[3*count];
+    int faceCount   = 0;
+
+    for(int i = 0; i < count; i++) {
+      Face<T> face = faces.get(i);
+      if (face instanceof IndexedFace) {
+        int[] indices = ((IndexedFace<T>) face).getVerticesIndexes();
+        if ((indices != null) && (indices.length == 3)) {
+          triangles[3*faceCount]   = indices[0];
+          triangles[3*faceCount+1] = indices[1];
+          triangles[3*faceCount+2] = indices[2];
+          faceCount++;
+        }
+      }
+    }
+
+    return JeometryFactory.createIndexedTriangleMesh(triangles, faceCount, points);
+  }
+
   /**
    * Dispatch a face read start.
    * @param face the read face
@@ -19,6 +19,7 @@ import org.jeometry.geom3D.primitive.indexed.IndexedTriangle;
 import org.jeometry.simple.geom3D.mesh.SimpleEdge;
 import org.jeometry.simple.geom3D.mesh.SimpleFace;
 import org.jeometry.simple.geom3D.mesh.SimpleMesh;
+import org.jeometry.simple.geom3D.mesh.indexed.CompactIndexedTriangleMesh;
 import org.jeometry.simple.geom3D.mesh.indexed.SimpleIndexedEdge;
 import org.jeometry.simple.geom3D.mesh.indexed.SimpleIndexedFace;
 import org.jeometry.simple.geom3D.mesh.indexed.SimpleIndexedMesh;
@@ -124,6 +125,11 @@ public class SimpleMeshBuilder implements MeshBuilder {
 		return new SimpleIndexedTriangleMesh<T>(size, source);
 	}
 
+	@Override
+	public <T extends Point3D> IndexedTriangleMesh<T> createIndexedTriangleMesh(int[] triangles, int faceCount, Point3DContainer<T> source) {
+		return new CompactIndexedTriangleMesh<T>(triangles, faceCount, source);
+	}
+
 	@Override
 	public <T extends Point3D> IndexedFace<T> createTexturedIndexedMeshFace(int[] indices) {
 		return new SimpleIndexedTexturedFace<T>(indices);
@@ -8,6 +8,7 @@ import org.jeometry.geom3D.point.Point3D;
 import org.jeometry.geom3D.point.Point3DContainer;
 import org.jeometry.math.Vector;
 import org.jeometry.simple.geom2D.point.SimplePoint2D;
+import org.jeometry.simple.geom3D.point.ArrayListPoint3DContainer;
 import org.jeometry.simple.geom3D.point.SimplePoint3D;
 import org.jeometry.simple.math.SimpleVector;
 
@@ -104,13 +105,11 @@ public class SimplePointBuilder implements PointBuilder {
     
 	@Override
 	public <T extends Point3D> Point3DContainer<T> createPoint3DContainer() {
-		// TODO Auto-generated method stub
-		return null;
+		return new ArrayListPoint3DContainer<T>();
 	}
 
 	@Override
 	public <T extends Point3D> Point3DContainer<T> createPoint3DContainer(int capacity) {
-		// TODO Auto-generated method stub
-		return null;
+		return new ArrayListPoint3DContainer<T>(capacity);
 	}
 }
@@ -4,7 +4,12 @@ import org.jeometry.Jeometry;
 import org.jeometry.factory.PrimitiveBuilder;
 import org.jeometry.geom2D.point.Point2D;
 import org.jeometry.geom2D.primitive.Ellipse2D;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.primitive.Box;
+import org.jeometry.geom3D.primitive.Plane;
 import org.jeometry.simple.geom2D.primitive.SimpleEllipse2D;
+import org.jeometry.simple.geom3D.primitive.SimpleBox;
+import org.jeometry.simple.geom3D.primitive.SimplePlane;
 
 /**
  * 
@@ -24,4 +29,14 @@ public class SimplePrimitiveBuilder implements PrimitiveBuilder {
 		return new SimpleEllipse2D(center, semiMajorAxis, semiMinorAxis, 0.0d);
 	}
 
+	@Override
+	public <T extends Point3D> Plane<T> createPlane() {
+		return new SimplePlane<T>();
+	}
+
+	@Override
+	public Box createBox(Point3D min, Point3D max) {
+		return new SimpleBox(min, max);
+	}
+
 }
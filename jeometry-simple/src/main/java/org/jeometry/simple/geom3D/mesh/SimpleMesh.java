@@ -2,8 +2,11 @@ package org.jeometry.simple.geom3D.mesh;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.jeometry.Jeometry;
 import org.jeometry.geom3D.SpatialLocalization3D;
@@ -12,6 +15,7 @@ import org.jeometry.geom3D.mesh.Face;
 import org.jeometry.geom3D.mesh.Mesh;
 import org.jeometry.geom3D.point.Point3D;
 import org.jeometry.geom3D.point.Point3DContainer;
+import org.jeometry.simple.geom3D.point.ArrayListPoint3DContainer;
 
 /**
  * A default implementation of the {@link Mesh Mesh} interface. See the interface documentation for details.
@@ -34,12 +38,15 @@ public class SimpleMesh<T extends Point3D> implements Mesh<T> {
 	/** The mesh vertices **/
 	private Point3DContainer<T> vertices = null;
 
+	/** The mesh vertices, indexed by identity in order to check in constant time if a face vertex is already a mesh vertex. Discarded as soon as the vertices are exposed by {@link #getVertices()}, as they can then be modified without the mesh knowing it. **/
+	private transient Set<T> vertexSet = null;
+
 	/**
 	 * Construct an empty mesh.
 	 */
 	public SimpleMesh(){
-		//  vertices = new Point3DManager();
-		this.faces = new ArrayList<Face<T>>();
+		this.faces    = new ArrayList<Face<T>>();
+		this.vertices = new ArrayListPoint3DContainer<T>();
 	}
 
 	/**
@@ -47,6 +54,7 @@ public class SimpleMesh<T extends Point3D> implements Mesh<T> {
 	 * @param faces Vector the faces of the mesh
 	 */
 	public SimpleMesh(Collection<Face<T>> faces) {
+		this();
 
 		if ((faces != null) && (faces.size() != 0)){
 			Iterator<Face<T>> iter = faces.iterator();
@@ -99,6 +107,7 @@ public class SimpleMesh<T extends Point3D> implements Mesh<T> {
 
 	@Override
 	public Point3DContainer<T> getVertices() {
+		this.vertexSet = null;
 		return this.vertices;
 	}
 
@@ -124,8 +133,18 @@ public class SimpleMesh<T extends Point3D> implements Mesh<T> {
 			Point3DContainer<T> v = face.getVertices();
 
 			if (v != null){
+
+				if (this.vertexSet == null) {
+					this.vertexSet = Collections.newSetFromMap(new IdentityHashMap<T, Boolean>(2*this.vertices.size()));
+					for(T p : this.vertices){
+						this.vertexSet.add(p);
+					}
+				}
+
 				for(T p : v){
-					this.vertices.add(p);
+					if (this.vertexSet.add(p)) {
+						this.vertices.add(p);
+					}
 				}
 			}
 		}
@@ -140,47 +159,47 @@ public class SimpleMesh<T extends Point3D> implements Mesh<T> {
 
 	@Override
 	public double getX() {
-		return getVertices().getX();
+		return this.vertices.getX();
 	}
 
 	@Override
 	public double getY(){
-		return getVertices().getY();
+		return this.vertices.getY();
 	}
 
 	@Override
 	public double getZ(){
-		return getVertices().getZ();
+		return this.vertices.getZ();
 	}
 
 	@Override
 	public double getXMin() {
-		return getVertices().getXMin();
+		return this.vertices.getXMin();
 	}
 
 	@Override
 	public double getYMin() {
-		return getVertices().getYMin();
+		return this.vertices.getYMin();
 	}
 
 	@Override
 	public double getZMin() {
-		return getVertices().getZMin();
+		return this.vertices.getZMin();
 	}
 
 	@Override
 	public double getXMax() {
-		return getVertices().getXMax();
+		return this.vertices.getXMax();
 	}
 
 	@Override
 	public double getYMax() {
-		return getVertices().getYMax();
+		return this.vertices.getYMax();
 	}
 
 	@Override
 	public double getZMax() {
-		return getVertices().getZMax();
+		return this.vertices.getZMax();
 	}
 
 	@Override
@@ -0,0 +1,682 @@
+package org.jeometry.simple.geom3D.mesh.indexed;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.jeometry.Jeometry;
+import org.jeometry.factory.JeometryFactory;
+import org.jeometry.geom3D.Geom3D;
+import org.jeometry.geom3D.SpatialLocalization3D;
+import org.jeometry.geom3D.mesh.Edge;
+import org.jeometry.geom3D.mesh.Face;
+import org.jeometry.geom3D.mesh.indexed.IndexedEdge;
+import org.jeometry.geom3D.mesh.indexed.IndexedFace;
+import org.jeometry.geom3D.mesh.indexed.IndexedTriangleMesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.jeometry.geom3D.primitive.indexed.IndexedTriangle;
+import org.jeometry.simple.geom3D.primitive.indexed.SimpleIndexedTriangle;
+
+/**
+ * An {@link IndexedTriangleMesh indexed triangle mesh} that stores its faces within a single primitive array.<br><br>
+ * The triangle <code>f</code> is made of the vertices whose indices are stored from offset <code>3*f</code> of an <code>int[3*F]</code> array,
+ * that is 12 bytes per triangle instead of one object (with its own indices array and mesh reference) per triangle.
+ * The {@link IndexedTriangle triangles} returned by {@link #getFacesIndexes()} are {@link CompactIndexedTriangle lightweight views} that are created on demand
+ * and that read and write their indices within the mesh array. Algorithms that produce triangles (readers, convex hull, triangulations) can fill the mesh directly
+ * using {@link #addTriangle(int, int, int)} or {@link #CompactIndexedTriangleMesh(int[], int, Point3DContainer)} without creating any face object.
+ * @param <T> The type of underlying 3D points
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class CompactIndexedTriangleMesh<T extends Point3D> implements IndexedTriangleMesh<T> {
+
+	/**
+	 * The serial version UID.
+	 */
+	private static final long serialVersionUID = Jeometry.BUILD;
+
+	/**
+	 * The vertices source.
+	 */
+	private Point3DContainer<T> verticesSource = null;
+
+	/**
+	 * The triangles vertex indices, the triangle <code>f</code> being stored from offset <code>3*f</code>.
+	 */
+	private int[] triangles = null;
+
+	/**
+	 * The number of triangles.
+	 */
+	private int faceCount = 0;
+
+	/**
+	 * The edges.
+	 */
+	private List<IndexedEdge<T>> edges = null;
+
+	/**
+	 * The list view over the triangles.
+	 */
+	private transient List<IndexedTriangle<T>> faces = null;
+
+	/**
+	 * Is the indices have to be validated.
+	 */
+	private boolean validatedIndexes = false;
+
+	/**
+	 * The x coordinate of the mesh.
+	 */
+	private double x    = Double.NaN;
+
+	/**
+	 * The y coordinate of the mesh.
+	 */
+	private double y    = Double.NaN;
+
+	/**
+	 * The z coordinate of the mesh.
+	 */
+	private double z    = Double.NaN;
+
+	/**
+	 * The x min coordinate of the mesh.
+	 */
+	private double xmin = Double.NaN;
+
+	/**
+	 * The y min coordinate of the mesh.
+	 */
+	private double ymin = Double.NaN;
+
+	/**
+	 * The z min coordinate of the mesh.
+	 */
+	private double zmin = Double.NaN;
+
+	/**
+	 * The x max coordinate of the mesh.
+	 */
+	private double xmax = Double.NaN;
+
+	/**
+	 * The y max coordinate of the mesh.
+	 */
+	private double ymax = Double.NaN;
+
+	/**
+	 * The z max coordinate of the mesh.
+	 */
+	private double zmax = Double.NaN;
+
+	/**
+	 * Get the number of triangles.
+	 * @return the number of triangles.
+	 */
+	public int getFaceCount() {
+		return this.faceCount;
+	}
+
+	/**
+	 * Get the triangles array. The triangle <code>f</code> is made of the vertices whose indices are stored from offset <code>3*f</code>.
+	 * The returned array is the internal one, only its first <code>3*{@link #getFaceCount()}</code> values are meaningful and it should not be modified.
+	 * @return the triangles array.
+	 */
+	public int[] getTriangles() {
+		return this.triangles;
+	}
+
+	/**
+	 * Get the index of the vertex at the given position within the given triangle.
+	 * @param face the triangle index.
+	 * @param position the position of the vertex within the triangle (between 0 and 2).
+	 * @return the index of the vertex.
+	 * @throws IndexOutOfBoundsException if the triangle does not exist.
+	 */
+	public int getVertexIndex(int face, int position) {
+		if ((face < 0) || (face >= this.faceCount)) {
+			throw new IndexOutOfBoundsException("Invalid face "+face+" for a mesh of "+this.faceCount+" faces.");
+		}
+		return this.triangles[3*face + position];
+	}
+
+	/**
+	 * Set the vertices of the given triangle.
+	 * @param face the triangle index.
+	 * @param vertex1 the index of the first vertex.
+	 * @param vertex2 the index of the second vertex.
+	 * @param vertex3 the index of the third vertex.
+	 * @throws IndexOutOfBoundsException if the triangle does not exist.
+	 */
+	public void setTriangle(int face, int vertex1, int vertex2, int vertex3) {
+		if ((face < 0) || (face >= this.faceCount)) {
+			throw new IndexOutOfBoundsException("Invalid face "+face+" for a mesh of "+this.faceCount+" faces.");
+		}
+
+		this.triangles[3*face]   = vertex1;
+		this.triangles[3*face+1] = vertex2;
+		this.triangles[3*face+2] = vertex3;
+		this.validatedIndexes    = false;
+	}
+
+	/**
+	 * Add a triangle made of the given vertices to the mesh.
+	 * @param vertex1 the index of the first vertex.
+	 * @param vertex2 the index of the second vertex.
+	 * @param vertex3 the index of the third vertex.
+	 * @return the index of the added triangle.
+	 */
+	public int addTriangle(int vertex1, int vertex2, int vertex3) {
+		ensureCapacity(this.faceCount + 1);
+
+		int offset = 3*this.faceCount;
+		this.triangles[offset]   = vertex1;
+		this.triangles[offset+1] = vertex2;
+		this.triangles[offset+2] = vertex3;
+		this.validatedIndexes    = false;
+
+		return this.faceCount++;
+	}
+
+	/**
+	 * Add the given triangles to the mesh.
+	 * @param triangles the triangles vertex indices, the triangle <code>f</code> being stored from offset <code>3*f</code>.
+	 * @param count the number of triangles to add.
+	 * @throws IllegalArgumentException if the array is <code>null</code> or too small.
+	 */
+	public void addTriangles(int[] triangles, int count) {
+		if ((triangles == null) || (count < 0) || (triangles.length < 3*count)) {
+			throw new IllegalArgumentException("Invalid triangles for "+count+" faces.");
+		}
+
+		ensureCapacity(this.faceCount + count);
+		System.arraycopy(triangles, 0, this.triangles, 3*this.faceCount, 3*count);
+		this.faceCount        = this.faceCount + count;
+		this.validatedIndexes = false;
+	}
+
+	/**
+	 * Remove the given triangle from the mesh. The following triangles are shifted and the mesh edges are cleared.
+	 * @param face the index of the triangle to remove.
+	 * @throws IndexOutOfBoundsException if the triangle does not exist.
+	 */
+	public void removeFace(int face) {
+		if ((face < 0) || (face >= this.faceCount)) {
+			throw new IndexOutOfBoundsException("Invalid face "+face+" for a mesh of "+this.faceCount+" faces.");
+		}
+
+		System.arraycopy(this.triangles, 3*(face+1), this.triangles, 3*face, 3*(this.faceCount - face - 1));
+		this.faceCount        = this.faceCount - 1;
+		this.validatedIndexes = false;
+
+		// The edges may rely on the removed triangle
+		this.edges.clear();
+	}
+
+	/**
+	 * Ensure that the mesh can store the given number of triangles without growing.
+	 * @param capacity the number of triangles.
+	 */
+	public void ensureCapacity(int capacity) {
+		if (3*capacity > this.triangles.length) {
+			this.triangles = Arrays.copyOf(this.triangles, 3*Math.max(capacity, (this.triangles.length / 3) * 2));
+		}
+	}
+
+	/**
+	 * Reduce the storage of the mesh to its number of triangles.
+	 */
+	public void trimToSize() {
+		if (this.triangles.length > 3*this.faceCount) {
+			this.triangles = Arrays.copyOf(this.triangles, 3*this.faceCount);
+		}
+	}
+
+	@Override
+	public List<? extends IndexedEdge<T>> getEdgesIndexes() {
+		return this.edges;
+	}
+
+	@Override
+	public List<Integer> getVerticesIndexes() {
+		if (this.faceCount > 0){
+
+			BitSet referenced = new BitSet();
+			for(int i = 0; i < 3*this.faceCount; i++) {
+				referenced.set(this.triangles[i]);
+			}
+
+			List<Integer> indices = new ArrayList<Integer>(referenced.cardinality());
+			for(int index = referenced.nextSetBit(0); index >= 0; index = referenced.nextSetBit(index + 1)) {
+				indices.add(index);
+			}
+
+			return indices;
+		}
+
+		return null;
+	}
+
+	@Override
+	public Point3DContainer<T> getVerticesSource() {
+		return this.verticesSource;
+	}
+
+	@Override
+	public void setVerticesSource(Point3DContainer<T> verticesSource) {
+		this.verticesSource   = verticesSource;
+		this.validatedIndexes = false;
+	}
+
+	/**
+	  * Add a face made of the given <code>indices</code> to the indexed mesh.
+	  * The given face has to be a triangle (with exactly 3 vertices).
+	  * @param indices the indices composing the {@link IndexedFace indexed face}.
+	  * @return <code>true</code> if the face is successfully added to the mesh and <code>false</code> otherwise.
+	  * @throws IllegalArgumentException if the given face is not a triangle.
+	  */
+	@Override
+	public boolean addFace(List<Integer> indices) {
+		if (indices != null) {
+			if (indices.size() == 3) {
+				addTriangle(indices.get(0), indices.get(1), indices.get(2));
+				return true;
+			} else {
+				throw new IllegalArgumentException("Only triangle faces are permitted ("+indices.size()+" vertices face given).");
+			}
+		} else {
+			throw new IllegalArgumentException("Cannot create triangle from null indices.");
+		}
+	}
+
+	/**
+	  * Add a face made of the given <code>indices</code> to the indexed mesh.
+	  * The given face has to be a triangle (with exactly 3 vertices).
+	  * @param indices the indices composing the {@link IndexedFace indexed face}.
+	  * @return <code>true</code> if the face is successfully added to the mesh and <code>false</code> otherwise.
+	  * @throws IllegalArgumentException if the given face is not a triangle.
+	  */
+	@Override
+	public boolean addFace(int[] indices) {
+		if (indices != null) {
+			if (indices.length == 3) {
+				addTriangle(indices[0], indices[1], indices[2]);
+				return true;
+			} else {
+				throw new IllegalArgumentException("Only triangular faces are permitted ("+indices.length+" vertices face given).");
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Add the given face to the mesh. The indices of an {@link IndexedFace indexed face} are copied within the mesh,
+	 * the vertices of another face are searched within the mesh vertices source. The given face object is not retained.
+	 * @param face the face to add.
+	 * @return <code>true</code> if the face is successfully added to the mesh and <code>false</code> otherwise.
+	 * @throws IllegalArgumentException if the given face is not a triangle or if its vertices cannot be found.
+	 */
+	@Override
+	public boolean addFace(Face<T> face) {
+		if (face != null) {
+
+			if (face instanceof IndexedFace) {
+				int[] indices = ((IndexedFace<T>) face).getVerticesIndexes();
+				if (indices != null) {
+					return addFace(indices);
+				}
+				return false;
+			}
+
+			Point3DContainer<T> faceVertices = face.getVertices();
+
+			if ((this.verticesSource != null) && (faceVertices != null)){
+
+				if (faceVertices.size() == 3) {
+					int vertex1 = this.verticesSource.indexOf(faceVertices.get(0));
+					int vertex2 = this.verticesSource.indexOf(faceVertices.get(1));
+					int vertex3 = this.verticesSource.indexOf(faceVertices.get(2));
+
+					if ((vertex1 != -1) && (vertex2 != -1) && (vertex3 != -1)) {
+						addTriangle(vertex1, vertex2, vertex3);
+						return true;
+					}
+
+					return false;
+				} else {
+					throw new IllegalArgumentException("Cannot create indexed triangle face from non triangular face.");
+				}
+
+			} else {
+				throw new IllegalArgumentException("Cannot create indexed triangle face from face with no vertex.");
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Remove the given face from the mesh. If the face is a view of this mesh, the designated triangle is removed,
+	 * otherwise the first triangle that has the same indices as the given {@link IndexedFace indexed face} is removed.
+	 * @param face the face to remove.
+	 * @return <code>true</code> if a triangle has been removed and <code>false</code> otherwise.
+	 */
+	@Override
+	public boolean removeFace(Face<?> face) {
+
+		if ((face instanceof CompactIndexedTriangle) && (((CompactIndexedTriangle<?>) face).getMesh() == this)) {
+			int index = ((CompactIndexedTriangle<?>) face).getFaceIndex();
+			if ((index >= 0) && (index < this.faceCount)) {
+				removeFace(index);
+				return true;
+			}
+			return false;
+		}
+
+		if (face instanceof IndexedFace) {
+			int[] indices = ((IndexedFace<?>) face).getVerticesIndexes();
+			if ((indices != null) && (indices.length == 3)) {
+				for(int f = 0; f < this.faceCount; f++) {
+					if ((this.triangles[3*f] == indices[0]) && (this.triangles[3*f+1] == indices[1]) && (this.triangles[3*f+2] == indices[2])) {
+						removeFace(f);
+						return true;
+					}
+				}
+			}
+		}
+
+		return false;
+	}
+
+	@Override
+	public boolean isValidatedIndexes() {
+		return this.validatedIndexes;
+	}
+
+	@Override
+	public boolean validateIndexes() {
+
+		this.validatedIndexes = this.verticesSource != null;
+
+		if (this.validatedIndexes) {
+			int size = this.verticesSource.size();
+			for(int i = 0; (i < 3*this.faceCount) && this.validatedIndexes; i++) {
+				this.validatedIndexes = (this.triangles[i] >= 0) && (this.triangles[i] < size);
+			}
+
+			if (this.edges != null){
+				for(int i = 0; i < this.edges.size(); i++){
+					this.validatedIndexes &= this.edges.get(i).validateIndexes();
+				}
+			}
+		}
+
+		return this.validatedIndexes;
+	}
+
+	@Override
+	public List<? extends Face<T>> getFaces() {
+		return getFacesIndexes();
+	}
+
+	@Override
+	public List<? extends Edge<T>> getEdges() {
+		return this.edges;
+	}
+
+	@Override
+	public Point3DContainer<T> getVertices() {
+		if (this.faceCount > 0){
+
+			if (this.verticesSource == null) {
+				throw new IllegalStateException("Mesh has no vertices source.");
+			}
+
+			Point3DContainer<T> vertices = JeometryFactory.createPoint3DContainer(this.faceCount);
+
+			// The vertices are added by order of first reference
+			BitSet added = new BitSet();
+			for(int i = 0; i < 3*this.faceCount; i++) {
+				int index = this.triangles[i];
+				if (! added.get(index)) {
+					added.set(index);
+					vertices.add(this.verticesSource.get(index));
+				}
+			}
+
+			return vertices;
+		}
+
+		return null;
+	}
+
+	@Override
+	public List<? extends IndexedTriangle<T>> getFacesIndexes() {
+		if (this.faces == null) {
+			this.faces = new TriangleViews();
+		}
+		return this.faces;
+	}
+
+	@Override
+	public boolean addTriangle(List<Integer> indices) {
+		return addFace(indices);
+	}
+
+	@Override
+	public boolean addTriangle(int[] indices) {
+		return addFace(indices);
+	}
+
+	@Override
+	public double getX() {
+		return this.x;
+	}
+
+	@Override
+	public double getY() {
+		return this.y;
+	}
+
+	@Override
+	public double getZ() {
+		return this.z;
+	}
+
+	@Override
+	public double getXMin() {
+		return this.xmin;
+	}
+
+	@Override
+	public double getYMin() {
+		return this.ymin;
+	}
+
+	@Override
+	public double getZMin() {
+		return this.zmin;
+	}
+
+	@Override
+	public double getXMax() {
+		return this.xmax;
+	}
+
+	@Override
+	public double getYMax() {
+		return this.ymax;
+	}
+
+	@Override
+	public double getZMax() {
+		return this.zmax;
+	}
+
+	/**
+	 * Compute the distance between this spatial localization and the given one.
+	 * The point that represents this mesh localization is set to its barycentre.
+	 * @param spatial the spatial localization.
+	 * @return the distance between this spatial localization and the given one or <code>Double.Nan</code> if the input spatial is <code>null</code> or if this location is not known.
+	 */
+	@Override
+	public double distance(SpatialLocalization3D spatial) {
+		if (spatial != null) {
+			return Geom3D.computeDistance(getX(), getY(), getZ(), spatial.getX(), spatial.getY(), spatial.getZ());
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 * Update the localization of the mesh from the vertices that are referenced by its triangles.
+	 * Each vertex is accounted once, whatever the number of triangles that reference it.
+	 */
+	@Override
+	public void updateLocalization() {
+		if ((this.faceCount > 0) && (this.verticesSource != null)){
+
+			double sx = 0.0d;
+			double sy = 0.0d;
+			double sz = 0.0d;
+
+			this.xmin = Double.MAX_VALUE;
+			this.ymin = Double.MAX_VALUE;
+			this.zmin = Double.MAX_VALUE;
+
+			this.xmax = -Double.MAX_VALUE;
+			this.ymax = -Double.MAX_VALUE;
+			this.zmax = -Double.MAX_VALUE;
+
+			int count = 0;
+
+			BitSet visited = new BitSet();
+			for(int i = 0; i < 3*this.faceCount; i++) {
+				int index = this.triangles[i];
+				if (! visited.get(index)) {
+					visited.set(index);
+
+					Point3D vertex = this.verticesSource.get(index);
+
+					sx = sx + vertex.getX();
+					sy = sy + vertex.getY();
+					sz = sz + vertex.getZ();
+
+					this.xmin = Math.min(this.xmin, vertex.getX());
+					this.ymin = Math.min(this.ymin, vertex.getY());
+					this.zmin = Math.min(this.zmin, vertex.getZ());
+
+					this.xmax = Math.max(this.xmax, vertex.getX());
+					this.ymax = Math.max(this.ymax, vertex.getY());
+					this.zmax = Math.max(this.zmax, vertex.getZ());
+
+					count = count + 1;
+				}
+			}
+
+			this.x = sx / count;
+			this.y = sy / count;
+			this.z = sz / count;
+
+		} else {
+			this.x    = Double.NaN;
+			this.y    = Double.NaN;
+			this.z    = Double.NaN;
+
+			this.xmin = Double.NaN;
+			this.ymin = Double.NaN;
+			this.zmin = Double.NaN;
+
+			this.xmax = Double.NaN;
+			this.ymax = Double.NaN;
+			this.zmax = Double.NaN;
+		}
+	}
+
+	/**
+	 * Create a new empty {@link IndexedTriangleMesh indexed triangle mesh}.
+	 */
+	public CompactIndexedTriangleMesh() {
+		this(16);
+	}
+
+	/**
+	 * Create a new {@link IndexedTriangleMesh indexed triangle mesh} with the given initial faces storage capacity.
+	 * @param capacity the initial capacity of faces storage
+	 */
+	public CompactIndexedTriangleMesh(int capacity) {
+		this.triangles = new int[3*Math.max(1, capacity)];
+		this.faceCount = 0;
+		this.edges     = new ArrayList<IndexedEdge<T>>();
+	}
+
+	/**
+	 * Create a new {@link IndexedTriangleMesh indexed triangle mesh} that relies on the given vertex source.
+	 * @param source the vertex source
+	 */
+	public CompactIndexedTriangleMesh(Point3DContainer<T> source) {
+		this();
+		setVerticesSource(source);
+	}
+
+	/**
+	 * Create a new {@link IndexedTriangleMesh indexed triangle mesh} that relies on the given vertex source with the given initial capacity.
+	 * @param capacity the initial capacity of the faces storage
+	 * @param source the vertex source
+	 */
+	public CompactIndexedTriangleMesh(int capacity, Point3DContainer<T> source) {
+		this(capacity);
+		setVerticesSource(source);
+	}
+
+	/**
+	 * Create a new {@link IndexedTriangleMesh indexed triangle mesh} made of the given triangles.
+	 * @param triangles the triangles vertex indices, the triangle <code>f</code> being stored from offset <code>3*f</code>. The array is copied.
+	 * @param faceCount the number of triangles.
+	 * @param source the vertex source
+	 * @throws IllegalArgumentException if the array is <code>null</code> or too small.
+	 */
+	public CompactIndexedTriangleMesh(int[] triangles, int faceCount, Point3DContainer<T> source) {
+		this(faceCount);
+		addTriangles(triangles, faceCount);
+		setVerticesSource(source);
+	}
+
+	/**
+	 * A list of the mesh triangles as {@link CompactIndexedTriangle views} that are created on demand.
+	 * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+	 * @version {@value Jeometry#version}
+	 * @since 2.0.1
+	 */
+	private class TriangleViews extends AbstractList<IndexedTriangle<T>> {
+
+		@Override
+		public IndexedTriangle<T> get(int index) {
+			if ((index < 0) || (index >= CompactIndexedTriangleMesh.this.faceCount)) {
+				throw new IndexOutOfBoundsException("Invalid face "+index+" for a mesh of "+CompactIndexedTriangleMesh.this.faceCount+" faces.");
+			}
+			return new CompactIndexedTriangle<T>(CompactIndexedTriangleMesh.this, index);
+		}
+
+		@Override
+		public int size() {
+			return CompactIndexedTriangleMesh.this.faceCount;
+		}
+
+		@Override
+		public boolean add(IndexedTriangle<T> triangle) {
+			return addFace(triangle);
+		}
+
+		@Override
+		public IndexedTriangle<T> remove(int index) {
+			IndexedTriangle<T> removed = new SimpleIndexedTriangle<T>(getVertexIndex(index, 0), getVertexIndex(index, 1), getVertexIndex(index, 2));
+			removeFace(index);
+			return removed;
+		}
+	}
+}
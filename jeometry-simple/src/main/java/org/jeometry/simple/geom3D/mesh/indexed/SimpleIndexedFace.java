@@ -88,11 +88,12 @@ public class SimpleIndexedFace<T extends Point3D> extends SimpleIndexedPolygon3D
 	public void setMesh(IndexedMesh<T> mesh) {
 		this.meshIndexed = mesh;
 
+		// The edges rely on the vertices source of their mesh
 		if (getVerticesSource() != null){
 			if (this.edgesIndexed != null){
 				Iterator<IndexedEdge<T>> edgeIter = this.edgesIndexed.iterator();
 				while(edgeIter.hasNext()){
-					edgeIter.next().setVerticesSource(getVerticesSource());
+					edgeIter.next().setMesh(mesh);
 				}
 			}
 		}
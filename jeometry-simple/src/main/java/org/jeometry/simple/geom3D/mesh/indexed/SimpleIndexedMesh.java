@@ -1,7 +1,7 @@
 package org.jeometry.simple.geom3D.mesh.indexed;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.List;
 
@@ -111,7 +111,6 @@ public class SimpleIndexedMesh<T extends Point3D> implements IndexedMesh<T>{
 
 				if (result) {
 					((IndexedFace<T>) face).setMesh(this);
-					((IndexedFace<T>) face).setVerticesSource(this.verticesSource);
 					((IndexedFace<T>) face).validateIndexes();
 				}
 				return result;
@@ -162,23 +161,25 @@ public class SimpleIndexedMesh<T extends Point3D> implements IndexedMesh<T>{
 	@Override
 	public List<Integer> getVerticesIndexes() {
 		if ((this.faces != null) && (this.faces.size() > 0)){
-			List<Integer> indices = new ArrayList<Integer>();
 
-			for(IndexedFace<T> face : this.faces) {
-				if ((face.getVerticesIndexes() != null) && (face.getVerticesIndexes().length > 0)){
+			// Mark the referenced indices, the marks are then enumerated in increasing order
+			BitSet referenced = new BitSet();
+			for(IndexedFace<?> face : this.faces) {
+				if (face.getVerticesIndexes() != null){
 					for(int i = 0; i < face.getVerticesIndexes().length; i++) {
-						if (! indices.contains(face.getVerticesIndexes()[i])) {
-							indices.add(face.getVerticesIndexes()[i]);
-						}
+						referenced.set(face.getVerticesIndexes()[i]);
 					}
-
-					Collections.sort(indices);
-
-					return indices;
 				}
 			}
-		}
 
+			List<Integer> indices = new ArrayList<Integer>(referenced.cardinality());
+			for(int index = referenced.nextSetBit(0); index >= 0; index = referenced.nextSetBit(index + 1)) {
+				indices.add(index);
+			}
+
+			return indices;
+		}
+		
 		return null;
 	}
 
@@ -252,10 +253,10 @@ public class SimpleIndexedMesh<T extends Point3D> implements IndexedMesh<T>{
 
 			List<? extends IndexedFace<T>> faces =  getFacesIndexes();
 
-			// validate face
+			// validate face, the faces and the edges rely on the vertices source of their mesh
 			if (faces != null){
 				for(int i = 0; i < faces.size(); i++){
-					faces.get(i).setVerticesSource(getVerticesSource());
+					faces.get(i).setMesh(this);
 					this.validatedIndexes &= faces.get(i).validateIndexes();
 				}
 			}
@@ -265,7 +266,7 @@ public class SimpleIndexedMesh<T extends Point3D> implements IndexedMesh<T>{
 			// validate edges
 			if (edges != null){
 				for(int i = 0; i < edges.size(); i++){
-					edges.get(i).setVerticesSource(getVerticesSource());
+					edges.get(i).setMesh(this);
 					this.validatedIndexes &= edges.get(i).validateIndexes();
 				}
 			}
@@ -312,24 +313,25 @@ public class SimpleIndexedMesh<T extends Point3D> implements IndexedMesh<T>{
 		if ((this.faces != null) && (this.faces.size() > 0)){
 			Point3DContainer<T> vertices = JeometryFactory.createPoint3DContainer(this.faces.size()*6);
 
+			// The vertices are added by order of first reference
+			BitSet added = new BitSet();
 			for(IndexedFace<T> face : this.faces) {
 				if (face.isValidatedIndexes()) {
-					if ((face.getVerticesIndexes() != null) && (face.getVerticesIndexes().length > 0)){
-						T vertex = null;
+					if (face.getVerticesIndexes() != null){
 						for(int i = 0; i < face.getVerticesIndexes().length; i++) {
-							vertex = face.getVerticesSource().get(face.getVerticesIndexes()[i]);
-							if (! vertices.contains(vertex)) {
-								vertices.add(vertex);
+							int index = face.getVerticesIndexes()[i];
+							if (! added.get(index)) {
+								added.set(index);
+								vertices.add(face.getVerticesSource().get(index));
 							}
 						}
-
-						return vertices;
 					}
 				} else {
 					throw new IllegalStateException("Face "+face.toString()+" is not valid.");
 				}
-
 			}
+
+			return vertices;
 		}
 
 		return null;
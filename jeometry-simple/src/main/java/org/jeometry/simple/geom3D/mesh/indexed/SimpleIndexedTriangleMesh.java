@@ -1,7 +1,7 @@
 package org.jeometry.simple.geom3D.mesh.indexed;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.BitSet;
 import java.util.List;
 
 import org.jeometry.Jeometry;
@@ -106,21 +106,23 @@ public class SimpleIndexedTriangleMesh<T extends Point3D> implements IndexedTria
 	@Override
 	public List<Integer> getVerticesIndexes() {
 		if ((this.faces != null) && (this.faces.size() > 0)){
-			List<Integer> indices = new ArrayList<Integer>();
 
+			// Mark the referenced indices, the marks are then enumerated in increasing order
+			BitSet referenced = new BitSet();
 			for(IndexedFace<?> face : this.faces) {
-				if ((face.getVerticesIndexes() != null) && (face.getVerticesIndexes().length > 0)){
+				if (face.getVerticesIndexes() != null){
 					for(int i = 0; i < face.getVerticesIndexes().length; i++) {
-						if (! indices.contains(face.getVerticesIndexes()[i])) {
-							indices.add(face.getVerticesIndexes()[i]);
-						}
+						referenced.set(face.getVerticesIndexes()[i]);
 					}
-
-					Collections.sort(indices);
-
-					return indices;
 				}
 			}
+
+			List<Integer> indices = new ArrayList<Integer>(referenced.cardinality());
+			for(int index = referenced.nextSetBit(0); index >= 0; index = referenced.nextSetBit(index + 1)) {
+				indices.add(index);
+			}
+
+			return indices;
 		}
 		
 		return null;
@@ -251,24 +253,25 @@ public class SimpleIndexedTriangleMesh<T extends Point3D> implements IndexedTria
 		if ((this.faces != null) && (this.faces.size() > 0)){
 			Point3DContainer<T> vertices = JeometryFactory.createPoint3DContainer(this.faces.size()*6);
 
+			// The vertices are added by order of first reference
+			BitSet added = new BitSet();
 			for(IndexedFace<T> face : this.faces) {
 				if (face.isValidatedIndexes()) {
-					if ((face.getVerticesIndexes() != null) && (face.getVerticesIndexes().length > 0)){
-						T vertex = null;
+					if (face.getVerticesIndexes() != null){
 						for(int i = 0; i < face.getVerticesIndexes().length; i++) {
-							vertex = face.getVerticesSource().get(face.getVerticesIndexes()[i]);
-							if (! vertices.contains(vertex)) {
-								vertices.add(vertex);
+							int index = face.getVerticesIndexes()[i];
+							if (! added.get(index)) {
+								added.set(index);
+								vertices.add(face.getVerticesSource().get(index));
 							}
 						}
-
-						return vertices;
 					}
 				} else {
 					throw new IllegalStateException("Face "+face.toString()+" is not valid.");
 				}
-
 			}
+
+			return vertices;
 		}
 
 		return null;
@@ -532,9 +535,10 @@ public class SimpleIndexedTriangleMesh<T extends Point3D> implements IndexedTria
 	 * Create a new {@link IndexedTriangleMesh indexed triangle mesh} that relies on the given vertex source.
 	 * @param source the vertex source
 	 */
+	@SuppressWarnings("unchecked")
 	public SimpleIndexedTriangleMesh(Point3DContainer<? extends Point3D> source) {
 		this();
-		setVerticesSource(this.verticesSource);
+		setVerticesSource((Point3DContainer<T>) source);
 	}
 	
 	/**
@@ -542,8 +546,9 @@ public class SimpleIndexedTriangleMesh<T extends Point3D> implements IndexedTria
 	 * @param capacity the initial capacity of the container
 	 * @param source the vertex source
 	 */
+	@SuppressWarnings("unchecked")
 	public SimpleIndexedTriangleMesh(int capacity, Point3DContainer<? extends Point3D> source) {
 		this(capacity);
-		setVerticesSource(this.verticesSource);
+		setVerticesSource((Point3DContainer<T>) source);
 	}
 }
@@ -1,6 +1,7 @@
 package org.jeometry.simple.geom3D.neighbor;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -60,6 +61,6 @@ public class SimpleIndexedIncidenceMap<T extends Point3D> implements IncidenceMa
    * Create a new empty incidence map.
    */
   public SimpleIndexedIncidenceMap() {
-	  
+    this.map = new HashMap<Point3D, List<IndexedFace<T>>>();
   }
 }
@@ -5,6 +5,7 @@ import java.util.Iterator;
 import org.jeometry.Jeometry;
 import org.jeometry.factory.JeometryFactory;
 import org.jeometry.geom3D.SpatialLocalization3D;
+import org.jeometry.geom3D.point.CoordinatesPoint3DContainer;
 import org.jeometry.geom3D.point.Point3D;
 import org.jeometry.geom3D.point.Point3DContainer;
 
@@ -15,7 +16,7 @@ import org.jeometry.geom3D.point.Point3DContainer;
  * @version {@value Jeometry#version} build {@value Jeometry#BUILD}
  * @since 1.0.0
  */
-public class ArrayCoordinatesPoint3DContainer<T extends Point3D> implements Cloneable, Point3DContainer<T> {
+public class ArrayCoordinatesPoint3DContainer<T extends Point3D> implements Cloneable, CoordinatesPoint3DContainer<T> {
 
   /**
    * The data type.
@@ -241,54 +242,58 @@ public class ArrayCoordinatesPoint3DContainer<T extends Point3D> implements Clon
                        + (spatial.getZ()-this.z)*(spatial.getZ()-this.z));
   }
 
+  @Override
+  public double[] getCoordinatesArray() {
+    return this.coordinates;
+  }
+
+  @Override
+  public void setLocalization(double x, double y, double z, double xmin, double ymin, double zmin, double xmax, double ymax, double zmax) {
+    this.x    = x;
+    this.y    = y;
+    this.z    = z;
+    this.xmin = xmin;
+    this.ymin = ymin;
+    this.zmin = zmin;
+    this.xmax = xmax;
+    this.ymax = ymax;
+    this.zmax = zmax;
+  }
+
   @Override
   public void updateLocalization() {
-	    this.x = 0.0d;
-	    this.y = 0.0d;
-	    this.z = 0.0d;
-	    
-	    this.xmin = Double.MAX_VALUE;
-	    this.ymin = Double.MAX_VALUE;
-	    this.zmin = Double.MAX_VALUE;
-	    
-	    this.xmax = -Double.MAX_VALUE;
-	    this.ymax = -Double.MAX_VALUE;
-	    this.zmax = -Double.MAX_VALUE;
-	    
-	    for(Point3D point3d : this){
-	      
-	      if (point3d.getX() > this.xmax){
-	        this.xmax = point3d.getX();
-	      }
-	      
-	      if (point3d.getX() < this.xmin){
-	        this.xmin = point3d.getX();
-	      }
-	      
-	      if (point3d.getY() > this.ymax){
-	        this.ymax = point3d.getY();
-	      }
-	      
-	      if (point3d.getY() < this.ymin){
-	        this.ymin = point3d.getY();
-	      }
-	      
-	      if (point3d.getZ() > this.zmax){
-	        this.zmax = point3d.getZ();
-	      }
-	      
-	      if (point3d.getZ() < this.zmin){
-	        this.zmin = point3d.getZ();
-	      }
-	      
-	      this.x = this.x + point3d.getX();
-	      this.y = this.y + point3d.getY();
-	      this.z = this.z + point3d.getZ();
-	    }
-	    
-	    this.x = this.x / size();
-	    this.y = this.y / size();
-	    this.z = this.z / size();
+
+    double sx = 0.0d;
+    double sy = 0.0d;
+    double sz = 0.0d;
+
+    double minx = Double.MAX_VALUE;
+    double miny = Double.MAX_VALUE;
+    double minz = Double.MAX_VALUE;
+
+    double maxx = -Double.MAX_VALUE;
+    double maxy = -Double.MAX_VALUE;
+    double maxz = -Double.MAX_VALUE;
+
+    // Direct pass over the coordinates, no point is created
+    for(int i = 0; i < 3*this.size; i += 3){
+      double px = this.coordinates[i];
+      double py = this.coordinates[i+1];
+      double pz = this.coordinates[i+2];
+
+      minx = Math.min(minx, px);
+      miny = Math.min(miny, py);
+      minz = Math.min(minz, pz);
+      maxx = Math.max(maxx, px);
+      maxy = Math.max(maxy, py);
+      maxz = Math.max(maxz, pz);
+
+      sx += px;
+      sy += py;
+      sz += pz;
+    }
+
+    setLocalization(sx / this.size, sy / this.size, sz / this.size, minx, miny, minz, maxx, maxy, maxz);
   }
 
 }
@@ -125,7 +125,7 @@ public class SimplePlane<T extends Point3D> implements Plane<T>{
 	@Override
 	public double distance(SpatialLocalization3D spatial) {
 		if (spatial != null) {
-			return    Math.abs(this.normal.getX() * spatial.getX() + this.normal.getY() * spatial.getY() + this.normal.getZ()*spatial.getZ() - this.d)
+			return    Math.abs(this.normal.getX() * spatial.getX() + this.normal.getY() * spatial.getY() + this.normal.getZ()*spatial.getZ() + this.d)
 					/ this.normal.norm();
 		}
 		return Double.NaN;
@@ -0,0 +1,78 @@
+package org.jeometry.simple.geom3D.mesh;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.jeometry.simple.geom3D.point.ArrayListPoint3DContainer;
+import org.jeometry.simple.geom3D.point.SimplePoint3D;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link SimpleMesh} class.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class SimpleMeshTest {
+
+  /**
+   * Test that the faces vertices are added only once to the mesh vertices.
+   */
+  @Test
+  public void addFaceTest() {
+
+    Point3D a = new SimplePoint3D(0.0d, 0.0d, 0.0d);
+    Point3D b = new SimplePoint3D(1.0d, 0.0d, 0.0d);
+    Point3D c = new SimplePoint3D(0.0d, 1.0d, 0.0d);
+    Point3D d = new SimplePoint3D(0.0d, 0.0d, 1.0d);
+
+    SimpleMesh<Point3D> mesh = new SimpleMesh<Point3D>();
+    mesh.addFace(new SimpleFace<Point3D>(container(a, b, c)));
+    mesh.addFace(new SimpleFace<Point3D>(container(a, b, d)));
+    mesh.addFace(new SimpleFace<Point3D>(container(b, c, d)));
+
+    assertEquals(4, mesh.getVertices().size(), "Unexpected vertices count");
+  }
+
+  /**
+   * Test that a vertex that is replaced within the mesh vertices without changing their size is added again by a new face.
+   */
+  @Test
+  public void addFaceModifiedVerticesTest() {
+
+    Point3D a = new SimplePoint3D(0.0d, 0.0d, 0.0d);
+    Point3D b = new SimplePoint3D(1.0d, 0.0d, 0.0d);
+    Point3D c = new SimplePoint3D(0.0d, 1.0d, 0.0d);
+    Point3D d = new SimplePoint3D(0.0d, 0.0d, 1.0d);
+
+    SimpleMesh<Point3D> mesh = new SimpleMesh<Point3D>();
+    mesh.addFace(new SimpleFace<Point3D>(container(a, b, c)));
+
+    // c is replaced by d within the mesh vertices
+    mesh.getVertices().set(2, d);
+
+    mesh.addFace(new SimpleFace<Point3D>(container(a, b, c)));
+
+    assertEquals(4, mesh.getVertices().size(), "Unexpected vertices count");
+    assertSame(d, mesh.getVertices().get(2), "Unexpected replaced vertex");
+    assertSame(c, mesh.getVertices().get(3), "Replaced vertex is not added");
+  }
+
+  /**
+   * Create a point container from the given points.
+   * @param points the points.
+   * @return the container.
+   */
+  private static Point3DContainer<Point3D> container(Point3D... points) {
+
+    Point3DContainer<Point3D> container = new ArrayListPoint3DContainer<Point3D>(points.length);
+    for(Point3D point : points) {
+      container.add(point);
+    }
+
+    return container;
+  }
+}
@@ -0,0 +1,346 @@
+package org.jeometry.simple.geom3D.mesh.indexed;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jeometry.Jeometry;
+import org.jeometry.geom3D.mesh.indexed.IndexedEdge;
+import org.jeometry.geom3D.mesh.indexed.IndexedFace;
+import org.jeometry.geom3D.mesh.indexed.IndexedMesh;
+import org.jeometry.geom3D.mesh.indexed.IndexedTriangleMesh;
+import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
+import org.jeometry.geom3D.primitive.indexed.IndexedTriangle;
+import org.jeometry.io.ply.PLYReader;
+import org.jeometry.simple.geom3D.point.ArrayListPoint3DContainer;
+import org.jeometry.simple.geom3D.point.SimplePoint3D;
+import org.jeometry.simple.geom3D.primitive.indexed.SimpleIndexedTriangle;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unitary tests dedicated to {@link CompactIndexedTriangleMesh} class, including the meshes created by the {@link PLYReader PLY reader}.
+ * @author Julien Seinturier - COMEX S.A. - <a href="mailto:contact@jorigin.org">contact@jorigin.org</a> - <a href="https://github.com/jorigin/jeometry">https://github.com/jorigin/jeometry</a>
+ * @version {@value Jeometry#version}
+ * @since 2.0.1
+ */
+public class CompactIndexedTriangleMeshTest {
+
+  /**
+   * Test that the added triangles are stored within the mesh array and are exposed by the triangle views.
+   */
+  @Test
+  public void addTriangleTest() {
+
+    CompactIndexedTriangleMesh<Point3D> mesh = new CompactIndexedTriangleMesh<Point3D>(tetrahedron());
+
+    assertEquals(0, mesh.addTriangle(0, 2, 1), "Unexpected index of the first triangle");
+    assertEquals(1, mesh.addTriangle(0, 1, 3), "Unexpected index of the second triangle");
+    assertTrue(mesh.addFace(new int[] {1, 2, 3}), "Triangle not added from indices");
+    assertTrue(mesh.addFace(new SimpleIndexedTriangle<Point3D>(0, 3, 2)), "Triangle not added from an indexed triangle");
+
+    assertEquals(4, mesh.getFaceCount(), "Unexpected faces count");
+    assertEquals(4, mesh.getFacesIndexes().size(), "Unexpected views count");
+    assertArrayEquals(new int[] {0, 2, 1, 0, 1, 3, 1, 2, 3, 0, 3, 2}, Arrays.copyOf(mesh.getTriangles(), 12), "Unexpected triangles array");
+
+    IndexedTriangle<Point3D> view = mesh.getFacesIndexes().get(2);
+    assertArrayEquals(new int[] {1, 2, 3}, view.getVerticesIndexes(), "Unexpected view indices");
+    assertSame(mesh.getVerticesSource().get(3), view.getVertex3(), "Unexpected view vertex");
+    assertSame(mesh, view.getMesh(), "Unexpected view mesh");
+
+    assertTrue(mesh.validateIndexes(), "Valid indices are not validated");
+
+    // Adding a triangle invalidates the indices
+    mesh.addTriangle(0, 1, 4);
+    assertFalse(mesh.isValidatedIndexes(), "Indices still validated after an addition");
+    assertFalse(mesh.validateIndexes(), "Out of source index validated");
+
+    assertThrows(IllegalArgumentException.class, () -> mesh.addFace(new int[] {0, 1, 2, 3}), "Quad accepted");
+    assertThrows(IllegalArgumentException.class, () -> mesh.addTriangles(new int[5], 2), "Too small triangles array accepted");
+  }
+
+  /**
+   * Test that the storage grows when the capacity is exceeded and that the triangles are kept.
+   */
+  @Test
+  public void ensureCapacityTest() {
+
+    CompactIndexedTriangleMesh<Point3D> mesh = new CompactIndexedTriangleMesh<Point3D>(2, tetrahedron());
+
+    assertEquals(6, mesh.getTriangles().length, "Unexpected initial storage");
+
+    for(int f = 0; f < 100; f++) {
+      mesh.addTriangle(f % 4, (f + 1) % 4, (f + 2) % 4);
+    }
+
+    assertEquals(100, mesh.getFaceCount(), "Unexpected faces count");
+    assertTrue(mesh.getTriangles().length >= 300, "Storage did not grow");
+    for(int f = 0; f < 100; f++) {
+      assertEquals(f % 4, mesh.getVertexIndex(f, 0), "Triangle "+f+" lost while growing");
+      assertEquals((f + 2) % 4, mesh.getVertexIndex(f, 2), "Triangle "+f+" lost while growing");
+    }
+
+    // An explicit capacity is allocated at once
+    mesh.ensureCapacity(1000);
+    assertEquals(3000, mesh.getTriangles().length, "Unexpected storage after ensuring capacity");
+    assertEquals(100, mesh.getFaceCount(), "Ensuring capacity changed the faces count");
+
+    // A smaller capacity does not shrink the storage
+    mesh.ensureCapacity(10);
+    assertEquals(3000, mesh.getTriangles().length, "Ensuring a smaller capacity shrank the storage");
+
+    mesh.trimToSize();
+    assertEquals(300, mesh.getTriangles().length, "Unexpected storage after trimming");
+    assertEquals(1, mesh.getVertexIndex(99, 2), "Triangle lost while trimming");
+  }
+
+  /**
+   * Test that removing a triangle by its index shifts the following triangles and resets the indices validation and the edges.
+   */
+  @Test
+  public void removeFaceIndexTest() {
+
+    CompactIndexedTriangleMesh<Point3D> mesh = new CompactIndexedTriangleMesh<Point3D>(new int[] {0, 2, 1, 0, 1, 3, 1, 2, 3, 0, 3, 2}, 4, tetrahedron());
+
+    mesh.validateIndexes();
+    edges(mesh).add(new SimpleIndexedEdge<Point3D>(1, 2, mesh));
+
+    mesh.removeFace(1);
+
+    assertEquals(3, mesh.getFaceCount(), "Unexpected faces count");
+    assertEquals(3, mesh.getFacesIndexes().size(), "Unexpected views count");
+    assertArrayEquals(new int[] {0, 2, 1, 1, 2, 3, 0, 3, 2}, Arrays.copyOf(mesh.getTriangles(), 9), "Following triangles are not shifted");
+    assertFalse(mesh.isValidatedIndexes(), "Indices still validated after a removal");
+    assertEquals(0, mesh.getEdgesIndexes().size(), "Edges kept after a removal");
+
+    // Removing the last triangle does not shift anything
+    mesh.removeFace(2);
+    assertArrayEquals(new int[] {0, 2, 1, 1, 2, 3}, Arrays.copyOf(mesh.getTriangles(), 6), "Unexpected triangles after the last removal");
+
+    mesh.removeFace(0);
+    mesh.removeFace(0);
+    assertEquals(0, mesh.getFaceCount(), "Unexpected faces count of an emptied mesh");
+
+    assertThrows(IndexOutOfBoundsException.class, () -> mesh.removeFace(0), "Removal from an empty mesh accepted");
+    assertThrows(IndexOutOfBoundsException.class, () -> mesh.removeFace(-1), "Negative index accepted");
+  }
+
+  /**
+   * Test that removing a face through a view removes the designated triangle, even if another triangle has the same indices,
+   * and that removing another face removes the first triangle with the same indices.
+   */
+  @Test
+  public void removeFaceViewTest() {
+
+    CompactIndexedTriangleMesh<Point3D> mesh = new CompactIndexedTriangleMesh<Point3D>(new int[] {0, 2, 1, 0, 1, 3, 0, 2, 1, 1, 2, 3}, 4, tetrahedron());
+
+    IndexedTriangle<Point3D> view = mesh.getFacesIndexes().get(2);
+
+    assertTrue(mesh.removeFace(view), "View not removed");
+    assertArrayEquals(new int[] {0, 2, 1, 0, 1, 3, 1, 2, 3}, Arrays.copyOf(mesh.getTriangles(), 9), "Designated triangle not removed");
+
+    // A view whose triangle does not exist anymore is not removed
+    assertFalse(mesh.removeFace(new CompactIndexedTriangle<Point3D>(mesh, 3)), "View of a missing triangle removed");
+    assertEquals(3, mesh.getFaceCount(), "Unexpected faces count");
+
+    // The views are designated by index, the view of a removed triangle designates the following one
+    assertTrue(mesh.removeFace(view), "Shifted view not removed");
+    assertTrue(mesh.removeFace(mesh.getFacesIndexes().get(0)), "First view not removed");
+    assertArrayEquals(new int[] {0, 1, 3}, Arrays.copyOf(mesh.getTriangles(), 3), "Unexpected remaining triangle");
+
+    // A view of another mesh or an independent triangle are matched by indices
+    CompactIndexedTriangleMesh<Point3D> other = new CompactIndexedTriangleMesh<Point3D>(new int[] {0, 1, 3, 0, 2, 1}, 2, tetrahedron());
+    assertTrue(mesh.removeFace(other.getFacesIndexes().get(0)), "Face of another mesh not removed by indices");
+    assertEquals(0, mesh.getFaceCount(), "Unexpected faces count");
+    assertFalse(mesh.removeFace(new SimpleIndexedTriangle<Point3D>(0, 1, 3)), "Missing triangle removed");
+  }
+
+  /**
+   * Test that the modifications of a triangle view are written within the mesh array.
+   */
+  @Test
+  public void setVerticesIndexesTest() {
+
+    CompactIndexedTriangleMesh<Point3D> mesh = new CompactIndexedTriangleMesh<Point3D>(new int[] {0, 2, 1, 0, 1, 3}, 2, tetrahedron());
+
+    mesh.validateIndexes();
+
+    IndexedTriangle<Point3D> view = mesh.getFacesIndexes().get(1);
+    view.setVerticesIndexes(new int[] {3, 2, 1});
+
+    assertArrayEquals(new int[] {0, 2, 1, 3, 2, 1}, Arrays.copyOf(mesh.getTriangles(), 6), "View modification not written within the mesh");
+    assertArrayEquals(new int[] {3, 2, 1}, mesh.getFacesIndexes().get(1).getVerticesIndexes(), "Modification not visible from a new view");
+    assertFalse(mesh.isValidatedIndexes(), "Indices still validated after a modification");
+
+    view.inverseVerticesOrder();
+    assertArrayEquals(new int[] {0, 2, 1, 1, 2, 3}, Arrays.copyOf(mesh.getTriangles(), 6), "Inversion not written within the mesh");
+
+    assertThrows(IllegalArgumentException.class, () -> view.setVerticesIndexes(new int[] {0, 1}), "Non triangular indices accepted");
+  }
+
+  /**
+   * Test that an untextured triangle PLY file, in ASCII and in binary format, is read within a compact mesh that has the file vertices and triangles.
+   * @throws IOException if an error occurs.
+   */
+  @Test
+  public void readTrianglePLYTest() throws IOException {
+
+    double[] vertices = new double[] {0.0d, 0.0d, 0.0d, 1.0d, 0.0d, 0.0d, 0.0d, 1.0d, 0.0d, 0.0d, 0.0d, 1.0d, 1.0d, 1.0d, 1.0d};
+    int[][]  faces    = new int[][] {{0, 2, 1}, {0, 1, 3}, {0, 3, 2}, {1, 2, 4}, {1, 4, 3}, {2, 3, 4}};
+
+    for(boolean binary : new boolean[] {false, true}) {
+
+      Object read = new PLYReader<Point3D>().read(new ByteArrayInputStream(ply(vertices, faces, binary)));
+
+      assertTrue(read instanceof CompactIndexedTriangleMesh, "Triangle file not read within a compact mesh (binary: "+binary+")");
+
+      @SuppressWarnings("unchecked")
+      CompactIndexedTriangleMesh<Point3D> mesh = (CompactIndexedTriangleMesh<Point3D>) read;
+
+      assertEquals(faces.length, mesh.getFaceCount(), "Unexpected faces count (binary: "+binary+")");
+      for(int f = 0; f < faces.length; f++) {
+        assertArrayEquals(faces[f], mesh.getFacesIndexes().get(f).getVerticesIndexes(), "Unexpected triangle "+f+" (binary: "+binary+")");
+      }
+
+      assertVertices(vertices, mesh.getVerticesSource(), "binary: "+binary);
+      assertTrue(mesh.isValidatedIndexes(), "Read indices are not validated (binary: "+binary+")");
+    }
+  }
+
+  /**
+   * Test that a PLY file that mixes triangles and quads, in ASCII and in binary format, is not read as a triangle mesh and keeps its faces.
+   * @throws IOException if an error occurs.
+   */
+  @Test
+  public void readMixedPLYTest() throws IOException {
+
+    double[] vertices = new double[] {0.0d, 0.0d, 0.0d, 1.0d, 0.0d, 0.0d, 1.0d, 1.0d, 0.0d, 0.0d, 1.0d, 0.0d, 0.5d, 0.5d, 1.0d};
+    int[][]  faces    = new int[][] {{0, 3, 2, 1}, {0, 1, 4}, {1, 2, 4}, {2, 3, 4}, {3, 0, 4}};
+
+    for(boolean binary : new boolean[] {false, true}) {
+
+      Object read = new PLYReader<Point3D>().read(new ByteArrayInputStream(ply(vertices, faces, binary)));
+
+      assertTrue(read instanceof IndexedMesh, "Mixed file not read within an indexed mesh (binary: "+binary+")");
+      assertFalse(read instanceof IndexedTriangleMesh, "Mixed file read within a triangle mesh (binary: "+binary+")");
+
+      @SuppressWarnings("unchecked")
+      IndexedMesh<Point3D> mesh = (IndexedMesh<Point3D>) read;
+
+      List<? extends IndexedFace<Point3D>> indexed = mesh.getFacesIndexes();
+      assertEquals(faces.length, indexed.size(), "Unexpected faces count (binary: "+binary+")");
+      for(int f = 0; f < faces.length; f++) {
+        assertArrayEquals(faces[f], indexed.get(f).getVerticesIndexes(), "Unexpected face "+f+" (binary: "+binary+")");
+      }
+
+      assertVertices(vertices, mesh.getVerticesSource(), "binary: "+binary);
+    }
+  }
+
+  /**
+   * Check that the given points have the given coordinates.
+   * @param expected the expected coordinates, the coordinates of the point <code>i</code> being stored from offset <code>3*i</code>.
+   * @param points the points to check.
+   * @param context the context of the check, appended to the assertion messages.
+   */
+  private static void assertVertices(double[] expected, Point3DContainer<Point3D> points, String context) {
+
+    assertEquals(expected.length / 3, points.size(), "Unexpected vertices count ("+context+")");
+    for(int i = 0; i < points.size(); i++) {
+      assertEquals(expected[3*i],   points.get(i).getX(), 0.0d, "Unexpected x of vertex "+i+" ("+context+")");
+      assertEquals(expected[3*i+1], points.get(i).getY(), 0.0d, "Unexpected y of vertex "+i+" ("+context+")");
+      assertEquals(expected[3*i+2], points.get(i).getZ(), 0.0d, "Unexpected z of vertex "+i+" ("+context+")");
+    }
+  }
+
+  /**
+   * Create the content of a PLY file made of the given vertices and faces.
+   * @param vertices the vertices coordinates, the coordinates of the vertex <code>i</code> being stored from offset <code>3*i</code>.
+   * @param faces the vertex indices of the faces.
+   * @param binary <code>true</code> if the content is in binary little endian format or <code>false</code> if it is in ASCII format.
+   * @return the content of the PLY file.
+   * @throws IOException if an error occurs.
+   */
+  private static byte[] ply(double[] vertices, int[][] faces, boolean binary) throws IOException {
+
+    StringBuilder header = new StringBuilder();
+    header.append("ply\n");
+    header.append(binary ? "format binary_little_endian 1.0\n" : "format ascii 1.0\n");
+    header.append("element vertex "+(vertices.length / 3)+"\n");
+    header.append("property double x\n");
+    header.append("property double y\n");
+    header.append("property double z\n");
+    header.append("element face "+faces.length+"\n");
+    header.append("property list uchar int vertex_indices\n");
+    header.append("end_header\n");
+
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    content.write(header.toString().getBytes(StandardCharsets.US_ASCII));
+
+    if (binary) {
+      ByteBuffer buffer = ByteBuffer.allocate(8 * vertices.length + 17 * faces.length).order(ByteOrder.LITTLE_ENDIAN);
+      for(double coordinate : vertices) {
+        buffer.putDouble(coordinate);
+      }
+      for(int[] face : faces) {
+        buffer.put((byte) face.length);
+        for(int index : face) {
+          buffer.putInt(index);
+        }
+      }
+      content.write(buffer.array(), 0, buffer.position());
+    } else {
+      StringBuilder data = new StringBuilder();
+      for(int i = 0; i < vertices.length / 3; i++) {
+        data.append(vertices[3*i]+" "+vertices[3*i+1]+" "+vertices[3*i+2]+"\n");
+      }
+      for(int[] face : faces) {
+        data.append(face.length);
+        for(int index : face) {
+          data.append(" "+index);
+        }
+        data.append("\n");
+      }
+      content.write(data.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    return content.toByteArray();
+  }
+
+  /**
+   * Create the vertices of a tetrahedron.
+   * @return the vertices.
+   */
+  private static Point3DContainer<Point3D> tetrahedron() {
+
+    Point3DContainer<Point3D> container = new ArrayListPoint3DContainer<Point3D>(4);
+    container.add(new SimplePoint3D(0.0d, 0.0d, 0.0d));
+    container.add(new SimplePoint3D(1.0d, 0.0d, 0.0d));
+    container.add(new SimplePoint3D(0.0d, 1.0d, 0.0d));
+    container.add(new SimplePoint3D(0.0d, 0.0d, 1.0d));
+
+    return container;
+  }
+
+  /**
+   * Get the modifiable edges of the given mesh.
+   * @param mesh the mesh.
+   * @return the edges of the mesh.
+   */
+  @SuppressWarnings("unchecked")
+  private static List<IndexedEdge<Point3D>> edges(CompactIndexedTriangleMesh<Point3D> mesh) {
+    return (List<IndexedEdge<Point3D>>) mesh.getEdgesIndexes();
+  }
+}
@@ -15,7 +15,9 @@ import org.jeometry.factory.MeshBuilder;
 import org.jeometry.geom3D.mesh.indexed.IndexedEdge;
 import org.jeometry.geom3D.mesh.indexed.IndexedFace;
 import org.jeometry.geom3D.mesh.indexed.IndexedMesh;
+import org.jeometry.geom3D.mesh.indexed.IndexedTriangleMesh;
 import org.jeometry.geom3D.point.Point3D;
+import org.jeometry.geom3D.point.Point3DContainer;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -290,4 +292,41 @@ public class GeometryFactoryMeshTest {
 			fail("Cannot instantiate indexed edge using GeometryFactory.createIndexedMeshFace(List, IndexedMesh): "+e.getMessage());
 		}
 	}
+	
+	/**
+	 * Testing {@link JeometryFactory#createIndexedTriangleMesh(int[], int, Point3DContainer)}
+	 */
+	@Test
+	public void createIndexedTriangleMeshArrayTest() {
+		
+		try {
+			Point3DContainer<Point3D> source = JeometryFactory.createPoint3DContainer(4);
+			source.add(JeometryFactory.createPoint3D(0.0d, 0.0d, 0.0d));
+			source.add(JeometryFactory.createPoint3D(1.0d, 0.0d, 0.0d));
+			source.add(JeometryFactory.createPoint3D(0.0d, 1.0d, 0.0d));
+			source.add(JeometryFactory.createPoint3D(1.0d, 1.0d, 0.0d));
+			
+			int[] triangles = new int[] {0, 1, 2, 1, 3, 2};
+			
+			IndexedTriangleMesh<Point3D> mesh = JeometryFactory.createIndexedTriangleMesh(triangles, 2, source);
+			
+			assertNotNull(mesh, "Cannot instantiate indexed triangle mesh using GeometryFactory.createIndexedTriangleMesh(int[], int, Point3DContainer).");
+			
+			assertEquals(source, mesh.getVerticesSource(), "Mesh vertices source is invalid.");
+			
+			assertNotNull(mesh.getFacesIndexes(), "Mesh faces are invalid.");
+			assertEquals(2, mesh.getFacesIndexes().size(), "Mesh faces number is invalid.");
+			
+			for(int i = 0; i < mesh.getFacesIndexes().size(); i++) {
+				for(int j = 0; j < 3; j++) {
+					assertEquals(triangles[3*i+j], mesh.getFacesIndexes().get(i).getVerticesIndexes()[j], "Face "+i+" indice "+j+" differs from expected.");
+				}
+			}
+			
+			assertTrue(mesh.validateIndexes(), "Mesh indices are not valid.");
+			
+		} catch (Exception e) {
+			fail("Cannot instantiate indexed triangle mesh using GeometryFactory.createIndexedTriangleMesh(int[], int, Point3DContainer): "+e.getMessage());
+		}
+	}
 }